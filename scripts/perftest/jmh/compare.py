@@ -0,0 +1,86 @@
+#!/usr/bin/env python3
+# -------------------------------------------------------------
+#
+# Licensed to the Apache Software Foundation (ASF) under one
+# or more contributor license agreements.  See the NOTICE file
+# distributed with this work for additional information
+# regarding copyright ownership.  The ASF licenses this file
+# to you under the Apache License, Version 2.0 (the
+# "License"); you may not use this file except in compliance
+# with the License.  You may obtain a copy of the License at
+#
+#   http://www.apache.org/licenses/LICENSE-2.0
+#
+# Unless required by applicable law or agreed to in writing,
+# software distributed under the License is distributed on an
+# "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+# KIND, either express or implied.  See the License for the
+# specific language governing permissions and limitations
+# under the License.
+#
+# -------------------------------------------------------------
+
+# Compares two JMH result files (-rf json) of the same benchmarks, e.g.,
+# from two SystemDS versions, and reports the relative change per benchmark
+# and parameter combination. Exits with 1 if any benchmark regressed by more
+# than the given threshold, which allows use in automated checks.
+#
+# usage: compare.py baseline.json current.json [--threshold 0.1]
+
+import argparse
+import json
+import sys
+
+
+def load(fname):
+    with open(fname) as f:
+        results = json.load(f)
+    ret = {}
+    for r in results:
+        params = r.get("params", {})
+        key = r["benchmark"] + "".join(
+            " %s=%s" % (k, params[k]) for k in sorted(params))
+        metric = r["primaryMetric"]
+        ret[key] = (metric["score"], metric["scoreError"], metric["scoreUnit"])
+    return ret
+
+
+def main():
+    parser = argparse.ArgumentParser(description="Compare JMH results against a baseline.")
+    parser.add_argument("baseline", help="JMH json results of the baseline")
+    parser.add_argument("current", help="JMH json results to compare")
+    parser.add_argument("--threshold", type=float, default=0.1,
+                        help="relative slowdown reported as regression (default 0.1)")
+    args = parser.parse_args()
+
+    base = load(args.baseline)
+    curr = load(args.current)
+    regressions = 0
+    print("%-100s %12s %12s %8s" % ("benchmark", "baseline", "current", "change"))
+    for key in sorted(curr):
+        score, err, unit = curr[key]
+        if key not in base:
+            print("%-100s %12s %12.3f %8s" % (key, "-", score, "new"))
+            continue
+        bscore, berr, _ = base[key]
+        change = (score - bscore) / bscore if bscore > 0 else 0
+        # time-based modes: higher is slower; throughput modes: lower is slower
+        slowdown = change if "/op" in unit else -change
+        # ignore changes within the combined error bounds
+        significant = abs(score - bscore) > (err + berr)
+        flag = ""
+        if significant and slowdown > args.threshold:
+            flag = " REGRESSION"
+            regressions += 1
+        elif significant and slowdown < -args.threshold:
+            flag = " improvement"
+        print("%-100s %12.3f %12.3f %+7.1f%%%s" % (key, bscore, score, change * 100, flag))
+    for key in sorted(set(base) - set(curr)):
+        print("%-100s %12.3f %12s %8s" % (key, base[key][0], "-", "missing"))
+
+    print("\n%d regression(s) above %.0f%%" % (regressions, args.threshold * 100))
+    return 1 if regressions > 0 else 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
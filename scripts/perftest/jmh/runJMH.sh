@@ -0,0 +1,48 @@
+#!/usr/bin/env bash
+#-------------------------------------------------------------
+#
+# Licensed to the Apache Software Foundation (ASF) under one
+# or more contributor license agreements.  See the NOTICE file
+# distributed with this work for additional information
+# regarding copyright ownership.  The ASF licenses this file
+# to you under the Apache License, Version 2.0 (the
+# "License"); you may not use this file except in compliance
+# with the License.  You may obtain a copy of the License at
+#
+#   http://www.apache.org/licenses/LICENSE-2.0
+#
+# Unless required by applicable law or agreed to in writing,
+# software distributed under the License is distributed on an
+# "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+# KIND, either express or implied.  See the License for the
+# specific language governing permissions and limitations
+# under the License.
+#
+#-------------------------------------------------------------
+
+# Builds and runs the JMH micro-benchmarks of the matrix kernel libraries,
+# and optionally compares the results against a baseline result file.
+#
+# usage (from the root of the repository):
+#   ./scripts/perftest/jmh/runJMH.sh [baseline.json] [jmh options]
+#
+# e.g., ./scripts/perftest/jmh/runJMH.sh "" MatrixMult -p format=DENSE -p threads=1
+
+set -e
+
+BASELINE=$1
+shift || true
+
+RESULTS='scripts/perftest/results/jmh'
+mkdir -p $RESULTS
+CURRENT="$RESULTS/jmh-$(date +%Y%m%d-%H%M%S).json"
+
+# install the current systemds version, then build the benchmark jar
+mvn -q -DskipTests install
+mvn -q -f scripts/perftest/jmh/pom.xml package
+
+java -jar scripts/perftest/jmh/target/benchmarks.jar -rf json -rff $CURRENT "$@"
+
+if [ -n "$BASELINE" ]; then
+  python3 scripts/perftest/jmh/compare.py $BASELINE $CURRENT
+fi
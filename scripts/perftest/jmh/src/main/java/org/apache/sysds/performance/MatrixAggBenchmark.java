@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.performance;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Unary aggregation kernels (LibMatrixAgg) such as sum, rowSums,
+ * colSums, rowMaxs or colMeans, selected via their opcode.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MatrixAggBenchmark extends MatrixInputState
+{
+	@Param({"1", "4"})
+	public int threads;
+
+	/** aggregate opcode: uak+ (sum), uark+ (rowSums), uack+ (colSums), ... */
+	@Param({"uak+", "uark+", "uack+"})
+	public String opcode;
+
+	private MatrixBlock _in;
+	private AggregateUnaryOperator _op;
+
+	@Setup
+	public void setup() {
+		_in = createInput(rows, cols, SEED);
+		_op = InstructionUtils.parseBasicAggregateUnaryOperator(opcode, threads);
+	}
+
+	@Benchmark
+	public MatrixBlock aggregate() {
+		return _in.aggregateUnaryOperations(_op, new MatrixBlock(),
+			Math.max(rows, cols), new MatrixIndexes(1, 1), true);
+	}
+}
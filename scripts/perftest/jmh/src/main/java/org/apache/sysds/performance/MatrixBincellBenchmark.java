@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.performance;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Cell-wise binary kernels (LibMatrixBincell) for matrix-matrix,
+ * matrix-row vector and matrix-scalar operations. These kernels are
+ * single-threaded, hence there is no thread count parameter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MatrixBincellBenchmark extends MatrixInputState
+{
+	/** binary opcode, e.g., + (plus), * (mult), / (div) */
+	@Param({"+", "*"})
+	public String opcode;
+
+	private MatrixBlock _in1;
+	private MatrixBlock _in2;
+	private MatrixBlock _vect;
+	private BinaryOperator _bop;
+	private ScalarOperator _sop;
+
+	@Setup
+	public void setup() {
+		_in1 = createInput(rows, cols, SEED);
+		_in2 = createInput(rows, cols, SEED + 1);
+		_vect = MatrixBlock.randOperations(1, cols, 1.0, 1, 10, "uniform", SEED + 2);
+		_bop = InstructionUtils.parseBinaryOperator(opcode);
+		_sop = InstructionUtils.parseScalarBinaryOperator(opcode, false, 7);
+	}
+
+	@Benchmark
+	public MatrixBlock matrixMatrix() {
+		return _in1.binaryOperations(_bop, _in2, new MatrixBlock());
+	}
+
+	@Benchmark
+	public MatrixBlock matrixRowVector() {
+		return _in1.binaryOperations(_bop, _vect, new MatrixBlock());
+	}
+
+	@Benchmark
+	public MatrixBlock matrixScalar() {
+		return _in1.scalarOperations(_sop, new MatrixBlock());
+	}
+}
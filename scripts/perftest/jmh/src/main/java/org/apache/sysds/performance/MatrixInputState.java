@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.performance;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Shared benchmark state for the matrix kernel benchmarks. The parameters
+ * span the input shape, sparsity and physical format (benchmarks of
+ * multi-threaded kernels add the degree of parallelism), and can be overridden on the command line via {@code -p name=v1,v2}.
+ *
+ * Inputs are rounded to integers in [1,10], so that the same data is also
+ * meaningful for compressed blocks (few distinct values per column).
+ */
+@State(Scope.Benchmark)
+public abstract class MatrixInputState
+{
+	public enum Format {
+		DENSE, SPARSE, COMPRESSED
+	}
+
+	@Param({"1000"})
+	public int rows;
+
+	@Param({"1000"})
+	public int cols;
+
+	@Param({"1.0", "0.1"})
+	public double sparsity;
+
+	@Param({"DENSE", "SPARSE"})
+	public Format format;
+
+	protected static final long SEED = 7;
+
+	/**
+	 * Creates a random input of the given shape in the configured format.
+	 *
+	 * @param nrow number of rows
+	 * @param ncol number of columns
+	 * @param seed random seed
+	 * @return matrix block in the configured physical format
+	 */
+	protected MatrixBlock createInput(int nrow, int ncol, long seed) {
+		MatrixBlock mb = MatrixBlock.randOperations(nrow, ncol, sparsity, 1, 10, "uniform", seed);
+		mb = mb.unaryOperations(InstructionUtils.parseUnaryOperator("round"), new MatrixBlock());
+		return toFormat(mb, format);
+	}
+
+	protected static MatrixBlock toFormat(MatrixBlock mb, Format format) {
+		switch( format ) {
+			case DENSE:
+				mb.sparseToDense();
+				return mb;
+			case SPARSE:
+				return toSparse(mb);
+			case COMPRESSED:
+				MatrixBlock cmb = CompressedMatrixBlockFactory.compress(mb).getLeft();
+				if( !(cmb instanceof CompressedMatrixBlock) )
+					throw new DMLRuntimeException("Benchmark input could not be compressed.");
+				return cmb;
+			default:
+				throw new DMLRuntimeException("Unsupported input format: " + format);
+		}
+	}
+
+	private static MatrixBlock toSparse(MatrixBlock mb) {
+		if( mb.isInSparseFormat() )
+			return mb;
+		//force sparse representation even for dense data
+		MatrixBlock ret = new MatrixBlock(mb.getNumRows(), mb.getNumColumns(), true);
+		for( int i = 0; i < mb.getNumRows(); i++ )
+			for( int j = 0; j < mb.getNumColumns(); j++ )
+				ret.appendValue(i, j, mb.quickGetValue(i, j));
+		return ret;
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.performance;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.AggregateBinaryOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Matrix multiplication kernels (LibMatrixMult) for matrix-matrix and
+ * matrix-vector products, where the left-hand side is parameterized
+ * by shape, sparsity, format and number of threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MatrixMultBenchmark extends MatrixInputState
+{
+	@Param({"1", "4"})
+	public int threads;
+
+	/** number of columns of the dense right-hand side (1 for matrix-vector) */
+	@Param({"1", "100"})
+	public int rhsCols;
+
+	private MatrixBlock _lhs;
+	private MatrixBlock _rhs;
+	private AggregateBinaryOperator _op;
+
+	@Setup
+	public void setup() {
+		_lhs = createInput(rows, cols, SEED);
+		_rhs = MatrixBlock.randOperations(cols, rhsCols, 1.0, 0, 1, "uniform", SEED + 1);
+		_op = InstructionUtils.getMatMultOperator(threads);
+	}
+
+	@Benchmark
+	public MatrixBlock matMult() {
+		return _lhs.aggregateBinaryOperations(_lhs, _rhs, new MatrixBlock(), _op);
+	}
+}
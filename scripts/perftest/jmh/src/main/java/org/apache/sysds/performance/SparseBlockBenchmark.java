@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.performance;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.SparseBlockFactory;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Basic access patterns of the sparse block formats (e.g., CSR, MCSR):
+ * row-wise scans, random point lookups and incremental appends.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SparseBlockBenchmark
+{
+	@Param({"1000"})
+	public int rows;
+
+	@Param({"1000"})
+	public int cols;
+
+	@Param({"0.01", "0.1"})
+	public double sparsity;
+
+	@Param({"MCSR", "CSR"})
+	public SparseBlock.Type type;
+
+	private static final int NUM_LOOKUPS = 100000;
+
+	private MatrixBlock _in;
+	private SparseBlock _sblock;
+	private int[] _lookups;
+
+	@Setup
+	public void setup() {
+		_in = MatrixBlock.randOperations(rows, cols, sparsity, 1, 10, "uniform", 7);
+		_sblock = SparseBlockFactory.copySparseBlock(type, _in.getSparseBlock(), true);
+		Random rand = new Random(7);
+		_lookups = new int[2 * NUM_LOOKUPS];
+		for( int i = 0; i < NUM_LOOKUPS; i++ ) {
+			_lookups[2 * i] = rand.nextInt(rows);
+			_lookups[2 * i + 1] = rand.nextInt(cols);
+		}
+	}
+
+	@Benchmark
+	public double scan() {
+		SparseBlock a = _sblock;
+		double sum = 0;
+		for( int i = 0; i < rows; i++ ) {
+			if( a.isEmpty(i) ) continue;
+			int apos = a.pos(i);
+			int alen = a.size(i);
+			double[] avals = a.values(i);
+			for( int k = apos; k < apos + alen; k++ )
+				sum += avals[k];
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public double get() {
+		SparseBlock a = _sblock;
+		double sum = 0;
+		for( int i = 0; i < NUM_LOOKUPS; i++ )
+			sum += a.get(_lookups[2 * i], _lookups[2 * i + 1]);
+		return sum;
+	}
+
+	@Benchmark
+	public SparseBlock append() {
+		SparseBlock src = _in.getSparseBlock();
+		SparseBlock ret = SparseBlockFactory.createSparseBlock(SparseBlock.Type.MCSR, rows);
+		for( int i = 0; i < rows; i++ ) {
+			if( src.isEmpty(i) ) continue;
+			int apos = src.pos(i);
+			int alen = src.size(i);
+			int[] aix = src.indexes(i);
+			double[] avals = src.values(i);
+			for( int k = apos; k < apos + alen; k++ )
+				ret.append(i, aix[k], avals[k]);
+		}
+		return (type == SparseBlock.Type.MCSR) ? ret :
+			SparseBlockFactory.copySparseBlock(type, ret, false);
+	}
+}
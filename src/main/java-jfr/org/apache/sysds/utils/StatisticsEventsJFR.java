@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder implementation of the runtime events in {@link StatisticsEvents}.
+ * This class is compiled from the optional source folder src/main/java-jfr (profile jfr),
+ * because jdk.jfr is not available on all supported JDKs, and only loaded via reflection.
+ */
+public class StatisticsEventsJFR implements StatisticsEvents.EventFactory
+{
+	@Name("org.apache.sysds.Instruction")
+	@Label("Instruction")
+	@Category("SystemDS")
+	@Description("Execution of a runtime instruction")
+	public static class InstructionEvent extends Event {
+		@Label("Opcode")
+		private String opcode;
+	}
+	
+	@Name("org.apache.sysds.Eviction")
+	@Label("Buffer Pool Eviction")
+	@Category("SystemDS")
+	@Description("Write of a block into the buffer pool, which evicted other blocks to local disk")
+	public static class EvictionEvent extends Event {
+		@Label("File")
+		private String file;
+		@Label("Size")
+		@DataAmount
+		private long size;
+		@Label("Evicted Blocks")
+		private int evicted;
+	}
+	
+	@Override
+	public Object beginInstruction() {
+		InstructionEvent ev = new InstructionEvent();
+		ev.begin();
+		return ev;
+	}
+	
+	@Override
+	public void commitInstruction(Object event, String opcode) {
+		InstructionEvent ev = (InstructionEvent) event;
+		ev.end();
+		if( ev.shouldCommit() ) {
+			ev.opcode = opcode;
+			ev.commit();
+		}
+	}
+	
+	@Override
+	public Object beginEviction() {
+		EvictionEvent ev = new EvictionEvent();
+		ev.begin();
+		return ev;
+	}
+	
+	@Override
+	public void commitEviction(Object event, String fname, long size, int evicted) {
+		EvictionEvent ev = (EvictionEvent) event;
+		ev.end();
+		if( evicted > 0 && ev.shouldCommit() ) {
+			ev.file = fname;
+			ev.size = size;
+			ev.evicted = evicted;
+			ev.commit();
+		}
+	}
+}
@@ -31,6 +31,7 @@ import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.cli.AlreadySelectedException;
 import org.apache.commons.cli.HelpFormatter;
@@ -76,6 +77,7 @@ import org.apache.sysds.runtime.util.HDFSTool;
 import org.apache.sysds.utils.Explain;
 import org.apache.sysds.utils.NativeHelper;
 import org.apache.sysds.utils.Statistics;
+import org.apache.sysds.utils.StatisticsExporter;
 import org.apache.sysds.utils.Explain.ExplainCounts;
 import org.apache.sysds.utils.Explain.ExplainType;
 
@@ -89,6 +91,7 @@ public class DMLScript
 	public static ExplainType EXPLAIN             = DMLOptions.defaultOptions.explainType; // explain type
 	public static String      DML_FILE_PATH_ANTLR_PARSER = DMLOptions.defaultOptions.filePath; // filename of dml/pydml script
 	public static String      FLOATING_POINT_PRECISION = "double";                         // data type to use internally
+	public static boolean     CP_SINGLE_PRECISION = false;                                 // whether to keep dense CP matrices in FP32
 	public static boolean     PRINT_GPU_MEMORY_INFO = false;                               // whether to print GPU memory-related information
 	public static long        EVICTION_SHADOW_BUFFER_MAX_BYTES = 0;                        // maximum number of bytes to use for shadow buffer
 	public static long        EVICTION_SHADOW_BUFFER_CURR_BYTES = 0;                       // number of bytes to use for shadow buffer
@@ -120,6 +123,9 @@ public class DMLScript
 	public static String _uuid = IDHandler.createDistributedUniqueID();
 	private static final Log LOG = LogFactory.getLog(DMLScript.class.getName());
 
+	//reference of script executions to the shared statistics exporter
+	private static final AtomicBoolean STATS_EXPORTER = new AtomicBoolean(false);
+
 	///////////////////////////////
 	// public external interface
 	////////
@@ -450,6 +456,11 @@ public class DMLScript
 			throw new RuntimeException("Incorrect value (" + DMLScript.GPU_MEMORY_UTILIZATION_FACTOR + ") for the configuration:" + DMLConfig.GPU_MEMORY_UTILIZATION_FACTOR);
 		}
 		
+		String cpPrecision = dmlconf.getTextValue(DMLConfig.CP_FLOATING_POINT_PRECISION);
+		if( !cpPrecision.equalsIgnoreCase("double") && !cpPrecision.equalsIgnoreCase("single") )
+			throw new RuntimeException("Incorrect value (" + cpPrecision + ") for the configuration:" + DMLConfig.CP_FLOATING_POINT_PRECISION);
+		DMLScript.CP_SINGLE_PRECISION = cpPrecision.equalsIgnoreCase("single");
+		
 		DMLScript.FLOATING_POINT_PRECISION = dmlconf.getTextValue(DMLConfig.FLOATING_POINT_PRECISION);
 		org.apache.sysds.runtime.matrix.data.LibMatrixCUDA.resetFloatingPointPrecision();
 		if(DMLScript.FLOATING_POINT_PRECISION.equals("double")) {
@@ -485,6 +496,10 @@ public class DMLScript
 		LocalFileUtils.createWorkingDirectory();
 		CacheableData.initCaching();
 		
+		//start optional live export of statistics
+		if( !STATS_EXPORTER.getAndSet(true) )
+			StatisticsExporter.init(config);
+		
 		//reset statistics (required if multiple scripts executed in one JVM)
 		Statistics.resetNoOfExecutedJobs();
 		if( STATISTICS )
@@ -503,8 +518,10 @@ public class DMLScript
 		sb.append(DMLScript.getUUID());
 		String dirSuffix = sb.toString();
 		
-		//0) cleanup federated workers if necessary
+		//0) cleanup federated workers and statistics exporter if necessary
 		FederatedData.clearFederatedWorkers();
+		if( STATS_EXPORTER.getAndSet(false) )
+			StatisticsExporter.shutdown();
 
 		//1) cleanup scratch space (everything for current uuid)
 		//(required otherwise export to hdfs would skip assumed unnecessary writes if same name)
@@ -28,6 +28,7 @@ import java.io.InputStreamReader;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -65,6 +66,7 @@ import org.apache.sysds.runtime.transform.TfUtils;
 import org.apache.sysds.runtime.transform.meta.TfMetaUtils;
 import org.apache.sysds.runtime.util.CollectionUtils;
 import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.utils.StatisticsExporter;
 
 /**
  * Interaction with SystemDS using the JMLC (Java Machine Learning Connector) API is initiated with
@@ -89,6 +91,7 @@ public class Connection implements Closeable
 {
 	private final DMLConfig _dmlconf;
 	private final CompilerConfig _cconf;
+	private final AtomicBoolean _exporter = new AtomicBoolean(false);
 	private static FileSystem fs = null;
 	
 	/**
@@ -169,6 +172,10 @@ public class Connection implements Closeable
 		_dmlconf = dmlconfig;
 		
 		setLocalConfigs();
+		
+		//start optional live export of statistics (shared across connections)
+		StatisticsExporter.init(dmlconfig);
+		_exporter.set(true);
 	}
 
 	/**
@@ -290,7 +297,9 @@ public class Connection implements Closeable
 	
 	/**
 	 * Close connection to SystemDS, which clears the
-	 * thread-local DML and compiler configurations.
+	 * thread-local DML and compiler configurations, and
+	 * stops the optional statistics exporter if no other
+	 * connections remain open.
 	 */
 	@Override
 	public void close() {
@@ -298,6 +307,9 @@ public class Connection implements Closeable
 		ConfigurationManager.clearLocalConfigs();
 		if( ConfigurationManager.isCodegenEnabled() )
 			SpoofCompiler.cleanupCodeGenerator();
+		//release statistics exporter once per connection
+		if( _exporter.getAndSet(false) )
+			StatisticsExporter.shutdown();
 	}
 	
 	/**
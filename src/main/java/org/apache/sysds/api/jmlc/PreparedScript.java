@@ -298,7 +298,7 @@ public class PreparedScript implements ConfigurableAPI
 		MatrixCharacteristics mc = new MatrixCharacteristics(matrix.getNumRows(), matrix.getNumColumns(), blocksize, blocksize);
 		MetaDataFormat meta = new MetaDataFormat(mc, FileFormat.BINARY);
 		MatrixObject mo = new MatrixObject(ValueType.FP64, OptimizerUtils.getUniqueTempFileName(), meta);
-		mo.acquireModify(matrix); 
+		mo.acquireModifyFP32(matrix); //fp32 if configured
 		mo.release();
 		
 		//put create matrix wrapper into symbol table
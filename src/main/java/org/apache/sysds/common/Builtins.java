@@ -72,6 +72,8 @@ public enum Builtins {
 	CAST_AS_BOOLEAN("as.logical", "as.boolean", false),
 	CBIND("cbind", "append", false),
 	CEIL("ceil", "ceiling", false),
+	COLCOUNT_DISTINCT("colCountDistinct", false),
+	COLCOUNT_DISTINCT_APPROX("colCountDistinctApprox", false),
 	COLMAX("colMaxs", false),
 	COLMEAN("colMeans", false),
 	COLMIN("colMins", false),
@@ -184,6 +186,8 @@ public enum Builtins {
 	REMOVE("remove", false, ReturnType.MULTI_RETURN),
 	REV("rev", false),
 	ROUND("round", false),
+	ROWCOUNT_DISTINCT("rowCountDistinct", false),
+	ROWCOUNT_DISTINCT_APPROX("rowCountDistinctApprox", false),
 	ROWINDEXMAX("rowIndexMax", false),
 	ROWINDEXMIN("rowIndexMin", false),
 	ROWMIN("rowMins", false),
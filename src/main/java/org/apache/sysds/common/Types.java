@@ -493,6 +493,7 @@ public class Types
 		LIBSVM, // text libsvm sparse row representation
 		JSONL,  // text nested JSON (Line) representation
 		BINARY, // binary block representation (dense/sparse/ultra-sparse)
+		COMPRESSED, // binary compressed block representation (column groups)
 		FEDERATED, // A federated matrix
 		PROTO;  // protocol buffer representation
 		
@@ -501,7 +502,7 @@ public class Types
 		}
 		
 		public boolean isTextFormat() {
-			return this != BINARY;
+			return this != BINARY && this != COMPRESSED;
 		}
 		
 		public static boolean isTextFormat(String fmt) {
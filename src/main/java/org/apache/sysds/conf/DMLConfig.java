@@ -67,6 +67,7 @@ public class DMLConfig
 	public static final String DEFAULT_BLOCK_SIZE   = "sysds.defaultblocksize";
 	public static final String CP_PARALLEL_OPS      = "sysds.cp.parallel.ops";
 	public static final String CP_PARALLEL_IO       = "sysds.cp.parallel.io";
+	public static final String CP_FLOATING_POINT_PRECISION = "sysds.cp.floating.point.precision"; // String to specify the datatype of dense CP matrices: supported values are double, single
 	public static final String COMPRESSED_LINALG    = "sysds.compressed.linalg"; //auto, cost, true, false
 	public static final String COMPRESSED_LOSSY     = "sysds.compressed.lossy";
 	public static final String COMPRESSED_VALID_COMPRESSIONS = "sysds.compressed.valid.compressions";
@@ -74,6 +75,7 @@ public class DMLConfig
 	public static final String COMPRESSED_SAMPLING_RATIO = "sysds.compressed.sampling.ratio"; // 0.1
 	public static final String COMPRESSED_COCODE    = "sysds.compressed.cocode"; // COST
 	public static final String COMPRESSED_TRANSPOSE = "sysds.compressed.transpose"; // true, false, auto.
+	public static final String COMPRESSED_COCODE_TIME_BUDGET = "sysds.compressed.cocode.timebudget"; // ms, -1 unbounded
 	public static final String NATIVE_BLAS          = "sysds.native.blas";
 	public static final String NATIVE_BLAS_DIR      = "sysds.native.blas.directory";
 	public static final String CODEGEN              = "sysds.codegen.enabled"; //boolean
@@ -82,7 +84,12 @@ public class DMLConfig
 	public static final String CODEGEN_OPTIMIZER    = "sysds.codegen.optimizer"; //see SpoofCompiler.PlanSelector
 	public static final String CODEGEN_PLANCACHE    = "sysds.codegen.plancache"; //boolean
 	public static final String CODEGEN_LITERALS     = "sysds.codegen.literals"; //1..heuristic, 2..always
+	public static final String CODEGEN_CLASSCACHE_DIR  = "sysds.codegen.classcache.dir"; // String local dir of the persistent class cache, empty to disable
+	public static final String CODEGEN_CLASSCACHE_SIZE = "sysds.codegen.classcache.size"; // int max size of the persistent class cache in MB
 	public static final String STATS_MAX_WRAP_LEN   = "sysds.stats.maxWrapLength"; //int
+	public static final String STATS_EXPORT_PORT    = "sysds.stats.export.port"; //int port of the live metrics endpoint, -1 to disable (0 any free port)
+	public static final String STATS_EXPORT_HOST    = "sysds.stats.export.host"; //host/interface of the live metrics endpoint (default loopback)
+	public static final String STATS_JFR            = "sysds.stats.jfr"; //boolean flight recorder events for instructions and evictions
 	public static final String AVAILABLE_GPUS       = "sysds.gpu.availableGPUs"; // String to specify which GPUs to use (a range, all GPUs, comma separated list or a specific GPU)
 	public static final String SYNCHRONIZE_GPU      = "sysds.gpu.sync.postProcess"; // boolean: whether to synchronize GPUs after every instruction
 	public static final String EAGER_CUDA_FREE      = "sysds.gpu.eager.cudaFree"; // boolean: whether to perform eager CUDA free on rmvar
@@ -99,6 +106,12 @@ public class DMLConfig
 
 	public static final String USE_SSL_FEDERATED_COMMUNICATION = "sysds.federated.ssl"; // boolean
 	public static final String DEFAULT_FEDERATED_INITIALIZATION_TIMEOUT = "sysds.federated.initialization.timeout"; // int seconds
+	public static final String FEDERATED_BATCH_WINDOW = "sysds.federated.batch.window"; // int #pending requests per site
+	public static final String FEDERATED_PIPELINING = "sysds.federated.pipelining"; // boolean, pipeline awaited requests
+	public static final String CACHING_BUFFER_OFFHEAP = "sysds.caching.offheap"; // String none, direct, or mmap
+	public static final String CACHING_BUFFER_OFFHEAP_SIZE = "sysds.caching.offheap.size"; // long MB, -1 for default size
+	public static final String CACHING_PREFETCH     = "sysds.caching.prefetch"; // int lookahead #instructions, 0 to disable
+	public static final String LINEAGE_CACHE_DIR = "sysds.lineage.cache.dir"; // String local dir of the persistent lineage cache, empty to disable
 	public static final int DEFAULT_FEDERATED_PORT = 4040; // borrowed default Spark Port
 	public static final int DEFAULT_NUMBER_OF_FEDERATED_WORKER_THREADS = 2;
 	
@@ -122,24 +135,31 @@ public class DMLConfig
 		_defaultVals.put(DEFAULT_BLOCK_SIZE,     String.valueOf(OptimizerUtils.DEFAULT_BLOCKSIZE) );
 		_defaultVals.put(CP_PARALLEL_OPS,        "true" );
 		_defaultVals.put(CP_PARALLEL_IO,         "true" );
+		_defaultVals.put(CP_FLOATING_POINT_PRECISION, "double" );
 		_defaultVals.put(COMPRESSED_LINALG,      Compression.CompressConfig.AUTO.name() );
 		_defaultVals.put(COMPRESSED_LOSSY,       "false" );
-		_defaultVals.put(COMPRESSED_VALID_COMPRESSIONS, "DDC,OLE,RLE");
+		_defaultVals.put(COMPRESSED_VALID_COMPRESSIONS, "DDC,OLE,RLE,FOR,DELTA");
 		_defaultVals.put(COMPRESSED_OVERLAPPING, "true" );
 		_defaultVals.put(COMPRESSED_SAMPLING_RATIO, "0.01");
 		_defaultVals.put(COMPRESSED_COCODE,      "COST");
 		_defaultVals.put(COMPRESSED_TRANSPOSE,   "auto");
+		_defaultVals.put(COMPRESSED_COCODE_TIME_BUDGET, "-1");
 		_defaultVals.put(CODEGEN,                "false" );
 		_defaultVals.put(CODEGEN_API,		     GeneratorAPI.JAVA.name() );
 		_defaultVals.put(CODEGEN_COMPILER,       CompilerType.AUTO.name() );
 		_defaultVals.put(CODEGEN_OPTIMIZER,      PlanSelector.FUSE_COST_BASED_V2.name() );
 		_defaultVals.put(CODEGEN_PLANCACHE,      "true" );
 		_defaultVals.put(CODEGEN_LITERALS,       "1" );
+		_defaultVals.put(CODEGEN_CLASSCACHE_DIR, "" );
+		_defaultVals.put(CODEGEN_CLASSCACHE_SIZE, "64" );
 		_defaultVals.put(NATIVE_BLAS,            "none" );
 		_defaultVals.put(NATIVE_BLAS_DIR,        "none" );
 		_defaultVals.put(PRINT_GPU_MEMORY_INFO,  "false" );
 		_defaultVals.put(EVICTION_SHADOW_BUFFERSIZE,  "0.0" );
 		_defaultVals.put(STATS_MAX_WRAP_LEN,     "30" );
+		_defaultVals.put(STATS_EXPORT_PORT,      "-1" );
+		_defaultVals.put(STATS_EXPORT_HOST,      "" );
+		_defaultVals.put(STATS_JFR,              "false" );
 		_defaultVals.put(GPU_MEMORY_UTILIZATION_FACTOR,      "0.9" );
 		_defaultVals.put(GPU_MEMORY_ALLOCATOR,   "cuda");
 		_defaultVals.put(AVAILABLE_GPUS,         "-1");
@@ -150,6 +170,12 @@ public class DMLConfig
 		_defaultVals.put(FLOATING_POINT_PRECISION, "double" );
 		_defaultVals.put(USE_SSL_FEDERATED_COMMUNICATION, "false");
 		_defaultVals.put(DEFAULT_FEDERATED_INITIALIZATION_TIMEOUT, "10");
+		_defaultVals.put(FEDERATED_BATCH_WINDOW, "16");
+		_defaultVals.put(FEDERATED_PIPELINING,   "false");
+		_defaultVals.put(CACHING_BUFFER_OFFHEAP, "none");
+		_defaultVals.put(CACHING_BUFFER_OFFHEAP_SIZE, "-1");
+		_defaultVals.put(CACHING_PREFETCH,       "0");
+		_defaultVals.put(LINEAGE_CACHE_DIR,      "");
 	}
 	
 	public DMLConfig() {
@@ -392,14 +418,15 @@ public class DMLConfig
 	public String getConfigInfo()  {
 		String[] tmpConfig = new String[] { 
 			LOCAL_TMP_DIR,SCRATCH_SPACE,OPTIMIZATION_LEVEL, DEFAULT_BLOCK_SIZE,
-			CP_PARALLEL_OPS, CP_PARALLEL_IO, NATIVE_BLAS, NATIVE_BLAS_DIR,
+			CP_PARALLEL_OPS, CP_PARALLEL_IO, CP_FLOATING_POINT_PRECISION, NATIVE_BLAS, NATIVE_BLAS_DIR,
 			COMPRESSED_LINALG, COMPRESSED_LOSSY, COMPRESSED_VALID_COMPRESSIONS, COMPRESSED_OVERLAPPING,
-			COMPRESSED_SAMPLING_RATIO, COMPRESSED_COCODE, COMPRESSED_TRANSPOSE,
+			COMPRESSED_SAMPLING_RATIO, COMPRESSED_COCODE, COMPRESSED_TRANSPOSE, COMPRESSED_COCODE_TIME_BUDGET,
 			CODEGEN, CODEGEN_API, CODEGEN_COMPILER, CODEGEN_OPTIMIZER, CODEGEN_PLANCACHE, CODEGEN_LITERALS,
-			STATS_MAX_WRAP_LEN, PRINT_GPU_MEMORY_INFO,
+			CODEGEN_CLASSCACHE_DIR, CODEGEN_CLASSCACHE_SIZE, STATS_MAX_WRAP_LEN, STATS_EXPORT_PORT, STATS_EXPORT_HOST, STATS_JFR, PRINT_GPU_MEMORY_INFO,
 			AVAILABLE_GPUS, SYNCHRONIZE_GPU, EAGER_CUDA_FREE, FLOATING_POINT_PRECISION, GPU_EVICTION_POLICY, 
 			LOCAL_SPARK_NUM_THREADS, EVICTION_SHADOW_BUFFERSIZE, GPU_MEMORY_ALLOCATOR, GPU_MEMORY_UTILIZATION_FACTOR,
-			USE_SSL_FEDERATED_COMMUNICATION, DEFAULT_FEDERATED_INITIALIZATION_TIMEOUT
+			USE_SSL_FEDERATED_COMMUNICATION, DEFAULT_FEDERATED_INITIALIZATION_TIMEOUT, FEDERATED_BATCH_WINDOW, FEDERATED_PIPELINING,
+			CACHING_BUFFER_OFFHEAP, CACHING_BUFFER_OFFHEAP_SIZE, CACHING_PREFETCH, LINEAGE_CACHE_DIR
 		}; 
 		
 		StringBuilder sb = new StringBuilder();
@@ -194,8 +194,10 @@ public class AggUnaryOp extends MultiThreadedHop
 					boolean needAgg = requiresAggregation(input, _direction);
 					SparkAggType aggtype = getSparkUnaryAggregationType(needAgg);
 					
+					//note: count distinct of frames produces matrix outputs
 					PartialAggregate aggregate = new PartialAggregate(input.constructLops(), 
-						_op, _direction, input._dataType, getValueType(), aggtype, et);
+						_op, _direction, input.getDataType().isFrame() ? DataType.MATRIX : input._dataType,
+						getValueType(), aggtype, et);
 					aggregate.setDimensionsBasedOnDirection(getDim1(), getDim2(), input.getBlocksize());
 					setLineNumbers(aggregate);
 					setLops(aggregate);
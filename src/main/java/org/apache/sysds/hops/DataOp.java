@@ -444,7 +444,8 @@ public class DataOp extends Hop {
 			checkAndSetForcedPlatform();
 
 			//additional check for write only
-			if( getDataType()==DataType.SCALAR )
+			//(compressed blocks are written as a whole, i.e., in CP only)
+			if( getDataType()==DataType.SCALAR || _inFormat==FileFormat.COMPRESSED )
 				_etypeForced = ExecType.CP;
 			
 			if( _etypeForced != null )
@@ -82,6 +82,7 @@ import org.apache.sysds.parser.WhileStatement;
 import org.apache.sysds.parser.WhileStatementBlock;
 import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.codegen.CodegenClassCache;
 import org.apache.sysds.runtime.codegen.CodegenUtils;
 import org.apache.sysds.runtime.codegen.SpoofCUDA;
 import org.apache.sysds.runtime.codegen.SpoofCellwise.CellType;
@@ -592,6 +593,7 @@ public class SpoofCompiler {
 			CodegenUtils.clearClassCache(); //class cache
 			planCache.clear(); //plan cache
 		}
+		CodegenClassCache.reset();
 
 		if(API != GeneratorAPI.JAVA)
 			unloadNativeCodeGenerator();
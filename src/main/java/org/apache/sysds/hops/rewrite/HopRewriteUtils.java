@@ -1371,7 +1371,8 @@ public class HopRewriteUtils
 	public static boolean alwaysRequiresReblock(Hop hop) {
 		return (hop instanceof DataOp
 			&& ((DataOp)hop).getOp()==OpOpData.PERSISTENTREAD
-			 && ((DataOp)hop).getInputFormatType()!=FileFormat.BINARY);
+			 && ((DataOp)hop).getInputFormatType()!=FileFormat.BINARY
+			 && ((DataOp)hop).getInputFormatType()!=FileFormat.COMPRESSED);
 	}
 	
 	public static boolean containsOp(ArrayList<Hop> candidates, Class<? extends Hop> clazz) {
@@ -343,12 +343,20 @@ public class PartialAggregate extends Lop
 			case COUNT_DISTINCT: {
 				if(dir == Direction.RowCol )
 					return "uacd";
+				else if(dir == Direction.Row )
+					return "uarcd";
+				else if(dir == Direction.Col )
+					return "uaccd";
 				break;
 			}
 			
 			case COUNT_DISTINCT_APPROX: {
 				if(dir == Direction.RowCol )
 					return "uacdap";
+				else if(dir == Direction.Row )
+					return "uarcdap";
+				else if(dir == Direction.Col )
+					return "uaccdap";
 				break;
 			}
 		}
@@ -932,12 +932,27 @@ public class BuiltinFunctionExpression extends DataIdentifier
 		case COUNT_DISTINCT:
 		case COUNT_DISTINCT_APPROX:
 			checkNumParameters(1);
-			checkDataTypeParam(getFirstExpr(), DataType.MATRIX);
+			checkDataTypeParam(getFirstExpr(), DataType.MATRIX, DataType.FRAME);
 			output.setDataType(DataType.SCALAR);
 			output.setDimensions(0, 0);
 			output.setBlocksize(0);
 			output.setValueType(ValueType.INT64);
 			break;
+		case ROWCOUNT_DISTINCT:
+		case ROWCOUNT_DISTINCT_APPROX:
+		case COLCOUNT_DISTINCT:
+		case COLCOUNT_DISTINCT_APPROX: {
+			// rowCountDistinct(X) or colCountDistinct(X)
+			checkNumParameters(1);
+			checkDataTypeParam(getFirstExpr(), DataType.MATRIX, DataType.FRAME);
+			boolean row = getOpCode() == Builtins.ROWCOUNT_DISTINCT
+				|| getOpCode() == Builtins.ROWCOUNT_DISTINCT_APPROX;
+			output.setDataType(DataType.MATRIX);
+			output.setDimensions(row ? id.getDim1() : 1, row ? 1 : id.getDim2());
+			output.setBlocksize(ConfigurationManager.getBlocksize());
+			output.setValueType(ValueType.FP64);
+			break;
+		}
 		
 		case LINEAGE:
 			checkNumParameters(1);
@@ -1052,6 +1052,7 @@ public class DMLTranslator
 						break;
 						
 					case BINARY:
+					case COMPRESSED:
 						// write output in binary block format
 						ae.setOutputParams(ae.getDim1(), ae.getDim2(), ae.getNnz(), ae.getUpdateType(), ConfigurationManager.getBlocksize());
 						break;
@@ -2254,6 +2255,12 @@ public class DMLTranslator
 				AggOp.valueOf(source.getOpCode().name().substring(3)), Direction.Col, expr);
 			break;
 
+		case COLCOUNT_DISTINCT:
+		case COLCOUNT_DISTINCT_APPROX:
+			currBuiltinOp = new AggUnaryOp(target.getName(), DataType.MATRIX, target.getValueType(),
+				AggOp.valueOf(source.getOpCode().name().substring(3)), Direction.Col, expr);
+			break;
+
 		case COLSD:
 			// colStdDevs = sqrt(colVariances)
 			currBuiltinOp = new AggUnaryOp(target.getName(), DataType.MATRIX,
@@ -2272,6 +2279,12 @@ public class DMLTranslator
 				AggOp.valueOf(source.getOpCode().name().substring(3)), Direction.Row, expr);
 			break;
 
+		case ROWCOUNT_DISTINCT:
+		case ROWCOUNT_DISTINCT_APPROX:
+			currBuiltinOp = new AggUnaryOp(target.getName(), DataType.MATRIX, target.getValueType(),
+				AggOp.valueOf(source.getOpCode().name().substring(3)), Direction.Row, expr);
+			break;
+
 		case ROWINDEXMAX:
 			currBuiltinOp = new AggUnaryOp(target.getName(), DataType.MATRIX, target.getValueType(), AggOp.MAXINDEX,
 					Direction.Row, expr);
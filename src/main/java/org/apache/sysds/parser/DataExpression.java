@@ -1345,7 +1345,8 @@ public class DataExpression extends DataIdentifier
 			//validate read filename
 			if (getVarParam(FORMAT_TYPE) == null || FileFormat.isTextFormat(getVarParam(FORMAT_TYPE).toString()))
 				getOutput().setBlocksize(-1);
-			else if (getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FileFormat.BINARY.toString()))
+			else if (getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FileFormat.BINARY.toString())
+				|| getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FileFormat.COMPRESSED.toString()))
 				getOutput().setBlocksize(ConfigurationManager.getBlocksize());
 			else
 				raiseValidateError("Invalid format " + getVarParam(FORMAT_TYPE)
@@ -47,6 +47,7 @@ import org.apache.sysds.runtime.controlprogram.ParForProgramBlock.PExecMode;
 import org.apache.sysds.runtime.controlprogram.ParForProgramBlock.POptMode;
 import org.apache.sysds.runtime.controlprogram.ParForProgramBlock.PResultMerge;
 import org.apache.sysds.runtime.controlprogram.ParForProgramBlock.PTaskPartitioner;
+import org.apache.sysds.runtime.controlprogram.ParForProgramBlock.PTaskQueue;
 import org.apache.sysds.runtime.controlprogram.ParForProgramBlock.PartitionFormat;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.Timing;
@@ -66,6 +67,7 @@ public class ParForStatementBlock extends ForStatementBlock
 	public static final String PAR              = "par";         //number of parallel workers
 	public static final String TASK_PARTITIONER = "taskpartitioner"; //task partitioner
 	public static final String TASK_SIZE        = "tasksize";    //number of tasks 
+	public static final String TASK_QUEUE       = "taskqueue";   //local task queue
 	public static final String DATA_PARTITIONER = "datapartitioner"; //task partitioner 
 	public static final String RESULT_MERGE     = "resultmerge"; //task partitioner 
 	public static final String EXEC_MODE        = "mode";        //runtime execution mode
@@ -105,6 +107,7 @@ public class ParForStatementBlock extends ForStatementBlock
 		_paramNames.add( PAR );
 		_paramNames.add( TASK_PARTITIONER );
 		_paramNames.add( TASK_SIZE );
+		_paramNames.add( TASK_QUEUE );
 		_paramNames.add( DATA_PARTITIONER );
 		_paramNames.add( RESULT_MERGE );
 		_paramNames.add( EXEC_MODE );
@@ -118,6 +121,7 @@ public class ParForStatementBlock extends ForStatementBlock
 		_paramDefaults.put( PAR,               String.valueOf(InfrastructureAnalyzer.getLocalParallelism()) );
 		_paramDefaults.put( TASK_PARTITIONER,  String.valueOf(PTaskPartitioner.FIXED) );
 		_paramDefaults.put( TASK_SIZE,         "1" );
+		_paramDefaults.put( TASK_QUEUE,        String.valueOf(PTaskQueue.FIFO) );
 		_paramDefaults.put( DATA_PARTITIONER,  String.valueOf(PDataPartitioner.NONE) );
 		_paramDefaults.put( RESULT_MERGE,      String.valueOf(PResultMerge.LOCAL_AUTOMATIC) );
 		_paramDefaults.put( EXEC_MODE,         String.valueOf(PExecMode.LOCAL) );
@@ -130,6 +134,7 @@ public class ParForStatementBlock extends ForStatementBlock
 		_paramDefaults2.put( PAR,              "-1" );
 		_paramDefaults2.put( TASK_PARTITIONER, String.valueOf(PTaskPartitioner.UNSPECIFIED) );
 		_paramDefaults2.put( TASK_SIZE,        "-1" );
+		_paramDefaults2.put( TASK_QUEUE,       String.valueOf(PTaskQueue.UNSPECIFIED) );
 		_paramDefaults2.put( DATA_PARTITIONER, String.valueOf(PDataPartitioner.UNSPECIFIED) );
 		_paramDefaults2.put( RESULT_MERGE,     String.valueOf(PResultMerge.UNSPECIFIED) );
 		_paramDefaults2.put( EXEC_MODE,        String.valueOf(PExecMode.UNSPECIFIED) );
@@ -0,0 +1,307 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.codegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.utils.Statistics;
+
+/**
+ * Persistent, content-addressed cache of compiled codegen classes on a local
+ * directory (configured via sysds.codegen.classcache.dir), which allows reusing
+ * the bytecode of generated operators across JVM launches. Entries are keyed by
+ * a digest of the generated source code (with normalized variable names) and
+ * the SystemDS build, written atomically to support concurrent JVMs, and evicted
+ * in least-recently-used order once the configured size limit is exceeded.
+ * 
+ * Since the persisted bytecode is loaded and executed, every entry carries a
+ * digest of its key and bytecode that is verified on load (corrupted entries are
+ * deleted and recompiled), and the cache directory is created with owner-only
+ * permissions, while directories writable by other users disable the cache.
+ */
+public class CodegenClassCache
+{
+	private static final Log LOG = LogFactory.getLog(CodegenClassCache.class.getName());
+	private static final String FILE_SUFFIX = ".class";
+	private static final Pattern VARNAME = Pattern.compile("\\bTMP\\d+\\b");
+	private static final int DIGEST_LENGTH = 32; //sha-256
+
+	//class name prefix of cached classes, distinct from generated variable names
+	public static final String CLASS_PREFIX = "TMPC";
+
+	private static String _dir = null;   //null if not yet resolved, empty if disabled
+	private static long _maxSize = -1;   //max size of all entries in bytes
+	private static String _build = null; //fingerprint of the systemds build
+
+	private CodegenClassCache() {
+		//prevent instantiation via private constructor
+	}
+
+	public static synchronized void reset() {
+		//the directory is resolved again from the (potentially
+		//changed) configuration on the next compiled class
+		_dir = null;
+	}
+
+	public static synchronized boolean isEnabled() {
+		if( _dir == null ) {
+			DMLConfig conf = ConfigurationManager.getDMLConfig();
+			String dir = (conf != null) ? conf.getTextValue(DMLConfig.CODEGEN_CLASSCACHE_DIR) : null;
+			_dir = (dir != null) ? dir.trim() : "";
+			if( !_dir.isEmpty() && !isSecureDirectory(new File(_dir)) ) {
+				LOG.warn("Codegen class cache directory "+_dir+" is not owned by the current user "
+					+ "or writable by other users, class cache disabled.");
+				_dir = "";
+			}
+			_maxSize = (conf != null) ? (long) conf.getIntValue(DMLConfig.CODEGEN_CLASSCACHE_SIZE)*1024*1024 : 0;
+		}
+		return !_dir.isEmpty();
+	}
+
+	/**
+	 * Obtains the content-addressed key of a generated class, which is a
+	 * SHA-256 digest over the source code and the SystemDS build, where all
+	 * generated variable and class names are renumbered in order of their
+	 * first occurrence to make the key independent of the compilation order.
+	 *
+	 * @param src generated source code
+	 * @return hex key
+	 */
+	public static String getKey(String src) {
+		HashMap<String, String> names = new HashMap<>();
+		Matcher m = VARNAME.matcher(src);
+		StringBuffer sb = new StringBuffer(src.length());
+		while( m.find() )
+			m.appendReplacement(sb, names.computeIfAbsent(m.group(), k -> "TMP"+names.size()));
+		m.appendTail(sb);
+
+		MessageDigest md = getDigest();
+		md.update(getBuildFingerprint().getBytes(StandardCharsets.UTF_8));
+		md.update((byte)0);
+		md.update(sb.toString().getBytes(StandardCharsets.UTF_8));
+		return toHexString(md.digest());
+	}
+
+	/**
+	 * Reads the persisted bytecode for the given key, if available and valid,
+	 * and marks the entry as recently used. Entries whose digest does not match
+	 * their key and bytecode are deleted, such that the class is recompiled.
+	 *
+	 * @param key content-addressed key
+	 * @return bytecode, or null if not available
+	 */
+	public static synchronized byte[] read(String key) {
+		if( !isEnabled() )
+			return null;
+		File file = new File(_dir, key+FILE_SUFFIX);
+		if( !file.exists() )
+			return null;
+		try {
+			byte[] ret = verify(key, Files.readAllBytes(file.toPath()));
+			if( ret == null ) {
+				LOG.warn("Invalid digest of persisted codegen class "+file+", recompiling class.");
+				file.delete();
+				return null;
+			}
+			file.setLastModified(System.currentTimeMillis());
+			if( DMLScript.STATISTICS )
+				Statistics.incrementCodegenClassCacheHits();
+			return ret;
+		}
+		catch(IOException ex) {
+			//concurrently evicted or corrupted entries are simply missed
+			LOG.warn("Failed to read persisted codegen class "+file+".", ex);
+			return null;
+		}
+	}
+
+	/**
+	 * Writes the given bytecode to the persistent cache, and evicts the least
+	 * recently used entries if the cache exceeds its size limit.
+	 *
+	 * @param key content-addressed key
+	 * @param classBytes bytecode
+	 */
+	public static synchronized void write(String key, byte[] classBytes) {
+		if( !isEnabled() || classBytes == null )
+			return;
+		File dir = new File(_dir);
+		if( !dir.exists() )
+			createDirectory(dir);
+
+		//write to a temporary file first and move it atomically, to
+		//support concurrent JVMs writing to the same directory
+		File file = new File(_dir, key+FILE_SUFFIX);
+		File tmp = new File(_dir, key+"_"+UUID.randomUUID()+".tmp");
+		try {
+			Files.write(tmp.toPath(), computeDigest(key, classBytes));
+			Files.write(tmp.toPath(), classBytes, StandardOpenOption.APPEND);
+			try {
+				Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch(AtomicMoveNotSupportedException ex) {
+				Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		catch(IOException ex) {
+			LOG.warn("Failed to persist codegen class "+file+".", ex);
+			tmp.delete();
+			return;
+		}
+		evict(dir);
+	}
+
+	private static void evict(File dir) {
+		File[] files = dir.listFiles((d, name) -> name.endsWith(FILE_SUFFIX));
+		if( files == null )
+			return;
+		long size = 0;
+		for( File f : files )
+			size += f.length();
+		if( size <= _maxSize )
+			return;
+
+		//delete least recently used entries until the size limit is met
+		//(deletes of concurrent JVMs are benign as readers fall back to compile)
+		long[] lastMod = new long[files.length];
+		Integer[] ix = new Integer[files.length];
+		for( int i=0; i<files.length; i++ ) {
+			lastMod[i] = files[i].lastModified();
+			ix[i] = i;
+		}
+		Arrays.sort(ix, Comparator.comparingLong(i -> lastMod[i]));
+		for( int i=0; i<ix.length && size > _maxSize; i++ ) {
+			long len = files[ix[i]].length();
+			if( files[ix[i]].delete() )
+				size -= len;
+		}
+	}
+
+	private static byte[] computeDigest(String key, byte[] classBytes) {
+		MessageDigest md = getDigest();
+		md.update(key.getBytes(StandardCharsets.UTF_8));
+		md.update((byte)0);
+		md.update(classBytes);
+		return md.digest();
+	}
+
+	private static byte[] verify(String key, byte[] entry) {
+		//entry layout: digest of key and bytecode, followed by the bytecode
+		if( entry.length <= DIGEST_LENGTH )
+			return null;
+		byte[] classBytes = Arrays.copyOfRange(entry, DIGEST_LENGTH, entry.length);
+		return MessageDigest.isEqual(computeDigest(key, classBytes),
+			Arrays.copyOf(entry, DIGEST_LENGTH)) ? classBytes : null;
+	}
+
+	private static void createDirectory(File dir) {
+		//owner-only permissions, because persisted classes are loaded and executed
+		try {
+			Files.createDirectories(dir.toPath(),
+				PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+		}
+		catch(UnsupportedOperationException ex) {
+			//non-posix file systems (e.g., windows)
+			if( !dir.mkdirs() && !dir.exists() )
+				throw new DMLRuntimeException("Failed to create codegen class cache directory "+dir+".");
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException("Failed to create codegen class cache directory "+dir+".", ex);
+		}
+	}
+
+	private static boolean isSecureDirectory(File dir) {
+		//existing directories must be owned by the current user and not be
+		//writable by others (only checked on posix file systems)
+		if( !dir.exists() )
+			return true;
+		try {
+			Set<PosixFilePermission> perms = Files.getPosixFilePermissions(dir.toPath());
+			return !perms.contains(PosixFilePermission.GROUP_WRITE)
+				&& !perms.contains(PosixFilePermission.OTHERS_WRITE)
+				&& Files.getOwner(dir.toPath()).getName().equals(System.getProperty("user.name"));
+		}
+		catch(UnsupportedOperationException ex) {
+			return true;
+		}
+		catch(IOException ex) {
+			LOG.debug("Failed to obtain permissions of "+dir+".", ex);
+			return false;
+		}
+	}
+
+	private static String getBuildFingerprint() {
+		//version and modification time of the runtime classes, as generated
+		//classes are only valid for the build they were compiled against
+		if( _build == null ) {
+			long mtime = 0;
+			try {
+				URL url = SpoofOperator.class.getResource(SpoofOperator.class.getSimpleName()+".class");
+				mtime = (url != null) ? url.openConnection().getLastModified() : 0;
+			}
+			catch(IOException ex) {
+				LOG.debug("Failed to obtain build timestamp.", ex);
+			}
+			_build = DMLScript.class.getPackage().getImplementationVersion()
+				+ "_" + mtime + "_" + System.getProperty("java.specification.version");
+		}
+		return _build;
+	}
+
+	private static MessageDigest getDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch(NoSuchAlgorithmException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
+	private static String toHexString(byte[] bytes) {
+		StringBuilder sb = new StringBuilder(bytes.length*2);
+		for( byte b : bytes )
+			sb.append(String.format("%02x", b));
+		return sb.toString();
+	}
+}
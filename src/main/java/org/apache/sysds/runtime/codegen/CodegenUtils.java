@@ -63,6 +63,9 @@ public class CodegenUtils
 	
 	//janino-specific map of source code transfer/recompile on-demand
 	private static ConcurrentHashMap<String, String> _src = new ConcurrentHashMap<>();
+	
+	//javac-specific map of class files loaded from the persistent class cache
+	private static ConcurrentHashMap<String, byte[]> _bytes = new ConcurrentHashMap<>();
 
 	private static ConcurrentHashMap<String, SpoofCUDA> _native_op_data = new ConcurrentHashMap<>();
 
@@ -80,6 +83,8 @@ public class CodegenUtils
 		//compile java source w/ specific compiler
 		if( SpoofCompiler.JAVA_COMPILER == CompilerType.JANINO )
 			ret = compileClassJanino(name, src);
+		else if( CodegenClassCache.isEnabled() )
+			ret = compileClassJavacCached(name, src);
 		else
 			ret = compileClassJavac(name, src);
 		
@@ -87,7 +92,8 @@ public class CodegenUtils
 		_cache.put(name, ret);
 		
 		if( DMLScript.STATISTICS ) {
-			Statistics.incrementCodegenClassCompile();
+			if( !_bytes.containsKey(ret.getName()) )
+				Statistics.incrementCodegenClassCompile();
 			Statistics.incrementCodegenClassCompileTime(System.nanoTime()-t0);
 		}
 		
@@ -129,6 +135,8 @@ public class CodegenUtils
 		//get class in a compiler-specific manner
 		if( SpoofCompiler.JAVA_COMPILER == CompilerType.JANINO )
 			return _src.get(name).getBytes();
+		else if( _bytes.containsKey(name) )
+			return _bytes.get(name);
 		else
 			return getClassAsByteArray(name);
 	}
@@ -136,6 +144,7 @@ public class CodegenUtils
 	public static void clearClassCache() {
 		_cache.clear();
 		_src.clear();
+		_bytes.clear();
 	}
 	
 	public static void clearClassCache(Class<?> cla) {
@@ -144,6 +153,7 @@ public class CodegenUtils
 		while( iter.hasNext() )
 			if( iter.next().getValue()==cla )
 				iter.remove();
+		_bytes.remove(cla.getName());
 	}
 	
 	public static SpoofOperator createInstance(Class<?> cla) {
@@ -257,6 +267,30 @@ public class CodegenUtils
 		}
 	}
 	
+	private static Class<?> compileClassJavacCached(String name, String src) {
+		//content-addressed class name, independent of generated variable names
+		String key = CodegenClassCache.getKey(src);
+		String cname = "codegen." + CodegenClassCache.CLASS_PREFIX + key;
+		Class<?> ret = _cache.get(cname);
+		if( ret != null )
+			return ret;
+		
+		//load class file persisted by previous launches, or compile and persist
+		byte[] classBytes = CodegenClassCache.read(key);
+		if( classBytes != null ) {
+			ret = loadFromClassFile(cname, classBytes);
+			_bytes.put(cname, classBytes);
+		}
+		else {
+			String sname = name.substring(name.lastIndexOf('.')+1);
+			ret = compileClassJavac(cname, src.replaceAll("\\b"+sname+"\\b",
+				CodegenClassCache.CLASS_PREFIX + key));
+			CodegenClassCache.write(key, getClassAsByteArray(cname));
+		}
+		_cache.put(cname, ret);
+		return ret;
+	}
+	
 	private static Class<?> loadFromClassFile(String name, byte[] classBytes) {
 		if(classBytes != null) {
 			//load from byte representation of class file
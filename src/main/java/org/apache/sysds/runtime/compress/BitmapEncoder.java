@@ -89,6 +89,88 @@ public class BitmapEncoder {
 		return res;
 	}
 
+	/**
+	 * Combine the bitmaps of two disjoint column groups into the bitmap of the merged column group, without accessing
+	 * the matrix again. The distinct tuples of the merged group are the distinct pairs of tuples of the two input
+	 * bitmaps per row, which makes this a scan over the offsets of both bitmaps instead of a scan over the columns of
+	 * the merged group. Rows that are zero in both input bitmaps are zero in the merged bitmap.
+	 * 
+	 * @param colIndices The sorted column indexes of the merged group
+	 * @param leftCols   The column indexes of the left bitmap
+	 * @param left       The left bitmap
+	 * @param rightCols  The column indexes of the right bitmap
+	 * @param right      The right bitmap
+	 * @param numRows    The number of rows the offsets of the bitmaps refer to
+	 * @return The bitmap of the merged column group
+	 */
+	public static Bitmap combineBitmaps(int[] colIndices, int[] leftCols, Bitmap left, int[] rightCols, Bitmap right,
+		int numRows) {
+		final int[] codesL = getCodes(left, numRows);
+		final int[] codesR = getCodes(right, numRows);
+		final long numValsR = right.getNumValues() + 1;
+
+		// distinct pairs of codes in order of first occurrence
+		HashMap<Long, IntArrayList> pairs = new LinkedHashMap<>();
+		int zeros = 0;
+		for(int i = 0; i < numRows; i++) {
+			if(codesL[i] < 0 && codesR[i] < 0) {
+				zeros++;
+				continue;
+			}
+			Long key = (codesL[i] + 1) * numValsR + codesR[i] + 1;
+			IntArrayList lstPtr = pairs.get(key);
+			if(lstPtr == null) {
+				lstPtr = new IntArrayList();
+				pairs.put(key, lstPtr);
+			}
+			lstPtr.appendValue(i);
+		}
+		if(pairs.isEmpty())
+			return new Bitmap(colIndices.length, null, zeros, null);
+
+		// positions of the input columns in the merged group
+		final int[] posL = getPositions(colIndices, leftCols);
+		final int[] posR = getPositions(colIndices, rightCols);
+		final int numCols = colIndices.length;
+		final double[] valuesL = left.getValues();
+		final double[] valuesR = right.getValues();
+		double[] values = new double[pairs.size() * numCols];
+		IntArrayList[] offsetsLists = new IntArrayList[pairs.size()];
+		int bitmapIx = 0;
+		for(Entry<Long, IntArrayList> e : pairs.entrySet()) {
+			final int codeL = (int) (e.getKey() / numValsR) - 1;
+			final int codeR = (int) (e.getKey() % numValsR) - 1;
+			final int off = bitmapIx * numCols;
+			if(codeL >= 0)
+				for(int j = 0; j < posL.length; j++)
+					values[off + posL[j]] = valuesL[codeL * posL.length + j];
+			if(codeR >= 0)
+				for(int j = 0; j < posR.length; j++)
+					values[off + posR[j]] = valuesR[codeR * posR.length + j];
+			offsetsLists[bitmapIx++] = e.getValue();
+		}
+		return new Bitmap(numCols, offsetsLists, zeros, values);
+	}
+
+	private static int[] getCodes(Bitmap bitmap, int numRows) {
+		int[] codes = new int[numRows];
+		Arrays.fill(codes, -1);
+		for(int k = 0; k < bitmap.getNumValues(); k++) {
+			final IntArrayList offsets = bitmap.getOffsetsList(k);
+			final int[] offs = offsets.extractValues();
+			for(int j = 0; j < offsets.size(); j++)
+				codes[offs[j]] = k;
+		}
+		return codes;
+	}
+
+	private static int[] getPositions(int[] colIndices, int[] cols) {
+		int[] pos = new int[cols.length];
+		for(int j = 0; j < cols.length; j++)
+			pos[j] = Arrays.binarySearch(colIndices, cols[j]);
+		return pos;
+	}
+
 	/**
 	 * Extract Bitmap from a single column.
 	 * 
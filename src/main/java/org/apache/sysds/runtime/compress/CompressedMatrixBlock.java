@@ -40,6 +40,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.lops.MMTSJ.MMTSJType;
 import org.apache.sysds.lops.MapMultChain.ChainType;
 import org.apache.sysds.runtime.DMLCompressionException;
@@ -50,12 +51,17 @@ import org.apache.sysds.runtime.compress.colgroup.ColGroupConverter;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupIO;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupValue;
+import org.apache.sysds.runtime.compress.lib.LibAggTernary;
+import org.apache.sysds.runtime.compress.lib.LibAppend;
 import org.apache.sysds.runtime.compress.lib.LibBinaryCellOp;
 import org.apache.sysds.runtime.compress.lib.LibCompAgg;
+import org.apache.sysds.runtime.compress.lib.LibLeftIndex;
 import org.apache.sysds.runtime.compress.lib.LibLeftMultBy;
+import org.apache.sysds.runtime.compress.lib.LibQuaternary;
 import org.apache.sysds.runtime.compress.lib.LibRightMultBy;
 import org.apache.sysds.runtime.compress.lib.LibScalar;
 import org.apache.sysds.runtime.compress.utils.LinearAlgebraUtils;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.Timing;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.functionobjects.Builtin;
@@ -63,15 +69,19 @@ import org.apache.sysds.runtime.functionobjects.Builtin.BuiltinCode;
 import org.apache.sysds.runtime.functionobjects.KahanPlus;
 import org.apache.sysds.runtime.functionobjects.KahanPlusSq;
 import org.apache.sysds.runtime.functionobjects.Mean;
+import org.apache.sysds.runtime.functionobjects.Minus;
 import org.apache.sysds.runtime.functionobjects.Multiply;
 import org.apache.sysds.runtime.functionobjects.SwapIndex;
+import org.apache.sysds.runtime.instructions.cp.ScalarObject;
 import org.apache.sysds.runtime.matrix.data.LibMatrixBincell;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysds.runtime.matrix.data.MatrixValue;
 import org.apache.sysds.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.AggregateTernaryOperator;
 import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
 import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.QuaternaryOperator;
 import org.apache.sysds.runtime.matrix.operators.ReorgOperator;
 import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
 import org.apache.sysds.runtime.util.CommonThreadPool;
@@ -81,6 +91,9 @@ public class CompressedMatrixBlock extends AbstractCompressedMatrixBlock {
 	private static final Log LOG = LogFactory.getLog(CompressedMatrixBlock.class.getName());
 	private static final long serialVersionUID = 7319372019143154058L;
 
+	/** The compression ratio at the time the compression of this block was planned, if known. */
+	private double _plannedRatio = Double.NaN;
+
 	/**
 	 * Constructor for building an empty Compressed Matrix block object.
 	 * 
@@ -290,8 +303,8 @@ public class CompressedMatrixBlock extends AbstractCompressedMatrixBlock {
 
 	@Override
 	public long getExactSizeOnDisk() {
-		// header information
-		long ret = 20;
+		// header information (rows, cols, nnz, overlapping, number of groups)
+		long ret = 21;
 		for(ColGroup grp : _colGroups) {
 			ret += 1; // type info
 			ret += grp.getExactSizeOnDisk();
@@ -391,6 +404,54 @@ public class CompressedMatrixBlock extends AbstractCompressedMatrixBlock {
 		return ret2;
 	}
 
+	@Override
+	public MatrixBlock append(MatrixBlock that, MatrixBlock ret, boolean cbind) {
+		if(cbind)
+			return append(that, ret);
+		MatrixBlock out = LibAppend.rbind(this, that, OptimizerUtils.getConstrainedNumThreads(-1));
+		return (out != null) ? out : super.append(that, ret, cbind);
+	}
+
+	@Override
+	public MatrixBlock leftIndexingOperations(MatrixBlock rhsMatrix, int rl, int ru, int cl, int cu, MatrixBlock ret,
+		UpdateType update) {
+		MatrixBlock out = LibLeftIndex.leftIndexing(this, getUncompressed(rhsMatrix), rl, ru, cl, cu,
+			OptimizerUtils.getConstrainedNumThreads(-1));
+		return (out != null) ? out : super.leftIndexingOperations(rhsMatrix, rl, ru, cl, cu, ret, update);
+	}
+
+	@Override
+	public MatrixBlock leftIndexingOperations(ScalarObject scalar, int rl, int cl, MatrixBlock ret, UpdateType update) {
+		MatrixBlock rhs = new MatrixBlock(1, 1, scalar.getDoubleValue());
+		MatrixBlock out = LibLeftIndex.leftIndexing(this, rhs, rl, rl, cl, cl, 1);
+		return (out != null) ? out : super.leftIndexingOperations(scalar, rl, cl, ret, update);
+	}
+
+	/**
+	 * Get the estimated compression ratio of this block, i.e., the estimated size of the uncompressed block divided by
+	 * the estimated size of this compressed block.
+	 * 
+	 * @return The compression ratio
+	 */
+	public double getCompressionRatio() {
+		double sparsity = (nonZeros >= 0) ? OptimizerUtils.getSparsity(rlen, clen, nonZeros) : 1.0;
+		return MatrixBlock.estimateSizeInMemory(rlen, clen, sparsity) / (double) estimateCompressedSizeInMemory();
+	}
+
+	/**
+	 * Get the compression ratio at the time the compression of this block was planned, which is carried over by
+	 * appends and updates of the column groups.
+	 * 
+	 * @return The planned compression ratio, or NaN if unknown
+	 */
+	public double getPlannedRatio() {
+		return _plannedRatio;
+	}
+
+	public void setPlannedRatio(double plannedRatio) {
+		_plannedRatio = plannedRatio;
+	}
+
 	@Override
 	public MatrixBlock chainMatrixMultOperations(MatrixBlock v, MatrixBlock w, MatrixBlock out, ChainType ctype) {
 		return chainMatrixMultOperations(v, w, out, ctype, 1);
@@ -434,11 +495,41 @@ public class CompressedMatrixBlock extends AbstractCompressedMatrixBlock {
 			BinaryOperator bop = new BinaryOperator(Multiply.getMultiplyFnObject());
 			LibMatrixBincell.bincellOpInPlace(tmp, w, bop);
 		}
+		else if(ctype == ChainType.XtXvy) {
+			BinaryOperator bop = new BinaryOperator(Minus.getMinusFnObject());
+			LibMatrixBincell.bincellOpInPlace(tmp, w, bop);
+		}
 		LibLeftMultBy.leftMultByVectorTranspose(_colGroups, tmp, out, true, k, getMaxNumValues(), isOverlapping());
 
 		return out;
 	}
 
+	@Override
+	public MatrixBlock aggregateTernaryOperations(MatrixBlock m1, MatrixBlock m2, MatrixBlock m3, MatrixBlock ret,
+		AggregateTernaryOperator op, boolean inCP) {
+		if(isSingleUncompressedGroup()) {
+			MatrixBlock left = ((ColGroupUncompressed) _colGroups.get(0)).getData();
+			return left.aggregateTernaryOperations(left, getUncompressed(m2), getUncompressed(m3), ret, op, inCP);
+		}
+		return LibAggTernary.aggregateTernary(this, m2, m3, ret, op, inCP);
+	}
+
+	@Override
+	public MatrixBlock quaternaryOperations(QuaternaryOperator qop, MatrixBlock um, MatrixBlock vm, MatrixBlock wm,
+		MatrixBlock out, int k) {
+		if(isSingleUncompressedGroup() || (qop.wtype1 == null && qop.wtype2 == null))
+			return super.quaternaryOperations(qop, um, vm, wm, out, k);
+
+		MatrixBlock R = (out != null) ? out : new MatrixBlock();
+		MatrixBlock U = getUncompressed(um);
+		MatrixBlock V = getUncompressed(vm);
+		if(qop.wtype1 != null) // wsloss
+			LibQuaternary.wsloss(this, U, V, qop.wtype1.hasFourInputs() ? wm : null, R, qop.wtype1, k);
+		else // wsigmoid
+			LibQuaternary.wsigmoid(this, U, V, R, qop.wtype2, k);
+		return R;
+	}
+
 	@Override
 	public MatrixBlock aggregateBinaryOperations(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret,
 		AggregateBinaryOperator op) {
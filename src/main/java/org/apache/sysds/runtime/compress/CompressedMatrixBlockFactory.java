@@ -176,6 +176,25 @@ public class CompressedMatrixBlockFactory {
 		logPhase();
 	}
 
+	/**
+	 * Re-plan the compression of a block whose column groups were modified by appends or updates, if its compression
+	 * ratio degraded by more than {@link CompressionSettings#MORPH_REPLAN_THRESHOLD} relative to the planned ratio, or
+	 * the given reference ratio if the planned ratio is unknown.
+	 * 
+	 * @param cmb            The modified compressed block
+	 * @param referenceRatio The compression ratio before the modification
+	 * @param k              The parallelization degree
+	 * @return The given block, or a re-compressed or uncompressed block if the compression ratio degraded
+	 */
+	public static MatrixBlock replanIfDegraded(CompressedMatrixBlock cmb, double referenceRatio, int k) {
+		final double planned = Double.isNaN(cmb.getPlannedRatio()) ? referenceRatio : cmb.getPlannedRatio();
+		final double ratio = cmb.getCompressionRatio();
+		if(ratio >= 1 && ratio >= planned * CompressionSettings.MORPH_REPLAN_THRESHOLD)
+			return cmb;
+		LOG.info("Re-planning compression because the compression ratio degraded from " + planned + " to " + ratio);
+		return compress(cmb.decompress(k), k).getLeft();
+	}
+
 	private void cleanupPhase() {
 
 		res.cleanupBlock(true, true);
@@ -193,6 +212,7 @@ public class CompressedMatrixBlockFactory {
 			return;
 		}
 
+		res.setPlannedRatio(_stats.ratio);
 		_stats.setColGroupsCounts(res.getColGroups());
 
 		logPhase();
@@ -33,6 +33,12 @@ public class CompressionSettings {
 	/** Size of the blocks used in a blocked bitmap representation. Note it is one more than Character.MAX_VALUE. */
 	public static final int BITMAP_BLOCK_SZ = 65536;
 
+	/**
+	 * Threshold on the compression ratio of a block after appends or updates relative to its planned compression
+	 * ratio, below which the compression of the block is re-planned instead of extending the existing column groups.
+	 */
+	public static final double MORPH_REPLAN_THRESHOLD = 0.75;
+
 	/**
 	 * Sorting of values by physical length helps by 10-20%, especially for serial, while slight performance decrease
 	 * for parallel incl multi-threaded, hence not applied for distributed operations (also because compression time +
@@ -79,6 +85,12 @@ public class CompressionSettings {
 	/** The maximum number of columns CoCoded if the Static CoCoding strategy is selected */
 	public final int maxStaticColGroupCoCode;
 
+	/**
+	 * Time budget in milliseconds for the co-coding search, after which the best column grouping found so far is used.
+	 * Values less than or equal to zero disable the budget.
+	 */
+	public final long coCodeTimeBudget;
+
 	/**
 	 * Valid Compressions List, containing the ColGroup CompressionTypes that are allowed to be used for the compression
 	 * Default is to always allow for Uncompromisable ColGroup.
@@ -88,7 +100,7 @@ public class CompressionSettings {
 	protected CompressionSettings(double samplingRatio, boolean allowSharedDictionary, String transposeInput,
 		boolean skipList, int seed, boolean investigateEstimate, boolean lossy,
 		EnumSet<CompressionType> validCompressions, boolean sortValuesByLength, PartitionerType columnPartitioner,
-		int maxStaticColGroupCoCode) {
+		int maxStaticColGroupCoCode, long coCodeTimeBudget) {
 		this.samplingRatio = samplingRatio;
 		this.allowSharedDictionary = allowSharedDictionary;
 		this.transposeInput = transposeInput;
@@ -100,6 +112,7 @@ public class CompressionSettings {
 		this.sortValuesByLength = sortValuesByLength;
 		this.columnPartitioner = columnPartitioner;
 		this.maxStaticColGroupCoCode = maxStaticColGroupCoCode;
+		this.coCodeTimeBudget = coCodeTimeBudget;
 	}
 
 	@Override
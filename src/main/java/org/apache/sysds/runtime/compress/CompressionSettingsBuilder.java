@@ -42,6 +42,7 @@ public class CompressionSettingsBuilder {
 	private boolean sortValuesByLength = false;
 	private PartitionerType columnPartitioner;
 	private int maxStaticColGroupCoCode = 10;
+	private long coCodeTimeBudget;
 
 	public CompressionSettingsBuilder() {
 
@@ -56,6 +57,7 @@ public class CompressionSettingsBuilder {
 		columnPartitioner = PartitionerType.valueOf(conf.getTextValue(DMLConfig.COMPRESSED_COCODE));
 
 		transposeInput = conf.getTextValue(DMLConfig.COMPRESSED_TRANSPOSE);
+		coCodeTimeBudget = conf.getIntValue(DMLConfig.COMPRESSED_COCODE_TIME_BUDGET);
 	}
 
 	/**
@@ -71,6 +73,7 @@ public class CompressionSettingsBuilder {
 		this.seed = that.seed;
 		this.investigateEstimate = that.investigateEstimate;
 		this.validCompressions = EnumSet.copyOf(that.validCompressions);
+		this.coCodeTimeBudget = that.coCodeTimeBudget;
 		return this;
 	}
 
@@ -232,6 +235,18 @@ public class CompressionSettingsBuilder {
 		return this;
 	}
 
+	/**
+	 * Set the time budget of the co-coding search. When the budget is exceeded, the best column grouping found so far
+	 * is used.
+	 * 
+	 * @param coCodeTimeBudget The time budget in milliseconds, values less than or equal to zero disable the budget.
+	 * @return The CompressionSettingsBuilder
+	 */
+	public CompressionSettingsBuilder setCoCodeTimeBudget(long coCodeTimeBudget) {
+		this.coCodeTimeBudget = coCodeTimeBudget;
+		return this;
+	}
+
 	/**
 	 * Create the CompressionSettings object to use in the compression.
 	 * 
@@ -240,6 +255,6 @@ public class CompressionSettingsBuilder {
 	public CompressionSettings create() {
 		return new CompressionSettings(samplingRatio, allowSharedDictionary, transposeInput, skipList, seed,
 			investigateEstimate, lossy, validCompressions, sortValuesByLength, columnPartitioner,
-			maxStaticColGroupCoCode);
+			maxStaticColGroupCoCode, coCodeTimeBudget);
 	}
 }
@@ -24,6 +24,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 
@@ -40,6 +41,9 @@ public class PlanningCoCoder {
 
 	private static final Log LOG = LogFactory.getLog(PlanningCoCoder.class.getName());
 
+	/** Minimum number of groups in the working set of the co-coding search to evaluate the candidates in parallel. */
+	private static final int PAR_CANDIDATE_THRESHOLD = 16;
+
 	public enum PartitionerType {
 		BIN_PACKING, STATIC, COST,
 	}
@@ -84,11 +88,14 @@ public class PlanningCoCoder {
 		}
 
 		// brute force grouping within each partition
+		final long deadline = (cs.coCodeTimeBudget > 0) ? System.nanoTime() +
+			cs.coCodeTimeBudget * 1000000 : Long.MAX_VALUE;
 		List<int[]> coCodeColGroups = (k > 1) ? getCocodingGroupsBruteForce(bins,
 			groupColsInfo,
 			sizeEstimator,
 			numRows,
-			k) : getCocodingGroupsBruteForce(bins, groupColsInfo, sizeEstimator, numRows);
+			k,
+			deadline) : getCocodingGroupsBruteForce(bins, groupColsInfo, sizeEstimator, numRows, deadline);
 
 		if(LOG.isDebugEnabled()) {
 			StringBuilder sb = new StringBuilder();
@@ -100,17 +107,16 @@ public class PlanningCoCoder {
 	}
 
 	private static List<int[]> getCocodingGroupsBruteForce(List<int[]> bins,
-		HashMap<Integer, GroupableColInfo> groupColsInfo, CompressedSizeEstimator estimator, int rlen) {
+		HashMap<Integer, GroupableColInfo> groupColsInfo, CompressedSizeEstimator estimator, int rlen, long deadline) {
 		List<int[]> retGroups = new ArrayList<>();
 		for(int[] bin : bins) {
-			// building an array of singleton CoCodingGroup
-			ArrayList<PlanningCoCodingGroup> sgroups = new ArrayList<>();
-			for(int col : bin)
-				sgroups.add(new PlanningCoCodingGroup(col, groupColsInfo.get(col)));
 			// brute force co-coding
 			PlanningCoCodingGroup[] outputGroups = findCocodesBruteForce(estimator,
 				rlen,
-				sgroups.toArray(new PlanningCoCodingGroup[0]));
+				createSingletonGroups(bin, groupColsInfo),
+				null,
+				1,
+				deadline);
 			for(PlanningCoCodingGroup grp : outputGroups)
 				retGroups.add(grp.getColIndices());
 		}
@@ -119,22 +125,32 @@ public class PlanningCoCoder {
 	}
 
 	private static List<int[]> getCocodingGroupsBruteForce(List<int[]> bins,
-		HashMap<Integer, GroupableColInfo> groupColsInfo, CompressedSizeEstimator estimator, int rlen, int k) {
+		HashMap<Integer, GroupableColInfo> groupColsInfo, CompressedSizeEstimator estimator, int rlen, int k,
+		long deadline) {
 		List<int[]> retGroups = new ArrayList<>();
 		try {
 			ExecutorService pool = CommonThreadPool.get(k);
-			ArrayList<CocodeTask> tasks = new ArrayList<>();
-			for(int[] bin : bins) {
-				// building an array of singleton CoCodingGroup
-				ArrayList<PlanningCoCodingGroup> sgroups = new ArrayList<>();
-				for(int col : bin)
-					sgroups.add(new PlanningCoCodingGroup(col, groupColsInfo.get(col)));
-				tasks.add(new CocodeTask(estimator, sgroups, rlen));
+			if(bins.size() >= k) {
+				// parallel over partitions
+				ArrayList<CocodeTask> tasks = new ArrayList<>();
+				for(int[] bin : bins)
+					tasks.add(new CocodeTask(estimator, createSingletonGroups(bin, groupColsInfo), rlen, deadline));
+				List<Future<PlanningCoCodingGroup[]>> rtask = pool.invokeAll(tasks);
+				for(Future<PlanningCoCodingGroup[]> lrtask : rtask)
+					for(PlanningCoCodingGroup grp : lrtask.get())
+						retGroups.add(grp.getColIndices());
+			}
+			else {
+				// parallel over the candidate merges of each partition
+				for(int[] bin : bins)
+					for(PlanningCoCodingGroup grp : findCocodesBruteForce(estimator,
+						rlen,
+						createSingletonGroups(bin, groupColsInfo),
+						pool,
+						k,
+						deadline))
+						retGroups.add(grp.getColIndices());
 			}
-			List<Future<PlanningCoCodingGroup[]>> rtask = pool.invokeAll(tasks);
-			for(Future<PlanningCoCodingGroup[]> lrtask : rtask)
-				for(PlanningCoCodingGroup grp : lrtask.get())
-					retGroups.add(grp.getColIndices());
 			pool.shutdown();
 		}
 		catch(Exception ex) {
@@ -144,19 +160,33 @@ public class PlanningCoCoder {
 		return retGroups;
 	}
 
+	private static PlanningCoCodingGroup[] createSingletonGroups(int[] bin,
+		HashMap<Integer, GroupableColInfo> groupColsInfo) {
+		PlanningCoCodingGroup[] sgroups = new PlanningCoCodingGroup[bin.length];
+		for(int i = 0; i < bin.length; i++)
+			sgroups[i] = new PlanningCoCodingGroup(bin[i], groupColsInfo.get(bin[i]));
+		return sgroups;
+	}
+
 	/**
 	 * Identify columns to code together. Uses a greedy approach that merges pairs of column groups into larger groups.
-	 * Each phase of the greedy algorithm considers all combinations of pairs to merge.
+	 * Each phase of the greedy algorithm considers all combinations of pairs to merge, in parallel if a thread pool is
+	 * given. The estimates of merged groups are derived from the bitmaps of the two merged groups, which are shared
+	 * across all candidates via the size estimator. If the deadline passes, the search stops and returns the groups
+	 * found so far.
 	 * 
 	 * TODO Find better faster ways of finding cocodes than brute force.
 	 * 
-	 * @param sizeEstimator  compressed size estimator
-	 * @param numRowsWeight  number of rows weight
-	 * @param singltonGroups planning co-coding groups
+	 * @param estimator       compressed size estimator
+	 * @param numRows         number of rows
+	 * @param singletonGroups planning co-coding groups
+	 * @param pool            thread pool for evaluating candidates in parallel, or null
+	 * @param k               the parallelization degree
+	 * @param deadline        the deadline of the search in nanoseconds, see {@link System#nanoTime()}
 	 * @return A PlanningCoCodingGroup.
 	 */
 	private static PlanningCoCodingGroup[] findCocodesBruteForce(CompressedSizeEstimator estimator, int numRows,
-		PlanningCoCodingGroup[] singletonGroups) {
+		PlanningCoCodingGroup[] singletonGroups, ExecutorService pool, int k, long deadline) {
 		if(LOG.isTraceEnabled())
 			LOG.trace("Cocoding: process " + singletonGroups.length);
 
@@ -169,43 +199,42 @@ public class PlanningCoCoder {
 		boolean changed = true;
 		while(changed && workset.size() > 1) {
 			// find best merge, incl memoization
-			PlanningCoCodingGroup tmp = null;
-			for(int i = 0; i < workset.size(); i++) {
-				for(int j = i + 1; j < workset.size(); j++) {
-					PlanningCoCodingGroup c1 = workset.get(i);
-					PlanningCoCodingGroup c2 = workset.get(j);
-					memo.incrStats(1, 0, 0);
-
-					// pruning filter: skip dominated candidates
-					if(-Math.min(c1.getEstSize(), c2.getEstSize()) > memo.getOptChangeInSize())
-						continue;
-
-					// memoization or newly created group (incl bitmap extraction)
-					PlanningCoCodingGroup c1c2 = memo.getOrCreate(c1, c2, estimator, numRows);
-
-					// keep best merged group only
-					if(tmp == null || c1c2.getChangeInSize() < tmp.getChangeInSize() ||
-						(c1c2.getChangeInSize() == tmp.getChangeInSize() &&
-							c1c2.getColIndices().length < tmp.getColIndices().length))
-						tmp = c1c2;
+			CocodeCandidate tmp = null;
+			if(pool != null && workset.size() >= PAR_CANDIDATE_THRESHOLD) {
+				ArrayList<CandidateTask> tasks = new ArrayList<>();
+				for(int t = 0; t < k; t++)
+					tasks.add(new CandidateTask(estimator, numRows, workset, memo, t, k, deadline));
+				try {
+					for(Future<CocodeCandidate> f : pool.invokeAll(tasks))
+						tmp = CocodeCandidate.best(tmp, f.get());
+				}
+				catch(InterruptedException | ExecutionException e) {
+					throw new DMLRuntimeException(e);
 				}
 			}
+			else
+				tmp = findBestMerge(estimator, numRows, workset, memo, 0, 1, deadline);
 
 			// modify working set
-			if(tmp != null && tmp.getChangeInSize() < 0) {
-				workset.remove(tmp.getLeftGroup());
-				workset.remove(tmp.getRightGroup());
-				workset.add(tmp);
-				memo.remove(tmp);
+			if(tmp != null && tmp.group.getChangeInSize() < 0) {
+				workset.remove(tmp.group.getLeftGroup());
+				workset.remove(tmp.group.getRightGroup());
+				workset.add(tmp.group);
+				memo.remove(tmp.group);
 
 				if(LOG.isTraceEnabled()) {
-					LOG.trace("--merge groups: " + Arrays.toString(tmp.getLeftGroup().getColIndices()) + " and "
-						+ Arrays.toString(tmp.getRightGroup().getColIndices()));
+					LOG.trace("--merge groups: " + Arrays.toString(tmp.group.getLeftGroup().getColIndices()) + " and "
+						+ Arrays.toString(tmp.group.getRightGroup().getColIndices()));
 				}
 			}
 			else {
 				changed = false;
 			}
+
+			if(System.nanoTime() > deadline) {
+				LOG.debug("Co-coding time budget exceeded, using the best column groups found so far");
+				break;
+			}
 		}
 
 		if(LOG.isTraceEnabled())
@@ -214,6 +243,35 @@ public class PlanningCoCoder {
 		return workset.toArray(new PlanningCoCodingGroup[0]);
 	}
 
+	/**
+	 * Find the best merge of pairs of groups (i, j) with i &lt; j, where the first group i is in the given stride of the
+	 * working set.
+	 * 
+	 * @return The best merge, or null if all candidates were pruned
+	 */
+	private static CocodeCandidate findBestMerge(CompressedSizeEstimator estimator, int numRows,
+		List<PlanningCoCodingGroup> workset, PlanningMemoTable memo, int off, int stride, long deadline) {
+		CocodeCandidate tmp = null;
+		for(int i = off; i < workset.size() && System.nanoTime() <= deadline; i += stride) {
+			for(int j = i + 1; j < workset.size(); j++) {
+				PlanningCoCodingGroup c1 = workset.get(i);
+				PlanningCoCodingGroup c2 = workset.get(j);
+				memo.incrStats(1, 0, 0);
+
+				// pruning filter: skip dominated candidates
+				if(-Math.min(c1.getEstSize(), c2.getEstSize()) > memo.getOptChangeInSize())
+					continue;
+
+				// memoization or newly created group (incl bitmap extraction)
+				PlanningCoCodingGroup c1c2 = memo.getOrCreate(c1, c2, estimator, numRows);
+
+				// keep best merged group only
+				tmp = CocodeCandidate.best(tmp, new CocodeCandidate(c1c2, i, j));
+			}
+		}
+		return tmp;
+	}
+
 	private static ColumnGroupPartitioner createColumnGroupPartitioner(PartitionerType type) {
 		switch(type) {
 			case BIN_PACKING:
@@ -242,20 +300,78 @@ public class PlanningCoCoder {
 	}
 
 	private static class CocodeTask implements Callable<PlanningCoCodingGroup[]> {
-		private CompressedSizeEstimator _estim = null;
-		private ArrayList<PlanningCoCodingGroup> _sgroups = null;
-		private int _rlen = -1;
+		private final CompressedSizeEstimator _estim;
+		private final PlanningCoCodingGroup[] _sgroups;
+		private final int _rlen;
+		private final long _deadline;
 
-		protected CocodeTask(CompressedSizeEstimator estim, ArrayList<PlanningCoCodingGroup> sgroups, int rlen) {
+		protected CocodeTask(CompressedSizeEstimator estim, PlanningCoCodingGroup[] sgroups, int rlen, long deadline) {
 			_estim = estim;
 			_sgroups = sgroups;
 			_rlen = rlen;
+			_deadline = deadline;
 		}
 
 		@Override
 		public PlanningCoCodingGroup[] call() {
 			// brute force co-coding
-			return findCocodesBruteForce(_estim, _rlen, _sgroups.toArray(new PlanningCoCodingGroup[0]));
+			return findCocodesBruteForce(_estim, _rlen, _sgroups, null, 1, _deadline);
+		}
+	}
+
+	private static class CandidateTask implements Callable<CocodeCandidate> {
+		private final CompressedSizeEstimator _estim;
+		private final int _rlen;
+		private final List<PlanningCoCodingGroup> _workset;
+		private final PlanningMemoTable _memo;
+		private final int _off;
+		private final int _stride;
+		private final long _deadline;
+
+		protected CandidateTask(CompressedSizeEstimator estim, int rlen, List<PlanningCoCodingGroup> workset,
+			PlanningMemoTable memo, int off, int stride, long deadline) {
+			_estim = estim;
+			_rlen = rlen;
+			_workset = workset;
+			_memo = memo;
+			_off = off;
+			_stride = stride;
+			_deadline = deadline;
+		}
+
+		@Override
+		public CocodeCandidate call() {
+			return findBestMerge(_estim, _rlen, _workset, _memo, _off, _stride, _deadline);
+		}
+	}
+
+	/**
+	 * A candidate merge of the groups at positions i and j of the working set. The position breaks ties between
+	 * candidates of equal size, which makes the result of the parallel search independent of the task scheduling.
+	 */
+	private static class CocodeCandidate {
+		private final PlanningCoCodingGroup group;
+		private final int i;
+		private final int j;
+
+		protected CocodeCandidate(PlanningCoCodingGroup group, int i, int j) {
+			this.group = group;
+			this.i = i;
+			this.j = j;
+		}
+
+		protected static CocodeCandidate best(CocodeCandidate a, CocodeCandidate b) {
+			if(a == null || b == null)
+				return (a == null) ? b : a;
+			final double ca = a.group.getChangeInSize();
+			final double cb = b.group.getChangeInSize();
+			if(ca != cb)
+				return (ca < cb) ? a : b;
+			final int la = a.group.getColIndices().length;
+			final int lb = b.group.getColIndices().length;
+			if(la != lb)
+				return (la < lb) ? a : b;
+			return (a.i < b.i || (a.i == b.i && a.j < b.j)) ? a : b;
 		}
 	}
 }
@@ -60,8 +60,9 @@ public class PlanningCoCodingGroup {
 		int numRows) {
 		_colIndexes = getMergedIndexes(grp1._colIndexes, grp2._colIndexes);
 
-		// estimating size info
-		CompressedSizeInfoColGroup groupSizeInfo = estim.estimateCompressedColGroupSize(_colIndexes);
+		// estimating size info, reusing the bitmaps of the merged groups
+		CompressedSizeInfoColGroup groupSizeInfo = estim.estimateJoinCompressedSize(grp1._colIndexes,
+			grp2._colIndexes);
 
 		_estSize = groupSizeInfo.getMinSize();
 		_cardRatio = groupSizeInfo.getEstCard() / numRows;
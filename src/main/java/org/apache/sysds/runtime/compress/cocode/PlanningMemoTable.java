@@ -20,18 +20,29 @@
 package org.apache.sysds.runtime.compress.cocode;
 
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 import org.apache.sysds.runtime.compress.cocode.PlanningCoCodingGroup.ColIndexes;
 import org.apache.sysds.runtime.compress.estim.CompressedSizeEstimator;
 
 public class PlanningMemoTable {
-	private HashMap<ColIndexes, PlanningCoCodingGroup> _memo = new HashMap<>();
-	private double _optChangeInSize = 0;
-	private int[] _stats = new int[3];
+	private ConcurrentHashMap<ColIndexes, PlanningCoCodingGroup> _memo = new ConcurrentHashMap<>();
+	private volatile double _optChangeInSize = 0;
+	private AtomicIntegerArray _stats = new AtomicIntegerArray(3);
 
+	/**
+	 * Get the memoized merge of the two groups, or create it. This method is thread-safe, concurrent calls for the
+	 * same merge might create the merged group multiple times, but only one instance is kept.
+	 * 
+	 * @param c1      The first group
+	 * @param c2      The second group
+	 * @param estim   The size estimator
+	 * @param numRows The number of rows
+	 * @return The merged group
+	 */
 	public PlanningCoCodingGroup getOrCreate(PlanningCoCodingGroup c1, PlanningCoCodingGroup c2,
 		CompressedSizeEstimator estim, int numRows) {
 		ColIndexes c1c2Indexes = new ColIndexes(
@@ -44,21 +55,29 @@ public class PlanningMemoTable {
 		incrStats(0, 1, 0); // probed plans
 		if(c1c2 == null) {
 			c1c2 = new PlanningCoCodingGroup(c1, c2, estim, numRows);
-			_memo.put(c1c2Indexes, c1c2);
-			_optChangeInSize = Math.min(_optChangeInSize, c1c2.getChangeInSize());
+			PlanningCoCodingGroup prev = _memo.putIfAbsent(c1c2Indexes, c1c2);
+			if(prev != null)
+				return prev;
+			updateOptChangeInSize(c1c2.getChangeInSize());
 			incrStats(0, 0, 1); // created plans
 		}
 
 		return c1c2;
 	}
 
+	/**
+	 * Remove the merged group and all overlapping groups. This method is not thread-safe and must not be called
+	 * concurrently with {@link #getOrCreate}.
+	 * 
+	 * @param grp The merged group
+	 */
 	public void remove(PlanningCoCodingGroup grp) {
 		// remove atomic groups
 		_memo.remove(new ColIndexes(grp.getColIndices()));
 		_memo.remove(new ColIndexes(grp.getLeftGroup().getColIndices()));
 		_memo.remove(new ColIndexes(grp.getRightGroup().getColIndices()));
 
-		_optChangeInSize = 0;
+		double optChangeInSize = 0;
 
 		// remove overlapping groups and recompute min size
 		Iterator<Entry<ColIndexes, PlanningCoCodingGroup>> iter = _memo.entrySet().iterator();
@@ -71,14 +90,15 @@ public class PlanningMemoTable {
 				iter.remove();
 			}
 			else
-				_optChangeInSize = Math.min(_optChangeInSize, tmp.getChangeInSize());
+				optChangeInSize = Math.min(optChangeInSize, tmp.getChangeInSize());
 		}
+		_optChangeInSize = optChangeInSize;
 	}
 
 	public void incrStats(int v1, int v2, int v3) {
-		_stats[0] += v1;
-		_stats[1] += v2;
-		_stats[2] += v3;
+		_stats.addAndGet(0, v1);
+		_stats.addAndGet(1, v2);
+		_stats.addAndGet(2, v3);
 	}
 
 	public double getOptChangeInSize() {
@@ -86,6 +106,10 @@ public class PlanningMemoTable {
 	}
 
 	public int[] getStats() {
-		return _stats;
+		return new int[] {_stats.get(0), _stats.get(1), _stats.get(2)};
+	}
+
+	private synchronized void updateOptChangeInSize(double changeInSize) {
+		_optChangeInSize = Math.min(_optChangeInSize, changeInSize);
 	}
 }
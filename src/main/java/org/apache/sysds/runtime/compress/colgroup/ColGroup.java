@@ -54,10 +54,11 @@ public abstract class ColGroup implements Serializable {
 	 * differentiation is hidden to a user.
 	 * 
 	 * Includes Uncompressed for sparse/dense representation RLE for Run length encoding OLE for Offset Length encoding
-	 * DDC for Dense dictionary encoding
+	 * DDC for Dense dictionary encoding FOR for frame-of-reference bit-packing and DELTA for bit-packed delta encoding
+	 * of integer columns
 	 */
 	public enum CompressionType {
-		UNCOMPRESSED, RLE, OLE, DDC, CONST
+		UNCOMPRESSED, RLE, OLE, DDC, CONST, FOR, DELTA
 	}
 
 	/**
@@ -66,7 +67,7 @@ public abstract class ColGroup implements Serializable {
 	 * Protected such that outside the ColGroup package it should be unknown which specific subtype is used.
 	 */
 	protected enum ColGroupType {
-		UNCOMPRESSED, RLE, OLE, DDC1, DDC2, CONST
+		UNCOMPRESSED, RLE, OLE, DDC1, DDC2, CONST, FOR, DELTA
 	}
 
 	/** The ColGroup Indexes 0 offset, contained in the ColGroup */
@@ -506,4 +507,55 @@ public abstract class ColGroup implements Serializable {
 	 * @return returns if the colgroup is allocated in a dense fashion.
 	 */
 	public abstract boolean isDense();
+
+	/**
+	 * Append rows to this column group, without modifying this column group. The default implementation decompresses
+	 * the columns and re-encodes them together with the appended rows, while subclasses extend their encoding directly
+	 * where possible.
+	 * 
+	 * @param values The appended rows, with one column per column of this group
+	 * @return A column group with the rows of this group followed by the appended rows
+	 */
+	public ColGroup appendRows(MatrixBlock values) {
+		final int nrows = values.getNumRows();
+		MatrixBlock data = decompressColumns(_numRows + nrows);
+		data.copy(_numRows, _numRows + nrows - 1, 0, getNumCols() - 1, values, true);
+		return ColGroupFactory.compress(_colIndexes, data);
+	}
+
+	/**
+	 * Overwrite rows of this column group, without modifying this column group. The default implementation
+	 * decompresses the columns and re-encodes them with the updated rows, while subclasses update their encoding
+	 * directly where possible.
+	 * 
+	 * @param rl     The first updated row
+	 * @param values The updated rows, with one column per column of this group
+	 * @return A column group with the updated rows
+	 */
+	public ColGroup updateRows(int rl, MatrixBlock values) {
+		MatrixBlock data = decompressColumns(_numRows);
+		data.copy(rl, rl + values.getNumRows() - 1, 0, getNumCols() - 1, values, true);
+		return ColGroupFactory.compress(_colIndexes, data);
+	}
+
+	/**
+	 * Decompress the columns of this column group into a dense block with one column per column of this group.
+	 * 
+	 * @param numRows The number of rows of the output, at least the number of rows of this column group
+	 * @return The decompressed columns
+	 */
+	protected MatrixBlock decompressColumns(int numRows) {
+		int maxCol = 0;
+		for(int col : _colIndexes)
+			maxCol = Math.max(maxCol, col);
+		int[] colIndexTargets = new int[maxCol + 1];
+		for(int j = 0; j < _colIndexes.length; j++)
+			colIndexTargets[_colIndexes[j]] = j;
+
+		MatrixBlock ret = new MatrixBlock(numRows, getNumCols(), false);
+		ret.allocateDenseBlock();
+		decompressToBlock(ret, colIndexTargets);
+		ret.recomputeNonZeros();
+		return ret;
+	}
 }
@@ -94,6 +94,15 @@ public class ColGroupConst extends ColGroupValue {
 				+ " You have to materialize rows and then calculate row max");
 	}
 
+	@Override
+	public double[] preAggregateProduct(MatrixBlock b1, MatrixBlock b2, int rl, int ru) {
+		// all rows map to the single tuple
+		double[] vals = new double[_colIndexes.length];
+		for(int i = rl; i < ru; i++)
+			preAggregateProductRow(b1, b2, i, vals, 0);
+		return vals;
+	}
+
 	@Override
 	public CompressionType getCompType() {
 		return CompressionType.CONST;
@@ -253,4 +262,24 @@ public class ColGroupConst extends ColGroupValue {
 	public boolean isDense() {
 		return true;
 	}
+
+	@Override
+	public ColGroup appendRows(MatrixBlock values) {
+		return isConstant(values) ? new ColGroupConst(_colIndexes, _numRows + values.getNumRows(),
+			_dict) : super.appendRows(values);
+	}
+
+	@Override
+	public ColGroup updateRows(int rl, MatrixBlock values) {
+		return isConstant(values) ? new ColGroupConst(_colIndexes, _numRows, _dict) : super.updateRows(rl, values);
+	}
+
+	private boolean isConstant(MatrixBlock values) {
+		final double[] tuple = getValues();
+		for(int i = 0; i < values.getNumRows(); i++)
+			for(int j = 0; j < _colIndexes.length; j++)
+				if(values.quickGetValue(i, j) != tuple[j])
+					return false;
+		return true;
+	}
 }
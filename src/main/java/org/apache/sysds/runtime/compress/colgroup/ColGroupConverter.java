@@ -59,6 +59,14 @@ public class ColGroupConverter {
 			ColGroupDDC1 in = (ColGroupDDC1) group;
 			ret = new ColGroupDDC1(colIndices, in._numRows, in._dict, in.getData(), in._zeros, null);
 		}
+		else if(group instanceof ColGroupFOR) {
+			ColGroupFOR in = (ColGroupFOR) group;
+			ret = new ColGroupFOR(colIndices, in._numRows, in._refs, in._bits, in._data);
+		}
+		else if(group instanceof ColGroupDelta) {
+			ColGroupDelta in = (ColGroupDelta) group;
+			ret = new ColGroupDelta(colIndices, in._numRows, in._anchors, in._bits, in._data);
+		}
 		else {
 			throw new RuntimeException("Using '" + group.getClass() + "' instance of ColGroup not fully supported");
 		}
@@ -19,11 +19,15 @@
 
 package org.apache.sysds.runtime.compress.colgroup;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 
 import org.apache.sysds.runtime.compress.CompressionSettings;
 import org.apache.sysds.runtime.compress.utils.ABitmap;
+import org.apache.sysds.runtime.compress.utils.DblArray;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.functionobjects.Builtin;
 import org.apache.sysds.runtime.functionobjects.KahanFunction;
@@ -309,6 +313,19 @@ public abstract class ColGroupDDC extends ColGroupValue {
 		return vals;
 	}
 
+	@Override
+	public double[] preAggregateProduct(MatrixBlock b1, MatrixBlock b2, int rl, int ru) {
+		final int ncol = _colIndexes.length;
+		final int len = getNumValues() * ncol;
+		double[] vals = new double[len];
+		for(int i = rl; i < ru; i++) {
+			int off = getIndex(i) * ncol;
+			if(off < len)
+				preAggregateProductRow(b1, b2, i, vals, off);
+		}
+		return vals;
+	}
+
 	@Override
 	public void leftMultByRowVector(double[] a, double[] c, int numVals, double[] values) {
 
@@ -459,6 +476,110 @@ public abstract class ColGroupDDC extends ColGroupValue {
 
 
 
+	@Override
+	public ColGroup appendRows(MatrixBlock values) {
+		ColGroup ret = morph(_numRows + values.getNumRows(), _numRows, values);
+		return (ret != null) ? ret : super.appendRows(values);
+	}
+
+	@Override
+	public ColGroup updateRows(int rl, MatrixBlock values) {
+		ColGroup ret = morph(_numRows, rl, values);
+		return (ret != null) ? ret : super.updateRows(rl, values);
+	}
+
+	/**
+	 * Encode rows into a copy of this column group, where value tuples that are not yet contained in the dictionary
+	 * are appended to the dictionary. Tuples that are no longer referenced after an update are removed, such that
+	 * aggregates over the dictionary remain correct.
+	 * 
+	 * @param numRows The number of rows of the new column group
+	 * @param rl      The row of the first encoded row
+	 * @param values  The encoded rows, with one column per column of this group
+	 * @return The new column group, or null if the dictionary is lossy or exceeds the DDC2 value range
+	 */
+	private ColGroup morph(int numRows, int rl, MatrixBlock values) {
+		if(!(_dict instanceof Dictionary))
+			return null;
+		final int ncol = getNumCols();
+		final int numVals = getNumValues();
+		final int ru = rl + values.getNumRows();
+		final double[] dict = getValues();
+
+		// lookup of existing value tuples, incl the zero tuple that is not materialized
+		// in the dictionary but encoded with the code numVals
+		HashMap<DblArray, Integer> map = new HashMap<>();
+		for(int i = 0; i < numVals; i++)
+			map.putIfAbsent(new DblArray(Arrays.copyOfRange(dict, i * ncol, (i + 1) * ncol)), i);
+		List<double[]> tuples = new ArrayList<>();
+		if(_zeros && containsAllZeroValue() < 0) {
+			map.put(new DblArray(new double[ncol]), numVals);
+			tuples.add(new double[ncol]);
+		}
+
+		// encode new rows, and append unseen tuples to the dictionary
+		int[] codes = new int[ru - rl];
+		double[] tuple = new double[ncol];
+		for(int i = rl; i < ru; i++) {
+			for(int j = 0; j < ncol; j++)
+				tuple[j] = values.quickGetValue(i - rl, j);
+			Integer code = map.get(new DblArray(tuple));
+			if(code == null) {
+				code = numVals + tuples.size();
+				double[] tmp = tuple.clone();
+				map.put(new DblArray(tmp), code);
+				tuples.add(tmp);
+			}
+			codes[i - rl] = code;
+		}
+		final int maxVals = numVals + tuples.size();
+		if(maxVals > Character.MAX_VALUE)
+			return null;
+
+		// count references of all codes
+		int[] counts = new int[maxVals];
+		for(int i = 0; i < Math.min(rl, _numRows); i++)
+			counts[getIndex(i)]++;
+		for(int i = ru; i < _numRows; i++)
+			counts[getIndex(i)]++;
+		for(int code : codes)
+			counts[code]++;
+
+		// compact dictionary to referenced tuples
+		int[] remap = new int[maxVals];
+		int newVals = 0;
+		boolean zeros = false;
+		double[] newDict = new double[maxVals * ncol];
+		for(int i = 0; i < maxVals; i++) {
+			if(counts[i] == 0)
+				continue;
+			double[] src = (i < numVals) ? dict : tuples.get(i - numVals);
+			int srcOff = (i < numVals) ? i * ncol : 0;
+			boolean zero = true;
+			for(int j = 0; j < ncol; j++) {
+				newDict[newVals * ncol + j] = src[srcOff + j];
+				zero &= src[srcOff + j] == 0;
+			}
+			zeros |= zero;
+			remap[i] = newVals++;
+		}
+		Dictionary newDictionary = new Dictionary(Arrays.copyOf(newDict, newVals * ncol));
+
+		// copy and recode data
+		if(newVals <= 256) {
+			byte[] data = new byte[numRows];
+			for(int i = 0; i < numRows; i++)
+				data[i] = (byte) remap[(i >= rl && i < ru) ? codes[i - rl] : getIndex(i)];
+			return new ColGroupDDC1(_colIndexes, numRows, newDictionary, data, zeros, null);
+		}
+		else {
+			char[] data = new char[numRows];
+			for(int i = 0; i < numRows; i++)
+				data[i] = (char) remap[(i >= rl && i < ru) ? codes[i - rl] : getIndex(i)];
+			return new ColGroupDDC2(_colIndexes, numRows, newDictionary, data, zeros, null);
+		}
+	}
+
 	@Override
 	public boolean isDense(){
 		return true;
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.colgroup;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.apache.sysds.runtime.compress.utils.ABitmap;
+
+/**
+ * Column group with delta encoding. Each column stores the differences between consecutive rows, zigzag encoded and
+ * bit-packed, which is a good fit for monotonic or slowly changing columns such as timestamps and counters. To bound
+ * the cost of random access, the rows are split into segments of {@link #SEGMENT_SZ} rows, and the value at the start
+ * of each segment is stored as anchor.
+ */
+public class ColGroupDelta extends ColGroupPacked {
+	private static final long serialVersionUID = -1730187410578532318L;
+
+	/** Number of rows per segment, every segment starts at an explicitly stored anchor value. */
+	public static final int SEGMENT_SZ = 256;
+
+	/** The values at the start of each segment of each column. */
+	protected long[][] _anchors;
+
+	/**
+	 * Constructor for serialization
+	 */
+	protected ColGroupDelta() {
+		super();
+	}
+
+	/**
+	 * Main constructor that encodes the columns of a lossless bitmap.
+	 *
+	 * @param colIndices The column indexes
+	 * @param numRows    The number of rows
+	 * @param ubm        The uncompressed bitmap of the columns
+	 */
+	protected ColGroupDelta(int[] colIndices, int numRows, ABitmap ubm) {
+		this(colIndices, numRows, extractColumns(ubm, numRows, CompressionType.DELTA));
+	}
+
+	/**
+	 * Constructor that encodes the given integer columns.
+	 *
+	 * @param colIndices The column indexes
+	 * @param numRows    The number of rows
+	 * @param values     The values of each column
+	 */
+	protected ColGroupDelta(int[] colIndices, int numRows, long[][] values) {
+		super(colIndices, numRows);
+		final int ncol = colIndices.length;
+		final int nseg = getNumSegments(numRows);
+		_anchors = new long[ncol][nseg];
+		_bits = new int[ncol];
+		_data = new long[ncol][];
+		for(int j = 0; j < ncol; j++) {
+			final long[] col = values[j];
+			long max = 0;
+			for(int i = 0; i < numRows; i++) {
+				if(i % SEGMENT_SZ == 0)
+					_anchors[j][i / SEGMENT_SZ] = col[i];
+				else
+					max = Math.max(max, zigzag(col[i] - col[i - 1]));
+			}
+			_bits[j] = bitsFor(max);
+			_data[j] = allocPacked(numRows, _bits[j]);
+			if(_bits[j] > 0)
+				for(int i = 0; i < numRows; i++)
+					if(i % SEGMENT_SZ != 0)
+						setPacked(_data[j], _bits[j], i, zigzag(col[i] - col[i - 1]));
+		}
+	}
+
+	protected ColGroupDelta(int[] colIndices, int numRows, long[][] anchors, int[] bits, long[][] data) {
+		super(colIndices, numRows, bits, data);
+		_anchors = anchors;
+	}
+
+	@Override
+	public CompressionType getCompType() {
+		return CompressionType.DELTA;
+	}
+
+	@Override
+	protected ColGroupType getColGroupType() {
+		return ColGroupType.DELTA;
+	}
+
+	@Override
+	protected void decompressColumn(int colIx, int rl, int ru, double[] out) {
+		final long[] anchors = _anchors[colIx];
+		final int bits = _bits[colIx];
+		final long[] data = _data[colIx];
+		final long mask = (1L << bits) - 1;
+
+		// decode from the start of the segment containing rl
+		int i = rl - rl % SEGMENT_SZ;
+		long v = 0;
+		long pos = (long) i * bits;
+		for(; i < ru; i++, pos += bits) {
+			if(i % SEGMENT_SZ == 0)
+				v = anchors[i / SEGMENT_SZ];
+			else if(bits > 0) {
+				final int w = (int) (pos >>> 6);
+				final int off = (int) (pos & 63);
+				long d = data[w] >>> off;
+				if(off + bits > 64)
+					d |= data[w + 1] << (64 - off);
+				v += unzigzag(d & mask);
+			}
+			if(i >= rl)
+				out[i - rl] = v;
+		}
+	}
+
+	@Override
+	protected double getValue(int r, int colIx) {
+		final int bits = _bits[colIx];
+		long v = _anchors[colIx][r / SEGMENT_SZ];
+		if(bits > 0)
+			for(int i = r - r % SEGMENT_SZ + 1; i <= r; i++)
+				v += unzigzag(getPacked(_data[colIx], bits, i));
+		return v;
+	}
+
+	@Override
+	protected ColGroupPacked create(long[][] values, int numRows) {
+		return new ColGroupDelta(_colIndexes, numRows, values);
+	}
+
+	@Override
+	public long estimateInMemorySize() {
+		return ColGroupSizes.estimateInMemorySizeDELTA(getNumCols(), getNumRows(), getBitsPerRow());
+	}
+
+	@Override
+	public void write(DataOutput out) throws IOException {
+		super.write(out);
+		for(long[] anchors : _anchors)
+			for(long v : anchors)
+				out.writeLong(v);
+	}
+
+	@Override
+	public void readFields(DataInput in) throws IOException {
+		super.readFields(in);
+		final int nseg = getNumSegments(_numRows);
+		_anchors = new long[_colIndexes.length][nseg];
+		for(int j = 0; j < _colIndexes.length; j++)
+			for(int s = 0; s < nseg; s++)
+				_anchors[j][s] = in.readLong();
+	}
+
+	@Override
+	public long getExactSizeOnDisk() {
+		return super.getExactSizeOnDisk() + 8L * _colIndexes.length * getNumSegments(_numRows);
+	}
+
+	protected static int getNumSegments(int numRows) {
+		return (numRows + SEGMENT_SZ - 1) / SEGMENT_SZ;
+	}
+
+	private static long zigzag(long v) {
+		return (v << 1) ^ (v >> 63);
+	}
+
+	private static long unzigzag(long v) {
+		return (v >>> 1) ^ -(v & 1);
+	}
+}
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.colgroup;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.sysds.runtime.compress.utils.ABitmap;
+import org.apache.sysds.runtime.functionobjects.Minus;
+import org.apache.sysds.runtime.functionobjects.Plus;
+import org.apache.sysds.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+
+/**
+ * Column group with frame-of-reference encoding. Each column stores its minimum value as reference, and every row the
+ * bit-packed offset of its value from that reference, which requires ceil(log2(max - min + 1)) bits per value.
+ */
+public class ColGroupFOR extends ColGroupPacked {
+	private static final long serialVersionUID = 6170297314856254601L;
+
+	/** The reference value (minimum) of each column. */
+	protected long[] _refs;
+
+	/**
+	 * Constructor for serialization
+	 */
+	protected ColGroupFOR() {
+		super();
+	}
+
+	/**
+	 * Main constructor that encodes the columns of a lossless bitmap.
+	 *
+	 * @param colIndices The column indexes
+	 * @param numRows    The number of rows
+	 * @param ubm        The uncompressed bitmap of the columns
+	 */
+	protected ColGroupFOR(int[] colIndices, int numRows, ABitmap ubm) {
+		this(colIndices, numRows, extractColumns(ubm, numRows, CompressionType.FOR));
+	}
+
+	/**
+	 * Constructor that encodes the given integer columns.
+	 *
+	 * @param colIndices The column indexes
+	 * @param numRows    The number of rows
+	 * @param values     The values of each column
+	 */
+	protected ColGroupFOR(int[] colIndices, int numRows, long[][] values) {
+		super(colIndices, numRows);
+		final int ncol = colIndices.length;
+		_refs = new long[ncol];
+		_bits = new int[ncol];
+		_data = new long[ncol][];
+		for(int j = 0; j < ncol; j++) {
+			final long[] col = values[j];
+			long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+			for(int i = 0; i < numRows; i++) {
+				min = Math.min(min, col[i]);
+				max = Math.max(max, col[i]);
+			}
+			_refs[j] = min;
+			_bits[j] = bitsFor(max - min);
+			_data[j] = allocPacked(numRows, _bits[j]);
+			if(_bits[j] > 0)
+				for(int i = 0; i < numRows; i++)
+					setPacked(_data[j], _bits[j], i, col[i] - min);
+		}
+	}
+
+	protected ColGroupFOR(int[] colIndices, int numRows, long[] refs, int[] bits, long[][] data) {
+		super(colIndices, numRows, bits, data);
+		_refs = refs;
+	}
+
+	@Override
+	public CompressionType getCompType() {
+		return CompressionType.FOR;
+	}
+
+	@Override
+	protected ColGroupType getColGroupType() {
+		return ColGroupType.FOR;
+	}
+
+	@Override
+	protected void decompressColumn(int colIx, int rl, int ru, double[] out) {
+		final long ref = _refs[colIx];
+		final int bits = _bits[colIx];
+		if(bits == 0) {
+			Arrays.fill(out, 0, ru - rl, ref);
+			return;
+		}
+		final long[] data = _data[colIx];
+		final long mask = (1L << bits) - 1;
+		long pos = (long) rl * bits;
+		for(int i = 0; i < ru - rl; i++, pos += bits) {
+			final int w = (int) (pos >>> 6);
+			final int off = (int) (pos & 63);
+			long v = data[w] >>> off;
+			if(off + bits > 64)
+				v |= data[w + 1] << (64 - off);
+			out[i] = ref + (v & mask);
+		}
+	}
+
+	@Override
+	protected double getValue(int r, int colIx) {
+		return _bits[colIx] == 0 ? _refs[colIx] : _refs[colIx] + getPacked(_data[colIx], _bits[colIx], r);
+	}
+
+	@Override
+	protected ColGroupPacked create(long[][] values, int numRows) {
+		return new ColGroupFOR(_colIndexes, numRows, values);
+	}
+
+	@Override
+	public ColGroup scalarOperation(ScalarOperator op) {
+		// shift by integral constants only modifies the references
+		final double s = op.getConstant();
+		final boolean plus = op.fn instanceof Plus;
+		final boolean minus = op.fn instanceof Minus && op instanceof RightScalarOperator;
+		if((plus || minus) && isPackable(s)) {
+			long[] refs = new long[_refs.length];
+			boolean packable = true;
+			for(int j = 0; j < _refs.length && packable; j++) {
+				refs[j] = _refs[j] + (plus ? (long) s : -(long) s);
+				long max = refs[j] + ((1L << _bits[j]) - 1);
+				packable = isPackable(refs[j]) && isPackable(max);
+			}
+			if(packable)
+				return new ColGroupFOR(_colIndexes, _numRows, refs, _bits, _data);
+		}
+		return super.scalarOperation(op);
+	}
+
+	@Override
+	public long estimateInMemorySize() {
+		return ColGroupSizes.estimateInMemorySizeFOR(getNumCols(), getNumRows(), getBitsPerRow());
+	}
+
+	@Override
+	public void write(DataOutput out) throws IOException {
+		super.write(out);
+		for(long ref : _refs)
+			out.writeLong(ref);
+	}
+
+	@Override
+	public void readFields(DataInput in) throws IOException {
+		super.readFields(in);
+		_refs = new long[_colIndexes.length];
+		for(int j = 0; j < _refs.length; j++)
+			_refs[j] = in.readLong();
+	}
+
+	@Override
+	public long getExactSizeOnDisk() {
+		return super.getExactSizeOnDisk() + 8 * _refs.length;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(super.toString());
+		sb.append("\nReferences: " + Arrays.toString(_refs));
+		return sb.toString();
+	}
+}
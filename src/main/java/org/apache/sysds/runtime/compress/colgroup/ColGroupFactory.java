@@ -32,6 +32,7 @@ import org.apache.sysds.runtime.DMLCompressionException;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.compress.BitmapEncoder;
 import org.apache.sysds.runtime.compress.CompressionSettings;
+import org.apache.sysds.runtime.compress.CompressionSettingsBuilder;
 import org.apache.sysds.runtime.compress.cocode.PlanningCoCoder.PartitionerType;
 import org.apache.sysds.runtime.compress.colgroup.ColGroup.CompressionType;
 import org.apache.sysds.runtime.compress.estim.CompressedSizeEstimator;
@@ -236,10 +237,40 @@ public class ColGroupFactory {
 				return new ColGroupRLE(colIndexes, rlen, ubm, cs);
 			case OLE:
 				return new ColGroupOLE(colIndexes, rlen, ubm, cs);
+			case FOR:
+				return new ColGroupFOR(colIndexes, rlen, ubm);
+			case DELTA:
+				return new ColGroupDelta(colIndexes, rlen, ubm);
 			case UNCOMPRESSED:
 				return new ColGroupUncompressed(colIndexes, rawMatrixBlock, cs.transposed);
 			default:
 				throw new DMLCompressionException("Not implemented ColGroup Type compressed in factory.");
 		}
 	}
+
+	/**
+	 * Compress the columns of an uncompressed block into a single dense dictionary encoded column group, or an
+	 * uncompressed column group if there are too many distinct value tuples. This is used to re-encode individual
+	 * column groups after appends or updates, without re-planning the compression of the entire matrix.
+	 * 
+	 * @param colIndexes The column indexes of the column group
+	 * @param data       The uncompressed columns, with one column per column index
+	 * @return A Compressed ColGroup
+	 */
+	public static ColGroup compress(int[] colIndexes, MatrixBlock data) {
+		int[] localIndexes = new int[colIndexes.length];
+		for(int i = 0; i < localIndexes.length; i++)
+			localIndexes[i] = i;
+		ABitmap ubm = BitmapEncoder.extractBitmap(localIndexes, data, false);
+		final int numVals = ubm.getNumValues();
+		CompressionSettings cs = new CompressionSettingsBuilder().create();
+		if(numVals == 0 || numVals >= Character.MAX_VALUE) {
+			data.examSparsity();
+			return new ColGroupUncompressed(colIndexes, data.getNumRows(), data);
+		}
+		else if(numVals < 256)
+			return new ColGroupDDC1(colIndexes, data.getNumRows(), ubm, cs);
+		else
+			return new ColGroupDDC2(colIndexes, data.getNumRows(), ubm, cs);
+	}
 }
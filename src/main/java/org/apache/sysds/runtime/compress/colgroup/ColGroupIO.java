@@ -80,6 +80,12 @@ public class ColGroupIO {
 				case CONST:
 					grp = new ColGroupConst();
 					break;
+				case FOR:
+					grp = new ColGroupFOR();
+					break;
+				case DELTA:
+					grp = new ColGroupDelta();
+					break;
 				default:
 					throw new DMLRuntimeException("Unsupported ColGroup Type used:  " + ctype);
 			}
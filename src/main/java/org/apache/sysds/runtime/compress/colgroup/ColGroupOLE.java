@@ -163,7 +163,7 @@ public class ColGroupOLE extends ColGroupOffset {
 					for(int i = pos; i < pos + len; i++)
 						for(int j = 0, rix = bi + _data[i]; j < numCols; j++)
 							if(values[off + j] != 0) {
-								double v = target.quickGetValue(rix, _colIndexes[j]);
+								double v = target.quickGetValue(rix, cix[j]);
 								target.setValue(rix, cix[j], values[off + j] + v);
 							}
 					apos[k] += len + 1;
@@ -276,6 +276,20 @@ public abstract class ColGroupOffset extends ColGroupValue {
 			return new OffsetValueIterator(rl, ru, inclZeros);
 	}
 
+	@Override
+	public double[] preAggregateProduct(MatrixBlock b1, MatrixBlock b2, int rl, int ru) {
+		// iterate over the offset lists, where rows of zero tuples are not encoded
+		final int ncol = _colIndexes.length;
+		final int numVals = getNumValues();
+		double[] vals = new double[numVals * ncol];
+		for(int k = 0; k < numVals; k++) {
+			Iterator<Integer> decoder = getIterator(k, rl, ru);
+			while(decoder.hasNext())
+				preAggregateProductRow(b1, b2, decoder.next(), vals, k * ncol);
+		}
+		return vals;
+	}
+
 	/**
 	 * @param k index of value tuple with associated bitmap
 	 * @return an iterator over the row offsets in this bitmap
@@ -0,0 +1,875 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.colgroup;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.apache.sysds.runtime.DMLCompressionException;
+import org.apache.sysds.runtime.DMLScriptException;
+import org.apache.sysds.runtime.compress.utils.ABitmap;
+import org.apache.sysds.runtime.compress.utils.ABitmap.BitmapType;
+import org.apache.sysds.runtime.compress.utils.Bitmap;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.functionobjects.Builtin;
+import org.apache.sysds.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysds.runtime.functionobjects.KahanFunction;
+import org.apache.sysds.runtime.functionobjects.KahanPlus;
+import org.apache.sysds.runtime.functionobjects.KahanPlusSq;
+import org.apache.sysds.runtime.functionobjects.Mean;
+import org.apache.sysds.runtime.functionobjects.ReduceAll;
+import org.apache.sysds.runtime.functionobjects.ReduceCol;
+import org.apache.sysds.runtime.functionobjects.ReduceRow;
+import org.apache.sysds.runtime.instructions.cp.KahanObject;
+import org.apache.sysds.runtime.matrix.data.IJV;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+
+/**
+ * Base class for column groups that store integer valued columns bit-packed into longs, without a dictionary. Every
+ * column is encoded independently with its own bit width, which makes these groups a good fit for high cardinality
+ * columns with small numeric ranges ({@link ColGroupFOR}) or small steps between consecutive rows
+ * ({@link ColGroupDelta}).
+ *
+ * All operations decode blocks of rows into small temporary buffers and compute directly on the decoded values, such
+ * that the columns are never fully materialized.
+ */
+public abstract class ColGroupPacked extends ColGroup {
+	private static final long serialVersionUID = -3102374926384811274L;
+
+	/** Largest absolute value that is packed, all integers up to this value are exactly represented as doubles. */
+	public static final long MAX_PACKED_VALUE = 1L << 52;
+
+	/** Number of rows decoded at a time into temporary buffers. */
+	protected static final int DECODE_BLOCK_SZ = 1024;
+
+	/** The number of bits per packed value of each column. */
+	protected int[] _bits;
+
+	/** The bit-packed values of each column. */
+	protected long[][] _data;
+
+	protected ColGroupPacked() {
+		super();
+	}
+
+	protected ColGroupPacked(int[] colIndices, int numRows) {
+		super(colIndices, numRows);
+	}
+
+	protected ColGroupPacked(int[] colIndices, int numRows, int[] bits, long[][] data) {
+		super(colIndices, numRows);
+		_bits = bits;
+		_data = data;
+	}
+
+	/**
+	 * Decompress the given rows of a single column into a buffer.
+	 *
+	 * @param colIx The column position inside this column group
+	 * @param rl    The row to start at
+	 * @param ru    The row to end at (not inclusive)
+	 * @param out   The output buffer, that is filled from offset 0 with ru - rl values
+	 */
+	protected abstract void decompressColumn(int colIx, int rl, int ru, double[] out);
+
+	/**
+	 * Get a single value of a column.
+	 *
+	 * @param r     The row
+	 * @param colIx The column position inside this column group
+	 * @return The value
+	 */
+	protected abstract double getValue(int r, int colIx);
+
+	/**
+	 * Construct a new column group of the same type, over the same columns, from modified values.
+	 *
+	 * @param values  The integer values of each column
+	 * @param numRows The number of rows of the new column group
+	 * @return The new column group
+	 */
+	protected abstract ColGroupPacked create(long[][] values, int numRows);
+
+	/**
+	 * Get the number of bits per row required for all columns of this column group.
+	 *
+	 * @return The sum of bits over all columns
+	 */
+	public int getBitsPerRow() {
+		int ret = 0;
+		for(int b : _bits)
+			ret += b;
+		return ret;
+	}
+
+	@Override
+	public void decompressToBlockSafe(MatrixBlock target, int rl, int ru, int offT, double[] values, boolean safe) {
+		final double[] buff = new double[Math.min(DECODE_BLOCK_SZ, ru - rl)];
+		if(target.isInSparseFormat()) {
+			for(int j = 0; j < _colIndexes.length; j++) {
+				final int col = _colIndexes[j];
+				for(int bl = rl; bl < ru; bl += DECODE_BLOCK_SZ) {
+					int bu = Math.min(bl + DECODE_BLOCK_SZ, ru);
+					decompressColumn(j, bl, bu, buff);
+					for(int i = bl, r = offT + bl - rl; i < bu; i++, r++)
+						if(buff[i - bl] != 0)
+							target.quickSetValue(r, col, target.quickGetValue(r, col) + buff[i - bl]);
+				}
+			}
+			return;
+		}
+
+		final double[] c = target.getDenseBlockValues();
+		final int tcols = target.getNumColumns();
+		long nnz = 0;
+		for(int j = 0; j < _colIndexes.length; j++) {
+			final int col = _colIndexes[j];
+			for(int bl = rl; bl < ru; bl += DECODE_BLOCK_SZ) {
+				int bu = Math.min(bl + DECODE_BLOCK_SZ, ru);
+				decompressColumn(j, bl, bu, buff);
+				if(safe) {
+					for(int i = bl, off = (offT + bl - rl) * tcols + col; i < bu; i++, off += tcols) {
+						double v = c[off];
+						double nv = v + buff[i - bl];
+						nnz += (v == 0.0 && nv != 0.0) ? 1 : 0;
+						c[off] = nv;
+					}
+				}
+				else {
+					for(int i = bl, off = (offT + bl - rl) * tcols + col; i < bu; i++, off += tcols)
+						c[off] += buff[i - bl];
+				}
+			}
+		}
+		if(safe)
+			target.setNonZeros(target.getNonZeros() + nnz);
+	}
+
+	@Override
+	public void decompressToBlock(MatrixBlock target, int[] colIndexTargets) {
+		final double[] buff = new double[Math.min(DECODE_BLOCK_SZ, _numRows)];
+		for(int j = 0; j < _colIndexes.length; j++) {
+			final int col = colIndexTargets[_colIndexes[j]];
+			for(int bl = 0; bl < _numRows; bl += DECODE_BLOCK_SZ) {
+				int bu = Math.min(bl + DECODE_BLOCK_SZ, _numRows);
+				decompressColumn(j, bl, bu, buff);
+				for(int i = bl; i < bu; i++)
+					target.quickSetValue(i, col, target.quickGetValue(i, col) + buff[i - bl]);
+			}
+		}
+	}
+
+	@Override
+	public void decompressToBlock(MatrixBlock target, int colpos) {
+		final double[] c = target.getDenseBlockValues();
+		final double[] buff = new double[Math.min(DECODE_BLOCK_SZ, _numRows)];
+		int nnz = 0;
+		for(int bl = 0; bl < _numRows; bl += DECODE_BLOCK_SZ) {
+			int bu = Math.min(bl + DECODE_BLOCK_SZ, _numRows);
+			decompressColumn(colpos, bl, bu, buff);
+			for(int i = bl; i < bu; i++)
+				nnz += ((c[i] += buff[i - bl]) != 0) ? 1 : 0;
+		}
+		target.setNonZeros(nnz);
+	}
+
+	/**
+	 * Decompress the given rows of all columns into a row-major buffer of (ru - rl) x numCols values.
+	 *
+	 * @param rl   The row to start at
+	 * @param ru   The row to end at (not inclusive)
+	 * @param buff The row-major output buffer
+	 * @param tmp  A temporary buffer of at least ru - rl values
+	 */
+	protected void decompressRows(int rl, int ru, double[] buff, double[] tmp) {
+		final int ncol = _colIndexes.length;
+		for(int j = 0; j < ncol; j++) {
+			decompressColumn(j, rl, ru, tmp);
+			for(int i = 0, off = j; i < ru - rl; i++, off += ncol)
+				buff[off] = tmp[i];
+		}
+	}
+
+	@Override
+	public double get(int r, int c) {
+		// find local column index
+		int ix = Arrays.binarySearch(_colIndexes, c);
+		if(ix < 0)
+			throw new RuntimeException("Column index " + c + " not in " + getCompType() + " group.");
+		return getValue(r, ix);
+	}
+
+	/**
+	 * Bit-packed column groups do not have a dictionary of values.
+	 *
+	 * @return null
+	 */
+	@Override
+	public double[] getValues() {
+		return null;
+	}
+
+	@Override
+	public MatrixBlock getValuesAsBlock() {
+		final int ncol = _colIndexes.length;
+		MatrixBlock ret = new MatrixBlock(_numRows, ncol, false);
+		ret.allocateDenseBlock();
+		double[] c = ret.getDenseBlockValues();
+		double[] tmp = new double[Math.min(DECODE_BLOCK_SZ, _numRows)];
+		for(int bl = 0; bl < _numRows; bl += DECODE_BLOCK_SZ) {
+			int bu = Math.min(bl + DECODE_BLOCK_SZ, _numRows);
+			for(int j = 0; j < ncol; j++) {
+				decompressColumn(j, bl, bu, tmp);
+				for(int i = bl, off = bl * ncol + j; i < bu; i++, off += ncol)
+					c[off] = tmp[i - bl];
+			}
+		}
+		ret.recomputeNonZeros();
+		return ret;
+	}
+
+	@Override
+	public boolean getIfCountsType() {
+		return false;
+	}
+
+	@Override
+	public void rightMultByVector(double[] b, double[] c, int rl, int ru, double[] dictVals) {
+		final double[] buff = new double[Math.min(DECODE_BLOCK_SZ, ru - rl)];
+		for(int j = 0; j < _colIndexes.length; j++) {
+			final double bv = b[_colIndexes[j]];
+			if(bv == 0)
+				continue;
+			for(int bl = rl; bl < ru; bl += DECODE_BLOCK_SZ) {
+				int bu = Math.min(bl + DECODE_BLOCK_SZ, ru);
+				decompressColumn(j, bl, bu, buff);
+				for(int i = bl; i < bu; i++)
+					c[i] += buff[i - bl] * bv;
+			}
+		}
+	}
+
+	@Override
+	public void rightMultByMatrix(int[] outputColumns, double[] preAggregatedB, double[] c, int thatNrColumns, int rl,
+		int ru) {
+		throw new DMLCompressionException(
+			"Bit-packed column groups are not pre-aggregated, use rightMultByMatrix with the uncompressed matrix");
+	}
+
+	/**
+	 * Right multiply by an uncompressed matrix, and add the result to the dense output c. Each column of this group
+	 * selects the matching row of the right hand side, so only non-zero values of that row are processed.
+	 *
+	 * @param that The right hand side matrix
+	 * @param c    The dense output of numRows x that.getNumColumns() values
+	 * @param rl   The row to start at
+	 * @param ru   The row to end at (not inclusive)
+	 */
+	public void rightMultByMatrix(MatrixBlock that, double[] c, int rl, int ru) {
+		if(that.isEmptyBlock(false))
+			return;
+		final int cl = that.getNumColumns();
+		final double[] buff = new double[Math.min(DECODE_BLOCK_SZ, ru - rl)];
+		for(int j = 0; j < _colIndexes.length; j++) {
+			final int brow = _colIndexes[j];
+			if(that.isInSparseFormat()) {
+				SparseBlock sb = that.getSparseBlock();
+				if(sb.isEmpty(brow))
+					continue;
+				final int bpos = sb.pos(brow);
+				final int blen = sb.size(brow);
+				final int[] bix = sb.indexes(brow);
+				final double[] bvals = sb.values(brow);
+				for(int bl = rl; bl < ru; bl += DECODE_BLOCK_SZ) {
+					int bu = Math.min(bl + DECODE_BLOCK_SZ, ru);
+					decompressColumn(j, bl, bu, buff);
+					for(int i = bl; i < bu; i++) {
+						final double v = buff[i - bl];
+						if(v != 0)
+							for(int k = bpos, off = i * cl; k < bpos + blen; k++)
+								c[off + bix[k]] += v * bvals[k];
+					}
+				}
+			}
+			else {
+				DenseBlock db = that.getDenseBlock();
+				final double[] bvals = db.values(brow);
+				final int bpos = db.pos(brow);
+				for(int bl = rl; bl < ru; bl += DECODE_BLOCK_SZ) {
+					int bu = Math.min(bl + DECODE_BLOCK_SZ, ru);
+					decompressColumn(j, bl, bu, buff);
+					for(int i = bl; i < bu; i++) {
+						final double v = buff[i - bl];
+						if(v != 0)
+							for(int k = 0, off = i * cl; k < cl; k++)
+								c[off + k] += v * bvals[bpos + k];
+					}
+				}
+			}
+		}
+	}
+
+	@Override
+	public void leftMultByRowVector(double[] a, double[] c) {
+		final double[] buff = new double[Math.min(DECODE_BLOCK_SZ, _numRows)];
+		for(int j = 0; j < _colIndexes.length; j++) {
+			double v = 0;
+			for(int bl = 0; bl < _numRows; bl += DECODE_BLOCK_SZ) {
+				int bu = Math.min(bl + DECODE_BLOCK_SZ, _numRows);
+				decompressColumn(j, bl, bu, buff);
+				for(int i = bl; i < bu; i++)
+					v += a[i] * buff[i - bl];
+			}
+			c[_colIndexes[j]] += v;
+		}
+	}
+
+	@Override
+	public void leftMultByRowVector(double[] a, double[] c, int numVals, double[] values) {
+		leftMultByRowVector(a, c);
+	}
+
+	@Override
+	public void leftMultByMatrix(double[] a, double[] c, double[] values, int numRows, int numCols, int rl, int ru,
+		int vOff) {
+		final double[] buff = new double[Math.min(DECODE_BLOCK_SZ, _numRows)];
+		for(int bl = 0; bl < _numRows; bl += DECODE_BLOCK_SZ) {
+			int bu = Math.min(bl + DECODE_BLOCK_SZ, _numRows);
+			for(int j = 0; j < _colIndexes.length; j++) {
+				decompressColumn(j, bl, bu, buff);
+				for(int i = rl, aRow = vOff; i < ru; i++, aRow++) {
+					double v = 0;
+					for(int k = bl, offA = aRow * _numRows + bl; k < bu; k++, offA++)
+						v += a[offA] * buff[k - bl];
+					c[i * numCols + _colIndexes[j]] += v;
+				}
+			}
+		}
+	}
+
+	@Override
+	public void leftMultBySparseMatrix(SparseBlock sb, double[] c, double[] values, int numRows, int numCols, int row,
+		double[] MaterializedRow) {
+		final int apos = sb.pos(row);
+		final int alen = sb.size(row);
+		final int[] aix = sb.indexes(row);
+		final double[] avals = sb.values(row);
+		final int offC = row * numCols;
+		for(int j = 0; j < _colIndexes.length; j++) {
+			double v = 0;
+			for(int k = apos; k < apos + alen; k++)
+				v += avals[k] * getValue(aix[k], j);
+			c[offC + _colIndexes[j]] += v;
+		}
+	}
+
+	@Override
+	public ColGroup scalarOperation(ScalarOperator op) {
+		final int ncol = _colIndexes.length;
+		final double[][] values = new double[ncol][_numRows];
+		for(int j = 0; j < ncol; j++) {
+			decompressColumn(j, 0, _numRows, values[j]);
+			for(int i = 0; i < _numRows; i++)
+				values[j][i] = op.executeScalar(values[j][i]);
+		}
+		return encode(values);
+	}
+
+	@Override
+	public ColGroup binaryRowOp(BinaryOperator op, double[] v, boolean sparseSafe) {
+		final int ncol = _colIndexes.length;
+		final double[][] values = new double[ncol][_numRows];
+		for(int j = 0; j < ncol; j++) {
+			final double vj = v[_colIndexes[j]];
+			decompressColumn(j, 0, _numRows, values[j]);
+			for(int i = 0; i < _numRows; i++)
+				values[j][i] = op.fn.execute(values[j][i], vj);
+		}
+		return encode(values);
+	}
+
+	/**
+	 * Encode modified column values into a column group of the same type, or into an uncompressed column group if the
+	 * values are no longer integers within the packable range.
+	 *
+	 * @param values The values of each column
+	 * @return The new column group
+	 */
+	protected ColGroup encode(double[][] values) {
+		final int ncol = _colIndexes.length;
+		boolean packable = true;
+		for(int j = 0; j < ncol && packable; j++)
+			for(int i = 0; i < _numRows && packable; i++)
+				packable = isPackable(values[j][i]);
+
+		if(packable) {
+			long[][] lvalues = new long[ncol][_numRows];
+			for(int j = 0; j < ncol; j++)
+				for(int i = 0; i < _numRows; i++)
+					lvalues[j][i] = (long) values[j][i];
+			return create(lvalues, _numRows);
+		}
+
+		MatrixBlock data = new MatrixBlock(_numRows, ncol, false);
+		data.allocateDenseBlock();
+		double[] c = data.getDenseBlockValues();
+		for(int j = 0; j < ncol; j++)
+			for(int i = 0, off = j; i < _numRows; i++, off += ncol)
+				c[off] = values[j][i];
+		data.recomputeNonZeros();
+		data.examSparsity();
+		return new ColGroupUncompressed(_colIndexes, _numRows, data);
+	}
+
+	@Override
+	public ColGroup appendRows(MatrixBlock values) {
+		long[][] lvalues = morph(_numRows + values.getNumRows(), _numRows, values);
+		return (lvalues != null) ? create(lvalues, _numRows + values.getNumRows()) : super.appendRows(values);
+	}
+
+	@Override
+	public ColGroup updateRows(int rl, MatrixBlock values) {
+		long[][] lvalues = morph(_numRows, rl, values);
+		return (lvalues != null) ? create(lvalues, _numRows) : super.updateRows(rl, values);
+	}
+
+	/**
+	 * Decode the columns of this column group, and overwrite or append the given rows.
+	 *
+	 * @param numRows The number of rows of the output
+	 * @param rl      The row of the first given row
+	 * @param values  The given rows, with one column per column of this group
+	 * @return The integer values of each column, or null if the given rows cannot be packed
+	 */
+	private long[][] morph(int numRows, int rl, MatrixBlock values) {
+		final int ncol = _colIndexes.length;
+		final int ru = rl + values.getNumRows();
+		for(int i = 0; i < values.getNumRows(); i++)
+			for(int j = 0; j < ncol; j++)
+				if(!isPackable(values.quickGetValue(i, j)))
+					return null;
+
+		long[][] ret = new long[ncol][numRows];
+		final double[] buff = new double[Math.min(DECODE_BLOCK_SZ, _numRows)];
+		for(int j = 0; j < ncol; j++) {
+			for(int bl = 0; bl < _numRows; bl += DECODE_BLOCK_SZ) {
+				int bu = Math.min(bl + DECODE_BLOCK_SZ, _numRows);
+				decompressColumn(j, bl, bu, buff);
+				for(int i = bl; i < bu; i++)
+					ret[j][i] = (long) buff[i - bl];
+			}
+			for(int i = rl; i < ru; i++)
+				ret[j][i] = (long) values.quickGetValue(i - rl, j);
+		}
+		return ret;
+	}
+
+	@Override
+	public void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock c) {
+		unaryAggregateOperations(op, c, 0, _numRows);
+	}
+
+	@Override
+	public void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock c, int rl, int ru) {
+		// sum and sumsq (reduceall/reducerow/reducecol over decoded values)
+		if(op.aggOp.increOp.fn instanceof KahanPlus || op.aggOp.increOp.fn instanceof KahanPlusSq ||
+			op.aggOp.increOp.fn instanceof Mean) {
+			KahanFunction kplus = (op.aggOp.increOp.fn instanceof KahanPlus ||
+				op.aggOp.increOp.fn instanceof Mean) ? KahanPlus
+					.getKahanPlusFnObject() : KahanPlusSq.getKahanPlusSqFnObject();
+			boolean mean = op.aggOp.increOp.fn instanceof Mean;
+
+			if(op.indexFn instanceof ReduceAll)
+				computeSum(c.getDenseBlockValues(), kplus, rl, ru);
+			else if(op.indexFn instanceof ReduceCol)
+				computeRowSums(c.getDenseBlockValues(), kplus, rl, ru, mean);
+			else if(op.indexFn instanceof ReduceRow)
+				computeColSums(c.getDenseBlockValues(), kplus, rl, ru);
+		}
+		// min and max (reduceall/reducerow/reducecol over decoded values)
+		else if(op.aggOp.increOp.fn instanceof Builtin &&
+			(((Builtin) op.aggOp.increOp.fn).getBuiltinCode() == BuiltinCode.MAX ||
+				((Builtin) op.aggOp.increOp.fn).getBuiltinCode() == BuiltinCode.MIN)) {
+			Builtin builtin = (Builtin) op.aggOp.increOp.fn;
+
+			if(op.indexFn instanceof ReduceAll)
+				c.getDenseBlockValues()[0] = computeMxx(c.getDenseBlockValues()[0], builtin, rl, ru);
+			else if(op.indexFn instanceof ReduceCol)
+				computeRowMxx(c, builtin, rl, ru);
+			else if(op.indexFn instanceof ReduceRow)
+				computeColMxx(c.getDenseBlockValues(), builtin, rl, ru);
+		}
+		else {
+			throw new DMLScriptException("Unknown UnaryAggregate operator on CompressedMatrixBlock");
+		}
+	}
+
+	protected void computeSum(double[] c, KahanFunction kplus, int rl, int ru) {
+		final double[] buff = new double[Math.min(DECODE_BLOCK_SZ, ru - rl)];
+		KahanObject kbuff = new KahanObject(0, 0);
+		for(int j = 0; j < _colIndexes.length; j++) {
+			for(int bl = rl; bl < ru; bl += DECODE_BLOCK_SZ) {
+				int bu = Math.min(bl + DECODE_BLOCK_SZ, ru);
+				decompressColumn(j, bl, bu, buff);
+				for(int i = 0; i < bu - bl; i++)
+					kplus.execute2(kbuff, buff[i]);
+			}
+		}
+		c[0] += kbuff._sum;
+	}
+
+	protected void computeRowSums(double[] c, KahanFunction kplus, int rl, int ru, boolean mean) {
+		final double[] buff = new double[Math.min(DECODE_BLOCK_SZ, ru - rl)];
+		final boolean square = kplus instanceof KahanPlusSq;
+		final int mult = (2 + (mean ? 1 : 0));
+		for(int j = 0; j < _colIndexes.length; j++) {
+			for(int bl = rl; bl < ru; bl += DECODE_BLOCK_SZ) {
+				int bu = Math.min(bl + DECODE_BLOCK_SZ, ru);
+				decompressColumn(j, bl, bu, buff);
+				for(int i = bl; i < bu; i++) {
+					double v = buff[i - bl];
+					c[i * mult] += square ? v * v : v;
+				}
+			}
+		}
+	}
+
+	protected void computeColSums(double[] c, KahanFunction kplus, int rl, int ru) {
+		final double[] buff = new double[Math.min(DECODE_BLOCK_SZ, ru - rl)];
+		final int rows = c.length / 2;
+		for(int j = 0; j < _colIndexes.length; j++) {
+			final int col = _colIndexes[j];
+			KahanObject kbuff = new KahanObject(c[col], 0);
+			for(int bl = rl; bl < ru; bl += DECODE_BLOCK_SZ) {
+				int bu = Math.min(bl + DECODE_BLOCK_SZ, ru);
+				decompressColumn(j, bl, bu, buff);
+				for(int i = 0; i < bu - bl; i++)
+					kplus.execute2(kbuff, buff[i]);
+			}
+			c[col] = kbuff._sum;
+			c[col + rows] = kbuff._correction;
+		}
+	}
+
+	@Override
+	public double computeMxx(double c, Builtin builtin) {
+		return computeMxx(c, builtin, 0, _numRows);
+	}
+
+	protected double computeMxx(double c, Builtin builtin, int rl, int ru) {
+		final double[] buff = new double[Math.min(DECODE_BLOCK_SZ, ru - rl)];
+		for(int j = 0; j < _colIndexes.length; j++) {
+			for(int bl = rl; bl < ru; bl += DECODE_BLOCK_SZ) {
+				int bu = Math.min(bl + DECODE_BLOCK_SZ, ru);
+				decompressColumn(j, bl, bu, buff);
+				for(int i = 0; i < bu - bl; i++)
+					c = builtin.execute(c, buff[i]);
+			}
+		}
+		return c;
+	}
+
+	protected void computeRowMxx(MatrixBlock c, Builtin builtin, int rl, int ru) {
+		final double[] buff = new double[Math.min(DECODE_BLOCK_SZ, ru - rl)];
+		for(int j = 0; j < _colIndexes.length; j++) {
+			for(int bl = rl; bl < ru; bl += DECODE_BLOCK_SZ) {
+				int bu = Math.min(bl + DECODE_BLOCK_SZ, ru);
+				decompressColumn(j, bl, bu, buff);
+				for(int i = bl; i < bu; i++)
+					c.quickSetValue(i, 0, builtin.execute(c.quickGetValue(i, 0), buff[i - bl]));
+			}
+		}
+	}
+
+	protected void computeColMxx(double[] c, Builtin builtin, int rl, int ru) {
+		final double[] buff = new double[Math.min(DECODE_BLOCK_SZ, ru - rl)];
+		for(int j = 0; j < _colIndexes.length; j++) {
+			final int col = _colIndexes[j];
+			for(int bl = rl; bl < ru; bl += DECODE_BLOCK_SZ) {
+				int bu = Math.min(bl + DECODE_BLOCK_SZ, ru);
+				decompressColumn(j, bl, bu, buff);
+				for(int i = 0; i < bu - bl; i++)
+					c[col] = builtin.execute(c[col], buff[i]);
+			}
+		}
+	}
+
+	@Override
+	public Iterator<IJV> getIterator(int rl, int ru, boolean inclZeros, boolean rowMajor) {
+		// iterator is always row major, so no need for custom handling
+		return new PackedIterator(rl, ru, inclZeros);
+	}
+
+	@Override
+	public ColGroupRowIterator getRowIterator(int rl, int ru) {
+		return new PackedRowIterator(rl, ru);
+	}
+
+	@Override
+	public void countNonZerosPerRow(int[] rnnz, int rl, int ru) {
+		final double[] buff = new double[Math.min(DECODE_BLOCK_SZ, ru - rl)];
+		for(int j = 0; j < _colIndexes.length; j++) {
+			for(int bl = rl; bl < ru; bl += DECODE_BLOCK_SZ) {
+				int bu = Math.min(bl + DECODE_BLOCK_SZ, ru);
+				decompressColumn(j, bl, bu, buff);
+				for(int i = bl; i < bu; i++)
+					rnnz[i - rl] += (buff[i - bl] != 0) ? 1 : 0;
+			}
+		}
+	}
+
+	@Override
+	public boolean isLossy() {
+		return false;
+	}
+
+	@Override
+	public boolean isDense() {
+		return true;
+	}
+
+	@Override
+	public void write(DataOutput out) throws IOException {
+		out.writeInt(_numRows);
+		out.writeInt(_colIndexes.length);
+
+		// write col indices
+		for(int i = 0; i < _colIndexes.length; i++)
+			out.writeInt(_colIndexes[i]);
+
+		// write bit widths and packed values
+		for(int j = 0; j < _colIndexes.length; j++) {
+			out.writeByte(_bits[j]);
+			for(long v : _data[j])
+				out.writeLong(v);
+		}
+	}
+
+	@Override
+	public void readFields(DataInput in) throws IOException {
+		_numRows = in.readInt();
+		int numCols = in.readInt();
+
+		// read col indices
+		_colIndexes = new int[numCols];
+		for(int i = 0; i < numCols; i++)
+			_colIndexes[i] = in.readInt();
+
+		// read bit widths and packed values
+		_bits = new int[numCols];
+		_data = new long[numCols][];
+		for(int j = 0; j < numCols; j++) {
+			_bits[j] = in.readByte();
+			_data[j] = allocPacked(_numRows, _bits[j]);
+			for(int i = 0; i < _data[j].length; i++)
+				_data[j][i] = in.readLong();
+		}
+	}
+
+	@Override
+	public long getExactSizeOnDisk() {
+		long ret = 0; // header
+		ret += 4; // num rows int
+		ret += 4; // num cols int
+		// col indices
+		ret += 4 * _colIndexes.length;
+		// bit widths and packed values
+		for(int j = 0; j < _colIndexes.length; j++)
+			ret += 1 + 8 * _data[j].length;
+		return ret;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(super.toString());
+		sb.append("\nBits: " + Arrays.toString(_bits));
+		return sb.toString();
+	}
+
+	/**
+	 * Check if a value can be stored in a bit-packed column group, i.e., if it is an integer within the packable
+	 * range.
+	 *
+	 * @param v The value
+	 * @return True if the value can be packed
+	 */
+	public static boolean isPackable(double v) {
+		return Math.abs(v) <= MAX_PACKED_VALUE && v == Math.rint(v);
+	}
+
+	/**
+	 * Extract the integer values of all columns of a bitmap, including the zero values that are not stored in the
+	 * bitmap.
+	 *
+	 * @param ubm     The lossless bitmap of the columns
+	 * @param numRows The number of rows in the bitmap
+	 * @return The values of each column, or null if the bitmap contains values that cannot be packed
+	 */
+	public static long[][] extractColumns(ABitmap ubm, int numRows) {
+		if(ubm.getType() != BitmapType.Full)
+			return null;
+		final int ncol = ubm.getNumColumns();
+		final double[] vals = ((Bitmap) ubm).getValues();
+		if(vals != null)
+			for(double v : vals)
+				if(!isPackable(v))
+					return null;
+
+		long[][] ret = new long[ncol][numRows];
+		for(int i = 0; i < ubm.getNumValues(); i++) {
+			final int[] offsets = ubm.getOffsetsList(i).extractValues();
+			final int len = ubm.getNumOffsets(i);
+			for(int j = 0; j < ncol; j++) {
+				final long v = (long) vals[i * ncol + j];
+				final long[] col = ret[j];
+				for(int k = 0; k < len; k++)
+					col[offsets[k]] = v;
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Extract the integer values of all columns of a bitmap for the construction of a column group.
+	 *
+	 * @param ubm     The lossless bitmap of the columns
+	 * @param numRows The number of rows in the bitmap
+	 * @param type    The compression type of the constructed column group
+	 * @return The values of each column
+	 */
+	protected static long[][] extractColumns(ABitmap ubm, int numRows, CompressionType type) {
+		long[][] ret = extractColumns(ubm, numRows);
+		if(ret == null)
+			throw new DMLCompressionException("Invalid input for " + type + " column group: non-integer values");
+		return ret;
+	}
+
+	protected static int bitsFor(long maxValue) {
+		return 64 - Long.numberOfLeadingZeros(maxValue);
+	}
+
+	protected static long[] allocPacked(int numRows, int bits) {
+		return new long[(int) (((long) numRows * bits + 63) >>> 6)];
+	}
+
+	protected static void setPacked(long[] data, int bits, int ix, long v) {
+		final long pos = (long) ix * bits;
+		final int w = (int) (pos >>> 6);
+		final int off = (int) (pos & 63);
+		data[w] |= v << off;
+		if(off + bits > 64)
+			data[w + 1] |= v >>> (64 - off);
+	}
+
+	protected static long getPacked(long[] data, int bits, int ix) {
+		final long pos = (long) ix * bits;
+		final int w = (int) (pos >>> 6);
+		final int off = (int) (pos & 63);
+		long v = data[w] >>> off;
+		if(off + bits > 64)
+			v |= data[w + 1] << (64 - off);
+		return v & ((1L << bits) - 1);
+	}
+
+	private class PackedIterator implements Iterator<IJV> {
+		// iterator configuration
+		private final int _ru;
+		private final boolean _inclZeros;
+
+		// iterator state
+		private final IJV _buff = new IJV();
+		private final double[] _rows;
+		private final double[] _tmp;
+		private int _bl = -1;
+		private int _rpos = -1;
+		private int _cpos = -1;
+		private double _value = 0;
+
+		public PackedIterator(int rl, int ru, boolean inclZeros) {
+			_ru = ru;
+			_inclZeros = inclZeros;
+			_tmp = new double[Math.max(Math.min(DECODE_BLOCK_SZ, ru - rl), 0)];
+			_rows = new double[_tmp.length * getNumCols()];
+			_rpos = rl;
+			_cpos = -1;
+			getNextValue();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return(_rpos < _ru);
+		}
+
+		@Override
+		public IJV next() {
+			_buff.set(_rpos, _colIndexes[_cpos], _value);
+			getNextValue();
+			return _buff;
+		}
+
+		private void getNextValue() {
+			do {
+				boolean nextRow = (_cpos + 1 >= getNumCols());
+				_rpos += nextRow ? 1 : 0;
+				_cpos = nextRow ? 0 : _cpos + 1;
+				if(_rpos >= _ru)
+					return; // reached end
+				if(_bl < 0 || _rpos >= _bl + DECODE_BLOCK_SZ) {
+					_bl = _rpos;
+					decompressRows(_bl, Math.min(_bl + DECODE_BLOCK_SZ, _ru), _rows, _tmp);
+				}
+				_value = _rows[(_rpos - _bl) * getNumCols() + _cpos];
+			}
+			while(!_inclZeros && _value == 0);
+		}
+	}
+
+	private class PackedRowIterator extends ColGroupRowIterator {
+		private final int _ru;
+		private final double[] _rows;
+		private final double[] _tmp;
+		private int _bl = -1;
+
+		public PackedRowIterator(int rl, int ru) {
+			_ru = ru;
+			_tmp = new double[Math.max(Math.min(DECODE_BLOCK_SZ, ru - rl), 0)];
+			_rows = new double[_tmp.length * getNumCols()];
+		}
+
+		@Override
+		public void next(double[] buff, int rowIx, int segIx, boolean last) {
+			final int ncol = getNumCols();
+			if(_bl < 0 || rowIx < _bl || rowIx >= _bl + DECODE_BLOCK_SZ) {
+				_bl = rowIx;
+				decompressRows(_bl, Math.min(_bl + DECODE_BLOCK_SZ, _ru), _rows, _tmp);
+			}
+			for(int j = 0, off = (rowIx - _bl) * ncol; j < ncol; j++, off++)
+				buff[_colIndexes[j]] = _rows[off];
+		}
+	}
+}
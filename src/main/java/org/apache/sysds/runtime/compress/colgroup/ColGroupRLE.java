@@ -155,8 +155,8 @@ public class ColGroupRLE extends ColGroupOffset {
 						for(int i = start; i < start + len; i++)
 							for(int j = 0; j < numCols; j++)
 								if(values[off + j] != 0) {
-									double v = target.quickGetValue(i, _colIndexes[j]);
-									target.setValue(i, _colIndexes[j], values[off + j] + v);
+									double v = target.quickGetValue(i, cix[j]);
+									target.setValue(i, cix[j], values[off + j] + v);
 								}
 
 						start += len;
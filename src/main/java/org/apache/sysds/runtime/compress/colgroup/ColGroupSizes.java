@@ -105,6 +105,33 @@ public class ColGroupSizes {
 		return size;
 	}
 
+	public static long estimateInMemorySizePacked(int nrColumns, int nrRows, int bitsPerRow) {
+		long size = estimateInMemorySizeGroup(nrColumns);
+		size += 8; // bits reference
+		size += MemoryEstimates.intArrayCost(nrColumns);
+		size += 8; // data reference
+		size += 24 + 8 * nrColumns; // array of column arrays
+		size += nrColumns * MemoryEstimates.doubleArrayCost(0); // long arrays per column
+		size += 8 * (((long) nrRows * bitsPerRow + 63) / 64); // packed values
+		return size;
+	}
+
+	public static long estimateInMemorySizeFOR(int nrColumns, int nrRows, int bitsPerRow) {
+		long size = estimateInMemorySizePacked(nrColumns, nrRows, bitsPerRow);
+		size += 8; // references reference
+		size += MemoryEstimates.doubleArrayCost(nrColumns); // long array of references
+		return size;
+	}
+
+	public static long estimateInMemorySizeDELTA(int nrColumns, int nrRows, int bitsPerRow) {
+		long size = estimateInMemorySizePacked(nrColumns, nrRows, bitsPerRow);
+		size += 8; // anchors reference
+		size += 24 + 8 * nrColumns; // array of anchor arrays
+		size += nrColumns * MemoryEstimates
+			.doubleArrayCost((nrRows + ColGroupDelta.SEGMENT_SZ - 1) / ColGroupDelta.SEGMENT_SZ);
+		return size;
+	}
+
 	public static long estimateInMemorySizeUncompressed(int nrRows, int nrColumns, double sparsity) {
 		// LOG.error(nrRows + " " + nrColumns + " " + sparsity);
 		long size = 0;
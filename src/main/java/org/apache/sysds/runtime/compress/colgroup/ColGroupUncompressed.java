@@ -28,6 +28,7 @@ import java.util.List;
 
 import org.apache.commons.lang.NotImplementedException;
 import org.apache.sysds.runtime.DMLCompressionException;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseBlock.Type;
 import org.apache.sysds.runtime.functionobjects.Builtin;
@@ -566,4 +567,17 @@ public class ColGroupUncompressed extends ColGroup {
 		// they are dense in the sense of compression.
 		return true;
 	}
+
+	@Override
+	public ColGroup appendRows(MatrixBlock values) {
+		MatrixBlock data = _data.append(values, new MatrixBlock(), false);
+		return new ColGroupUncompressed(_colIndexes, data.getNumRows(), data);
+	}
+
+	@Override
+	public ColGroup updateRows(int rl, MatrixBlock values) {
+		MatrixBlock data = _data.leftIndexingOperations(values, rl, rl + values.getNumRows() - 1, 0,
+			getNumCols() - 1, new MatrixBlock(), UpdateType.COPY);
+		return new ColGroupUncompressed(_colIndexes, _numRows, data);
+	}
 }
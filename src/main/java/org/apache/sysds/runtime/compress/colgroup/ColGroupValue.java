@@ -588,6 +588,36 @@ public abstract class ColGroupValue extends ColGroup implements Cloneable {
 
 	public abstract int[] getCounts(int rl, int ru, int[] out);
 
+	/**
+	 * Pre aggregates the cell-wise product of two uncompressed blocks per dictionary entry and column of this group,
+	 * such that the weighted sum of the values of this group is the dot product of the result and the dictionary.
+	 * 
+	 * @param b1 The first block, with the dimensions of the compressed block
+	 * @param b2 The second block, with the dimensions of the compressed block, or null for a literal 1
+	 * @param rl The row to start at
+	 * @param ru The row to end at (not inclusive)
+	 * @return The pre-aggregated weights, one per cell of the dictionary
+	 */
+	public abstract double[] preAggregateProduct(MatrixBlock b1, MatrixBlock b2, int rl, int ru);
+
+	/**
+	 * Add the cell-wise product of two uncompressed blocks in row i to the pre-aggregated weights of one dictionary
+	 * entry.
+	 * 
+	 * @param b1   The first block
+	 * @param b2   The second block, or null for a literal 1
+	 * @param i    The row
+	 * @param vals The pre-aggregated weights
+	 * @param off  The offset of the dictionary entry in the weights
+	 */
+	protected void preAggregateProductRow(MatrixBlock b1, MatrixBlock b2, int i, double[] vals, int off) {
+		for(int j = 0; j < _colIndexes.length; j++) {
+			double w = b1.quickGetValue(i, _colIndexes[j]);
+			if(w != 0)
+				vals[off + j] += (b2 != null) ? w * b2.quickGetValue(i, _colIndexes[j]) : w;
+		}
+	}
+
 	protected abstract void computeSum(double[] c, KahanFunction kplus);
 
 	protected abstract void computeRowSums(double[] c, KahanFunction kplus, int rl, int ru, boolean mean);
@@ -21,7 +21,10 @@ package org.apache.sysds.runtime.compress.estim;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map.Entry;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -29,10 +32,14 @@ import java.util.concurrent.Future;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.runtime.compress.BitmapEncoder;
 import org.apache.sysds.runtime.compress.CompressionSettings;
+import org.apache.sysds.runtime.compress.cocode.PlanningCoCodingGroup;
+import org.apache.sysds.runtime.compress.cocode.PlanningCoCodingGroup.ColIndexes;
 import org.apache.sysds.runtime.compress.colgroup.ColGroup.CompressionType;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupSizes;
 import org.apache.sysds.runtime.compress.utils.ABitmap;
+import org.apache.sysds.runtime.compress.utils.Bitmap;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.CommonThreadPool;
 
@@ -57,6 +64,18 @@ public abstract class CompressedSizeEstimator {
 	 */
 	protected boolean _transposed = false;
 
+	/**
+	 * Upper bound on the number of offsets of all bitmaps kept for reuse in the estimates of merged column groups,
+	 * beyond which the least recently used bitmaps are evicted.
+	 */
+	public static final long BITMAP_CACHE_SIZE = 16L * 1024 * 1024;
+
+	/** Bitmaps of column groups in access order, reused for the estimates of merged column groups. */
+	private final LinkedHashMap<ColIndexes, Bitmap> _bitmapCache = new LinkedHashMap<>(16, 0.75f, true);
+
+	/** The number of offsets of all bitmaps in the bitmap cache. */
+	private long _bitmapCacheSize = 0;
+
 	/**
 	 * Main Constructor for Compression Estimator.
 	 * 
@@ -144,6 +163,63 @@ public abstract class CompressedSizeEstimator {
 	 */
 	public abstract CompressedSizeInfoColGroup estimateCompressedColGroupSize(int[] colIndexes);
 
+	/**
+	 * Extract the Compressed Size Info of the merge of two disjoint groups of columns. Instead of extracting the bitmap
+	 * of the merged columns from the data, the bitmap is combined from the bitmaps of the two groups, which are reused
+	 * across all the candidate merges the groups are part of. This method is thread-safe.
+	 * 
+	 * @param leftCols  The sorted column indexes of the first group
+	 * @param rightCols The sorted column indexes of the second group
+	 * @return The CompressedSizeInformation associated with the merged columns.
+	 */
+	public CompressedSizeInfoColGroup estimateJoinCompressedSize(int[] leftCols, int[] rightCols) {
+		final int[] colIndexes = PlanningCoCodingGroup.getMergedIndexes(leftCols, rightCols);
+		Bitmap left = getBitmap(leftCols);
+		Bitmap right = getBitmap(rightCols);
+		Bitmap ubm = BitmapEncoder.combineBitmaps(colIndexes, leftCols, left, rightCols, right,
+			_transposed ? _data.getNumColumns() : _data.getNumRows());
+		cacheBitmap(new ColIndexes(colIndexes), ubm);
+		return estimateCompressedColGroupSize(colIndexes, ubm);
+	}
+
+	/**
+	 * Extract the Compressed Size Info of the specified columns from the bitmap of these columns.
+	 * 
+	 * @param colIndexes The columns of the bitmap
+	 * @param ubm        The bitmap extracted from the data of this estimator
+	 * @return The CompressedSizeInformation associated with the selected columns.
+	 */
+	protected abstract CompressedSizeInfoColGroup estimateCompressedColGroupSize(int[] colIndexes, ABitmap ubm);
+
+	private Bitmap getBitmap(int[] colIndexes) {
+		ColIndexes key = new ColIndexes(colIndexes);
+		synchronized(_bitmapCache) {
+			Bitmap ret = _bitmapCache.get(key);
+			if(ret != null)
+				return ret;
+		}
+		Bitmap ret = (Bitmap) BitmapEncoder.extractBitmap(colIndexes, _data, _transposed);
+		cacheBitmap(key, ret);
+		return ret;
+	}
+
+	private void cacheBitmap(ColIndexes key, Bitmap ubm) {
+		final long size = ubm.getNumOffsets();
+		if(size > BITMAP_CACHE_SIZE / 4)
+			return;
+		synchronized(_bitmapCache) {
+			Bitmap old = _bitmapCache.put(key, ubm);
+			_bitmapCacheSize += size - (old != null ? old.getNumOffsets() : 0);
+			// evict least recently used bitmaps
+			Iterator<Entry<ColIndexes, Bitmap>> iter = _bitmapCache.entrySet().iterator();
+			while(_bitmapCacheSize > BITMAP_CACHE_SIZE && iter.hasNext()) {
+				Bitmap e = iter.next().getValue();
+				_bitmapCacheSize -= e.getNumOffsets();
+				iter.remove();
+			}
+		}
+	}
+
 	/**
 	 * Method used to extract the CompressedSizeEstimationFactors from an constructed UncompressedBitmap. Note this
 	 * method works both for the sample based estimator and the exact estimator, since the bitmap, can be extracted from
@@ -155,6 +231,8 @@ public abstract class CompressedSizeEstimator {
 	public EstimationFactors estimateCompressedColGroupSize(ABitmap ubm) {
 		return EstimationFactors.computeSizeEstimationFactors(ubm,
 			_compSettings.validCompressions.contains(CompressionType.RLE),
+			_compSettings.validCompressions.contains(CompressionType.FOR) ||
+				_compSettings.validCompressions.contains(CompressionType.DELTA),
 			_numRows,
 			ubm.getNumColumns());
 	}
@@ -36,6 +36,11 @@ public class CompressedSizeEstimatorExact extends CompressedSizeEstimator {
 	@Override
 	public CompressedSizeInfoColGroup estimateCompressedColGroupSize(int[] colIndexes) {
 		ABitmap entireBitMap = BitmapEncoder.extractBitmap(colIndexes, _data, _transposed);
+		return estimateCompressedColGroupSize(colIndexes, entireBitMap);
+	}
+
+	@Override
+	protected CompressedSizeInfoColGroup estimateCompressedColGroupSize(int[] colIndexes, ABitmap entireBitMap) {
 		return new CompressedSizeInfoColGroup(estimateCompressedColGroupSize(entireBitMap),
 			_compSettings.validCompressions);
 	}
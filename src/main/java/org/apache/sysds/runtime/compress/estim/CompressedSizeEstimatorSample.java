@@ -19,10 +19,12 @@
 
 package org.apache.sysds.runtime.compress.estim;
 
-import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.sysds.runtime.compress.BitmapEncoder;
 import org.apache.sysds.runtime.compress.CompressionSettings;
+import org.apache.sysds.runtime.compress.colgroup.ColGroup.CompressionType;
 import org.apache.sysds.runtime.compress.estim.sample.HassAndStokes;
 import org.apache.sysds.runtime.compress.utils.ABitmap;
 import org.apache.sysds.runtime.compress.utils.ABitmap.BitmapType;
@@ -35,7 +37,7 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator {
 	private static final int FORCE_TRANSPOSE_ON_SAMPLE_THRESHOLD = 8000;
 
 	private final int[] _sampleRows;
-	private HashMap<Integer, Double> _solveCache = null;
+	private Map<Integer, Double> _solveCache = null;
 
 	/**
 	 * CompressedSizeEstimatorSample, samples from the input data and estimates the size of the compressed matrix.
@@ -49,7 +51,7 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator {
 		boolean transposed) {
 		super(data, compSettings, transposed);
 		_sampleRows = sampleRows;
-		_solveCache = new HashMap<>();
+		_solveCache = new ConcurrentHashMap<>();
 		_data = sampleData(data, compSettings, sampleRows, transposed);
 	}
 
@@ -74,11 +76,16 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator {
 
 	@Override
 	public CompressedSizeInfoColGroup estimateCompressedColGroupSize(int[] colIndexes) {
+		ABitmap ubm = BitmapEncoder.extractBitmap(colIndexes, _data, _transposed);
+		return estimateCompressedColGroupSize(colIndexes, ubm);
+	}
+
+	@Override
+	protected CompressedSizeInfoColGroup estimateCompressedColGroupSize(int[] colIndexes, ABitmap ubm) {
 		int sampleSize = _sampleRows.length;
 		int numCols = colIndexes.length;
 
 		// extract statistics from sample
-		ABitmap ubm = BitmapEncoder.extractBitmap(colIndexes, _data, _transposed);
 		EstimationFactors fact = EstimationFactors.computeSizeEstimationFactors(ubm, false, _numRows, numCols);
 
 		// estimate number of distinct values (incl fixes for anomalies w/ large sample fraction)
@@ -107,15 +114,21 @@ public class CompressedSizeEstimatorSample extends CompressedSizeEstimator {
 
 		boolean containsZero = numZeros > 0;
 
+		// bits per row of bit-packed encodings, computed over the sample rows
+		boolean inclPacked = _compSettings.validCompressions.contains(CompressionType.FOR) ||
+			_compSettings.validCompressions.contains(CompressionType.DELTA);
+		int[] packedBits = (inclPacked && totalCardinality >= 256) ? EstimationFactors
+			.computePackedBits(ubm, sampleSize) : null;
+
 		EstimationFactors totalFacts = new EstimationFactors(numCols, totalCardinality, numNonZeros, totalNumRuns,
-			fact.numSingle, _numRows, containsZero, ubm.getType() == BitmapType.Lossy);
+			fact.numSingle, _numRows, containsZero, ubm.getType() == BitmapType.Lossy, packedBits);
 
 		// construct new size info summary
 		return new CompressedSizeInfoColGroup(totalFacts, _compSettings.validCompressions);
 	}
 
 	private static int getNumDistinctValues(ABitmap ubm, int numRows, int sampleSize,
-		HashMap<Integer, Double> solveCache) {
+		Map<Integer, Double> solveCache) {
 		return HassAndStokes.haasAndStokes(ubm, numRows, sampleSize, solveCache);
 	}
 
@@ -113,6 +113,19 @@ public class CompressedSizeInfoColGroup {
 				size = ColGroupSizes
 					.estimateInMemorySizeOLE(fact.numCols, fact.numVals, fact.numOffs, fact.numRows, fact.lossy);
 				break;
+			case FOR:
+				// bit-packing is only considered beyond the value range of DDC1
+				if(fact.forBits < 0 || fact.numVals < 256)
+					size = Long.MAX_VALUE;
+				else
+					size = ColGroupSizes.estimateInMemorySizeFOR(fact.numCols, fact.numRows, fact.forBits);
+				break;
+			case DELTA:
+				if(fact.deltaBits < 0 || fact.numVals < 256)
+					size = Long.MAX_VALUE;
+				else
+					size = ColGroupSizes.estimateInMemorySizeDELTA(fact.numCols, fact.numRows, fact.deltaBits);
+				break;
 			case UNCOMPRESSED:
 				size = ColGroupSizes.estimateInMemorySizeUncompressed(fact.numRows,
 					fact.numCols,
@@ -22,6 +22,7 @@ package org.apache.sysds.runtime.compress.estim;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.runtime.compress.CompressionSettings;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupPacked;
 import org.apache.sysds.runtime.compress.utils.ABitmap;
 import org.apache.sysds.runtime.compress.utils.ABitmap.BitmapType;
 
@@ -46,9 +47,18 @@ public class EstimationFactors {
 	protected final int numRows;
 	protected final boolean containsZero;
 	protected final boolean lossy;
+	/** The bits per row of frame-of-reference bit-packing, or -1 if the columns cannot be packed */
+	protected final int forBits;
+	/** The bits per row of bit-packed deltas, or -1 if the columns cannot be packed */
+	protected final int deltaBits;
 
 	protected EstimationFactors(int numCols, int numVals, int numOffs, int numRuns, int numSingle, int numRows,
 		boolean containsZero, boolean lossy) {
+		this(numCols, numVals, numOffs, numRuns, numSingle, numRows, containsZero, lossy, null);
+	}
+
+	protected EstimationFactors(int numCols, int numVals, int numOffs, int numRuns, int numSingle, int numRows,
+		boolean containsZero, boolean lossy, int[] packedBits) {
 		this.numCols = numCols;
 		this.numVals = numVals;
 		this.numOffs = numOffs;
@@ -57,12 +67,19 @@ public class EstimationFactors {
 		this.numRows = numRows;
 		this.containsZero = containsZero;
 		this.lossy = lossy;
+		this.forBits = (packedBits != null) ? packedBits[0] : -1;
+		this.deltaBits = (packedBits != null) ? packedBits[1] : -1;
 		LOG.debug(this);
 	}
 
 	protected static EstimationFactors computeSizeEstimationFactors(ABitmap ubm, boolean inclRLE, int numRows,
 		int numCols) {
-		
+		return computeSizeEstimationFactors(ubm, inclRLE, false, numRows, numCols);
+	}
+
+	protected static EstimationFactors computeSizeEstimationFactors(ABitmap ubm, boolean inclRLE,
+		boolean inclPacked, int numRows, int numCols) {
+
 		int numVals = (ubm != null) ? ubm.getNumValues(): 0;
 		boolean containsZero = (ubm != null) ? ubm.containsZero() : true;
 
@@ -90,8 +107,39 @@ public class EstimationFactors {
 			}
 		}
 
+		int[] packedBits = (inclPacked && numVals * numCols >= 256) ? computePackedBits(ubm, numRows) : null;
+
 		return new EstimationFactors(numCols, numVals * numCols, numOffs + numVals, numRuns, numSingle, numRows,
-			containsZero, ubm.getType() == BitmapType.Lossy);
+			containsZero, ubm.getType() == BitmapType.Lossy, packedBits);
+	}
+
+	/**
+	 * Compute the bits per row required for frame-of-reference and delta bit-packing of the columns of a bitmap. Only
+	 * lossless bitmaps of integer values can be packed. The delta bits are computed over consecutive rows of the
+	 * bitmap, which overestimates the deltas if the bitmap is extracted from a sample of rows.
+	 * 
+	 * @param ubm        The bitmap of the columns
+	 * @param bitmapRows The number of rows the bitmap is extracted from
+	 * @return The bits per row for FOR and DELTA, or null if the columns cannot be packed
+	 */
+	protected static int[] computePackedBits(ABitmap ubm, int bitmapRows) {
+		long[][] values = (ubm != null && bitmapRows > 0) ? ColGroupPacked.extractColumns(ubm, bitmapRows) : null;
+		if(values == null)
+			return null;
+		int forBits = 0;
+		int deltaBits = 0;
+		for(long[] col : values) {
+			long min = col[0], max = col[0], maxDelta = 0;
+			for(int i = 1; i < col.length; i++) {
+				min = Math.min(min, col[i]);
+				max = Math.max(max, col[i]);
+				maxDelta = Math.max(maxDelta, Math.abs(col[i] - col[i - 1]));
+			}
+			forBits += 64 - Long.numberOfLeadingZeros(max - min);
+			// zigzag encoding requires one additional bit for the sign
+			deltaBits += (maxDelta == 0) ? 0 : 65 - Long.numberOfLeadingZeros(maxDelta);
+		}
+		return new int[] {forBits, deltaBits};
 	}
 
 	@Override
@@ -104,6 +152,8 @@ public class EstimationFactors {
 		sb.append("\tnum Runs:" + numRuns);
 		sb.append("\tnum Unique Vals:" + numVals);
 		sb.append("\tcontains a 0: " + containsZero);
+		sb.append("\tFOR bits:" + forBits);
+		sb.append("\tDELTA bits:" + deltaBits);
 		return sb.toString();
 	}
 }
@@ -19,7 +19,7 @@
 
 package org.apache.sysds.runtime.compress.estim.sample;
 
-import java.util.HashMap;
+import java.util.Map;
 
 import org.apache.commons.math3.analysis.UnivariateFunction;
 import org.apache.commons.math3.analysis.solvers.UnivariateSolverUtils;
@@ -46,7 +46,7 @@ public class HassAndStokes {
 	 * @param solveCache A Hashmap containing information for getDuj2aEstimate
 	 * @return An estimation of distinct elements in the population.
 	 */
-	public static int haasAndStokes(ABitmap ubm, int nRows, int sampleSize, HashMap<Integer, Double> solveCache) {
+	public static int haasAndStokes(ABitmap ubm, int nRows, int sampleSize, Map<Integer, Double> solveCache) {
 		// obtain value and frequency histograms
 		int numVals = ubm.getNumValues();
 		int[] freqCounts = FrequencyCount.get(ubm);
@@ -119,7 +119,7 @@ public class HassAndStokes {
 	 * @return ??
 	 */
 	private static double getDuj2aEstimate(double q, int f[], int n, int dn, double gammaDuj1, int N,
-		HashMap<Integer, Double> solveCache) {
+		Map<Integer, Double> solveCache) {
 		int c = HAAS_AND_STOKES_UJ2A_CUT2 ? f.length / 2 + 1 : HAAS_AND_STOKES_UJ2A_C + 1;
 
 		// compute adjusted sample size after removing classes that
@@ -209,7 +209,7 @@ public class HassAndStokes {
 	 * @return ??
 	 */
 	private static double getMethodOfMomentsEstimate(int nj, double q, double min, double max,
-		HashMap<Integer, Double> solveCache) {
+		Map<Integer, Double> solveCache) {
 		if(solveCache.containsKey(nj))
 			return solveCache.get(nj);
 
@@ -0,0 +1,331 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.lib;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.colgroup.ColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupValue;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.functionobjects.KahanPlus;
+import org.apache.sysds.runtime.functionobjects.Multiply;
+import org.apache.sysds.runtime.functionobjects.ReduceAll;
+import org.apache.sysds.runtime.functionobjects.ReduceRow;
+import org.apache.sysds.runtime.instructions.cp.KahanObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.AggregateTernaryOperator;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Ternary aggregates sum(X*Y*Z) and colSums(X*Y*Z) of a compressed matrix block. If the other operands are
+ * uncompressed, dictionary-based column groups (DDC, OLE, RLE, and CONST) are aggregated directly on their
+ * dictionaries, by pre-aggregating the products Y*Z per distinct value (over the row mapping of DDC or the offset lists
+ * of OLE and RLE) and scaling them with the values once. Column groups without a dictionary (FOR, DELTA, and
+ * uncompressed) are processed in cache-sized row tiles, such that the block is never decompressed as a whole, and the
+ * other operands are read in place (or tile-wise, if they are compressed as well).
+ */
+public class LibAggTernary {
+
+	/** Target number of cells of a decompressed row tile (256KB). */
+	protected static final int TILE_CELLS = 32 * 1024;
+
+	/** Minimum number of rows of a decompressed row tile. */
+	protected static final int MIN_TILE_ROWS = 16;
+
+	/**
+	 * Aggregate ternary operation over a compressed block and two other blocks of equal dimensions.
+	 *
+	 * @param m1   The compressed block
+	 * @param m2   The second block, potentially compressed
+	 * @param m3   The third block, potentially compressed, or null for a literal 1
+	 * @param ret  The output block, with corrections in the last row or column
+	 * @param op   The aggregate ternary operator
+	 * @param inCP Flag indicating if the corrections should be dropped
+	 * @return The output block
+	 */
+	public static MatrixBlock aggregateTernary(CompressedMatrixBlock m1, MatrixBlock m2, MatrixBlock m3,
+		MatrixBlock ret, AggregateTernaryOperator op, boolean inCP) {
+		final int m = m1.getNumRows();
+		final int n = m1.getNumColumns();
+		if(m != m2.getNumRows() || n != m2.getNumColumns() ||
+			(m3 != null && (m != m3.getNumRows() || n != m3.getNumColumns())))
+			throw new DMLRuntimeException("Invalid dimensions for aggregate ternary (" + m + "x" + n + ", "
+				+ m2.getNumRows() + "x" + m2.getNumColumns() + ", "
+				+ (m3 != null ? m3.getNumRows() + "x" + m3.getNumColumns() : "literal") + ").");
+		if(!(op.aggOp.increOp.fn instanceof KahanPlus && op.binaryFn instanceof Multiply))
+			throw new DMLRuntimeException("Unsupported operator for aggregate ternary operations.");
+
+		// create output matrix block w/ corrections
+		final boolean reduceAll = op.indexFn instanceof ReduceAll;
+		final int rl = (op.indexFn instanceof ReduceRow) ? 2 : 1;
+		final int cl = (op.indexFn instanceof ReduceRow) ? n : 2;
+		if(ret == null)
+			ret = new MatrixBlock(rl, cl, false);
+		else
+			ret.reset(rl, cl, false);
+
+		if(!m1.isEmptyBlock(false) && !m2.isEmptyBlock(false) && (m3 == null || !m3.isEmptyBlock(false))) {
+			final double[] c = new double[reduceAll ? 2 : 2 * n];
+			final int k = op.getNumThreads();
+			final int blklen = getTaskBlockLength(m, n, k);
+			if(k <= 1 || blklen >= m)
+				new AggTernaryTask(m1, m2, m3, reduceAll, 0, m).call(c);
+			else {
+				try {
+					ExecutorService pool = CommonThreadPool.get(k);
+					ArrayList<AggTernaryTask> tasks = new ArrayList<>();
+					for(int i = 0; i * blklen < m; i++)
+						tasks.add(new AggTernaryTask(m1, m2, m3, reduceAll, i * blklen, Math.min((i + 1) * blklen, m)));
+					List<Future<double[]>> rtasks = pool.invokeAll(tasks);
+					pool.shutdown();
+					// aggregate partial results in deterministic order
+					KahanObject kbuff = new KahanObject(0, 0);
+					KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
+					final int len = c.length / 2;
+					for(Future<double[]> rt : rtasks) {
+						double[] p = rt.get();
+						for(int j = 0; j < len; j++) {
+							kbuff.set(c[j], c[j + len]);
+							kplus.execute2(kbuff, p[j]);
+							kplus.execute2(kbuff, p[j + len]);
+							c[j] = kbuff._sum;
+							c[j + len] = kbuff._correction;
+						}
+					}
+				}
+				catch(InterruptedException | ExecutionException e) {
+					throw new DMLRuntimeException(e);
+				}
+			}
+
+			// corrections are stored in the second column or row
+			ret.allocateDenseBlock();
+			System.arraycopy(c, 0, ret.getDenseBlockValues(), 0, c.length);
+			ret.recomputeNonZeros();
+			ret.examSparsity();
+		}
+
+		if(op.aggOp.existsCorrection() && inCP)
+			ret.dropLastRowsOrColumns(op.aggOp.correction);
+		return ret;
+	}
+
+	/**
+	 * Get the number of rows per task, aligned to the tile size.
+	 *
+	 * @param m The number of rows
+	 * @param n The number of columns
+	 * @param k The parallelization degree
+	 * @return The number of rows per task
+	 */
+	protected static int getTaskBlockLength(int m, int n, int k) {
+		final int tile = getTileRows(m, n);
+		final int blklen = (int) Math.ceil((double) m / Math.max(k, 1));
+		return Math.max(tile, blklen + (tile - blklen % tile) % tile);
+	}
+
+	/**
+	 * Get the number of rows of a decompressed row tile.
+	 *
+	 * @param m The number of rows
+	 * @param n The number of columns
+	 * @return The number of rows per tile
+	 */
+	protected static int getTileRows(int m, int n) {
+		return Math.min(m, Math.max(MIN_TILE_ROWS, TILE_CELLS / Math.max(n, 1)));
+	}
+
+	/**
+	 * Decompress the rows rl to ru of a compressed block into a dense tile, which is reused across calls.
+	 *
+	 * @param m1   The compressed block
+	 * @param tile The dense tile to reuse, or null
+	 * @param rl   The row to start at
+	 * @param ru   The row to end at (not inclusive)
+	 * @return The decompressed tile, with ru-rl rows
+	 */
+	protected static MatrixBlock decompressRows(CompressedMatrixBlock m1, MatrixBlock tile, int rl, int ru) {
+		return decompressRows(m1.getColGroups(), m1.getNumColumns(), tile, rl, ru);
+	}
+
+	/**
+	 * Decompress the rows rl to ru of a list of column groups into a dense tile, which is reused across calls.
+	 *
+	 * @param groups The column groups
+	 * @param n      The number of columns of the tile
+	 * @param tile   The dense tile to reuse, or null
+	 * @param rl     The row to start at
+	 * @param ru     The row to end at (not inclusive)
+	 * @return The decompressed tile, with ru-rl rows
+	 */
+	protected static MatrixBlock decompressRows(List<ColGroup> groups, int n, MatrixBlock tile, int rl, int ru) {
+		if(tile == null)
+			tile = new MatrixBlock(ru - rl, n, false);
+		tile.reset(ru - rl, n, false);
+		tile.allocateDenseBlock();
+		// the column groups add into the tile, which also covers overlapping groups
+		for(ColGroup g : groups)
+			g.decompressToBlockSafe(tile, rl, ru, 0, g.getValues(), false);
+		tile.recomputeNonZeros();
+		return tile;
+	}
+
+	private static class AggTernaryTask implements Callable<double[]> {
+		private final CompressedMatrixBlock _m1;
+		private final MatrixBlock _m2;
+		private final MatrixBlock _m3;
+		private final boolean _reduceAll;
+		private final int _rl;
+		private final int _ru;
+
+		protected AggTernaryTask(CompressedMatrixBlock m1, MatrixBlock m2, MatrixBlock m3, boolean reduceAll, int rl,
+			int ru) {
+			_m1 = m1;
+			_m2 = m2;
+			_m3 = m3;
+			_reduceAll = reduceAll;
+			_rl = rl;
+			_ru = ru;
+		}
+
+		@Override
+		public double[] call() {
+			return call(new double[_reduceAll ? 2 : 2 * _m1.getNumColumns()]);
+		}
+
+		protected double[] call(double[] c) {
+			final int tile = getTileRows(_m1.getNumRows(), _m1.getNumColumns());
+			final boolean c2 = _m2 instanceof CompressedMatrixBlock;
+			final boolean c3 = _m3 instanceof CompressedMatrixBlock;
+			MatrixBlock t1 = null, t2 = null, t3 = null;
+			KahanObject kbuff = new KahanObject(c[0], c[1]);
+			// the aggregate is linear in X, so the column groups (even if overlapping) can be aggregated separately
+			final List<ColGroup> tiled = new ArrayList<>();
+			for(ColGroup g : _m1.getColGroups()) {
+				if(g instanceof ColGroupValue && !c2 && !c3)
+					aggregateDictionary((ColGroupValue) g, c, kbuff);
+				else
+					tiled.add(g);
+			}
+			for(int bi = _rl; bi < _ru && !tiled.isEmpty(); bi += tile) {
+				final int bu = Math.min(bi + tile, _ru);
+				t1 = decompressRows(tiled, _m1.getNumColumns(), t1, bi, bu);
+				if(t1.isEmptyBlock(false))
+					continue;
+				t2 = c2 ? decompressRows((CompressedMatrixBlock) _m2, t2, bi, bu) : null;
+				t3 = c3 ? decompressRows((CompressedMatrixBlock) _m3, t3, bi, bu) : null;
+				aggregateTile(t1, c2 ? t2 : _m2, c2 ? bi : 0, c3 ? t3 : _m3, c3 ? bi : 0, bi, bu, c, kbuff);
+			}
+			if(_reduceAll) {
+				c[0] = kbuff._sum;
+				c[1] = kbuff._correction;
+			}
+			return c;
+		}
+
+		/**
+		 * Aggregate the rows of a dictionary-based column group directly on its dictionary, with one multiply per
+		 * distinct value and column instead of one per cell.
+		 */
+		private void aggregateDictionary(ColGroupValue g, double[] c, KahanObject kbuff) {
+			final KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
+			final int[] cols = g.getColIndices();
+			final double[] values = g.getValues();
+			final double[] weights = g.preAggregateProduct(_m2, _m3, _rl, _ru);
+			for(int i = 0; i < weights.length; i++)
+				if(weights[i] != 0)
+					add(kplus, kbuff, c, cols[i % cols.length], _m1.getNumColumns(), values[i] * weights[i]);
+		}
+
+		/**
+		 * Aggregate the rows rl to ru, where the decompressed tile a holds the rows of the compressed block, and the
+		 * rows of b1 and b2 are offset by off1 and off2.
+		 */
+		private void aggregateTile(MatrixBlock a, MatrixBlock b1, int off1, MatrixBlock b2, int off2, int rl, int ru,
+			double[] c, KahanObject kbuff) {
+			// iterate over the sparse operand if any, and probe the other one
+			if(b2 != null && b2.isInSparseFormat() && !b1.isInSparseFormat()) {
+				MatrixBlock tmp = b1;
+				b1 = b2;
+				b2 = tmp;
+				int toff = off1;
+				off1 = off2;
+				off2 = toff;
+			}
+			final KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
+			final double[] avals = a.getDenseBlockValues();
+			final int n = a.getNumColumns();
+			final DenseBlock d2 = (b2 != null && !b2.isInSparseFormat()) ? b2.getDenseBlock() : null;
+			if(b1.isInSparseFormat()) {
+				final SparseBlock sb = b1.getSparseBlock();
+				for(int i = rl; i < ru; i++) {
+					if(sb.isEmpty(i - off1))
+						continue;
+					final int apos = sb.pos(i - off1);
+					final int alen = sb.size(i - off1);
+					final int[] aix = sb.indexes(i - off1);
+					final double[] vals = sb.values(i - off1);
+					final int aoff = (i - rl) * n;
+					for(int j = apos; j < apos + alen; j++) {
+						double val = avals[aoff + aix[j]] * vals[j];
+						if(val != 0 && b2 != null)
+							val *= b2.quickGetValue(i - off2, aix[j]);
+						add(kplus, kbuff, c, aix[j], n, val);
+					}
+				}
+			}
+			else {
+				final DenseBlock d1 = b1.getDenseBlock();
+				for(int i = rl; i < ru; i++) {
+					final double[] vals1 = d1.values(i - off1);
+					final int pos1 = d1.pos(i - off1);
+					final double[] vals2 = (d2 != null) ? d2.values(i - off2) : null;
+					final int pos2 = (d2 != null) ? d2.pos(i - off2) : 0;
+					final int aoff = (i - rl) * n;
+					for(int j = 0; j < n; j++) {
+						double val = avals[aoff + j] * vals1[pos1 + j];
+						if(val != 0 && b2 != null)
+							val *= (vals2 != null) ? vals2[pos2 + j] : b2.quickGetValue(i - off2, j);
+						add(kplus, kbuff, c, j, n, val);
+					}
+				}
+			}
+		}
+
+		private void add(KahanPlus kplus, KahanObject kbuff, double[] c, int j, int n, double val) {
+			if(_reduceAll)
+				kplus.execute2(kbuff, val);
+			else if(val != 0) {
+				kbuff.set(c[j], c[j + n]);
+				kplus.execute2(kbuff, val);
+				c[j] = kbuff._sum;
+				c[j + n] = kbuff._correction;
+			}
+		}
+	}
+}
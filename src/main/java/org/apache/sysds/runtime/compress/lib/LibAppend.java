@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.lib;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.colgroup.ColGroup;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Row-wise append (rbind) of a matrix block to a compressed matrix block, which extends the column groups of the
+ * compressed block with the appended rows instead of decompressing it.
+ */
+public class LibAppend {
+
+	private static final Log LOG = LogFactory.getLog(LibAppend.class.getName());
+
+	/**
+	 * Append the rows of that below the rows of m1.
+	 * 
+	 * @param m1   The compressed top block
+	 * @param that The bottom block
+	 * @param k    The parallelization degree
+	 * @return The appended block, or null if the column groups of m1 cannot be extended
+	 */
+	public static MatrixBlock rbind(CompressedMatrixBlock m1, MatrixBlock that, int k) {
+		if(m1.getNumColumns() != that.getNumColumns())
+			throw new DMLRuntimeException("Invalid rbind of matrices with different number of columns: "
+				+ m1.getNumColumns() + " vs " + that.getNumColumns());
+		if(m1.isOverlapping())
+			return null;
+		if(that.getNumRows() == 0)
+			return m1;
+
+		final MatrixBlock rows = CompressedMatrixBlock.getUncompressed(that);
+		final List<ColGroup> colGroups = m1.getColGroups();
+		final List<ColGroup> retGroups = new ArrayList<>(colGroups.size());
+		if(k <= 1 || colGroups.size() <= 1) {
+			for(ColGroup g : colGroups)
+				retGroups.add(g.appendRows(sliceColumns(rows, g.getColIndices())));
+		}
+		else {
+			try {
+				ExecutorService pool = CommonThreadPool.get(k);
+				ArrayList<Callable<ColGroup>> tasks = new ArrayList<>();
+				for(ColGroup g : colGroups)
+					tasks.add(new AppendTask(g, rows));
+				for(Future<ColGroup> f : pool.invokeAll(tasks))
+					retGroups.add(f.get());
+				pool.shutdown();
+			}
+			catch(InterruptedException | ExecutionException e) {
+				throw new DMLRuntimeException(e);
+			}
+		}
+
+		CompressedMatrixBlock ret = new CompressedMatrixBlock(m1.getNumRows() + rows.getNumRows(),
+			m1.getNumColumns());
+		ret.allocateColGroupList(retGroups);
+		ret.setNonZeros((m1.getNonZeros() >= 0 && rows.getNonZeros() >= 0) ? m1.getNonZeros() +
+			rows.getNonZeros() : -1);
+		ret.setPlannedRatio(m1.getPlannedRatio());
+		LOG.debug("Appended " + rows.getNumRows() + " rows to compressed block");
+		return CompressedMatrixBlockFactory.replanIfDegraded(ret, m1.getCompressionRatio(), k);
+	}
+
+	/**
+	 * Extract the given columns of a matrix block into a new dense block.
+	 * 
+	 * @param mb         The input block
+	 * @param colIndexes The columns to extract
+	 * @return A block with one column per given column index
+	 */
+	protected static MatrixBlock sliceColumns(MatrixBlock mb, int[] colIndexes) {
+		final int nrows = mb.getNumRows();
+		MatrixBlock ret = new MatrixBlock(nrows, colIndexes.length, false);
+		ret.allocateDenseBlock();
+		for(int i = 0; i < nrows; i++)
+			for(int j = 0; j < colIndexes.length; j++)
+				ret.appendValue(i, j, mb.quickGetValue(i, colIndexes[j]));
+		ret.recomputeNonZeros();
+		return ret;
+	}
+
+	private static class AppendTask implements Callable<ColGroup> {
+		private final ColGroup _group;
+		private final MatrixBlock _rows;
+
+		protected AppendTask(ColGroup group, MatrixBlock rows) {
+			_group = group;
+			_rows = rows;
+		}
+
+		@Override
+		public ColGroup call() {
+			return _group.appendRows(sliceColumns(_rows, _group.getColIndices()));
+		}
+	}
+}
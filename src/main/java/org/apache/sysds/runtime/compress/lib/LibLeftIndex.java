@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.lib;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.colgroup.ColGroup;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Left indexing (point and range updates) of a compressed matrix block, which only re-encodes the rows of the column
+ * groups that intersect the updated columns and shares all other column groups with the input.
+ */
+public class LibLeftIndex {
+
+	/**
+	 * Overwrite the cells [rl,ru] x [cl,cu] of m1 with the values of rhs.
+	 * 
+	 * @param m1  The compressed block
+	 * @param rhs The uncompressed values to write
+	 * @param rl  The row lower index, 0-based inclusive
+	 * @param ru  The row upper index, 0-based inclusive
+	 * @param cl  The column lower index, 0-based inclusive
+	 * @param cu  The column upper index, 0-based inclusive
+	 * @param k   The parallelization degree for a potential re-compression
+	 * @return The updated block, or null if the column groups of m1 cannot be updated
+	 */
+	public static MatrixBlock leftIndexing(CompressedMatrixBlock m1, MatrixBlock rhs, int rl, int ru, int cl, int cu,
+		int k) {
+		if(rl < 0 || ru >= m1.getNumRows() || cl < 0 || cu >= m1.getNumColumns() || rl > ru || cl > cu)
+			throw new DMLRuntimeException("Invalid values for matrix indexing: [" + (rl + 1) + ":" + (ru + 1) + ","
+				+ (cl + 1) + ":" + (cu + 1) + "] must be within matrix dimensions [" + m1.getNumRows() + ","
+				+ m1.getNumColumns() + "].");
+		if(rhs.getNumRows() != ru - rl + 1 || rhs.getNumColumns() != cu - cl + 1)
+			throw new DMLRuntimeException("Invalid values for matrix indexing: dimensions of the source matrix ["
+				+ rhs.getNumRows() + "x" + rhs.getNumColumns() + "] do not match the shape of the matrix specified by "
+				+ "indices [" + (rl + 1) + ":" + (ru + 1) + ", " + (cl + 1) + ":" + (cu + 1) + "].");
+		if(m1.isOverlapping())
+			return null;
+
+		final List<ColGroup> colGroups = m1.getColGroups();
+		final List<ColGroup> retGroups = new ArrayList<>(colGroups.size());
+		long nnzDelta = 0;
+		for(ColGroup g : colGroups) {
+			if(!intersects(g.getColIndices(), cl, cu)) {
+				retGroups.add(g);
+				continue;
+			}
+			// decompress the affected rows of the group once (instead of per-cell lookups,
+			// which scan all offset lists of OLE/RLE groups)
+			MatrixBlock old = decompressRows(g, m1.getNumColumns(), rl, ru);
+			MatrixBlock values = getRows(g, old, rhs, cl, cu);
+			nnzDelta += values.getNonZeros() - countNonZeros(g, old);
+			retGroups.add(g.updateRows(rl, values));
+		}
+
+		CompressedMatrixBlock ret = new CompressedMatrixBlock(m1.getNumRows(), m1.getNumColumns());
+		ret.allocateColGroupList(retGroups);
+		ret.setNonZeros(m1.getNonZeros() >= 0 ? m1.getNonZeros() + nnzDelta : -1);
+		ret.setPlannedRatio(m1.getPlannedRatio());
+		return CompressedMatrixBlockFactory.replanIfDegraded(ret, m1.getCompressionRatio(), k);
+	}
+
+	private static boolean intersects(int[] colIndexes, int cl, int cu) {
+		for(int col : colIndexes)
+			if(col >= cl && col <= cu)
+				return true;
+		return false;
+	}
+
+	private static MatrixBlock decompressRows(ColGroup g, int ncol, int rl, int ru) {
+		MatrixBlock ret = new MatrixBlock(ru - rl + 1, ncol, false);
+		ret.allocateDenseBlock();
+		g.decompressToBlock(ret, rl, ru + 1, 0);
+		return ret;
+	}
+
+	private static long countNonZeros(ColGroup g, MatrixBlock old) {
+		final double[] a = old.getDenseBlockValues();
+		final int ncol = old.getNumColumns();
+		long nnz = 0;
+		for(int i = 0, off = 0; i < old.getNumRows(); i++, off += ncol)
+			for(int col : g.getColIndices())
+				nnz += (a[off + col] != 0) ? 1 : 0;
+		return nnz;
+	}
+
+	private static MatrixBlock getRows(ColGroup g, MatrixBlock old, MatrixBlock rhs, int cl, int cu) {
+		// updated cells are taken from rhs, all other cells of the group from its current rows
+		final int[] colIndexes = g.getColIndices();
+		final double[] a = old.getDenseBlockValues();
+		final int ncol = old.getNumColumns();
+		MatrixBlock ret = new MatrixBlock(old.getNumRows(), colIndexes.length, false);
+		ret.allocateDenseBlock();
+		final double[] c = ret.getDenseBlockValues();
+		for(int i = 0, off = 0, pos = 0; i < old.getNumRows(); i++, off += ncol)
+			for(int j = 0; j < colIndexes.length; j++, pos++) {
+				final int col = colIndexes[j];
+				c[pos] = (col >= cl && col <= cu) ? rhs.quickGetValue(i, col - cl) : a[off + col];
+			}
+		ret.recomputeNonZeros();
+		return ret;
+	}
+}
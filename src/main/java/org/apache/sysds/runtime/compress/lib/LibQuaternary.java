@@ -0,0 +1,330 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.lib;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.lops.WeightedSigmoid.WSigmoidType;
+import org.apache.sysds.lops.WeightedSquaredLoss.WeightsType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.functionobjects.KahanPlus;
+import org.apache.sysds.runtime.functionobjects.Multiply;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.instructions.cp.KahanObject;
+import org.apache.sysds.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Weighted squared loss (wsloss) and weighted sigmoid (wsigmoid) quaternary operations with a compressed left-hand
+ * side X. The unweighted squared loss is computed in the compressed domain, via the rewrite sum((X - U %*% t(V))^2) =
+ * sum(X^2) - 2 * sum((X %*% V) * U) + sum((t(U) %*% U) * (t(V) %*% V)), where sum(X^2) is aggregated on the
+ * dictionaries and X %*% V is a compressed right matrix multiplication. All other operations weight or mask the cells
+ * of U %*% t(V) individually (by W or the non-zeros of X), or produce an output of the dimensions of X (wsigmoid), so
+ * they are processed in cache-sized decompressed row tiles together with the matching rows of the factor U and the
+ * weights W, while the factor V is shared by all tiles.
+ */
+public class LibQuaternary {
+
+	/**
+	 * Weighted squared loss, for instance sum(W * (X - U %*% t(V)) ^ 2).
+	 *
+	 * @param X   The compressed block
+	 * @param U   The left factor
+	 * @param V   The right factor
+	 * @param W   The weights, potentially compressed, or null
+	 * @param ret The 1x1 output block
+	 * @param wt  The weights type
+	 * @param k   The parallelization degree
+	 */
+	public static void wsloss(CompressedMatrixBlock X, MatrixBlock U, MatrixBlock V, MatrixBlock W, MatrixBlock ret,
+		WeightsType wt, int k) {
+		final int m = X.getNumRows();
+		final int n = X.getNumColumns();
+		checkFactors(X, U, V);
+		if(W != null && (W.getNumRows() != m || W.getNumColumns() != n))
+			throw new DMLRuntimeException("Dimension mismatch of weights on wsloss: " + W.getNumRows() + "x"
+				+ W.getNumColumns() + " vs " + m + "x" + n);
+
+		ret.reset(1, 1, false);
+		if(wt == WeightsType.POST && W.isEmptyBlock(false) || wt == WeightsType.POST_NZ && X.isEmptyBlock(false))
+			return;
+		if(wt == WeightsType.NONE) {
+			ret.quickSetValue(0, 0, wslossNoWeight(X, U, V, k));
+			return;
+		}
+
+		final int blklen = LibAggTernary.getTaskBlockLength(m, n, k);
+		double sum;
+		if(k <= 1 || blklen >= m)
+			sum = new WSLossTask(X, U, V, W, wt, 0, m).call();
+		else {
+			try {
+				ExecutorService pool = CommonThreadPool.get(k);
+				ArrayList<WSLossTask> tasks = new ArrayList<>();
+				for(int i = 0; i * blklen < m; i++)
+					tasks.add(new WSLossTask(X, U, V, W, wt, i * blklen, Math.min((i + 1) * blklen, m)));
+				KahanObject kbuff = new KahanObject(0, 0);
+				KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
+				for(Future<Double> f : pool.invokeAll(tasks))
+					kplus.execute2(kbuff, f.get());
+				pool.shutdown();
+				sum = kbuff._sum;
+			}
+			catch(InterruptedException | ExecutionException e) {
+				throw new DMLRuntimeException(e);
+			}
+		}
+		ret.quickSetValue(0, 0, sum);
+	}
+
+	/**
+	 * Weighted sigmoid, for instance X * sigmoid(U %*% t(V)), which preserves the sparsity of X.
+	 *
+	 * @param X   The compressed block
+	 * @param U   The left factor
+	 * @param V   The right factor
+	 * @param ret The output block of the dimensions of X
+	 * @param wt  The sigmoid type
+	 * @param k   The parallelization degree
+	 */
+	public static void wsigmoid(CompressedMatrixBlock X, MatrixBlock U, MatrixBlock V, MatrixBlock ret,
+		WSigmoidType wt, int k) {
+		final int m = X.getNumRows();
+		final int n = X.getNumColumns();
+		checkFactors(X, U, V);
+
+		// allocate the output with the sparsity of X (as in LibMatrixMult.matrixMultWSigmoid),
+		// because the output has at most the non-zeros of X
+		final long nnzX = X.getNonZeros();
+		final boolean sparse = nnzX >= 0 && MatrixBlock.evalSparseFormatInMemory(m, n, nnzX);
+		ret.reset(m, n, sparse);
+		if(X.isEmptyBlock(false))
+			return;
+		ret.allocateBlock();
+
+		final int blklen = LibAggTernary.getTaskBlockLength(m, n, k);
+		long nnz = 0;
+		if(k <= 1 || blklen >= m || !MatrixBlock.isThreadSafe(sparse))
+			nnz = new WSigmoidTask(X, U, V, ret, wt, 0, m).call();
+		else {
+			try {
+				ExecutorService pool = CommonThreadPool.get(k);
+				ArrayList<WSigmoidTask> tasks = new ArrayList<>();
+				for(int i = 0; i * blklen < m; i++)
+					tasks.add(new WSigmoidTask(X, U, V, ret, wt, i * blklen, Math.min((i + 1) * blklen, m)));
+				List<Future<Long>> rtasks = pool.invokeAll(tasks);
+				pool.shutdown();
+				for(Future<Long> f : rtasks)
+					nnz += f.get();
+			}
+			catch(InterruptedException | ExecutionException e) {
+				throw new DMLRuntimeException(e);
+			}
+		}
+		ret.setNonZeros(nnz);
+		ret.examSparsity();
+	}
+
+	/**
+	 * Unweighted squared loss sum((X - U %*% t(V))^2) in the compressed domain, analogous to the sparse unweighted
+	 * wsloss in LibMatrixMult, but with the first two terms computed without decompression.
+	 */
+	private static double wslossNoWeight(CompressedMatrixBlock X, MatrixBlock U, MatrixBlock V, int k) {
+		final BinaryOperator mult = new BinaryOperator(Multiply.getMultiplyFnObject());
+		// sum(X^2) over the dictionaries (or tiles, if the column groups overlap)
+		final double sumSq = X.aggregateUnaryOperations(InstructionUtils.parseBasicAggregateUnaryOperator("uasqk+", k),
+			new MatrixBlock(), Math.max(X.getNumRows(), X.getNumColumns()), null, true).quickGetValue(0, 0);
+		// sum(X * (U %*% t(V))) = sum((X %*% V) * U)
+		final MatrixBlock XV = LibRightMultBy.rightMultByMatrix(X.getColGroups(), V, null, k, X.getMaxNumValues(),
+			false);
+		final double sumXUV = XV.binaryOperations(mult, U, new MatrixBlock()).sum();
+		// sum((U %*% t(V))^2) = sum((t(U) %*% U) * (t(V) %*% V))
+		final MatrixBlock UtU = new MatrixBlock(U.getNumColumns(), U.getNumColumns(), false);
+		final MatrixBlock VtV = new MatrixBlock(V.getNumColumns(), V.getNumColumns(), false);
+		LibMatrixMult.matrixMultTransposeSelf(U, UtU, true, k);
+		LibMatrixMult.matrixMultTransposeSelf(V, VtV, true, k);
+		final double sumUV = UtU.binaryOperations(mult, VtV, new MatrixBlock()).sum();
+
+		final KahanObject kbuff = new KahanObject(sumSq, 0);
+		final KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
+		kplus.execute2(kbuff, -2 * sumXUV);
+		kplus.execute2(kbuff, sumUV);
+		return kbuff._sum;
+	}
+
+	private static void checkFactors(CompressedMatrixBlock X, MatrixBlock U, MatrixBlock V) {
+		if(X.getNumRows() != U.getNumRows())
+			throw new DMLRuntimeException(
+				"Dimension mismatch rows on quaternary operation: " + X.getNumRows() + "!=" + U.getNumRows());
+		if(X.getNumColumns() != V.getNumRows())
+			throw new DMLRuntimeException(
+				"Dimension mismatch columns quaternary operation: " + X.getNumColumns() + "!=" + V.getNumRows());
+	}
+
+	private static class WSLossTask implements Callable<Double> {
+		private final CompressedMatrixBlock _X;
+		private final MatrixBlock _U;
+		private final MatrixBlock _V;
+		private final MatrixBlock _W;
+		private final WeightsType _wt;
+		private final int _rl;
+		private final int _ru;
+
+		protected WSLossTask(CompressedMatrixBlock X, MatrixBlock U, MatrixBlock V, MatrixBlock W, WeightsType wt,
+			int rl, int ru) {
+			_X = X;
+			_U = U;
+			_V = V;
+			_W = W;
+			_wt = wt;
+			_rl = rl;
+			_ru = ru;
+		}
+
+		@Override
+		public Double call() {
+			final int tile = LibAggTernary.getTileRows(_X.getNumRows(), _X.getNumColumns());
+			final KahanObject kbuff = new KahanObject(0, 0);
+			final KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
+			final MatrixBlock partial = new MatrixBlock(1, 1, false);
+			MatrixBlock tX = null, tW = null;
+			for(int bi = _rl; bi < _ru; bi += tile) {
+				final int bu = Math.min(bi + tile, _ru);
+				tX = LibAggTernary.decompressRows(_X, tX, bi, bu);
+				final MatrixBlock tU = _U.slice(bi, bu - 1);
+				if(_W == null)
+					tW = null;
+				else if(_W instanceof CompressedMatrixBlock)
+					tW = LibAggTernary.decompressRows((CompressedMatrixBlock) _W, tW, bi, bu);
+				else
+					tW = _W.slice(bi, bu - 1);
+				partial.reset(1, 1, false);
+				LibMatrixMult.matrixMultWSLoss(tX, tU, _V, tW, partial, _wt);
+				kplus.execute2(kbuff, partial.quickGetValue(0, 0));
+			}
+			return kbuff._sum;
+		}
+	}
+
+	private static class WSigmoidTask implements Callable<Long> {
+		private final CompressedMatrixBlock _X;
+		private final MatrixBlock _U;
+		private final MatrixBlock _V;
+		private final MatrixBlock _ret;
+		private final WSigmoidType _wt;
+		private final int _rl;
+		private final int _ru;
+
+		protected WSigmoidTask(CompressedMatrixBlock X, MatrixBlock U, MatrixBlock V, MatrixBlock ret,
+			WSigmoidType wt, int rl, int ru) {
+			_X = X;
+			_U = U;
+			_V = V;
+			_ret = ret;
+			_wt = wt;
+			_rl = rl;
+			_ru = ru;
+		}
+
+		@Override
+		public Long call() {
+			final int n = _X.getNumColumns();
+			final int tile = LibAggTernary.getTileRows(_X.getNumRows(), n);
+			MatrixBlock tX = null;
+			long nnz = 0;
+			for(int bi = _rl; bi < _ru; bi += tile) {
+				final int bu = Math.min(bi + tile, _ru);
+				tX = LibAggTernary.decompressRows(_X, tX, bi, bu);
+				final MatrixBlock tU = _U.slice(bi, bu - 1);
+				final MatrixBlock partial = new MatrixBlock(bu - bi, n, false);
+				LibMatrixMult.matrixMultWSigmoid(tX, tU, _V, partial, _wt);
+				if(partial.isEmptyBlock(false))
+					continue;
+				// copy the rows of the tile into the disjoint rows of the output
+				if(_ret.isInSparseFormat())
+					copyToSparse(partial, _ret.getSparseBlock(), bi, bu - bi, n);
+				else
+					copyToDense(partial, _ret.getDenseBlock(), bi, bu - bi, n);
+				nnz += partial.getNonZeros();
+			}
+			return nnz;
+		}
+
+		private static void copyToDense(MatrixBlock partial, DenseBlock c, int rl, int rlen, int n) {
+			if(partial.isInSparseFormat()) {
+				final SparseBlock sb = partial.getSparseBlock();
+				for(int i = 0; i < rlen; i++) {
+					if(sb.isEmpty(i))
+						continue;
+					final int apos = sb.pos(i);
+					final int alen = sb.size(i);
+					final int[] aix = sb.indexes(i);
+					final double[] avals = sb.values(i);
+					final double[] cvals = c.values(rl + i);
+					final int cpos = c.pos(rl + i);
+					for(int j = apos; j < apos + alen; j++)
+						cvals[cpos + aix[j]] = avals[j];
+				}
+			}
+			else {
+				final DenseBlock a = partial.getDenseBlock();
+				for(int i = 0; i < rlen; i++)
+					System.arraycopy(a.values(i), a.pos(i), c.values(rl + i), c.pos(rl + i), n);
+			}
+		}
+
+		private static void copyToSparse(MatrixBlock partial, SparseBlock c, int rl, int rlen, int n) {
+			if(partial.isInSparseFormat()) {
+				final SparseBlock sb = partial.getSparseBlock();
+				for(int i = 0; i < rlen; i++) {
+					if(sb.isEmpty(i))
+						continue;
+					final int apos = sb.pos(i);
+					final int alen = sb.size(i);
+					final int[] aix = sb.indexes(i);
+					final double[] avals = sb.values(i);
+					c.allocate(rl + i, alen);
+					for(int j = apos; j < apos + alen; j++)
+						c.append(rl + i, aix[j], avals[j]);
+				}
+			}
+			else {
+				final DenseBlock a = partial.getDenseBlock();
+				for(int i = 0; i < rlen; i++) {
+					final double[] avals = a.values(i);
+					final int apos = a.pos(i);
+					for(int j = 0; j < n; j++)
+						if(avals[apos + j] != 0)
+							c.append(rl + i, j, avals[apos + j]);
+				}
+			}
+		}
+	}
+}
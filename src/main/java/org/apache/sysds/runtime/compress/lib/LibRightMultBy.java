@@ -34,6 +34,7 @@ import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.compress.CompressionSettings;
 import org.apache.sysds.runtime.compress.colgroup.ColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupPacked;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupValue;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
@@ -225,7 +226,9 @@ public class LibRightMultBy {
 							Math.min((n + 1) * blklenRows, ret.getNumRows()));
 					}
 				}
-
+				else if(colGroups.get(j) instanceof ColGroupPacked) {
+					((ColGroupPacked) colGroups.get(j)).rightMultByMatrix(that, retV, 0, ret.getNumRows());
+				}
 			}
 
 		}
@@ -240,7 +243,7 @@ public class LibRightMultBy {
 				List<Future<Pair<int[], double[]>>> ag = pool.invokeAll(preAggregate(colGroups, that, that, v));
 			
 				for(int j = 0; j * blklenRows < ret.getNumRows(); j++) {
-					RightMatrixMultTask rmmt = new RightMatrixMultTask(colGroups, retV, ag, v, that.getNumColumns(),
+					RightMatrixMultTask rmmt = new RightMatrixMultTask(colGroups, retV, ag, v, that,
 						j * blklenRows, Math.min((j + 1) * blklenRows, ret.getNumRows()));
 					tasks.add(rmmt);
 				}
@@ -304,6 +307,9 @@ public class LibRightMultBy {
 		ArrayList<RightMatrixPreAggregateTask> preTask = new ArrayList<>(colGroups.size());
 		preTask.clear();
 		for(int h = 0; h < colGroups.size(); h++) {
+			// only value groups are pre-aggregated, other groups multiply directly
+			if(!(colGroups.get(h) instanceof ColGroupValue))
+				continue;
 			RightMatrixPreAggregateTask pAggT = new RightMatrixPreAggregateTask((ColGroupValue) colGroups.get(h),
 				v.getRight()[h], b, colGroups.get(h).getValues(), 0, that.getNumColumns(), that.getNumColumns());
 			preTask.add(pAggT);
@@ -355,17 +361,19 @@ public class LibRightMultBy {
 		private final List<Future<Pair<int[], double[]>>> _aggB;
 		private final Pair<Integer, int[]> _v;
 		private final int _numColumns;
+		private final MatrixBlock _that;
 
 		private final int _rl;
 		private final int _ru;
 
 		protected RightMatrixMultTask(List<ColGroup> groups, double[] retV, List<Future<Pair<int[], double[]>>> aggB,
-			Pair<Integer, int[]> v, int numColumns, int rl, int ru) {
+			Pair<Integer, int[]> v, MatrixBlock that, int rl, int ru) {
 			_colGroups = groups;
 			_retV = retV;
 			_aggB = aggB;
 			_v = v;
-			_numColumns = numColumns;
+			_numColumns = that.getNumColumns();
+			_that = that;
 			_rl = rl;
 			_ru = ru;
 		}
@@ -374,9 +382,16 @@ public class LibRightMultBy {
 		public Object call() {
 			try {
 				ColGroupValue.setupThreadLocalMemory((_v.getLeft() + 1));
+				// pre-aggregates only exist for value groups, in order of the column groups
+				int aggIx = 0;
 				for(int j = 0; j < _colGroups.size(); j++) {
-					Pair<int[], double[]> aggb = _aggB.get(j).get();
-					_colGroups.get(j).rightMultByMatrix(aggb.getLeft(), aggb.getRight(), _retV, _numColumns, _rl, _ru);
+					ColGroup grp = _colGroups.get(j);
+					if(grp instanceof ColGroupValue) {
+						Pair<int[], double[]> aggb = _aggB.get(aggIx++).get();
+						grp.rightMultByMatrix(aggb.getLeft(), aggb.getRight(), _retV, _numColumns, _rl, _ru);
+					}
+					else if(grp instanceof ColGroupPacked)
+						((ColGroupPacked) grp).rightMultByMatrix(_that, _retV, _rl, _ru);
 				}
 				return null;
 			}
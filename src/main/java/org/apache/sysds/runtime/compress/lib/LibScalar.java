@@ -35,7 +35,6 @@ import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.compress.colgroup.ColGroup;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupConst;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupOLE;
-import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupValue;
 import org.apache.sysds.runtime.compress.colgroup.Dictionary;
 import org.apache.sysds.runtime.functionobjects.Divide;
@@ -173,7 +172,7 @@ public class LibScalar {
 		ArrayList<ScalarTask> tasks = new ArrayList<>();
 		ArrayList<ColGroup> small = new ArrayList<>();
 		for(ColGroup grp : colGroups) {
-			if(grp instanceof ColGroupUncompressed) {
+			if(!(grp instanceof ColGroupValue)) {
 				ArrayList<ColGroup> uc = new ArrayList<>();
 				uc.add(grp);
 				tasks.add(new ScalarTask(uc, sop));
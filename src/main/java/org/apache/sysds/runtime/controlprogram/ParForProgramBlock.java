@@ -45,6 +45,7 @@ import org.apache.sysds.runtime.controlprogram.parfor.DataPartitionerLocal;
 import org.apache.sysds.runtime.controlprogram.parfor.DataPartitionerRemoteSpark;
 import org.apache.sysds.runtime.controlprogram.parfor.LocalParWorker;
 import org.apache.sysds.runtime.controlprogram.parfor.LocalTaskQueue;
+import org.apache.sysds.runtime.controlprogram.parfor.LocalTaskQueueStealing;
 import org.apache.sysds.runtime.controlprogram.parfor.ParForBody;
 import org.apache.sysds.runtime.controlprogram.parfor.RemoteDPParForSpark;
 import org.apache.sysds.runtime.controlprogram.parfor.RemoteParForJobReturn;
@@ -134,6 +135,13 @@ public class ParForProgramBlock extends ForProgramBlock
 		UNSPECIFIED
 	}
 	
+	// local task queue
+	public enum PTaskQueue {
+		FIFO,           //single synchronized FIFO queue shared by all workers
+		STEALING,       //per-worker deques w/ work stealing (many workers, small tasks)
+		UNSPECIFIED
+	}
+	
 	public enum PDataPartitionFormat {
 		NONE,
 		ROW_WISE,
@@ -286,7 +294,7 @@ public class ParForProgramBlock extends ForProgramBlock
 	public static final boolean USE_RANGE_TASKS_IF_USEFUL   = true; // use range tasks whenever size>3, false, otherwise wrong split order in remote 
 	public static final boolean USE_STREAMING_TASK_CREATION = true; // start working while still creating tasks, prevents blocking due to too small task queue
 	public static final boolean ALLOW_NESTED_PARALLELISM    = true; // if not, transparently change parfor to for on program conversions (local,remote)
-	public static final boolean USE_PARALLEL_RESULT_MERGE   = false; // if result merge is run in parallel or serial 
+	public static final boolean USE_PARALLEL_RESULT_MERGE   = true;  // if result merge is run in parallel or serial 
 	public static final boolean USE_PARALLEL_RESULT_MERGE_REMOTE = true; // if remote result merge should be run in parallel for multiple result vars
 	public static final boolean ALLOW_DATA_COLOCATION       = true;
 	public static final boolean CREATE_UNSCOPED_RESULTVARS  = true;
@@ -317,6 +325,7 @@ public class ParForProgramBlock extends ForProgramBlock
 	protected int _numThreads = -1;
 	protected long _taskSize = -1;
 	protected PTaskPartitioner _taskPartitioner = null;
+	protected PTaskQueue _taskQueue = null;
 	protected PDataPartitioner _dataPartitioner = null;
 	protected PResultMerge _resultMerge = null;
 	protected PExecMode _execMode = null;
@@ -388,6 +397,8 @@ public class ParForProgramBlock extends ForProgramBlock
 			_numThreads      = Integer.parseInt( getParForParam(ParForStatementBlock.PAR) );
 			_taskPartitioner = PTaskPartitioner.valueOf( getParForParam(ParForStatementBlock.TASK_PARTITIONER) );
 			_taskSize        = Integer.parseInt( getParForParam(ParForStatementBlock.TASK_SIZE) );
+			_taskQueue       = (getParForParam(ParForStatementBlock.TASK_QUEUE) != null) ?
+				PTaskQueue.valueOf( getParForParam(ParForStatementBlock.TASK_QUEUE) ) : PTaskQueue.FIFO;
 			_dataPartitioner = PDataPartitioner.valueOf( getParForParam(ParForStatementBlock.DATA_PARTITIONER) );
 			_resultMerge     = PResultMerge.valueOf( getParForParam(ParForStatementBlock.RESULT_MERGE) );
 			_execMode        = PExecMode.valueOf( getParForParam(ParForStatementBlock.EXEC_MODE) );
@@ -485,6 +496,15 @@ public class ParForProgramBlock extends ForProgramBlock
 		_params.put(ParForStatementBlock.TASK_PARTITIONER, String.valueOf(_taskPartitioner)); //kept up-to-date for copies
 	}
 	
+	public PTaskQueue getTaskQueue() {
+		return _taskQueue;
+	}
+	
+	public void setTaskQueue( PTaskQueue queue ) {
+		_taskQueue = queue;
+		_params.put(ParForStatementBlock.TASK_QUEUE, String.valueOf(_taskQueue)); //kept up-to-date for copies
+	}
+	
 	public void setTaskSize( long tasksize ) {
 		_taskSize = tasksize;
 		_params.put(ParForStatementBlock.TASK_SIZE, String.valueOf(_taskSize)); //kept up-to-date for copies
@@ -723,7 +743,8 @@ public class ParForProgramBlock extends ForProgramBlock
 		{
 			// Step 1) create task queue and init workers in parallel
 			// (including preparation of update-in-place variables)
-			LocalTaskQueue<Task> queue = new LocalTaskQueue<>();
+			LocalTaskQueue<Task> queue = (_taskQueue == PTaskQueue.STEALING) ?
+				new LocalTaskQueueStealing<>(_numThreads) : new LocalTaskQueue<>();
 			Thread[] threads         = new Thread[_numThreads];
 			LocalParWorker[] workers = new LocalParWorker[_numThreads];
 			IntStream.range(0, _numThreads).parallel().forEach(i -> {
@@ -32,24 +32,35 @@ import org.apache.sysds.parser.ParseInfo;
 import org.apache.sysds.parser.StatementBlock;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.DMLScriptException;
+import org.apache.sysds.runtime.controlprogram.caching.CachePrefetcher;
 import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysds.runtime.instructions.Instruction;
 import org.apache.sysds.runtime.instructions.cp.BooleanObject;
+import org.apache.sysds.runtime.instructions.cp.CPOperand;
+import org.apache.sysds.runtime.instructions.cp.ComputationCPInstruction;
 import org.apache.sysds.runtime.instructions.cp.Data;
 import org.apache.sysds.runtime.instructions.cp.DoubleObject;
 import org.apache.sysds.runtime.instructions.cp.IntObject;
 import org.apache.sysds.runtime.instructions.cp.ScalarObject;
 import org.apache.sysds.runtime.instructions.cp.StringObject;
+import org.apache.sysds.runtime.instructions.cp.VariableCPInstruction;
+import org.apache.sysds.runtime.instructions.spark.ComputationSPInstruction;
+import org.apache.sysds.runtime.instructions.spark.SPInstruction;
 import org.apache.sysds.runtime.lineage.LineageCache;
 import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.privacy.propagation.PrivacyPropagator;
 import org.apache.sysds.utils.Statistics;
+import org.apache.sysds.utils.StatisticsEvents;
+import org.apache.sysds.utils.StatisticsExporter;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
 
 
 public abstract class ProgramBlock implements ParseInfo
@@ -202,10 +213,55 @@ public abstract class ProgramBlock implements ParseInfo
 		for (int i = 0; i < inst.size(); i++) {
 			//indexed access required due to dynamic add
 			Instruction currInst = inst.get(i);
+			//async prefetch of inputs of upcoming instructions
+			if( CachePrefetcher.isEnabled() )
+				prefetchInputs(inst, i, ec);
 			//execute instruction
 			executeSingleInstruction(currInst, ec);
 		}
 	}
+	
+	private static void prefetchInputs(ArrayList<Instruction> inst, int pos, ExecutionContext ec) {
+		//scan the lookahead window for matrix inputs and broadcasts, excluding
+		//variables that are (re)assigned by preceding instructions of this window
+		//(including variables created, moved, copied, or removed by variable instructions)
+		Set<String> outputs = new HashSet<>();
+		int end = Math.min(pos + CachePrefetcher.getLookahead(), inst.size() - 1);
+		for( int i = pos; i <= end; i++ ) {
+			Instruction tmp = inst.get(i);
+			if( tmp instanceof ComputationCPInstruction ) {
+				ComputationCPInstruction cpinst = (ComputationCPInstruction) tmp;
+				if( i > pos ) {
+					for( CPOperand in : cpinst.getInputs() ) {
+						if( in == null || !in.isMatrix() || outputs.contains(in.getName()) )
+							continue;
+						Data dat = ec.getVariable(in.getName());
+						if( dat instanceof MatrixObject )
+							CachePrefetcher.prefetch((MatrixObject) dat);
+					}
+				}
+				if( cpinst.getOutput() != null )
+					outputs.add(cpinst.getOutput().getName());
+			}
+			else if( tmp instanceof VariableCPInstruction ) {
+				VariableCPInstruction vinst = (VariableCPInstruction) tmp;
+				for( CPOperand op : vinst.getInputs() )
+					if( op != null )
+						outputs.add(op.getName());
+				if( vinst.getOutput() != null )
+					outputs.add(vinst.getOutput().getName());
+			}
+			else if( tmp instanceof SPInstruction && ec instanceof SparkExecutionContext ) {
+				if( i > pos ) {
+					for( String bc : ((SPInstruction) tmp).getBroadcastInputs() )
+						if( !outputs.contains(bc) )
+							((SparkExecutionContext) ec).getBroadcastForVariableAsync(bc);
+				}
+				if( tmp instanceof ComputationSPInstruction )
+					outputs.add(((ComputationSPInstruction) tmp).getOutputVariableName());
+			}
+		}
+	}
 
 	protected ScalarObject executePredicateInstructions(ArrayList<Instruction> inst, ValueType retType, ExecutionContext ec) {
 		//execute all instructions (indexed access required due to debug mode)
@@ -238,6 +294,8 @@ public abstract class ProgramBlock implements ParseInfo
 			// start time measurement for statistics
 			long t0 = (DMLScript.STATISTICS || LOG.isTraceEnabled()) ?
 				System.nanoTime() : 0;
+			Object jfr = StatisticsExporter.isJFREnabled() ?
+				StatisticsEvents.beginInstruction() : null;
 
 			// pre-process instruction (inst patching, listeners, lineage)
 			Instruction tmp = currInst.preprocessInstruction( ec );
@@ -260,6 +318,8 @@ public abstract class ProgramBlock implements ParseInfo
 					Statistics.maintainCPHeavyHitters(
 						tmp.getExtendedOpcode(), System.nanoTime()-t0);
 				}
+				if( jfr != null )
+					StatisticsEvents.commitInstruction(jfr, tmp.getExtendedOpcode());
 			}
 
 			// propagate input privacy constraints to output
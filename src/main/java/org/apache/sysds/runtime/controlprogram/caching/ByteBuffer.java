@@ -23,15 +23,29 @@ import java.io.ByteArrayInputStream;
 import java.io.DataInput;
 import java.io.DataInputStream;
 import java.io.DataOutput;
+import java.io.File;
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer.OffHeapMode;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
 import org.apache.sysds.runtime.matrix.data.FrameBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.LocalFileUtils;
 
 /**
  * Wrapper for WriteBuffer byte array per matrix/frame in order to
- * support matrix/frame serialization outside global lock.
+ * support matrix/frame serialization outside global lock. In off-heap
+ * mode, all blocks are serialized into direct or memory-mapped buffers
+ * outside the JVM heap instead.
  * 
  */
 public class ByteBuffer
@@ -40,24 +54,50 @@ public class ByteBuffer
 	private volatile boolean _shallow;
 	private volatile boolean _matrix;
 	private final long _size;
+	private final OffHeapMode _offheap;
 	
 	protected byte[]     _bdata = null; //sparse matrix
 	protected CacheBlock _cdata = null; //dense matrix/frame
+	protected java.nio.ByteBuffer _odata = null; //off-heap matrix/frame
+	private File _ofile = null; //backing file of memory-mapped buffer
+	private int _opins = 0; //number of active readers/writers of off-heap buffer
+	private boolean _ofreed = false; //off-heap buffer freed, released with last unpin
 	
 	public ByteBuffer( long size ) {
+		this(size, OffHeapMode.NONE, null);
+	}
+	
+	public ByteBuffer( long size, OffHeapMode offheap, String fname ) {
 		_size = size;
 		_serialized = false;
+		_offheap = offheap;
+		if( offheap == OffHeapMode.MMAP )
+			_ofile = new File(fname + ".mmap");
 	}
 
 	public void serializeBlock( CacheBlock cb ) 
 		throws IOException
 	{	
-		_shallow = cb.isShallowSerialize(true);
+		_shallow = _offheap == OffHeapMode.NONE && cb.isShallowSerialize(true);
 		_matrix = (cb instanceof MatrixBlock);
 		
 		try
 		{
-			if( !_shallow ) //SPARSE/DENSE -> SPARSE
+			if( _offheap != OffHeapMode.NONE ) //SPARSE/DENSE -> OFF-HEAP
+			{
+				//deep serialize into direct or memory-mapped buffer
+				//(unless freed before the asynchronous serialization)
+				java.nio.ByteBuffer odata = pinOffHeap(allocateOffHeap());
+				if( odata != null ) {
+					try {
+						cb.write(new OffHeapDataOutput(odata.duplicate()));
+					}
+					finally {
+						unpinOffHeap();
+					}
+				}
+			}
+			else if( !_shallow ) //SPARSE/DENSE -> SPARSE
 			{
 				//deep serialize (for compression)
 				if( CacheableData.CACHING_BUFFER_PAGECACHE )
@@ -89,7 +129,22 @@ public class ByteBuffer
 	{
 		CacheBlock ret = null;
 		
-		if( !_shallow ) { //sparse matrix / string frame
+		if( _offheap != OffHeapMode.NONE ) { //off-heap matrix/frame
+			//note: duplicate for independent position of concurrent readers,
+			//dense blocks are restored via bulk copies w/o element-wise decoding;
+			//the buffer is pinned to defer its release until all readers finished
+			java.nio.ByteBuffer odata = pinOffHeap(null);
+			if( odata == null )
+				return null; //freed concurrently
+			try {
+				ret = _matrix ? new MatrixBlock() : new FrameBlock();
+				ret.readFields(new OffHeapDataInput(odata.duplicate()));
+			}
+			finally {
+				unpinOffHeap();
+			}
+		}
+		else if( !_shallow ) { //sparse matrix / string frame
 			DataInput din = _matrix ? new CacheDataInput(_bdata) :
 				new DataInputStream(new ByteArrayInputStream(_bdata));
 			ret = _matrix ? new MatrixBlock() : new FrameBlock();
@@ -105,7 +160,26 @@ public class ByteBuffer
 	public void evictBuffer( String fname ) 
 		throws IOException
 	{
-		if( !_shallow ) {
+		if( _offheap == OffHeapMode.MMAP ) {
+			//flush and move the mapped file (same serialized format)
+			java.nio.ByteBuffer odata = _odata;
+			if( !(odata instanceof MappedByteBuffer) )
+				throw new IOException("Failed to evict buffer: no memory-mapped buffer for "+_ofile+".");
+			((MappedByteBuffer)odata).force();
+			Files.move(_ofile.toPath(), Paths.get(fname), StandardCopyOption.REPLACE_EXISTING);
+			_ofile = null;
+		}
+		else if( _offheap == OffHeapMode.DIRECT ) {
+			//write out off-heap serialized buffer
+			try( FileChannel channel = FileChannel.open(Paths.get(fname), StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE) ) {
+				java.nio.ByteBuffer tmp = _odata.duplicate();
+				tmp.rewind();
+				while( tmp.hasRemaining() )
+					channel.write(tmp);
+			}
+		}
+		else if( !_shallow ) {
 			//write out byte serialized array
 			LocalFileUtils.writeByteArrayToLocal(fname, _bdata);
 		}
@@ -131,7 +205,20 @@ public class ByteBuffer
 	public void freeMemory()
 	{
 		//clear strong references to buffer/matrix
-		if( !_shallow ) {
+		if( _offheap != OffHeapMode.NONE ) {
+			//explicitly release native memory and mappings (instead of waiting
+			//for the GC of the buffer handle), but only after all active readers
+			//finished; the backing file can be deleted while mapped
+			synchronized( this ) {
+				_ofreed = true;
+				if( _opins == 0 )
+					releaseOffHeap();
+			}
+			if( _ofile != null )
+				_ofile.delete();
+			_ofile = null;
+		}
+		else if( !_shallow ) {
 			if( CacheableData.CACHING_BUFFER_PAGECACHE )
 				PageCache.putPage(_bdata);
 			_bdata = null;
@@ -141,6 +228,47 @@ public class ByteBuffer
 		}
 	}
 
+	private synchronized java.nio.ByteBuffer pinOffHeap(java.nio.ByteBuffer odata) {
+		if( odata != null ) { //newly allocated buffer
+			if( _ofreed ) {
+				BufferCleaner.free(odata);
+				return null;
+			}
+			_odata = odata;
+		}
+		if( _odata != null )
+			_opins++;
+		return _odata;
+	}
+	
+	private synchronized void unpinOffHeap() {
+		if( --_opins == 0 && _ofreed )
+			releaseOffHeap();
+	}
+	
+	private void releaseOffHeap() {
+		if( _odata != null )
+			BufferCleaner.free(_odata);
+		_odata = null;
+	}
+
+	private java.nio.ByteBuffer allocateOffHeap() 
+		throws IOException
+	{
+		if( _offheap == OffHeapMode.DIRECT )
+			return java.nio.ByteBuffer.allocateDirect((int)_size);
+		
+		//memory-mapped file in the cache dir, paged out by the OS under memory pressure
+		RandomAccessFile raf = new RandomAccessFile(_ofile, "rw");
+		try {
+			raf.setLength(_size);
+			return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, _size);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(raf);
+		}
+	}
+
 	public void checkSerialized()
 	{
 		//check if already serialized
@@ -164,7 +292,9 @@ public class ByteBuffer
 	 */
 	public static boolean isValidCapacity( long size, CacheBlock cb )
 	{
-		if( !cb.isShallowSerialize(true) ) { //SPARSE matrix blocks
+		if( LazyWriteBuffer.isOffHeap() || !cb.isShallowSerialize(true) ) { //SPARSE matrix blocks
+			// off-heap buffers are always deep serialized and hence have
+			// the same 2GB limit as byte arrays
 			// since cache blocks are serialized into a byte representation
 			// the buffer buffer can hold at most 2GB in size 
 			return ( size <= Integer.MAX_VALUE );
@@ -176,4 +306,60 @@ public class ByteBuffer
 			return true;
 		}
 	}
+	
+	/**
+	 * Explicit release of direct and memory-mapped buffers, which otherwise hold their
+	 * native memory or mapping until the GC collects the buffer handle (and exhausted
+	 * direct memory triggers a full GC). If the JDK-internal cleaner is inaccessible,
+	 * the release falls back to the GC.
+	 */
+	private static class BufferCleaner {
+		private static final Method INVOKE_CLEANER; //JDK 9+: Unsafe.invokeCleaner(buffer)
+		private static final Object UNSAFE;
+		private static final Method GET_CLEANER; //JDK 8: DirectBuffer.cleaner().clean()
+		private static final Method CLEAN;
+		
+		static {
+			Method invoke = null, get = null, clean = null;
+			Object unsafe = null;
+			try {
+				Class<?> clazz = Class.forName("sun.misc.Unsafe");
+				invoke = clazz.getMethod("invokeCleaner", java.nio.ByteBuffer.class);
+				Field field = clazz.getDeclaredField("theUnsafe");
+				field.setAccessible(true);
+				unsafe = field.get(null);
+			}
+			catch(Exception ex) {
+				invoke = null;
+				try {
+					get = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+					clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+				}
+				catch(Exception ex2) {
+					get = clean = null;
+				}
+			}
+			INVOKE_CLEANER = invoke;
+			UNSAFE = unsafe;
+			GET_CLEANER = get;
+			CLEAN = clean;
+		}
+		
+		public static void free(java.nio.ByteBuffer buff) {
+			if( buff == null || !buff.isDirect() )
+				return;
+			try {
+				if( INVOKE_CLEANER != null )
+					INVOKE_CLEANER.invoke(UNSAFE, buff);
+				else if( GET_CLEANER != null ) {
+					Object cleaner = GET_CLEANER.invoke(buff);
+					if( cleaner != null )
+						CLEAN.invoke(cleaner);
+				}
+			}
+			catch(Exception ex) {
+				//fall back to release on GC
+			}
+		}
+	}
 }
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.caching;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.controlprogram.context.SparkExecutionContext;
+import org.apache.sysds.runtime.meta.DataCharacteristics;
+
+/**
+ * Asynchronous prefetcher of matrix inputs, which restores evicted, not yet
+ * read, or not yet collected cache blocks of upcoming instructions on a small
+ * background thread pool in order to overlap I/O and spark jobs with compute. Restored blocks are placed into the
+ * soft reference cache of their objects (i.e., they are not pinned and can be
+ * reclaimed under memory pressure), and the total size of concurrently restored
+ * blocks is bounded by the buffer pool limit.
+ */
+public class CachePrefetcher
+{
+	private static final Log LOG = LogFactory.getLog(CachePrefetcher.class.getName());
+
+	//number of background threads for concurrent restores
+	private static final int NUM_THREADS = 2;
+
+	//lookahead in number of instructions (0 disables prefetch)
+	private static int _lookahead = 0;
+
+	//pending restores and their estimated size in bytes
+	private static final Set<CacheableData<?>> _pending = ConcurrentHashMap.newKeySet();
+	private static final AtomicLong _size = new AtomicLong(0);
+
+	private static ExecutorService _pool = null;
+
+	private CachePrefetcher() {
+		//prevent instantiation via private constructor
+	}
+
+	public static void init() {
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		_lookahead = (conf != null) ?
+			Math.max(conf.getIntValue(DMLConfig.CACHING_PREFETCH), 0) : 0;
+	}
+
+	public static boolean isEnabled() {
+		return _lookahead > 0;
+	}
+
+	public static int getLookahead() {
+		return _lookahead;
+	}
+
+	/**
+	 * Asynchronously restores the cache block of the given matrix object, if
+	 * it is not in memory and its estimated size fits into the remaining budget
+	 * of concurrent restores. Failed restores are ignored because the regular
+	 * acquire read of the object will repeat the read and report the error.
+	 *
+	 * @param mo matrix object
+	 */
+	public static void prefetch(MatrixObject mo) {
+		if( !isEnabled() || !mo.isPrefetchCandidate() || _pending.contains(mo) )
+			return;
+
+		//reserve budget for the estimated in-memory size
+		DataCharacteristics dc = mo.getDataCharacteristics();
+		if( !dc.dimsKnown() )
+			return;
+		long size = OptimizerUtils.estimateSize(dc);
+		long limit = LazyWriteBuffer.getWriteBufferLimit();
+		long cur = -1;
+		do {
+			cur = _size.get();
+			if( cur + size > limit )
+				return;
+		} while( !_size.compareAndSet(cur, cur + size) );
+
+		if( !_pending.add(mo) ) {
+			_size.addAndGet(-size);
+			return;
+		}
+		getPool().submit(() -> {
+			try {
+				if( mo.prefetch() && DMLScript.STATISTICS )
+					CacheStatistics.incrementPrefetches();
+			}
+			catch(Exception ex) {
+				LOG.debug("Failed prefetch of "+mo.getDebugName()+".", ex);
+			}
+			finally {
+				_pending.remove(mo);
+				_size.addAndGet(-size);
+			}
+		});
+	}
+
+	/**
+	 * Submits an asynchronous task to the prefetch thread pool, which allows
+	 * other asynchronous operations like broadcast creation to use the same
+	 * bounded set of background threads.
+	 *
+	 * @param task task
+	 * @param <T> result type
+	 * @return future of the task result
+	 */
+	public static <T> Future<T> submit(Callable<T> task) {
+		return getPool().submit(task);
+	}
+
+	public static synchronized void cleanup() {
+		//stop pending prefetches before the cache dir is deleted
+		ExecutorService pool = _pool;
+		_pool = null;
+		if( pool != null ) {
+			pool.shutdownNow();
+			try {
+				pool.awaitTermination(10, TimeUnit.SECONDS);
+			}
+			catch(InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		_pending.clear();
+		_size.set(0);
+		//fail async broadcasts whose queued tasks were dropped by shutdownNow
+		SparkExecutionContext.cancelPendingBroadcasts();
+	}
+
+	private static synchronized ExecutorService getPool() {
+		//daemon threads that do not prevent the jvm from exiting
+		if( _pool == null )
+			_pool = Executors.newFixedThreadPool(NUM_THREADS, r -> {
+				Thread t = new Thread(r, "CachePrefetcher");
+				t.setDaemon(true);
+				return t;
+			});
+		return _pool;
+	}
+}
@@ -57,6 +57,7 @@ public class CacheStatistics
 	private static final LongAdder _numHitsFS       = new LongAdder();
 	private static final LongAdder _numHitsHDFS     = new LongAdder();
 	private static final LongAdder _numHitsLin      = new LongAdder();
+	private static final LongAdder _numPrefetches   = new LongAdder();
 
 	//write statistics caching
 	private static final LongAdder _numWritesFSBuff = new LongAdder();
@@ -76,6 +77,7 @@ public class CacheStatistics
 		_numHitsFSBuff.reset();
 		_numHitsFS.reset();
 		_numHitsHDFS.reset();
+		_numPrefetches.reset();
 		
 		_numWritesFSBuff.reset();
 		_numWritesFS.reset();
@@ -136,6 +138,14 @@ public class CacheStatistics
 		return _numHitsHDFS.longValue();
 	}
 
+	public static void incrementPrefetches() {
+		_numPrefetches.increment();
+	}
+	
+	public static long getPrefetches() {
+		return _numPrefetches.longValue();
+	}
+	
 	public static void incrementLinHits() {
 		_numHitsLin.increment();
 	}
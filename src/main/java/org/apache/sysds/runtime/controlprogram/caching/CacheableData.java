@@ -560,6 +560,43 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		return _data;
 	}
 	
+	/**
+	 * Indicates if the cache block of this object is neither in use nor in memory,
+	 * and can be restored from the buffer pool, local evict files, HDFS, or
+	 * collected from its rdd (which triggers pending spark jobs).
+	 * This check is not synchronized and thus, only a hint for asynchronous prefetch.
+	 * 
+	 * @return true if the cache block can be prefetched
+	 */
+	public boolean isPrefetchCandidate() {
+		return _data == null && (_cache == null || _cache.get() == null)
+			&& (isCached(false) || (isEmpty(true) && (_hdfsFileName != null || getRDDHandle() != null)))
+			&& (_gpuObjects == null || _gpuObjects.isEmpty())
+			&& !isFederated() && !hasValidLineage();
+	}
+	
+	/**
+	 * Restores the cache block into main memory without pinning it, which makes
+	 * it available in the soft reference cache for subsequent acquire reads.
+	 * Concurrent acquires of the same object block until the restore completed.
+	 * 
+	 * In-Status:  EMPTY, CACHED, CACHED_NOWRITE;
+	 * Out-Status: EMPTY, CACHED, CACHED_NOWRITE.
+	 * 
+	 * @return true if the cache block was restored
+	 */
+	public synchronized boolean prefetch() {
+		//re-check candidate and existing input files for reads from hdfs
+		boolean readHDFS = !isCached(false) && (getRDDHandle() == null
+			|| getRDDHandle().allowsShortCircuitRead());
+		if( !isPrefetchCandidate() || (readHDFS && (_hdfsFileName == null
+			|| (!isHDFSFileExists() && !HDFSTool.existsFileOnHDFS(_hdfsFileName)))) )
+			return false;
+		acquireReadIntern();
+		releaseIntern();
+		return true;
+	}
+	
 	/**
 	 * Acquires the exclusive "write" lock for a thread that wants to throw away the
 	 * old cache block data and link up with new cache block data. Abandons the old data
@@ -1280,6 +1317,11 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		sizePinned.set( Math.max(size,0) );
 	}
 
+	protected static void addPinnedSize(long size) {
+		if( OptimizerUtils.isHybridExecutionMode() )
+			sizePinned.set( Math.max(sizePinned.get()+size, 0) );
+	}
+
 	protected static long getPinnedSize() {
 		return sizePinned.get();
 	}
@@ -1298,7 +1340,8 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	// --------- STATIC CACHE INIT/CLEANUP OPERATIONS ----------
 
 	public synchronized static void cleanupCacheDir() {
-		//cleanup remaining cached writes
+		//cleanup pending prefetches and remaining cached writes
+		CachePrefetcher.cleanup();
 		LazyWriteBuffer.cleanup();
 		
 		//delete cache dir and files
@@ -1365,8 +1408,9 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			throw new IOException(e);
 		}
 	
-		//init write-ahead buffer
+		//init write-ahead buffer and prefetcher
 		LazyWriteBuffer.init();
+		CachePrefetcher.init();
 		_refBCs.set(0);
 		
 		_activeFlag = true; //turn on caching
@@ -27,9 +27,13 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.utils.StatisticsEvents;
+import org.apache.sysds.utils.StatisticsExporter;
 
 public class LazyWriteBuffer 
 {
@@ -38,9 +42,19 @@ public class LazyWriteBuffer
 		LRU   //least recently used eviction
 	}
 	
+	public enum OffHeapMode {
+		NONE,   //on-heap byte arrays and shallow serialized blocks
+		DIRECT, //off-heap direct buffers
+		MMAP    //memory-mapped files in the cache dir
+	}
+	
 	//global size limit in bytes
 	private static final long _limit;
 	
+	//off-heap buffer mode and its own size limit in bytes
+	private static OffHeapMode _offheap = OffHeapMode.NONE;
+	private static long _offheapLimit;
+	
 	//current size in bytes
 	private static long _size;
 	
@@ -61,22 +75,26 @@ public class LazyWriteBuffer
 		throws IOException
 	{
 		//obtain basic meta data of cache block
-		long lSize = getCacheBlockSize(cb);
-		boolean requiresWrite = (lSize > _limit        //global buffer limit
+		//(off-heap buffers are always deep serialized)
+		long lSize = isOffHeap() ? cb.getExactSerializedSize() : getCacheBlockSize(cb);
+		long limit = isOffHeap() ? _offheapLimit : _limit;
+		boolean requiresWrite = (lSize > limit         //global buffer limit
 			|| !ByteBuffer.isValidCapacity(lSize, cb)); //local buffer limit
 		int numEvicted = 0;
+		Object jfr = StatisticsExporter.isJFREnabled() ?
+			StatisticsEvents.beginEviction() : null;
 		
 		//handle caching/eviction if it fits in writebuffer
 		if( !requiresWrite ) 
 		{
 			//create byte buffer handle (no block allocation yet)
-			ByteBuffer bbuff = new ByteBuffer( lSize );
+			ByteBuffer bbuff = new ByteBuffer( lSize, _offheap, fname );
 			
 			//modify buffer pool
 			synchronized( _mQueue )
 			{
 				//evict matrices to make room (by default FIFO)
-				while( _size+lSize > _limit && !_mQueue.isEmpty() )
+				while( _size+lSize > limit && !_mQueue.isEmpty() )
 				{
 					//remove first entry from eviction queue
 					Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
@@ -118,6 +136,9 @@ public class LazyWriteBuffer
 			numEvicted++;
 		}
 		
+		if( jfr != null )
+			StatisticsEvents.commitEviction(jfr, fname, lSize, numEvicted);
+		
 		return numEvicted;
 	}
 	
@@ -163,9 +184,11 @@ public class LazyWriteBuffer
 		}
 		
 		//deserialize or read from FS if required
+		//(off-heap buffers evicted and released concurrently are read from FS)
 		if( ldata != null )
-		{
 			cb = ldata.deserializeBlock();
+		if( cb != null )
+		{
 			if( DMLScript.STATISTICS )
 				CacheStatistics.incrementFSBuffHits();
 		}
@@ -183,9 +206,27 @@ public class LazyWriteBuffer
 		_mQueue = new EvictionQueue();
 		_fClean = new MaintenanceService();
 		_size = 0;
+		initOffHeap(ConfigurationManager.getDMLConfig());
 		if( CacheableData.CACHING_BUFFER_PAGECACHE )
 			PageCache.init();
 	}
+	
+	private static void initOffHeap(DMLConfig conf) {
+		//obtain off-heap mode and budget (in MB, default: size of the on-heap buffer)
+		String mode = (conf != null) ? conf.getTextValue(DMLConfig.CACHING_BUFFER_OFFHEAP) : null;
+		_offheap = (mode == null || mode.trim().isEmpty()) ?
+			OffHeapMode.NONE : OffHeapMode.valueOf(mode.trim().toUpperCase());
+		long size = (conf != null) ? Long.parseLong(conf.getTextValue(DMLConfig.CACHING_BUFFER_OFFHEAP_SIZE)) : -1;
+		_offheapLimit = (size > 0) ? size * 1024 * 1024 : _limit;
+	}
+	
+	public static boolean isOffHeap() {
+		return _offheap != OffHeapMode.NONE;
+	}
+	
+	public static OffHeapMode getOffHeapMode() {
+		return _offheap;
+	}
 
 	public static void cleanup() {
 		if( _mQueue != null )
@@ -209,7 +250,7 @@ public class LazyWriteBuffer
 	
 	public static long getWriteBufferFree() {
 		synchronized( _mQueue ) {
-			return _limit - _size; }
+			return (isOffHeap() ? _offheapLimit : _limit) - _size; }
 	}
 	
 	public static int getQueueSize() {
@@ -234,7 +275,8 @@ public class LazyWriteBuffer
 		synchronized( _mQueue ) {
 			//print buffer meta data
 			System.out.println("\tWB: Buffer Meta Data: " +
-				"limit="+_limit+", " +
+				"limit="+(isOffHeap() ? _offheapLimit : _limit)+", " +
+				"offheap="+_offheap+", " +
 				"size[bytes]="+_size+", " +
 				"size[elements]="+_mQueue.size()+"/"+_mQueue.size());
 			
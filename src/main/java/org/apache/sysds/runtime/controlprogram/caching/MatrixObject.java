@@ -82,6 +82,8 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 	private UpdateType _updateType = UpdateType.COPY; 
 	private boolean _diag = false;
 	private boolean _markForLinCache = false;
+	private MatrixBlock _fp64 = null; //shared fp64 copy of pinned fp32 block
+	private ThreadLocal<Integer> _fp64Readers = null; //pinned fp64 acquires per reader thread
 
 	//information relevant to partitioned matrices.
 	private boolean _partitioned = false; //indicates if obj partitioned
@@ -178,6 +180,94 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 		return _markForLinCache;
 	}
 	
+	/**
+	 * Acquires a shared read lock and returns the matrix block in FP64. In the
+	 * FP32 execution mode, single-precision blocks are converted into an FP64
+	 * copy because only operations with FP32 kernels consume them directly
+	 * (see {@link #acquireReadFP32()}). This copy is created once, shared by
+	 * all readers, accounted as pinned memory of each reader that acquired it
+	 * (in contrast to FP32 readers), and dropped on the last release.
+	 * 
+	 * @return matrix block
+	 */
+	@Override
+	public MatrixBlock acquireRead() {
+		MatrixBlock mb = super.acquireRead();
+		if( mb == null || !mb.isInFP32Format() )
+			return mb;
+		MatrixBlock ret = null;
+		ThreadLocal<Integer> readers = null;
+		synchronized( this ) {
+			if( _fp64 == null )
+				_fp64 = mb.toFP64();
+			if( _fp64Readers == null )
+				_fp64Readers = ThreadLocal.withInitial(() -> 0);
+			ret = _fp64;
+			readers = _fp64Readers;
+		}
+		if( !isBelowCachingThreshold() ) {
+			addPinnedSize(ret.getInMemorySize());
+			readers.set(readers.get() + 1);
+		}
+		return ret;
+	}
+	
+	@Override
+	public void release() {
+		//unpin the fp64 copy only for readers that pinned it (not for fp32 readers)
+		MatrixBlock fp64 = _fp64;
+		ThreadLocal<Integer> readers = _fp64Readers;
+		int pins = (fp64 != null && readers != null) ? readers.get() : 0;
+		if( pins > 0 ) {
+			if( pins > 1 )
+				readers.set(pins - 1);
+			else
+				readers.remove();
+			addPinnedSize(-fp64.getInMemorySize());
+		}
+		super.release();
+		//drop fp64 copy once the block is no longer pinned
+		synchronized( this ) {
+			if( getStatus() != CacheStatus.READ )
+				_fp64 = null;
+		}
+	}
+	
+	/**
+	 * Acquires a shared read lock and returns the matrix block as is, which
+	 * might be a dense FP32 block in the FP32 execution mode. Callers must only
+	 * pass this block to matrix block operations with FP32 support.
+	 * 
+	 * @return matrix block, potentially in FP32
+	 */
+	public MatrixBlock acquireReadFP32() {
+		return super.acquireRead();
+	}
+	
+	@Override
+	public MatrixBlock acquireModify(MatrixBlock newData) {
+		_fp64 = null;
+		return super.acquireModify(newData);
+	}
+	
+	/**
+	 * Acquires an exclusive lock for the given output of an operation with
+	 * FP32 kernel (or an external input), which is kept in single precision
+	 * in the FP32 execution mode. All other outputs are kept as is, to avoid
+	 * conversions for operations that consume FP64 blocks anyway.
+	 * 
+	 * @param newData new matrix block
+	 * @return matrix block, potentially in FP32
+	 */
+	public MatrixBlock acquireModifyFP32(MatrixBlock newData) {
+		//keep dense outputs in single precision if configured, except for
+		//in-place updates, which modify their inputs via fp64 arrays
+		if( DMLScript.CP_SINGLE_PRECISION && newData != null
+			&& !DMLScript.USE_ACCELERATOR && !_updateType.isInPlace() )
+			newData = newData.toFP32();
+		return acquireModify(newData);
+	}
+	
 	@Override
 	public void updateDataCharacteristics (DataCharacteristics dc) {
 		_metaData.getDataCharacteristics().set(dc);
@@ -476,6 +566,10 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 		if( newData == null )
 			throw new IOException("Unable to load matrix from file: "+fname);
 		
+		//convert dense inputs to single precision if configured
+		if( DMLScript.CP_SINGLE_PRECISION && !isFederated() && !DMLScript.USE_ACCELERATOR )
+			newData = newData.toFP32();
+		
 		if( LOG.isTraceEnabled() )
 			LOG.trace("Reading Completed: " + (System.currentTimeMillis()-begin) + " msec.");
 		
@@ -592,6 +686,8 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 		{
 			// Get the dimension information from the metadata stored within MatrixObject
 			DataCharacteristics mc = iimd.getDataCharacteristics();
+			// Writers expect fp64 values, so fp32 blocks are converted
+			MatrixBlock data = _data.toFP64();
 			// Write the matrix to HDFS in requested format
 			FileFormat fmt = (ofmt != null ? FileFormat.safeValueOf(ofmt) : iimd.getFileFormat());
 			
@@ -600,11 +696,11 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 			if ( fmt == FileFormat.BINARY && DMLScript.getGlobalExecMode() == ExecMode.SINGLE_NODE
 				&& mc.getBlocksize() != ConfigurationManager.getBlocksize() )
 			{
-				DataConverter.writeMatrixToHDFS(_data, fname, fmt, new MatrixCharacteristics(mc.getRows(), mc.getCols(),
+				DataConverter.writeMatrixToHDFS(data, fname, fmt, new MatrixCharacteristics(mc.getRows(), mc.getCols(),
 					ConfigurationManager.getBlocksize(), mc.getNonZeros()), rep, fprop, _diag);
 			}
 			else {
-				DataConverter.writeMatrixToHDFS(_data, fname, fmt, mc, rep, fprop, _diag);
+				DataConverter.writeMatrixToHDFS(data, fname, fmt, mc, rep, fprop, _diag);
 			}
 
 			if( LOG.isTraceEnabled() )
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.caching;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlockDataInput;
+
+/**
+ * Custom DataInput to deserialize directly from the given off-heap (direct
+ * or memory-mapped) buffer, with bulk copies of dense double arrays.
+ * 
+ */
+public class OffHeapDataInput implements DataInput, MatrixBlockDataInput
+{
+	protected final ByteBuffer _buff;
+
+	public OffHeapDataInput(ByteBuffer mem) {
+		_buff = mem;
+	}
+
+	@Override
+	public void readFully(byte[] b) throws IOException {
+		_buff.get(b);
+	}
+
+	@Override
+	public void readFully(byte[] b, int off, int len) throws IOException {
+		_buff.get(b, off, len);
+	}
+
+	@Override
+	public int skipBytes(int n) throws IOException {
+		int len = Math.min(n, _buff.remaining());
+		_buff.position(_buff.position() + len);
+		return len;
+	}
+
+	@Override
+	public boolean readBoolean() throws IOException {
+		return _buff.get() != 0;
+	}
+
+	@Override
+	public byte readByte() throws IOException {
+		return _buff.get();
+	}
+
+	@Override
+	public int readUnsignedByte() throws IOException {
+		return _buff.get() & 0xFF;
+	}
+
+	@Override
+	public short readShort() throws IOException {
+		return _buff.getShort();
+	}
+
+	@Override
+	public int readUnsignedShort() throws IOException {
+		return _buff.getShort() & 0xFFFF;
+	}
+
+	@Override
+	public char readChar() throws IOException {
+		return _buff.getChar();
+	}
+
+	@Override
+	public int readInt() throws IOException {
+		return _buff.getInt();
+	}
+
+	@Override
+	public long readLong() throws IOException {
+		return _buff.getLong();
+	}
+
+	@Override
+	public float readFloat() throws IOException {
+		return _buff.getFloat();
+	}
+
+	@Override
+	public double readDouble() throws IOException {
+		return _buff.getDouble();
+	}
+
+	@Override
+	public String readLine() throws IOException {
+		throw new IOException("Not supported.");
+	}
+
+	@Override
+	public String readUTF() throws IOException {
+		return DataInputStream.readUTF(this);
+	}
+	
+	///////////////////////////////////////////////
+	// Implementation of MatrixBlockDSMDataOutput
+	///////////////////////////////////////////////
+	
+	@Override
+	public long readDoubleArray(int len, double[] varr) 
+		throws IOException 
+	{
+		//bulk copy of entire array from buffer
+		_buff.asDoubleBuffer().get(varr, 0, len);
+		_buff.position(_buff.position() + len*8);
+		
+		//nnz maintenance
+		long nnz = 0;
+		for( int i=0; i<len; i++ )
+			nnz += (varr[i]!=0) ? 1 : 0;
+		return nnz;
+	}
+
+	@Override
+	public long readSparseRows(int rlen, long nnz, SparseBlock rows) 
+		throws IOException 
+	{
+		//counter for non-zero elements
+		long gnnz = 0;
+		
+		//read all individual sparse rows from input
+		for( int i=0; i<rlen; i++ )
+		{
+			int lnnz = readInt();
+			
+			if( lnnz > 0 ) //non-zero row
+			{
+				//get handle to sparse (allocate if necessary)
+				rows.allocate(i, lnnz);
+				
+				//read single sparse row
+				for( int j=0; j<lnnz; j++ ) {
+					int aix = _buff.getInt();
+					double aval = _buff.getDouble();
+					rows.append(i, aix, aval);
+				}
+				
+				gnnz += lnnz;
+			}
+		}
+		
+		//sanity check valid number of read nnz
+		if( gnnz != nnz )
+			throw new IOException("Invalid number of read nnz: "+gnnz+" vs "+nnz);
+		
+		return nnz;
+	}
+}
@@ -302,6 +302,18 @@ public class ExecutionContext {
 	public MatrixBlock getMatrixInput(String varName) {
 		return getMatrixObject(varName).acquireRead();
 	}
+	
+	/**
+	 * Pins a matrix variable into memory and returns the internal matrix block,
+	 * which might be a dense FP32 block in the FP32 execution mode. Callers must
+	 * only pass this block to matrix block operations with FP32 support.
+	 *
+	 * @param varName variable name
+	 * @return matrix block, potentially in FP32
+	 */
+	public MatrixBlock getMatrixInputFP32(String varName) {
+		return getMatrixObject(varName).acquireReadFP32();
+	}
 
 	/**
 	 * Pins a matrix variable into memory and returns the internal matrix block.
@@ -546,6 +558,23 @@ public class ExecutionContext {
 		mo.release();
 	}
 
+	/**
+	 * Sets the output of an operation with FP32 kernel, which is kept in
+	 * single precision in the FP32 execution mode (see
+	 * {@link MatrixObject#acquireModifyFP32(MatrixBlock)}).
+	 *
+	 * @param varName variable name
+	 * @param outputData output matrix block
+	 */
+	public void setMatrixOutputFP32(String varName, MatrixBlock outputData) {
+		if( isAutoCreateVars() && !containsVariable(varName) )
+			setVariable(varName, createMatrixObject(outputData));
+		MatrixObject mo = getMatrixObject(varName);
+		mo.acquireModifyFP32(outputData);
+		mo.setCacheLineage(null);
+		mo.release();
+	}
+
 	public void setMatrixOutput(String varName, MatrixBlock outputData, UpdateType flag) {
 		if( isAutoCreateVars() && !containsVariable(varName) )
 			setVariable(varName, createMatrixObject(outputData));
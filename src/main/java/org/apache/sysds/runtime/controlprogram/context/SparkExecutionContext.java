@@ -44,6 +44,7 @@ import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.controlprogram.Program;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysds.runtime.controlprogram.caching.CachePrefetcher;
 import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysds.runtime.controlprogram.caching.FrameObject;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
@@ -73,7 +74,9 @@ import org.apache.sysds.runtime.matrix.data.MatrixCell;
 import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysds.runtime.meta.DataCharacteristics;
 import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
 import org.apache.sysds.runtime.meta.TensorCharacteristics;
+import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.runtime.util.HDFSTool;
 import org.apache.sysds.runtime.util.UtilFunctions;
 import org.apache.sysds.utils.MLContextProxy;
@@ -81,12 +84,19 @@ import org.apache.sysds.utils.Statistics;
 import scala.Tuple2;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 
 
@@ -96,6 +106,7 @@ public class SparkExecutionContext extends ExecutionContext
 	//internal configurations
 	private static final boolean LAZY_SPARKCTX_CREATION = true;
 	private static final boolean ASYNCHRONOUS_VAR_DESTROY = true;
+	private static final int COLLECT_PARALLEL_MIN_PARTITIONS = 4;
 	public static final boolean FAIR_SCHEDULER_MODE = true;
 
 	//executor memory and relative fractions as obtained from the spark configuration
@@ -109,6 +120,10 @@ public class SparkExecutionContext extends ExecutionContext
 	//matrices or frames are exported to HDFS and the RDDs are created from files.
 	//TODO unify memory management for CP, par RDDs, and potentially broadcasts
 	private static final MemoryManagerParRDDs _parRDDs = new MemoryManagerParRDDs(0.1);
+
+	//matrix objects with pending asynchronous broadcasts
+	private static final ConcurrentHashMap<MatrixObject, CompletableFuture<PartitionedBroadcast<MatrixBlock>>>
+		_pendingBroadcasts = new ConcurrentHashMap<>();
 	
 	//pool of reused fair scheduler pool names (unset bits indicate availability)
 	private static boolean[] _poolBuff = FAIR_SCHEDULER_MODE ?
@@ -370,19 +385,28 @@ public class SparkExecutionContext extends ExecutionContext
 			rdd = mo.getRDDHandle().getRDD();
 		}
 		//CASE 2: dirty in memory data or cached result of rdd operations
-		else if( mo.isDirty() || mo.isCached(false) || mo.isFederated() )
+		//(or compressed files, which are not readable as blocked rdds)
+		else if( mo.isDirty() || mo.isCached(false) || mo.isFederated() || isCompressedFile(mo) )
 		{
 			//get in-memory matrix block and parallelize it
 			//w/ guarded parallelize (fallback to export, rdd from file if too large)
 			DataCharacteristics dc = mo.getDataCharacteristics();
 			boolean fromFile = false;
+			String tmpFile = null;
 			if( !mo.isFederated() && (!OptimizerUtils.checkSparkCollectMemoryBudget(dc, 0)
 				|| !_parRDDs.reserve(OptimizerUtils.estimatePartitionedSizeExactSparsity(dc)))) {
-				if( mo.isDirty() || !mo.isHDFSFileExists() ) //write if necessary
+				String fname = mo.getFileName();
+				String tmpFname = null;
+				if( isCompressedFile(mo) ) { //export to temporary binary block file
+					fname = tmpFname = OptimizerUtils.getUniqueTempFileName();
+					mo.exportData(fname, FileFormat.BINARY.toString());
+				}
+				else if( mo.isDirty() || !mo.isHDFSFileExists() ) //write if necessary
 					mo.exportData();
-				rdd = sc.hadoopFile( mo.getFileName(), inputInfo.inputFormatClass, inputInfo.keyClass, inputInfo.valueClass);
+				rdd = sc.hadoopFile( fname, inputInfo.inputFormatClass, inputInfo.keyClass, inputInfo.valueClass);
 				rdd = SparkUtils.copyBinaryBlockMatrix((JavaPairRDD<MatrixIndexes, MatrixBlock>)rdd); //cp is workaround for read bug
 				fromFile = true;
+				tmpFile = tmpFname;
 			}
 			else { //default case
 				MatrixBlock mb = mo.acquireRead(); //pin matrix in memory
@@ -395,6 +419,8 @@ public class SparkExecutionContext extends ExecutionContext
 			RDDObject rddhandle = new RDDObject(rdd);
 			rddhandle.setHDFSFile(fromFile);
 			rddhandle.setParallelizedRDD(!fromFile);
+			//deferred removal of temporary export file on rdd cleanup
+			rddhandle.setHDFSFilename(tmpFile);
 			mo.setRDDHandle(rddhandle);
 		}
 		//CASE 3: non-dirty (file exists on HDFS)
@@ -425,6 +451,11 @@ public class SparkExecutionContext extends ExecutionContext
 		return rdd;
 	}
 
+	private static boolean isCompressedFile(MatrixObject mo) {
+		return mo.getMetaData() instanceof MetaDataFormat
+			&& ((MetaDataFormat)mo.getMetaData()).getFileFormat() == FileFormat.COMPRESSED;
+	}
+
 	@SuppressWarnings("resource")
 	public JavaPairRDD<?, ?> getRDDHandleForTensorObject(TensorObject to, FileFormat fmt, int numParts, boolean inclEmpty) {
 		//NOTE: MB this logic should be integrated into MatrixObject
@@ -620,8 +651,26 @@ public class SparkExecutionContext extends ExecutionContext
 		return brBlock;
 	}
 
-	@SuppressWarnings("unchecked")
 	public PartitionedBroadcast<MatrixBlock> getBroadcastForMatrixObject(MatrixObject mo) {
+		//wait for a pending asynchronous broadcast of the same object (instead
+		//of creating a redundant broadcast), or create it on failure
+		Future<PartitionedBroadcast<MatrixBlock>> pending = _pendingBroadcasts.get(mo);
+		if( pending != null ) {
+			try {
+				return pending.get();
+			}
+			catch(InterruptedException ex) {
+				throw new DMLRuntimeException(ex);
+			}
+			catch(ExecutionException ex) {
+				LOG.warn("Asynchronous broadcast failed, retrying synchronously.", ex);
+			}
+		}
+		return getBroadcastForMatrixObjectIntern(mo);
+	}
+
+	@SuppressWarnings("unchecked")
+	private PartitionedBroadcast<MatrixBlock> getBroadcastForMatrixObjectIntern(MatrixObject mo) {
 		//NOTE: The memory consumption of this method is the in-memory size of the 
 		//matrix object plus the partitioned size in 1k-1k blocks. Since the call
 		//to broadcast happens after the matrix object has been released, the memory
@@ -634,17 +683,15 @@ public class SparkExecutionContext extends ExecutionContext
 
 		PartitionedBroadcast<MatrixBlock> bret = null;
 
-		//reuse existing broadcast handle
-		if (mo.getBroadcastHandle() != null && mo.getBroadcastHandle().isPartitionedBroadcastValid()) {
-			bret = mo.getBroadcastHandle().getPartitionedBroadcast();
+		//reuse existing broadcast handle (synchronized per matrix object, but
+		//only for the handle access in order to not block concurrent readers)
+		synchronized( mo ) {
+			if (mo.getBroadcastHandle() != null && mo.getBroadcastHandle().isPartitionedBroadcastValid())
+				bret = mo.getBroadcastHandle().getPartitionedBroadcast();
 		}
 
 		//create new broadcast handle (never created, evicted)
 		if (bret == null) {
-			//account for overwritten invalid broadcast (e.g., evicted)
-			if (mo.getBroadcastHandle() != null)
-				CacheableData.addBroadcastSize(-mo.getBroadcastHandle().getPartitionedBroadcastSize());
-
 			//obtain meta data for matrix
 			int blen = (int) mo.getBlocksize();
 
@@ -666,15 +713,30 @@ public class SparkExecutionContext extends ExecutionContext
 				if (!isLocalMaster())
 					pmb.clearBlocks();
 			}
-			
-			bret = new PartitionedBroadcast<>(ret, mo.getDataCharacteristics());
-			// create the broadcast handle if the matrix or frame has never been broadcasted
-			if (mo.getBroadcastHandle() == null) {
-				mo.setBroadcastHandle(new BroadcastObject<MatrixBlock>());
+			PartitionedBroadcast<MatrixBlock> tmp = new PartitionedBroadcast<>(ret, mo.getDataCharacteristics());
+
+			//set broadcast handle, unless a concurrent (e.g., async) broadcast was
+			//already set, in which case the newly created broadcast is destroyed
+			synchronized( mo ) {
+				if (mo.getBroadcastHandle() != null && mo.getBroadcastHandle().isPartitionedBroadcastValid()) {
+					bret = mo.getBroadcastHandle().getPartitionedBroadcast();
+				}
+				else {
+					//account for overwritten invalid broadcast (e.g., evicted)
+					if (mo.getBroadcastHandle() != null)
+						CacheableData.addBroadcastSize(-mo.getBroadcastHandle().getPartitionedBroadcastSize());
+					// create the broadcast handle if the matrix or frame has never been broadcasted
+					if (mo.getBroadcastHandle() == null) {
+						mo.setBroadcastHandle(new BroadcastObject<MatrixBlock>());
+					}
+					mo.getBroadcastHandle().setPartitionedBroadcast(tmp,
+						OptimizerUtils.estimatePartitionedSizeExactSparsity(mo.getDataCharacteristics()));
+					CacheableData.addBroadcastSize(mo.getBroadcastHandle().getPartitionedBroadcastSize());
+					bret = tmp;
+				}
 			}
-			mo.getBroadcastHandle().setPartitionedBroadcast(bret,
-				OptimizerUtils.estimatePartitionedSizeExactSparsity(mo.getDataCharacteristics()));
-			CacheableData.addBroadcastSize(mo.getBroadcastHandle().getPartitionedBroadcastSize());
+			if (bret != tmp)
+				tmp.destroy();
 		}
 
 		if (DMLScript.STATISTICS) {
@@ -746,6 +808,61 @@ public class SparkExecutionContext extends ExecutionContext
 		return getBroadcastForMatrixObject(getMatrixObject(varname));
 	}
 
+	/**
+	 * Asynchronously creates the partitioned broadcast of the given variable,
+	 * if it exists and is not backed by an rdd. Subsequent calls of
+	 * {@link #getBroadcastForVariable(String)} wait for the pending broadcast
+	 * and reuse its handle.
+	 * 
+	 * @param varname variable name
+	 * @return future of the partitioned broadcast, or null if not applicable
+	 */
+	public Future<PartitionedBroadcast<MatrixBlock>> getBroadcastForVariableAsync(String varname) {
+		Data dat = getVariable(varname);
+		if( !(dat instanceof MatrixObject) )
+			return null;
+		MatrixObject mo = (MatrixObject) dat;
+		if( mo.getRDDHandle() != null || (mo.getBroadcastHandle() != null
+			&& mo.getBroadcastHandle().isPartitionedBroadcastValid()) )
+			return null;
+		//avoid redundant tasks for pending broadcasts of the same object
+		CompletableFuture<PartitionedBroadcast<MatrixBlock>> ret = new CompletableFuture<>();
+		Future<PartitionedBroadcast<MatrixBlock>> pending = _pendingBroadcasts.putIfAbsent(mo, ret);
+		if( pending != null )
+			return pending;
+		try {
+			CachePrefetcher.submit(() -> {
+				try {
+					ret.complete(getBroadcastForMatrixObjectIntern(mo));
+				}
+				catch(Throwable ex) {
+					ret.completeExceptionally(ex);
+				}
+				finally {
+					_pendingBroadcasts.remove(mo, ret);
+				}
+				return null;
+			});
+		}
+		catch(RejectedExecutionException ex) {
+			//prefetch pool concurrently shut down
+			ret.completeExceptionally(ex);
+			_pendingBroadcasts.remove(mo, ret);
+		}
+		return ret;
+	}
+
+	/**
+	 * Fails all pending asynchronous broadcasts, whose tasks might have been dropped
+	 * on shutdown of the prefetch thread pool, such that consumers fall back to a
+	 * synchronous broadcast instead of waiting forever for these broadcasts.
+	 */
+	public static void cancelPendingBroadcasts() {
+		for( CompletableFuture<PartitionedBroadcast<MatrixBlock>> f : _pendingBroadcasts.values() )
+			f.completeExceptionally(new DMLRuntimeException("Asynchronous broadcast cancelled."));
+		_pendingBroadcasts.clear();
+	}
+
 	public PartitionedBroadcast<TensorBlock> getBroadcastForTensorVariable(String varname) {
 		return getBroadcastForTensorObject(getTensorObject(varname));
 	}
@@ -1037,42 +1154,19 @@ public class SparkExecutionContext extends ExecutionContext
 			//kickoff asynchronous allocation
 			Future<MatrixBlock> fout = out.allocateBlockAsync();
 			
-			//trigger pending RDD operations and collect blocks
-			List<Tuple2<MatrixIndexes,MatrixBlock>> list = rdd.collect();
-			out = IOUtilFunctions.get(fout); //wait for allocation
-
-			//copy blocks one-at-a-time into output matrix block
+			//trigger pending RDD operations and collect blocks, where multiple
+			//partitions are collected concurrently and copied as they arrive
+			int numParts = rdd.getNumPartitions();
+			int k = Math.min(numParts, InfrastructureAnalyzer.getLocalParallelism());
 			long aNnz = 0;
-			for( Tuple2<MatrixIndexes,MatrixBlock> keyval : list )
-			{
-				//unpack index-block pair
-				MatrixIndexes ix = keyval._1();
-				MatrixBlock block = keyval._2();
-				
-				//compute row/column block offsets
-				int row_offset = (int)(ix.getRowIndex()-1)*blen;
-				int col_offset = (int)(ix.getColumnIndex()-1)*blen;
-				int rows = block.getNumRows();
-				int cols = block.getNumColumns();
-				
-				//handle compressed blocks (decompress for robustness)
-				if( block instanceof CompressedMatrixBlock )
-					block = ((CompressedMatrixBlock)block).decompress();
-
-				//append block
-				if( sparse ) { //SPARSE OUTPUT
-					//append block to sparse target in order to avoid shifting, where
-					//we use a shallow row copy in case of MCSR and single column blocks
-					//note: this append requires, for multiple column blocks, a final sort
-					out.appendToSparse(block, row_offset, col_offset, clen>blen);
-				}
-				else { //DENSE OUTPUT
-					out.copy( row_offset, row_offset+rows-1,
-							  col_offset, col_offset+cols-1, block, false );
-				}
-
-				//incremental maintenance nnz
-				aNnz += block.getNonZeros();
+			if( k > 1 && numParts >= COLLECT_PARALLEL_MIN_PARTITIONS ) {
+				out = IOUtilFunctions.get(fout); //wait for allocation
+				aNnz = collectBlocksParallel(rdd, out, numParts, k, blen, sparse);
+			}
+			else {
+				List<Tuple2<MatrixIndexes,MatrixBlock>> list = rdd.collect();
+				out = IOUtilFunctions.get(fout); //wait for allocation
+				aNnz = copyBlocks(list, out, blen, sparse);
 			}
 
 			//post-processing output matrix
@@ -1090,6 +1184,81 @@ public class SparkExecutionContext extends ExecutionContext
 		return out;
 	}
 
+	private static long collectBlocksParallel(JavaPairRDD<MatrixIndexes,MatrixBlock> rdd,
+		MatrixBlock out, int numParts, int k, int blen, boolean sparse)
+	{
+		//collect groups of partitions as concurrent jobs, and copy their blocks while
+		//other jobs are still running (dense: disjoint regions, sparse: serialized)
+		ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			ArrayList<Future<Object>> tasks = new ArrayList<>();
+			for( int i=0; i<k; i++ ) {
+				final int group = i;
+				int[] parts = IntStream.range(0, numParts).filter(p -> p % k == group).toArray();
+				tasks.add(pool.submit(() -> {
+					for( List<Tuple2<MatrixIndexes,MatrixBlock>> list : rdd.collectPartitions(parts) ) {
+						if( sparse ) {
+							synchronized( out ) {
+								copyBlocks(list, out, blen, true);
+							}
+						}
+						else
+							copyBlocks(list, out, blen, false);
+					}
+					return null;
+				}));
+			}
+			for( Future<Object> task : tasks )
+				task.get();
+			//recompute nnz, which is not maintained by concurrent copies
+			return out.recomputeNonZeros();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+	
+	private static long copyBlocks(List<Tuple2<MatrixIndexes,MatrixBlock>> list, MatrixBlock out, int blen, boolean sparse) {
+		//copy blocks one-at-a-time into output matrix block
+		int clen = out.getNumColumns();
+		long aNnz = 0;
+		for( Tuple2<MatrixIndexes,MatrixBlock> keyval : list )
+		{
+			//unpack index-block pair
+			MatrixIndexes ix = keyval._1();
+			MatrixBlock block = keyval._2();
+			
+			//compute row/column block offsets
+			int row_offset = (int)(ix.getRowIndex()-1)*blen;
+			int col_offset = (int)(ix.getColumnIndex()-1)*blen;
+			int rows = block.getNumRows();
+			int cols = block.getNumColumns();
+			
+			//handle compressed blocks (decompress for robustness)
+			if( block instanceof CompressedMatrixBlock )
+				block = ((CompressedMatrixBlock)block).decompress();
+
+			//append block
+			if( sparse ) { //SPARSE OUTPUT
+				//append block to sparse target in order to avoid shifting, where
+				//we use a shallow row copy in case of MCSR and single column blocks
+				//note: this append requires, for multiple column blocks, a final sort
+				out.appendToSparse(block, row_offset, col_offset, clen>blen);
+			}
+			else { //DENSE OUTPUT
+				out.copy( row_offset, row_offset+rows-1,
+						  col_offset, col_offset+cols-1, block, false );
+			}
+
+			//incremental maintenance nnz
+			aNnz += block.getNonZeros();
+		}
+		return aNnz;
+	}
+	
 	@SuppressWarnings("unchecked")
 	public static MatrixBlock toMatrixBlock(RDDObject rdd, int rlen, int clen, long nnz) {
 		return toMatrixBlock(
@@ -1354,7 +1523,8 @@ public class SparkExecutionContext extends ExecutionContext
 
 				//clean hdfs data if no pending rdd operations on it
 				if( mo.isHDFSFileExists() && mo.getFileName()!=null ) {
-					if( mo.getRDDHandle()==null ) {
+					//(rdds over temporary export files do not read the original file)
+					if( mo.getRDDHandle()==null || mo.getRDDHandle().getHDFSFilename()!=null ) {
 						HDFSTool.deleteFileWithMTDIfExistOnHDFS(mo.getFileName());
 					}
 					else { //deferred file removal
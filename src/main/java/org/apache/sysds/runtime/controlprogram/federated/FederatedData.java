@@ -21,10 +21,20 @@ package org.apache.sysds.runtime.controlprogram.federated;
 
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import javax.net.ssl.SSLException;
 
@@ -35,6 +45,7 @@ import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
+import org.apache.sysds.utils.Statistics;
 
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.ChannelFuture;
@@ -46,17 +57,44 @@ import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
-import io.netty.handler.codec.serialization.ClassResolvers;
-import io.netty.handler.codec.serialization.ObjectDecoder;
-import io.netty.handler.codec.serialization.ObjectEncoder;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
-import io.netty.util.concurrent.Promise;
 
 public class FederatedData {
 	private static final Log LOG = LogFactory.getLog(FederatedData.class.getName());
 	private static final Set<InetSocketAddress> _allFedSites = new HashSet<>();
+	
+	/**
+	 * Pending requests per federated site, i.e., batches of requests that are only awaited
+	 * to ensure their order (pipelined) or whose responses are not consumed at all (deferred,
+	 * e.g., cleanup of temporary variables). Pending batches are sent along with the next
+	 * message to the same site, once the batch window is reached, or once the response of
+	 * any pipelined batch is accessed, which avoids separate round trips per batch.
+	 */
+	private static final Map<InetSocketAddress, List<PendingBatch>> _pending = new HashMap<>();
+
+	/**
+	 * Future response of the last message with pending batches per federated site. Messages
+	 * to the same site are only sent once the response of this message was received, such that
+	 * dependent requests (e.g., GET_VAR) cannot overtake flushed batches. Messages without
+	 * pending batches are not tracked, i.e., unrelated requests of concurrent callers are not
+	 * serialized among each other.
+	 */
+	private static final Map<InetSocketAddress, CompletableFuture<FederatedResponse>> _inflight = new HashMap<>(); // guarded by _pending
+
+	/**
+	 * Failed pipelined batches per federated site whose responses were not accessed yet.
+	 * These failures are raised by the next message to the same site.
+	 */
+	private static final Map<InetSocketAddress, List<PendingBatch>> _failed = new HashMap<>(); // guarded by _pending
+
+	/** Daemon threads for sending messages once the previous message to the same site completed. */
+	private static final ExecutorService _sender = Executors.newCachedThreadPool(r -> {
+		Thread t = new Thread(r, "FederatedSender");
+		t.setDaemon(true);
+		return t;
+	});
 
 	/** A Singleton constructed SSL context, that only is assigned if ssl is enabled. */
 	private static SslContextMan instance = null;
@@ -157,13 +195,190 @@ public class FederatedData {
 	 */
 	public static Future<FederatedResponse> executeFederatedOperation(InetSocketAddress address,
 		FederatedRequest... request) throws SSLException {
+		// send pending batches along with the given batch to preserve the order of requests
+		// per site; the worker executes all batches in order and returns one response per batch
+		Message msg;
+		List<PendingBatch> failed;
+		synchronized(_pending) {
+			failed = _failed.remove(address);
+			msg = (failed == null) ? enqueue(address, _pending.remove(address), request) : null;
+		}
+		if(failed != null) {
+			// raise failures of pipelined batches that were never accessed
+			throw new DMLRuntimeException("Pipelined federated operation to " + address + " failed.",
+				failed.get(0)._future.handle((r, t) -> t).join());
+		}
+		return dispatch(msg);
+	}
+
+	/**
+	 * Pipelines a federated operation whose response is only awaited to ensure the order
+	 * of requests (e.g., instructions without data dependencies on the coordinator). The
+	 * batch of requests is sent along with the next message to the same site, as soon as
+	 * the configured window of pending requests is reached, or once the response of any
+	 * pipelined batch is accessed, which flushes the pending batches of all sites. If the
+	 * batch fails and its response is not accessed, the failure is raised by the next
+	 * message to the same site.
+	 *
+	 * @param request the requested operation
+	 * @return the future response, which flushes pending batches on access
+	 */
+	public Future<FederatedResponse> pipelineFederatedOperation(FederatedRequest... request) {
+		final InetSocketAddress address = _address;
+		final PendingBatch batch = new PendingBatch(request, new CompletableFuture<>());
+		batch._future.whenComplete((r, t) -> {
+			// keep failures that nobody observed for the next message to the site
+			if(t != null && !batch._observed)
+				synchronized(_pending) {
+					_failed.computeIfAbsent(address, a -> new ArrayList<>()).add(batch);
+				}
+		});
+		addPending(address, batch);
+		return new PipelinedResponse(address, batch);
+	}
+
+	/**
+	 * Defers the execution of a federated operation whose response is not consumed
+	 * (e.g., cleanup of temporary variables). Deferred requests are sent along with
+	 * the next message to the same site, or together with the pending requests once
+	 * the configured window is reached. Failures of deferred requests are only logged
+	 * by the worker and not returned with the response of any other batch.
+	 *
+	 * @param request the deferred operation
+	 */
+	public void deferFederatedOperation(FederatedRequest request) {
+		request.setDeferred(true);
+		addPending(_address, new PendingBatch(new FederatedRequest[] {request}, null));
+	}
+
+	/**
+	 * Gets the number of deferred requests to the given federated site.
+	 * 
+	 * @param address socket address (incl host and port)
+	 * @return number of deferred requests
+	 */
+	public static int getNumDeferred(InetSocketAddress address) {
+		synchronized(_pending) {
+			int count = 0;
+			for(PendingBatch batch : _pending.getOrDefault(address, Collections.emptyList()))
+				count += batch.isDeferred() ? batch._requests.length : 0;
+			return count;
+		}
+	}
+
+	/**
+	 * Gets the number of pending (pipelined or deferred) requests to the given federated site.
+	 * 
+	 * @param address socket address (incl host and port)
+	 * @return number of pending requests
+	 */
+	public static int getNumPending(InetSocketAddress address) {
+		synchronized(_pending) {
+			return countRequests(_pending.get(address));
+		}
+	}
+
+	/**
+	 * Sends the pending batches of requests of all federated sites.
+	 */
+	public static void flushPending() {
+		List<Message> tmp = new ArrayList<>();
+		synchronized(_pending) {
+			if(_pending.isEmpty())
+				return;
+			for(Entry<InetSocketAddress, List<PendingBatch>> e : _pending.entrySet())
+				tmp.add(enqueue(e.getKey(), e.getValue(), null));
+			_pending.clear();
+		}
+		for(Message msg : tmp)
+			dispatch(msg);
+	}
+
+	private static void addPending(InetSocketAddress address, PendingBatch batch) {
+		int window = ConfigurationManager.getDMLConfig().getIntValue(DMLConfig.FEDERATED_BATCH_WINDOW);
+		Message flush = null;
+		synchronized(_pending) {
+			List<PendingBatch> tmp = _pending.computeIfAbsent(address, a -> new ArrayList<>());
+			tmp.add(batch);
+			if(countRequests(tmp) >= window)
+				flush = enqueue(address, _pending.remove(address), null);
+		}
+		if(flush != null)
+			dispatch(flush);
+	}
+
+	private static int countRequests(List<PendingBatch> batches) {
+		int count = 0;
+		if(batches != null)
+			for(PendingBatch batch : batches)
+				count += batch._requests.length;
+		return count;
+	}
+
+	/**
+	 * Creates a message of the given pending batches and batch of requests, and chains it onto
+	 * the previous message to the same site. The caller must hold the lock of the pending batches,
+	 * such that taking the pending batches and ordering the message happen atomically.
+	 */
+	private static Message enqueue(InetSocketAddress address, List<PendingBatch> pending,
+		FederatedRequest[] request) {
+		Message msg = new Message(address, pending, request);
+		msg._prev = _inflight.get(address);
+		// only messages with pending batches are awaited by subsequent messages
+		if(pending != null && !pending.isEmpty()) {
+			_inflight.put(address, msg._future);
+			msg._future.whenComplete((r, t) -> {
+				synchronized(_pending) {
+					_inflight.remove(address, msg._future);
+				}
+			});
+		}
+		return msg;
+	}
+
+	private static Future<FederatedResponse> dispatch(Message msg) {
+		// send the message immediately if there is no previous message to the same site or its
+		// response was already received, otherwise send it once this response is received
+		if(msg._prev == null || msg._prev.isDone())
+			send(msg);
+		else
+			msg._prev.handleAsync((r, t) -> {
+				try {
+					send(msg);
+				}
+				catch(Exception ex) {
+					LOG.error("Failed to send federated operation to " + msg._address + ".", ex);
+				}
+				return null;
+			}, _sender);
+		return msg._future;
+	}
+
+	private static void send(Message message) {
+		final InetSocketAddress address = message._address;
+		final List<PendingBatch> pending = message._pending;
+		final FederatedRequest[] request = message._requests;
+		final CompletableFuture<FederatedResponse> ret = message._future;
+
+		// single batch of requests, or multiple batches with one response per batch
+		Object msg = request;
+		if(pending != null && !pending.isEmpty()) {
+			List<FederatedRequest[]> batches = new ArrayList<>();
+			for(PendingBatch batch : pending)
+				batches.add(batch._requests);
+			if(request != null)
+				batches.add(request);
+			msg = batches.toArray(new FederatedRequest[0][]);
+		}
+		Statistics.incFederatedRoundTrips();
+
 		// Careful with the number of threads. Each thread opens connections to multiple files making resulting in
 		// java.io.IOException: Too many open files
 		EventLoopGroup workerGroup = new NioEventLoopGroup(DMLConfig.DEFAULT_NUMBER_OF_FEDERATED_WORKER_THREADS);
 
 		try {
 			Bootstrap b = new Bootstrap();
-			final DataRequestHandler handler = new DataRequestHandler(workerGroup);
+			final DataRequestHandler handler = new DataRequestHandler(workerGroup, pending, ret);
 			// Client Netty
 			b.group(workerGroup).channel(NioSocketChannel.class).handler(new ChannelInitializer<SocketChannel>() {
 				@Override
@@ -174,38 +389,63 @@ public class FederatedData {
 							.newHandler(ch.alloc(), address.getAddress().getHostAddress(), address.getPort()));
 					}
 
-					cp.addLast("ObjectDecoder",
-						new ObjectDecoder(Integer.MAX_VALUE,
-							ClassResolvers.weakCachingResolver(ClassLoader.getSystemClassLoader())));
+					cp.addLast("FederatedMessageDecoder", new FederatedMessageDecoder());
 					cp.addLast("FederatedOperationHandler", handler);
-					cp.addLast("ObjectEncoder", new ObjectEncoder());
+					cp.addLast("FederatedMessageEncoder", new FederatedMessageEncoder());
 
 				}
 			});
 
 			ChannelFuture f = b.connect(address).sync();
-			Promise<FederatedResponse> promise = f.channel().eventLoop().newPromise();
-
-			handler.setPromise(promise);
-			f.channel().writeAndFlush(request);
-			return promise;
+			f.channel().writeAndFlush(msg);
 		}
 		catch(InterruptedException e) {
+			failPending(pending, e);
+			ret.completeExceptionally(e);
+			workerGroup.shutdownGracefully();
 			throw new DMLRuntimeException("Could not send federated operation.");
 		}
 		catch(Exception e) {
+			failPending(pending, e);
+			ret.completeExceptionally(e);
+			workerGroup.shutdownGracefully();
 			throw new DMLRuntimeException(e);
 		}
 	}
 
+	private static void failPending(List<PendingBatch> pending, Throwable t) {
+		if(pending != null)
+			for(PendingBatch batch : pending)
+				if(!batch.isDeferred())
+					batch._future.completeExceptionally(t);
+	}
+
 	public static void clearFederatedWorkers() {
 		if(_allFedSites.isEmpty())
 			return;
 
 		try {
+			// send and await pipelined requests before clearing all variables,
+			// while deferred cleanups are subsumed by the clear request
+			List<Future<FederatedResponse>> ret = new ArrayList<>();
+			synchronized(_pending) {
+				for(Entry<InetSocketAddress, List<PendingBatch>> e : _failed.entrySet())
+					LOG.warn("Pipelined federated operation to " + e.getKey() + " failed.",
+						e.getValue().get(0)._future.handle((r, t) -> t).join());
+				_failed.clear();
+				for(List<PendingBatch> batches : _pending.values()) {
+					batches.removeIf(PendingBatch::isDeferred);
+					for(PendingBatch batch : batches)
+						ret.add(batch._future);
+				}
+				_pending.values().removeIf(List::isEmpty);
+			}
+			flushPending();
+			FederationUtils.waitFor(ret);
+
 			// create and execute clear request on all workers
 			FederatedRequest fr = new FederatedRequest(RequestType.CLEAR);
-			List<Future<FederatedResponse>> ret = new ArrayList<>();
+			ret.clear();
 			for(InetSocketAddress address : _allFedSites)
 				ret.add(executeFederatedOperation(address, fr));
 
@@ -222,28 +462,152 @@ public class FederatedData {
 
 	public static void resetFederatedSites() {
 		_allFedSites.clear();
+		synchronized(_pending) {
+			_pending.clear();
+			_inflight.clear();
+			_failed.clear();
+		}
 	}
 
 	private static class DataRequestHandler extends ChannelInboundHandlerAdapter {
-		private Promise<FederatedResponse> _prom;
-		private EventLoopGroup _workerGroup;
+		private final CompletableFuture<FederatedResponse> _prom;
+		private final EventLoopGroup _workerGroup;
+		private final List<PendingBatch> _pending;
 
-		public DataRequestHandler(EventLoopGroup workerGroup) {
+		public DataRequestHandler(EventLoopGroup workerGroup, List<PendingBatch> pending,
+			CompletableFuture<FederatedResponse> prom) {
 			_workerGroup = workerGroup;
-		}
-
-		public void setPromise(Promise<FederatedResponse> prom) {
+			_pending = pending;
 			_prom = prom;
 		}
 
 		@Override
 		public void channelRead(ChannelHandlerContext ctx, Object msg) {
-			if(_prom == null)
-				throw new DMLRuntimeException("Read while no message was sent");
-			_prom.setSuccess((FederatedResponse) msg);
+			if(msg instanceof FederatedResponse[]) {
+				// responses of the pending batches in order, followed by the response
+				// of the given batch (if any)
+				FederatedResponse[] responses = (FederatedResponse[]) msg;
+				for(int i = 0; i < _pending.size(); i++)
+					if(!_pending.get(i).isDeferred())
+						_pending.get(i)._future.complete(responses[i]);
+				_prom.complete(responses[responses.length - 1]);
+			}
+			else
+				_prom.complete((FederatedResponse) msg);
 			ctx.close();
 			_workerGroup.shutdownGracefully();
 		}
+
+		@Override
+		public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+			failPending(_pending, cause);
+			_prom.completeExceptionally(cause);
+			ctx.close();
+			_workerGroup.shutdownGracefully();
+		}
+
+		@Override
+		public void channelInactive(ChannelHandlerContext ctx) {
+			// connection closed without response, which would otherwise block
+			// all subsequent messages to the same site
+			if(!_prom.isDone()) {
+				DMLRuntimeException ex = new DMLRuntimeException("Federated connection closed without response.");
+				failPending(_pending, ex);
+				_prom.completeExceptionally(ex);
+			}
+			_workerGroup.shutdownGracefully();
+		}
+	}
+
+	private static class PendingBatch {
+		private final FederatedRequest[] _requests;
+		private final CompletableFuture<FederatedResponse> _future; // null if deferred
+		private volatile boolean _observed = false; // response accessed by the caller
+
+		private PendingBatch(FederatedRequest[] requests, CompletableFuture<FederatedResponse> future) {
+			_requests = requests;
+			_future = future;
+		}
+
+		private boolean isDeferred() {
+			return _future == null;
+		}
+	}
+
+	/**
+	 * Message to a federated site, i.e., pending batches of requests and an optional batch of
+	 * requests, along with its future response and the future response of the previous message.
+	 */
+	private static class Message {
+		private final InetSocketAddress _address;
+		private final List<PendingBatch> _pending;
+		private final FederatedRequest[] _requests;
+		private final CompletableFuture<FederatedResponse> _future = new CompletableFuture<>();
+		private CompletableFuture<FederatedResponse> _prev;
+
+		private Message(InetSocketAddress address, List<PendingBatch> pending, FederatedRequest[] requests) {
+			_address = address;
+			_pending = pending;
+			_requests = requests;
+		}
+	}
+
+	/**
+	 * Future response of a pipelined batch of requests, which sends the pending batches of
+	 * all federated sites on access to avoid waiting for requests that have not been sent.
+	 */
+	private static class PipelinedResponse implements Future<FederatedResponse> {
+		private final InetSocketAddress _address;
+		private final PendingBatch _batch;
+		private final CompletableFuture<FederatedResponse> _future;
+
+		private PipelinedResponse(InetSocketAddress address, PendingBatch batch) {
+			_address = address;
+			_batch = batch;
+			_future = batch._future;
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			return false;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return false;
+		}
+
+		@Override
+		public boolean isDone() {
+			return _future.isDone();
+		}
+
+		@Override
+		public FederatedResponse get() throws InterruptedException, ExecutionException {
+			observe();
+			if(!_future.isDone())
+				flushPending();
+			return _future.get();
+		}
+
+		@Override
+		public FederatedResponse get(long timeout, TimeUnit unit)
+			throws InterruptedException, ExecutionException, TimeoutException {
+			observe();
+			if(!_future.isDone())
+				flushPending();
+			return _future.get(timeout, unit);
+		}
+
+		private void observe() {
+			// failures are raised by this access, and not by the next message to the site
+			_batch._observed = true;
+			synchronized(_pending) {
+				List<PendingBatch> failed = _failed.get(_address);
+				if(failed != null && failed.remove(_batch) && failed.isEmpty())
+					_failed.remove(_address);
+			}
+		}
 	}
 
 	private static class SslContextMan {
@@ -56,4 +56,18 @@ public class FederatedLocalData extends FederatedData {
 	public synchronized Future<FederatedResponse> executeFederatedOperation(FederatedRequest... request) {
 		return CompletableFuture.completedFuture(fwh.createResponse(request));
 	}
+
+	@Override
+	public Future<FederatedResponse> pipelineFederatedOperation(FederatedRequest... request) {
+		// local data has no round trips to save, so the requests are executed immediately
+		return executeFederatedOperation(request);
+	}
+
+	@Override
+	public void deferFederatedOperation(FederatedRequest request) {
+		// local data has no round trips to save, so the request is executed
+		// immediately, where failures are only logged by the handler
+		request.setDeferred(true);
+		executeFederatedOperation(request);
+	}
 }
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.federated;
+
+import java.io.ObjectInputStream;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse.ResponseType;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlockCSR;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.privacy.PrivacyConstraint.PrivacyLevel;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+
+/**
+ * Netty decoder of federated requests and responses from the custom binary
+ * wire format written by {@link FederatedMessageEncoder}. Matrix blocks are
+ * read via bulk copies from the received byte buffers directly into the
+ * arrays of newly allocated dense or CSR blocks.
+ */
+public class FederatedMessageDecoder extends ByteToMessageDecoder
+{
+	@Override
+	protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+		//wait until the entire message is available
+		if( in.readableBytes() < 4 )
+			return;
+		int len = in.getInt(in.readerIndex());
+		if( len < 0 || len > FederatedMessageEncoder.MAX_FRAME_LENGTH )
+			throw new DMLRuntimeException("Invalid federated message length: " + len);
+		if( in.readableBytes() < len + 4 )
+			return;
+		in.skipBytes(4);
+		
+		//decode the message
+		byte type = in.readByte();
+		if( type == FederatedMessageEncoder.MSG_REQUESTS ) {
+			out.add(readRequests(in));
+		}
+		else if( type == FederatedMessageEncoder.MSG_RESPONSE ) {
+			out.add(readResponse(in));
+		}
+		else if( type == FederatedMessageEncoder.MSG_REQUEST_BATCHES ) {
+			FederatedRequest[][] batches = new FederatedRequest[in.readInt()][];
+			for( int i=0; i<batches.length; i++ )
+				batches[i] = readRequests(in);
+			out.add(batches);
+		}
+		else if( type == FederatedMessageEncoder.MSG_RESPONSES ) {
+			FederatedResponse[] responses = new FederatedResponse[in.readInt()];
+			for( int i=0; i<responses.length; i++ )
+				responses[i] = readResponse(in);
+			out.add(responses);
+		}
+		else {
+			throw new DMLRuntimeException("Unknown federated message type: " + type);
+		}
+	}
+	
+	private static FederatedRequest[] readRequests(ByteBuf in) throws Exception {
+		FederatedRequest[] requests = new FederatedRequest[in.readInt()];
+		for( int i=0; i<requests.length; i++ )
+			requests[i] = readRequest(in);
+		return requests;
+	}
+	
+	private static FederatedRequest readRequest(ByteBuf in) throws Exception {
+		RequestType method = RequestType.values()[in.readByte()];
+		long id = in.readLong();
+		long tid = in.readLong();
+		boolean checkPrivacy = in.readBoolean();
+		boolean deferred = in.readBoolean();
+		int nchecksums = in.readInt();
+		List<Long> checksums = null;
+		if( nchecksums >= 0 ) {
+			checksums = new ArrayList<>(nchecksums);
+			for( int i=0; i<nchecksums; i++ )
+				checksums.add(in.readLong());
+		}
+		int nparams = in.readInt();
+		List<Object> data = new ArrayList<>(nparams);
+		for( int i=0; i<nparams; i++ )
+			data.add(readObject(in));
+		return new FederatedRequest(method, id, tid, data, checkPrivacy, checksums, deferred);
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static FederatedResponse readResponse(ByteBuf in) throws Exception {
+		ResponseType status = ResponseType.values()[in.readByte()];
+		Map<PrivacyLevel,LongAdder> constraints = (Map<PrivacyLevel,LongAdder>) readObject(in);
+		int ndata = in.readInt();
+		Object[] data = null;
+		if( ndata >= 0 ) {
+			data = new Object[ndata];
+			for( int i=0; i<ndata; i++ )
+				data[i] = readObject(in);
+		}
+		return new FederatedResponse(status, data, constraints);
+	}
+	
+	protected static Object readObject(ByteBuf in) throws Exception {
+		byte tag = in.readByte();
+		switch( tag ) {
+			case FederatedMessageEncoder.OBJ_NULL:
+				return null;
+			case FederatedMessageEncoder.OBJ_MATRIX_EMPTY:
+				return new MatrixBlock(in.readInt(), in.readInt(), true);
+			case FederatedMessageEncoder.OBJ_MATRIX_DENSE:
+				return readDenseMatrixBlock(in);
+			case FederatedMessageEncoder.OBJ_MATRIX_SPARSE:
+				return readSparseMatrixBlock(in);
+			case FederatedMessageEncoder.OBJ_SERIALIZED: {
+				int len = in.readInt();
+				int end = in.readerIndex() + len;
+				try( ObjectInputStream ois = new ObjectInputStream(new ByteBufInputStream(in, len)) ) {
+					return ois.readObject();
+				}
+				finally {
+					in.readerIndex(end);
+				}
+			}
+			default:
+				throw new DMLRuntimeException("Unknown federated object tag: " + tag);
+		}
+	}
+	
+	private static MatrixBlock readDenseMatrixBlock(ByteBuf in) {
+		int rlen = in.readInt();
+		int clen = in.readInt();
+		long nnz = in.readLong();
+		MatrixBlock ret = new MatrixBlock(rlen, clen, false);
+		ret.allocateDenseBlock();
+		DenseBlock dblock = ret.getDenseBlock();
+		for( int bix=0; bix<dblock.numBlocks(); bix++ )
+			readDoubles(in, dblock.valuesAt(bix), 0, dblock.size(bix));
+		ret.setNonZeros(nnz);
+		return ret;
+	}
+	
+	private static MatrixBlock readSparseMatrixBlock(ByteBuf in) {
+		int rlen = in.readInt();
+		int clen = in.readInt();
+		int nnz = in.readInt();
+		int[] rowPtr = new int[rlen+1];
+		int[] colInd = new int[nnz];
+		double[] values = new double[nnz];
+		readInts(in, rowPtr, 0, rlen+1, ByteOrder.BIG_ENDIAN);
+		readInts(in, colInd, 0, nnz, FederatedMessageEncoder.ARRAY_ORDER);
+		readDoubles(in, values, 0, nnz);
+		return new MatrixBlock(rlen, clen, nnz,
+			new SparseBlockCSR(rowPtr, colInd, values, nnz));
+	}
+	
+	private static void readInts(ByteBuf in, int[] vals, int pos, int len, ByteOrder order) {
+		int nbytes = (int) (4L*len);
+		in.nioBuffer(in.readerIndex(), nbytes).order(order)
+			.asIntBuffer().get(vals, pos, len);
+		in.skipBytes(nbytes);
+	}
+	
+	private static void readDoubles(ByteBuf in, double[] vals, int pos, int len) {
+		int nbytes = (int) (8L*len);
+		in.nioBuffer(in.readerIndex(), nbytes).order(FederatedMessageEncoder.ARRAY_ORDER)
+			.asDoubleBuffer().get(vals, pos, len);
+		in.skipBytes(nbytes);
+	}
+}
@@ -0,0 +1,289 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.federated;
+
+import java.io.ObjectOutputStream;
+import java.nio.ByteOrder;
+import java.util.List;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.DenseBlockFP64;
+import org.apache.sysds.runtime.data.DenseBlockLFP64;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToByteEncoder;
+
+/**
+ * Netty encoder of federated requests and responses into a custom binary
+ * wire format. In contrast to Java object serialization, uncompressed matrix
+ * blocks are written as a small header plus their raw dense or CSR arrays via
+ * bulk copies into (pooled, direct) byte buffers. All other parameters fall
+ * back to Java serialization, streamed directly into the output buffer.
+ * 
+ * The format of a message is: [int length][byte type][body], where the body
+ * of a request batch is [int num][request]* and the body of a response is
+ * [byte status][object constraints][int num][object]*. Pipelined batches of
+ * requests and their responses are sent as [int num][batch]* and
+ * [int num][response]*, respectively.
+ */
+public class FederatedMessageEncoder extends MessageToByteEncoder<Object>
+{
+	//message types
+	protected static final byte MSG_REQUESTS = 1;
+	protected static final byte MSG_RESPONSE = 2;
+	protected static final byte MSG_REQUEST_BATCHES = 3;
+	protected static final byte MSG_RESPONSES = 4;
+	
+	//object tags
+	protected static final byte OBJ_NULL = 0;
+	protected static final byte OBJ_MATRIX_EMPTY = 1;
+	protected static final byte OBJ_MATRIX_DENSE = 2;
+	protected static final byte OBJ_MATRIX_SPARSE = 3;
+	protected static final byte OBJ_SERIALIZED = 4;
+	
+	//byte order of raw array payloads (native on common platforms)
+	protected static final ByteOrder ARRAY_ORDER = ByteOrder.LITTLE_ENDIAN;
+	
+	//max length of a message w/o its int length prefix (such that len+4 fits in an int)
+	protected static final int MAX_FRAME_LENGTH = Integer.MAX_VALUE - 4;
+	
+	public FederatedMessageEncoder() {
+		super(true); //prefer direct buffers
+	}
+	
+	@Override
+	public boolean acceptOutboundMessage(Object msg) {
+		return msg instanceof FederatedRequest[] || msg instanceof FederatedResponse
+			|| msg instanceof FederatedRequest[][] || msg instanceof FederatedResponse[];
+	}
+	
+	@Override
+	protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, Object msg, boolean preferDirect) {
+		//allocate the output buffer w/ estimated size to avoid repeated resizing
+		int size = (int) Math.min(MAX_FRAME_LENGTH, estimateMessageSize(msg));
+		return preferDirect ? ctx.alloc().ioBuffer(size) : ctx.alloc().heapBuffer(size);
+	}
+	
+	@Override
+	protected void encode(ChannelHandlerContext ctx, Object msg, ByteBuf out) throws Exception {
+		int start = out.writerIndex();
+		out.writeInt(0); //placeholder message length
+		if( msg instanceof FederatedRequest[] ) {
+			out.writeByte(MSG_REQUESTS);
+			writeRequests(out, (FederatedRequest[]) msg);
+		}
+		else if( msg instanceof FederatedRequest[][] ) {
+			FederatedRequest[][] batches = (FederatedRequest[][]) msg;
+			out.writeByte(MSG_REQUEST_BATCHES);
+			out.writeInt(batches.length);
+			for( FederatedRequest[] requests : batches )
+				writeRequests(out, requests);
+		}
+		else if( msg instanceof FederatedResponse[] ) {
+			FederatedResponse[] responses = (FederatedResponse[]) msg;
+			out.writeByte(MSG_RESPONSES);
+			out.writeInt(responses.length);
+			for( FederatedResponse response : responses )
+				writeResponse(out, response);
+		}
+		else {
+			out.writeByte(MSG_RESPONSE);
+			writeResponse(out, (FederatedResponse) msg);
+		}
+		out.setInt(start, out.writerIndex() - start - 4);
+	}
+	
+	private static void writeRequests(ByteBuf out, FederatedRequest[] requests) throws Exception {
+		out.writeInt(requests.length);
+		for( FederatedRequest request : requests )
+			writeRequest(out, request);
+	}
+	
+	private static void writeRequest(ByteBuf out, FederatedRequest request) throws Exception {
+		out.writeByte(request.getType().ordinal());
+		out.writeLong(request.getID());
+		out.writeLong(request.getTID());
+		out.writeBoolean(request.checkPrivacy());
+		out.writeBoolean(request.isDeferred());
+		List<Long> checksums = request.getChecksums();
+		out.writeInt(checksums != null ? checksums.size() : -1);
+		if( checksums != null )
+			for( Long checksum : checksums )
+				out.writeLong(checksum);
+		out.writeInt(request.getNumParams());
+		for( int i=0; i<request.getNumParams(); i++ )
+			writeObject(out, request.getParam(i));
+	}
+	
+	private static void writeResponse(ByteBuf out, FederatedResponse response) throws Exception {
+		out.writeByte(response.getStatus().ordinal());
+		writeObject(out, response.getCheckedConstraints());
+		Object[] data = response.getRawData();
+		out.writeInt(data != null ? data.length : -1);
+		if( data != null )
+			for( Object obj : data )
+				writeObject(out, obj);
+	}
+	
+	protected static void writeObject(ByteBuf out, Object obj) throws Exception {
+		if( obj == null )
+			out.writeByte(OBJ_NULL);
+		else if( isRawMatrixBlock(obj) )
+			writeMatrixBlock(out, (MatrixBlock) obj);
+		else {
+			//generic fallback to java serialization (w/o intermediate byte arrays)
+			out.writeByte(OBJ_SERIALIZED);
+			int pos = out.writerIndex();
+			out.writeInt(0); //placeholder object length
+			try( ObjectOutputStream oos = new ObjectOutputStream(new ByteBufOutputStream(out)) ) {
+				oos.writeObject(obj);
+			}
+			out.setInt(pos, out.writerIndex() - pos - 4);
+		}
+	}
+	
+	private static void writeMatrixBlock(ByteBuf out, MatrixBlock mb) {
+		int rlen = mb.getNumRows();
+		int clen = mb.getNumColumns();
+		if( mb.isEmptyBlock(false) ) {
+			out.writeByte(OBJ_MATRIX_EMPTY);
+			out.writeInt(rlen);
+			out.writeInt(clen);
+		}
+		else if( mb.isInSparseFormat() ) {
+			//write sparse block in CSR representation, independent of the
+			//in-memory sparse block type (row pointers, column indexes, values),
+			//where row pointers are set in place in the default byte order
+			SparseBlock sblock = mb.getSparseBlock();
+			long nnz = mb.getNonZeros();
+			if( nnz > Integer.MAX_VALUE )
+				throw new DMLRuntimeException("Sparse federated matrix block exceeds the max nnz per message: " + nnz);
+			out.writeByte(OBJ_MATRIX_SPARSE);
+			out.writeInt(rlen);
+			out.writeInt(clen);
+			out.writeInt((int) nnz);
+			ByteBuf rowPtr = writableSlice(out, checkFrameLength(out, 4L*(rlen+1)));
+			int pos = 0;
+			for( int i=0; i<rlen; i++ ) {
+				rowPtr.setInt(i*4, pos);
+				pos += sblock.isEmpty(i) ? 0 : sblock.size(i);
+			}
+			rowPtr.setInt(rlen*4, pos);
+			if( pos != nnz )
+				throw new DMLRuntimeException("Inconsistent nnz in sparse federated matrix block: " + nnz + " vs " + pos);
+			for( int i=0; i<rlen; i++ )
+				if( !sblock.isEmpty(i) )
+					writeInts(out, sblock.indexes(i), sblock.pos(i), sblock.size(i));
+			for( int i=0; i<rlen; i++ )
+				if( !sblock.isEmpty(i) )
+					writeDoubles(out, sblock.values(i), sblock.pos(i), sblock.size(i));
+		}
+		else {
+			//write dense block via bulk copies of the underlying arrays
+			DenseBlock dblock = mb.getDenseBlock();
+			out.writeByte(OBJ_MATRIX_DENSE);
+			out.writeInt(rlen);
+			out.writeInt(clen);
+			out.writeLong(mb.getNonZeros());
+			for( int bix=0; bix<dblock.numBlocks(); bix++ )
+				writeDoubles(out, dblock.valuesAt(bix), 0, dblock.size(bix));
+		}
+	}
+	
+	private static ByteBuf writableSlice(ByteBuf out, int len) {
+		out.ensureWritable(len);
+		ByteBuf ret = out.slice(out.writerIndex(), len);
+		out.writerIndex(out.writerIndex() + len);
+		return ret;
+	}
+	
+	private static void writeInts(ByteBuf out, int[] vals, int pos, int len) {
+		int nbytes = checkFrameLength(out, 4L*len);
+		out.ensureWritable(nbytes);
+		out.nioBuffer(out.writerIndex(), nbytes).order(ARRAY_ORDER).asIntBuffer().put(vals, pos, len);
+		out.writerIndex(out.writerIndex() + nbytes);
+	}
+	
+	private static void writeDoubles(ByteBuf out, double[] vals, int pos, int len) {
+		int nbytes = checkFrameLength(out, 8L*len);
+		out.ensureWritable(nbytes);
+		out.nioBuffer(out.writerIndex(), nbytes).order(ARRAY_ORDER).asDoubleBuffer().put(vals, pos, len);
+		out.writerIndex(out.writerIndex() + nbytes);
+	}
+	
+	private static int checkFrameLength(ByteBuf out, long nbytes) {
+		//reject payloads that would overflow the int frame length (instead of
+		//silently wrapping around), checked against the absolute writer index
+		if( out.writerIndex() + nbytes > MAX_FRAME_LENGTH )
+			throw new DMLRuntimeException("Federated message exceeds the max frame length of "
+				+ MAX_FRAME_LENGTH + " bytes: " + (out.writerIndex() + nbytes));
+		return (int) nbytes;
+	}
+	
+	protected static boolean isRawMatrixBlock(Object obj) {
+		//note: subclasses such as compressed blocks use java serialization
+		if( obj == null || obj.getClass() != MatrixBlock.class )
+			return false;
+		DenseBlock dblock = ((MatrixBlock) obj).getDenseBlock();
+		return dblock == null || dblock instanceof DenseBlockFP64 || dblock instanceof DenseBlockLFP64;
+	}
+	
+	protected static long estimateMessageSize(Object msg) {
+		long size = 64;
+		if( msg instanceof FederatedRequest[] ) {
+			for( FederatedRequest request : (FederatedRequest[]) msg ) {
+				size += 64;
+				for( int i=0; i<request.getNumParams(); i++ )
+					size += estimateObjectSize(request.getParam(i));
+			}
+		}
+		else if( msg instanceof FederatedRequest[][] ) {
+			for( FederatedRequest[] requests : (FederatedRequest[][]) msg )
+				size += estimateMessageSize(requests);
+		}
+		else if( msg instanceof FederatedResponse[] ) {
+			for( FederatedResponse response : (FederatedResponse[]) msg )
+				size += estimateMessageSize(response);
+		}
+		else if( msg instanceof FederatedResponse ) {
+			Object[] data = ((FederatedResponse) msg).getRawData();
+			if( data != null )
+				for( Object obj : data )
+					size += estimateObjectSize(obj);
+		}
+		return size;
+	}
+	
+	private static long estimateObjectSize(Object obj) {
+		if( !isRawMatrixBlock(obj) )
+			return 256; //buffer grows as necessary
+		MatrixBlock mb = (MatrixBlock) obj;
+		if( mb.isEmptyBlock(false) )
+			return 16;
+		return mb.isInSparseFormat() ?
+			24 + 4L*(mb.getNumRows()+1) + 12L*mb.getNonZeros() :
+			24 + 8L*mb.getNumRows()*mb.getNumColumns();
+	}
+}
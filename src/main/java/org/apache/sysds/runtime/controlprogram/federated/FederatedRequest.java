@@ -55,6 +55,7 @@ public class FederatedRequest implements Serializable {
 	private List<Object> _data;
 	private boolean _checkPrivacy;
 	private List<Long> _checksums;
+	private boolean _deferred;
 	
 	
 	public FederatedRequest(RequestType method) {
@@ -79,6 +80,22 @@ public class FederatedRequest implements Serializable {
 			setChecksum();
 	}
 	
+	/**
+	 * Constructor used to reconstruct a received request from the wire format,
+	 * without re-counting the request or re-computing checksums.
+	 */
+	FederatedRequest(RequestType method, long id, long tid, List<Object> data,
+		boolean checkPrivacy, List<Long> checksums, boolean deferred)
+	{
+		_method = method;
+		_id = id;
+		_tid = tid;
+		_data = data;
+		_checkPrivacy = checkPrivacy;
+		_checksums = checksums;
+		_deferred = deferred;
+	}
+	
 	public RequestType getType() {
 		return _method;
 	}
@@ -95,6 +112,21 @@ public class FederatedRequest implements Serializable {
 		_tid = tid;
 	}
 	
+	/**
+	 * Marks this request as deferred, i.e., its response is not consumed and
+	 * failures on the worker do not affect the response of the batch it was
+	 * piggybacked onto.
+	 * 
+	 * @param deferred true if deferred
+	 */
+	public void setDeferred(boolean deferred) {
+		_deferred = deferred;
+	}
+	
+	public boolean isDeferred() {
+		return _deferred;
+	}
+	
 	public Object getParam(int i) {
 		return _data.get(i);
 	}
@@ -146,6 +178,10 @@ public class FederatedRequest implements Serializable {
 		return _checksums.get(i);
 	}
 	
+	List<Long> getChecksums() {
+		return _checksums;
+	}
+	
 	private void calcChecksum() throws IOException {
 		for (Object ob : _data) {
 			if (!(ob instanceof CacheBlock) && !(ob instanceof ScalarObject))
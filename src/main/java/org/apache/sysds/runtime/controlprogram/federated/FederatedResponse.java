@@ -60,6 +60,27 @@ public class FederatedResponse implements Serializable {
 			_status = ResponseType.SUCCESS_EMPTY;
 	}
 	
+	/**
+	 * Constructor used to reconstruct a received response from the wire format.
+	 */
+	FederatedResponse(ResponseType status, Object[] data, Map<PrivacyLevel,LongAdder> checkedConstraints) {
+		_status = status;
+		_data = data;
+		this.checkedConstraints = checkedConstraints;
+	}
+	
+	ResponseType getStatus() {
+		return _status;
+	}
+	
+	Object[] getRawData() {
+		return _data;
+	}
+	
+	Map<PrivacyLevel,LongAdder> getCheckedConstraints() {
+		return checkedConstraints;
+	}
+	
 	public boolean isSuccessful() {
 		return _status != ResponseType.ERROR;
 	}
@@ -78,7 +78,17 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 
 	@Override
 	public void channelRead(ChannelHandlerContext ctx, Object msg) {
-		ctx.writeAndFlush(createResponse(msg)).addListener(new CloseListener());
+		// pipelined batches of requests are executed in order with one response per batch
+		Object response = (msg instanceof FederatedRequest[][]) ?
+			createResponses((FederatedRequest[][]) msg) : createResponse(msg);
+		ctx.writeAndFlush(response).addListener(new CloseListener());
+	}
+
+	public FederatedResponse[] createResponses(FederatedRequest[][] batches) {
+		FederatedResponse[] responses = new FederatedResponse[batches.length];
+		for(int i = 0; i < batches.length; i++)
+			responses[i] = createResponse(batches[i]);
+		return responses;
 	}
 
 	public FederatedResponse createResponse(Object msg) {
@@ -106,8 +116,13 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 			FederatedResponse tmp = executeCommand(request);
 			conditionalAddCheckedConstraints(request, tmp);
 
-			// select the response for the entire batch of requests
-			if(!tmp.isSuccessful()) {
+			// select the response for the entire batch of requests, where failures
+			// of deferred requests (e.g., cleanup) are not returned to the caller
+			// whose requests they were piggybacked onto
+			if(!tmp.isSuccessful() && request.isDeferred()) {
+				log.warn("Deferred command " + request.getType() + " failed: " + tmp.getErrorMessage());
+			}
+			else if(!tmp.isSuccessful()) {
 				log.error("Command " + request.getType() + " failed: " + tmp.getErrorMessage() + "full command: \n"
 					+ request.toString());
 				response = (response == null || response.isSuccessful()) ? tmp : response; // return first error
@@ -118,7 +133,8 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 				response = tmp; // return last get result
 			}
 			else if(response == null && i == requests.length - 1) {
-				response = tmp; // return last
+				response = tmp.isSuccessful() ? tmp : // return last
+					new FederatedResponse(ResponseType.SUCCESS_EMPTY);
 			}
 
 			if(DMLScript.STATISTICS && request.getType() == RequestType.CLEAR && Statistics.allowWorkerStatistics) {
@@ -126,7 +142,8 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 				Statistics.reset();
 			}
 		}
-		return response;
+		// batches of only failed deferred requests
+		return (response != null) ? response : new FederatedResponse(ResponseType.SUCCESS_EMPTY);
 	}
 
 	private static void conditionalAddCheckedConstraints(FederatedRequest request, FederatedResponse response) {
@@ -33,6 +33,8 @@ import java.util.function.BiFunction;
 
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
@@ -196,12 +198,20 @@ public class FederationMap {
 		setThreadID(tid, frSlices, fr);
 		List<Future<FederatedResponse>> ret = new ArrayList<>();
 		int pos = 0;
-		for(Entry<FederatedRange, FederatedData> e : _fedMap.entrySet())
-			ret.add(e.getValue().executeFederatedOperation((frSlices != null) ? addAll(frSlices[pos++], fr) : fr));
+		for(Entry<FederatedRange, FederatedData> e : _fedMap.entrySet()) {
+			FederatedRequest[] requests = (frSlices != null) ? addAll(frSlices[pos++], fr) : fr;
+			// if enabled, requests that are only awaited to ensure their order (e.g., instructions
+			// whose outputs remain at the federated sites) are pipelined per site and sent with the
+			// next message to the site, or once any of their responses is accessed; since later
+			// messages to the site await the flushed batches, they observe the completed pipelined
+			// requests, and failures of pipelined requests are raised by the next message
+			ret.add(wait && pipelining() ? e.getValue().pipelineFederatedOperation(requests) :
+				e.getValue().executeFederatedOperation(requests));
+		}
 
 		// prepare results (future federated responses), with optional wait to ensure the
 		// order of requests without data dependencies (e.g., cleanup RPCs)
-		if(wait)
+		if(wait && !pipelining())
 			FederationUtils.waitFor(ret);
 		return ret.toArray(new Future[0]);
 	}
@@ -228,17 +238,17 @@ public class FederationMap {
 		FederatedRequest request = new FederatedRequest(RequestType.EXEC_INST, -1,
 			VariableCPInstruction.prepareRemoveInstruction(id).toString());
 		request.setTID(tid);
-		List<Future<FederatedResponse>> tmp = new ArrayList<>();
+		// The cleanup is deferred and sent along with the next message per federated
+		// site (or once the window of pending requests is full), which avoids a separate
+		// round trip per cleanup. Any remaining deferred requests are subsumed by the
+		// final CLEAR request at the end of execution.
 		for(FederatedData fd : _fedMap.values())
-			tmp.add(fd.executeFederatedOperation(request));
-		// This cleaning is allowed to go in a separate thread, and finish on its own.
-		// The benefit is that the program is able to continue working on other things.
-		// The downside is that at the end of execution these threads can have executed
-		// for some extra time that can in particular be noticeable for shorter federated jobs.
-
-		// To force the cleanup use waitFor -> drastically increasing execution time if
-		// communication is slow to federated sites.
-		// FederationUtils.waitFor(tmp);
+			fd.deferFederatedOperation(request);
+	}
+
+	private static boolean pipelining() {
+		return ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.FEDERATED_PIPELINING)
+			&& ConfigurationManager.getDMLConfig().getIntValue(DMLConfig.FEDERATED_BATCH_WINDOW) > 1;
 	}
 
 	private static FederatedRequest[] addAll(FederatedRequest a, FederatedRequest[] b) {
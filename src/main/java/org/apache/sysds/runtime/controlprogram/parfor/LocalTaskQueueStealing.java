@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.parfor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Work-stealing variant of the local task queue, which avoids the contention of
+ * a single synchronized queue for many workers and fine-grained tasks. Each worker
+ * thread owns a lock-free deque, to which tasks are distributed round-robin. Workers
+ * take tasks from the head of their own deque, which preserves the order of tasks
+ * per worker, and steal from the tail of other deques once their own deque is empty.
+ * Note that the distribution is not locality-aware: tasks are not assigned based on
+ * the data they access, and deques are bound to workers in order of their first
+ * dequeue.
+ *
+ * Only the slow path of an empty queue (waiting for new tasks) and the max size
+ * constraint of writers use the monitor of the queue.
+ */
+public class LocalTaskQueueStealing<T> extends LocalTaskQueue<T>
+{
+	private static final Log LOG = LogFactory.getLog(LocalTaskQueueStealing.class.getName());
+
+	private final List<ConcurrentLinkedDeque<T>> _deques;
+	private final ThreadLocal<Integer> _workerID;
+	private final AtomicInteger _seqWorker = new AtomicInteger(0);
+	private final AtomicInteger _size = new AtomicInteger(0);
+	private final AtomicInteger _waiting = new AtomicInteger(0);
+	private volatile boolean _closedInput = false;
+	private int _pos = 0; //round-robin position of the single writer
+
+	public LocalTaskQueueStealing(int numWorkers) {
+		_deques = new ArrayList<>(Math.max(numWorkers, 1));
+		for( int i=0; i<Math.max(numWorkers, 1); i++ )
+			_deques.add(new ConcurrentLinkedDeque<>());
+		//assign deques to worker threads on their first dequeue
+		_workerID = ThreadLocal.withInitial(
+			() -> _seqWorker.getAndIncrement() % _deques.size());
+	}
+
+	/**
+	 * Insert of a new task to the end of the next worker deque (round-robin),
+	 * where only blocked readers and writers are notified.
+	 *
+	 * @param t task
+	 * @throws InterruptedException if InterruptedException occurs
+	 */
+	@Override
+	public void enqueueTask( T t )
+		throws InterruptedException
+	{
+		if( _size.get() + 1 > MAX_SIZE ) {
+			synchronized( this ) {
+				while( _size.get() + 1 > MAX_SIZE ) {
+					LOG.warn("MAX_SIZE of task queue reached.");
+					wait(); //max constraint reached, wait for read
+				}
+			}
+		}
+
+		_deques.get(_pos).addLast(t);
+		_pos = (_pos + 1) % _deques.size();
+		_size.incrementAndGet();
+
+		if( _waiting.get() > 0 )
+			synchronized( this ) {
+				notifyAll(); //notify waiting readers
+			}
+	}
+
+	/**
+	 * Lock-free read and delete from the head of the deque of the calling
+	 * worker, or from the tail of another worker's deque if empty.
+	 *
+	 * @return task
+	 * @throws InterruptedException if InterruptedException occurs
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public T dequeueTask()
+		throws InterruptedException
+	{
+		int wid = _workerID.get();
+		while( true ) {
+			//fast path: own deque or stealing (w/o locks)
+			boolean closed = _closedInput;
+			T t = pollTask(wid);
+			if( t != null ) {
+				if( _size.decrementAndGet() + 1 >= MAX_SIZE )
+					synchronized( this ) {
+						notifyAll(); // notify waiting writers
+					}
+				return t;
+			}
+			//all tasks were enqueued before close
+			if( closed )
+				return (T)NO_MORE_TASKS;
+
+			//slow path: wait for writers
+			synchronized( this ) {
+				_waiting.incrementAndGet();
+				try {
+					if( _size.get() == 0 && !_closedInput )
+						wait();
+				}
+				finally {
+					_waiting.decrementAndGet();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Marks that no more tasks will be inserted into the queue.
+	 */
+	@Override
+	public synchronized void closeInput() {
+		_closedInput = true;
+		notifyAll(); //notify all waiting readers
+	}
+
+	private T pollTask(int wid) {
+		T t = _deques.get(wid).pollFirst();
+		for( int i=1; i<_deques.size() && t == null; i++ )
+			t = _deques.get((wid + i) % _deques.size()).pollLast();
+		return t;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("TASK QUEUE STEALING (size=");
+		sb.append(_size.get());
+		sb.append(",close=");
+		sb.append(_closedInput);
+		sb.append(")\n");
+
+		for( int i=0; i<_deques.size(); i++ ) {
+			int count = 1;
+			for( T t : _deques.get(i) ) {
+				sb.append("  WORKER #");
+				sb.append(i);
+				sb.append(" TASK #");
+				sb.append(count++);
+				sb.append(": ");
+				sb.append(t.toString());
+				sb.append("\n");
+			}
+		}
+
+		return sb.toString();
+	}
+}
@@ -62,11 +62,53 @@ public class ResultMergeLocalAutomatic extends ResultMerge
 		long rows = dc.getRows();
 		long cols = dc.getCols();
 		
-		if( OptimizerRuleBased.isInMemoryResultMerge(par * rows, cols, OptimizerUtils.getLocalMemBudget()) )
+		double memBudget = OptimizerUtils.getLocalMemBudget();
+		
+		//parallel in-memory merge pins all inputs at once, otherwise fall back
+		//to the serial in-memory or file-based merge
+		if( getParallelMergeSize() < memBudget ) {
+			_rm = new ResultMergeLocalMemory( _output, _inputs, _outputFName, _isAccum );
+			return _rm.executeParallelMerge(par);
+		}
+		
+		if( OptimizerRuleBased.isInMemoryResultMerge(rows, cols, memBudget) )
 			_rm = new ResultMergeLocalMemory( _output, _inputs, _outputFName, _isAccum );
 		else
 			_rm = new ResultMergeLocalFile( _output, _inputs, _outputFName, _isAccum );
 		
-		return _rm.executeParallelMerge(par);
+		return _rm.executeSerialMerge();
+	}
+	
+	/**
+	 * Estimates the memory requirements of the parallel in-memory merge
+	 * based on the actual sizes of old output and inputs (i.e., their
+	 * number of non-zeros), plus the new output in both representations.
+	 * 
+	 * @return estimated size in bytes
+	 */
+	private long getParallelMergeSize() {
+		DataCharacteristics dc = _output.getDataCharacteristics();
+		if( !dc.dimsKnown() )
+			return Long.MAX_VALUE;
+		long rows = dc.getRows();
+		long cols = dc.getCols();
+		long size = estimateSize(dc);
+		long nnz = Math.max(dc.getNonZeros(), 0);
+		for( MatrixObject in : _inputs ) {
+			if( in == null || in == _output )
+				continue;
+			DataCharacteristics dcIn = in.getDataCharacteristics();
+			if( !dcIn.dimsKnown() )
+				return Long.MAX_VALUE;
+			size += estimateSize(dcIn);
+			nnz += dcIn.nnzKnown() ? dcIn.getNonZeros() : dcIn.getLength();
+		}
+		nnz = Math.min(nnz, rows * cols);
+		return size + 2 * OptimizerUtils.estimateSizeExactSparsity(rows, cols, nnz);
+	}
+	
+	private static long estimateSize(DataCharacteristics dc) {
+		return OptimizerUtils.estimateSizeExactSparsity(dc.getRows(), dc.getCols(),
+			dc.nnzKnown() ? dc.getNonZeros() : dc.getLength());
 	}
 }
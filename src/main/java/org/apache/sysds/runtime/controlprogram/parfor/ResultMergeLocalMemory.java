@@ -24,20 +24,26 @@ import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.meta.DataCharacteristics;
 import org.apache.sysds.runtime.meta.MatrixCharacteristics;
 import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.runtime.util.UtilFunctions;
 
 import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Local in-memory realization of result merge. If the resulting matrix is
  * small enough to fit into the JVM memory, this class can be used for efficient 
- * serial or multi-threaded merge.
- * 
- * 
+ * serial or multi-threaded merge. The multi-threaded merge partitions the output
+ * into disjoint row ranges, which are merged from all inputs without locking
+ * and without converting sparse outputs or inputs to dense.
  */
 public class ResultMergeLocalMemory extends ResultMerge
 {
@@ -143,8 +149,11 @@ public class ResultMergeLocalMemory extends ResultMerge
 	{
 		MatrixObject moNew = null; //always create new matrix object (required for nested parallelism)
 		
+		//number of threads can be lower than par (ensure robustness for remote exec)
+		int numThreads = Math.max(Math.min(par, InfrastructureAnalyzer.getLocalParallelism()), 1);
+		
 		if( LOG.isTraceEnabled() )
-			LOG.trace("ResultMerge (local, in-memory): Execute parallel (par="+par+") "
+			LOG.trace("ResultMerge (local, in-memory): Execute parallel (par="+numThreads+") "
 				+ "merge for output "+_output.hashCode()+" (fname="+_output.getFileName()+")");
 		
 		try
@@ -160,38 +169,50 @@ public class ResultMergeLocalMemory extends ResultMerge
 			
 			if( !inMO.isEmpty() ) //if there exist something to merge
 			{
-				//get old output matrix from cache for compare
-				//NOTE: always in dense representation in order to allow for parallel unsynchronized access 
-				long rows = outMB.getNumRows();
-				long cols = outMB.getNumColumns();
-				MatrixBlock outMBNew = new MatrixBlock((int)rows, (int)cols, false);
-				outMBNew.allocateDenseBlockUnsafe((int)rows, (int)cols);
+				//read/pin all inputs (incl. implicit read from HDFS)
+				MatrixBlock[] inMB = new MatrixBlock[inMO.size()];
+				for( int i=0; i<inMB.length; i++ )
+					inMB[i] = inMO.get(i).acquireRead().toFP64();
 				
-				//create compare matrix if required (existing data in result)
-				_compare = getCompareMatrix(outMB);
-				if( _compare != null )
-					outMBNew.copy(outMB);
+				//create output matrix in correct format according to the estimated
+				//number of non-zeros; because all tasks write disjoint row ranges,
+				//the sparse (MCSR) and dense outputs allow unsynchronized updates
+				int rows = outMB.getNumRows();
+				int cols = outMB.getNumColumns();
+				long estnnz = getOutputNnzEstimate();
+				boolean sparse = MatrixBlock.evalSparseFormatInMemory(rows, cols, estnnz);
+				MatrixBlock outMBNew = new MatrixBlock(rows, cols, sparse, estnnz);
+				if( sparse )
+					outMBNew.allocateSparseRowsBlock();
+				else
+					outMBNew.allocateDenseBlock();
 				
-				//parallel merge of all inputs
-
-				int numThreads = Math.min(par, inMO.size()); //number of inputs can be lower than par
-				numThreads = Math.min(numThreads, InfrastructureAnalyzer.getLocalParallelism()); //ensure robustness for remote exec
-				Thread[] threads = new Thread[ numThreads ];
-				for( int k=0; k<inMO.size(); k+=numThreads ) //multiple waves if necessary
-				{
-					//create and start threads
-					for( int i=0; i<threads.length; i++ )
-					{
-						ResultMergeWorker rmw = new ResultMergeWorker(inMO.get(k+i), outMBNew);
-						threads[i] = new Thread(rmw);
-						threads[i].setPriority(Thread.MAX_PRIORITY);
-						threads[i].start(); // start execution
-					}	
-					//wait for all workers to finish
-					for( int i=0; i<threads.length; i++ )
-					{
-						threads[i].join();
-					}
+				//compare with old output if required (existing data in result),
+				//in its original representation w/o conversion to dense
+				MatrixBlock compare = !outMB.isEmptyBlock(false) ? outMB.toFP64() : null;
+				
+				//parallel merge of all inputs per row partition
+				long nnz = 0;
+				if( numThreads > 1 && rows > 1 ) {
+					ExecutorService pool = CommonThreadPool.get(numThreads);
+					ArrayList<MergeTask> tasks = new ArrayList<>();
+					ArrayList<Integer> blklens = UtilFunctions
+						.getBalancedBlockSizesDefault(rows, numThreads, false);
+					for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
+						tasks.add(new MergeTask(inMB, compare, outMBNew, lb, lb+blklens.get(i)));
+					for( Future<Long> task : pool.invokeAll(tasks) )
+						nnz += task.get();
+					pool.shutdown();
+				}
+				else {
+					nnz = new MergeTask(inMB, compare, outMBNew, 0, rows).call();
+				}
+				outMBNew.setNonZeros(nnz);
+				
+				//unpin and clear in-memory inputs
+				for( MatrixObject in : inMO ) {
+					in.release();
+					in.clearData();
 				}
 				
 				//create new output matrix 
@@ -210,8 +231,6 @@ public class ResultMergeLocalMemory extends ResultMerge
 			throw new DMLRuntimeException(ex);
 		}
 		
-		//LOG.trace("ResultMerge (local, in-memory): Executed parallel (par="+par+") merge for output "+_output.getVarName()+" (fname="+_output.getFileName()+") in "+time.stop()+"ms");
-
 		return moNew;
 	}
 
@@ -282,37 +301,195 @@ public class ResultMergeLocalMemory extends ResultMerge
 	
 	
 	/**
-	 * NOTE: only used if matrix in dense
+	 * Merges all inputs into a disjoint row range of the output, which allows
+	 * for a parallel merge without synchronization. The inputs and old output
+	 * are accessed in their sparse or dense representation, where sparse rows
+	 * are compared via a merge join of the non-zeros of input and old output
+	 * (which covers all changed cells, including values set to 0).
 	 */
-	private class ResultMergeWorker implements Runnable
+	private class MergeTask implements Callable<Long>
 	{
-		private MatrixObject _inMO  = null;
-		private MatrixBlock  _outMB = null;
+		private final MatrixBlock[] _in;
+		private final MatrixBlock _compare; //null if no existing data
+		private final MatrixBlock _out;
+		private final int _rl;
+		private final int _ru;
 		
-		public ResultMergeWorker(MatrixObject inMO, MatrixBlock outMB)
-		{
-			_inMO  = inMO;
-			_outMB = outMB;
+		protected MergeTask(MatrixBlock[] in, MatrixBlock compare, MatrixBlock out, int rl, int ru) {
+			_in = in;
+			_compare = compare;
+			_out = out;
+			_rl = rl;
+			_ru = ru;
 		}
-
+		
 		@Override
-		public void run() 
-		{
-			//read each input if required
-			try
-			{
-				LOG.trace("ResultMerge (local, in-memory): Merge input "+_inMO.hashCode()+" (fname="+_inMO.getFileName()+")");
-				
-				MatrixBlock inMB = _inMO.acquireRead(); //incl. implicit read from HDFS
-				merge( _outMB, inMB, false );
-				_inMO.release();
-				_inMO.clearData();
+		public Long call() {
+			int n = _out.getNumColumns();
+			boolean direct = (_compare == null && !_isAccum);
+			double[] old = direct ? null : new double[n];
+			double[] cur = direct ? null : new double[n];
+			int[] oldIx = direct ? null : new int[n];
+			long lnnz = 0;
+			for( int i=_rl; i<_ru; i++ )
+				lnnz += direct ? mergeRow(i, n) :
+					mergeRowWithComp(i, n, old, cur, oldIx);
+			return lnnz;
+		}
+		
+		private int mergeRow(int i, int n) {
+			//disjoint non-zeros of all inputs (no existing data)
+			if( _out.isInSparseFormat() ) {
+				SparseBlock c = _out.getSparseBlock();
+				int cnt = 0;
+				for( MatrixBlock in : _in ) {
+					int len = c.size(i);
+					if( in.isEmptyBlock(false) )
+						continue;
+					if( in.isInSparseFormat() ) {
+						SparseBlock a = in.getSparseBlock();
+						if( a.isEmpty(i) ) continue;
+						int apos = a.pos(i);
+						int alen = a.size(i);
+						int[] aix = a.indexes(i);
+						double[] avals = a.values(i);
+						for( int k=apos; k<apos+alen; k++ )
+							c.append(i, aix[k], avals[k]);
+					}
+					else {
+						double[] avals = in.getDenseBlock().values(i);
+						int apos = in.getDenseBlock().pos(i);
+						for( int j=0; j<n; j++ )
+							if( avals[apos+j] != 0 )
+								c.append(i, j, avals[apos+j]);
+					}
+					cnt += (c.size(i) > len) ? 1 : 0;
+				}
+				//sort sparse row due to append of multiple inputs
+				if( cnt > 1 )
+					c.sort(i);
+				return c.size(i);
 			}
-			catch(Exception ex)
-			{
-				throw new RuntimeException("Failed to parallel merge result.", ex);
+			else {
+				double[] cvals = _out.getDenseBlock().values(i);
+				int cpos = _out.getDenseBlock().pos(i);
+				for( MatrixBlock in : _in ) {
+					if( in.isEmptyBlock(false) )
+						continue;
+					if( in.isInSparseFormat() ) {
+						SparseBlock a = in.getSparseBlock();
+						if( a.isEmpty(i) ) continue;
+						int apos = a.pos(i);
+						int alen = a.size(i);
+						int[] aix = a.indexes(i);
+						double[] avals = a.values(i);
+						for( int k=apos; k<apos+alen; k++ )
+							cvals[cpos+aix[k]] = avals[k];
+					}
+					else {
+						double[] avals = in.getDenseBlock().values(i);
+						int apos = in.getDenseBlock().pos(i);
+						for( int j=0; j<n; j++ )
+							if( avals[apos+j] != 0 )
+								cvals[cpos+j] = avals[apos+j];
+					}
+				}
+				return UtilFunctions.computeNnz(cvals, cpos, n);
 			}
 		}
 		
+		private int mergeRowWithComp(int i, int n, double[] old, double[] cur, int[] oldIx) {
+			//scatter old row and collect positions of old non-zeros
+			int olen = 0;
+			if( _compare != null && _compare.isInSparseFormat() ) {
+				SparseBlock b = _compare.getSparseBlock();
+				if( !b.isEmpty(i) ) {
+					int bpos = b.pos(i);
+					int blen = b.size(i);
+					int[] bix = b.indexes(i);
+					double[] bvals = b.values(i);
+					for( int k=bpos; k<bpos+blen; k++ ) {
+						old[bix[k]] = bvals[k];
+						oldIx[olen++] = bix[k];
+					}
+				}
+			}
+			else if( _compare != null ) {
+				double[] bvals = _compare.getDenseBlock().values(i);
+				int bpos = _compare.getDenseBlock().pos(i);
+				for( int j=0; j<n; j++ ) {
+					old[j] = bvals[bpos+j];
+					if( old[j] != 0 )
+						oldIx[olen++] = j;
+				}
+			}
+			System.arraycopy(old, 0, cur, 0, n);
+			
+			//merge all inputs in order of the serial merge
+			boolean changed = false;
+			for( MatrixBlock in : _in ) {
+				if( in.isEmptyBlock(false) && _isAccum )
+					continue; //nothing to do
+				if( !in.isInSparseFormat() && in.getDenseBlock() != null ) {
+					double[] avals = in.getDenseBlock().values(i);
+					int apos = in.getDenseBlock().pos(i);
+					for( int j=0; j<n; j++ )
+						changed |= mergeCell(j, avals[apos+j], old, cur);
+				}
+				else {
+					SparseBlock a = in.getSparseBlock();
+					boolean empty = (a == null || a.isEmpty(i));
+					int apos = empty ? 0 : a.pos(i);
+					int alen = empty ? 0 : a.size(i);
+					int[] aix = empty ? null : a.indexes(i);
+					double[] avals = empty ? null : a.values(i);
+					//merge join of input and old non-zeros
+					for( int k1=apos, k2=0; k1<apos+alen || k2<olen; ) {
+						int j1 = (k1 < apos+alen) ? aix[k1] : Integer.MAX_VALUE;
+						int j2 = (k2 < olen) ? oldIx[k2] : Integer.MAX_VALUE;
+						if( j1 <= j2 ) {
+							changed |= mergeCell(j1, avals[k1++], old, cur);
+							k2 += (j1 == j2) ? 1 : 0;
+						}
+						else {
+							changed |= mergeCell(j2, 0, old, cur);
+							k2++;
+						}
+					}
+				}
+			}
+			
+			//write merged row, and reset old row
+			int lnnz = changed ? UtilFunctions.computeNnz(cur, 0, n) : olen;
+			if( _out.isInSparseFormat() ) {
+				if( lnnz > 0 ) {
+					SparseBlock c = _out.getSparseBlock();
+					c.allocate(i, lnnz);
+					for( int j=0; j<n; j++ )
+						if( cur[j] != 0 )
+							c.append(i, j, cur[j]);
+				}
+			}
+			else {
+				System.arraycopy(cur, 0, _out.getDenseBlock().values(i),
+					_out.getDenseBlock().pos(i), n);
+			}
+			if( _compare != null && _compare.isInSparseFormat() )
+				for( int k=0; k<olen; k++ )
+					old[oldIx[k]] = 0;
+			return lnnz;
+		}
+		
+		private boolean mergeCell(int j, double valNew, double[] old, double[] cur) {
+			//see mergeWithComp for changed values, NaN awareness and accumulation
+			double valOld = old[j];
+			if( (valNew != valOld && !Double.isNaN(valNew))
+				|| Double.isNaN(valNew) != Double.isNaN(valOld) )
+			{
+				cur[j] = !_isAccum ? valNew : (cur[j] + (valNew - valOld));
+				return true;
+			}
+			return false;
+		}
 	}
 }
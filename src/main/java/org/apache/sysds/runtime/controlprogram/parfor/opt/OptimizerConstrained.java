@@ -37,6 +37,7 @@ import org.apache.sysds.runtime.controlprogram.ParForProgramBlock.PExecMode;
 import org.apache.sysds.runtime.controlprogram.ParForProgramBlock.POptMode;
 import org.apache.sysds.runtime.controlprogram.ParForProgramBlock.PResultMerge;
 import org.apache.sysds.runtime.controlprogram.ParForProgramBlock.PTaskPartitioner;
+import org.apache.sysds.runtime.controlprogram.ParForProgramBlock.PTaskQueue;
 import org.apache.sysds.runtime.controlprogram.ParForProgramBlock.PartitionFormat;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
@@ -158,6 +159,9 @@ public class OptimizerConstrained extends OptimizerRuleBased {
 
 			// rewrite 11: task partitioning 
 			rewriteSetTaskPartitioner( pn, false, flagLIX );
+			
+			// rewrite 11b: task queue
+			rewriteSetTaskQueue( pn );
 
 			// rewrite 12: fused data partitioning and execution
 			rewriteSetFusedDataPartitioningExecution(pn, M1, flagLIX, partitionedMatrices, ec.getVariables(), tmpmode);
@@ -173,6 +177,9 @@ public class OptimizerConstrained extends OptimizerRuleBased {
 
 			// rewrite 11: task partitioning
 			rewriteSetTaskPartitioner( pn, false, false ); //flagLIX always false 
+			
+			// rewrite 11b: task queue
+			rewriteSetTaskQueue( pn );
 
 			// rewrite 14: set in-place result indexing
 			HashSet<ResultVar> inplaceResultVars = new HashSet<>();
@@ -320,6 +327,23 @@ public class OptimizerConstrained extends OptimizerRuleBased {
 	}
 
 
+	///////
+	//REWRITE set task queue
+	///
+
+	@Override
+	protected void rewriteSetTaskQueue(OptNode pn)
+	{
+		// constraint awareness
+		ParForProgramBlock pfpb = (ParForProgramBlock) OptTreeConverter
+			.getAbstractPlanMapping().getMappedProg(pn.getID())[1];
+		if( pfpb.getTaskQueue() != PTaskQueue.UNSPECIFIED )
+			LOG.debug(getOptMode()+" OPT: forced 'set task queue' - result="+pfpb.getTaskQueue() );
+		else
+			super.rewriteSetTaskQueue(pn);
+	}
+
+
 	///////
 	//REWRITE set result merge
 	///
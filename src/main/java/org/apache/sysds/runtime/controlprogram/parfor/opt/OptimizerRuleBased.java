@@ -62,6 +62,7 @@ import org.apache.sysds.runtime.controlprogram.ParForProgramBlock.PExecMode;
 import org.apache.sysds.runtime.controlprogram.ParForProgramBlock.POptMode;
 import org.apache.sysds.runtime.controlprogram.ParForProgramBlock.PResultMerge;
 import org.apache.sysds.runtime.controlprogram.ParForProgramBlock.PTaskPartitioner;
+import org.apache.sysds.runtime.controlprogram.ParForProgramBlock.PTaskQueue;
 import org.apache.sysds.runtime.controlprogram.ParForProgramBlock.PartitionFormat;
 import org.apache.sysds.runtime.controlprogram.Program;
 import org.apache.sysds.runtime.controlprogram.ProgramBlock;
@@ -152,6 +153,7 @@ public class OptimizerRuleBased extends Optimizer {
 	
 	public static final double PAR_K_FACTOR        = OptimizationWrapper.PAR_FACTOR_INFRASTRUCTURE; 
 	public static final double PAR_K_MR_FACTOR     = 1.0 * OptimizationWrapper.PAR_FACTOR_INFRASTRUCTURE; 
+	public static final int PAR_K_TASK_STEALING    = 16; //min local parallelism for work-stealing task queues
 	
 	//problem and infrastructure properties
 	protected long _N    = -1; //problemsize
@@ -277,6 +279,9 @@ public class OptimizerRuleBased extends Optimizer {
 			// rewrite 11: task partitioning 
 			rewriteSetTaskPartitioner( pn, false, flagLIX );
 			
+			// rewrite 11b: task queue
+			rewriteSetTaskQueue( pn );
+			
 			// rewrite 12: fused data partitioning and execution
 			rewriteSetFusedDataPartitioningExecution(pn, M1, flagLIX, partitionedMatrices, ec.getVariables());
 			
@@ -292,6 +297,9 @@ public class OptimizerRuleBased extends Optimizer {
 			// rewrite 11: task partitioning
 			rewriteSetTaskPartitioner( pn, false, false ); //flagLIX always false 
 			
+			// rewrite 11b: task queue
+			rewriteSetTaskQueue( pn );
+			
 			// rewrite 14: set in-place result indexing
 			HashSet<ResultVar> inplaceResultVars = new HashSet<>();
 			rewriteSetInPlaceResultIndexing(pn, _cost, ec.getVariables(), inplaceResultVars, ec);
@@ -1388,6 +1396,26 @@ public class OptimizerRuleBased extends Optimizer {
 		LOG.debug(getOptMode()+" OPT: rewrite 'set task partitioner' - result="+partitioner+((flagLIX) ? ","+n.getParam(ParamType.TASK_SIZE) : "") );	
 	}
 	
+	///////
+	//REWRITE set task queue
+	///
+	
+	protected void rewriteSetTaskQueue(OptNode pn) 
+	{
+		ParForProgramBlock pfpb = (ParForProgramBlock) OptTreeConverter
+			.getAbstractPlanMapping().getMappedProgramBlock(pn.getID());
+		
+		//use per-worker deques with work stealing for local parfor with many workers
+		//and fine-grained tasks, where a single synchronized queue causes contention
+		PTaskPartitioner tp = PTaskPartitioner.valueOf(pn.getParam(ParamType.TASK_PARTITIONER));
+		boolean stealing = pn.getExecType() == ExecType.CP && pn.getK() >= PAR_K_TASK_STEALING
+			&& (tp == PTaskPartitioner.NAIVE || tp == PTaskPartitioner.FACTORING);
+		pfpb.setTaskQueue(stealing ? PTaskQueue.STEALING : PTaskQueue.FIFO);
+		
+		_numEvaluatedPlans++;
+		LOG.debug(getOptMode()+" OPT: rewrite 'set task queue' - result="+pfpb.getTaskQueue() );
+	}
+	
 	///////
 	//REWRITE set fused data partitioning / execution
 	///
@@ -2256,13 +2284,10 @@ public class OptimizerRuleBased extends Optimizer {
 
 	public static boolean isInMemoryResultMerge( long rows, long cols, double memBudget )
 	{
-		if( !ParForProgramBlock.USE_PARALLEL_RESULT_MERGE )
-		{
-			//1/4 mem budget because: 2xout (incl sparse-dense change), 1xin, 1xcompare  
-			return ( rows>=0 && cols>=0 && MatrixBlock.estimateSizeInMemory(rows, cols, 1.0) < memBudget/4 );
-		}
-		else
-			return ( rows>=0 && cols>=0 && rows*cols < Math.pow(Hop.CPThreshold, 2) );
+		//1/4 mem budget because: 2xout (incl sparse-dense change), 1xin, 1xcompare  
+		//(the parallel merge pins all inputs at once, which is accounted for by
+		//a separate estimate over their actual sizes, see ResultMergeLocalAutomatic)
+		return ( rows>=0 && cols>=0 && MatrixBlock.estimateSizeInMemory(rows, cols, 1.0) < memBudget/4 );
 	}
 
 	
@@ -32,7 +32,7 @@ import org.apache.sysds.runtime.matrix.data.IJV;
  * against this abstraction in order to enable variability/extensibility.
  * 
  * Example sparse format that can be implemented efficiently include
- * CSR, MCSR, and - with performance drawbacks - COO.
+ * CSR, MCSR, DCSR, and - with performance drawbacks - COO.
  * 
  */
 public abstract class SparseBlock implements Serializable
@@ -48,6 +48,7 @@ public abstract class SparseBlock implements Serializable
 		MCSR,
 		CSR,
 		COO,
+		DCSR,
 	}
 	
 	
@@ -215,6 +216,23 @@ public abstract class SparseBlock implements Serializable
 	 */
 	public abstract long size();
 	
+	/**
+	 * Get the index of the first non-empty row in the row range [r, ru),
+	 * or ru if all rows in this range are empty. This allows sparse
+	 * kernels to skip empty rows without probing every row, which is
+	 * important for formats that only store non-empty rows.
+	 * 
+	 * @param r  inclusive lower row index starting at 0
+	 * @param ru exclusive upper row index starting at 0
+	 * @return row index of the next non-empty row, or ru if none
+	 */
+	public int nextNonEmptyRow(int r, int ru) {
+		//default generic scan, override if necessary
+		while( r < ru && isEmpty(r) )
+			r++;
+		return Math.min(r, ru);
+	}
+	
 	/**
 	 * Get the number of non-zero values in row r.
 	 * 
@@ -569,8 +587,7 @@ public abstract class SparseBlock implements Serializable
 		 * values are available.
 		 */
 		private void findNextNonZeroRow() {
-			while( _curRow<_rlen && isEmpty(_curRow))
-				_curRow++;
+			_curRow = nextNonEmptyRow(_curRow, _rlen);
 			if(_curRow >= _rlen)
 				_noNext = true;
 			else {
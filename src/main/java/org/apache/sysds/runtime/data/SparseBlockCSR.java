@@ -399,7 +399,7 @@ public class SparseBlockCSR extends SparseBlock
 			if( !isEmpty(i) ) {
 				int start = internPosFIndexGTE(i, cl);
 				int end = internPosFIndexGTE(i, cu);
-				nnz += (start!=-1) ? (end-start) : 0;
+				nnz += (start!=-1) ? ((end!=-1) ? end : pos(i+1)) - start : 0;
 			}
 		return nnz;
 	}
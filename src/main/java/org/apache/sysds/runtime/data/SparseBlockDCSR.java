@@ -0,0 +1,873 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.data;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.apache.sysds.runtime.matrix.data.IJV;
+import org.apache.sysds.runtime.util.SortUtils;
+import org.apache.sysds.runtime.util.UtilFunctions;
+
+/**
+ * SparseBlock implementation that realizes a 'doubly compressed sparse row'
+ * representation, where only non-empty rows are stored. The entire sparse
+ * block is stored as four arrays: rowidx of length nnzr with the sorted
+ * indexes of non-empty rows, rowptr of length nnzr+1 to store offsets per
+ * non-empty row, and indexes/values of length nnz to store column indexes
+ * and values of non-zero entries. In contrast to CSR, the size of this
+ * format is independent of the number of rows, which makes it a good fit
+ * for ultra-sparse matrices with many empty rows such as graph adjacency
+ * matrices or one-hot encoded features. Row lookups require a binary search
+ * over the non-empty rows, but iterating over non-empty rows (see
+ * {@link #nextNonEmptyRow(int, int)}) is proportional to nnz and not rlen.
+ * Similar to CSR, this format is slow on incremental construction except
+ * for appends in row-major order, and the total nnz is limited to
+ * INTEGER_MAX. By construction, the row index array never contains empty
+ * rows, i.e., rows are removed once their last non-zero is deleted.
+ */
+public class SparseBlockDCSR extends SparseBlock
+{
+	private static final long serialVersionUID = 6125860457711467512L;
+
+	private int _rlen = 0;           //logical number of rows
+	private int[] _rowidx = null;    //row index array of non-empty rows (size: >=nnzr)
+	private int[] _rowptr = null;    //row pointer array of non-empty rows (size: >=nnzr+1)
+	private int[] _indexes = null;   //column index array (size: >=nnz)
+	private double[] _values = null; //value array (size: >=nnz)
+	private int _nnzr = 0;           //actual number of non-empty rows
+	private int _size = 0;           //actual number of nnz
+
+	public SparseBlockDCSR(int rlen) {
+		this(rlen, INIT_CAPACITY);
+	}
+
+	public SparseBlockDCSR(int rlen, int capacity) {
+		_rlen = rlen;
+		_rowidx = new int[Math.min(rlen, capacity)];
+		_rowptr = new int[Math.min(rlen, capacity)+1]; //ix0=0
+		_indexes = new int[capacity];
+		_values = new double[capacity];
+		_nnzr = 0;
+		_size = 0;
+	}
+
+	/**
+	 * Copy constructor sparse block abstraction.
+	 *
+	 * @param sblock sparse block to copy
+	 */
+	public SparseBlockDCSR(SparseBlock sblock)
+	{
+		long size = sblock.size();
+		if( size > Integer.MAX_VALUE )
+			throw new RuntimeException("SparseBlockDCSR supports nnz<=Integer.MAX_VALUE but got "+size);
+
+		//special case SparseBlockDCSR
+		if( sblock instanceof SparseBlockDCSR ) {
+			SparseBlockDCSR odcsr = (SparseBlockDCSR)sblock;
+			_rlen = odcsr._rlen;
+			_rowidx = Arrays.copyOf(odcsr._rowidx, odcsr._nnzr);
+			_rowptr = Arrays.copyOf(odcsr._rowptr, odcsr._nnzr+1);
+			_indexes = Arrays.copyOf(odcsr._indexes, odcsr._size);
+			_values = Arrays.copyOf(odcsr._values, odcsr._size);
+			_nnzr = odcsr._nnzr;
+			_size = odcsr._size;
+		}
+		//general case SparseBlock
+		else {
+			int rlen = sblock.numRows();
+
+			//count non-empty rows to allocate exact sizes
+			int nnzr = 0;
+			for( int i=sblock.nextNonEmptyRow(0, rlen); i<rlen; i=sblock.nextNonEmptyRow(i+1, rlen) )
+				nnzr++;
+
+			_rlen = rlen;
+			_rowidx = new int[nnzr];
+			_rowptr = new int[nnzr+1];
+			_indexes = new int[(int)size];
+			_values = new double[(int)size];
+			_nnzr = nnzr;
+			_size = (int)size;
+
+			for( int i=sblock.nextNonEmptyRow(0, rlen), k=0, pos=0; i<rlen; i=sblock.nextNonEmptyRow(i+1, rlen), k++ ) {
+				int apos = sblock.pos(i);
+				int alen = sblock.size(i);
+				System.arraycopy(sblock.indexes(i), apos, _indexes, pos, alen);
+				System.arraycopy(sblock.values(i), apos, _values, pos, alen);
+				pos += alen;
+				_rowidx[k] = i;
+				_rowptr[k+1] = pos;
+			}
+		}
+	}
+
+	/**
+	 * Initializes the DCSR sparse block from an ordered input
+	 * stream of ultra-sparse ijv triples.
+	 *
+	 * @param nnz number of non-zeros to read
+	 * @param in data input stream of ijv triples, ordered by ij
+	 * @throws IOException if deserialization error occurs
+	 */
+	public void initUltraSparse(int nnz, DataInput in)
+		throws IOException
+	{
+		//allocate space if necessary
+		if( _values.length < nnz )
+			resize(nnz);
+
+		//read ijv triples, append and update row indexes and pointers
+		_nnzr = 0;
+		int rlast = -1;
+		for( int i=0; i<nnz; i++ ) {
+			int r = in.readInt();
+			if( rlast < r ) {
+				if( _nnzr == _rowidx.length )
+					resizeRows(_nnzr+1);
+				_rowptr[_nnzr] = i;
+				_rowidx[_nnzr++] = r;
+			}
+			rlast = r;
+			_indexes[i] = in.readInt();
+			_values[i] = in.readDouble();
+		}
+		_rowptr[_nnzr] = nnz;
+
+		//update meta data
+		_size = nnz;
+	}
+
+	/**
+	 * Get the estimated in-memory size of the sparse block in DCSR
+	 * with the given dimensions w/o accounting for overallocation.
+	 *
+	 * @param nrows number of rows
+	 * @param ncols number of columns
+	 * @param sparsity sparsity ratio
+	 * @return memory estimate
+	 */
+	public static long estimateMemory(long nrows, long ncols, double sparsity) {
+		double lnnz = Math.max(INIT_CAPACITY, Math.ceil(sparsity*nrows*ncols));
+		double lnnzr = Math.min(nrows, lnnz); //upper bound non-empty rows
+
+		//32B overhead per array, int arr in nnzr, int/double arr in nnz
+		double size = 16 + 4 * 3;     //object + 3 int fields
+		size += 24 + lnnzr * 4d;      //rowidx array (row indexes)
+		size += 24 + (lnnzr+1) * 4d;  //rowptr array (row pointers)
+		size += 24 + lnnz * 4d;       //indexes array (column indexes)
+		size += 24 + lnnz * 8d;       //values array (non-zero values)
+
+		//robustness for long overflows
+		return (long) Math.min(size, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Get the number of non-empty rows in the sparse block.
+	 *
+	 * @return number of non-empty rows
+	 */
+	public int numNonEmptyRows() {
+		return _nnzr;
+	}
+
+	/**
+	 * Get raw access to underlying array of non-empty row indexes.
+	 * Only the first numNonEmptyRows() entries are valid.
+	 *
+	 * @return array of row indexes
+	 */
+	public int[] rowIndexes() {
+		return _rowidx;
+	}
+
+	/**
+	 * Get raw access to underlying array of row pointers of non-empty
+	 * rows. Only the first numNonEmptyRows()+1 entries are valid.
+	 *
+	 * @return array of row pointers
+	 */
+	public int[] rowPointers() {
+		return _rowptr;
+	}
+
+	/**
+	 * Get raw access to underlying array of column indices
+	 *
+	 * @return array of column indexes
+	 */
+	public int[] indexes() {
+		return _indexes;
+	}
+
+	/**
+	 * Get raw access to underlying array of values
+	 *
+	 * @return array of values
+	 */
+	public double[] values() {
+		return _values;
+	}
+
+	///////////////////
+	//SparseBlock implementation
+
+	@Override
+	public void allocate(int r) {
+		//do nothing everything preallocated
+	}
+
+	@Override
+	public void allocate(int r, int nnz) {
+		//do nothing everything preallocated
+	}
+
+	@Override
+	public void allocate(int r, int ennz, int maxnnz) {
+		//do nothing everything preallocated
+	}
+
+	@Override
+	public void compact(int r) {
+		//do nothing everything preallocated
+	}
+
+	@Override
+	public int numRows() {
+		return _rlen;
+	}
+
+	@Override
+	public boolean isThreadSafe() {
+		return false;
+	}
+
+	@Override
+	public boolean isContiguous() {
+		return true;
+	}
+
+	@Override
+	public boolean isAllocated(int r) {
+		return true;
+	}
+
+	@Override
+	public void reset() {
+		_nnzr = 0;
+		_size = 0;
+	}
+
+	@Override
+	public void reset(int ennz, int maxnnz) {
+		_nnzr = 0;
+		_size = 0;
+	}
+
+	@Override
+	public void reset(int r, int ennz, int maxnnz) {
+		int k = rowIndex(r);
+		if( k < 0 )
+			return;
+
+		//overlapping array copy (shift rhs values left)
+		int pos = _rowptr[k];
+		int len = _rowptr[k+1] - pos;
+		shiftLeftByN(pos+len, len);
+		decrPtr(k+1, len);
+		deleteRow(k);
+	}
+
+	@Override
+	public long size() {
+		return _size;
+	}
+
+	@Override
+	public int size(int r) {
+		int k = rowIndex(r);
+		return (k >= 0) ? _rowptr[k+1] - _rowptr[k] : 0;
+	}
+
+	@Override
+	public long size(int rl, int ru) {
+		return pos(ru) - pos(rl);
+	}
+
+	@Override
+	public long size(int rl, int ru, int cl, int cu) {
+		long nnz = 0;
+		for( int k=rowIndexGTE(rl); k<_nnzr && _rowidx[k]<ru; k++ ) {
+			int start = internPosFIndexGTE(k, cl);
+			int end = internPosFIndexGTE(k, cu);
+			nnz += (start!=-1) ? ((end!=-1) ? end : _rowptr[k+1]) - start : 0;
+		}
+		return nnz;
+	}
+
+	@Override
+	public boolean isEmpty(int r) {
+		return rowIndex(r) < 0;
+	}
+
+	@Override
+	public int nextNonEmptyRow(int r, int ru) {
+		int k = rowIndexGTE(r);
+		return (k < _nnzr && _rowidx[k] < ru) ? _rowidx[k] : ru;
+	}
+
+	@Override
+	public int[] indexes(int r) {
+		return _indexes;
+	}
+
+	@Override
+	public double[] values(int r) {
+		return _values;
+	}
+
+	@Override
+	public int pos(int r) {
+		//for empty rows, position where the row would be inserted
+		return _rowptr[rowIndexGTE(r)];
+	}
+
+	@Override
+	public boolean set(int r, int c, double v) {
+		int k = rowIndex(r);
+
+		if( k >= 0 ) {
+			//search for existing col index
+			int index = Arrays.binarySearch(_indexes, _rowptr[k], _rowptr[k+1], c);
+			if( index >= 0 ) {
+				//delete/overwrite existing value (on value delete, we shift
+				//left for (1) correct nnz maintenance, and (2) smaller size)
+				if( v == 0 ) {
+					shiftLeftAndDelete(index);
+					decrPtr(k+1, 1);
+					if( _rowptr[k] == _rowptr[k+1] )
+						deleteRow(k);
+					return true; // nnz--
+				}
+				else {
+					_values[index] = v;
+					return false;
+				}
+			}
+
+			//early abort on zero (if no overwrite)
+			if( v==0 ) return false;
+
+			//insert new index-value pair
+			insert(k, Math.abs(index+1), c, v);
+			return true; // nnz++
+		}
+
+		//early abort on zero (if no overwrite)
+		if( v==0 ) return false;
+
+		//insert new row with index-value pair
+		k = insertRow(-(k+1), r);
+		insert(k, _rowptr[k], c, v);
+		return true; // nnz++
+	}
+
+	@Override
+	public boolean add(int r, int c, double v) {
+		//early abort on zero
+		if( v==0 ) return false;
+
+		int k = rowIndex(r);
+		if( k >= 0 ) {
+			//search for existing col index
+			int index = Arrays.binarySearch(_indexes, _rowptr[k], _rowptr[k+1], c);
+			if( index >= 0 ) {
+				//add to existing value
+				_values[index] += v;
+				return false;
+			}
+			insert(k, Math.abs(index+1), c, v);
+			return true; // nnz++
+		}
+
+		//insert new row with index-value pair
+		k = insertRow(-(k+1), r);
+		insert(k, _rowptr[k], c, v);
+		return true; // nnz++
+	}
+
+	@Override
+	public void set(int r, SparseRow row, boolean deep) {
+		//delete existing values if necessary
+		reset(r, -1, -1);
+
+		int alen = row.size();
+		if( alen == 0 )
+			return;
+
+		//prepare free space (allocate and shift)
+		int k = insertRow(-(rowIndex(r)+1), r);
+		int pos = _rowptr[k];
+		if( _values.length < _size+alen )
+			resize(_size+alen);
+		shiftRightByN(pos, alen); //incl size update
+		incrPtr(k+1, alen);
+
+		//copy input row into internal representation
+		System.arraycopy(row.indexes(), 0, _indexes, pos, alen);
+		System.arraycopy(row.values(), 0, _values, pos, alen);
+	}
+
+	@Override
+	public void append(int r, int c, double v) {
+		//early abort on zero
+		if( v==0 ) return;
+
+		//fast path for appends in row-major order
+		int k = _nnzr - 1;
+		if( k < 0 || _rowidx[k] < r )
+			k = insertRow(_nnzr, r);
+		else if( _rowidx[k] != r ) {
+			k = rowIndex(r);
+			if( k < 0 )
+				k = insertRow(-(k+1), r);
+		}
+		insert(k, _rowptr[k+1], c, v);
+	}
+
+	@Override
+	public void setIndexRange(int r, int cl, int cu, double[] v, int vix, int vlen) {
+		//delete existing values in range if necessary
+		deleteIndexRange(r, cl, cu);
+
+		//determine input nnz
+		int lnnz = UtilFunctions.computeNnz(v, vix, vlen);
+		if( lnnz == 0 )
+			return;
+
+		//prepare free space (allocate and shift)
+		int k = rowIndex(r);
+		if( k < 0 )
+			k = insertRow(-(k+1), r);
+		if( _values.length < _size+lnnz )
+			resize(_size+lnnz);
+		int index = Math.abs(Arrays.binarySearch(_indexes, _rowptr[k], _rowptr[k+1], cl)+1);
+		shiftRightByN(index, lnnz);
+
+		//insert values
+		for( int i=vix; i<vix+vlen; i++ )
+			if( v[i] != 0 ) {
+				_indexes[ index ] = cl+i-vix;
+				_values[ index ] = v[i];
+				index++;
+			}
+		incrPtr(k+1, lnnz);
+	}
+
+	@Override
+	public void setIndexRange(int r, int cl, int cu, double[] v, int[] vix, int vpos, int vlen) {
+		//delete existing values in range if necessary
+		deleteIndexRange(r, cl, cu);
+		if( vlen == 0 )
+			return;
+
+		//prepare free space (allocate and shift)
+		int k = rowIndex(r);
+		if( k < 0 )
+			k = insertRow(-(k+1), r);
+		if( _values.length < _size+vlen )
+			resize(_size+vlen);
+		int index = Math.abs(Arrays.binarySearch(_indexes, _rowptr[k], _rowptr[k+1], cl)+1);
+		shiftRightByN(index, vlen);
+
+		//insert values
+		for( int i=vpos; i<vpos+vlen; i++ ) {
+			_indexes[ index ] = cl+vix[i];
+			_values[ index ] = v[i];
+			index++;
+		}
+		incrPtr(k+1, vlen);
+	}
+
+	@Override
+	public void deleteIndexRange(int r, int cl, int cu) {
+		int k = rowIndex(r);
+		if( k < 0 ) //nothing to delete
+			return;
+		int start = internPosFIndexGTE(k, cl);
+		if( start < 0 ) //nothing to delete
+			return;
+		int end = internPosFIndexGTE(k, cu);
+		if( end < 0 ) //delete all remaining
+			end = _rowptr[k+1];
+
+		//overlapping array copy (shift rhs values left)
+		shiftLeftByN(end, end-start);
+		decrPtr(k+1, end-start);
+		if( _rowptr[k] == _rowptr[k+1] )
+			deleteRow(k);
+	}
+
+	@Override
+	public void sort() {
+		for( int k=0; k<_nnzr; k++ )
+			sortRow(k);
+	}
+
+	@Override
+	public void sort(int r) {
+		int k = rowIndex(r);
+		if( k >= 0 )
+			sortRow(k);
+	}
+
+	@Override
+	public double get(int r, int c) {
+		int k = rowIndex(r);
+		if( k < 0 )
+			return 0;
+
+		//search for existing col index in [pos,pos+len)
+		int index = Arrays.binarySearch(_indexes, _rowptr[k], _rowptr[k+1], c);
+		return (index >= 0) ? _values[index] : 0;
+	}
+
+	@Override
+	public SparseRow get(int r) {
+		int k = rowIndex(r);
+		if( k < 0 )
+			return new SparseRowScalar();
+		int pos = _rowptr[k];
+		int len = _rowptr[k+1] - pos;
+
+		SparseRowVector row = new SparseRowVector(len);
+		System.arraycopy(_indexes, pos, row.indexes(), 0, len);
+		System.arraycopy(_values, pos, row.values(), 0, len);
+		row.setSize(len);
+		return row;
+	}
+
+	@Override
+	public int posFIndexLTE(int r, int c) {
+		int k = rowIndex(r);
+		if( k < 0 )
+			return -1;
+		int pos = _rowptr[k];
+		int len = _rowptr[k+1] - pos;
+
+		//search for existing col index in [pos,pos+len)
+		int index = Arrays.binarySearch(_indexes, pos, pos+len, c);
+		if( index >= 0  )
+			return index-pos;
+
+		//search lt col index (see binary search)
+		index = Math.abs( index+1 );
+		return (index-1 >= pos) ? index-1-pos : -1;
+	}
+
+	@Override
+	public int posFIndexGTE(int r, int c) {
+		int k = rowIndex(r);
+		if( k < 0 )
+			return -1;
+		int index = internPosFIndexGTE(k, c);
+		return (index>=0) ? index-_rowptr[k] : index;
+	}
+
+	@Override
+	public int posFIndexGT(int r, int c) {
+		int k = rowIndex(r);
+		if( k < 0 )
+			return -1;
+		int pos = _rowptr[k];
+		int len = _rowptr[k+1] - pos;
+
+		//search for existing col index
+		int index = Arrays.binarySearch(_indexes, pos, pos+len, c);
+		if( index >= 0  )
+			return (index+1 < pos+len) ? index+1-pos : -1;
+
+		//search gt col index (see binary search)
+		index = Math.abs( index+1 );
+		return (index < pos+len) ? index-pos : -1;
+	}
+
+	@Override
+	public Iterator<IJV> getIterator() {
+		return new SparseBlockDCSRIterator(0, _nnzr);
+	}
+
+	@Override
+	public Iterator<IJV> getIterator(int ru) {
+		return new SparseBlockDCSRIterator(0, rowIndexGTE(ru));
+	}
+
+	@Override
+	public Iterator<IJV> getIterator(int rl, int ru) {
+		return new SparseBlockDCSRIterator(rowIndexGTE(rl), rowIndexGTE(ru));
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SparseBlockDCSR: rlen=");
+		sb.append(numRows());
+		sb.append(", nnzr=");
+		sb.append(_nnzr);
+		sb.append(", nnz=");
+		sb.append(size());
+		sb.append("\n");
+		for( int k=0; k<_nnzr; k++ ) {
+			sb.append("row +");
+			sb.append(_rowidx[k]);
+			sb.append(": ");
+			//append row
+			for(int j=_rowptr[k]; j<_rowptr[k+1]; j++) {
+				sb.append(_indexes[j]);
+				sb.append(": ");
+				sb.append(_values[j]);
+				sb.append("\t");
+			}
+			sb.append("\n");
+		}
+
+		return sb.toString();
+	}
+
+	@Override
+	public boolean checkValidity(int rlen, int clen, long nnz, boolean strict) {
+		//1. correct meta data
+		if( rlen < 0 || clen < 0 ) {
+			throw new RuntimeException("Invalid block dimensions: "+rlen+" "+clen);
+		}
+
+		//2. correct array lengths
+		if( (strict && _size != nnz) || _rowptr[_nnzr] != _size || _rowidx.length < _nnzr
+			|| _rowptr.length < _nnzr+1 || _values.length < nnz || _indexes.length < nnz ) {
+			throw new RuntimeException("Incorrect array lengths.");
+		}
+
+		//3. strictly increasing row indexes and pointers (no empty rows)
+		for( int k=0; k<_nnzr; k++ ) {
+			if( _rowidx[k] < 0 || _rowidx[k] >= rlen || (k>0 && _rowidx[k-1] >= _rowidx[k]) )
+				throw new RuntimeException("Wrong row index ordering at position "+k+": "+_rowidx[k]);
+			if( _rowptr[k] >= _rowptr[k+1] )
+				throw new RuntimeException("Row pointers are not increasing at row: "+_rowidx[k]
+					+ ", with pointers "+_rowptr[k]+" >= "+_rowptr[k+1]);
+		}
+
+		//4. sorted column indexes per row and non-existing zero values
+		for( int k=0; k<_nnzr; k++ ) {
+			for( int j=_rowptr[k]+1; j<_rowptr[k+1]; j++)
+				if( _indexes[j-1] >= _indexes[j] )
+					throw new RuntimeException("Wrong sparse row ordering: "
+						+ j + " "+_indexes[j-1]+" "+_indexes[j]);
+			for( int j=_rowptr[k]; j<_rowptr[k+1]; j++ )
+				if( _values[j] == 0 || _indexes[j] < 0 || _indexes[j] >= clen )
+					throw new RuntimeException("Wrong sparse row: "
+						+ _values[j] + " at col index " + _indexes[j]);
+		}
+
+		return true;
+	}
+
+	///////////////////////////
+	// private helper methods
+
+	/**
+	 * Get the position of row r in the non-empty row index array.
+	 *
+	 * @param r row index
+	 * @return position if non-empty, otherwise -(insertion point)-1
+	 */
+	private int rowIndex(int r) {
+		//fast path for the last row (e.g., appends, row-major scans)
+		if( _nnzr > 0 && _rowidx[_nnzr-1] == r )
+			return _nnzr-1;
+		return Arrays.binarySearch(_rowidx, 0, _nnzr, r);
+	}
+
+	/**
+	 * Get the position of the first non-empty row greater or equal r.
+	 *
+	 * @param r row index
+	 * @return position in [0, nnzr]
+	 */
+	private int rowIndexGTE(int r) {
+		int k = rowIndex(r);
+		return (k >= 0) ? k : -(k+1);
+	}
+
+	private int internPosFIndexGTE(int k, int c) {
+		int pos = _rowptr[k];
+		int len = _rowptr[k+1] - pos;
+
+		//search for existing col index
+		int index = Arrays.binarySearch(_indexes, pos, pos+len, c);
+		if( index >= 0  )
+			return index;
+
+		//search gt col index (see binary search)
+		index = Math.abs( index+1 );
+		return (index < pos+len) ? index : -1;
+	}
+
+	private void sortRow(int k) {
+		int pos = _rowptr[k];
+		int len = _rowptr[k+1] - pos;
+		if( len<=100 || !SortUtils.isSorted(pos, pos+len, _indexes) )
+			SortUtils.sortByIndex(pos, pos+len, _indexes, _values);
+	}
+
+	/**
+	 * Inserts a new, temporarily empty, row r at position k of the
+	 * row index array. The caller is responsible to append at least
+	 * one non-zero value to this row.
+	 *
+	 * @param k position in the row index array
+	 * @param r row index
+	 * @return position k
+	 */
+	private int insertRow(int k, int r) {
+		if( _nnzr == _rowidx.length )
+			resizeRows(_nnzr+1);
+		System.arraycopy(_rowidx, k, _rowidx, k+1, _nnzr-k);
+		System.arraycopy(_rowptr, k, _rowptr, k+1, _nnzr+1-k);
+		_rowidx[k] = r;
+		_nnzr++;
+		return k;
+	}
+
+	private void deleteRow(int k) {
+		System.arraycopy(_rowidx, k+1, _rowidx, k, _nnzr-k-1);
+		System.arraycopy(_rowptr, k+1, _rowptr, k, _nnzr-k);
+		_nnzr--;
+	}
+
+	private void insert(int k, int ix, int c, double v) {
+		if( _size==_values.length )
+			resize(_size+1);
+		//overlapping array copy (shift rhs values right by 1)
+		System.arraycopy(_indexes, ix, _indexes, ix+1, _size-ix);
+		System.arraycopy(_values, ix, _values, ix+1, _size-ix);
+		_indexes[ix] = c;
+		_values[ix] = v;
+		_size++;
+		incrPtr(k+1, 1);
+	}
+
+	private int newCapacity(int capacity, int minsize) {
+		//compute new size until minsize reached
+		double tmpCap = Math.max(capacity, 1);
+		while( tmpCap < minsize ) {
+			tmpCap *= (tmpCap <= 1024) ?
+				RESIZE_FACTOR1 : RESIZE_FACTOR2;
+		}
+		return (int)Math.min(tmpCap, Integer.MAX_VALUE);
+	}
+
+	private int newCapacity(int minsize) {
+		return newCapacity(_values.length, minsize);
+	}
+
+	private void resize(int minsize) {
+		//reallocate arrays and copy old values
+		int capacity = newCapacity(minsize);
+		_indexes = Arrays.copyOf(_indexes, capacity);
+		_values = Arrays.copyOf(_values, capacity);
+	}
+
+	private void resizeRows(int minsize) {
+		//reallocate row arrays, bounded by the number of rows
+		int capacity = Math.min(newCapacity(_rowidx.length, minsize), Math.max(_rlen, minsize));
+		_rowidx = Arrays.copyOf(_rowidx, capacity);
+		_rowptr = Arrays.copyOf(_rowptr, capacity+1);
+	}
+
+	private void shiftLeftAndDelete(int ix) {
+		//overlapping array copy (shift rhs values left by 1)
+		System.arraycopy(_indexes, ix+1, _indexes, ix, _size-ix-1);
+		System.arraycopy(_values, ix+1, _values, ix, _size-ix-1);
+		_size--;
+	}
+
+	private void shiftRightByN(int ix, int n) {
+		//overlapping array copy (shift rhs values right by n)
+		System.arraycopy(_indexes, ix, _indexes, ix+n, _size-ix);
+		System.arraycopy(_values, ix, _values, ix+n, _size-ix);
+		_size += n;
+	}
+
+	private void shiftLeftByN(int ix, int n) {
+		//overlapping array copy (shift rhs values left by n)
+		System.arraycopy(_indexes, ix, _indexes, ix-n, _size-ix);
+		System.arraycopy(_values, ix, _values, ix-n, _size-ix);
+		_size -= n;
+	}
+
+	private void incrPtr(int kl, int cnt) {
+		for( int k=kl; k<_nnzr+1; k++ )
+			_rowptr[k] += cnt;
+	}
+
+	private void decrPtr(int kl, int cnt) {
+		for( int k=kl; k<_nnzr+1; k++ )
+			_rowptr[k] -= cnt;
+	}
+
+	/**
+	 * Sparse block iterator over the non-empty rows [kl, ku) of the
+	 * row index array, which avoids row lookups per non-zero value.
+	 */
+	private class SparseBlockDCSRIterator implements Iterator<IJV>
+	{
+		private int _ku = 0;   //non-empty row upper
+		private int _k = 0;    //current non-empty row
+		private int _pos = 0;  //current position
+		private IJV retijv = new IJV(); //reuse output tuple
+
+		protected SparseBlockDCSRIterator(int kl, int ku) {
+			_ku = ku;
+			_k = kl;
+			_pos = (kl < ku) ? _rowptr[kl] : 0;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return _k < _ku;
+		}
+
+		@Override
+		public IJV next( ) {
+			retijv.set(_rowidx[_k], _indexes[_pos], _values[_pos]);
+			if( ++_pos >= _rowptr[_k+1] )
+				_k++;
+			return retijv;
+		}
+
+		@Override
+		public void remove() {
+			throw new RuntimeException("SparseBlockDCSRIterator is unsupported!");
+		}
+	}
+}
@@ -33,6 +33,7 @@ public abstract class SparseBlockFactory
 			case MCSR: return new SparseBlockMCSR(rlen, -1);
 			case CSR: return new SparseBlockCSR(rlen);
 			case COO: return new SparseBlockCOO(rlen);
+			case DCSR: return new SparseBlockDCSR(rlen);
 			default:
 				throw new RuntimeException("Unexpected sparse block type: "+type.toString());
 		}
@@ -60,6 +61,7 @@ public abstract class SparseBlockFactory
 			case MCSR: return new SparseBlockMCSR(sblock);
 			case CSR: return new SparseBlockCSR(sblock);
 			case COO: return new SparseBlockCOO(sblock);
+			case DCSR: return new SparseBlockDCSR(sblock);
 			default:
 				throw new RuntimeException("Unexpected sparse block type: "+type.toString());
 		}
@@ -72,7 +74,8 @@ public abstract class SparseBlockFactory
 	public static SparseBlock.Type getSparseBlockType(SparseBlock sblock) {
 		return (sblock instanceof SparseBlockMCSR) ? SparseBlock.Type.MCSR :
 			(sblock instanceof SparseBlockCSR) ? SparseBlock.Type.CSR : 
-			(sblock instanceof SparseBlockCOO) ? SparseBlock.Type.COO : null;
+			(sblock instanceof SparseBlockCOO) ? SparseBlock.Type.COO :
+			(sblock instanceof SparseBlockDCSR) ? SparseBlock.Type.DCSR : null;
 	}
 
 	public static long estimateSizeSparseInMemory(SparseBlock.Type type, long nrows, long ncols, double sparsity) {
@@ -80,6 +83,7 @@ public abstract class SparseBlockFactory
 			case MCSR: return SparseBlockMCSR.estimateMemory(nrows, ncols, sparsity);
 			case CSR: return SparseBlockCSR.estimateMemory(nrows, ncols, sparsity);
 			case COO: return SparseBlockCOO.estimateMemory(nrows, ncols, sparsity);
+			case DCSR: return SparseBlockDCSR.estimateMemory(nrows, ncols, sparsity);
 			default:
 				throw new RuntimeException("Unexpected sparse block type: "+type.toString());
 		}
@@ -46,20 +46,20 @@ public class SparseBlockMCSR extends SparseBlock
 			SparseRow[] orows = ((SparseBlockMCSR)sblock)._rows;
 			_rows = new SparseRow[orows.length];
 			for( int i=0; i<_rows.length; i++ )
-				_rows[i] = new SparseRowVector(orows[i]);
+				if( orows[i] != null )
+					_rows[i] = new SparseRowVector(orows[i]);
 		}
 		//general case SparseBlock
 		else { 
-			_rows = new SparseRow[sblock.numRows()];
-			for( int i=0; i<_rows.length; i++ ) {
-				if( !sblock.isEmpty(i) ) {
-					int apos = sblock.pos(i);
-					int alen = sblock.size(i);
-					_rows[i] = new SparseRowVector(alen);
-					((SparseRowVector)_rows[i]).setSize(alen);
-					System.arraycopy(sblock.indexes(i), apos, _rows[i].indexes(), 0, alen);
-					System.arraycopy(sblock.values(i), apos, _rows[i].values(), 0, alen);
-				}
+			int rlen = sblock.numRows();
+			_rows = new SparseRow[rlen];
+			for( int i=sblock.nextNonEmptyRow(0, rlen); i<rlen; i=sblock.nextNonEmptyRow(i+1, rlen) ) {
+				int apos = sblock.pos(i);
+				int alen = sblock.size(i);
+				_rows[i] = new SparseRowVector(alen);
+				((SparseRowVector)_rows[i]).setSize(alen);
+				System.arraycopy(sblock.indexes(i), apos, _rows[i].indexes(), 0, alen);
+				System.arraycopy(sblock.values(i), apos, _rows[i].values(), 0, alen);
 			}
 		}
 	}
@@ -111,6 +111,10 @@ public class CPInstructionParser extends InstructionParser
 		String2CPInstructionType.put( "lineage" ,CPType.AggregateUnary);
 		String2CPInstructionType.put( "uacd"    , CPType.AggregateUnary);
 		String2CPInstructionType.put( "uacdap"  , CPType.AggregateUnary);
+		String2CPInstructionType.put( "uarcd"   , CPType.AggregateUnary);
+		String2CPInstructionType.put( "uarcdap" , CPType.AggregateUnary);
+		String2CPInstructionType.put( "uaccd"   , CPType.AggregateUnary);
+		String2CPInstructionType.put( "uaccdap" , CPType.AggregateUnary);
 
 		String2CPInstructionType.put( "uaggouterchain", CPType.UaggOuterChain);
 		
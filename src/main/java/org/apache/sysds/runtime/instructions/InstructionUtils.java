@@ -81,6 +81,7 @@ import org.apache.sysds.runtime.functionobjects.ReduceDiag;
 import org.apache.sysds.runtime.functionobjects.ReduceRow;
 import org.apache.sysds.runtime.functionobjects.Xor;
 import org.apache.sysds.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysds.runtime.instructions.cp.AggregateUnaryCPInstruction.AUType;
 import org.apache.sysds.runtime.instructions.cp.CPOperand;
 import org.apache.sysds.runtime.instructions.cp.CPInstruction.CPType;
 import org.apache.sysds.runtime.instructions.fed.FEDInstruction.FEDType;
@@ -92,6 +93,7 @@ import org.apache.sysds.runtime.matrix.operators.AggregateOperator;
 import org.apache.sysds.runtime.matrix.operators.AggregateTernaryOperator;
 import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
 import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.CountDistinctOperator;
 import org.apache.sysds.runtime.matrix.operators.LeftScalarOperator;
 import org.apache.sysds.runtime.matrix.operators.Operator;
 import org.apache.sysds.runtime.matrix.operators.RightScalarOperator;
@@ -874,6 +876,12 @@ public class InstructionUtils
 			case "uacmin":   return AggOp.MIN;
 			case "uarimax":  return AggOp.MAXINDEX;
 			case "uarimin":  return AggOp.MININDEX;
+			case "uacd":
+			case "uarcd":
+			case "uaccd":    return AggOp.COUNT_DISTINCT;
+			case "uacdap":
+			case "uarcdap":
+			case "uaccdap":  return AggOp.COUNT_DISTINCT_APPROX;
 		}
 		return null;
 	}
@@ -889,7 +897,9 @@ public class InstructionUtils
 			case "uavar":
 			case "ua*":
 			case "uamax":
-			case "uamin":    return Direction.RowCol;
+			case "uamin":
+			case "uacd":
+			case "uacdap":   return Direction.RowCol;
 			case"uark+":
 			case "uar+":
 			case "uarsqk+":
@@ -898,7 +908,9 @@ public class InstructionUtils
 			case "uarmax":
 			case "uarmin":
 			case "uarimax":
-			case "uarimin":  return Direction.Row;
+			case "uarimin":
+			case "uarcd":
+			case "uarcdap":  return Direction.Row;
 			case "uack+":
 			case "uac+":
 			case "uacsqk+":
@@ -907,11 +919,26 @@ public class InstructionUtils
 			case "uacvar":
 			case "uac*":
 			case "uacmax":
-			case "uacmin":   return Direction.Col;
+			case "uacmin":
+			case "uaccd":
+			case "uaccdap":  return Direction.Col;
 		}
 		return null;
 	}
 
+	public static boolean isCountDistinctOpcode(String opcode) {
+		AggOp aggOp = getAggOp(opcode);
+		return aggOp == AggOp.COUNT_DISTINCT || aggOp == AggOp.COUNT_DISTINCT_APPROX;
+	}
+
+	public static CountDistinctOperator parseCountDistinctOperator(String opcode) {
+		if( !isCountDistinctOpcode(opcode) )
+			throw new DMLRuntimeException("Invalid count distinct opcode: " + opcode);
+		AUType type = (getAggOp(opcode) == AggOp.COUNT_DISTINCT) ?
+			AUType.COUNT_DISTINCT : AUType.COUNT_DISTINCT_APPROX;
+		return new CountDistinctOperator(type, getAggDirection(opcode));
+	}
+
 	public static CorrectionLocationType deriveAggregateOperatorCorrectionLocation(String opcode)
 	{
 		if ( opcode.equalsIgnoreCase("uak+") || opcode.equalsIgnoreCase("uark+") ||
@@ -122,6 +122,12 @@ public class SPInstructionParser extends InstructionParser
 		String2SPInstructionType.put( "uac*"    , SPType.AggregateUnary);
 		String2SPInstructionType.put( "uatrace" , SPType.AggregateUnary);
 		String2SPInstructionType.put( "uaktrace", SPType.AggregateUnary);
+		String2SPInstructionType.put( "uacd"    , SPType.AggregateUnary);
+		String2SPInstructionType.put( "uarcd"   , SPType.AggregateUnary);
+		String2SPInstructionType.put( "uaccd"   , SPType.AggregateUnary);
+		String2SPInstructionType.put( "uacdap"  , SPType.AggregateUnary);
+		String2SPInstructionType.put( "uarcdap" , SPType.AggregateUnary);
+		String2SPInstructionType.put( "uaccdap" , SPType.AggregateUnary);
 
 		//binary aggregate operators (matrix multiplication operators)
 		String2SPInstructionType.put( "mapmm"      , SPType.MAPMM);
@@ -83,8 +83,9 @@ public class AggregateBinaryCPInstruction extends BinaryCPInstruction {
 	@Override
 	public void processInstruction(ExecutionContext ec) {
 		// get inputs
-		MatrixBlock matBlock1 = ec.getMatrixInput(input1.getName());
-		MatrixBlock matBlock2 = ec.getMatrixInput(input2.getName());
+		boolean fp32 = !transposeLeft && !transposeRight;
+		MatrixBlock matBlock1 = fp32 ? ec.getMatrixInputFP32(input1.getName()) : ec.getMatrixInput(input1.getName());
+		MatrixBlock matBlock2 = fp32 ? ec.getMatrixInputFP32(input2.getName()) : ec.getMatrixInput(input2.getName());
 
 		// compute matrix multiplication
 		AggregateBinaryOperator ab_op = (AggregateBinaryOperator) _optr;
@@ -92,11 +93,11 @@ public class AggregateBinaryCPInstruction extends BinaryCPInstruction {
 
 		if(matBlock1 instanceof CompressedMatrixBlock) {
 			CompressedMatrixBlock main = (CompressedMatrixBlock) matBlock1;
-			ret = main.aggregateBinaryOperations(matBlock1, matBlock2, new MatrixBlock(), ab_op, transposeLeft, transposeRight);
+			ret = main.aggregateBinaryOperations(matBlock1, matBlock2.toFP64(), new MatrixBlock(), ab_op, transposeLeft, transposeRight);
 		}
 		else if(matBlock2 instanceof CompressedMatrixBlock) {
 			CompressedMatrixBlock main = (CompressedMatrixBlock) matBlock2;
-			ret = main.aggregateBinaryOperations(matBlock1, matBlock2, new MatrixBlock(), ab_op, transposeLeft, transposeRight);
+			ret = main.aggregateBinaryOperations(matBlock1.toFP64(), matBlock2, new MatrixBlock(), ab_op, transposeLeft, transposeRight);
 		}
 		else {
 			// todo move rewrite rule here. to do 
@@ -115,6 +116,9 @@ public class AggregateBinaryCPInstruction extends BinaryCPInstruction {
 		// release inputs/outputs
 		ec.releaseMatrixInput(input1.getName());
 		ec.releaseMatrixInput(input2.getName());
-		ec.setMatrixOutput(output.getName(), ret);
+		if( fp32 )
+			ec.setMatrixOutputFP32(output.getName(), ret);
+		else
+			ec.setMatrixOutput(output.getName(), ret);
 	}
 }
@@ -21,8 +21,10 @@ package org.apache.sysds.runtime.instructions.cp;
 
 import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.common.Types.DataType;
+import org.apache.sysds.common.Types.Direction;
 import org.apache.sysds.common.Types.ExecMode;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.data.BasicTensorBlock;
@@ -31,11 +33,13 @@ import org.apache.sysds.runtime.functionobjects.Builtin;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
 import org.apache.sysds.runtime.lineage.LineageDedupUtils;
 import org.apache.sysds.runtime.lineage.LineageItem;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
 import org.apache.sysds.runtime.matrix.data.LibMatrixCountDistinct;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
 import org.apache.sysds.runtime.matrix.operators.CountDistinctOperator;
+import org.apache.sysds.runtime.matrix.operators.CountDistinctOperator.CountDistinctTypes;
 import org.apache.sysds.runtime.matrix.operators.Operator;
 import org.apache.sysds.runtime.matrix.operators.SimpleOperator;
 import org.apache.sysds.runtime.meta.DataCharacteristics;
@@ -77,13 +81,11 @@ public class AggregateUnaryCPInstruction extends UnaryCPInstruction {
 			return new AggregateUnaryCPInstruction(new SimpleOperator(Builtin.getBuiltinFnObject(opcode)),
 				in1, out, AUType.valueOf(opcode.toUpperCase()), opcode, str);
 		} 
-		else if(opcode.equalsIgnoreCase("uacd")){
-			return new AggregateUnaryCPInstruction(new SimpleOperator(null),
-			in1, out, AUType.COUNT_DISTINCT, opcode, str);
-		}
-		else if(opcode.equalsIgnoreCase("uacdap")){
-			return new AggregateUnaryCPInstruction(new SimpleOperator(null),
-			in1, out, AUType.COUNT_DISTINCT_APPROX, opcode, str);
+		else if(InstructionUtils.isCountDistinctOpcode(opcode)){
+			CountDistinctOperator op = InstructionUtils.parseCountDistinctOperator(opcode);
+			AUType type = (op.operatorType == CountDistinctTypes.COUNT) ?
+				AUType.COUNT_DISTINCT : AUType.COUNT_DISTINCT_APPROX;
+			return new AggregateUnaryCPInstruction(op, in1, out, type, opcode, str);
 		}
 		else { //DEFAULT BEHAVIOR
 			AggregateUnaryOperator aggun = InstructionUtils
@@ -169,17 +171,27 @@ public class AggregateUnaryCPInstruction extends UnaryCPInstruction {
 			case COUNT_DISTINCT_APPROX: {
 				if( !ec.getVariables().keySet().contains(input1.getName()) )
 					throw new DMLRuntimeException("Variable '" + input1.getName() + "' does not exist.");
-				MatrixBlock input = ec.getMatrixInput(input1.getName());
-				CountDistinctOperator op = new CountDistinctOperator(_type);
-				int res = LibMatrixCountDistinct.estimateDistinctValues(input, op);
-				ec.releaseMatrixInput(input1.getName());
-				ec.setScalarOutput(output_name, new IntObject(res));
+				CountDistinctOperator op = (CountDistinctOperator) _optr;
+				CacheBlock input = (input1.getDataType() == DataType.FRAME) ?
+					ec.getFrameInput(input1.getName()) : ec.getMatrixInput(input1.getName());
+				if( op.direction == Direction.RowCol ) {
+					int res = (input instanceof FrameBlock) ?
+						LibMatrixCountDistinct.estimateDistinctValues((FrameBlock) input, op) :
+						LibMatrixCountDistinct.estimateDistinctValues((MatrixBlock) input, op);
+					ec.releaseCacheableData(input1.getName());
+					ec.setScalarOutput(output_name, new IntObject(res));
+				}
+				else {
+					MatrixBlock res = LibMatrixCountDistinct.estimateDistinctValuesPerRowOrCol(input, op);
+					ec.releaseCacheableData(input1.getName());
+					ec.setMatrixOutput(output_name, res);
+				}
 				break;
 			}
 			default: {
 				AggregateUnaryOperator au_op = (AggregateUnaryOperator) _optr;
 				if (input1.getDataType() == DataType.MATRIX) {
-					MatrixBlock matBlock = ec.getMatrixInput(input1.getName());
+					MatrixBlock matBlock = ec.getMatrixInputFP32(input1.getName());
 					
 					MatrixBlock resultBlock = matBlock.aggregateUnaryOperations(au_op, new MatrixBlock(),
 						matBlock.getNumRows(), new MatrixIndexes(1, 1), true);
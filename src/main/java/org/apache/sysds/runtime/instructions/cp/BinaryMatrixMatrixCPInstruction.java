@@ -49,9 +49,9 @@ public class BinaryMatrixMatrixCPInstruction extends BinaryCPInstruction {
 			return;
 		}
 		
-		// Read input matrices
-		MatrixBlock inBlock1 = ec.getMatrixInput(input1.getName());
-		MatrixBlock inBlock2 = ec.getMatrixInput(input2.getName());
+		// Read input matrices (potentially in fp32)
+		MatrixBlock inBlock1 = ec.getMatrixInputFP32(input1.getName());
+		MatrixBlock inBlock2 = ec.getMatrixInputFP32(input2.getName());
 
 		// Perform computation using input matrices, and produce the result matrix
 		BinaryOperator bop = (BinaryOperator) _optr;
@@ -64,6 +64,8 @@ public class BinaryMatrixMatrixCPInstruction extends BinaryCPInstruction {
 			LOG.error("inBlock2 stats: " + inBlock2.getNumRows() + "  " +inBlock2.getNumColumns());
 			inBlock2 = AbstractCompressedMatrixBlock.getUncompressed(inBlock2);
 			retBlock = inBlock1.binaryOperations(bop, inBlock2, new MatrixBlock());
+		} else if(inBlock1 instanceof CompressedMatrixBlock){
+			retBlock = inBlock1.binaryOperations(bop, inBlock2.toFP64(), new MatrixBlock());
 		} else {
 			retBlock = inBlock1.binaryOperations(bop, inBlock2, new MatrixBlock());
 		}
@@ -77,6 +79,6 @@ public class BinaryMatrixMatrixCPInstruction extends BinaryCPInstruction {
 		}
 		
 		// Attach result matrix with MatrixObject associated with output_name
-		ec.setMatrixOutput(output.getName(), retBlock);
+		ec.setMatrixOutputFP32(output.getName(), retBlock);
 	}
 }
\ No newline at end of file
@@ -37,7 +37,7 @@ public class BinaryMatrixScalarCPInstruction extends BinaryCPInstruction {
 		CPOperand mat = ( input1.getDataType() == DataType.MATRIX ) ? input1 : input2;
 		CPOperand scalar = ( input1.getDataType() == DataType.MATRIX ) ? input2 : input1;
 		
-		MatrixBlock inBlock = ec.getMatrixInput(mat.getName());
+		MatrixBlock inBlock = ec.getMatrixInputFP32(mat.getName());
 		ScalarObject constant = ec.getScalarInput(scalar);
 
 		ScalarOperator sc_op = (ScalarOperator) _optr;
@@ -52,6 +52,6 @@ public class BinaryMatrixScalarCPInstruction extends BinaryCPInstruction {
  			retBlock.examSparsity();
  		}
 		
-		ec.setMatrixOutput(output.getName(), retBlock);
+		ec.setMatrixOutputFP32(output.getName(), retBlock);
 	}
 }
@@ -32,6 +32,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.lops.Lop;
 import org.apache.sysds.parser.ParameterizedBuiltinFunctionExpression;
 import org.apache.sysds.parser.Statement;
@@ -262,9 +263,11 @@ public class ParameterizedBuiltinCPInstruction extends ComputationCPInstruction
 			FrameBlock meta = ec.getFrameInput(params.get("meta"));
 			String[] colNames = data.getColumnNames();
 			
-			//compute transformapply
+			//compute transformapply (recoding via codes for string columns that were
+			//dictionary-encoded on read, while the shared input frame is not modified)
 			Encoder encoder = EncoderFactory.createEncoder(params.get("spec"), colNames, data.getNumColumns(), meta);
-			MatrixBlock mbout = encoder.apply(data, new MatrixBlock(data.getNumRows(), data.getNumColumns(), false));
+			MatrixBlock mbout = encoder.apply(data, new MatrixBlock(data.getNumRows(), data.getNumColumns(), false),
+				OptimizerUtils.getConstrainedNumThreads(-1));
 			
 			//release locks
 			ec.setMatrixOutput(output.getName(), mbout);
@@ -32,10 +32,12 @@ public class UnaryMatrixCPInstruction extends UnaryCPInstruction {
 
 	@Override 
 	public void processInstruction(ExecutionContext ec) {
-		MatrixBlock inBlock = ec.getMatrixInput(input1.getName());
+		boolean commonsMath = LibCommonsMath.isSupportedUnaryOperation(getOpcode());
+		MatrixBlock inBlock = commonsMath ? ec.getMatrixInput(input1.getName()) :
+			ec.getMatrixInputFP32(input1.getName());
 		MatrixBlock retBlock = null;
 		
-		if(LibCommonsMath.isSupportedUnaryOperation(getOpcode())) {
+		if(commonsMath) {
 			retBlock = LibCommonsMath.unaryOperations(inBlock, getOpcode());
 			ec.releaseMatrixInput(input1.getName());
 		}
@@ -48,6 +50,9 @@ public class UnaryMatrixCPInstruction extends UnaryCPInstruction {
 	 			retBlock.examSparsity();
 		}
 		
-		ec.setMatrixOutput(output.getName(), retBlock);
+		if( commonsMath )
+			ec.setMatrixOutput(output.getName(), retBlock);
+		else
+			ec.setMatrixOutputFP32(output.getName(), retBlock);
 	}
 }
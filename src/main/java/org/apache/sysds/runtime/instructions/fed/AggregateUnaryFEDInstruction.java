@@ -21,18 +21,29 @@ package org.apache.sysds.runtime.instructions.fed;
 
 import java.util.concurrent.Future;
 
+import org.apache.sysds.common.Types.Direction;
 import org.apache.sysds.lops.LopProperties.ExecType;
+import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest;
 import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
 import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse.ResponseType;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedUDF;
 import org.apache.sysds.runtime.controlprogram.federated.FederationMap;
 import org.apache.sysds.runtime.controlprogram.federated.FederationUtils;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
 import org.apache.sysds.runtime.instructions.cp.CPOperand;
+import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.instructions.cp.IntObject;
+import org.apache.sysds.runtime.matrix.data.LibMatrixCountDistinct;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.sketch.CountDistinctSketch;
 import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysds.runtime.matrix.operators.CountDistinctOperator;
 import org.apache.sysds.runtime.matrix.operators.Operator;
+import org.apache.sysds.runtime.meta.DataCharacteristics;
 
 public class AggregateUnaryFEDInstruction extends UnaryFEDInstruction {
 	
@@ -56,6 +67,9 @@ public class AggregateUnaryFEDInstruction extends UnaryFEDInstruction {
 		String opcode = parts[0];
 		CPOperand in1 = new CPOperand(parts[1]);
 		CPOperand out = new CPOperand(parts[2]);
+		if(InstructionUtils.isCountDistinctOpcode(opcode))
+			return new AggregateUnaryFEDInstruction(InstructionUtils.parseCountDistinctOperator(opcode),
+				in1, null, out, opcode, str);
 		AggregateUnaryOperator aggun = InstructionUtils.parseBasicAggregateUnaryOperator(opcode);
 		if(InstructionUtils.getExecType(str) == ExecType.SPARK)
 			str = InstructionUtils.replaceOperand(str, 4, "-1");
@@ -64,7 +78,9 @@ public class AggregateUnaryFEDInstruction extends UnaryFEDInstruction {
 	
 	@Override
 	public void processInstruction(ExecutionContext ec) {
-		if (getOpcode().contains("var")) {
+		if (_optr instanceof CountDistinctOperator) {
+			processCountDistinct(ec);
+		}else if (getOpcode().contains("var")) {
 			processVar(ec);
 		}else{
 			processDefault(ec);
@@ -121,4 +137,65 @@ public class AggregateUnaryFEDInstruction extends UnaryFEDInstruction {
 		else
 			ec.setMatrixOutput(output.getName(), FederationUtils.aggMatrix(aop, tmp, meanTmp, map));
 	}
+
+	/**
+	 * Counts the distinct values of a federated matrix by computing sketches of all federated
+	 * partitions (a single sketch, or sketches per row or column), which are merged at the
+	 * offsets of the federated ranges. Approximate counts only transfer the small sketches,
+	 * while exact counts transfer the distinct values of each partition.
+	 * 
+	 * @param ec execution context
+	 */
+	private void processCountDistinct(ExecutionContext ec) {
+		CountDistinctOperator op = (CountDistinctOperator) _optr;
+		MatrixObject in = ec.getMatrixObject(input1);
+		DataCharacteristics mc = in.getDataCharacteristics();
+		long maxDistinct = LibMatrixCountDistinct.getMaxDistinct(
+			op.direction, mc.getRows(), mc.getCols(), mc.getNonZeros());
+		boolean row = op.direction == Direction.Row;
+		CountDistinctSketch[] sketches = LibMatrixCountDistinct.createSketches(op, maxDistinct,
+			(op.direction == Direction.RowCol) ? 1 : (int) (row ? mc.getRows() : mc.getCols()));
+
+		in.getFedMapping().forEachParallel((range, data) -> {
+			try {
+				FederatedResponse response = data.executeFederatedOperation(new FederatedRequest(
+					RequestType.EXEC_UDF, -1, new CountDistinctSketches(data.getVarID(), op, maxDistinct))).get();
+				if(!response.isSuccessful())
+					response.throwExceptionFromResponse();
+				CountDistinctSketch[] partial = (CountDistinctSketch[]) response.getData()[0];
+				int off = (op.direction == Direction.RowCol) ? 0 : (int) range.getBeginDims()[row ? 0 : 1];
+				synchronized(sketches) {
+					LibMatrixCountDistinct.mergeSketches(sketches, off, partial);
+				}
+			}
+			catch(Exception e) {
+				throw new DMLRuntimeException(e);
+			}
+			return null;
+		});
+
+		if( output.isScalar() )
+			ec.setScalarOutput(output.getName(), new IntObject(sketches[0].getEstimate()));
+		else
+			ec.setMatrixOutput(output.getName(), LibMatrixCountDistinct.getEstimates(sketches, op.direction));
+	}
+
+	private static class CountDistinctSketches extends FederatedUDF {
+		private static final long serialVersionUID = -2218384063209634186L;
+		private final CountDistinctOperator _op;
+		private final long _maxDistinct;
+
+		protected CountDistinctSketches(long input, CountDistinctOperator op, long maxDistinct) {
+			super(new long[] {input});
+			_op = op;
+			_maxDistinct = maxDistinct;
+		}
+
+		@Override
+		public FederatedResponse execute(ExecutionContext ec, Data... data) {
+			MatrixBlock mb = ((MatrixObject) data[0]).acquireReadAndRelease();
+			return new FederatedResponse(ResponseType.SUCCESS,
+				new Object[] {LibMatrixCountDistinct.computeSketches(mb, _op, _maxDistinct)});
+		}
+	}
 }
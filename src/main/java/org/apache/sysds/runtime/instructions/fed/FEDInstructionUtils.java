@@ -25,6 +25,7 @@ import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.controlprogram.federated.FederationMap.FType;
 import org.apache.sysds.runtime.instructions.Instruction;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
 import org.apache.sysds.runtime.instructions.cp.AggregateBinaryCPInstruction;
 import org.apache.sysds.runtime.instructions.cp.AggregateTernaryCPInstruction;
 import org.apache.sysds.runtime.instructions.cp.AggregateUnaryCPInstruction;
@@ -112,7 +113,8 @@ public class FEDInstructionUtils {
 				} else if(inst.getOpcode().equalsIgnoreCase("rshape") && mo1.isFederated()) {
 					fedinst = ReshapeFEDInstruction.parseInstruction(inst.getInstructionString());
 				} else if(inst instanceof AggregateUnaryCPInstruction  && mo1.isFederated() &&
-					((AggregateUnaryCPInstruction) instruction).getAUType() == AggregateUnaryCPInstruction.AUType.DEFAULT) {
+					(((AggregateUnaryCPInstruction) instruction).getAUType() == AggregateUnaryCPInstruction.AUType.DEFAULT
+					|| InstructionUtils.isCountDistinctOpcode(inst.getOpcode()))) {
 					fedinst = AggregateUnaryFEDInstruction.parseInstruction(inst.getInstructionString());
 				}
 			}
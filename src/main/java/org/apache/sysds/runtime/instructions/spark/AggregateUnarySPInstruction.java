@@ -19,12 +19,19 @@
 
 package org.apache.sysds.runtime.instructions.spark;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+
 import org.apache.spark.api.java.JavaPairRDD;
 import org.apache.spark.api.java.JavaRDD;
 import org.apache.spark.api.java.function.Function;
+import org.apache.spark.api.java.function.Function2;
+import org.apache.spark.api.java.function.PairFlatMapFunction;
 import org.apache.spark.api.java.function.PairFunction;
 import org.apache.sysds.common.Types;
 import org.apache.sysds.common.Types.CorrectionLocationType;
+import org.apache.sysds.common.Types.Direction;
+import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.AggBinaryOp.SparkAggType;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
@@ -38,11 +45,15 @@ import org.apache.sysds.runtime.instructions.spark.functions.AggregateDropCorrec
 import org.apache.sysds.runtime.instructions.spark.functions.FilterDiagMatrixBlocksFunction;
 import org.apache.sysds.runtime.instructions.spark.functions.FilterNonEmptyBlocksFunction;
 import org.apache.sysds.runtime.instructions.spark.utils.RDDAggregateUtils;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.LibMatrixCountDistinct;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysds.runtime.matrix.data.OperationsOnMatrixValues;
 import org.apache.sysds.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysds.runtime.matrix.data.sketch.CountDistinctSketch;
 import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysds.runtime.matrix.operators.CountDistinctOperator;
 import org.apache.sysds.runtime.meta.DataCharacteristics;
 import scala.Tuple2;
 
@@ -57,6 +68,12 @@ public class AggregateUnarySPInstruction extends UnarySPInstruction {
 		_aop = aop;
 	}
 
+	protected AggregateUnarySPInstruction(SPType type, CountDistinctOperator op, CPOperand in,
+			CPOperand out, SparkAggType aggtype, String opcode, String istr) {
+		super(type, op, in, out, opcode, istr);
+		_aggtype = aggtype;
+	}
+
 	public static AggregateUnarySPInstruction parseInstruction(String str) {
 		String[] parts = InstructionUtils.getInstructionPartsWithValueType(str);
 		InstructionUtils.checkNumFields(parts, 3);
@@ -66,6 +83,11 @@ public class AggregateUnarySPInstruction extends UnarySPInstruction {
 		CPOperand out = new CPOperand(parts[2]);
 		SparkAggType aggtype = SparkAggType.valueOf(parts[3]);
 		
+		if( InstructionUtils.isCountDistinctOpcode(opcode) ) {
+			CountDistinctOperator op = InstructionUtils.parseCountDistinctOperator(opcode);
+			return new AggregateUnarySPInstruction(SPType.AggregateUnary, op, in1, out, aggtype, opcode, str);
+		}
+		
 		String aopcode = InstructionUtils.deriveAggregateOperatorOpcode(opcode);
 		CorrectionLocationType corrLoc = InstructionUtils.deriveAggregateOperatorCorrectionLocation(opcode);
 		
@@ -76,7 +98,9 @@ public class AggregateUnarySPInstruction extends UnarySPInstruction {
 	
 	@Override
 	public void processInstruction( ExecutionContext ec ) {
-		if (input1.getDataType() == Types.DataType.MATRIX) {
+		if (_optr instanceof CountDistinctOperator) {
+			processCountDistinct(ec);
+		} else if (input1.getDataType() == Types.DataType.MATRIX) {
 			processMatrixAggregate(ec);
 		} else {
 			processTensorAggregate(ec);
@@ -141,6 +165,83 @@ public class AggregateUnarySPInstruction extends UnarySPInstruction {
 		}
 	}
 
+	/**
+	 * Counts the distinct values of a matrix or frame by computing sketches per block
+	 * (a single sketch, or sketches per row or column of the block), which are merged
+	 * into the sketches of the entire input or the output blocks, respectively.
+	 * 
+	 * @param ec execution context
+	 */
+	private void processCountDistinct(ExecutionContext ec) {
+		SparkExecutionContext sec = (SparkExecutionContext)ec;
+		DataCharacteristics mc = sec.getDataCharacteristics(input1.getName());
+		CountDistinctOperator op = (CountDistinctOperator) _optr;
+		if( !mc.dimsKnown() )
+			throw new DMLRuntimeException("Unknown dimensions of count distinct input: " + mc);
+		long maxDistinct = LibMatrixCountDistinct.getMaxDistinct(op.direction,
+			mc.getRows(), mc.getCols(), input1.isFrame() ? -1 : mc.getNonZeros());
+		
+		//frames are partitioned into blocks of rows with all columns
+		if( input1.isFrame() ) {
+			int blen = (mc.getBlocksize() > 0) ? mc.getBlocksize() : ConfigurationManager.getBlocksize();
+			JavaPairRDD<Long,FrameBlock> in = sec.getFrameBinaryBlockRDDHandleForVariable(input1.getName());
+			if( op.direction == Direction.Row ) {
+				JavaPairRDD<MatrixIndexes,MatrixBlock> out = RDDAggregateUtils.mergeByKey(in.flatMapToPair(
+					new RDDFrameRowCountDistinctFunction(op, maxDistinct, mc.getRows(), blen)));
+				sec.getDataCharacteristics(output.getName()).set(mc.getRows(), 1, blen);
+				sec.setRDDHandleForVariable(output.getName(), out);
+				sec.addLineageRDD(output.getName(), input1.getName());
+			}
+			else {
+				CountDistinctSketch[] sketches = in.values()
+					.map(new RDDFrameSketchFunction(op, maxDistinct))
+					.fold(createEmptySketches(op, maxDistinct, (op.direction == Direction.Col) ?
+						(int) mc.getCols() : 1), new MergeSketchesFunction())._2();
+				sec.setMatrixOutput(output.getName(), LibMatrixCountDistinct.getEstimates(sketches, op.direction));
+			}
+			return;
+		}
+		
+		//matrix sketches with the covered number of cells, rows, or columns in order
+		//to account for zeros of empty blocks that are not materialized in the rdd
+		JavaPairRDD<Long, Tuple2<Long, CountDistinctSketch[]>> tmp = sec
+			.getBinaryMatrixBlockRDDHandleForVariable(input1.getName())
+			.mapToPair(new RDDSketchFunction(op, maxDistinct));
+		if( op.direction == Direction.RowCol ) {
+			Tuple2<Long, CountDistinctSketch[]> ret = tmp.values()
+				.fold(createEmptySketches(op, maxDistinct, 1), new MergeSketchesFunction());
+			if( ret._1() < mc.getLength() )
+				ret._2()[0].update(0);
+			sec.setMatrixOutput(output.getName(), LibMatrixCountDistinct.getEstimates(ret._2(), op.direction));
+		}
+		else {
+			if( _aggtype != SparkAggType.NONE )
+				tmp = tmp.reduceByKey(new MergeSketchesFunction());
+			JavaPairRDD<MatrixIndexes,MatrixBlock> out = tmp.mapToPair(new RDDSketchEstimatesFunction(
+				op.direction, (op.direction == Direction.Row) ? mc.getCols() : mc.getRows()));
+			DataCharacteristics mcOut = sec.getDataCharacteristics(output.getName());
+			if( !mcOut.dimsKnown() ) {
+				boolean row = op.direction == Direction.Row;
+				mcOut.set(row ? mc.getRows() : 1, row ? 1 : mc.getCols(), mc.getBlocksize());
+			}
+			sec.setRDDHandleForVariable(output.getName(), out);
+			sec.addLineageRDD(output.getName(), input1.getName());
+		}
+	}
+
+	/**
+	 * Creates the neutral element for merging partition sketches, which makes the
+	 * aggregation robust to rdds without any (materialized) blocks.
+	 * 
+	 * @param op          count distinct operator
+	 * @param maxDistinct maximum number of distinct values per sketch
+	 * @param num         number of sketches
+	 * @return covered number of cells (zero) and empty sketches
+	 */
+	private static Tuple2<Long, CountDistinctSketch[]> createEmptySketches(CountDistinctOperator op, long maxDistinct, int num) {
+		return new Tuple2<>(0L, LibMatrixCountDistinct.createSketches(op, maxDistinct, num));
+	}
+
 	private void processTensorAggregate(ExecutionContext ec) {
 		SparkExecutionContext sec = (SparkExecutionContext)ec;
 
@@ -341,4 +442,140 @@ public class AggregateUnarySPInstruction extends UnarySPInstruction {
 			return out;
 		}
 	}
+
+	private static class RDDSketchFunction implements PairFunction<Tuple2<MatrixIndexes, MatrixBlock>, Long, Tuple2<Long, CountDistinctSketch[]>>
+	{
+		private static final long serialVersionUID = -4273659061498470612L;
+		
+		private final CountDistinctOperator _op;
+		private final long _maxDistinct;
+		
+		public RDDSketchFunction( CountDistinctOperator op, long maxDistinct ) {
+			_op = op;
+			_maxDistinct = maxDistinct;
+		}
+		
+		@Override
+		public Tuple2<Long, Tuple2<Long, CountDistinctSketch[]>> call( Tuple2<MatrixIndexes, MatrixBlock> arg0 ) 
+			throws Exception 
+		{
+			MatrixIndexes ix = arg0._1();
+			MatrixBlock blk = arg0._2();
+			
+			//key of output block, and number of covered cells, columns, or rows
+			long key = (_op.direction == Direction.Row) ? ix.getRowIndex() :
+				(_op.direction == Direction.Col) ? ix.getColumnIndex() : 1;
+			long covered = (_op.direction == Direction.Row) ? blk.getNumColumns() :
+				(_op.direction == Direction.Col) ? blk.getNumRows() : blk.getLength();
+			
+			return new Tuple2<>(key, new Tuple2<>(covered,
+				LibMatrixCountDistinct.computeSketches(blk, _op, _maxDistinct)));
+		}
+	}
+
+	private static class RDDFrameSketchFunction implements Function<FrameBlock, Tuple2<Long, CountDistinctSketch[]>>
+	{
+		private static final long serialVersionUID = 3170925864519483021L;
+		
+		private final CountDistinctOperator _op;
+		private final long _maxDistinct;
+		
+		public RDDFrameSketchFunction( CountDistinctOperator op, long maxDistinct ) {
+			_op = op;
+			_maxDistinct = maxDistinct;
+		}
+		
+		@Override
+		public Tuple2<Long, CountDistinctSketch[]> call( FrameBlock arg0 ) 
+			throws Exception 
+		{
+			return new Tuple2<>((long) arg0.getNumRows(),
+				LibMatrixCountDistinct.computeSketches(arg0, _op, _maxDistinct));
+		}
+	}
+
+	private static class MergeSketchesFunction implements Function2<Tuple2<Long, CountDistinctSketch[]>,
+		Tuple2<Long, CountDistinctSketch[]>, Tuple2<Long, CountDistinctSketch[]>>
+	{
+		private static final long serialVersionUID = -1709318432951327684L;
+		
+		@Override
+		public Tuple2<Long, CountDistinctSketch[]> call( Tuple2<Long, CountDistinctSketch[]> arg0,
+			Tuple2<Long, CountDistinctSketch[]> arg1 ) 
+			throws Exception 
+		{
+			return new Tuple2<>(arg0._1() + arg1._1(),
+				LibMatrixCountDistinct.mergeSketches(arg0._2(), 0, arg1._2()));
+		}
+	}
+
+	private static class RDDSketchEstimatesFunction implements PairFunction<Tuple2<Long, Tuple2<Long, CountDistinctSketch[]>>, MatrixIndexes, MatrixBlock>
+	{
+		private static final long serialVersionUID = 8394018827256490167L;
+		
+		private final Direction _dir;
+		private final long _len; //number of columns (rows) of a row (column)
+		
+		public RDDSketchEstimatesFunction( Direction dir, long len ) {
+			_dir = dir;
+			_len = len;
+		}
+		
+		@Override
+		public Tuple2<MatrixIndexes, MatrixBlock> call( Tuple2<Long, Tuple2<Long, CountDistinctSketch[]>> arg0 ) 
+			throws Exception 
+		{
+			CountDistinctSketch[] sketches = arg0._2()._2();
+			
+			//add zeros of empty blocks, which are not materialized in the rdd
+			if( arg0._2()._1() < _len )
+				for( CountDistinctSketch sketch : sketches )
+					sketch.update(0);
+			
+			MatrixIndexes ixOut = (_dir == Direction.Row) ?
+				new MatrixIndexes(arg0._1(), 1) : new MatrixIndexes(1, arg0._1());
+			return new Tuple2<>(ixOut, LibMatrixCountDistinct.getEstimates(sketches, _dir));
+		}
+	}
+
+	private static class RDDFrameRowCountDistinctFunction implements PairFlatMapFunction<Tuple2<Long, FrameBlock>, MatrixIndexes, MatrixBlock>
+	{
+		private static final long serialVersionUID = -6551632190758390521L;
+		
+		private final CountDistinctOperator _op;
+		private final long _maxDistinct;
+		private final long _rlen;
+		private final int _blen;
+		
+		public RDDFrameRowCountDistinctFunction( CountDistinctOperator op, long maxDistinct, long rlen, int blen ) {
+			_op = op;
+			_maxDistinct = maxDistinct;
+			_rlen = rlen;
+			_blen = blen;
+		}
+		
+		@Override
+		public Iterator<Tuple2<MatrixIndexes, MatrixBlock>> call( Tuple2<Long, FrameBlock> arg0 ) 
+			throws Exception 
+		{
+			//frame blocks contain entire rows, but are not aligned with matrix blocks,
+			//so we create partial output blocks which are merged by key
+			long rix = arg0._1() - 1;
+			FrameBlock blk = arg0._2();
+			MatrixBlock counts = LibMatrixCountDistinct.getEstimates(
+				LibMatrixCountDistinct.computeSketches(blk, _op, _maxDistinct), Direction.Row);
+			
+			ArrayList<Tuple2<MatrixIndexes, MatrixBlock>> ret = new ArrayList<>();
+			for( int i = 0; i < blk.getNumRows(); ) {
+				long bix = (rix + i) / _blen;
+				int pos = (int) ((rix + i) % _blen);
+				int len = Math.min(_blen - pos, blk.getNumRows() - i);
+				MatrixBlock out = new MatrixBlock((int) Math.min(_blen, _rlen - bix * _blen), 1, false);
+				out.copy(pos, pos + len - 1, 0, 0, counts.slice(i, i + len - 1), true);
+				ret.add(new Tuple2<>(new MatrixIndexes(bix + 1, 1), out));
+				i += len;
+			}
+			return ret.iterator();
+		}
+	}
 }
@@ -92,6 +92,12 @@ public class MapmmChainSPInstruction extends SPInstruction {
 		}
 	}
 	
+	@Override
+	public String[] getBroadcastInputs() {
+		return (_input3 != null) ? new String[] {_input2.getName(), _input3.getName()} :
+			new String[] {_input2.getName()};
+	}
+
 	@Override
 	public void processInstruction(ExecutionContext ec) {
 		SparkExecutionContext sec = (SparkExecutionContext)ec;
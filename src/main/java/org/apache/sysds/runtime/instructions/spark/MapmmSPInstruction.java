@@ -89,6 +89,11 @@ public class MapmmSPInstruction extends BinarySPInstruction {
 		return new MapmmSPInstruction(aggbin, in1, in2, out, type, outputEmpty, aggtype, opcode, str);
 	}
 	
+	@Override
+	public String[] getBroadcastInputs() {
+		return new String[] {_type.isRight() ? input2.getName() : input1.getName()};
+	}
+
 	@Override
 	public void processInstruction(ExecutionContext ec)  {
 		SparkExecutionContext sec = (SparkExecutionContext)ec;
@@ -71,6 +71,11 @@ public class PmmSPInstruction extends BinarySPInstruction {
 		}
 	}
 	
+	@Override
+	public String[] getBroadcastInputs() {
+		return new String[] {(_type==CacheType.LEFT) ? input1.getName() : input2.getName()};
+	}
+
 	@Override
 	public void processInstruction(ExecutionContext ec) {
 		SparkExecutionContext sec = (SparkExecutionContext)ec;
@@ -95,6 +95,16 @@ public abstract class SPInstruction extends Instruction {
 		return tmp;
 	}
 
+	/**
+	 * Obtains the names of the CP variables this instruction broadcasts, which
+	 * allows creating these broadcasts asynchronously before its execution.
+	 * 
+	 * @return array of variable names, empty if no broadcasts are used
+	 */
+	public String[] getBroadcastInputs() {
+		return new String[0];
+	}
+
 	@Override 
 	public abstract void processInstruction(ExecutionContext ec);
 
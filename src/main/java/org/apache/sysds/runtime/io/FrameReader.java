@@ -87,7 +87,7 @@ public abstract class FrameReader {
 	 * 
 	 * @param schema schema as array of ValueTypes
 	 * @param names  column names
-	 * @param nrow   number of rows
+	 * @param nrow   number of rows (if negative, the allocation is deferred to the reader)
 	 * @return frame block
 	 * @throws IOException if IOException occurs
 	 */
@@ -99,7 +99,8 @@ public abstract class FrameReader {
 
 		// prepare result frame block
 		FrameBlock ret = new FrameBlock(schema, names);
-		ret.ensureAllocatedColumns((int) nrow);
+		if(nrow >= 0)
+			ret.ensureAllocatedColumns((int) nrow);
 		return ret;
 	}
 
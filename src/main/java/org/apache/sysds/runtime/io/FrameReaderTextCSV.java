@@ -83,6 +83,10 @@ public class FrameReaderTextCSV extends FrameReader {
 		// core read (sequential/parallel)
 		readCSVFrameFromHDFS(path, job, fs, ret, lschema, lnames, rlen, clen);
 
+		// dictionary encoding of low-cardinality string columns
+		if( FrameBlock.DICT_ENCODE_STRINGS )
+			ret.compactStringColumns();
+
 		return ret;
 	}
 
@@ -100,6 +104,10 @@ public class FrameReaderTextCSV extends FrameReader {
 		InputSplit split = informat.getSplits(null, 1)[0];
 		readCSVFrameFromInputSplit(split, informat, null, ret, schema, names, rlen, clen, 0, true);
 
+		// dictionary encoding of low-cardinality string columns
+		if( FrameBlock.DICT_ENCODE_STRINGS )
+			ret.compactStringColumns();
+
 		return ret;
 	}
 
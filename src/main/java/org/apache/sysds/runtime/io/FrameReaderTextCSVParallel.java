@@ -20,8 +20,11 @@
 package org.apache.sysds.runtime.io;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -41,10 +44,18 @@ import org.apache.sysds.runtime.matrix.data.FrameBlock;
 import org.apache.sysds.runtime.matrix.data.Pair;
 import org.apache.sysds.runtime.transform.TfUtils;
 import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.UtilFunctions;
 
 /**
  * Multi-threaded frame text csv reader.
  * 
+ * The reader makes a single pass over the input: each split is parsed into
+ * split-local columns of primitive arrays (according to the schema), directly
+ * from the bytes of the individual lines without intermediate string objects
+ * for non-string cells. The row offsets of the splits are then resolved via a
+ * cumsum over the parsed row counts, and the split-local columns are copied 
+ * into the output frame block. Lines with quotes or meta data as well as 
+ * multi-byte delimiters fall back to string-based parsing.
  */
 public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 {
@@ -69,26 +80,38 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 			ExecutorService pool = CommonThreadPool.get(
 				Math.min(numThreads, splits.length));
 			
-			//compute num rows per split
-			ArrayList<CountRowsTask> tasks = new ArrayList<>();
+			//parse individual splits into split-local columns
+			ArrayList<ParseSplitTask> tasks = new ArrayList<>();
 			for( int i=0; i<splits.length; i++ )
-				tasks.add(new CountRowsTask(splits[i], informat, job, _props.hasHeader(), i==0));
-			List<Future<Long>> cret = pool.invokeAll(tasks);
+				tasks.add(new ParseSplitTask(splits[i], informat, job, dest, i==0));
+			List<Future<SplitColumns>> pret = pool.invokeAll(tasks);
 
 			//compute row offset per split via cumsum on row counts
-			long offset = 0;
-			List<Long> offsets = new ArrayList<>();
-			for( Future<Long> count : cret ) {
-				offsets.add(offset);
-				offset += count.get();
+			int offset = 0;
+			List<SplitColumns> parts = new ArrayList<>();
+			for( Future<SplitColumns> part : pret ) {
+				SplitColumns tmp = part.get();
+				tmp.setOffset(offset);
+				parts.add(tmp);
+				offset += tmp.getNumRows();
 			}
 			
-			//read individual splits
-			ArrayList<ReadRowsTask> tasks2 = new ArrayList<>();
-			for( int i=0; i<splits.length; i++ )
-				tasks2.add( new ReadRowsTask(splits[i], informat, job, dest, offsets.get(i).intValue(), i==0));
+			//allocate output with the final number of rows if unknown
+			if( rlen < 0 )
+				dest.ensureAllocatedColumns(offset);
+			else if( offset > dest.getNumRows() )
+				throw new IOException("Invalid number of rows ("+offset+", expected="+dest.getNumRows()+") "
+					+ "found in delimited file ("+path+").");
+			
+			//copy split-local columns into the output
+			ArrayList<CopyColumnsTask> tasks2 = new ArrayList<>();
+			for( SplitColumns part : parts )
+				tasks2.add(new CopyColumnsTask(part, dest));
 			CommonThreadPool.invokeAndShutdown(pool, tasks2);
 		} 
+		catch (IOException e) {
+			throw e;
+		}
 		catch (Exception e) {
 			throw new IOException("Failed parallel read of text csv input.", e);
 		}
@@ -98,106 +121,292 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 	protected Pair<Integer,Integer> computeCSVSize( Path path, JobConf job, FileSystem fs) 
 		throws IOException 
 	{
-		int numThreads = OptimizerUtils.getParallelTextReadParallelism();
-		
 		TextInputFormat informat = new TextInputFormat();
 		informat.configure(job);
-		InputSplit[] splits = informat.getSplits(job, numThreads);
+		InputSplit[] splits = informat.getSplits(job, 1);
+		splits = IOUtilFunctions.sortInputSplits(splits);
 		
-		//compute number of columns
+		//compute number of columns, while the number of rows (-1 for 
+		//deferred output allocation) is determined during the single-pass read
 		int ncol = IOUtilFunctions.countNumColumnsCSV(splits, informat, job, _props.getDelim());
-		
-		//compute number of rows
-		int nrow = 0;
-		ExecutorService pool = CommonThreadPool.get(numThreads);
-		try {
-			ArrayList<CountRowsTask> tasks = new ArrayList<>();
-			for( int i=0; i<splits.length; i++ )
-				tasks.add(new CountRowsTask(splits[i], informat, job, _props.hasHeader(), i==0));
-			List<Future<Long>> cret = pool.invokeAll(tasks);
-			for( Future<Long> count : cret ) 
-				nrow += count.get().intValue();
-		}
-		catch (Exception e) {
-			throw new IOException("Failed parallel read of text csv input.", e);
-		}
-		finally {
-			pool.shutdown();
-		}
-		return new Pair<>(nrow, ncol);
+		return new Pair<>(-1, ncol);
 	}
 
-	private static class CountRowsTask implements Callable<Long> 
+	private class ParseSplitTask implements Callable<SplitColumns> 
 	{
-		private InputSplit _split = null;
-		private TextInputFormat _informat = null;
-		private JobConf _job = null;
-		private boolean _hasHeader = false;
-		private boolean _firstSplit = false;
-
-		public CountRowsTask(InputSplit split, TextInputFormat informat, JobConf job, boolean hasHeader, boolean first) {
+		private final InputSplit _split;
+		private final TextInputFormat _informat;
+		private final JobConf _job;
+		private final FrameBlock _dest;
+		private final boolean _isFirstSplit;
+		
+		//csv properties
+		private final boolean _isFill;
+		private final double _dfillValue;
+		private final String _sfillValue;
+		private final Set<String> _naValues;
+		private final byte[][] _naBytes;
+		private final String _delim;
+		
+		public ParseSplitTask(InputSplit split, TextInputFormat informat, JobConf job, FrameBlock dest, boolean first) {
 			_split = split;
 			_informat = informat;
 			_job = job;
-			_hasHeader = hasHeader;
-			_firstSplit = first;
+			_dest = dest;
+			_isFirstSplit = first;
+			_isFill = _props.isFill();
+			_dfillValue = _props.getFillValue();
+			_sfillValue = String.valueOf(_props.getFillValue());
+			_naValues = _props.getNAStrings();
+			_naBytes = new byte[_naValues.size()][];
+			int pos = 0;
+			for( String na : _naValues )
+				_naBytes[pos++] = na.getBytes(StandardCharsets.UTF_8);
+			_delim = _props.getDelim();
 		}
 
 		@Override
-		public Long call() 
+		public SplitColumns call() 
 			throws Exception 
 		{
 			RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
 			LongWritable key = new LongWritable();
 			Text value = new Text();
-			long nrows = 0;
+			SplitColumns ret = new SplitColumns(_dest.getSchema());
+			byte[] delim = _delim.getBytes(StandardCharsets.UTF_8);
+			boolean bytewise = (delim.length == 1 && delim[0] >= 0);
 			
-			// count rows from the first non-header row
 			try {
-				if ( _firstSplit && _hasHeader )
+				// handle header if existing
+				if( _isFirstSplit && _props.hasHeader() ) {
 					reader.next(key, value);
-				while ( reader.next(key, value) ) {
-					String val = value.toString();
-					nrows += ( val.startsWith(TfUtils.TXMTD_MVPREFIX)
-						|| val.startsWith(TfUtils.TXMTD_NDPREFIX)) ? 0 : 1; 
+					_dest.setColumnNames(value.toString().split(_delim));
+				}
+				
+				while( reader.next(key, value) ) {
+					byte[] buff = value.getBytes();
+					int len = value.getLength();
+					if( !bytewise || !parseLine(buff, len, delim[0], ret) )
+						parseLine(value.toString(), ret);
 				}
-			} 
+			}
 			finally {
 				IOUtilFunctions.closeSilently(reader);
 			}
-
-			return nrows;
+			
+			return ret;
 		}
-	}
-
-	private class ReadRowsTask implements Callable<Object> 
-	{
-		private InputSplit _split = null;
-		private TextInputFormat _informat = null;
-		private JobConf _job = null;
-		private FrameBlock _dest = null;
-		private int _offset = -1;
-		private boolean _isFirstSplit = false;
 		
+		/**
+		 * Parses a line of a single-byte delimited file directly from its UTF-8 encoded
+		 * bytes into the next row of the split-local columns.
+		 * 
+		 * @return false if the line requires string-based parsing (quotes, meta data)
+		 */
+		private boolean parseLine(byte[] buff, int len, byte delim, SplitColumns ret) 
+			throws IOException
+		{
+			//trim line (similar to String.trim)
+			int pos = 0, end = len;
+			while( pos < end && (buff[pos] & 0xFF) <= ' ' ) pos++;
+			while( end > pos && (buff[end-1] & 0xFF) <= ' ' ) end--;
+			
+			//fallback for frame meta data and quoted tokens
+			if( pos < end && buff[pos] == '#' )
+				return false;
+			for( int i=pos; i<end; i++ )
+				if( buff[i] == '"' )
+					return false;
+			
+			int clen = ret.getNumColumns();
+			int row = ret.appendRow();
+			int col = 0;
+			boolean emptyValuesFound = false;
+			for( int from = pos; ; col++ ) { //foreach cell
+				int to = from;
+				while( to < end && buff[to] != delim ) to++;
+				if( col < clen ) {
+					//trim cell and parse value
+					int cfrom = from, cto = to;
+					while( cfrom < cto && (buff[cfrom] & 0xFF) <= ' ' ) cfrom++;
+					while( cto > cfrom && (buff[cto-1] & 0xFF) <= ' ' ) cto--;
+					if( cfrom == cto || isNAValue(buff, cfrom, cto-cfrom) ) {
+						if( _isFill && _dfillValue != 0 )
+							ret.set(row, col, UtilFunctions.stringToObject(ret.getSchema()[col], _sfillValue));
+						emptyValuesFound = true;
+					}
+					else
+						ret.set(row, col, buff, cfrom, cto-cfrom);
+				}
+				if( to >= end )
+					break;
+				from = to + 1;
+			}
+			
+			// sanity checks for empty values and number of columns
+			if( (emptyValuesFound && !_isFill) || col+1 != clen ) {
+				String cellStr = new String(buff, pos, end-pos, StandardCharsets.UTF_8);
+				IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _isFill, emptyValuesFound);
+				IOUtilFunctions.checkAndRaiseErrorCSVNumColumns("", cellStr, 
+					IOUtilFunctions.splitCSV(cellStr, _delim), clen);
+			}
+			return true;
+		}
+		
+		private boolean isNAValue(byte[] buff, int pos, int len) {
+			for( byte[] na : _naBytes ) {
+				if( na.length != len )
+					continue;
+				int i = 0;
+				while( i < len && na[i] == buff[pos+i] ) i++;
+				if( i == len )
+					return true;
+			}
+			return false;
+		}
 		
-		public ReadRowsTask(InputSplit split, TextInputFormat informat, JobConf job, 
-				FrameBlock dest, int offset, boolean first) 
+		/**
+		 * Parses a line via string splitting, similar to the sequential reader, 
+		 * into the next row of the split-local columns.
+		 */
+		private void parseLine(String line, SplitColumns ret) 
+			throws IOException
 		{
-			_split = split;
-			_informat = informat;
-			_job = job;
+			String cellStr = line.trim();
+			String[] parts = IOUtilFunctions.splitCSV(cellStr, _delim);
+			
+			// parse frame meta data (missing values / num distinct)
+			if(parts[0].equals(TfUtils.TXMTD_MVPREFIX) || parts[0].equals(TfUtils.TXMTD_NDPREFIX)) {
+				if(parts[0].equals(TfUtils.TXMTD_MVPREFIX))
+					for(int j = 0; j < _dest.getNumColumns(); j++)
+						_dest.getColumnMetadata(j).setMvValue(parts[j + 1]);
+				else if(parts[0].equals(TfUtils.TXMTD_NDPREFIX))
+					for(int j = 0; j < _dest.getNumColumns(); j++)
+						_dest.getColumnMetadata(j).setNumDistinct(Long.parseLong(parts[j + 1]));
+				return;
+			}
+			
+			// sanity check number of columns before populating the row
+			IOUtilFunctions.checkAndRaiseErrorCSVNumColumns("", cellStr, parts, ret.getNumColumns());
+			
+			int row = ret.appendRow();
+			boolean emptyValuesFound = false;
+			for( int col = 0; col < parts.length; col++ ) {
+				String part = parts[col].trim();
+				if(part.isEmpty() || _naValues.contains(part)) {
+					if(_isFill && _dfillValue != 0)
+						ret.set(row, col, UtilFunctions.stringToObject(ret.getSchema()[col], _sfillValue));
+					emptyValuesFound = true;
+				}
+				else {
+					ret.set(row, col, UtilFunctions.stringToObject(ret.getSchema()[col], part));
+				}
+			}
+			IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _isFill, emptyValuesFound);
+		}
+	}
+	
+	private static class CopyColumnsTask implements Callable<Object> 
+	{
+		private final SplitColumns _part;
+		private final FrameBlock _dest;
+		
+		public CopyColumnsTask(SplitColumns part, FrameBlock dest) {
+			_part = part;
 			_dest = dest;
-			_offset = offset;
-			_isFirstSplit = first;
 		}
 
 		@Override
-		public Object call() 
-			throws Exception 
-		{
-			readCSVFrameFromInputSplit(_split, _informat, _job, _dest, _dest.getSchema(), 
-					_dest.getColumnNames(), _dest.getNumRows(), _dest.getNumColumns(), _offset, _isFirstSplit);
+		public Object call() {
+			_part.copyInto(_dest);
 			return null;
 		}
 	}
+	
+	/**
+	 * Growable, split-local columns of primitive arrays according to the 
+	 * schema, which are eventually copied into the output frame block.
+	 */
+	private static class SplitColumns
+	{
+		private final ValueType[] _schema;
+		private final Object[] _cols;
+		private int _nrow = 0;
+		private int _capacity = 0;
+		private int _offset = -1;
+		
+		public SplitColumns(ValueType[] schema) {
+			_schema = schema;
+			_cols = new Object[schema.length];
+			grow(1024);
+		}
+		
+		public ValueType[] getSchema() {
+			return _schema;
+		}
+		
+		public int getNumColumns() {
+			return _schema.length;
+		}
+		
+		public int getNumRows() {
+			return _nrow;
+		}
+		
+		public void setOffset(int offset) {
+			_offset = offset;
+		}
+		
+		public int appendRow() {
+			if( _nrow == _capacity )
+				grow(_capacity * 2);
+			return _nrow++;
+		}
+		
+		public void set(int r, int c, byte[] buff, int pos, int len) {
+			switch( _schema[c] ) {
+				case STRING:  ((String[])_cols[c])[r] = new String(buff, pos, len, StandardCharsets.UTF_8); break;
+				case BOOLEAN: ((boolean[])_cols[c])[r] = IOUtilFunctions.parseBoolean(buff, pos, len); break;
+				case INT32:   ((int[])_cols[c])[r] = IOUtilFunctions.parseInt(buff, pos, len); break;
+				case INT64:   ((long[])_cols[c])[r] = IOUtilFunctions.parseLong(buff, pos, len); break;
+				case FP32:    ((float[])_cols[c])[r] = IOUtilFunctions.parseFloat(buff, pos, len); break;
+				case FP64:    ((double[])_cols[c])[r] = IOUtilFunctions.parseDouble(buff, pos, len); break;
+				default: throw new RuntimeException("Unsupported value type: "+_schema[c]);
+			}
+		}
+		
+		public void set(int r, int c, Object val) {
+			switch( _schema[c] ) {
+				case STRING:  ((String[])_cols[c])[r] = (String) val; break;
+				case BOOLEAN: ((boolean[])_cols[c])[r] = (Boolean) val; break;
+				case INT32:   ((int[])_cols[c])[r] = (Integer) val; break;
+				case INT64:   ((long[])_cols[c])[r] = (Long) val; break;
+				case FP32:    ((float[])_cols[c])[r] = (Float) val; break;
+				case FP64:    ((double[])_cols[c])[r] = (Double) val; break;
+				default: throw new RuntimeException("Unsupported value type: "+_schema[c]);
+			}
+		}
+		
+		public void copyInto(FrameBlock dest) {
+			for( int j=0; j<_cols.length; j++ ) {
+				System.arraycopy(_cols[j], 0, dest.getColumnData(j), _offset, _nrow);
+				_cols[j] = null; //release memory early
+			}
+		}
+		
+		private void grow(int capacity) {
+			for( int j=0; j<_schema.length; j++ ) {
+				switch( _schema[j] ) {
+					case STRING:  _cols[j] = (_cols[j]==null) ? new String[capacity] : Arrays.copyOf((String[])_cols[j], capacity); break;
+					case BOOLEAN: _cols[j] = (_cols[j]==null) ? new boolean[capacity] : Arrays.copyOf((boolean[])_cols[j], capacity); break;
+					case INT32:   _cols[j] = (_cols[j]==null) ? new int[capacity] : Arrays.copyOf((int[])_cols[j], capacity); break;
+					case INT64:   _cols[j] = (_cols[j]==null) ? new long[capacity] : Arrays.copyOf((long[])_cols[j], capacity); break;
+					case FP32:    _cols[j] = (_cols[j]==null) ? new float[capacity] : Arrays.copyOf((float[])_cols[j], capacity); break;
+					case FP64:    _cols[j] = (_cols[j]==null) ? new double[capacity] : Arrays.copyOf((double[])_cols[j], capacity); break;
+					default: throw new RuntimeException("Unsupported value type: "+_schema[j]);
+				}
+			}
+			_capacity = capacity;
+		}
+	}
 }
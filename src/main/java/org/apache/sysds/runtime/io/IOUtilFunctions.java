@@ -27,6 +27,7 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.StringReader;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
@@ -630,6 +631,169 @@ public class IOUtilFunctions
 		ba[ off+7 ] = (byte)((val >>>  0) & 0xFF);
 	}
 	
+	/**
+	 * Parses a double from the given range of UTF-8 encoded bytes without
+	 * creating intermediate string objects. Simple decimals with mantissas
+	 * below 2^53 and small exponents are parsed (correctly rounded) on a fast
+	 * path, all other inputs fall back to Double.parseDouble with identical
+	 * semantics, incl. number format exceptions.
+	 * 
+	 * @param b byte array
+	 * @param off offset of the first byte
+	 * @param len number of bytes
+	 * @return parsed double value
+	 */
+	public static double parseDouble(byte[] b, int off, int len) {
+		double ret = parseDecimal(b, off, len, false);
+		return !Double.isNaN(ret) ? ret :
+			Double.parseDouble(new String(b, off, len, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Parses a float from the given range of UTF-8 encoded bytes, see
+	 * {@link #parseDouble(byte[], int, int)}.
+	 * 
+	 * @param b byte array
+	 * @param off offset of the first byte
+	 * @param len number of bytes
+	 * @return parsed float value
+	 */
+	public static float parseFloat(byte[] b, int off, int len) {
+		double ret = parseDecimal(b, off, len, true);
+		return !Double.isNaN(ret) ? (float) ret :
+			Float.parseFloat(new String(b, off, len, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Parses a long from the given range of UTF-8 encoded bytes, falling
+	 * back to Long.parseLong for inputs other than plain integers.
+	 * 
+	 * @param b byte array
+	 * @param off offset of the first byte
+	 * @param len number of bytes
+	 * @return parsed long value
+	 */
+	public static long parseLong(byte[] b, int off, int len) {
+		int i = off, end = off + len;
+		boolean neg = (i < end && b[i] == '-');
+		if( i < end && (b[i] == '-' || b[i] == '+') )
+			i++;
+		long ret = 0;
+		//fast path for up to 18 digits (no overflow)
+		if( i < end && end - i <= 18 ) {
+			for( ; i < end; i++ ) {
+				int d = b[i] - '0';
+				if( d < 0 || d > 9 )
+					break;
+				ret = ret * 10 + d;
+			}
+			if( i == end )
+				return neg ? -ret : ret;
+		}
+		return Long.parseLong(new String(b, off, len, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Parses an int from the given range of UTF-8 encoded bytes, falling
+	 * back to Integer.parseInt for inputs other than plain integers.
+	 * 
+	 * @param b byte array
+	 * @param off offset of the first byte
+	 * @param len number of bytes
+	 * @return parsed int value
+	 */
+	public static int parseInt(byte[] b, int off, int len) {
+		//note: at most 11 bytes (sign and 10 digits) can be a valid int
+		if( len <= 11 ) {
+			long ret = parseLong(b, off, len);
+			if( ret >= Integer.MIN_VALUE && ret <= Integer.MAX_VALUE )
+				return (int) ret;
+		}
+		return Integer.parseInt(new String(b, off, len, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Parses a boolean from the given range of UTF-8 encoded bytes with
+	 * the semantics of Boolean.parseBoolean (true iff equal to "true",
+	 * ignoring case).
+	 * 
+	 * @param b byte array
+	 * @param off offset of the first byte
+	 * @param len number of bytes
+	 * @return parsed boolean value
+	 */
+	public static boolean parseBoolean(byte[] b, int off, int len) {
+		return len == 4
+			&& (b[off] | 0x20) == 't' && (b[off+1] | 0x20) == 'r'
+			&& (b[off+2] | 0x20) == 'u' && (b[off+3] | 0x20) == 'e';
+	}
+
+	private static final double[] POW10 = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6,
+		1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18,
+		1e19, 1e20, 1e21, 1e22};
+
+	private static final float[] FPOW10 = {1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f,
+		1e6f, 1e7f, 1e8f, 1e9f, 1e10f};
+
+	/**
+	 * Fast path of decimal parsing for inputs of the form [+-]digits[.digits][(e|E)[+-]digits],
+	 * whose mantissa and power of ten are exactly representable, which makes a single
+	 * multiplication or division correctly rounded (as known from Clinger's algorithm).
+	 * 
+	 * @return parsed value, or NaN if the input is not applicable for the fast path
+	 */
+	private static double parseDecimal(byte[] b, int off, int len, boolean fp32) {
+		int i = off, end = off + len;
+		boolean neg = (i < end && b[i] == '-');
+		if( i < end && (b[i] == '-' || b[i] == '+') )
+			i++;
+		long mant = 0;
+		int exp = 0, ndigits = 0;
+		boolean digits = false;
+		//integer and fractional digits, w/o leading zeros
+		for( boolean frac = false; i < end; i++ ) {
+			int d = b[i] - '0';
+			if( d >= 0 && d <= 9 ) {
+				digits = true;
+				if( (mant != 0 || d != 0) && ++ndigits > 18 )
+					return Double.NaN;
+				mant = mant * 10 + d;
+				exp -= frac ? 1 : 0;
+			}
+			else if( b[i] == '.' && !frac )
+				frac = true;
+			else
+				break;
+		}
+		if( !digits )
+			return Double.NaN;
+		//optional exponent
+		if( i < end && (b[i] == 'e' || b[i] == 'E') ) {
+			boolean eneg = (++i < end && b[i] == '-');
+			if( i < end && (b[i] == '-' || b[i] == '+') )
+				i++;
+			int e = 0, estart = i;
+			for( ; i < end && b[i] >= '0' && b[i] <= '9' && e < 1000; i++ )
+				e = e * 10 + (b[i] - '0');
+			if( i == estart )
+				return Double.NaN;
+			exp += eneg ? -e : e;
+		}
+		if( i != end )
+			return Double.NaN;
+		//compute correctly rounded result, if applicable
+		double ret;
+		if( mant == 0 )
+			ret = 0;
+		else if( fp32 && mant < (1L << 24) && Math.abs(exp) < FPOW10.length )
+			ret = (exp < 0) ? (float) mant / FPOW10[-exp] : (float) mant * FPOW10[exp];
+		else if( !fp32 && mant < (1L << 53) && Math.abs(exp) < POW10.length )
+			ret = (exp < 0) ? mant / POW10[-exp] : mant * POW10[exp];
+		else
+			return Double.NaN;
+		return neg ? -ret : ret;
+	}
+
 	public static byte[] getBytes(ByteBuffer buff) {
 		int len = buff.limit();
 		if( buff.hasArray() )
@@ -62,6 +62,10 @@ public class MatrixReaderFactory {
 					new ReaderBinaryBlockParallel(false) : new ReaderBinaryBlock(false);
 				break;
 			
+			case COMPRESSED:
+				reader = new ReaderCompressed(false);
+				break;
+			
 			default:
 				throw new DMLRuntimeException("Failed to create matrix reader for unknown format: " + fmt.toString());
 		}
@@ -106,6 +110,10 @@ public class MatrixReaderFactory {
 				reader = (par & mcsr) ?
 					new ReaderBinaryBlockParallel(props.localFS) : new ReaderBinaryBlock(props.localFS);
 				break;
+			
+			case COMPRESSED:
+				reader = new ReaderCompressed(props.localFS);
+				break;
 		
 			default:
 				throw new DMLRuntimeException("Failed to create matrix reader for unknown format: " + fmt.toString());
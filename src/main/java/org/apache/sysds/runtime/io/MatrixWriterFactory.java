@@ -74,6 +74,10 @@ public class MatrixWriterFactory
 				else
 					writer = new WriterBinaryBlock(replication);
 				break;
+			
+			case COMPRESSED:
+				writer = new WriterCompressed(replication);
+				break;
 		
 			default:
 				throw new DMLRuntimeException("Failed to create matrix writer for unknown format: " + fmt.toString());
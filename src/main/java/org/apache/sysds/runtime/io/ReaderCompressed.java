@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.util.ReflectionUtils;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+
+/**
+ * Reader for the compressed binary format (see {@link WriterCompressed}). A file
+ * with a single block that covers the entire matrix is returned as is, i.e., as
+ * compressed matrix block without decompression or recompression. Files with
+ * multiple blocks are assembled into an uncompressed matrix block.
+ */
+public class ReaderCompressed extends MatrixReader
+{
+	protected boolean _localFS = false;
+
+	public ReaderCompressed( boolean localFS ) {
+		_localFS = localFS;
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int blen, long estnnz)
+		throws IOException, DMLRuntimeException
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( (_localFS ? "file:///" : "") + fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+
+		//core read of all blocks
+		List<MatrixIndexes> keys = new ArrayList<>();
+		List<MatrixBlock> blocks = new ArrayList<>();
+		readCompressedBlocksFromHDFS(path, job, fs, keys, blocks);
+
+		//return single block as is (compressed or uncompressed)
+		if( blocks.size() == 1 && keys.get(0).getRowIndex() == 1 && keys.get(0).getColumnIndex() == 1 ) {
+			MatrixBlock ret = blocks.get(0);
+			if( ret.getNumRows() != rlen || ret.getNumColumns() != clen ) {
+				throw new IOException("Matrix block [1:"+ret.getNumRows()+",1:"+ret.getNumColumns()+"] " +
+					"does not match the overall matrix range [1:"+rlen+",1:"+clen+"].");
+			}
+			return ret;
+		}
+
+		//assemble multiple blocks into uncompressed output
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, blen, estnnz, true, false);
+		for( int i=0; i<blocks.size(); i++ ) {
+			MatrixBlock value = blocks.get(i);
+			if( value instanceof CompressedMatrixBlock )
+				value = ((CompressedMatrixBlock)value).decompress();
+			int row_offset = (int)(keys.get(i).getRowIndex()-1)*blen;
+			int col_offset = (int)(keys.get(i).getColumnIndex()-1)*blen;
+			int rows = value.getNumRows();
+			int cols = value.getNumColumns();
+			if( row_offset + rows < 0 || row_offset + rows > rlen || col_offset + cols<0 || col_offset + cols > clen ) {
+				throw new IOException("Matrix block ["+(row_offset+1)+":"+(row_offset+rows)+","+(col_offset+1)+":"+(col_offset+cols)+"] " +
+					"out of overall matrix range [1:"+rlen+",1:"+clen+"].");
+			}
+			ret.copy(row_offset, row_offset+rows-1, col_offset, col_offset+cols-1, value, false);
+		}
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		return ret;
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int blen, long estnnz)
+		throws IOException, DMLRuntimeException
+	{
+		throw new DMLRuntimeException("Not implemented yet.");
+	}
+
+	private static void readCompressedBlocksFromHDFS(Path path, JobConf job, FileSystem fs,
+		List<MatrixIndexes> keys, List<MatrixBlock> blocks) throws IOException
+	{
+		for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) ) { //1..N files
+			SequenceFile.Reader reader = new SequenceFile
+				.Reader(job, SequenceFile.Reader.file(lpath));
+			try {
+				//instantiate blocks of the written class (compressed or uncompressed)
+				MatrixIndexes key = new MatrixIndexes();
+				MatrixBlock value = (MatrixBlock) ReflectionUtils.newInstance(reader.getValueClass(), job);
+				while( reader.next(key, value) ) {
+					keys.add(key);
+					blocks.add(value);
+					key = new MatrixIndexes();
+					value = (MatrixBlock) ReflectionUtils.newInstance(reader.getValueClass(), job);
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+		}
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysds.runtime.util.HDFSTool;
+
+/**
+ * Writer for the compressed binary format, which stores the entire matrix as a
+ * single compressed block (column groups serialized via ColGroupIO) in a sequence
+ * file. Uncompressed inputs are compressed once on write, so that subsequent reads
+ * neither decompress nor repeat the compression planning. If the input is not
+ * amenable to compression, the uncompressed block is written instead.
+ */
+public class WriterCompressed extends MatrixWriter
+{
+	protected int _replication = -1;
+
+	public WriterCompressed( int replication ) {
+		_replication = replication;
+	}
+
+	@Override
+	public void writeMatrixToHDFS(MatrixBlock src, String fname, long rlen, long clen, int blen, long nnz, boolean diag)
+		throws IOException, DMLRuntimeException
+	{
+		//bound check for src block, which is written as a single block
+		//and hence has to match the overall matrix range (as checked on read)
+		if( src.getNumRows() != rlen || src.getNumColumns() != clen ) {
+			throw new IOException("Matrix block [1:"+src.getNumRows()+",1:"+src.getNumColumns()+"] " +
+				"does not match the overall matrix range [1:"+rlen+",1:"+clen+"].");
+		}
+
+		//compress uncompressed inputs (with fallback to uncompressed blocks)
+		MatrixBlock block = src;
+		if( !(src instanceof CompressedMatrixBlock) && !src.isEmptyBlock(false) )
+			block = CompressedMatrixBlockFactory.compress(src,
+				OptimizerUtils.getConstrainedNumThreads(-1)).getLeft();
+
+		writeCompressedBlockToHDFS(fname, block);
+	}
+
+	@Override
+	public void writeEmptyMatrixToHDFS(String fname, long rlen, long clen, int blen)
+		throws IOException, DMLRuntimeException
+	{
+		writeCompressedBlockToHDFS(fname, new MatrixBlock((int)rlen, (int)clen, true));
+	}
+
+	@SuppressWarnings("deprecation")
+	private void writeCompressedBlockToHDFS(String fname, MatrixBlock block)
+		throws IOException
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+
+		//if the file already exists on HDFS, remove it.
+		HDFSTool.deleteFileIfExistOnHDFS( fname );
+
+		//create sequence file writer with the actual block class, which is
+		//used on read to instantiate compressed or uncompressed blocks
+		SequenceFile.Writer writer = null;
+		if( _replication > 0 ) {
+			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, block.getClass(),
+				job.getInt(HDFSTool.IO_FILE_BUFFER_SIZE, 4096),
+				(short)_replication, fs.getDefaultBlockSize(), null, new SequenceFile.Metadata());
+		}
+		else {
+			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, block.getClass());
+		}
+
+		try {
+			writer.append(new MatrixIndexes(1, 1), block);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(writer);
+		}
+
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+}
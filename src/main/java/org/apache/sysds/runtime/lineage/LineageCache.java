@@ -102,6 +102,11 @@ public class LineageCache
 			else
 				liList = Arrays.asList(MutablePair.of(instLI, null));
 			
+			//load persisted entries of previous sessions (outside the critical section)
+			if (LineageCacheConfig.getCacheType().isFullReuse())
+				for (MutablePair<LineageItem,LineageCacheEntry> item : liList)
+					loadPersisted(item.getKey());
+			
 			//atomic try reuse full/partial and set placeholder, without
 			//obtaining value to avoid blocking in critical section
 			LineageCacheEntry e = null;
@@ -178,6 +183,7 @@ public class LineageCache
 			// set _distLeaf2Node for this special lineage item to 1
 			// to save it from early eviction if DAGHEIGHT policy is selected
 			li.setDistLeaf2Node(1);
+			loadPersisted(li);
 			LineageCacheEntry e = null;
 			synchronized(_cache) {
 				if (LineageCache.probe(li)) {
@@ -243,6 +249,24 @@ public class LineageCache
 		return p;
 	}
 	
+	private static void loadPersisted(LineageItem key) {
+		// Lazily load from the persistent store of previous sessions, where
+		// the disk read is done without holding the cache lock
+		if (!LineageCachePersistence.isEnabled())
+			return;
+		synchronized( _cache ) {
+			if (_cache.containsKey(key))
+				return;
+		}
+		LineageCacheEntry e = LineageCachePersistence.read(key);
+		if (e != null) {
+			synchronized( _cache ) {
+				if (!_cache.containsKey(key))
+					putIntern(key, e._dt, e.getMBValue(), null, e._computeTime);
+			}
+		}
+	}
+	
 	public static MatrixBlock getMatrix(LineageItem key) {
 		LineageCacheEntry e = null;
 		synchronized( _cache ) {
@@ -260,9 +284,14 @@ public class LineageCache
 			MatrixObject mo = inst instanceof ComputationCPInstruction ? 
 					ec.getMatrixObject(((ComputationCPInstruction) inst).output) :
 					ec.getMatrixObject(((ComputationFEDInstruction) inst).output);
+			MatrixBlock mb = null;
 			synchronized( _cache ) {
-				putIntern(item, DataType.MATRIX, mo.acquireReadAndRelease(), null, computetime);
+				mb = mo.acquireReadAndRelease();
+				putIntern(item, DataType.MATRIX, mb, null, computetime);
 			}
+			//write to the persistent store without holding the cache lock
+			if (LineageCachePersistence.isEnabled())
+				LineageCachePersistence.write(item, mb, computetime);
 		}
 	}
 	
@@ -292,6 +321,8 @@ public class LineageCache
 				liData = inst instanceof ComputationCPInstruction ? 
 						Arrays.asList(Pair.of(instLI, ec.getVariable(((ComputationCPInstruction) inst).output))) :
 						Arrays.asList(Pair.of(instLI, ec.getVariable(((ComputationFEDInstruction) inst).output)));
+			List<Pair<LineageItem, MatrixBlock>> toPersist = LineageCachePersistence.isEnabled() ?
+				new ArrayList<>() : null;
 			synchronized( _cache ) {
 				for (Pair<LineageItem, Data> entry : liData) {
 					LineageItem item = entry.getKey();
@@ -329,8 +360,11 @@ public class LineageCache
 					LineageCacheEviction.updateSize(size, true);
 
 					//place the data
-					if (data instanceof MatrixObject)
+					if (data instanceof MatrixObject) {
 						centry.setValue(mb, computetime);
+						if (toPersist != null)
+							toPersist.add(Pair.of(item, mb));
+					}
 					else if (data instanceof ScalarObject)
 						centry.setValue((ScalarObject)data, computetime);
 
@@ -343,6 +377,10 @@ public class LineageCache
 					LineageCacheEviction.addEntry(centry);
 				}
 			}
+			//write to the persistent store without holding the cache lock
+			if (toPersist != null)
+				for (Pair<LineageItem, MatrixBlock> entry : toPersist)
+					LineageCachePersistence.write(entry.getKey(), entry.getValue(), computetime);
 		}
 	}
 	
@@ -388,6 +426,7 @@ public class LineageCache
 		synchronized (_cache) {
 			_cache.clear();
 			LineageCacheEviction.resetEviction();
+			LineageCachePersistence.reset();
 		}
 	}
 	
@@ -420,8 +459,11 @@ public class LineageCache
 	}
 	
 	private static LineageCacheEntry getIntern(LineageItem key) {
-		// This method is called only when entry is present either in cache or in local FS.
+		// This method is called only when entry is present either in cache (plain or
+		// compressed) or in local FS.
 		LineageCacheEntry e = _cache.get(key);
+		if (e != null && e.getCacheStatus() == LineageCacheStatus.COMPRESSED)
+			return LineageCacheEviction.readFromCompressed(_cache, key);
 		if (e != null && e.getCacheStatus() != LineageCacheStatus.SPILLED) {
 			if (DMLScript.STATISTICS) {
 				// Increment hit count and saved computation time.
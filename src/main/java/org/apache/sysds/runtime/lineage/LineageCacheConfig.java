@@ -90,6 +90,20 @@ public class LineageCacheConfig
 	public static double FSREAD_SPARSE = 400;
 	public static double FSWRITE_DENSE = 450;
 	public static double FSWRITE_SPARSE = 225;
+
+	//-------------COMPRESSED IN-MEMORY TIER CONFIGURATIONS--------------//
+
+	private static boolean _allowCompress = false;
+	// Fraction of the cache budget usable by compressed entries.
+	public static final double COMPRESSED_FRAC = 0.5;
+	// Minimum ratio of in-memory to compressed size for keeping
+	// an evicted entry compressed instead of spilling it to disk.
+	public static final double MIN_COMPRESSION_RATIO = 1.5;
+	// Default compression and decompression speed in MB per second.
+	// Like the I/O speeds, these are calibrated in the background on
+	// the first eviction and adjusted as per the observed speed.
+	public static double COMPRESS_SPEED = 200;
+	public static double DECOMPRESS_SPEED = 400;
 	
 	private enum CachedItemHead {
 		TSMM,
@@ -113,6 +127,7 @@ public class LineageCacheConfig
 		EMPTY,     //Placeholder with no data. Cannot be evicted.
 		CACHED,    //General cached data. Can be evicted.
 		SPILLED,   //Data is in disk. Empty value. Cannot be evicted.
+		COMPRESSED,//Data is compressed in memory. Empty value. Cannot be evicted.
 		RELOADED,  //Reloaded from disk. Can be evicted.
 		PINNED,    //Pinned to memory. Cannot be evicted.
 		TOSPILL,   //To be spilled lazily 
@@ -329,4 +344,15 @@ public class LineageCacheConfig
 	public static boolean isSetSpill() {
 		return _allowSpill;
 	}
+
+	public static void setCompress(boolean toCompress) {
+		_allowCompress = toCompress;
+		// NOTE: the compressed tier is disabled by default (opt-in), and only 
+		// used if spilling is enabled, as it sits between the in-memory cache 
+		// and the local FS.
+	}
+	
+	public static boolean isSetCompress() {
+		return _allowCompress && _allowSpill;
+	}
 }
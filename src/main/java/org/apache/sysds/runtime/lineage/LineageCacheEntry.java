@@ -38,6 +38,7 @@ public class LineageCacheEntry {
 	protected LineageCacheEntry _nextEntry;
 	protected LineageItem _origItem;
 	private String _outfile = null;
+	private byte[] _compressed = null;
 	protected double score;
 	
 	public LineageCacheEntry(LineageItem key, DataType dt, MatrixBlock Mval, ScalarObject Sval, long computetime) {
@@ -133,6 +134,16 @@ public class LineageCacheEntry {
 		return _outfile;
 	}
 	
+	protected synchronized void setCompressed(byte[] data) {
+		_compressed = data;
+		if (data != null)
+			_status = LineageCacheStatus.COMPRESSED;
+	}
+	
+	protected synchronized byte[] getCompressed() {
+		return _compressed;
+	}
+	
 	protected synchronized void setTimestamp() {
 		_timestamp =  System.currentTimeMillis() - LineageCacheEviction.getStartTimestamp();
 		if (_timestamp < 0)
@@ -19,16 +19,25 @@
 
 package org.apache.sysds.runtime.lineage;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.TreeSet;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
 import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.lineage.LineageCacheConfig.LineageCacheStatus;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.FastBufferedDataOutputStream;
 import org.apache.sysds.runtime.util.LocalFileUtils;
 
 public class LineageCacheEviction
@@ -39,12 +48,17 @@ public class LineageCacheEviction
 	protected static final Map<LineageItem, Integer> _removelist = new HashMap<>();
 	private static String _outdir = null;
 	private static TreeSet<LineageCacheEntry> weightedQueue = new TreeSet<>(LineageCacheConfig.LineageCacheComparator);
+	private static long _compressedsize = 0; //part of _cachesize
+	private static final LinkedHashSet<LineageCacheEntry> _compressedQueue = new LinkedHashSet<>();
+	private static boolean _calibrated = false; //calibration started
 	
 	protected static void resetEviction() {
 		// reset cache size, otherwise the cache clear leads to unusable 
 		// space which means evictions could run into endless loops
 		_cachesize = 0;
 		weightedQueue.clear();
+		_compressedsize = 0;
+		_compressedQueue.clear();
 		_outdir = null;
 		if (DMLScript.STATISTICS)
 			_removelist.clear();
@@ -113,12 +127,8 @@ public class LineageCacheEviction
 	private static void removeOrSpillEntry(Map<LineageItem, LineageCacheEntry> cache, LineageCacheEntry e, boolean spill) {
 		if (e._origItem == null) {
 			// Single entry. Remove or spill.
-			if (spill) {
-				updateSize(e.getSize(), false);                //Release memory
-				spillToLocalFS(cache, e);                      //Spill to disk
-				e.setNullValues();                             //Set null
-				e.setCacheStatus(LineageCacheStatus.SPILLED);  //Set status to spilled
-			}
+			if (spill)
+				compressOrSpillEntry(cache, e);
 			else
 				removeEntry(cache, e);
 			return;
@@ -142,37 +152,56 @@ public class LineageCacheEviction
 			write |= (tmp.getCacheStatus() == LineageCacheStatus.TOSPILL);
 			tmp = tmp._nextEntry;
 		}
-		if (write) {
-			// Spill to disk if at least one entry has status TOSPILL. 
-			spillToLocalFS(cache, cache.get(e._origItem));
-			// Reduce cachesize once for all the entries.
-			updateSize(e.getSize(), false);
-			LineageCacheEntry h = cache.get(e._origItem);  //head
-			while (h != null) {
-				// Set values to null for all the entries.
-				h.setNullValues();
-				// Set status to spilled for all the entries.
-				h.setCacheStatus(LineageCacheStatus.SPILLED);
-				h = h._nextEntry;
-			}
-			// Keep them in cache.
+		if (write)
+			// Compress or spill if at least one entry has status TOSPILL. 
+			compressOrSpillEntry(cache, cache.get(e._origItem));
+		// All are set to be deleted.
+		else
+			removeAllEntries(cache, cache.get(e._origItem));
+		// NOTE: The callers of this method maintain the eviction queue.
+	}
+	
+	private static void removeAllEntries(Map<LineageItem, LineageCacheEntry> cache, LineageCacheEntry head) {
+		// Remove the entry, or all the entries pointing to the same data.
+		LineageCacheEntry h = head;
+		while (h != null) {
+			removeEntry(cache, h);
+			h = h._nextEntry;
+		}
+	}
+	
+	private static void compressOrSpillEntry(Map<LineageItem, LineageCacheEntry> cache, LineageCacheEntry head) {
+		// Keep the data in memory in compressed form if that pays off, 
+		// otherwise spill to disk or delete if spilling doesn't pay off either.
+		if (LineageCacheConfig.isSetCompress() && compressEntry(cache, head))
+			return;
+		if (!isSpillWorthy(head)) {
+			removeAllEntries(cache, head);
 			return;
 		}
-		// All are set to be deleted.
-		else {
-			// Remove all the entries from cache.
-			LineageCacheEntry h = cache.get(e._origItem);
-			while (h != null) {
-				removeEntry(cache, h);
-				h = h._nextEntry;
-			}
+		spillEntry(cache, head);
+	}
+	
+	private static void spillEntry(Map<LineageItem, LineageCacheEntry> cache, LineageCacheEntry head) {
+		long size = head.getSize();
+		spillToLocalFS(cache, head);
+		// Reduce cachesize once for all the entries.
+		updateSize(size, false);
+		LineageCacheEntry h = head;
+		while (h != null) {
+			// Set values to null for all the entries.
+			h.setNullValues();
+			// Set status to spilled for all the entries.
+			h.setCacheStatus(LineageCacheStatus.SPILLED);
+			h = h._nextEntry;
 		}
-		// NOTE: The callers of this method maintain the eviction queue.
+		// Keep them in cache.
 	}
 
 	//---------------- CACHE SPACE MANAGEMENT METHODS -----------------//
 	
-	protected static void setCacheLimit(long limit) {
+	//Note: public for spilling tests
+	public static void setCacheLimit(long limit) {
 		CACHE_LIMIT = limit;
 	}
 
@@ -180,6 +209,11 @@ public class LineageCacheEviction
 	public static long getCacheLimit() {
 		return CACHE_LIMIT;
 	}
+
+	//Note: public for spilling tests
+	public static long getCacheSize() {
+		return _cachesize;
+	}
 	
 	protected static void updateSize(long space, boolean addspace) {
 		if (addspace)
@@ -193,13 +227,20 @@ public class LineageCacheEviction
 	}
 
 	protected static void makeSpace(Map<LineageItem, LineageCacheEntry> cache, long spaceNeeded) {
+		if (LineageCacheConfig.isSetSpill() && !_calibrated)
+			startCalibration();
+		
 		//Cost based eviction
 		while ((spaceNeeded + _cachesize) > CACHE_LIMIT)
 		{
 			LineageCacheEntry e = weightedQueue.pollFirst();
-			if (e == null)
-				// Nothing to evict.
-				break;
+			if (e == null) {
+				// Free the compressed tier once all others are evicted.
+				if (_compressedQueue.isEmpty())
+					break; //nothing to evict
+				evictCompressedEntry(cache, pollCompressed());
+				continue;
+			}
 
 			if (!LineageCacheConfig.isSetSpill()) {
 				// If eviction is disabled, just delete the entries.
@@ -221,33 +262,43 @@ public class LineageCacheEviction
 				continue;
 			}
 			
-			// Estimate time to write to FS + read from FS.
-			double spilltime = getDiskSpillEstimate(e) * 1000; // in milliseconds
-			double exectime = ((double) e._computeTime) / 1000000; // in milliseconds
-			//FIXME: this comuteTime is not adjusted according to hit/miss counts
-
 			if (LineageCache.DEBUG) {
 				System.out.print("LI = " + e._key.getOpcode());
 				System.out.print(" exec time = " + ((double) e._computeTime) / 1000000);
-				System.out.println(" spill time = " + getDiskSpillEstimate(e) * 1000);
+				System.out.print(" spill time = " + getDiskSpillEstimate(e) * 1000);
+				System.out.println(" compress time = " + getCompressEstimate(e) * 1000);
 				System.out.print("dim = " + e.getMBValue().getNumRows() + " " + e.getMBValue().getNumColumns());
 				System.out.print(" size = " + getDiskSizeEstimate(e));
 				System.out.println(" DAG height = " + e._key.getDistLeaf2Node());
 			}
 
-			if (spilltime < LineageCacheConfig.MIN_SPILL_TIME_ESTIMATE) {
-				// Can't trust the estimate if less than 100ms.
-				// Spill if it takes longer to recompute.
-				removeOrSpillEntry(cache, e, //spill or delete
-					exectime >= LineageCacheConfig.MIN_SPILL_TIME_ESTIMATE);
-			}
-			else {
-				// Spill if it takes longer to recompute than spilling.
-				removeOrSpillEntry(cache, e, //spill or delete
-					exectime > spilltime);
-			}
+			// Spill (compressed in memory or to disk) if it takes longer to 
+			// recompute than to compress or spill, otherwise delete.
+			removeOrSpillEntry(cache, e, isSpillWorthy(e)
+				|| (LineageCacheConfig.isSetCompress() && isCompressWorthy(e)));
 		}
 	}
+	
+	private static boolean isSpillWorthy(LineageCacheEntry e) {
+		// Estimate time to write to FS + read from FS.
+		double spilltime = getDiskSpillEstimate(e) * 1000; // in milliseconds
+		double exectime = ((double) e._computeTime) / 1000000; // in milliseconds
+		//FIXME: this comuteTime is not adjusted according to hit/miss counts
+
+		if (spilltime < LineageCacheConfig.MIN_SPILL_TIME_ESTIMATE)
+			// Can't trust the estimate if less than 100ms.
+			// Spill if it takes longer to recompute.
+			return exectime >= LineageCacheConfig.MIN_SPILL_TIME_ESTIMATE;
+		// Spill if it takes longer to recompute than spilling.
+		return exectime > spilltime;
+	}
+	
+	private static boolean isCompressWorthy(LineageCacheEntry e) {
+		// Estimate time to compress + decompress in memory.
+		double comprtime = getCompressEstimate(e) * 1000; // in milliseconds
+		double exectime = ((double) e._computeTime) / 1000000; // in milliseconds
+		return exectime > comprtime;
+	}
 
 	//---------------- COSTING RELATED METHODS -----------------
 
@@ -269,6 +320,14 @@ public class LineageCacheEviction
 		return loadtime + writetime;
 	}
 
+	private static double getCompressEstimate(LineageCacheEntry e) {
+		if (!e.isMatrixValue() || e.isNullVal())
+			return 0;
+		// This includes sum of compression and decompression
+		double size = ((double)e.getSize()) / (1024*1024);
+		return size/LineageCacheConfig.COMPRESS_SPEED + size/LineageCacheConfig.DECOMPRESS_SPEED;
+	}
+
 	private static double getDiskSizeEstimate(LineageCacheEntry e) {
 		if (!e.isMatrixValue() || e.isNullVal())
 			return 0;
@@ -304,12 +363,227 @@ public class LineageCacheEviction
 		}
 	}
 	
+	private static void adjustCompressSpeed(long size, double time, boolean compress) {
+		double sizeMB = ((double)size) / (1024*1024);
+		if (sizeMB < LineageCacheConfig.MIN_SPILL_DATA)
+			// Too small for a reliable estimate
+			return;
+		double newSpeed = sizeMB / time; // MB per second
+		if (compress)
+			LineageCacheConfig.COMPRESS_SPEED = (LineageCacheConfig.COMPRESS_SPEED + newSpeed) / 2;
+		else
+			LineageCacheConfig.DECOMPRESS_SPEED = (LineageCacheConfig.DECOMPRESS_SPEED + newSpeed) / 2;
+	}
+	
+	private static void startCalibration() {
+		// Calibrate the speeds once in a background thread, in order to not
+		// block the eviction (and all cache users). Until the calibration is 
+		// finished, the eviction decisions rely on the default speeds.
+		_calibrated = true;
+		Thread t = new Thread(LineageCacheEviction::calibrateSpeeds, "LineageCacheCalibration");
+		t.setDaemon(true);
+		t.start();
+	}
+	
+	private static void calibrateSpeeds() {
+		// Replace the default I/O and compression speeds by a one-time 
+		// micro-benchmark on the local working directory. Subsequent 
+		// spills and reloads keep adjusting these speeds.
+		MatrixBlock dense = MatrixBlock.randOperations(1024, 512, 1.0, 0, 1, "uniform", 7);
+		MatrixBlock sparse = MatrixBlock.randOperations(2048, 2048, 0.05, 0, 1, "uniform", 7);
+		double[] dspeed = null, sspeed = null;
+		try {
+			String dir = LocalFileUtils.getUniqueWorkingDir(LocalFileUtils.CATEGORY_LINEAGE);
+			LocalFileUtils.createLocalFileIfNotExist(dir);
+			dspeed = measureIOSpeeds(dense, dir+"/calib_dense");
+			sspeed = measureIOSpeeds(sparse, dir+"/calib_sparse");
+			LocalFileUtils.deleteFileIfExists(dir);
+		}
+		catch (Exception ex) {
+			// Keep the defaults if the local FS is not usable.
+			return;
+		}
+		// Dense doubles are the worst case for compression.
+		long size = dense.getInMemorySize();
+		long t0 = System.nanoTime();
+		byte[] data = compress(dense);
+		long t1 = System.nanoTime();
+		decompress(data);
+		long t2 = System.nanoTime();
+		
+		// Publish all measured speeds at once.
+		if (dspeed != null) {
+			LineageCacheConfig.FSWRITE_DENSE = dspeed[0];
+			LineageCacheConfig.FSREAD_DENSE = dspeed[1];
+		}
+		if (sspeed != null) {
+			LineageCacheConfig.FSWRITE_SPARSE = sspeed[0];
+			LineageCacheConfig.FSREAD_SPARSE = sspeed[1];
+		}
+		if (t1 > t0 && t2 > t1) {
+			double sizeMB = ((double)size) / (1024*1024);
+			LineageCacheConfig.COMPRESS_SPEED = sizeMB / (((double)(t1-t0))/1000000000);
+			LineageCacheConfig.DECOMPRESS_SPEED = sizeMB / (((double)(t2-t1))/1000000000);
+		}
+	}
+	
+	private static double[] measureIOSpeeds(MatrixBlock mb, String fname) throws IOException {
+		double size = ((double)mb.getExactSizeOnDisk()) / (1024*1024);
+		long t0 = System.nanoTime();
+		LocalFileUtils.writeMatrixBlockToLocal(fname, mb);
+		long t1 = System.nanoTime();
+		LocalFileUtils.readMatrixBlockFromLocal(fname);
+		long t2 = System.nanoTime();
+		LocalFileUtils.deleteFileIfExists(fname, true);
+		if (t1 <= t0 || t2 <= t1)
+			return null; //unreliable timer
+		return new double[] {size / (((double)(t1-t0))/1000000000),
+			size / (((double)(t2-t1))/1000000000)};
+	}
+	
 	private static boolean isSparse(LineageCacheEntry e) {
 		if (!e.isMatrixValue() || e.isNullVal())
 			return false;
 		return e.getMBValue().isInSparseFormat();
 	}
 
+	// ---------------- COMPRESSED IN-MEMORY TIER METHODS -----------------
+	
+	private static long getCompressedLimit() {
+		return (long)(LineageCacheConfig.COMPRESSED_FRAC * CACHE_LIMIT);
+	}
+	
+	private static boolean compressEntry(Map<LineageItem, LineageCacheEntry> cache, LineageCacheEntry head) {
+		long size = head.getSize();
+		long t0 = System.nanoTime();
+		byte[] data = compress(head.getMBValue());
+		long t1 = System.nanoTime();
+		adjustCompressSpeed(size, ((double)(t1-t0))/1000000000, true);
+		if (DMLScript.STATISTICS)
+			LineageCacheStatistics.incrementCompressTime(t1-t0);
+		if (data.length * LineageCacheConfig.MIN_COMPRESSION_RATIO > size
+			|| data.length > getCompressedLimit())
+			return false; //not worth keeping in memory
+		
+		// Make room in the compressed tier by evicting the oldest entries.
+		while (_compressedsize + data.length > getCompressedLimit() && !_compressedQueue.isEmpty())
+			evictCompressedEntry(cache, pollCompressed());
+		
+		// Replace the data by the compressed bytes for all the entries.
+		LineageCacheEntry h = head;
+		while (h != null) {
+			h.setNullValues();
+			h.setCompressed(data);
+			h = h._nextEntry;
+		}
+		updateSize(size, false);
+		updateSize(data.length, true);
+		_compressedsize += data.length;
+		_compressedQueue.add(head);
+		if (DMLScript.STATISTICS)
+			LineageCacheStatistics.incrementCompressedWrites();
+		return true;
+	}
+	
+	private static LineageCacheEntry pollCompressed() {
+		Iterator<LineageCacheEntry> iter = _compressedQueue.iterator();
+		LineageCacheEntry e = iter.next();
+		iter.remove();
+		return e;
+	}
+	
+	private static MatrixBlock releaseCompressed(LineageCacheEntry head) {
+		// Decompress and restore the data to all the entries.
+		byte[] data = head.getCompressed();
+		MatrixBlock mb = decompress(data);
+		LineageCacheEntry h = head;
+		while (h != null) {
+			h.setCompressed(null);
+			h.setValue(mb);
+			h = h._nextEntry;
+		}
+		_compressedsize -= data.length;
+		updateSize(data.length, false);
+		return mb;
+	}
+	
+	private static void evictCompressedEntry(Map<LineageItem, LineageCacheEntry> cache, LineageCacheEntry head) {
+		// Move to disk if that pays off, otherwise delete.
+		releaseCompressed(head);
+		if (isSpillWorthy(head)) {
+			// Account the restored data, which is released again on spilling.
+			updateSize(head.getSize(), true);
+			spillEntry(cache, head);
+		}
+		else {
+			// The size is already released with the compressed data.
+			LineageCacheEntry h = head;
+			while (h != null) {
+				h.setNullValues();
+				h = h._nextEntry;
+			}
+			removeAllEntries(cache, head);
+		}
+	}
+	
+	protected static LineageCacheEntry readFromCompressed(Map<LineageItem, LineageCacheEntry> cache, LineageItem key) {
+		LineageCacheEntry e = cache.get(key);
+		if (e == null)
+			throw new DMLRuntimeException ("Compressed item should present in cache. Key: "+key);
+		LineageCacheEntry head = e._origItem != null ? cache.get(e._origItem) : e;
+		
+		long t0 = System.nanoTime();
+		_compressedQueue.remove(head);
+		MatrixBlock mb = releaseCompressed(head);
+		long t1 = System.nanoTime();
+		// Increase cachesize once for all the entries.
+		updateSize(e.getSize(), true);
+		adjustCompressSpeed(mb.getInMemorySize(), ((double)(t1-t0))/1000000000, false);
+		
+		// Make the restored entries again available for eviction.
+		LineageCacheEntry h = head;
+		while (h != null) {
+			addEntry(h);
+			h = h._nextEntry;
+		}
+		if (DMLScript.STATISTICS) {
+			LineageCacheStatistics.incrementDecompressTime(t1-t0);
+			LineageCacheStatistics.incrementCompressedHits();
+		}
+		return e;
+	}
+	
+	private static byte[] compress(MatrixBlock mb) {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream(
+			(int)Math.min(Integer.MAX_VALUE, mb.getExactSizeOnDisk()/4));
+		Deflater def = new Deflater(Deflater.BEST_SPEED);
+		try( FastBufferedDataOutputStream out = new FastBufferedDataOutputStream(
+			new DeflaterOutputStream(bos, def, LocalFileUtils.BUFFER_SIZE), LocalFileUtils.BUFFER_SIZE) ) {
+			mb.write(out);
+		}
+		catch (IOException ex) {
+			throw new DMLRuntimeException("Failed to compress matrix block.", ex);
+		}
+		finally {
+			def.end();
+		}
+		return bos.toByteArray();
+	}
+	
+	private static MatrixBlock decompress(byte[] data) {
+		Inflater inf = new Inflater();
+		try {
+			return LocalFileUtils.readMatrixBlockFromStream(new InflaterInputStream(
+				new ByteArrayInputStream(data), inf, LocalFileUtils.BUFFER_SIZE));
+		}
+		catch (IOException ex) {
+			throw new DMLRuntimeException("Failed to decompress matrix block.", ex);
+		}
+		finally {
+			inf.end();
+		}
+	}
+
 	// ---------------- I/O METHODS TO LOCAL FS -----------------
 	
 	private static void spillToLocalFS(Map<LineageItem, LineageCacheEntry> cache, LineageCacheEntry entry) {
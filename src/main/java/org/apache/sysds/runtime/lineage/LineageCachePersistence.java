@@ -0,0 +1,355 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.lineage;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Set;
+import java.util.Stack;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.common.Types.DataType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.instructions.Instruction;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.instructions.cp.CPOperand;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.lineage.LineageItem.LineageItemType;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.FastBufferedDataInputStream;
+import org.apache.sysds.runtime.util.FastBufferedDataOutputStream;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+
+/**
+ * Persistent, cross-session store of lineage cache entries on a local directory
+ * (configured via sysds.lineage.cache.dir). Matrix entries are keyed by a
+ * session-independent digest of their lineage DAG, where read inputs are
+ * identified by file name, size, and modification time. Entries are written
+ * when put into the lineage cache and loaded lazily on cache misses, which
+ * allows reuse across repeated script invocations and JMLC executions.
+ * 
+ * Reads and writes are not synchronized, so cache probes never wait on the
+ * disk I/O of concurrent writes. Entries are written to temporary files and
+ * moved atomically, and only published to the index once complete.
+ */
+public class LineageCachePersistence
+{
+	private static final Log LOG = LogFactory.getLog(LineageCachePersistence.class.getName());
+	private static final String FILE_SUFFIX = ".lcb";
+	// Marker for lineage DAGs that cannot be identified across sessions
+	// (e.g., in-memory inputs without lineage or deduplicated loops).
+	private static final String NOT_PERSISTABLE = "";
+
+	private static volatile String _dir = null;     //null if not yet resolved, empty if disabled
+	private static volatile Set<String> _index = null; //keys of persisted entries
+	private static final Set<String> _writing = ConcurrentHashMap.newKeySet(); //keys of pending writes
+
+	protected static synchronized void reset() {
+		// The directory is resolved again from the (potentially
+		// changed) configuration on the next cache probe.
+		_dir = null;
+		_index = null;
+	}
+
+	protected static boolean isEnabled() {
+		return !getDir().isEmpty();
+	}
+
+	private static String getDir() {
+		String dir = _dir;
+		if (dir == null) {
+			synchronized (LineageCachePersistence.class) {
+				if (_dir == null) {
+					DMLConfig conf = ConfigurationManager.getDMLConfig();
+					String cdir = (conf != null) ? conf.getTextValue(DMLConfig.LINEAGE_CACHE_DIR) : null;
+					_dir = (cdir != null) ? cdir.trim() : NOT_PERSISTABLE;
+				}
+				dir = _dir;
+			}
+		}
+		return dir;
+	}
+
+	/**
+	 * Reads the persisted entry for the given lineage item, if available.
+	 *
+	 * @param key lineage item
+	 * @return cache entry with the persisted value, or null if not available
+	 */
+	protected static LineageCacheEntry read(LineageItem key) {
+		String pkey = getPersistKey(key);
+		Set<String> index = getIndex();
+		if (pkey == null || !index.contains(pkey))
+			return null;
+
+		long t0 = System.nanoTime();
+		File file = new File(getDir(), pkey+FILE_SUFFIX);
+		MatrixBlock mb = new MatrixBlock();
+		long computetime = 0;
+		try( FastBufferedDataInputStream in = new FastBufferedDataInputStream(
+			new FileInputStream(file), LocalFileUtils.BUFFER_SIZE) ) {
+			computetime = in.readLong();
+			mb.readFields(in);
+		}
+		catch (IOException ex) {
+			// Concurrently removed or corrupted entries are simply missed.
+			LOG.warn("Failed to read persisted lineage cache entry "+file+".", ex);
+			index.remove(pkey);
+			return null;
+		}
+
+		if (DMLScript.STATISTICS) {
+			LineageCacheStatistics.incrementPersistReadTime(System.nanoTime()-t0);
+			LineageCacheStatistics.incrementPersistHits();
+		}
+		return new LineageCacheEntry(key, DataType.MATRIX, mb, null, computetime);
+	}
+
+	/**
+	 * Writes the given matrix value to the persistent store, if it is more
+	 * expensive to recompute than to write and read it back, and if the
+	 * lineage DAG can be identified across sessions.
+	 *
+	 * @param key lineage item
+	 * @param mb matrix value
+	 * @param computetime compute time of the value in nano sec
+	 */
+	protected static void write(LineageItem key, MatrixBlock mb, long computetime) {
+		double exectime = ((double) computetime) / 1000000; // in milliseconds
+		if (exectime < LineageCacheConfig.MIN_SPILL_TIME_ESTIMATE || exectime < getIOEstimate(mb) * 1000)
+			return;
+		String pkey = getPersistKey(key);
+		Set<String> index = getIndex();
+		// Skip entries that are already persisted or being written by another thread
+		if (pkey == null || index.contains(pkey) || !_writing.add(pkey))
+			return;
+
+		// Write to a temporary file first and move it atomically, to
+		// support concurrent sessions writing to the same directory.
+		long t0 = System.nanoTime();
+		String dir = getDir();
+		File file = new File(dir, pkey+FILE_SUFFIX);
+		File tmp = new File(dir, pkey+"_"+UUID.randomUUID()+".tmp");
+		try {
+			try( FastBufferedDataOutputStream out = new FastBufferedDataOutputStream(
+				new FileOutputStream(tmp), LocalFileUtils.BUFFER_SIZE) ) {
+				out.writeLong(computetime);
+				mb.write(out);
+			}
+			try {
+				Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch (AtomicMoveNotSupportedException ex) {
+				Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		catch (IOException ex) {
+			LOG.warn("Failed to persist lineage cache entry "+file+".", ex);
+			tmp.delete();
+			return;
+		}
+		finally {
+			_writing.remove(pkey);
+		}
+		// Publish the complete entry to concurrent readers.
+		index.add(pkey);
+
+		if (DMLScript.STATISTICS) {
+			LineageCacheStatistics.incrementPersistWriteTime(System.nanoTime()-t0);
+			LineageCacheStatistics.incrementPersistWrites();
+		}
+	}
+
+	private static Set<String> getIndex() {
+		// Lazily load the keys of all entries persisted by previous sessions.
+		Set<String> index = _index;
+		if (index == null) {
+			synchronized (LineageCachePersistence.class) {
+				if (_index == null) {
+					String dname = getDir();
+					Set<String> tmp = ConcurrentHashMap.newKeySet();
+					File dir = new File(dname);
+					if (!dir.exists() && !dir.mkdirs())
+						throw new DMLRuntimeException("Failed to create lineage cache directory "+dname+".");
+					String[] fnames = dir.list();
+					if (fnames != null)
+						for (String fname : fnames)
+							if (fname.endsWith(FILE_SUFFIX))
+								tmp.add(fname.substring(0, fname.length()-FILE_SUFFIX.length()));
+					_index = tmp;
+				}
+				index = _index;
+			}
+		}
+		return index;
+	}
+
+	private static double getIOEstimate(MatrixBlock mb) {
+		// Sum of writing to and reading from disk in seconds
+		double size = ((double)mb.getExactSizeOnDisk()) / (1024*1024);
+		return mb.isInSparseFormat() ?
+			size/LineageCacheConfig.FSWRITE_SPARSE + size/LineageCacheConfig.FSREAD_SPARSE :
+			size/LineageCacheConfig.FSWRITE_DENSE + size/LineageCacheConfig.FSREAD_DENSE;
+	}
+
+	//---------------- SESSION-INDEPENDENT LINEAGE KEYS -----------------//
+
+	/**
+	 * Obtains the session-independent key of a lineage DAG, which is a
+	 * SHA-256 digest over opcodes, data, and input keys, where the keys
+	 * of read inputs include the size and modification time of the files.
+	 *
+	 * @param root root of the lineage DAG
+	 * @return hex key, or null if the lineage DAG is not persistable
+	 */
+	protected static String getPersistKey(LineageItem root) {
+		MessageDigest md = null;
+		Stack<LineageItem> s = new Stack<>();
+		s.push(root);
+		while (!s.empty()) {
+			LineageItem li = s.peek();
+			if (li.getPersistKey() != null) {
+				s.pop();
+				continue;
+			}
+			// Compute the keys of all inputs first (non-recursive
+			// for robustness with regard to stack overflow errors).
+			boolean ready = true;
+			if (!li.isLeaf())
+				for (LineageItem in : li.getInputs())
+					if (in.getPersistKey() == null) {
+						s.push(in);
+						ready = false;
+					}
+			if (!ready)
+				continue;
+			if (md == null)
+				md = getDigest();
+			li.setPersistKey(computeKey(li, md));
+			s.pop();
+		}
+		String key = root.getPersistKey();
+		return key.isEmpty() ? null : key;
+	}
+
+	private static String computeKey(LineageItem li, MessageDigest md) {
+		LineageItemType type = li.getType();
+		String data = li.getData();
+		if (type == LineageItemType.Dedup || li.getOpcode().startsWith(LineageItemUtils.LPLACEHOLDER))
+			return NOT_PERSISTABLE;
+		if (type == LineageItemType.Literal && isUnboundVariable(li))
+			return NOT_PERSISTABLE;
+		if (type == LineageItemType.Creation && isReadInstruction(li.getOpcode())) {
+			String fingerprint = getFileFingerprint(data);
+			if (fingerprint == null)
+				return NOT_PERSISTABLE;
+			data = data + Instruction.OPERAND_DELIM + fingerprint;
+		}
+		if (!li.isLeaf())
+			for (LineageItem in : li.getInputs())
+				if (in.getPersistKey().isEmpty())
+					return NOT_PERSISTABLE;
+
+		md.reset();
+		md.update(li.getOpcode().getBytes(StandardCharsets.UTF_8));
+		md.update((byte)0);
+		md.update(data.getBytes(StandardCharsets.UTF_8));
+		if (!li.isLeaf())
+			for (LineageItem in : li.getInputs()) {
+				md.update((byte)0);
+				md.update(in.getPersistKey().getBytes(StandardCharsets.UTF_8));
+			}
+		return toHexString(md.digest());
+	}
+
+	private static boolean isUnboundVariable(LineageItem li) {
+		// Literal items of variables without lineage (e.g., in-memory
+		// inputs of JMLC or MLContext) only capture the variable name.
+		try {
+			return !new CPOperand(li.getData()).isLiteral();
+		}
+		catch (IllegalArgumentException ex) {
+			return true; //unknown data or value type
+		}
+	}
+
+	private static boolean isReadInstruction(String opcode) {
+		return opcode.equalsIgnoreCase("createvar") || opcode.equalsIgnoreCase("read");
+	}
+
+	private static String getFileFingerprint(String instString) {
+		String[] parts = InstructionUtils.getInstructionPartsWithValueType(instString);
+		if (parts.length < 3)
+			return null;
+		try {
+			Path path = new Path(parts[2]);
+			FileSystem fs = IOUtilFunctions.getFileSystem(path);
+			if (!fs.exists(path))
+				return null;
+			// Size and latest modification time over all files
+			// (incl. part files of directories) and the metadata file.
+			long size = fs.getContentSummary(path).getLength();
+			long mtime = fs.getFileStatus(path).getModificationTime();
+			if (fs.getFileStatus(path).isDirectory())
+				for (FileStatus st : fs.listStatus(path))
+					mtime = Math.max(mtime, st.getModificationTime());
+			Path mtdPath = new Path(parts[2]+".mtd");
+			if (fs.exists(mtdPath))
+				mtime = Math.max(mtime, fs.getFileStatus(mtdPath).getModificationTime());
+			return size + "_" + mtime;
+		}
+		catch (IOException | IllegalArgumentException ex) {
+			return null;
+		}
+	}
+
+	private static MessageDigest getDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
+	private static String toHexString(byte[] bytes) {
+		StringBuilder sb = new StringBuilder(bytes.length*2);
+		for (byte b : bytes)
+			sb.append(String.format("%02x", b));
+		return sb.toString();
+	}
+}
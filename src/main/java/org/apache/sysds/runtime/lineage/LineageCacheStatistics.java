@@ -34,10 +34,18 @@ public class LineageCacheStatistics {
 	private static final LongAdder _numHitsFunc     = new LongAdder();
 	private static final LongAdder _numWritesMem    = new LongAdder();
 	private static final LongAdder _numWritesFS     = new LongAdder();
+	private static final LongAdder _numHitsCompr    = new LongAdder();
+	private static final LongAdder _numWritesCompr  = new LongAdder();
+	private static final LongAdder _numHitsPersist  = new LongAdder();
+	private static final LongAdder _numWritesPersist= new LongAdder();
 	private static final LongAdder _numMemDel       = new LongAdder();
 	private static final LongAdder _numRewrites     = new LongAdder();
 	private static final LongAdder _ctimeFSRead     = new LongAdder(); //in nano sec
 	private static final LongAdder _ctimeFSWrite    = new LongAdder(); //in nano sec
+	private static final LongAdder _ctimeCompress   = new LongAdder(); //in nano sec
+	private static final LongAdder _ctimeDecompress = new LongAdder(); //in nano sec
+	private static final LongAdder _ctimePersistRead  = new LongAdder(); //in nano sec
+	private static final LongAdder _ctimePersistWrite = new LongAdder(); //in nano sec
 	private static final LongAdder _ctimeSaved      = new LongAdder(); //in nano sec
 	private static final LongAdder _ctimeMissed     = new LongAdder(); //in nano sec
 
@@ -50,10 +58,18 @@ public class LineageCacheStatistics {
 		_numHitsFunc.reset();
 		_numWritesMem.reset();
 		_numWritesFS.reset();
+		_numHitsCompr.reset();
+		_numWritesCompr.reset();
+		_numHitsPersist.reset();
+		_numWritesPersist.reset();
 		_numMemDel.reset();
 		_numRewrites.reset();
 		_ctimeFSRead.reset();
 		_ctimeFSWrite.reset();
+		_ctimeCompress.reset();
+		_ctimeDecompress.reset();
+		_ctimePersistRead.reset();
+		_ctimePersistWrite.reset();
 		_ctimeSaved.reset();
 		_ctimeMissed.reset();
 	}
@@ -63,11 +79,37 @@ public class LineageCacheStatistics {
 		_numHitsMem.increment();
 	}
 
+	public static long getMemHits() {
+		return _numHitsMem.longValue();
+	}
+
 	public static void incrementFSHits() {
 		// Number of times found in local FS.
 		_numHitsFS.increment();
 	}
 
+	public static long getFSHits() {
+		return _numHitsFS.longValue();
+	}
+
+	public static void incrementCompressedHits() {
+		// Number of times found in the compressed in-memory tier.
+		_numHitsCompr.increment();
+	}
+	
+	public static long getCompressedHits() {
+		return _numHitsCompr.longValue();
+	}
+
+	public static void incrementPersistHits() {
+		// Number of times found in the persistent cross-session store.
+		_numHitsPersist.increment();
+	}
+	
+	public static long getPersistHits() {
+		return _numHitsPersist.longValue();
+	}
+
 	public static void incrementDelHits() {
 		// Number of times entry is removed from cache but sought again later.
 		_numHitsDel.increment();
@@ -97,6 +139,10 @@ public class LineageCacheStatistics {
 		_numWritesMem.increment();
 	}
 
+	public static long getMemWrites() {
+		return _numWritesMem.longValue();
+	}
+
 	public static void incrementPRewrites() {
 		// Number of partial rewrites.
 		_numRewrites.increment();
@@ -106,6 +152,28 @@ public class LineageCacheStatistics {
 		// Number of times written in local FS.
 		_numWritesFS.increment();
 	}
+
+	public static long getFSWrites() {
+		return _numWritesFS.longValue();
+	}
+	
+	public static void incrementCompressedWrites() {
+		// Number of times written to the compressed in-memory tier.
+		_numWritesCompr.increment();
+	}
+	
+	public static long getCompressedWrites() {
+		return _numWritesCompr.longValue();
+	}
+	
+	public static void incrementPersistWrites() {
+		// Number of times written to the persistent cross-session store.
+		_numWritesPersist.increment();
+	}
+	
+	public static long getPersistWrites() {
+		return _numWritesPersist.longValue();
+	}
 	
 	public static void incrementMemDeletes() {
 		// Number of deletions from cache (including spilling).
@@ -126,12 +194,36 @@ public class LineageCacheStatistics {
 		_ctimeFSWrite.add(delta);
 	}
 
+	public static void incrementCompressTime(long delta) {
+		// Total time spent compressing evicted entries.
+		_ctimeCompress.add(delta);
+	}
+
+	public static void incrementDecompressTime(long delta) {
+		// Total time spent decompressing reused entries.
+		_ctimeDecompress.add(delta);
+	}
+
+	public static void incrementPersistReadTime(long delta) {
+		// Total time spent reading from the persistent store.
+		_ctimePersistRead.add(delta);
+	}
+
+	public static void incrementPersistWriteTime(long delta) {
+		// Total time spent writing to the persistent store.
+		_ctimePersistWrite.add(delta);
+	}
+
 	public static void incrementSavedComputeTime(long delta) {
 		// Total time saved by reusing.
 		// TODO: Handle overflow
 		_ctimeSaved.add(delta);
 	}
 
+	public static long getSavedComputeTime() {
+		return _ctimeSaved.longValue();
+	}
+
 	public static void incrementMissedComputeTime(long delta) {
 		// Total time missed due to eviction.
 		// TODO: Handle overflow
@@ -189,6 +281,31 @@ public class LineageCacheStatistics {
 		sb.append(String.format("%.3f", ((double)_ctimeFSWrite.longValue())/1000000000)); //in sec
 		return sb.toString();
 	}
+	
+	public static String displayCompressed() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numWritesCompr.longValue());
+		sb.append("/");
+		sb.append(_numHitsCompr.longValue());
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)_ctimeCompress.longValue())/1000000000)); //in sec
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)_ctimeDecompress.longValue())/1000000000)); //in sec
+		return sb.toString();
+	}
+
+	public static String displayPersist() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numWritesPersist.longValue());
+		sb.append("/");
+		sb.append(_numHitsPersist.longValue());
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)_ctimePersistRead.longValue())/1000000000)); //in sec
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)_ctimePersistWrite.longValue())/1000000000)); //in sec
+		return sb.toString();
+	}
+
 	public static String displayComputeTime() {
 		StringBuilder sb = new StringBuilder();
 		sb.append(String.format("%.3f", ((double)_ctimeSaved.longValue())/1000000000)); //in sec
@@ -34,6 +34,9 @@ public class LineageItem {
 	private LineageItem[] _inputs;
 	private int _hash = 0;
 	private long _distLeaf2Node;
+	// session-independent key for the persistent lineage cache
+	// (lazily computed, only if the persistent cache is enabled)
+	private String _persistKey = null;
 	// init visited to true to ensure visited items are
 	// not hidden when used as inputs to new items
 	private boolean _visited = true;
@@ -96,17 +99,27 @@ public class LineageItem {
 	public void resetInputs() {
 		_inputs = null;
 		_hash = 0;
+		_persistKey = null;
 	}
 	
 	public void setInput(int i, LineageItem item) {
 		_inputs[i] = item;
 		_hash = 0; //reset hash
+		_persistKey = null;
 	}
 	
 	public String getData() {
 		return _data;
 	}
 	
+	protected String getPersistKey() {
+		return _persistKey;
+	}
+	
+	protected void setPersistKey(String key) {
+		_persistKey = key;
+	}
+	
 	public void fixHash() {
 		_hash = 0;
 		_hash = hashCode();
@@ -70,6 +70,10 @@ public class FrameBlock implements CacheBlock, Externalizable  {
 
 	//internal configuration
 	private static final boolean REUSE_RECODE_MAPS = true;
+	public static final boolean DICT_ENCODE_STRINGS = true; //low-cardinality string columns on read
+	private static final int DICT_MIN_ROWS = 1024; //min rows for dictionary encoding
+	private static final int DICT_SAMPLE_SIZE = 1024; //leading rows for cardinality estimate
+	private static final double DICT_MAX_DISTINCT_RATIO = 0.1; //max distinct values per row
 
 	/** The number of rows of the FrameBlock */
 	private int _numRows = -1;
@@ -560,11 +564,25 @@ public class FrameBlock implements CacheBlock, Externalizable  {
 		_msize = -1;
 	}
 
+	/**
+	 * Returns the raw column data. For dictionary-encoded columns, this is a
+	 * decoded copy without modifying the frame, such that writes into the returned
+	 * array are not reflected in the frame. Readers of encoded columns should
+	 * use {@link #getColumnCodes(int)} and {@link #getColumnDictionary(int)}.
+	 *
+	 * @param c column index
+	 * @return array of column values
+	 */
 	public Object getColumnData(int c) {
 		switch(_schema[c]) {
-			case STRING:  return ((StringArray)_coldata[c])._data;
+			case STRING:
+				if( _coldata[c] instanceof DictStringArray )
+					return ((DictStringArray)_coldata[c]).decode();
+				return ((StringArray)_coldata[c])._data;
 			case BOOLEAN: return ((BooleanArray)_coldata[c])._data;
+			case INT32:   return ((IntegerArray)_coldata[c])._data;
 			case INT64:     return ((LongArray)_coldata[c])._data;
+			case FP32:    return ((FloatArray)_coldata[c])._data;
 			case FP64:  return ((DoubleArray)_coldata[c])._data;
 			default:      return null;
 	 	}
@@ -574,6 +592,79 @@ public class FrameBlock implements CacheBlock, Externalizable  {
 		return _coldata[c];
 	}
 
+	/**
+	 * Converts all string columns of low cardinality into a dictionary-encoded
+	 * representation of int codes and a shared dictionary of distinct values.
+	 *
+	 * @return number of dictionary-encoded columns
+	 */
+	public int compactStringColumns() {
+		int ret = 0;
+		for( int j=0; j<getNumColumns(); j++ )
+			ret += compactStringColumn(j) ? 1 : 0;
+		return ret;
+	}
+
+	/**
+	 * Converts the given string column into a dictionary-encoded representation
+	 * if its number of distinct values is small relative to the number of rows.
+	 * A sample of leading rows is used to skip obvious high-cardinality columns
+	 * (e.g., identifiers) without a full encoding attempt.
+	 *
+	 * @param c column index
+	 * @return true if the column is dictionary-encoded
+	 */
+	public boolean compactStringColumn(int c) {
+		if( _coldata == null || _coldata[c] instanceof DictStringArray )
+			return _coldata != null;
+		if( _schema[c] != ValueType.STRING || _numRows < DICT_MIN_ROWS )
+			return false;
+		String[] data = ((StringArray)_coldata[c])._data;
+		//estimate cardinality on leading rows
+		int slen = Math.min(_numRows, DICT_SAMPLE_SIZE);
+		HashSet<String> sample = new HashSet<>();
+		for( int i=0; i<slen; i++ )
+			if( data[i] != null )
+				sample.add(data[i]);
+		if( sample.size() > slen / 2 )
+			return false;
+		//encode all rows, aborted if too many distinct values
+		DictStringArray tmp = DictStringArray.create(data, _numRows,
+			(int)(DICT_MAX_DISTINCT_RATIO * _numRows));
+		if( tmp == null )
+			return false;
+		_coldata[c] = tmp;
+		_msize = -1;
+		return true;
+	}
+
+	public boolean isDictionaryEncoded(int c) {
+		return _coldata != null && _coldata[c] instanceof DictStringArray;
+	}
+
+	/**
+	 * Returns the distinct values of a dictionary-encoded column, where
+	 * code k of {@link #getColumnCodes(int)} refers to entry k-1.
+	 *
+	 * @param c column index
+	 * @return dictionary of distinct values
+	 */
+	public String[] getColumnDictionary(int c) {
+		DictStringArray arr = (DictStringArray)_coldata[c];
+		return Arrays.copyOf(arr._dict, arr._ndict);
+	}
+
+	/**
+	 * Returns the int codes of a dictionary-encoded column, where 0
+	 * represents null values.
+	 *
+	 * @param c column index
+	 * @return codes per row (potentially larger than the number of rows)
+	 */
+	public int[] getColumnCodes(int c) {
+		return ((DictStringArray)_coldata[c])._codes;
+	}
+
 	public void setColumn(int c, Array column) {
 		if( _coldata == null )
 			_coldata = new Array[getNumColumns()];
@@ -803,6 +894,10 @@ public class FrameBlock implements CacheBlock, Externalizable  {
 				case INT64:
 				case FP64: size += 8*_numRows; break;
 				case STRING:
+					if( _coldata[j] instanceof DictStringArray ) {
+						size += ((DictStringArray)_coldata[j]).getInMemorySize();
+						break;
+					}
 					StringArray arr = (StringArray)_coldata[j];
 					for( int i=0; i<_numRows; i++ )
 						size += getInMemoryStringSize(arr.get(i));
@@ -834,6 +929,10 @@ public class FrameBlock implements CacheBlock, Externalizable  {
 				case INT64:
 				case FP64: size += 8*_numRows; break;
 				case STRING:
+					if( _coldata[j] instanceof DictStringArray ) {
+						size += ((DictStringArray)_coldata[j]).getExactSerializedSize();
+						break;
+					}
 					StringArray arr = (StringArray)_coldata[j];
 					for( int i=0; i<_numRows; i++ )
 						size += IOUtilFunctions.getUTFSize(arr.get(i));
@@ -1485,14 +1584,19 @@ public class FrameBlock implements CacheBlock, Externalizable  {
 		}
 		@Override
 		public void set(int rl, int ru, Array value, int rlSrc) {
-			System.arraycopy(((StringArray)value)._data, rlSrc, _data, rl, ru-rl+1);
+			if( value instanceof StringArray )
+				System.arraycopy(((StringArray)value)._data, rlSrc, _data, rl, ru-rl+1);
+			else //dictionary-encoded input
+				for( int i=rl; i<ru+1; i++ )
+					_data[i] = (String)value.get(rlSrc+i-rl);
 		}
 		@Override
 		public void setNz(int rl, int ru, Array value) {
-			String[] data2 = ((StringArray)value)._data;
-			for( int i=rl; i<ru+1; i++ )
-				if( data2[i]!=null )
-					_data[i] = data2[i];
+			for( int i=rl; i<ru+1; i++ ) {
+				String tmp = (String)value.get(i);
+				if( tmp!=null )
+					_data[i] = tmp;
+			}
 		}
 		@Override
 		public void append(String value) {
@@ -1529,6 +1633,178 @@ public class FrameBlock implements CacheBlock, Externalizable  {
 		}
 	}
 
+	/**
+	 * Dictionary-encoded string array, which stores an int code per row
+	 * (0 for null, otherwise the 1-based position in the dictionary) and
+	 * a dictionary of distinct strings. Clones and slices share the
+	 * dictionary until new distinct values are added (copy-on-write).
+	 */
+	private static class DictStringArray extends Array<String> {
+		private int[] _codes = null;
+		private String[] _dict = null;
+		private int _ndict = 0;
+		private HashMap<String,Integer> _map = null;
+		//shared dictionary, guarded by the array (clone, slice, and new entries)
+		private volatile boolean _shared = false;
+
+		public DictStringArray(int[] codes, String[] dict, int ndict, HashMap<String,Integer> map) {
+			_codes = codes;
+			_dict = dict;
+			_ndict = ndict;
+			_map = map;
+			_size = _codes.length;
+		}
+		@Override
+		public String get(int index) {
+			int code = _codes[index];
+			return (code > 0) ? _dict[code-1] : null;
+		}
+		@Override
+		public void set(int index, String value) {
+			_codes[index] = getCode(value);
+		}
+		@Override
+		public void set(int rl, int ru, Array value) {
+			set(rl, ru, value, 0);
+		}
+		@Override
+		public void set(int rl, int ru, Array value, int rlSrc) {
+			if( value instanceof DictStringArray && ((DictStringArray)value)._dict == _dict )
+				System.arraycopy(((DictStringArray)value)._codes, rlSrc, _codes, rl, ru-rl+1);
+			else
+				for( int i=rl; i<ru+1; i++ )
+					_codes[i] = getCode((String)value.get(rlSrc+i-rl));
+		}
+		@Override
+		public void setNz(int rl, int ru, Array value) {
+			for( int i=rl; i<ru+1; i++ ) {
+				String tmp = (String)value.get(i);
+				if( tmp!=null )
+					_codes[i] = getCode(tmp);
+			}
+		}
+		@Override
+		public void append(String value) {
+			if( _codes.length <= _size )
+				_codes = Arrays.copyOf(_codes, newSize());
+			_codes[_size++] = getCode(value);
+		}
+		@Override
+		public void write(DataOutput out) throws IOException {
+			//same format as string arrays
+			for( int i=0; i<_size; i++ )
+				out.writeUTF((_codes[i]>0)?_dict[_codes[i]-1]:"");
+		}
+		@Override
+		public void readFields(DataInput in) throws IOException {
+			//same format as string arrays, re-encoded into a new dictionary
+			_size = _codes.length;
+			_dict = new String[Math.max(_ndict, 4)];
+			_ndict = 0;
+			_map = new HashMap<>();
+			_shared = false;
+			for( int i=0; i<_size; i++ ) {
+				String tmp = in.readUTF();
+				_codes[i] = getCode(!tmp.isEmpty() ? tmp : null);
+			}
+		}
+		@Override
+		public synchronized Array clone() {
+			_shared = true;
+			return shareDictionary(Arrays.copyOf(_codes, _size));
+		}
+		@Override
+		public synchronized Array slice(int rl, int ru) {
+			_shared = true;
+			return shareDictionary(Arrays.copyOfRange(_codes,rl,ru+1));
+		}
+		@Override
+		public void reset(int size) {
+			if( _codes.length < size )
+				_codes = new int[size];
+			else
+				Arrays.fill(_codes, 0, size, 0);
+			_size = size;
+		}
+		private DictStringArray shareDictionary(int[] codes) {
+			DictStringArray ret = new DictStringArray(codes, _dict, _ndict, _map);
+			ret._shared = true;
+			return ret;
+		}
+		private int getCode(String value) {
+			if( value == null )
+				return 0;
+			Integer code = _map.get(value);
+			return (code != null) ? code : addCode(value);
+		}
+		private synchronized int addCode(String value) {
+			//copy shared dictionary before adding a new entry
+			if( _shared ) {
+				_dict = Arrays.copyOf(_dict, _dict.length);
+				_map = new HashMap<>(_map);
+				_shared = false;
+			}
+			if( _dict.length <= _ndict )
+				_dict = Arrays.copyOf(_dict, Math.max(_ndict*2, 4));
+			_dict[_ndict++] = value;
+			_map.put(value, _ndict);
+			return _ndict;
+		}
+		private String[] decode() {
+			String[] ret = new String[_size];
+			for( int i=0; i<_size; i++ )
+				ret[i] = get(i);
+			return ret;
+		}
+		private long getInMemorySize() {
+			long size = 4L * _codes.length + 8 + 32 + 8L * _dict.length;
+			for( int i=0; i<_ndict; i++ ) //dictionary strings and map entries
+				size += getInMemoryStringSize(_dict[i]) + 32 + 16;
+			return size;
+		}
+		private long getExactSerializedSize() {
+			long[] utfSize = new long[_ndict+1];
+			utfSize[0] = IOUtilFunctions.getUTFSize("");
+			for( int i=0; i<_ndict; i++ )
+				utfSize[i+1] = IOUtilFunctions.getUTFSize(_dict[i]);
+			long size = 0;
+			for( int i=0; i<_size; i++ )
+				size += utfSize[_codes[i]];
+			return size;
+		}
+
+		/**
+		 * Creates a dictionary-encoded copy of the given strings, unless
+		 * the number of distinct values exceeds the given maximum.
+		 *
+		 * @param data input strings
+		 * @param len number of rows
+		 * @param maxDistinct maximum number of distinct values
+		 * @return dictionary-encoded array, or null if too many distinct values
+		 */
+		public static DictStringArray create(String[] data, int len, int maxDistinct) {
+			int[] codes = new int[len];
+			String[] dict = new String[Math.min(maxDistinct, 16)];
+			HashMap<String,Integer> map = new HashMap<>();
+			int ndict = 0;
+			for( int i=0; i<len; i++ ) {
+				if( data[i] == null )
+					continue;
+				Integer code = map.get(data[i]);
+				if( code == null ) {
+					if( ndict >= maxDistinct )
+						return null;
+					if( dict.length <= ndict )
+						dict = Arrays.copyOf(dict, Math.min(ndict*2, maxDistinct));
+					dict[ndict++] = data[i];
+					map.put(data[i], code = ndict);
+				}
+				codes[i] = code;
+			}
+			return new DictStringArray(codes, dict, ndict, map);
+		}
+	}
+
 	private static class BooleanArray extends Array<Boolean> {
 		private boolean[] _data = null;
 
@@ -36,8 +36,8 @@ import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyze
 import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.DenseBlockFactory;
 import org.apache.sysds.runtime.data.SparseBlock;
-import org.apache.sysds.runtime.data.SparseBlockCSR;
 import org.apache.sysds.runtime.data.SparseBlockFactory;
+import org.apache.sysds.runtime.data.SparseBlockMCSR;
 import org.apache.sysds.runtime.functionobjects.Builtin;
 import org.apache.sysds.runtime.functionobjects.Builtin.BuiltinCode;
 import org.apache.sysds.runtime.functionobjects.CM;
@@ -147,10 +147,10 @@ public class LibMatrixAgg
 			return;
 		}
 		
-		//ensure MCSR instead of CSR for update in-place
-		if( aggVal.sparse && aggVal.isAllocated() && aggVal.getSparseBlock() instanceof SparseBlockCSR )
+		//ensure MCSR instead of CSR/DCSR for update in-place (which would shift the arrays on every insert)
+		if( aggVal.sparse && aggVal.isAllocated() && !(aggVal.getSparseBlock() instanceof SparseBlockMCSR) )
 			aggVal.sparseBlock = SparseBlockFactory.copySparseBlock(SparseBlock.Type.MCSR, aggVal.getSparseBlock(), true);
-		if( aggCorr.sparse && aggCorr.isAllocated() && aggCorr.getSparseBlock() instanceof SparseBlockCSR )
+		if( aggCorr.sparse && aggCorr.isAllocated() && !(aggCorr.getSparseBlock() instanceof SparseBlockMCSR) )
 			aggCorr.sparseBlock = SparseBlockFactory.copySparseBlock(SparseBlock.Type.MCSR, aggCorr.getSparseBlock(), true);
 		
 		//core aggregation
@@ -260,8 +260,12 @@ public class LibMatrixAgg
 		try {
 			ExecutorService pool = CommonThreadPool.get(k);
 			ArrayList<AggTask> tasks = new ArrayList<>();
-			ArrayList<Integer> blklens = UtilFunctions.getBalancedBlockSizesDefault(m, k,
-				(uaop.indexFn instanceof ReduceRow)); //use static partitioning for col*()
+			//use static partitioning for col*(), and nnz-balanced partitions for sparse
+			//inputs to avoid stragglers on skewed rows (dynamically assigned to threads)
+			boolean constK = uaop.indexFn instanceof ReduceRow;
+			ArrayList<Integer> blklens = in.sparse ?
+				UtilFunctions.getNnzBalancedBlockSizesDefault(in.sparseBlock, m, k, constK) :
+				UtilFunctions.getBalancedBlockSizesDefault(m, k, constK);
 			for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ ) {
 				tasks.add( (uaop.indexFn instanceof ReduceCol) ? 
 					new RowAggTask(in, out, aggtype, uaop, lb, lb+blklens.get(i)) :
@@ -2207,9 +2211,8 @@ public class LibMatrixAgg
 	 * @param ru row upper index
 	 */
 	private static void s_uarkp( SparseBlock a, DenseBlock c, int n, KahanObject kbuff, KahanPlus kplus, int rl, int ru ) {
-		//compute row aggregates
-		for( int i=rl; i<ru; i++ ) {
-			if( a.isEmpty(i) ) continue;
+		//compute row aggregates (skip empty rows)
+		for( int i=a.nextNonEmptyRow(rl, ru); i<ru; i=a.nextNonEmptyRow(i+1, ru) ) {
 			kbuff.set(0, 0); //reset buffer
 			sum( a.values(i), a.pos(i), a.size(i), kbuff, kplus );
 			c.set(i, kbuff);
@@ -2286,9 +2289,8 @@ public class LibMatrixAgg
 	 */
 	private static void s_uarsqkp(SparseBlock a, DenseBlock c, int n, KahanObject kbuff, KahanPlusSq kplusSq, int rl, int ru )
 	{
-		//compute row aggregates
-		for (int i=rl; i<ru; i++) {
-			if( a.isEmpty(i) ) continue;
+		//compute row aggregates (skip empty rows)
+		for( int i=a.nextNonEmptyRow(rl, ru); i<ru; i=a.nextNonEmptyRow(i+1, ru) ) {
 			kbuff.set(0, 0); //reset buffer
 			sum(a.values(i), a.pos(i), a.size(i), kbuff, kplusSq);
 			c.set(i, kbuff);
@@ -2887,7 +2889,7 @@ public class LibMatrixAgg
 		for( int i=rl; i<ru; i++ ) {
 			if( !a.isEmpty(i) ) {
 				int alen = a.size(i);
-				ret *= product(a.values(i), 0, alen);
+				ret *= product(a.values(i), a.pos(i), alen);
 				ret *= (alen<n) ? 0 : 1;
 			}
 			//early abort (note: in case of NaNs this is an invalid optimization)
@@ -2907,12 +2909,10 @@ public class LibMatrixAgg
 	 */
 	private static void s_uarm( SparseBlock a, DenseBlock c, int n, int rl, int ru ) {
 		double[] lc = c.valuesAt(0);
-		for( int i=rl; i<ru; i++ ) {
-			if( !a.isEmpty(i) ) {
-				int alen = a.size(i);
-				double tmp = product(a.values(i), 0, alen);
-				lc[i] = tmp * ((alen<n) ? 0 : 1);
-			}
+		for( int i=a.nextNonEmptyRow(rl, ru); i<ru; i=a.nextNonEmptyRow(i+1, ru) ) {
+			int alen = a.size(i);
+			double tmp = product(a.values(i), a.pos(i), alen);
+			lc[i] = tmp * ((alen<n) ? 0 : 1);
 		}
 	}
 	
@@ -2928,8 +2928,7 @@ public class LibMatrixAgg
 	private static void s_uacm( SparseBlock a, DenseBlock c, int n, int rl, int ru ) {
 		double[] lc = c.set(1).valuesAt(0);
 		int[] cnt = new int[ n ]; 
-		for( int i=rl; i<ru; i++ ) {
-			if( a.isEmpty(i) ) continue;
+		for( int i=a.nextNonEmptyRow(rl, ru); i<ru; i=a.nextNonEmptyRow(i+1, ru) ) {
 			countAgg(a.values(i), cnt, a.indexes(i), a.pos(i), a.size(i));
 			LibMatrixMult.vectMultiplyWrite(lc, a.values(i), lc, 0, a.pos(i), 0, a.size(i));
 		}
@@ -3114,14 +3113,29 @@ public class LibMatrixAgg
 	
 	private static double builtin( double[] a, int ai, final double init, final int len, Builtin aggop ) {
 		double val = init;
-		for( int i=0; i<len; i++, ai++ )
-			val = aggop.execute( val, a[ ai ] );
+		//dedicated max/min loops w/o per-cell dispatch over the builtin code
+		if( aggop.getBuiltinCode() == BuiltinCode.MAX )
+			for( int i=0; i<len; i++, ai++ )
+				val = Math.max( val, a[ ai ] );
+		else if( aggop.getBuiltinCode() == BuiltinCode.MIN )
+			for( int i=0; i<len; i++, ai++ )
+				val = Math.min( val, a[ ai ] );
+		else
+			for( int i=0; i<len; i++, ai++ )
+				val = aggop.execute( val, a[ ai ] );
 		return val;
 	}
 
 	private static void builtinAgg( double[] a, double[] c, int ai, final int len, Builtin aggop ) {
-		for( int i=0; i<len; i++ )
-			c[ i ] = aggop.execute( c[ i ], a[ ai+i ] );
+		if( aggop.getBuiltinCode() == BuiltinCode.MAX )
+			for( int i=0; i<len; i++ )
+				c[ i ] = Math.max( c[ i ], a[ ai+i ] );
+		else if( aggop.getBuiltinCode() == BuiltinCode.MIN )
+			for( int i=0; i<len; i++ )
+				c[ i ] = Math.min( c[ i ], a[ ai+i ] );
+		else
+			for( int i=0; i<len; i++ )
+				c[ i ] = aggop.execute( c[ i ], a[ ai+i ] );
 	}
 
 	private static void builtinAgg( double[] a, double[] c, int[] aix, int ai, final int len, Builtin aggop ) {
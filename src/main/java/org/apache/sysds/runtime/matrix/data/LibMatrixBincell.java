@@ -47,6 +47,7 @@ import org.apache.sysds.runtime.functionobjects.Power2;
 import org.apache.sysds.runtime.functionobjects.ValueFunction;
 import org.apache.sysds.runtime.functionobjects.Builtin.BuiltinCode;
 import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.LeftScalarOperator;
 import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
 import org.apache.sysds.runtime.util.DataConverter;
 import org.apache.sysds.runtime.util.SortUtils;
@@ -304,7 +305,11 @@ public class LibMatrixBincell
 						nnz += m1.recomputeNonZeros(i, i, 0, clen-1);
 					}
 					else { //GENERAL CASE
-						if( a != null )
+						if( a != null && isVectorizable(op.fn) ) {
+							vectBinary(op.fn, a, v2, c, ix, ix, clen, false);
+							nnz += UtilFunctions.computeNnz(c, ix, clen);
+						}
+						else if( a != null )
 							for( int j=0; j<clen; j++ ) {
 								c[ix+j] = op.fn.execute( a[ix+j], v2 );	
 								nnz += (c[ix+j] != 0) ? 1 : 0;
@@ -345,6 +350,13 @@ public class LibMatrixBincell
 					double[] a = da.valuesAt(bi);
 					double[] c = dc.valuesAt(bi);
 					int len = dc.blockSize(bi);
+					if( b != null && isVectorizable(op.fn) ) {
+						for( int i=0, ix=0; i<len; i++, ix+=clen ) {
+							vectBinary(op.fn, a, b, c, ix, 0, ix, clen);
+							nnz += UtilFunctions.computeNnz(c, ix, clen);
+						}
+						continue;
+					}
 					for( int i=0, ix=0; i<len; i++, ix+=clen )
 						for( int j=0; j<clen; j++ ) {
 							c[ix+j] = op.fn.execute( a[ix+j], ((b!=null) ? b[j] : 0) );
@@ -814,6 +826,11 @@ public class LibMatrixBincell
 			double[] b = db.valuesAt(bi);
 			double[] c = dc.valuesAt(bi);
 			int len = da.size(bi);
+			if( isVectorizable(fn) ) {
+				vectBinary(fn, a, b, c, 0, 0, 0, len);
+				lnnz += UtilFunctions.computeNnz(c, 0, len);
+				continue;
+			}
 			for( int i=0; i<len; i++ ) {
 				c[i] = fn.execute(a[i], b[i]);
 				lnnz += (c[i]!=0)? 1 : 0;
@@ -1127,11 +1144,18 @@ public class LibMatrixBincell
 		DenseBlock dc = ret.getDenseBlock();
 		
 		//compute scalar operation, incl nnz maintenance
+		boolean vect = isVectorizable(op.fn);
+		boolean left = op instanceof LeftScalarOperator;
 		long nnz = 0;
 		for( int bi=0; bi<da.numBlocks(); bi++) {
 			double[] a = da.valuesAt(bi);
 			double[] c = dc.valuesAt(bi);
 			int limit = da.size(bi);
+			if( vect ) {
+				vectBinary(op.fn, a, op.getConstant(), c, 0, 0, limit, left);
+				nnz += UtilFunctions.computeNnz(c, 0, limit);
+				continue;
+			}
 			for( int i=0; i<limit; i++ ) {
 				c[i] = op.executeScalar( a[i] );
 				nnz += (c[i] != 0) ? 1 : 0;
@@ -1243,6 +1267,14 @@ public class LibMatrixBincell
 				lnnz += UtilFunctions.computeNnz(avals, aix, clen);
 			}
 		}
+		else if( isVectorizable(op.fn) ) {
+			for(int r=0; r<rlen; r++) {
+				int aix = a.pos(r), bix = b.pos(r);
+				double[] avals = a.values(r), bvals = b.values(r);
+				vectBinary(op.fn, avals, bvals, avals, aix, bix, aix, clen);
+				lnnz += UtilFunctions.computeNnz(avals, aix, clen);
+			}
+		}
 		else {
 			for(int r=0; r<rlen; r++) {
 				double[] avals = a.values(r), bvals = b.values(r);
@@ -1408,4 +1440,61 @@ public class LibMatrixBincell
 		if( zero )
 			c.compact(r);
 	}
+
+	/**
+	 * Indicates if the given function has a dedicated dense kernel (see vectBinary),
+	 * which avoids the per-cell virtual function call of the generic code path. Such
+	 * simple loops are amenable to auto-vectorization (SIMD) by the JIT compiler.
+	 * 
+	 * @param fn value function
+	 * @return true if a dedicated dense kernel exists
+	 */
+	private static boolean isVectorizable(ValueFunction fn) {
+		return fn instanceof Plus || fn instanceof Minus
+			|| fn instanceof Multiply || fn instanceof Divide;
+	}
+	
+	/**
+	 * Dense kernel c = a op b for vectorizable functions, where c may be
+	 * identical to a for in-place updates.
+	 */
+	private static void vectBinary(ValueFunction fn, double[] a, double[] b, double[] c, int ai, int bi, int ci, final int len) {
+		if( fn instanceof Plus )
+			for( int j=0; j<len; j++ )
+				c[ci+j] = a[ai+j] + b[bi+j];
+		else if( fn instanceof Minus )
+			for( int j=0; j<len; j++ )
+				c[ci+j] = a[ai+j] - b[bi+j];
+		else if( fn instanceof Multiply )
+			for( int j=0; j<len; j++ )
+				c[ci+j] = a[ai+j] * b[bi+j];
+		else //Divide
+			for( int j=0; j<len; j++ )
+				c[ci+j] = a[ai+j] / b[bi+j];
+	}
+	
+	/**
+	 * Dense kernel c = a op bval (or c = bval op a if left) for vectorizable
+	 * functions, used for matrix-scalar and matrix-column vector operations.
+	 */
+	private static void vectBinary(ValueFunction fn, double[] a, double bval, double[] c, int ai, int ci, final int len, boolean left) {
+		if( fn instanceof Plus )
+			for( int j=0; j<len; j++ )
+				c[ci+j] = a[ai+j] + bval;
+		else if( fn instanceof Multiply )
+			for( int j=0; j<len; j++ )
+				c[ci+j] = a[ai+j] * bval;
+		else if( fn instanceof Minus && !left )
+			for( int j=0; j<len; j++ )
+				c[ci+j] = a[ai+j] - bval;
+		else if( fn instanceof Minus )
+			for( int j=0; j<len; j++ )
+				c[ci+j] = bval - a[ai+j];
+		else if( !left ) //Divide
+			for( int j=0; j<len; j++ )
+				c[ci+j] = a[ai+j] / bval;
+		else //Divide
+			for( int j=0; j<len; j++ )
+				c[ci+j] = bval / a[ai+j];
+	}
 }
@@ -6,9 +6,9 @@
  * to you under the Apache License, Version 2.0 (the
  * "License"); you may not use this file except in compliance
  * with the License.  You may obtain a copy of the License at
- * 
+ *
  *   http://www.apache.org/licenses/LICENSE-2.0
- * 
+ *
  * Unless required by applicable law or agreed to in writing,
  * software distributed under the License is distributed on an
  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
@@ -17,30 +17,31 @@
  * under the License.
  */
 
-package org.apache.sysds.runtime.matrix.data;
 
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.List;
-import java.util.PriorityQueue;
-import java.util.Set;
+package org.apache.sysds.runtime.matrix.data;
 
-import org.apache.commons.lang.NotImplementedException;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.api.DMLException;
+import org.apache.sysds.common.Types.Direction;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
-import org.apache.sysds.runtime.compress.colgroup.ColGroup;
+import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.matrix.data.sketch.CountDistinctSketch;
+import org.apache.sysds.runtime.matrix.data.sketch.ExactDistinctSketch;
+import org.apache.sysds.runtime.matrix.data.sketch.HLLSketch;
+import org.apache.sysds.runtime.matrix.data.sketch.KMVSketch;
 import org.apache.sysds.runtime.matrix.operators.CountDistinctOperator;
 import org.apache.sysds.runtime.matrix.operators.CountDistinctOperator.CountDistinctTypes;
-import org.apache.sysds.utils.Hash;
 import org.apache.sysds.utils.Hash.HashType;
 
 /**
- * This class contains various methods for counting the number of distinct values inside a MatrixBlock
+ * This class contains various methods for counting the number of distinct values inside a MatrixBlock or
+ * FrameBlock, in total or per row or column. All counts are computed via mergeable sketches (see
+ * {@link CountDistinctSketch}), which also allows distributed operations to count the distinct values
+ * per partition and merge the resulting sketches.
  */
 public class LibMatrixCountDistinct {
 	private static final Log LOG = LogFactory.getLog(LibMatrixCountDistinct.class.getName());
@@ -59,44 +60,22 @@ public class LibMatrixCountDistinct {
 	 * Public method to count the number of distinct values inside a matrix. Depending on which CountDistinctOperator
 	 * selected it either gets the absolute number or a estimated value.
 	 * 
-	 * TODO: Support counting num distinct in rows, or columns axis.
-	 * 
-	 * TODO: Add support for distributed spark operations
-	 * 
-	 * TODO: If the MatrixBlock type is CompressedMatrix, simply read the vaules from the ColGroups.
-	 * 
 	 * @param in the input matrix to count number distinct values in
 	 * @param op the selected operator to use
 	 * @return the distinct count
 	 */
 	public static int estimateDistinctValues(MatrixBlock in, CountDistinctOperator op) {
-		int res = 0;
-		if(op.operatorType == CountDistinctTypes.KMV &&
-			(op.hashType == HashType.ExpHash || op.hashType == HashType.StandardJava)) {
-			throw new DMLException("Invalid hashing configuration using " + op.hashType + " and " + op.operatorType);
-		}
-		else if(op.operatorType == CountDistinctTypes.HLL) {
-			throw new NotImplementedException("HyperLogLog not implemented");
-		}
+		checkOperator(op);
 		// shortcut in simplest case.
 		if(in.getLength() == 1 || in.isEmpty())
 			return 1;
-		else if(in.getNonZeros() < minimumSize) {
-			// Just use naive implementation if the number of nonZeros values size is small.
-			res = countDistinctValuesNaive(in);
-		}
-		else {
-			switch(op.operatorType) {
-				case COUNT:
-					res = countDistinctValuesNaive(in);
-					break;
-				case KMV:
-					res = countDistinctValuesKVM(in, op);
-					break;
-				default:
-					throw new DMLException("Invalid or not implemented Estimator Type");
-			}
-		}
+
+		// the sketch is an exact count if the number of nonZeros values size is small.
+		CountDistinctSketch sketch = createSketch(op,
+			getMaxDistinct(Direction.RowCol, in.getNumRows(), in.getNumColumns(), in.getNonZeros()));
+		sketch.update(in, 0, in.getNumRows());
+		int res = (int) sketch.getEstimate();
+		LOG.debug("Estimate: " + res + " via " + sketch);
 
 		if(res == 0)
 			throw new DMLRuntimeException("Impossible estimate of distinct values");
@@ -104,215 +83,214 @@ public class LibMatrixCountDistinct {
 	}
 
 	/**
-	 * Naive implementation of counting Distinct values.
-	 * 
-	 * Benefit Precise, but uses memory, on the scale of inputs number of distinct values.
+	 * Public method to count the number of distinct values inside a frame, where numeric columns are counted by
+	 * their double values, string columns by their string values, and null values are not counted.
 	 * 
-	 * @param in The input matrix to count number distinct values in
-	 * @return The absolute distinct count
+	 * @param in the input frame to count number distinct values in
+	 * @param op the selected operator to use
+	 * @return the distinct count
 	 */
-	private static int countDistinctValuesNaive(MatrixBlock in) {
-		Set<Double> distinct = new HashSet<>();
-		double[] data;
-		if(in instanceof CompressedMatrixBlock) {
-			CompressedMatrixBlock inC = (CompressedMatrixBlock) in;
-			if(inC.isOverlapping()) {
-				in = inC.decompress();
-				inC = null;
-			}
-			else {
-				List<ColGroup> colGroups = ((CompressedMatrixBlock) in).getColGroups();
-				for(ColGroup cg : colGroups) {
-					countDistinctValuesNaive(cg.getValues(), distinct);
-				}
-			}
-		}
-
-		long nonZeros = in.getNonZeros();
-
-		if(nonZeros != -1 && nonZeros < in.getNumColumns() * in.getNumRows()) {
-			distinct.add(0d);
-		}
+	public static int estimateDistinctValues(FrameBlock in, CountDistinctOperator op) {
+		checkOperator(op);
+		CountDistinctSketch sketch = createSketch(op,
+			getMaxDistinct(Direction.RowCol, in.getNumRows(), in.getNumColumns(), -1));
+		sketch.update(in, 0, in.getNumRows());
+		return (int) sketch.getEstimate();
+	}
 
-		if(in.sparseBlock != null) {
-			SparseBlock sb = in.sparseBlock;
+	/**
+	 * Public method to count the number of distinct values per row (column vector output) or per column (row vector
+	 * output) of a matrix or frame, according to the direction of the given operator.
+	 * 
+	 * @param in the input matrix or frame to count number distinct values in
+	 * @param op the selected operator to use, with direction Row or Col
+	 * @return the distinct counts per row or column
+	 */
+	public static MatrixBlock estimateDistinctValuesPerRowOrCol(CacheBlock in, CountDistinctOperator op) {
+		checkOperator(op);
+		if(op.direction == Direction.RowCol)
+			throw new DMLRuntimeException("Invalid direction " + op.direction + " for distinct counts per row or column.");
+		if(in instanceof CompressedMatrixBlock)
+			in = ((CompressedMatrixBlock) in).decompress();
 
-			if(in.sparseBlock.isContiguous()) {
-				data = sb.values(0);
-				countDistinctValuesNaive(data, distinct);
-			}
-			else {
-				for(int i = 0; i < in.getNumRows(); i++) {
-					if(!sb.isEmpty(i)) {
-						data = in.sparseBlock.values(i);
-						countDistinctValuesNaive(data, distinct);
-					}
-				}
+		long maxDistinct = getMaxDistinct(op.direction, in.getNumRows(), in.getNumColumns(), -1);
+		if(op.direction == Direction.Row) {
+			// the sketches of rows are independent, and thus not materialized all at once
+			MatrixBlock out = new MatrixBlock(in.getNumRows(), 1, false).allocateBlock();
+			double[] c = out.getDenseBlockValues();
+			for(int i = 0; i < in.getNumRows(); i++) {
+				CountDistinctSketch sketch = createSketch(op, maxDistinct);
+				sketch.update(in, i, i + 1);
+				c[i] = sketch.getEstimate();
 			}
+			out.recomputeNonZeros();
+			return out;
 		}
-		else if(in.denseBlock != null) {
-			DenseBlock db = in.denseBlock;
-			for(int i = 0; i <= db.numBlocks(); i++) {
-				data = db.valuesAt(i);
-				countDistinctValuesNaive(data, distinct);
-			}
-		}
-
-		return distinct.size();
+		return getEstimates(computeSketches(in, op, maxDistinct), op.direction);
 	}
 
-	private static Set<Double> countDistinctValuesNaive(double[] valuesPart, Set<Double> distinct) {
-		for(double v : valuesPart) {
-			distinct.add(v);
+	/**
+	 * Computes the sketches of the given matrix or frame block according to the direction of the operator, i.e., a
+	 * single sketch (RowCol), a sketch per row (Row), or a sketch per column (Col). The sketches of partitions of
+	 * an input are mergeable if they are created with the same operator and maximum number of distinct values.
+	 * 
+	 * @param in          the input matrix or frame block (e.g., a partition)
+	 * @param op          the selected operator to use
+	 * @param maxDistinct the maximum number of distinct values of the full input per output cell
+	 * @return the sketches
+	 */
+	public static CountDistinctSketch[] computeSketches(CacheBlock in, CountDistinctOperator op, long maxDistinct) {
+		final int m = in.getNumRows();
+		final int n = in.getNumColumns();
+		CountDistinctSketch[] ret = createSketches(op, maxDistinct,
+			op.direction == Direction.RowCol ? 1 : op.direction == Direction.Row ? m : n);
+		switch(op.direction) {
+			case RowCol:
+				ret[0].update(in, 0, m);
+				break;
+			case Row:
+				for(int i = 0; i < m; i++)
+					ret[i].update(in, i, i + 1);
+				break;
+			case Col:
+				if(in instanceof FrameBlock) {
+					for(int j = 0; j < n; j++)
+						ret[j].update((FrameBlock) in, 0, m, j, j + 1);
+				}
+				else
+					updateColumnSketches(ret, (MatrixBlock) in);
+				break;
 		}
-		return distinct;
+		return ret;
 	}
 
 	/**
-	 * KMV synopsis(for k minimum values) Distinct-Value Estimation
-	 * 
-	 * Kevin S. Beyer, Peter J. Haas, Berthold Reinwald, Yannis Sismanis, Rainer Gemulla:
-	 * 
-	 * On synopses for distinct‐value estimation under multiset operations. SIGMOD 2007
-	 * 
-	 * TODO: Add multi-threaded version
+	 * Creates an array of empty sketches according to the given operator.
 	 * 
-	 * @param in The Matrix Block to estimate the number of distinct values in
-	 * @return The distinct count estimate
+	 * @param op          the selected operator to use
+	 * @param maxDistinct the maximum number of distinct values of the full input per output cell
+	 * @param num         the number of sketches
+	 * @return the sketches
 	 */
-	private static int countDistinctValuesKVM(MatrixBlock in, CountDistinctOperator op) {
-
-		// D is the number of possible distinct values in the MatrixBlock.
-		// plus 1 to take account of 0 input.
-		long D = in.getNonZeros() + 1;
-
-		/**
-		 * To ensure that the likelihood to hash to the same value we need O(D^2) positions to hash to assign. If the
-		 * value is higher than int (which is the area we hash to) then use Integer Max value as largest hashing space.
-		 */
-		long tmp = D * D;
-		int M = (tmp > (long) Integer.MAX_VALUE) ? Integer.MAX_VALUE : (int) tmp;
-		LOG.debug("M not forced to int size: " + tmp);
-		LOG.debug("M: " + M);
-		/**
-		 * The estimator is asymptotically unbiased as k becomes large, but memory usage also scales with k. Furthermore
-		 * k value must be within range: D >> k >> 0
-		 */
-		int k = D > 64 ? 64 : (int) D;
-		SmallestPriorityQueue spq = new SmallestPriorityQueue(k);
-
-		countDistinctValuesKVM(in, op.hashType, k, spq, M);
-
-		LOG.debug("M: " + M);
-		LOG.debug("smallest hash:" + spq.peek());
-		LOG.debug("spq: " + spq.toString());
-
-		if(spq.size() < k) {
-			return spq.size();
-		}
-		else {
-			double U_k = (double) spq.poll() / (double) M;
-			LOG.debug("U_k : " + U_k);
-			double estimate = (double) (k - 1) / U_k;
-			LOG.debug("Estimate: " + estimate);
-			double ceilEstimate = Math.min(estimate, (double) D);
-			LOG.debug("Ceil worst case: " + D);
-			return (int) ceilEstimate;
-		}
+	public static CountDistinctSketch[] createSketches(CountDistinctOperator op, long maxDistinct, int num) {
+		checkOperator(op);
+		CountDistinctSketch[] ret = new CountDistinctSketch[num];
+		for(int i = 0; i < num; i++)
+			ret[i] = createSketch(op, maxDistinct);
+		return ret;
 	}
 
-	private static void countDistinctValuesKVM(MatrixBlock in, HashType hashType, int k, SmallestPriorityQueue spq,
-		int m) {
-		double[] data;
-		if(in.sparseBlock == null && in.denseBlock == null) {
-			List<ColGroup> colGroups = ((CompressedMatrixBlock) in).getColGroups();
-			for(ColGroup cg : colGroups) {
-				countDistinctValuesKVM(cg.getValues(), hashType, k, spq, m);
-			}
-		}
-		else if(in.sparseBlock != null) {
-			SparseBlock sb = in.sparseBlock;
-			if(in.sparseBlock.isContiguous()) {
-				data = sb.values(0);
-				countDistinctValuesKVM(data, hashType, k, spq, m);
-			}
-			else {
-				for(int i = 0; i < in.getNumRows(); i++) {
-					if(!sb.isEmpty(i)) {
-						data = in.sparseBlock.values(i);
-						countDistinctValuesKVM(data, hashType, k, spq, m);
-					}
-				}
-			}
-		}
-		else {
-			DenseBlock db = in.denseBlock;
-			final int bil = db.index(0);
-			final int biu = db.index(in.rlen);
-			for(int i = bil; i <= biu; i++) {
-				data = db.valuesAt(i);
-				countDistinctValuesKVM(data, hashType, k, spq, m);
-			}
-		}
+	/**
+	 * Merges the sketches of another partition of an input elementwise into the given sketches.
+	 * 
+	 * @param sketches the sketches to merge into
+	 * @param off      the offset of the partition sketches (e.g., their row offset for row-wise sketches)
+	 * @param that     the sketches of the partition
+	 * @return the merged sketches (the modified input)
+	 */
+	public static CountDistinctSketch[] mergeSketches(CountDistinctSketch[] sketches, int off,
+		CountDistinctSketch[] that) {
+		for(int i = 0; i < that.length; i++)
+			sketches[off + i].merge(that[i]);
+		return sketches;
 	}
 
-	private static void countDistinctValuesKVM(double[] data, HashType hashType, int k, SmallestPriorityQueue spq,
-		int m) {
-		for(double fullValue : data) {
-			int hash = Hash.hash(fullValue, hashType);
-			int v = (Math.abs(hash)) % (m - 1) + 1;
-			spq.add(v);
-		}
+	/**
+	 * Obtains the distinct count estimates of the given sketches as column vector (Row) or row vector (Col, RowCol).
+	 * 
+	 * @param sketches the sketches
+	 * @param dir      the direction of the count distinct operation
+	 * @return the distinct counts
+	 */
+	public static MatrixBlock getEstimates(CountDistinctSketch[] sketches, Direction dir) {
+		boolean row = dir == Direction.Row;
+		MatrixBlock out = new MatrixBlock(row ? sketches.length : 1, row ? 1 : sketches.length, false)
+			.allocateBlock();
+		double[] c = out.getDenseBlockValues();
+		for(int i = 0; i < sketches.length; i++)
+			c[i] = sketches[i].getEstimate();
+		out.recomputeNonZeros();
+		return out;
 	}
 
 	/**
-	 * Deceiving name, but is used to contain the k smallest values inserted.
+	 * Obtains the maximum number of distinct values of an output cell, which is used to configure the sketches.
 	 * 
-	 * TODO: add utility method to join two partitions
-	 * 
-	 * TODO: Replace Standard Java Set and Priority Queue with optimized versions.
+	 * @param dir  the direction of the count distinct operation
+	 * @param rlen the number of rows of the full input
+	 * @param clen the number of columns of the full input
+	 * @param nnz  the number of non-zeros of the full input, or -1 if unknown
+	 * @return the maximum number of distinct values, including zero
 	 */
-	private static class SmallestPriorityQueue {
-		private Set<Integer> containedSet;
-		private PriorityQueue<Integer> smallestHashes;
-		private int k;
-
-		public SmallestPriorityQueue(int k) {
-			smallestHashes = new PriorityQueue<>(k, Collections.reverseOrder());
-			containedSet = new HashSet<>(1);
-			this.k = k;
+	public static long getMaxDistinct(Direction dir, long rlen, long clen, long nnz) {
+		switch(dir) {
+			case Row:
+				return clen + 1;
+			case Col:
+				return rlen + 1;
+			default:
+				// plus 1 to take account of 0 input.
+				return ((nnz >= 0) ? nnz : rlen * clen) + 1;
 		}
+	}
 
-		public void add(int v) {
-			if(!containedSet.contains(v)) {
-				if(smallestHashes.size() < k) {
-					smallestHashes.add(v);
-					containedSet.add(v);
-				}
-				else if(v < smallestHashes.peek()) {
-					LOG.trace(smallestHashes.peek() + " -- " + v);
-					smallestHashes.add(v);
-					containedSet.add(v);
-					containedSet.remove(smallestHashes.poll());
-				}
-			}
+	private static CountDistinctSketch createSketch(CountDistinctOperator op, long maxDistinct) {
+		// Just use the exact count if the number of potential distinct values is small.
+		if(op.operatorType == CountDistinctTypes.COUNT || maxDistinct <= minimumSize)
+			return new ExactDistinctSketch();
+		switch(op.operatorType) {
+			case KMV:
+				return new KMVSketch(op.hashType, maxDistinct);
+			case HLL:
+				return new HLLSketch(maxDistinct);
+			default:
+				throw new DMLException("Invalid or not implemented Estimator Type");
 		}
+	}
 
-		public int size() {
-			return smallestHashes.size();
+	private static void checkOperator(CountDistinctOperator op) {
+		if(op.operatorType == CountDistinctTypes.KMV &&
+			(op.hashType == HashType.ExpHash || op.hashType == HashType.StandardJava)) {
+			throw new DMLException("Invalid hashing configuration using " + op.hashType + " and " + op.operatorType);
 		}
+	}
 
-		public int peek() {
-			return smallestHashes.peek();
+	private static void updateColumnSketches(CountDistinctSketch[] sketches, MatrixBlock in) {
+		final int m = in.getNumRows();
+		final int n = in.getNumColumns();
+		if(in instanceof CompressedMatrixBlock)
+			in = ((CompressedMatrixBlock) in).decompress();
+		if(in.isEmptyBlock(false)) {
+			for(int j = 0; j < n; j++)
+				sketches[j].update(0);
 		}
-
-		public int poll() {
-			return smallestHashes.poll();
+		else if(in.isInSparseFormat()) {
+			SparseBlock sb = in.getSparseBlock();
+			int[] cnt = new int[n];
+			for(int i = 0; i < m; i++) {
+				if(sb.isEmpty(i))
+					continue;
+				int apos = sb.pos(i);
+				int alen = sb.size(i);
+				int[] aix = sb.indexes(i);
+				double[] avals = sb.values(i);
+				for(int k = apos; k < apos + alen; k++) {
+					sketches[aix[k]].update(avals[k]);
+					cnt[aix[k]]++;
+				}
+			}
+			for(int j = 0; j < n; j++)
+				if(cnt[j] < m)
+					sketches[j].update(0);
 		}
-
-		@Override
-		public String toString() {
-			return smallestHashes.toString();
+		else {
+			DenseBlock db = in.getDenseBlock();
+			for(int i = 0; i < m; i++) {
+				double[] avals = db.values(i);
+				int aix = db.pos(i);
+				for(int j = 0; j < n; j++)
+					sketches[j].update(avals[aix + j]);
+			}
 		}
 	}
 }
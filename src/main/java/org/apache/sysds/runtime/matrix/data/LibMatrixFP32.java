@@ -0,0 +1,421 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.matrix.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.DenseBlockFP32;
+import org.apache.sysds.runtime.data.DenseBlockFactory;
+import org.apache.sysds.runtime.functionobjects.Builtin;
+import org.apache.sysds.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysds.runtime.functionobjects.Divide;
+import org.apache.sysds.runtime.functionobjects.KahanPlus;
+import org.apache.sysds.runtime.functionobjects.Minus;
+import org.apache.sysds.runtime.functionobjects.Multiply;
+import org.apache.sysds.runtime.functionobjects.Plus;
+import org.apache.sysds.runtime.functionobjects.ReduceAll;
+import org.apache.sysds.runtime.functionobjects.ReduceCol;
+import org.apache.sysds.runtime.functionobjects.ReduceRow;
+import org.apache.sysds.runtime.functionobjects.ValueFunction;
+import org.apache.sysds.runtime.matrix.data.LibMatrixBincell.BinaryAccessType;
+import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.LeftScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Library of single-precision (FP32) kernels for dense matrix blocks, used in the
+ * FP32 execution mode (sysds.cp.floating.point.precision=single). These kernels
+ * cover the memory-bandwidth bound operations of typical scoring pipelines, i.e.,
+ * matrix multiplication, cellwise binary, scalar, and unary operations, as well as
+ * sum/min/max aggregates. At least one input has to be a dense FP32 block; other
+ * dense inputs (e.g., bias vectors or weights in FP64) are converted on the fly.
+ * Matrix outputs are again dense FP32 blocks, while the small aggregate outputs
+ * are returned in FP64.
+ *
+ * All operations without FP32 kernel convert their inputs back to FP64 (see
+ * {@link MatrixBlock#toFP64()}).
+ */
+public class LibMatrixFP32
+{
+	private static final long PAR_NUMCELL_THRESHOLD = 1024*1024; //Min 1M elements
+	private static final long PAR_MINFLOP_THRESHOLD = 2L*1024*1024; //Min 2 MFLOP
+
+	private LibMatrixFP32() {
+		//prevent instantiation via private constructor
+	}
+
+	public static boolean isSupportedMatrixMult(MatrixBlock m1, MatrixBlock m2) {
+		return (m1.isInFP32Format() || m2.isInFP32Format())
+			&& isDenseInput(m1) && isDenseInput(m2)
+			&& isSingleBlockOutput(m1.rlen, m2.clen);
+	}
+
+	public static boolean isSupportedBinary(MatrixBlock m1, MatrixBlock m2) {
+		if( !(m1.isInFP32Format() || m2.isInFP32Format())
+			|| !isDenseInput(m1) || !isDenseInput(m2)
+			|| !isSingleBlockOutput(m1.rlen, m1.clen) )
+			return false;
+		BinaryAccessType atype = LibMatrixBincell.getBinaryAccessType(m1, m2);
+		return atype == BinaryAccessType.MATRIX_MATRIX
+			|| atype == BinaryAccessType.MATRIX_COL_VECTOR
+			|| atype == BinaryAccessType.MATRIX_ROW_VECTOR;
+	}
+
+	public static boolean isSupportedScalar(MatrixBlock m1) {
+		return m1.isInFP32Format();
+	}
+
+	public static boolean isSupportedUnary(MatrixBlock m1, UnaryOperator op) {
+		//cumulative aggregates are handled by LibMatrixAgg
+		return m1.isInFP32Format() && !LibMatrixAgg.isSupportedUnaryOperator(op);
+	}
+
+	public static boolean isSupportedUnaryAggregate(MatrixBlock m1, AggregateUnaryOperator op) {
+		if( !m1.isInFP32Format() || !(op.indexFn instanceof ReduceAll
+			|| op.indexFn instanceof ReduceCol || op.indexFn instanceof ReduceRow) )
+			return false;
+		ValueFunction fn = op.aggOp.increOp.fn;
+		return (fn instanceof KahanPlus && LibMatrixAgg.isSupportedUnaryAggregateOperator(op))
+			|| (fn instanceof Builtin && (((Builtin)fn).getBuiltinCode() == BuiltinCode.MAX
+				|| ((Builtin)fn).getBuiltinCode() == BuiltinCode.MIN));
+	}
+
+	/**
+	 * Dense matrix multiplication in FP32, parallelized over rows of the left-hand side.
+	 *
+	 * @param m1 left-hand side dense input
+	 * @param m2 right-hand side dense input
+	 * @param ret output matrix block (dense FP32)
+	 * @param k maximum parallelism
+	 */
+	public static void matrixMult(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, int k) {
+		final int m = m1.rlen, cd = m1.clen, n = m2.clen;
+		final float[] a = getValues(m1);
+		final float[] b = getValues(m2);
+		final float[] c = new float[m * n];
+
+		boolean par = k > 1 && m > 1 && 2L * m * cd * n >= PAR_MINFLOP_THRESHOLD;
+		long nnz = execute(m, par ? k : 1,
+			(rl, ru) -> matrixMultRows(a, b, c, cd, n, rl, ru));
+		setOutput(ret, c, m, n, nnz);
+	}
+
+	/**
+	 * Dense cellwise binary operation in FP32, incl. matrix-vector broadcasting.
+	 *
+	 * @param m1 left-hand side dense input
+	 * @param m2 right-hand side dense input (matrix, row or column vector)
+	 * @param ret output matrix block (dense FP32)
+	 * @param op binary operator
+	 */
+	public static void bincellOp(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) {
+		final int m = m1.rlen, n = m1.clen;
+		final BinaryAccessType atype = LibMatrixBincell.getBinaryAccessType(m1, m2);
+		final float[] a = getValues(m1);
+		final float[] b = getValues(m2);
+		final float[] c = new float[m * n];
+		final ValueFunction fn = op.fn;
+
+		if( atype == BinaryAccessType.MATRIX_MATRIX ) {
+			vectBinary(fn, a, b, c, 0, 0, m * n);
+		}
+		else if( atype == BinaryAccessType.MATRIX_ROW_VECTOR ) {
+			for( int i=0, ix=0; i<m; i++, ix+=n )
+				vectBinary(fn, a, b, c, ix, 0, n);
+		}
+		else { //MATRIX_COL_VECTOR
+			for( int i=0, ix=0; i<m; i++, ix+=n )
+				vectBinary(fn, a, b[i], c, ix, n, false);
+		}
+		setOutput(ret, c, m, n, computeNnz(c, 0, m * n));
+	}
+
+	/**
+	 * Dense matrix-scalar operation in FP32.
+	 *
+	 * @param m1 dense FP32 input
+	 * @param ret output matrix block (dense FP32)
+	 * @param op scalar operator
+	 */
+	public static void bincellOp(MatrixBlock m1, MatrixBlock ret, ScalarOperator op) {
+		final int m = m1.rlen, n = m1.clen;
+		final float[] a = getValues(m1);
+		final float[] c = new float[m * n];
+
+		boolean par = op.getNumThreads() > 1 && (long) m * n >= PAR_NUMCELL_THRESHOLD;
+		long nnz = execute(m, par ? op.getNumThreads() : 1, (rl, ru) -> {
+			if( isVectorizable(op.fn) )
+				vectBinary(op.fn, a, (float) op.getConstant(), c, rl * n, (ru - rl) * n,
+					op instanceof LeftScalarOperator);
+			else
+				for( int i=rl*n; i<ru*n; i++ )
+					c[i] = (float) op.executeScalar(a[i]);
+			return computeNnz(c, rl * n, (ru - rl) * n);
+		});
+		setOutput(ret, c, m, n, nnz);
+	}
+
+	/**
+	 * Dense unary operation in FP32.
+	 *
+	 * @param m1 dense FP32 input
+	 * @param ret output matrix block (dense FP32)
+	 * @param op unary operator
+	 */
+	public static void unaryOp(MatrixBlock m1, MatrixBlock ret, UnaryOperator op) {
+		final int m = m1.rlen, n = m1.clen;
+		final float[] a = getValues(m1);
+		final float[] c = new float[m * n];
+
+		boolean par = op.getNumThreads() > 1 && (long) m * n >= PAR_NUMCELL_THRESHOLD;
+		long nnz = execute(m, par ? op.getNumThreads() : 1, (rl, ru) -> {
+			for( int i=rl*n; i<ru*n; i++ )
+				c[i] = (float) op.fn.execute(a[i]);
+			return computeNnz(c, rl * n, (ru - rl) * n);
+		});
+		setOutput(ret, c, m, n, nnz);
+	}
+
+	/**
+	 * Sum, min, and max aggregates (full, row-wise, column-wise) over a dense
+	 * FP32 input, which are computed in FP64. The output has the dimensions of the
+	 * regular aggregates incl. corrections, but all corrections are zero.
+	 *
+	 * @param m1 dense FP32 input
+	 * @param ret output matrix block, incl. correction rows or columns
+	 * @param op aggregate unary operator
+	 */
+	public static void aggregateUnary(MatrixBlock m1, MatrixBlock ret, AggregateUnaryOperator op) {
+		final int m = m1.rlen, n = m1.clen;
+		final float[] a = getValues(m1);
+		final ValueFunction fn = op.aggOp.increOp.fn;
+		final int type = (fn instanceof KahanPlus) ? 0 :
+			(((Builtin)fn).getBuiltinCode() == BuiltinCode.MAX) ? 1 : 2;
+		final double init = (type == 0) ? 0 :
+			(type == 1) ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+
+		ret.allocateDenseBlock();
+		final double[] c = ret.getDenseBlockValues();
+		final int k = (op.getNumThreads() > 1 && (long) m * n >= PAR_NUMCELL_THRESHOLD) ?
+			op.getNumThreads() : 1;
+
+		if( op.indexFn instanceof ReduceCol ) { //ROW AGGREGATES
+			final int cix = ret.clen; //incl correction column
+			execute(m, k, (rl, ru) -> {
+				for( int i=rl, ix=rl*n; i<ru; i++, ix+=n )
+					c[i*cix] = aggregate(a, ix, n, type, init);
+				return 0;
+			});
+		}
+		else { //FULL and COL AGGREGATES, via partial aggregates per row partition
+			final boolean full = op.indexFn instanceof ReduceAll;
+			final List<double[]> partials = new ArrayList<>();
+			execute(m, k, (rl, ru) -> {
+				double[] tmp = new double[full ? 1 : n];
+				Arrays.fill(tmp, init);
+				for( int i=rl, ix=rl*n; i<ru; i++, ix+=n ) {
+					if( full )
+						tmp[0] = aggregate(tmp[0], aggregate(a, ix, n, type, init), type);
+					else
+						for( int j=0; j<n; j++ )
+							tmp[j] = aggregate(tmp[j], a[ix+j], type);
+				}
+				synchronized(partials) {
+					partials.add(tmp);
+				}
+				return 0;
+			});
+			double[] agg = partials.get(0);
+			for( int p=1; p<partials.size(); p++ )
+				for( int j=0; j<agg.length; j++ )
+					agg[j] = aggregate(agg[j], partials.get(p)[j], type);
+			System.arraycopy(agg, 0, c, 0, agg.length);
+		}
+		ret.recomputeNonZeros();
+	}
+
+	private static long matrixMultRows(float[] a, float[] b, float[] c, int cd, int n, int rl, int ru) {
+		if( n == 1 ) { //MATRIX-VECTOR
+			for( int i=rl, aix=rl*cd; i<ru; i++, aix+=cd ) {
+				float val = 0;
+				for( int k=0; k<cd; k++ )
+					val += a[aix+k] * b[k];
+				c[i] = val;
+			}
+			return computeNnz(c, rl, ru - rl);
+		}
+
+		//cache-conscious blocking of i-k-j loops
+		final int blocksizeI = 32, blocksizeK = 24, blocksizeJ = 1024;
+		for( int bi=rl; bi<ru; bi+=blocksizeI ) {
+			int bimin = Math.min(ru, bi + blocksizeI);
+			for( int bk=0; bk<cd; bk+=blocksizeK ) {
+				int bkmin = Math.min(cd, bk + blocksizeK);
+				for( int bj=0; bj<n; bj+=blocksizeJ ) {
+					int bjlen = Math.min(n, bj + blocksizeJ) - bj;
+					for( int i=bi, aix=bi*cd, cix=bi*n+bj; i<bimin; i++, aix+=cd, cix+=n )
+						for( int k=bk, bix=bk*n+bj; k<bkmin; k++, bix+=n ) {
+							float aval = a[aix+k];
+							if( aval == 0 )
+								continue;
+							for( int j=0; j<bjlen; j++ )
+								c[cix+j] += aval * b[bix+j];
+						}
+				}
+			}
+		}
+		return computeNnz(c, rl * n, (ru - rl) * n);
+	}
+
+	private static double aggregate(float[] a, int ai, int len, int type, double init) {
+		double val = init;
+		if( type == 0 )
+			for( int j=0; j<len; j++ )
+				val += a[ai+j];
+		else if( type == 1 )
+			for( int j=0; j<len; j++ )
+				val = Math.max(val, a[ai+j]);
+		else
+			for( int j=0; j<len; j++ )
+				val = Math.min(val, a[ai+j]);
+		return val;
+	}
+
+	private static double aggregate(double a, double b, int type) {
+		return (type == 0) ? a + b : (type == 1) ?
+			Math.max(a, b) : Math.min(a, b);
+	}
+
+	private static boolean isVectorizable(ValueFunction fn) {
+		return fn instanceof Plus || fn instanceof Minus
+			|| fn instanceof Multiply || fn instanceof Divide;
+	}
+
+	private static void vectBinary(ValueFunction fn, float[] a, float[] b, float[] c, int ai, int bi, final int len) {
+		if( fn instanceof Plus )
+			for( int j=0; j<len; j++ )
+				c[ai+j] = a[ai+j] + b[bi+j];
+		else if( fn instanceof Minus )
+			for( int j=0; j<len; j++ )
+				c[ai+j] = a[ai+j] - b[bi+j];
+		else if( fn instanceof Multiply )
+			for( int j=0; j<len; j++ )
+				c[ai+j] = a[ai+j] * b[bi+j];
+		else if( fn instanceof Divide )
+			for( int j=0; j<len; j++ )
+				c[ai+j] = a[ai+j] / b[bi+j];
+		else
+			for( int j=0; j<len; j++ )
+				c[ai+j] = (float) fn.execute(a[ai+j], b[bi+j]);
+	}
+
+	private static void vectBinary(ValueFunction fn, float[] a, float b, float[] c, int ai, final int len, boolean left) {
+		if( fn instanceof Plus )
+			for( int j=0; j<len; j++ )
+				c[ai+j] = a[ai+j] + b;
+		else if( fn instanceof Multiply )
+			for( int j=0; j<len; j++ )
+				c[ai+j] = a[ai+j] * b;
+		else if( fn instanceof Minus && !left )
+			for( int j=0; j<len; j++ )
+				c[ai+j] = a[ai+j] - b;
+		else if( fn instanceof Divide && !left )
+			for( int j=0; j<len; j++ )
+				c[ai+j] = a[ai+j] / b;
+		else if( left )
+			for( int j=0; j<len; j++ )
+				c[ai+j] = (float) fn.execute(b, a[ai+j]);
+		else
+			for( int j=0; j<len; j++ )
+				c[ai+j] = (float) fn.execute(a[ai+j], b);
+	}
+
+	private static long computeNnz(float[] a, int ai, int len) {
+		long lnnz = 0;
+		for( int i=ai; i<ai+len; i++ )
+			lnnz += (a[i] != 0) ? 1 : 0;
+		return lnnz;
+	}
+
+	private static boolean isDenseInput(MatrixBlock mb) {
+		return !mb.sparse && mb.denseBlock != null
+			&& mb.denseBlock.numBlocks() == 1;
+	}
+
+	private static boolean isSingleBlockOutput(long m, long n) {
+		//outputs are allocated as a single float array
+		return m * n <= Integer.MAX_VALUE;
+	}
+
+	private static float[] getValues(MatrixBlock mb) {
+		DenseBlock a = mb.getDenseBlock();
+		if( a instanceof DenseBlockFP32 )
+			return ((DenseBlockFP32)a).getData();
+		//on-the-fly conversion of fp64 inputs (e.g., vectors)
+		int len = mb.rlen * mb.clen;
+		double[] avals = a.valuesAt(0);
+		float[] ret = new float[len];
+		for( int i=0; i<len; i++ )
+			ret[i] = (float) avals[i];
+		return ret;
+	}
+
+	private static void setOutput(MatrixBlock ret, float[] c, int m, int n, long nnz) {
+		ret.reset(m, n, false);
+		ret.denseBlock = DenseBlockFactory.createDenseBlock(c, m, n);
+		ret.nonZeros = nnz;
+	}
+
+	private static long execute(int m, int k, RowTask task) {
+		if( k <= 1 || m <= 1 )
+			return task.execute(0, m);
+		try {
+			ExecutorService pool = CommonThreadPool.get(k);
+			ArrayList<Callable<Long>> tasks = new ArrayList<>();
+			int blklen = (int) Math.ceil((double) m / k);
+			for( int i=0; i<k && i*blklen<m; i++ ) {
+				final int rl = i * blklen, ru = Math.min((i+1) * blklen, m);
+				tasks.add(() -> task.execute(rl, ru));
+			}
+			long nnz = 0;
+			for( Future<Long> f : pool.invokeAll(tasks) )
+				nnz += f.get();
+			pool.shutdown();
+			return nnz;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
+	private interface RowTask {
+		long execute(int rl, int ru);
+	}
+}
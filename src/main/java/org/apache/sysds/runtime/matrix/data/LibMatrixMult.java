@@ -25,7 +25,9 @@ import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
 import java.util.stream.IntStream;
 
 import org.apache.commons.logging.Log;
@@ -68,6 +70,7 @@ public class LibMatrixMult
 	private static final long MEM_OVERHEAD_THRESHOLD = 2L*1024*1024; //MAX 2 MB
 	private static final long PAR_MINFLOP_THRESHOLD1 = 2L*1024*1024; //MIN 2 MFLOP
 	private static final long PAR_MINFLOP_THRESHOLD2 = 128L*1024; //MIN 2 MFLOP
+	private static final int PAR_FORKJOIN_TASKS_PER_THREAD = 16; //split granularity
 	public static final int L2_CACHESIZE = 256 * 1024; //256KB (common size)
 	public static final int L3_CACHESIZE = 16 * 1024 * 1024; //16MB (common size)
 	private static final Log LOG = LogFactory.getLog(LibMatrixMult.class.getName());
@@ -205,6 +208,14 @@ public class LibMatrixMult
 		boolean pm2c = !ultraSparse && checkParMatrixMultRightInputCols(m1, m2, k, pm2r);
 		int num = pm2r ? m2.rlen : pm2c ? m2.clen : m1.rlen; 
 		
+		//work-stealing matrix mult over nnz-balanced row ranges for sparse
+		//left inputs, which mitigates stragglers for skewed row nnz
+		if( m1.sparse && !pm2r && !pm2c ) {
+			ret.nonZeros = matrixMultForkJoin(m1, m2, ret, tm2, m1Perm, k);
+			ret.examSparsity();
+			return;
+		}
+		
 		//core multi-threaded matrix mult computation
 		//(currently: always parallelization over number of rows)
 		try {
@@ -238,6 +249,20 @@ public class LibMatrixMult
 		//		"("+m2.isInSparseFormat()+","+m2.getNumRows()+","+m2.getNumColumns()+","+m2.getNonZeros()+") in "+time.stop());
 	}
 	
+	private static long matrixMultForkJoin(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, boolean tm2, boolean m1Perm, int k) {
+		//row ranges w/ balanced number of non-zeros (leaf tasks of fork/join)
+		int[] bounds = UtilFunctions.getNnzBalancedBoundaries(
+			m1.sparseBlock, m1.rlen, PAR_FORKJOIN_TASKS_PER_THREAD * k);
+		ForkJoinPool pool = CommonThreadPool.getForkJoinPool(k);
+		try {
+			return pool.invoke(new MatrixMultForkJoinTask(
+				m1, m2, ret, tm2, m1Perm, bounds, 0, bounds.length-1));
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
 	/**
 	 * Performs a matrix multiplication chain operation of type t(X)%*%(X%*%v) or t(X)%*%(w*(X%*%v)).
 	 * 
@@ -1214,8 +1239,7 @@ public class LibMatrixMult
 			}
 		}
 		else {
-			for( int i=rl; i<ru; i++ ) {
-				if( a.isEmpty(i) ) continue; 
+			for( int i=a.nextNonEmptyRow(rl, ru); i<ru; i=a.nextNonEmptyRow(i+1, ru) ) {
 				int apos = a.pos(i);
 				int alen = a.size(i);
 				int[] aix = a.indexes(i);
@@ -1236,8 +1260,7 @@ public class LibMatrixMult
 	private static void matrixMultSparseDenseMVShortRHS(SparseBlock a, DenseBlock b, DenseBlock c, int cd, int rl, int ru) {
 		double[] bvals = b.valuesAt(0);
 		double[] cvals = c.valuesAt(0);
-		for( int i=rl; i<ru; i++ ) {
-			if( a.isEmpty(i) ) continue;
+		for( int i=a.nextNonEmptyRow(rl, ru); i<ru; i=a.nextNonEmptyRow(i+1, ru) ) {
 			int alen = a.size(i);
 			int apos = a.pos(i);
 			double[] avals = a.values(i);
@@ -1342,13 +1365,13 @@ public class LibMatrixMult
 	
 	private static void matrixMultSparseDenseMMSkinnyRHS(SparseBlock a, DenseBlock b, DenseBlock c, int n, int rl, int ru) {
 		//no blocking since b and c fit into cache anyway
-		for( int i=rl, cix=rl*n; i<ru; i++, cix+=n ) {
-			if( a.isEmpty(i) ) continue;
+		for( int i=a.nextNonEmptyRow(rl, ru); i<ru; i=a.nextNonEmptyRow(i+1, ru) ) {
 			int apos = a.pos(i);
 			int alen = a.size(i);
 			int[] aix = a.indexes(i);
 			double[] avals = a.values(i);
 			double[] cvals = c.values(i);
+			int cix = i*n;
 			//rest not aligned to blocks of 4 rows
 			int bn = b.isContiguous() ? alen%4 : alen;
 			for( int k=apos; k<apos+bn; k++ )
@@ -1453,8 +1476,8 @@ public class LibMatrixMult
 	}
 	
 	private static void matrixMultSparseSparseMMSmallRHS(SparseBlock a, SparseBlock b, DenseBlock c, int rl, int ru) {
-		for( int i=rl; i<Math.min(ru, a.numRows()); i++ ) {
-			if( a.isEmpty(i) ) continue;
+		final int ru2 = Math.min(ru, a.numRows());
+		for( int i=a.nextNonEmptyRow(rl, ru2); i<ru2; i=a.nextNonEmptyRow(i+1, ru2) ) {
 			final int apos = a.pos(i);
 			final int alen = a.size(i);
 			int[] aix = a.indexes(i);
@@ -1506,8 +1529,8 @@ public class LibMatrixMult
 	}
 	
 	private static void matrixMultSparseSparseMMGeneric(SparseBlock a, SparseBlock b, DenseBlock c, int rl, int ru) {
-		for( int i=rl; i<Math.min(ru, a.numRows()); i++ ) {
-			if( a.isEmpty(i) ) continue;
+		final int ru2 = Math.min(ru, a.numRows());
+		for( int i=a.nextNonEmptyRow(rl, ru2); i<ru2; i=a.nextNonEmptyRow(i+1, ru2) ) {
 			int apos = a.pos(i);
 			int alen = a.size(i);
 			int[] aix = a.indexes(i);
@@ -1563,8 +1586,7 @@ public class LibMatrixMult
 		double[] tmp = null;
 		
 		//IKJ with dense working row for lhs nnz/row > threshold
-		for( int i=rl; i<ru; i++ ) {
-			if( a.isEmpty(i) ) continue;
+		for( int i=a.nextNonEmptyRow(rl, ru); i<ru; i=a.nextNonEmptyRow(i+1, ru) ) {
 			int alen = a.size(i);
 			int apos = a.pos(i);
 			int[] aix = a.indexes(i);
@@ -1618,8 +1640,7 @@ public class LibMatrixMult
 		SparseBlock c = ret.sparseBlock;
 		boolean rightSparse = m2.sparse;
 		
-		for( int i=rl; i<ru; i++ ) {
-			if( a.isEmpty(i) ) continue; 
+		for( int i=a.nextNonEmptyRow(rl, ru); i<ru; i=a.nextNonEmptyRow(i+1, ru) ) {
 			int apos = a.pos(i);
 			int alen = a.size(i);
 			int[] aixs = a.indexes(i);
@@ -1765,8 +1786,8 @@ public class LibMatrixMult
 		boolean weights2 = (ct == ChainType.XtXvy);
 		
 		//row-wise mmchain computation
-		for( int i=rl; i < ru; i++ ) {
-			if( a.isEmpty(i) || (weights && w[i]==0) )
+		for( int i=a.nextNonEmptyRow(rl, ru); i < ru; i=a.nextNonEmptyRow(i+1, ru) ) {
+			if( weights && w[i]==0 )
 				continue;
 			int apos = a.pos(i);
 			int alen = a.size(i);
@@ -4041,6 +4062,55 @@ public class LibMatrixMult
 		}
 	}
 
+	/**
+	 * Recursive matrix multiplication task for work-stealing execution, which
+	 * splits its row range into halves of equal costs until the costs fall below
+	 * the given grain size, so idle threads can steal the remaining ranges.
+	 */
+	private static class MatrixMultForkJoinTask extends RecursiveTask<Long>
+	{
+		private static final long serialVersionUID = -4129461538826401727L;
+		
+		private final MatrixBlock _m1;
+		private final MatrixBlock _m2;
+		private final MatrixBlock _ret;
+		private final boolean _tm2; //transposed m2
+		private final boolean _m1Perm; //sparse permutation
+		private final int[] _bounds; //row boundaries of leaf ranges
+		private final int _bl;
+		private final int _bu;
+		
+		protected MatrixMultForkJoinTask( MatrixBlock m1, MatrixBlock m2, MatrixBlock ret,
+			boolean tm2, boolean m1Perm, int[] bounds, int bl, int bu )
+		{
+			_m1 = m1;
+			_m2 = m2;
+			_ret = ret;
+			_tm2 = tm2;
+			_m1Perm = m1Perm;
+			_bounds = bounds;
+			_bl = bl;
+			_bu = bu;
+		}
+		
+		@Override
+		protected Long compute() {
+			//compute leaf ranges via the default row task
+			if( _bu-_bl <= 1 )
+				return (Long) new MatrixMultTask(_m1, _m2, _ret,
+					_tm2, false, false, _m1Perm, _bounds[_bl], _bounds[_bu]).call();
+			
+			//split into two halves of leaf ranges, fork left and compute right
+			int mid = (_bl+_bu)/2;
+			MatrixMultForkJoinTask left = new MatrixMultForkJoinTask(
+				_m1, _m2, _ret, _tm2, _m1Perm, _bounds, _bl, mid);
+			left.fork();
+			long nnz = new MatrixMultForkJoinTask(
+				_m1, _m2, _ret, _tm2, _m1Perm, _bounds, mid, _bu).compute();
+			return nnz + left.join();
+		}
+	}
+
 	private static class MatrixMultChainTask implements Callable<double[]> 
 	{
 		private MatrixBlock _m1  = null;
@@ -34,10 +34,12 @@ import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.DenseBlockFP32;
 import org.apache.sysds.runtime.data.DenseBlockFactory;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseBlockCOO;
 import org.apache.sysds.runtime.data.SparseBlockCSR;
+import org.apache.sysds.runtime.data.SparseBlockDCSR;
 import org.apache.sysds.runtime.data.SparseBlockFactory;
 import org.apache.sysds.runtime.data.SparseBlockMCSR;
 import org.apache.sysds.runtime.data.SparseRow;
@@ -126,6 +128,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	public static final SparseBlock.Type DEFAULT_SPARSEBLOCK = SparseBlock.Type.MCSR;
 	//default sparse block type for update in place: compressed sparse rows, to prevent serialization
 	public static final SparseBlock.Type DEFAULT_INPLACE_SPARSEBLOCK = SparseBlock.Type.CSR;
+	//min number of rows and max nnz per row for doubly compressed sparse rows, which only store non-empty rows
+	public static final int DCSR_MIN_ROWS = 16384;
+	public static final double DCSR_MAX_NNZ_PER_ROW = 0.25;
 	//allowed overhead for shallow serialize in terms of in-memory-size/x <= serialized-size 
 	public static final double MAX_SHALLOW_SERIALIZE_OVERHEAD = 2; //2x size of serialized
 	//flag if MCSR blocks that do not qualify for shallow serialize should be converted to CSR
@@ -285,6 +290,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	private void resetDense(double val) {
 		//handle to dense block allocation and
 		//reset dense block to given value
+		//(fp32 blocks are dropped because generic kernels write fp64)
+		if( denseBlock instanceof DenseBlockFP32 )
+			denseBlock = null;
 		if( denseBlock != null )
 			denseBlock.reset(rlen, clen, val);
 		else if( val != 0 ) {
@@ -365,6 +373,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	public boolean allocateDenseBlock(boolean clearNNZ) {
 		//allocate block if non-existing or too small (guaranteed to be 0-initialized),
 		long limit = (long)rlen * clen;
+		if( denseBlock instanceof DenseBlockFP32 ) //keep values but in fp64
+			denseBlock = toFP64DenseBlock((DenseBlockFP32)denseBlock, rlen, clen);
 		boolean reset = (denseBlock == null || denseBlock.capacity() < limit);
 		if( denseBlock == null )
 			denseBlock = DenseBlockFactory.createDenseBlock(rlen, clen);
@@ -540,6 +550,64 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		return (denseBlock != null) ? denseBlock.valuesAt(0) : null;
 	}
 	
+	/**
+	 * Indicates if this block is a dense block in single precision (FP32),
+	 * which is only created in the FP32 execution mode. Such blocks are
+	 * processed by the kernels in {@link LibMatrixFP32}, while all other
+	 * operations require a conversion via {@link #toFP64()}.
+	 * 
+	 * @return true if dense block of FP32 values
+	 */
+	public boolean isInFP32Format() {
+		return !sparse && denseBlock instanceof DenseBlockFP32;
+	}
+	
+	/**
+	 * Obtains a copy of this block with an FP32 dense block. Sparse, empty,
+	 * large (multi-block), and already converted blocks are returned as is.
+	 * 
+	 * @return matrix block with FP32 dense block, or this block
+	 */
+	public MatrixBlock toFP32() {
+		if( sparse || denseBlock == null || denseBlock instanceof DenseBlockFP32
+			|| denseBlock.numBlocks() > 1 || isEmptyBlock(false)
+			|| getClass() != MatrixBlock.class ) //e.g., compressed blocks
+			return this;
+		int len = rlen * clen;
+		double[] a = denseBlock.valuesAt(0);
+		float[] c = new float[len];
+		for( int i=0; i<len; i++ )
+			c[i] = (float) a[i];
+		MatrixBlock ret = new MatrixBlock(rlen, clen, false);
+		ret.denseBlock = DenseBlockFactory.createDenseBlock(c, rlen, clen);
+		ret.nonZeros = nonZeros;
+		return ret;
+	}
+	
+	/**
+	 * Obtains a copy of this block with an FP64 dense block if this block
+	 * is in FP32 format, otherwise the block itself is returned.
+	 * 
+	 * @return matrix block with FP64 values
+	 */
+	public MatrixBlock toFP64() {
+		if( !isInFP32Format() )
+			return this;
+		MatrixBlock ret = new MatrixBlock(rlen, clen, false);
+		ret.denseBlock = toFP64DenseBlock((DenseBlockFP32)denseBlock, rlen, clen);
+		ret.nonZeros = nonZeros;
+		return ret;
+	}
+	
+	private static DenseBlock toFP64DenseBlock(DenseBlockFP32 a, int rlen, int clen) {
+		float[] avals = a.getData();
+		int len = Math.min(rlen * clen, avals.length);
+		double[] c = new double[rlen * clen];
+		for( int i=0; i<len; i++ )
+			c[i] = avals[i];
+		return DenseBlockFactory.createDenseBlock(c, rlen, clen);
+	}
+	
 	public SparseBlock getSparseBlock() {
 		return sparseBlock;
 	}
@@ -1050,6 +1118,24 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			sparseToDense();
 		else if( !sparse && sparseDst )
 			denseToSparse(allowCSR);
+		else if( sparse && allowCSR && sparseBlock instanceof SparseBlockMCSR
+			&& evalSparseFormatDCSR(rlen, nonZeros) )
+			sparseBlock = new SparseBlockDCSR(sparseBlock);
+	}
+	
+	/**
+	 * Evaluates if a sparse matrix block with the given characteristics should
+	 * be represented in DCSR (doubly compressed sparse rows), which only stores
+	 * non-empty rows and thus avoids per-row overheads for matrices with a large
+	 * number of rows, of which most are empty.
+	 * 
+	 * @param nrows number of rows
+	 * @param nnz number of non-zeros
+	 * @return true if sparse matrix block should be in DCSR format in memory
+	 */
+	public static boolean evalSparseFormatDCSR( final long nrows, final long nnz ) {
+		return nrows >= DCSR_MIN_ROWS && nnz >= 0
+			&& nnz < DCSR_MAX_NNZ_PER_ROW * nrows;
 	}
 	
 	public static boolean evalSparseFormatInMemory(DataCharacteristics dc) {
@@ -1114,6 +1200,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	
 	private void denseToSparse(boolean allowCSR)
 	{
+		if( denseBlock instanceof DenseBlockFP32 )
+			denseBlock = toFP64DenseBlock((DenseBlockFP32)denseBlock, rlen, clen);
 		DenseBlock a = getDenseBlock();
 		
 		//set target representation, early abort on empty blocks
@@ -1124,7 +1212,18 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		final int m = rlen;
 		final int n = clen;
 		
-		if( allowCSR && nonZeros <= Integer.MAX_VALUE ) {
+		if( allowCSR && evalSparseFormatDCSR(m, nonZeros) ) {
+			//allocate target in DCSR format w/o row overheads for empty rows
+			SparseBlockDCSR sblock = new SparseBlockDCSR(m, (int)Math.max(nonZeros, 1));
+			for( int i=0; i<m; i++ ) {
+				double[] avals = a.values(i);
+				int aix = a.pos(i);
+				for(int j=0; j<n; j++)
+					sblock.append(i, j, avals[aix+j]);
+			}
+			sparseBlock = sblock;
+		}
+		else if( allowCSR && nonZeros <= Integer.MAX_VALUE ) {
 			//allocate target in memory-efficient CSR format
 			int lnnz = (int) nonZeros;
 			int[] rptr = new int[m+1];
@@ -1840,7 +1939,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				case ULTRA_SPARSE_BLOCK:
 					nonZeros = readNnzInfo( in, true );
 					sparse = evalSparseFormatInMemory(rlen, clen, nonZeros);
-					cleanupBlock(true, !(sparse && sparseBlock instanceof SparseBlockCSR));
+					cleanupBlock(true, !(sparse && (sparseBlock instanceof SparseBlockCSR
+						|| sparseBlock instanceof SparseBlockDCSR)));
 					if( sparse )
 						readUltraSparseBlock(in);
 					else
@@ -1963,16 +2063,20 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		throws IOException 
 	{
 		//allocate ultra-sparse block in CSR to avoid unnecessary size overhead 
-		//and to allow efficient reset without repeated sparse row allocation
+		//and to allow efficient reset without repeated sparse row allocation,
+		//or in DCSR if most rows are empty to avoid the row pointer overhead
+		boolean dcsr = clen > 1 && evalSparseFormatDCSR(rlen, nonZeros);
 		
-		//adjust size and ensure reuse block is in CSR format
-		allocateAndResetSparseBlock(false, SparseBlock.Type.CSR);
+		//adjust size and ensure reuse block is in CSR/DCSR format
+		allocateAndResetSparseBlock(false, dcsr ? SparseBlock.Type.DCSR : SparseBlock.Type.CSR);
 		
 		if( clen > 1 ) { //ULTRA-SPARSE BLOCK
 			//block: read ijv-triples (ordered by row and column) via custom 
 			//init to avoid repeated updates of row pointers per append
-			SparseBlockCSR sblockCSR = (SparseBlockCSR) sparseBlock;
-			sblockCSR.initUltraSparse((int)nonZeros, in);
+			if( dcsr )
+				((SparseBlockDCSR) sparseBlock).initUltraSparse((int)nonZeros, in);
+			else
+				((SparseBlockCSR) sparseBlock).initUltraSparse((int)nonZeros, in);
 		}
 		else { //ULTRA-SPARSE COL
 			//col: read iv-pairs (should never happen since always dense)
@@ -2012,6 +2116,12 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	public void write(DataOutput out) 
 		throws IOException 
 	{
+		//serialize fp32 blocks in the common fp64 format
+		if( isInFP32Format() ) {
+			toFP64().write(out);
+			return;
+		}
+		
 		//determine format
 		boolean sparseSrc = sparse;
 		boolean sparseDst = evalSparseFormatOnDisk();
@@ -2132,8 +2242,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				}
 			}
 			else {
-				for(int r=0;r<Math.min(rlen, sparseBlock.numRows()); r++) {
-					if( sparseBlock.isEmpty(r) ) continue;
+				int rlen2 = Math.min(rlen, sparseBlock.numRows());
+				for(int r=sparseBlock.nextNonEmptyRow(0, rlen2); r<rlen2; r=sparseBlock.nextNonEmptyRow(r+1, rlen2)) {
 					int apos = sparseBlock.pos(r);
 					int alen = sparseBlock.size(r);
 					int[] aix = sparseBlock.indexes(r);
@@ -2575,9 +2685,10 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	}
 	
 	private boolean requiresInplaceSparseBlockOnLeftIndexing(boolean sparse, UpdateType update, long nnz) {
-		return sparse && update != UpdateType.INPLACE_PINNED
-			&& !isShallowSerialize() && (nnz <= Integer.MAX_VALUE
-				|| DEFAULT_INPLACE_SPARSEBLOCK==SparseBlock.Type.MCSR);
+		//DCSR is shallow serializable but shifts its arrays on every row update
+		return sparse && (sparseBlock instanceof SparseBlockDCSR
+				|| (update != UpdateType.INPLACE_PINNED && !isShallowSerialize()))
+			&& (nnz <= Integer.MAX_VALUE || DEFAULT_INPLACE_SPARSEBLOCK==SparseBlock.Type.MCSR);
 	}
 	
 	private static boolean estimateSparsityOnGroupedAgg( long rlen, long groups ) {
@@ -2594,6 +2705,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		if( !isAllocated() ) 
 			return 44;
 		//in-memory size of dense/sparse representation
+		if( isInFP32Format() )
+			return (long) Math.min(44 + 4d * rlen * clen, Long.MAX_VALUE);
 		return !sparse ? estimateSizeDenseInMemory(rlen, clen) :
 			estimateSizeSparseInMemory(rlen, clen, getSparsity(),
 			SparseBlockFactory.getSparseBlockType(sparseBlock));
@@ -2611,10 +2724,10 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	
 	@Override
 	public boolean isShallowSerialize(boolean inclConvert) {
-		//shallow serialize if dense, dense in serialized form or already in CSR
+		//shallow serialize if dense, dense in serialized form or already in CSR/DCSR
 		boolean sparseDst = evalSparseFormatOnDisk();
 		return !sparse || !sparseDst
-			|| (sparse && sparseBlock instanceof SparseBlockCSR)
+			|| (sparse && (sparseBlock instanceof SparseBlockCSR || sparseBlock instanceof SparseBlockDCSR))
 			|| (sparse && sparseBlock instanceof SparseBlockMCSR
 				&& getInMemorySize() / MAX_SHALLOW_SERIALIZE_OVERHEAD 
 				<= getExactSerializedSize())
@@ -2645,6 +2758,13 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	public MatrixBlock scalarOperations(ScalarOperator op, MatrixValue result) {
 		MatrixBlock ret = checkType(result);
 		
+		//single-precision scalar operations for fp32 dense blocks
+		if( LibMatrixFP32.isSupportedScalar(this) ) {
+			ret = (ret == null) ? new MatrixBlock() : ret;
+			LibMatrixFP32.bincellOp(this, ret, op);
+			return ret;
+		}
+		
 		// estimate the sparsity structure of result matrix
 		boolean sp = this.sparse; // by default, we guess result.sparsity=input.sparsity
 		if (!op.sparseSafe)
@@ -2666,6 +2786,15 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	public MatrixBlock unaryOperations(UnaryOperator op, MatrixValue result) {
 		MatrixBlock ret = checkType(result);
 		
+		//single-precision unary operations for fp32 dense blocks
+		if( LibMatrixFP32.isSupportedUnary(this, op) ) {
+			ret = (ret == null) ? new MatrixBlock() : ret;
+			LibMatrixFP32.unaryOp(this, ret, op);
+			return ret;
+		}
+		else if( isInFP32Format() )
+			return toFP64().unaryOperations(op, ret);
+		
 		// estimate the sparsity structure of result matrix
 		// by default, we guess result.sparsity=input.sparsity, unless not sparse safe
 		boolean sp = this.sparse && op.sparseSafe;
@@ -2821,6 +2950,15 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		MatrixBlock ret = checkType(result);
 		LibMatrixBincell.isValidDimensionsBinary(this, that);
 		
+		//single-precision binary operations for fp32 dense blocks
+		if( LibMatrixFP32.isSupportedBinary(this, that) ) {
+			ret = (ret == null) ? new MatrixBlock() : ret;
+			LibMatrixFP32.bincellOp(this, that, ret, op);
+			return ret;
+		}
+		else if( isInFP32Format() || that.isInFP32Format() )
+			return toFP64().binaryOperations(op, that.toFP64(), ret);
+		
 		//compute output dimensions
 		boolean outer = (LibMatrixBincell.getBinaryAccessType(this, that)
 				== BinaryAccessType.OUTER_VECTOR_VECTOR); 
@@ -4287,6 +4425,10 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	@Override
 	public MatrixBlock aggregateUnaryOperations(AggregateUnaryOperator op, MatrixValue result,
 			int blen, MatrixIndexes indexesIn, boolean inCP)  {
+		//fp32 dense blocks w/o single-precision aggregate
+		if( isInFP32Format() && !LibMatrixFP32.isSupportedUnaryAggregate(this, op) )
+			return toFP64().aggregateUnaryOperations(op, result, blen, indexesIn, inCP);
+		
 		CellIndex tempCellIndex = new CellIndex(-1,-1);
 		op.indexFn.computeDimension(rlen, clen, tempCellIndex);
 		if(op.aggOp.existsCorrection())
@@ -4323,7 +4465,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			result.reset(tempCellIndex.row, tempCellIndex.column, false);
 		MatrixBlock ret = (MatrixBlock) result;
 		
-		if( LibMatrixAgg.isSupportedUnaryAggregateOperator(op) ) {
+		if( isInFP32Format() )
+			LibMatrixFP32.aggregateUnary(this, ret, op);
+		else if( LibMatrixAgg.isSupportedUnaryAggregateOperator(op) ) {
 			if( op.getNumThreads() > 1 )
 				LibMatrixAgg.aggregateUnaryMatrix(this, ret, op, op.getNumThreads());
 			else
@@ -4878,6 +5022,15 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			throw new DMLRuntimeException("Unsupported binary aggregate operation: ("+op.binaryFn+", "+op.aggOp+").");
 		}
 		
+		//single-precision matrix multiplication for fp32 dense blocks
+		if( LibMatrixFP32.isSupportedMatrixMult(m1, m2) ) {
+			ret = (ret == null) ? new MatrixBlock() : ret;
+			LibMatrixFP32.matrixMult(m1, m2, ret, op.getNumThreads());
+			return ret;
+		}
+		m1 = m1.toFP64();
+		m2 = m2.toFP64();
+		
 		//setup meta data (dimensions, sparsity)
 		int rl = m1.rlen;
 		int cl = m2.clen;
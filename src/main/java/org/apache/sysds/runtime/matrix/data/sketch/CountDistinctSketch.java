@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.matrix.data.sketch;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.colgroup.ColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupValue;
+import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.UtilFunctions;
+
+/**
+ * Mergeable synopsis of the distinct values of a (partial) input. Counting the
+ * distinct values of partitioned inputs (e.g., spark blocks, or partitions of
+ * federated workers) builds a sketch per partition and merges these sketches,
+ * which requires that all sketches are created with the same parameters.
+ * 
+ * Frame cells are added by their value type: numeric values are added as
+ * doubles, strings as strings, and null values (missing) are not counted.
+ */
+public abstract class CountDistinctSketch implements Serializable {
+	private static final long serialVersionUID = 2738452617382045671L;
+
+	/**
+	 * Adds a double value to the sketch.
+	 * 
+	 * @param v value
+	 */
+	public abstract void update(double v);
+
+	/**
+	 * Adds a string value to the sketch.
+	 * 
+	 * @param v value
+	 */
+	public abstract void update(String v);
+
+	/**
+	 * Merges the given sketch into this sketch, where both sketches are
+	 * required to be of the same type and created with the same parameters.
+	 * 
+	 * @param that sketch of another partition of the input
+	 */
+	public abstract void merge(CountDistinctSketch that);
+
+	/**
+	 * Obtains the (estimated) number of distinct values added to this sketch.
+	 * 
+	 * @return distinct count estimate
+	 */
+	public abstract long getEstimate();
+
+	/**
+	 * Adds all cells (including zeros) of the given row range of a matrix
+	 * or frame block to the sketch.
+	 * 
+	 * @param in  matrix or frame block
+	 * @param rl  row lower bound, inclusive
+	 * @param ru  row upper bound, exclusive
+	 */
+	public void update(CacheBlock in, int rl, int ru) {
+		if( in instanceof FrameBlock )
+			update((FrameBlock) in, rl, ru, 0, in.getNumColumns());
+		else
+			update((MatrixBlock) in, rl, ru);
+	}
+
+	private void update(MatrixBlock in, int rl, int ru) {
+		final int clen = in.getNumColumns();
+		if( ru <= rl || clen == 0 )
+			return;
+		if( in instanceof CompressedMatrixBlock ) {
+			CompressedMatrixBlock cin = (CompressedMatrixBlock) in;
+			if( rl == 0 && ru == in.getNumRows() && !cin.isOverlapping() ) {
+				//full non-overlapping block: distinct values of all column groups, where
+				//only dictionary-based groups expose their distinct values directly, while
+				//packed (FOR, delta) and uncompressed groups are scanned as blocks
+				List<ColGroup> colGroups = cin.getColGroups();
+				for(ColGroup cg : colGroups) {
+					if( cg instanceof ColGroupValue ) {
+						double[] vals = cg.getValues();
+						if( vals != null )
+							for(double v : vals)
+								update(v);
+					}
+					else {
+						MatrixBlock mb = cg.getValuesAsBlock();
+						update(mb, 0, mb.getNumRows());
+					}
+				}
+				if( in.getNonZeros() < in.getLength() )
+					update(0);
+				return;
+			}
+			in = cin.decompress();
+		}
+
+		long nnz = 0;
+		if( in.isEmptyBlock(false) ) {
+			//only zeros
+		}
+		else if( in.isInSparseFormat() ) {
+			SparseBlock sb = in.getSparseBlock();
+			for(int i = rl; i < ru; i++) {
+				if( sb.isEmpty(i) )
+					continue;
+				int apos = sb.pos(i);
+				int alen = sb.size(i);
+				double[] avals = sb.values(i);
+				for(int k = apos; k < apos + alen; k++)
+					update(avals[k]);
+				nnz += alen;
+			}
+		}
+		else {
+			DenseBlock db = in.getDenseBlock();
+			for(int i = rl; i < ru; i++) {
+				double[] avals = db.values(i);
+				int aix = db.pos(i);
+				for(int j = 0; j < clen; j++)
+					update(avals[aix + j]);
+			}
+			nnz = (long) (ru - rl) * clen;
+		}
+		if( nnz < (long) (ru - rl) * clen )
+			update(0);
+	}
+
+	/**
+	 * Adds all non-null cells of the given row and column range of a frame
+	 * block to the sketch.
+	 * 
+	 * @param in  frame block
+	 * @param rl  row lower bound, inclusive
+	 * @param ru  row upper bound, exclusive
+	 * @param cl  column lower bound, inclusive
+	 * @param cu  column upper bound, exclusive
+	 */
+	public void update(FrameBlock in, int rl, int ru, int cl, int cu) {
+		ValueType[] schema = in.getSchema();
+		for(int j = cl; j < cu; j++) {
+			for(int i = rl; i < ru; i++) {
+				Object v = in.get(i, j);
+				if( v == null )
+					continue;
+				if( schema[j] == ValueType.STRING )
+					update((String) v);
+				else
+					update(UtilFunctions.objectToDouble(schema[j], v));
+			}
+		}
+	}
+
+	protected void checkMergeable(CountDistinctSketch that, boolean sameParams) {
+		if( that.getClass() != getClass() || !sameParams )
+			throw new DMLRuntimeException("Incompatible count distinct sketches: "
+				+ this + " and " + that + ".");
+	}
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.matrix.data.sketch;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Exact count of distinct values, which keeps the set of distinct values and
+ * thus requires memory on the scale of the number of distinct values.
+ */
+public class ExactDistinctSketch extends CountDistinctSketch {
+	private static final long serialVersionUID = -5302936744386105829L;
+
+	private final Set<Object> _distinct = new HashSet<>();
+
+	@Override
+	public void update(double v) {
+		_distinct.add(v);
+	}
+
+	@Override
+	public void update(String v) {
+		_distinct.add(v);
+	}
+
+	@Override
+	public void merge(CountDistinctSketch that) {
+		checkMergeable(that, true);
+		_distinct.addAll(((ExactDistinctSketch) that)._distinct);
+	}
+
+	@Override
+	public long getEstimate() {
+		return _distinct.size();
+	}
+
+	@Override
+	public String toString() {
+		return "Exact(" + _distinct.size() + ")";
+	}
+}
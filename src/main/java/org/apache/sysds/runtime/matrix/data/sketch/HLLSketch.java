@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.matrix.data.sketch;
+
+/**
+ * HyperLogLog Distinct-Value Estimation
+ * 
+ * Philippe Flajolet, Éric Fusy, Olivier Gandouet, Frédéric Meunier:
+ * 
+ * HyperLogLog: the analysis of a near-optimal cardinality estimation algorithm. AofA 2007
+ * 
+ * The sketch keeps 2^p registers with the maximum rank (position of the leftmost 1-bit)
+ * of the 64 bit hashes mapped to each register, and uses linear counting for small
+ * cardinalities. Values are hashed with a 64 bit finalizer (independent of the
+ * configured hash type), so no large range correction is required. The number of
+ * registers is derived from the maximum number of distinct values of the full input,
+ * which makes sketches of different partitions of the same input mergeable.
+ */
+public class HLLSketch extends CountDistinctSketch {
+	private static final long serialVersionUID = 6012815430287398311L;
+
+	private static final int MIN_PRECISION = 4;
+	private static final int MAX_PRECISION = 14; //16KB, ~0.8% standard error
+
+	private final long _maxDistinct;
+	private final int _p;
+	private final byte[] _registers;
+
+	/**
+	 * Creates a HLL sketch for an input with at most D distinct values.
+	 * 
+	 * @param maxDistinct maximum number of distinct values D of the full input
+	 */
+	public HLLSketch(long maxDistinct) {
+		_maxDistinct = maxDistinct;
+		//no more registers than potential distinct values, i.e., ceil(log2(D))
+		int p = 64 - Long.numberOfLeadingZeros(Math.max(maxDistinct - 1, 1));
+		_p = Math.max(MIN_PRECISION, Math.min(MAX_PRECISION, p));
+		_registers = new byte[1 << _p];
+	}
+
+	@Override
+	public void update(double v) {
+		add(mix(Double.doubleToLongBits(v)));
+	}
+
+	@Override
+	public void update(String v) {
+		long h = 1125899906842597L;
+		for(int i = 0; i < v.length(); i++)
+			h = 31 * h + v.charAt(i);
+		add(mix(h));
+	}
+
+	private void add(long hash) {
+		int ix = (int) (hash >>> (64 - _p));
+		//rank of the remaining bits, bounded by a sentinel bit
+		long w = (hash << _p) | (1L << (_p - 1));
+		byte rank = (byte) (Long.numberOfLeadingZeros(w) + 1);
+		if( rank > _registers[ix] )
+			_registers[ix] = rank;
+	}
+
+	private static long mix(long h) {
+		//murmur3 fmix64
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+
+	@Override
+	public void merge(CountDistinctSketch that) {
+		checkMergeable(that, that instanceof HLLSketch && ((HLLSketch) that)._p == _p);
+		byte[] reg = ((HLLSketch) that)._registers;
+		for(int i = 0; i < _registers.length; i++)
+			_registers[i] = (byte) Math.max(_registers[i], reg[i]);
+	}
+
+	@Override
+	public long getEstimate() {
+		final int m = _registers.length;
+		double sum = 0;
+		int zeros = 0;
+		for(byte r : _registers) {
+			sum += Math.scalb(1d, -r);
+			zeros += (r == 0) ? 1 : 0;
+		}
+		double estimate = getAlpha(m) * m * m / sum;
+		//small range correction via linear counting
+		if( estimate <= 2.5 * m && zeros > 0 )
+			estimate = m * Math.log((double) m / zeros);
+		return Math.min(Math.round(estimate), _maxDistinct);
+	}
+
+	private static double getAlpha(int m) {
+		switch(m) {
+			case 16: return 0.673;
+			case 32: return 0.697;
+			case 64: return 0.709;
+			default: return 0.7213 / (1 + 1.079 / m);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "HLL(p=" + _p + ")";
+	}
+}
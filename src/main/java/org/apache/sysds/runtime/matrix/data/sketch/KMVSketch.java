@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.runtime.matrix.data.sketch;
+
+import java.util.Arrays;
+
+import org.apache.sysds.utils.Hash;
+import org.apache.sysds.utils.Hash.HashType;
+
+/**
+ * KMV synopsis (for k minimum values) Distinct-Value Estimation
+ * 
+ * Kevin S. Beyer, Peter J. Haas, Berthold Reinwald, Yannis Sismanis, Rainer Gemulla:
+ * 
+ * On synopses for distinct‐value estimation under multiset operations. SIGMOD 2007
+ * 
+ * The sketch keeps the k smallest distinct hash values in a sorted array. The hash
+ * space is derived from the maximum number of distinct values of the full input,
+ * which makes sketches of different partitions of the same input mergeable.
+ */
+public class KMVSketch extends CountDistinctSketch {
+	private static final long serialVersionUID = -3546307396268613409L;
+
+	private final HashType _hashType;
+	private final long _maxDistinct; //D
+	private final int _m; //size of the hash space
+	private final int _k;
+	private final int[] _values; //k smallest hashes, sorted ascending
+	private int _size = 0;
+
+	/**
+	 * Creates a KMV sketch for an input with at most D distinct values
+	 * (e.g., the number of non-zeros plus 1 to take account of zeros).
+	 * 
+	 * @param hashType    hash function (linear hashing)
+	 * @param maxDistinct maximum number of distinct values D of the full input
+	 */
+	public KMVSketch(HashType hashType, long maxDistinct) {
+		_hashType = hashType;
+		_maxDistinct = maxDistinct;
+		// To ensure that the likelihood to hash to the same value we need O(D^2) positions to hash to
+		// assign. If the value is higher than int (which is the area we hash to) then use Integer Max
+		// value as largest hashing space.
+		_m = (int) Math.max((maxDistinct > 46340) ? Integer.MAX_VALUE : maxDistinct * maxDistinct, 2);
+		// The estimator is asymptotically unbiased as k becomes large, but memory usage also scales
+		// with k. Furthermore k value must be within range: D >> k >> 0
+		_k = (int) Math.max(Math.min(maxDistinct, 64), 1);
+		_values = new int[_k];
+	}
+
+	@Override
+	public void update(double v) {
+		add(Hash.hash(v, _hashType));
+	}
+
+	@Override
+	public void update(String v) {
+		add(Hash.hash(v, _hashType));
+	}
+
+	private void add(int hash) {
+		insert(Math.floorMod(hash, _m - 1) + 1);
+	}
+
+	private void insert(int v) {
+		if( _size == _k && v >= _values[_k - 1] )
+			return;
+		int pos = Arrays.binarySearch(_values, 0, _size, v);
+		if( pos >= 0 )
+			return; //already contained
+		pos = -pos - 1;
+		//shift larger values, dropping the largest if full
+		System.arraycopy(_values, pos, _values, pos + 1, Math.min(_size, _k - 1) - pos);
+		_values[pos] = v;
+		_size = Math.min(_size + 1, _k);
+	}
+
+	@Override
+	public void merge(CountDistinctSketch that) {
+		checkMergeable(that, that instanceof KMVSketch
+			&& ((KMVSketch) that)._m == _m && ((KMVSketch) that)._k == _k);
+		KMVSketch kmv = (KMVSketch) that;
+		for(int i = 0; i < kmv._size; i++)
+			insert(kmv._values[i]);
+	}
+
+	@Override
+	public long getEstimate() {
+		if( _size < _k )
+			return _size;
+		double U_k = (double) _values[_k - 1] / _m;
+		double estimate = (_k - 1) / U_k;
+		return (long) Math.min(estimate, _maxDistinct);
+	}
+
+	@Override
+	public String toString() {
+		return "KMV(k=" + _k + ", m=" + _m + ", size=" + _size + ")";
+	}
+}
@@ -19,6 +19,7 @@
 
 package org.apache.sysds.runtime.matrix.operators;
 
+import org.apache.sysds.common.Types.Direction;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.instructions.cp.AggregateUnaryCPInstruction.AUType;
 import org.apache.sysds.utils.Hash.HashType;
@@ -28,6 +29,7 @@ public class CountDistinctOperator extends Operator {
 
 	public final CountDistinctTypes operatorType;
 	public final HashType hashType;
+	public final Direction direction;
 
 	public enum CountDistinctTypes { // The different supported types of counting.
 		COUNT, // Baseline naive implementation, iterate though, add to hashMap.
@@ -36,6 +38,10 @@ public class CountDistinctOperator extends Operator {
 	}
 
 	public CountDistinctOperator(AUType opType) {
+		this(opType, Direction.RowCol);
+	}
+
+	public CountDistinctOperator(AUType opType, Direction direction) {
 		super(true);
 		switch (opType) {
 			case COUNT_DISTINCT:
@@ -48,17 +54,24 @@ public class CountDistinctOperator extends Operator {
 				throw new DMLRuntimeException(opType + " not supported for CountDistinct Operator");
 		}
 		this.hashType = HashType.LinearHash;
+		this.direction = direction;
 	}
 
 	public CountDistinctOperator(CountDistinctTypes operatorType) {
 		super(true);
 		this.operatorType = operatorType;
 		this.hashType = HashType.StandardJava;
+		this.direction = Direction.RowCol;
 	}
 
 	public CountDistinctOperator(CountDistinctTypes operatorType, HashType hashType) {
+		this(operatorType, hashType, Direction.RowCol);
+	}
+
+	public CountDistinctOperator(CountDistinctTypes operatorType, HashType hashType, Direction direction) {
 		super(true);
 		this.operatorType = operatorType;
 		this.hashType = hashType;
+		this.direction = direction;
 	}
 }
\ No newline at end of file
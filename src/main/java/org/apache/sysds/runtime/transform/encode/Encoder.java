@@ -110,6 +110,20 @@ public abstract class Encoder implements Serializable
 	 */
 	public abstract MatrixBlock encode(FrameBlock in, MatrixBlock out);
 
+	/**
+	 * Multi-threaded block encode: build and apply (transform encode)
+	 * over row partitions of the input.
+	 * 
+	 * @param in input frame block
+	 * @param out output matrix block
+	 * @param k degree of parallelism
+	 * @return output matrix block
+	 */
+	public MatrixBlock encode(FrameBlock in, MatrixBlock out, int k) {
+		//default: single-threaded encode
+		return encode(in, out);
+	}
+
 	/**
 	 * Build the transform meta data for the given block input. This call modifies
 	 * and keeps meta data as encoder state.
@@ -118,6 +132,19 @@ public abstract class Encoder implements Serializable
 	 */
 	public abstract void build(FrameBlock in);
 	
+	/**
+	 * Multi-threaded build of the transform meta data for the given block
+	 * input, where partial meta data is computed per row partition and
+	 * subsequently merged. This call modifies and keeps meta data as encoder state.
+	 * 
+	 * @param in input frame block
+	 * @param k degree of parallelism
+	 */
+	public void build(FrameBlock in, int k) {
+		//default: single-threaded build
+		build(in);
+	}
+	
 	/**
 	 * Encode input data blockwise according to existing transform meta
 	 * data (transform apply).
@@ -127,6 +154,63 @@ public abstract class Encoder implements Serializable
 	 * @return output matrix block
 	 */
 	public abstract MatrixBlock apply(FrameBlock in, MatrixBlock out);
+	
+	/**
+	 * Multi-threaded encode of the input data blockwise according to
+	 * existing transform meta data (transform apply).
+	 * 
+	 * @param in input frame block
+	 * @param out output matrix block
+	 * @param k degree of parallelism
+	 * @return output matrix block
+	 */
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		//default: single-threaded apply
+		return apply(in, out);
+	}
+	
+	/**
+	 * Encode the row range [rl, ru) of the input data according to existing
+	 * transform meta data. Only encoders with row-aligned outputs support
+	 * this partial apply (see {@link #isRowPartitionable()}).
+	 * 
+	 * @param in input frame block
+	 * @param out output matrix block (allocated)
+	 * @param rl row lower index, inclusive, 0-based
+	 * @param ru row upper index, exclusive, 0-based
+	 * @return output matrix block
+	 */
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int rl, int ru) {
+		throw new DMLRuntimeException(
+			this.getClass().getSimpleName() + " does not support a row-partitioned apply");
+	}
+	
+	/**
+	 * Indicates if this encoder can be applied independently over disjoint
+	 * row ranges of the input, i.e., if each output row depends only on the
+	 * corresponding input row and the output dimensions remain unchanged.
+	 * 
+	 * @return true if apply can be executed over row partitions
+	 */
+	public boolean isRowPartitionable() {
+		return false;
+	}
+	
+	/**
+	 * Computes the row partition boundaries for a multi-threaded build or apply.
+	 * 
+	 * @param nrow number of rows
+	 * @param k degree of parallelism
+	 * @param constK if true, exactly k partitions, otherwise a multiple of k for load balance
+	 * @return array of partition boundaries of length #partitions+1
+	 */
+	protected static int[] getRowPartitions(int nrow, int k, boolean constK) {
+		List<Integer> blklens = UtilFunctions.getBalancedBlockSizesDefault(nrow, k, constK);
+		int[] ret = new int[blklens.size()+1];
+		for( int i=0; i<blklens.size(); i++ )
+			ret[i+1] = ret[i] + blklens.get(i);
+		return ret;
+	}
 
 	protected int[] subRangeColList(IndexRange ixRange) {
 		List<Integer> cols = new ArrayList<>();
@@ -25,14 +25,19 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang3.tuple.MutableTriple;
 import org.apache.sysds.lops.Lop;
+import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.matrix.data.FrameBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.transform.TfUtils.TfMethod;
 import org.apache.sysds.runtime.transform.meta.TfMetaUtils;
+import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.runtime.util.IndexRange;
 import org.apache.sysds.runtime.util.UtilFunctions;
 import org.apache.wink.json4j.JSONArray;
@@ -101,21 +106,73 @@ public class EncoderBin extends Encoder
 	public void build(FrameBlock in) {
 		if ( !isApplicable() )
 			return;
-		// initialize internal transformation metadata
-		_binMins = new double[_colList.length][];
-		_binMaxs = new double[_colList.length][];
-		
 		// derive bin boundaries from min/max per column
+		double[][] minMax = computeMinMax(in, 0, in.getNumRows());
+		initBins(minMax[0], minMax[1]);
+	}
+	
+	@Override
+	public void build(FrameBlock in, int k) {
+		if ( !isApplicable() )
+			return;
+		if( k <= 1 ) {
+			build(in);
+			return;
+		}
+		
+		// compute partial min/max per row partition and merge
+		ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			int[] parts = getRowPartitions(in.getNumRows(), k, true);
+			ArrayList<Callable<double[][]>> tasks = new ArrayList<>();
+			for( int i=0; i<parts.length-1; i++ ) {
+				final int rl = parts[i], ru = parts[i+1];
+				tasks.add(() -> computeMinMax(in, rl, ru));
+			}
+			double[] mins = new double[_colList.length];
+			double[] maxs = new double[_colList.length];
+			Arrays.fill(mins, Double.POSITIVE_INFINITY);
+			Arrays.fill(maxs, Double.NEGATIVE_INFINITY);
+			for( Future<double[][]> rtask : pool.invokeAll(tasks) ) {
+				double[][] minMax = rtask.get();
+				for( int j=0; j<_colList.length; j++ ) {
+					mins[j] = Math.min(mins[j], minMax[0][j]);
+					maxs[j] = Math.max(maxs[j], minMax[1][j]);
+				}
+			}
+			pool.shutdown();
+			initBins(mins, maxs);
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private double[][] computeMinMax(FrameBlock in, int rl, int ru) {
+		double[][] ret = new double[2][_colList.length];
 		for(int j=0; j <_colList.length; j++) {
 			double min = Double.POSITIVE_INFINITY;
 			double max = Double.NEGATIVE_INFINITY;
 			int colID = _colList[j];
-			for( int i=0; i<in.getNumRows(); i++ ) {
+			for( int i=rl; i<ru; i++ ) {
 				double inVal = UtilFunctions.objectToDouble(
 					in.getSchema()[colID-1], in.get(i, colID-1));
 				min = Math.min(min, inVal);
 				max = Math.max(max, inVal);
 			}
+			ret[0][j] = min;
+			ret[1][j] = max;
+		}
+		return ret;
+	}
+	
+	private void initBins(double[] mins, double[] maxs) {
+		// initialize internal transformation metadata
+		_binMins = new double[_colList.length][];
+		_binMaxs = new double[_colList.length][];
+		for(int j=0; j <_colList.length; j++) {
+			double min = mins[j];
+			double max = maxs[j];
 			_binMins[j] = new double[_numBins[j]];
 			_binMaxs[j] = new double[_numBins[j]];
 			for(int i=0; i<_numBins[j]; i++) {
@@ -127,9 +184,14 @@ public class EncoderBin extends Encoder
 	
 	@Override
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
+		return apply(in, out, 0, in.getNumRows());
+	}
+	
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int rl, int ru) {
 		for(int j=0; j<_colList.length; j++) {
 			int colID = _colList[j];
-			for( int i=0; i<in.getNumRows(); i++ ) {
+			for( int i=rl; i<ru; i++ ) {
 				double inVal = UtilFunctions.objectToDouble(
 						in.getSchema()[colID-1], in.get(i, colID-1));
 				int ix = Arrays.binarySearch(_binMaxs[j], inVal);
@@ -140,6 +202,11 @@ public class EncoderBin extends Encoder
 		return out;
 	}
 	
+	@Override
+	public boolean isRowPartitionable() {
+		return true;
+	}
+	
 	@Override
 	public Encoder subRangeEncoder(IndexRange ixRange) {
 		List<Integer> colsList = new ArrayList<>();
@@ -22,11 +22,13 @@ package org.apache.sysds.runtime.transform.encode;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.matrix.data.FrameBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.runtime.util.IndexRange;
 
 /**
@@ -39,6 +41,9 @@ public class EncoderComposite extends Encoder
 {
 	private static final long serialVersionUID = -8473768154646831882L;
 	
+	//minimum number of rows for multi-threaded build and apply
+	public static int PAR_NUMROWS_THRESHOLD = 16*1024;
+	
 	private List<Encoder> _encoders = null;
 	private FrameBlock _meta = null;
 	
@@ -85,12 +90,49 @@ public class EncoderComposite extends Encoder
 		return out;
 	}
 
+	@Override
+	public MatrixBlock encode(FrameBlock in, MatrixBlock out, int k) {
+		if( k <= 1 || in.getNumRows() < PAR_NUMROWS_THRESHOLD )
+			return encode(in, out);
+		try {
+			//build meta data first (for all encoders)
+			for( Encoder encoder : _encoders )
+				encoder.build(in, k);
+			
+			//propagate meta data 
+			_meta = new FrameBlock(in.getNumColumns(), ValueType.STRING);
+			for( Encoder encoder : _encoders )
+				_meta = encoder.getMetaData(_meta);
+			for( Encoder encoder : _encoders )
+				encoder.initMetaData(_meta);
+			
+			//apply meta data
+			out = apply(in, out, k);
+		}
+		catch(Exception ex) {
+			LOG.error("Failed multi-threaded transform-encode frame with \n" + this);
+			throw ex;
+		}
+		
+		return out;
+	}
+
 	@Override
 	public void build(FrameBlock in) {
 		for( Encoder encoder : _encoders )
 			encoder.build(in);
 	}
 	
+	@Override
+	public void build(FrameBlock in, int k) {
+		if( k <= 1 || in.getNumRows() < PAR_NUMROWS_THRESHOLD ) {
+			build(in);
+			return;
+		}
+		for( Encoder encoder : _encoders )
+			encoder.build(in, k);
+	}
+	
 	@Override 
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
 		try {
@@ -103,6 +145,58 @@ public class EncoderComposite extends Encoder
 		}
 		return out;
 	}
+	
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int k) {
+		if( k <= 1 || in.getNumRows() < PAR_NUMROWS_THRESHOLD )
+			return apply(in, out);
+		try {
+			//apply maximal sequences of row-partitionable encoders jointly over 
+			//disjoint row partitions, and all other encoders (e.g., dummycode
+			//and omit, which change the output dimensions) single-threaded
+			int pos = 0;
+			while( pos < _encoders.size() ) {
+				int end = pos;
+				while( end < _encoders.size() && _encoders.get(end).isRowPartitionable() )
+					end++;
+				if( end > pos ) {
+					out = applyRowPartitioned(_encoders.subList(pos, end), in, out, k);
+					pos = end;
+				}
+				else
+					out = _encoders.get(pos++).apply(in, out);
+			}
+		}
+		catch(Exception ex) {
+			LOG.error("Failed to multi-threaded transform-apply frame with \n" + this);
+			throw ex;
+		}
+		return out;
+	}
+	
+	private static MatrixBlock applyRowPartitioned(List<Encoder> encoders, FrameBlock in, MatrixBlock out, int k) {
+		//allocate output to avoid races on lazy allocation
+		if( out.isInSparseFormat() )
+			out.allocateSparseRowsBlock();
+		else
+			out.allocateDenseBlock();
+		
+		int[] parts = getRowPartitions(in.getNumRows(), k, false);
+		ArrayList<Callable<Object>> tasks = new ArrayList<>();
+		for( int i=0; i<parts.length-1; i++ ) {
+			final int rl = parts[i], ru = parts[i+1];
+			tasks.add(() -> {
+				for( Encoder encoder : encoders )
+					encoder.apply(in, out, rl, ru);
+				return null;
+			});
+		}
+		CommonThreadPool.invokeAndShutdown(CommonThreadPool.get(k), tasks);
+		
+		//maintain nnz, which is not thread-safe in partial apply
+		out.recomputeNonZeros();
+		return out;
+	}
 
 	@Override
 	public Encoder subRangeEncoder(IndexRange ixRange) {
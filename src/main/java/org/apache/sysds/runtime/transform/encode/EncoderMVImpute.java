@@ -27,6 +27,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import org.apache.wink.json4j.JSONArray;
@@ -41,6 +44,7 @@ import org.apache.sysds.runtime.matrix.data.FrameBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.transform.TfUtils.TfMethod;
 import org.apache.sysds.runtime.transform.meta.TfMetaUtils;
+import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.runtime.util.IndexRange;
 import org.apache.sysds.runtime.util.UtilFunctions;
 
@@ -194,9 +198,105 @@ public class EncoderMVImpute extends Encoder
 		}
 	}
 	
+	@Override
+	public void build(FrameBlock in, int k) {
+		if( k <= 1 ) {
+			build(in);
+			return;
+		}
+		
+		//compute partial means and histograms per row partition, and merge them
+		//in partition order with the means and histograms computed so far
+		ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			int[] parts = getRowPartitions(in.getNumRows(), k, true);
+			ArrayList<Callable<ColInfo[]>> tasks = new ArrayList<>();
+			for( int i=0; i<parts.length-1; i++ ) {
+				final int rl = parts[i], ru = parts[i+1];
+				tasks.add(() -> buildPartial(in, rl, ru));
+			}
+			List<Future<ColInfo[]>> rtasks = pool.invokeAll(tasks);
+			pool.shutdown();
+			
+			KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
+			for( int j=0; j<_colList.length; j++ ) {
+				int colID = _colList[j];
+				if( _mvMethodList[j] == MVMethod.GLOBAL_MEAN ) {
+					//weighted sum of partial means, incl existing mean
+					KahanObject sum = new KahanObject(0, 0);
+					kplus.execute2(sum, _meanList[j]._sum * _countList[j]);
+					long count = _countList[j];
+					for( Future<ColInfo[]> rtask : rtasks ) {
+						ColInfo part = rtask.get()[j];
+						kplus.execute2(sum, part._mean._sum * part._count);
+						count += part._count;
+					}
+					_meanList[j] = new KahanObject((count > 0) ? sum._sum / count : 0, 0);
+					_countList[j] = count;
+					_replacementList[j] = String.valueOf(_meanList[j]._sum);
+				}
+				else if( _mvMethodList[j] == MVMethod.GLOBAL_MODE ) {
+					HashMap<String,Long> hist = _hist.containsKey(colID) ? 
+							_hist.get(colID) : new HashMap<>();
+					for( Future<ColInfo[]> rtask : rtasks )
+						for( Entry<String, Long> e : rtask.get()[j]._hist.entrySet() )
+							hist.merge(e.getKey(), e.getValue(), Long::sum);
+					_hist.put(colID, hist);
+					if( !hist.isEmpty() )
+						_replacementList[j] = getMode(hist);
+				}
+			}
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private ColInfo[] buildPartial(FrameBlock in, int rl, int ru) {
+		ColInfo[] ret = new ColInfo[_colList.length];
+		for( int j=0; j<_colList.length; j++ ) {
+			int colID = _colList[j];
+			if( _mvMethodList[j] == MVMethod.GLOBAL_MEAN ) {
+				//compute partial column mean (scale)
+				KahanObject mean = new KahanObject(0, 0);
+				for( int i=rl; i<ru; i++ )
+					_meanFn.execute2(mean, UtilFunctions.objectToDouble(
+						in.getSchema()[colID-1], in.get(i, colID-1)), i-rl+1);
+				ret[j] = new ColInfo(_mvMethodList[j], null, mean, ru-rl, null);
+			}
+			else if( _mvMethodList[j] == MVMethod.GLOBAL_MODE ) {
+				//compute partial column histogram (categorical)
+				HashMap<String,Long> hist = new HashMap<>();
+				for( int i=rl; i<ru; i++ ) {
+					String key = String.valueOf(in.get(i, colID-1));
+					if( key != null && !key.isEmpty() )
+						hist.merge(key, 1L, Long::sum);
+				}
+				ret[j] = new ColInfo(_mvMethodList[j], null, null, ru-rl, hist);
+			}
+		}
+		return ret;
+	}
+	
+	private static String getMode(HashMap<String,Long> hist) {
+		String mode = null;
+		long max = Long.MIN_VALUE; 
+		for( Entry<String, Long> e : hist.entrySet() ) 
+			if( e.getValue() > max  ) {
+				mode = e.getKey();
+				max = e.getValue();
+			}
+		return mode;
+	}
+	
 	@Override
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
-		for(int i=0; i<in.getNumRows(); i++) {
+		return apply(in, out, 0, in.getNumRows());
+	}
+	
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int rl, int ru) {
+		for(int i=rl; i<ru; i++) {
 			for(int j=0; j<_colList.length; j++) {
 				int colID = _colList[j];
 				if( Double.isNaN(out.quickGetValue(i, colID-1)) )
@@ -205,6 +305,11 @@ public class EncoderMVImpute extends Encoder
 		}
 		return out;
 	}
+	
+	@Override
+	public boolean isRowPartitionable() {
+		return true;
+	}
 
 	@Override
 	public Encoder subRangeEncoder(IndexRange ixRange) {
@@ -58,10 +58,15 @@ public class EncoderPassThrough extends Encoder
 	
 	@Override 
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
+		return apply(in, out, 0, in.getNumRows());
+	}
+	
+	@Override 
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int rl, int ru) {
 		for( int j=0; j<_colList.length; j++ ) {
 			int col = _colList[j]-1;
 			ValueType vt = in.getSchema()[col];
-			for( int i=0; i<in.getNumRows(); i++ ) {
+			for( int i=rl; i<ru; i++ ) {
 				Object val = in.get(i, col);
 				out.quickSetValue(i, col, (val==null||(vt==ValueType.STRING 
 						&& val.toString().isEmpty())) ? Double.NaN : 
@@ -72,6 +77,11 @@ public class EncoderPassThrough extends Encoder
 		return out;
 	}
 	
+	@Override
+	public boolean isRowPartitionable() {
+		return true;
+	}
+	
 	@Override
 	public Encoder subRangeEncoder(IndexRange ixRange) {
 		List<Integer> colList = new ArrayList<>();
@@ -24,18 +24,24 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.sysds.runtime.util.IndexRange;
 import org.apache.wink.json4j.JSONException;
 import org.apache.wink.json4j.JSONObject;
 import org.apache.sysds.lops.Lop;
+import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.matrix.data.FrameBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.transform.TfUtils.TfMethod;
 import org.apache.sysds.runtime.transform.meta.TfMetaUtils;
+import org.apache.sysds.runtime.util.CommonThreadPool;
 
 public class EncoderRecode extends Encoder 
 {
@@ -110,11 +116,13 @@ public class EncoderRecode extends Encoder
 		if( !isApplicable() )
 			return;
 
-		Iterator<String[]> iter = in.getStringRowIterator(_colList);
-		while( iter.hasNext() ) {
+		//build maps of dictionary-encoded columns, and remaining columns row-wise
+		int[] colList = buildDictColumns(in);
+		Iterator<String[]> iter = in.getStringRowIterator(colList);
+		while( colList.length > 0 && iter.hasNext() ) {
 			String[] row = iter.next(); 
-			for( int j=0; j<_colList.length; j++ ) {
-				int colID = _colList[j]; //1-based
+			for( int j=0; j<colList.length; j++ ) {
+				int colID = colList[j]; //1-based
 				//allocate column map if necessary
 				if( !_rcdMaps.containsKey(colID) ) 
 					_rcdMaps.put(colID, new HashMap<String,Long>());
@@ -130,6 +138,88 @@ public class EncoderRecode extends Encoder
 			sortCPRecodeMaps();
 		}
 	}
+	
+	@Override
+	public void build(FrameBlock in, int k) {
+		if( !isApplicable() )
+			return;
+		if( k <= 1 ) {
+			build(in);
+			return;
+		}
+		
+		//build partial recode maps (distinct tokens in order of first occurrence)
+		//per row partition, and merge them in partition order, which yields
+		//exactly the same codes as the single-threaded build
+		int[] colList = buildDictColumns(in);
+		ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			int[] parts = getRowPartitions(in.getNumRows(), k, true);
+			ArrayList<RecodeBuildTask> tasks = new ArrayList<>();
+			for( int i=0; i<parts.length-1 && colList.length>0; i++ )
+				tasks.add(new RecodeBuildTask(in, colList, parts[i], parts[i+1]));
+			List<Future<LinkedHashSet<String>[]>> rtasks = pool.invokeAll(tasks);
+			pool.shutdown();
+			for( Future<LinkedHashSet<String>[]> rtask : rtasks )
+				mergeBuildPartial(colList, rtask.get());
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		if( SORT_RECODE_MAP ) {
+			sortCPRecodeMaps();
+		}
+	}
+	
+	/**
+	 * Builds the recode maps of all dictionary-encoded columns by probing each
+	 * distinct value once (in order of first occurrence) instead of every row.
+	 * 
+	 * @param in input frame block
+	 * @return remaining columns (1-based) that are not dictionary-encoded
+	 */
+	private int[] buildDictColumns(FrameBlock in) {
+		int[] ret = new int[_colList.length];
+		int pos = 0;
+		for( int colID : _colList ) { //1-based
+			if( !in.isDictionaryEncoded(colID-1) ) {
+				ret[pos++] = colID;
+				continue;
+			}
+			if( !_rcdMaps.containsKey(colID) ) 
+				_rcdMaps.put(colID, new HashMap<String,Long>());
+			HashMap<String,Long> map = _rcdMaps.get(colID);
+			String[] dict = in.getColumnDictionary(colID-1);
+			int[] codes = in.getColumnCodes(colID-1);
+			boolean[] seen = new boolean[dict.length+1];
+			seen[0] = true; //null values
+			for( int i=0; i<in.getNumRows(); i++ ) {
+				int code = codes[i];
+				if( seen[code] )
+					continue;
+				seen[code] = true;
+				String key = dict[code-1];
+				if( !key.isEmpty() && !map.containsKey(key) )
+					putCode(map, key);
+			}
+		}
+		return Arrays.copyOf(ret, pos);
+	}
+	
+	private void mergeBuildPartial(int[] colList, LinkedHashSet<String>[] tokens) {
+		for( int j=0; j<colList.length; j++ ) {
+			int colID = colList[j]; //1-based
+			//allocate column map if necessary
+			if( !_rcdMaps.containsKey(colID) ) 
+				_rcdMaps.put(colID, new HashMap<String,Long>());
+			//probe and build column map
+			HashMap<String,Long> map = _rcdMaps.get(colID);
+			for( String key : tokens[j] )
+				if( !map.containsKey(key) )
+					putCode(map, key);
+		}
+	}
 
 	/**
 	 * Put the code into the map with the provided key. The code depends on the type of encoder. 
@@ -169,10 +259,19 @@ public class EncoderRecode extends Encoder
 	
 	@Override
 	public MatrixBlock apply(FrameBlock in, MatrixBlock out) {
+		return apply(in, out, 0, in.getNumRows());
+	}
+	
+	@Override
+	public MatrixBlock apply(FrameBlock in, MatrixBlock out, int rl, int ru) {
 		//apply recode maps column wise
 		for( int j=0; j<_colList.length; j++ ) {
 			int colID = _colList[j];
-			for( int i=0; i<in.getNumRows(); i++ ) {
+			if( in.isDictionaryEncoded(colID-1) ) {
+				applyDictColumn(in, out, colID, rl, ru);
+				continue;
+			}
+			for( int i=rl; i<ru; i++ ) {
 				Object okey = in.get(i, colID-1);
 				String key = (okey!=null) ? okey.toString() : null;
 				long code = lookupRCDMap(colID, key);
@@ -183,6 +282,24 @@ public class EncoderRecode extends Encoder
 		
 		return out;
 	}
+	
+	private void applyDictColumn(FrameBlock in, MatrixBlock out, int colID, int rl, int ru) {
+		//lookup codes once per distinct value (index 0 for nulls)
+		String[] dict = in.getColumnDictionary(colID-1);
+		int[] codes = in.getColumnCodes(colID-1);
+		double[] lookup = new double[dict.length+1];
+		for( int k=0; k<lookup.length; k++ ) {
+			long code = lookupRCDMap(colID, (k>0) ? dict[k-1] : null);
+			lookup[k] = (code >= 0) ? code : Double.NaN;
+		}
+		for( int i=rl; i<ru; i++ )
+			out.quickSetValue(i, colID-1, lookup[codes[i]]);
+	}
+	
+	@Override
+	public boolean isRowPartitionable() {
+		return true;
+	}
 
 	@Override
 	public Encoder subRangeEncoder(IndexRange ixRange) {
@@ -324,4 +441,36 @@ public class EncoderRecode extends Encoder
 		int pos = value.toString().lastIndexOf(Lop.DATATYPE_PREFIX);
 		return new String[] {value.substring(0, pos), value.substring(pos+1)};
 	}
+	
+	private class RecodeBuildTask implements Callable<LinkedHashSet<String>[]> {
+		private final FrameBlock _in;
+		private final int[] _cols;
+		private final int _rl;
+		private final int _ru;
+		
+		protected RecodeBuildTask(FrameBlock in, int[] cols, int rl, int ru) {
+			_in = in;
+			_cols = cols;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public LinkedHashSet<String>[] call() {
+			@SuppressWarnings("unchecked")
+			LinkedHashSet<String>[] ret = new LinkedHashSet[_cols.length];
+			for( int j=0; j<_cols.length; j++ )
+				ret[j] = new LinkedHashSet<>();
+			Iterator<String[]> iter = _in.getStringRowIterator(_rl, _ru, _cols);
+			while( iter.hasNext() ) {
+				String[] row = iter.next();
+				for( int j=0; j<_cols.length; j++ ) {
+					String key = row[j];
+					if( key!=null && !key.isEmpty() )
+						ret[j].add(key);
+				}
+			}
+			return ret;
+		}
+	}
 }
@@ -22,6 +22,7 @@ package org.apache.sysds.runtime.util;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -48,6 +49,8 @@ public class CommonThreadPool implements ExecutorService
 	//resulted in better performance than a dedicated fixed thread pool.
 	private static final int size = InfrastructureAnalyzer.getLocalParallelism();
 	private static final ExecutorService shared = ForkJoinPool.commonPool();
+	//lazily created fork/join pools per degree of parallelism, shared across operations
+	private static final ConcurrentHashMap<Integer, ForkJoinPool> forkJoinPools = new ConcurrentHashMap<>();
 	private final ExecutorService _pool;
 
 	public CommonThreadPool(ExecutorService pool) {
@@ -59,6 +62,20 @@ public class CommonThreadPool implements ExecutorService
 			shared : Executors.newFixedThreadPool(k));
 	}
 	
+	/**
+	 * Obtains a work-stealing fork/join pool of the given parallelism (the
+	 * JVM-wide common pool is not used because its parallelism is fixed to
+	 * #cores-1 and shared by unrelated tasks). The pool is created once per
+	 * degree of parallelism and shared by all callers, so it must not be
+	 * shut down after use; idle workers terminate on their own.
+	 * 
+	 * @param k degree of parallelism
+	 * @return fork/join pool
+	 */
+	public static ForkJoinPool getForkJoinPool(int k) {
+		return forkJoinPools.computeIfAbsent(k, ForkJoinPool::new);
+	}
+	
 	public static <T> void invokeAndShutdown(ExecutorService pool, Collection<? extends Callable<T>> tasks) {
 		try {
 			//execute tasks
@@ -76,6 +93,9 @@ public class CommonThreadPool implements ExecutorService
 
 	public static void shutdownShared() {
 		shared.shutdownNow();
+		for( ForkJoinPool pool : forkJoinPools.values() )
+			pool.shutdownNow();
+		forkJoinPools.clear();
 	}
 
 	@Override
@@ -48,6 +48,10 @@ public class DMVUtils {
 		ArrayList<Map<String, Integer>> table_Hist = new ArrayList<>(numCols); // list of every column with values and their frequency
 
 		for (int idx = 0; idx < numCols; idx++) {
+			if (frame.isDictionaryEncoded(idx)) {
+				addDictionaryHistogram(table_Hist, frame, idx);
+				continue;
+			}
 			Object c = frame.getColumnData(idx);
 			String[] column = (String[]) c;
 			String key = "";
@@ -69,7 +73,10 @@ public class DMVUtils {
 				dominant_patterns_ratio = calculatePatternsRatio(current_pattern_hist, numRows);
 				String dominant_pattern = findDominantPattern(dominant_patterns_ratio, threshold);
 				if(dominant_pattern != null) { //found pattern
-					detectDisguisedValues(dominant_pattern, frame.getColumnData(idx), idx, frame, level, disguisedVal);
+					if(frame.isDictionaryEncoded(idx))
+						detectDisguisedValuesDictionary(dominant_pattern, idx, frame, level, disguisedVal);
+					else
+						detectDisguisedValues(dominant_pattern, frame.getColumnData(idx), idx, frame, level, disguisedVal);
 					break;
 				}
 				prev_pattern_hist = current_pattern_hist;
@@ -100,6 +107,23 @@ public class DMVUtils {
 		return null;
 	}
 
+	private static void addDictionaryHistogram(ArrayList<Map<String, Integer>> maps, FrameBlock frame, int idx) {
+		// count the codes of a dictionary-encoded column, and resolve the distinct values once
+		String[] dict = frame.getColumnDictionary(idx);
+		int[] codes = frame.getColumnCodes(idx);
+		int[] counts = new int[dict.length + 1];
+		for (int i = 0; i < frame.getNumRows(); i++)
+			counts[codes[i]]++;
+		HashMap<String, Integer> m = new HashMap<>();
+		for (int k = 0; k <= dict.length; k++) {
+			if (counts[k] == 0)
+				continue;
+			String key = (k == 0 || dict[k-1].isEmpty()) ? "NULL" : dict[k-1];
+			m.merge(key, counts[k], Integer::sum);
+		}
+		maps.add(m);
+	}
+
 	private static void addDistinctValueOrIncrementCounter(ArrayList<Map<String, Integer>> maps, String key, Integer idx) {
 		if (maps.size() == idx) {
 			HashMap<String, Integer> m = new HashMap<>();
@@ -277,50 +301,69 @@ public class DMVUtils {
 		FrameBlock frameBlock, LEVEL_ENUM level, String disguisedVal)
 	{
 		int row_idx = -1;
-		String pattern = "";
 		String[] column = (String[]) col;
 		for (String attr : column) {
-			switch (level){
-				case LEVEL1:
-					pattern = encodeRawString(attr);
-					break;
-				case LEVEL2:
-					pattern = encodeRawString(attr);
-					pattern = removeNumbers(pattern);
-					break;
-				case LEVEL3:
-					pattern = encodeRawString(attr);
-					pattern = removeNumbers(pattern);
-					pattern = removeUpperLowerCase(pattern);
-					break;
-				case LEVEL4:
-					pattern = encodeRawString(attr);
-					pattern = removeNumbers(pattern);
-					pattern = removeUpperLowerCase(pattern);
-					pattern = removeInnerCharacterInPattern(pattern, DIGIT, DOT);
-					break;
-				case LEVEL5:
-					pattern = encodeRawString(attr);
-					pattern = removeNumbers(pattern);
-					pattern = removeUpperLowerCase(pattern);
-					pattern = removeInnerCharacterInPattern(pattern, DIGIT, DOT);
-					pattern = removeInnerCharacterInPattern(pattern, ALPHA, SPACE);
-					break;
-				case LEVEL6:
-					pattern = encodeRawString(attr);
-					pattern = removeNumbers(pattern);
-					pattern = removeUpperLowerCase(pattern);
-					pattern = removeInnerCharacterInPattern(pattern, DIGIT, DOT);
-					pattern = removeInnerCharacterInPattern(pattern, ALPHA, SPACE);
-					pattern = acceptNegativeNumbersAsDigits(pattern);
-					break;
-				default:
-					throw new DMLRuntimeException("Could not find suitable level");
-			}
 			row_idx++;
-			if(pattern.equals(dom_pattern))
+			if(encodePattern(attr, level).equals(dom_pattern))
 				continue;
 			frameBlock.set(row_idx, col_idx, disguisedVal);
 		}
 	}
+
+	private static void detectDisguisedValuesDictionary(String dom_pattern, int col_idx,
+		FrameBlock frameBlock, LEVEL_ENUM level, String disguisedVal)
+	{
+		// match the pattern once per distinct value, where null values are kept
+		String[] dict = frameBlock.getColumnDictionary(col_idx);
+		int[] codes = frameBlock.getColumnCodes(col_idx);
+		boolean[] dominant = new boolean[dict.length + 1];
+		dominant[0] = true;
+		for (int k = 0; k < dict.length; k++)
+			dominant[k+1] = encodePattern(dict[k], level).equals(dom_pattern);
+		for (int row_idx = 0; row_idx < frameBlock.getNumRows(); row_idx++)
+			if (!dominant[codes[row_idx]])
+				frameBlock.set(row_idx, col_idx, disguisedVal);
+	}
+
+	private static String encodePattern(String attr, LEVEL_ENUM level) {
+		String pattern = "";
+		switch (level){
+			case LEVEL1:
+				pattern = encodeRawString(attr);
+				break;
+			case LEVEL2:
+				pattern = encodeRawString(attr);
+				pattern = removeNumbers(pattern);
+				break;
+			case LEVEL3:
+				pattern = encodeRawString(attr);
+				pattern = removeNumbers(pattern);
+				pattern = removeUpperLowerCase(pattern);
+				break;
+			case LEVEL4:
+				pattern = encodeRawString(attr);
+				pattern = removeNumbers(pattern);
+				pattern = removeUpperLowerCase(pattern);
+				pattern = removeInnerCharacterInPattern(pattern, DIGIT, DOT);
+				break;
+			case LEVEL5:
+				pattern = encodeRawString(attr);
+				pattern = removeNumbers(pattern);
+				pattern = removeUpperLowerCase(pattern);
+				pattern = removeInnerCharacterInPattern(pattern, DIGIT, DOT);
+				pattern = removeInnerCharacterInPattern(pattern, ALPHA, SPACE);
+				break;
+			case LEVEL6:
+				pattern = encodeRawString(attr);
+				pattern = removeNumbers(pattern);
+				pattern = removeUpperLowerCase(pattern);
+				pattern = removeInnerCharacterInPattern(pattern, DIGIT, DOT);
+				pattern = removeInnerCharacterInPattern(pattern, ALPHA, SPACE);
+				pattern = acceptNegativeNumbersAsDigits(pattern);
+				break;
+			default:
+				throw new DMLRuntimeException("Could not find suitable level");
+		}
+		return pattern;
+	}
 }
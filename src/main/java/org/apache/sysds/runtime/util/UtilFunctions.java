@@ -240,6 +240,56 @@ public class UtilFunctions {
 		return getBalancedBlockSizes(len, nk);
 	}
 	
+	/**
+	 * Obtains the block sizes of a row partitioning of the given sparse block,
+	 * where all partitions have a balanced number of non-zeros (plus a constant
+	 * per-row overhead) in order to avoid stragglers for skewed inputs.
+	 * 
+	 * @param sb sparse block
+	 * @param len number of rows
+	 * @param k degree of parallelism
+	 * @param constK if true, create exactly k partitions, otherwise up to 8k
+	 * @return list of block sizes
+	 */
+	public static ArrayList<Integer> getNnzBalancedBlockSizesDefault(SparseBlock sb, int len, int k, boolean constK) {
+		int nk = constK ? k : roundToNext(Math.min(8*k,len/32), k);
+		int[] bounds = getNnzBalancedBoundaries(sb, len, nk);
+		ArrayList<Integer> ret = new ArrayList<>(bounds.length-1);
+		for( int i=1; i<bounds.length; i++ )
+			ret.add(bounds[i]-bounds[i-1]);
+		return ret;
+	}
+	
+	/**
+	 * Computes the row boundaries of a partitioning of the given sparse block
+	 * into up to k ranges of balanced costs, where the cost of a row is its
+	 * number of non-zeros plus one. The boundaries are obtained in a single
+	 * streaming pass over the rows without materializing cumulative costs.
+	 * 
+	 * @param sb sparse block
+	 * @param len number of rows
+	 * @param k maximum number of partitions
+	 * @return array of row boundaries, starting with 0 and ending with len
+	 */
+	public static int[] getNnzBalancedBoundaries(SparseBlock sb, int len, int k) {
+		long total = len + sb.size();
+		int[] ret = new int[k+1];
+		int nb = 0, i = 0;
+		long cost = 0;
+		for( int b=1; b<k && i<len; b++ ) {
+			long target = total * b / k;
+			//include at least one row per partition
+			do {
+				cost += 1 + (sb.isEmpty(i) ? 0 : sb.size(i));
+				i++;
+			} while( i < len && cost < target );
+			ret[++nb] = i;
+		}
+		if( ret[nb] < len )
+			ret[++nb] = len;
+		return (nb == k) ? ret : Arrays.copyOf(ret, nb+1);
+	}
+	
 	public static ArrayList<Integer> getAlignedBlockSizes(int len, int k, int align) {
 		int blklen = (int)(Math.ceil((double)len/k));
 		blklen += ((blklen%align != 0) ? align-blklen%align : 0);
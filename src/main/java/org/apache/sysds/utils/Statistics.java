@@ -25,7 +25,10 @@ import java.lang.management.ManagementFactory;
 import java.text.DecimalFormat;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -36,6 +39,8 @@ import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.controlprogram.caching.CachePrefetcher;
+import org.apache.sysds.runtime.codegen.CodegenClassCache;
 import org.apache.sysds.runtime.controlprogram.caching.CacheStatistics;
 import org.apache.sysds.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
@@ -103,6 +108,7 @@ public class Statistics
 	private static final LongAdder codegenOpCacheTotal = new LongAdder(); //count
 	private static final LongAdder codegenPlanCacheHits = new LongAdder(); //count
 	private static final LongAdder codegenPlanCacheTotal = new LongAdder(); //count
+	private static final LongAdder codegenClassCacheHits = new LongAdder(); //count
 	
 	//Function recompile stats 
 	private static final LongAdder funRecompileTime = new LongAdder(); //in nano sec
@@ -143,6 +149,7 @@ public class Statistics
 	private static final LongAdder federatedGetCount = new LongAdder();
 	private static final LongAdder federatedExecuteInstructionCount = new LongAdder();
 	private static final LongAdder federatedExecuteUDFCount = new LongAdder();
+	private static final LongAdder federatedRoundTripCount = new LongAdder();
 
 	private static LongAdder numNativeFailures = new LongAdder();
 	public static LongAdder numNativeLibMatrixMultCalls = new LongAdder();
@@ -310,6 +317,10 @@ public class Statistics
 		codegenPlanCacheHits.increment();
 	}
 	
+	public static void incrementCodegenClassCacheHits() {
+		codegenClassCacheHits.increment();
+	}
+	
 	public static void incrementCodegenPlanCacheTotal() {
 		codegenPlanCacheTotal.increment();
 	}
@@ -359,6 +370,10 @@ public class Statistics
 		return codegenPlanCacheHits.longValue();
 	}
 	
+	public static long getCodegenClassCacheHits() {
+		return codegenClassCacheHits.longValue();
+	}
+	
 	public static long getCodegenPlanCacheTotal() {
 		return codegenPlanCacheTotal.longValue();
 	}
@@ -409,6 +424,14 @@ public class Statistics
 		}
 	}
 
+	public static void incFederatedRoundTrips() {
+		federatedRoundTripCount.increment();
+	}
+
+	public static long getFederatedRoundTrips() {
+		return federatedRoundTripCount.longValue();
+	}
+
 	public static void startCompileTimer() {
 		if( DMLScript.STATISTICS )
 			compileStartTime = System.nanoTime();
@@ -469,6 +492,7 @@ public class Statistics
 		codegenOpCacheHits.reset();
 		codegenOpCacheTotal.reset();
 		codegenPlanCacheHits.reset();
+		codegenClassCacheHits.reset();
 		codegenPlanCacheTotal.reset();
 		
 		parforOptCount = 0;
@@ -509,6 +533,7 @@ public class Statistics
 		federatedGetCount.reset();
 		federatedExecuteInstructionCount.reset();
 		federatedExecuteUDFCount.reset();
+		federatedRoundTripCount.reset();
 	}
 
 	public static void resetJITCompileTime(){
@@ -555,6 +580,10 @@ public class Statistics
 		sparkBroadcastCount.add(c);
 	}
 
+	public static long getSparkBroadcastCount() {
+		return sparkBroadcastCount.longValue();
+	}
+
 	public static void incWorkerNumber() {
 		psNumWorkers.increment();
 	}
@@ -906,6 +935,87 @@ public class Statistics
 
 	public static double getSizeofPinnedObjects() { return maxSizeofPinnedObjects; }
 
+	/**
+	 * Obtains a snapshot of the current runtime statistics, which is cheap enough
+	 * to be taken periodically during execution (e.g., by monitoring or the metrics
+	 * exporter). The keys are metric names with optional labels in the text
+	 * exposition format, where names ending with _total are monotonic counters
+	 * (until the next reset of statistics), and times are given in seconds.
+	 * 
+	 * @return metric names and values, grouped by metric
+	 */
+	public static Map<String, Double> getSnapshot() {
+		Map<String, Double> ret = new LinkedHashMap<>();
+		
+		//instruction counts and times (heavy hitters)
+		HashMap<String, InstStats> inst = new HashMap<>(_instStats);
+		for( Entry<String, InstStats> e : inst.entrySet() )
+			ret.put(metric("instruction_count_total", "opcode", e.getKey()), (double)e.getValue().count.longValue());
+		for( Entry<String, InstStats> e : inst.entrySet() )
+			ret.put(metric("instruction_time_seconds_total", "opcode", e.getKey()), e.getValue().time.longValue()/1e9);
+		ret.put(metric("instruction_spark_total"), (double)numExecutedSPInst.longValue());
+		
+		//buffer pool hits, writes, and times
+		ret.put(metric("bufferpool_hits_total", "level", "mem"), (double)CacheStatistics.getMemHits());
+		ret.put(metric("bufferpool_hits_total", "level", "fsbuff"), (double)CacheStatistics.getFSBuffHits());
+		ret.put(metric("bufferpool_hits_total", "level", "fs"), (double)CacheStatistics.getFSHits());
+		ret.put(metric("bufferpool_hits_total", "level", "hdfs"), (double)CacheStatistics.getHDFSHits());
+		ret.put(metric("bufferpool_hits_total", "level", "lineage"), (double)CacheStatistics.getLinHits());
+		ret.put(metric("bufferpool_prefetches_total"), (double)CacheStatistics.getPrefetches());
+		ret.put(metric("bufferpool_writes_total", "level", "fsbuff"), (double)CacheStatistics.getFSBuffWrites());
+		ret.put(metric("bufferpool_writes_total", "level", "fs"), (double)CacheStatistics.getFSWrites());
+		ret.put(metric("bufferpool_writes_total", "level", "hdfs"), (double)CacheStatistics.getHDFSWrites());
+		ret.put(metric("bufferpool_writes_total", "level", "lineage"), (double)CacheStatistics.getLinWrites());
+		ret.put(metric("bufferpool_time_seconds_total", "op", "acquire_read"), CacheStatistics.getAcquireRTime()/1e9);
+		ret.put(metric("bufferpool_time_seconds_total", "op", "acquire_modify"), CacheStatistics.getAcquireMTime()/1e9);
+		ret.put(metric("bufferpool_time_seconds_total", "op", "release"), CacheStatistics.getReleaseTime()/1e9);
+		ret.put(metric("bufferpool_time_seconds_total", "op", "export"), CacheStatistics.getExportTime()/1e9);
+		
+		//lineage cache hits, writes, and saved compute time
+		ret.put(metric("lineage_cache_hits_total", "level", "mem"), (double)LineageCacheStatistics.getMemHits());
+		ret.put(metric("lineage_cache_hits_total", "level", "fs"), (double)LineageCacheStatistics.getFSHits());
+		ret.put(metric("lineage_cache_hits_total", "level", "persist"), (double)LineageCacheStatistics.getPersistHits());
+		ret.put(metric("lineage_cache_writes_total", "level", "mem"), (double)LineageCacheStatistics.getMemWrites());
+		ret.put(metric("lineage_cache_writes_total", "level", "fs"), (double)LineageCacheStatistics.getFSWrites());
+		ret.put(metric("lineage_cache_writes_total", "level", "persist"), (double)LineageCacheStatistics.getPersistWrites());
+		ret.put(metric("lineage_cache_saved_seconds_total"), LineageCacheStatistics.getSavedComputeTime()/1e9);
+		
+		//codegen compilation and caches
+		ret.put(metric("codegen_compile_total", "type", "dag"), (double)getCodegenDAGCompile());
+		ret.put(metric("codegen_compile_total", "type", "cplan"), (double)getCodegenCPlanCompile());
+		ret.put(metric("codegen_compile_total", "type", "class"), (double)getCodegenClassCompile());
+		ret.put(metric("codegen_compile_time_seconds_total", "type", "all"), getCodegenCompileTime()/1e9);
+		ret.put(metric("codegen_compile_time_seconds_total", "type", "class"), getCodegenClassCompileTime()/1e9);
+		ret.put(metric("codegen_cache_hits_total", "cache", "op"), (double)getCodegenOpCacheHits());
+		ret.put(metric("codegen_cache_hits_total", "cache", "plan"), (double)getCodegenPlanCacheHits());
+		ret.put(metric("codegen_cache_hits_total", "cache", "class"), (double)getCodegenClassCacheHits());
+		ret.put(metric("codegen_cache_lookups_total", "cache", "op"), (double)getCodegenOpCacheTotal());
+		ret.put(metric("codegen_cache_lookups_total", "cache", "plan"), (double)getCodegenPlanCacheTotal());
+		
+		//dynamic recompilation
+		ret.put(metric("recompile_total", "type", "pred"), (double)getHopRecompiledPredDAGs());
+		ret.put(metric("recompile_total", "type", "sb"), (double)getHopRecompiledSBDAGs());
+		ret.put(metric("recompile_total", "type", "function"), (double)getFunRecompiles());
+		ret.put(metric("recompile_time_seconds_total", "type", "hop"), getHopRecompileTime()/1e9);
+		ret.put(metric("recompile_time_seconds_total", "type", "function"), getFunRecompileTime()/1e9);
+		
+		//jvm garbage collection
+		ret.put(metric("jvm_gc_total"), (double)getJVMgcCount());
+		ret.put(metric("jvm_gc_time_seconds_total"), getJVMgcTime()/1e3);
+		return ret;
+	}
+	
+	private static String metric(String name) {
+		return "systemds_" + name;
+	}
+	
+	private static String metric(String name, String label, String value) {
+		//escape label values according to the text exposition format
+		String evalue = value.replace("\\", "\\\\")
+			.replace("\"", "\\\"").replace("\n", "\\n");
+		return "systemds_" + name + "{" + label + "=\"" + evalue + "\"}";
+	}
+
 	/**
 	 * Returns statistics of the DML program that was recently completed as a string
 	 * @return statistics as a string
@@ -972,6 +1082,8 @@ public class Statistics
 			sb.append("Cache hits (Mem/Li/WB/FS/HDFS):\t" + CacheStatistics.displayHits() + ".\n");
 			sb.append("Cache writes (Li/WB/FS/HDFS):\t" + CacheStatistics.displayWrites() + ".\n");
 			sb.append("Cache times (ACQr/m, RLS, EXP):\t" + CacheStatistics.displayTime() + " sec.\n");
+			if( CachePrefetcher.isEnabled() )
+				sb.append("Cache prefetches:\t\t" + CacheStatistics.getPrefetches() + ".\n");
 			if (DMLScript.JMLC_MEM_STATISTICS)
 				sb.append("Max size of live objects:\t" + byteCountToDisplaySize(getSizeofPinnedObjects()) + " ("  + getNumPinnedObjects() + " total objects)" + "\n");
 			sb.append("HOP DAGs recompiled (PRED, SB):\t" + getHopRecompiledPredDAGs() + "/" + getHopRecompiledSBDAGs() + ".\n");
@@ -985,6 +1097,8 @@ public class Statistics
 				sb.append("LinCache MultiLevel (Ins/SB/Fn):" + LineageCacheStatistics.displayMultiLevelHits() + ".\n");
 				sb.append("LinCache writes (Mem/FS/Del): \t" + LineageCacheStatistics.displayWtrites() + ".\n");
 				sb.append("LinCache FStimes (Rd/Wr): \t" + LineageCacheStatistics.displayFSTime() + " sec.\n");
+				sb.append("LinCache compr (Wr/Hit/Ct/Dt): " + LineageCacheStatistics.displayCompressed() + ".\n");
+				sb.append("LinCache persist (Wr/Hit/Rd/Wt):" + LineageCacheStatistics.displayPersist() + ".\n");
 				sb.append("LinCache Computetime (S/M): \t" + LineageCacheStatistics.displayComputeTime() + " sec.\n");
 				sb.append("LinCache Rewrites:    \t\t" + LineageCacheStatistics.displayRewrites() + ".\n");
 			}
@@ -997,6 +1111,8 @@ public class Statistics
 						String.format("%.3f", (double)getCodegenClassCompileTime()/1000000000)  + " sec.\n");
 				sb.append("Codegen enum plan cache hits:\t" + getCodegenPlanCacheHits() + "/" + getCodegenPlanCacheTotal() + ".\n");
 				sb.append("Codegen op plan cache hits:\t" + getCodegenOpCacheHits() + "/" + getCodegenOpCacheTotal() + ".\n");
+				if( CodegenClassCache.isEnabled() )
+					sb.append("Codegen class cache hits:\t" + getCodegenClassCacheHits() + ".\n");
 			}
 			if( OptimizerUtils.isSparkExecutionMode() ){
 				String lazy = SparkExecutionContext.isLazySparkContextCreation() ? "(lazy)" : "(eager)";
@@ -1036,6 +1152,8 @@ public class Statistics
 				sb.append("Federated Execute (Inst, UDF):\t" +
 					federatedExecuteInstructionCount.longValue() + "/" +
 					federatedExecuteUDFCount.longValue() + ".\n");
+				sb.append("Federated round trips:\t\t" +
+					federatedRoundTripCount.longValue() + ".\n");
 			}
 
 			if( ConfigurationManager.getDMLConfig().getTextValue(DMLConfig.COMPRESSED_LINALG).contains("true")){
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.utils;
+
+/**
+ * Custom Java Flight Recorder events of the runtime, which are only created if
+ * enabled via sysds.stats.jfr (see {@link StatisticsExporter#isJFREnabled()}),
+ * and only committed if an active flight recording includes these events.
+ * 
+ * The event classes extend jdk.jfr.Event, which is not available on all
+ * supported JDKs. Hence, they are compiled from the optional source folder
+ * src/main/java-jfr (profile jfr, active on JDK 11+) and loaded via reflection,
+ * while events are unavailable if this implementation or jdk.jfr is missing.
+ */
+public class StatisticsEvents
+{
+	private static final String JFR_EVENT_FACTORY = "org.apache.sysds.utils.StatisticsEventsJFR";
+	private static final EventFactory _factory = createEventFactory();
+	
+	private StatisticsEvents() {
+		//prevent instantiation via private constructor
+	}
+	
+	/**
+	 * Factory of flight recorder events, where events are passed as opaque
+	 * handles to avoid references to jdk.jfr in the core runtime.
+	 */
+	public interface EventFactory {
+		public Object beginInstruction();
+		public void commitInstruction(Object ev, String opcode);
+		public Object beginEviction();
+		public void commitEviction(Object ev, String fname, long size, int evicted);
+	}
+	
+	public static boolean isAvailable() {
+		return _factory != null;
+	}
+	
+	public static Object beginInstruction() {
+		return _factory.beginInstruction();
+	}
+	
+	public static void commitInstruction(Object ev, String opcode) {
+		_factory.commitInstruction(ev, opcode);
+	}
+	
+	public static Object beginEviction() {
+		return _factory.beginEviction();
+	}
+	
+	public static void commitEviction(Object ev, String fname, long size, int evicted) {
+		_factory.commitEviction(ev, fname, size, evicted);
+	}
+	
+	private static EventFactory createEventFactory() {
+		//flight recorder events require jdk 8u262+ or jdk 11+
+		try {
+			Class.forName("jdk.jfr.Event");
+			return (EventFactory) Class.forName(JFR_EVENT_FACTORY)
+				.getDeclaredConstructor().newInstance();
+		}
+		catch(ReflectiveOperationException | LinkageError ex) {
+			return null;
+		}
+	}
+}
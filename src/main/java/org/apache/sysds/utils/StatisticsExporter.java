@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.conf.DMLConfig;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Live export of runtime statistics for long-running processes such as JMLC
+ * services, which complements the final statistics output. If configured via
+ * sysds.stats.export.port, an embedded HTTP server serves snapshots of all
+ * statistics (see {@link Statistics#getSnapshot()}) on /metrics in the text
+ * exposition format of common monitoring systems. If configured via
+ * sysds.stats.jfr, instruction executions and buffer pool evictions are also
+ * emitted as Java Flight Recorder events (see {@link StatisticsEvents}).
+ * 
+ * Both only expose existing counters, which are maintained if statistics are
+ * enabled (e.g., via -stats or Connection.setStatistics). The exporter is shared
+ * by all users in the JVM (e.g., concurrent JMLC connections) and stopped on the
+ * last shutdown. The HTTP server binds to the loopback interface unless a host
+ * is configured via sysds.stats.export.host.
+ */
+public class StatisticsExporter
+{
+	private static final Log LOG = LogFactory.getLog(StatisticsExporter.class.getName());
+	
+	public static final String PATH = "/metrics";
+	
+	private static HttpServer _server = null;
+	private static boolean _jfr = false;
+	private static int _refCount = 0;
+	
+	private StatisticsExporter() {
+		//prevent instantiation via private constructor
+	}
+	
+	/**
+	 * Starts the configured exporters if not already running, where each
+	 * call must be paired with a call to {@link #shutdown()}.
+	 * 
+	 * @param conf dml configuration
+	 */
+	public static synchronized void init(DMLConfig conf) {
+		_refCount++;
+		if( conf == null )
+			return;
+		_jfr |= conf.getBooleanValue(DMLConfig.STATS_JFR) && isJFRAvailable();
+		int port = conf.getIntValue(DMLConfig.STATS_EXPORT_PORT);
+		if( port >= 0 && _server == null )
+			start(conf.getTextValue(DMLConfig.STATS_EXPORT_HOST), port);
+	}
+	
+	/**
+	 * Releases a reference obtained via {@link #init(DMLConfig)}, and stops
+	 * the exporters once no other users remain.
+	 */
+	public static synchronized void shutdown() {
+		_refCount = Math.max(_refCount-1, 0);
+		if( _refCount > 0 )
+			return;
+		if( _server != null ) {
+			_server.stop(0);
+			_server = null;
+		}
+		_jfr = false;
+	}
+	
+	public static boolean isJFREnabled() {
+		return _jfr;
+	}
+	
+	/**
+	 * Obtains the port of the running HTTP exporter, which is useful
+	 * if configured with port 0 (any free port).
+	 * 
+	 * @return port, or -1 if not running
+	 */
+	public static synchronized int getPort() {
+		return (_server != null) ? _server.getAddress().getPort() : -1;
+	}
+	
+	/**
+	 * Converts the given statistics snapshot into the text exposition format,
+	 * with a type line per metric family (counter for names ending with _total).
+	 * 
+	 * @param snapshot statistics snapshot, grouped by metric family
+	 * @return snapshot in text exposition format
+	 */
+	public static String toTextFormat(Map<String, Double> snapshot) {
+		StringBuilder sb = new StringBuilder();
+		String family = null;
+		for( Entry<String, Double> e : snapshot.entrySet() ) {
+			int pos = e.getKey().indexOf('{');
+			String name = (pos >= 0) ? e.getKey().substring(0, pos) : e.getKey();
+			if( !name.equals(family) ) {
+				sb.append("# TYPE ").append(name);
+				sb.append(name.endsWith("_total") ? " counter\n" : " gauge\n");
+				family = name;
+			}
+			sb.append(e.getKey()).append(' ').append(e.getValue()).append('\n');
+		}
+		return sb.toString();
+	}
+	
+	private static void start(String host, int port) {
+		try {
+			InetSocketAddress addr = (host == null || host.trim().isEmpty()) ?
+				new InetSocketAddress(InetAddress.getLoopbackAddress(), port) :
+				new InetSocketAddress(host.trim(), port);
+			HttpServer server = HttpServer.create(addr, 0);
+			server.createContext(PATH, StatisticsExporter::handle);
+			server.start();
+			_server = server;
+			LOG.info("Started statistics exporter on "+server.getAddress()+".");
+		}
+		catch(IOException ex) {
+			//robustness for ports in use, which should not fail the execution
+			LOG.warn("Failed to start statistics exporter on port "+port+".", ex);
+		}
+	}
+	
+	private static void handle(HttpExchange exchange) throws IOException {
+		try {
+			byte[] body = toTextFormat(Statistics.getSnapshot())
+				.getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+			exchange.sendResponseHeaders(200, body.length);
+			try( OutputStream os = exchange.getResponseBody() ) {
+				os.write(body);
+			}
+		}
+		finally {
+			exchange.close();
+		}
+	}
+	
+	private static boolean isJFRAvailable() {
+		//flight recorder events require jdk.jfr and the optional jfr source folder
+		if( !StatisticsEvents.isAvailable() )
+			LOG.warn("Java Flight Recorder not available, JFR events disabled.");
+		return StatisticsEvents.isAvailable();
+	}
+}
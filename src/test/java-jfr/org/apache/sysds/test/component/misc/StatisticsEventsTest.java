@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.utils.StatisticsEvents;
+import org.apache.sysds.utils.StatisticsExporter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Tests the Java Flight Recorder events of the runtime, compiled from the
+ * optional test source folder src/test/java-jfr (profile jfr).
+ */
+public class StatisticsEventsTest {
+	private static final String TEST_DIR = "target/testTemp/component/misc/StatisticsEventsTest/";
+
+	@Test
+	public void testFlightRecorderEvents() throws IOException {
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.STATS_JFR, "true");
+		File file = new File(TEST_DIR, "events.jfr");
+		file.getParentFile().mkdirs();
+		try( Recording rec = new Recording() ) {
+			StatisticsExporter.init(conf);
+			Assert.assertTrue(StatisticsExporter.isJFREnabled());
+			rec.enable("org.apache.sysds.Instruction");
+			rec.enable("org.apache.sysds.Eviction");
+			rec.start();
+			StatisticsEvents.commitInstruction(StatisticsEvents.beginInstruction(), "ba+*");
+			StatisticsEvents.commitEviction(StatisticsEvents.beginEviction(), "tmp1", 1024, 3);
+			StatisticsEvents.commitEviction(StatisticsEvents.beginEviction(), "tmp2", 1024, 0);
+			rec.stop();
+			rec.dump(file.toPath());
+		}
+		finally {
+			StatisticsExporter.shutdown();
+		}
+		List<RecordedEvent> events = RecordingFile.readAllEvents(file.toPath());
+		Assert.assertEquals(2, events.size());
+		for( RecordedEvent e : events ) {
+			if( e.getEventType().getName().equals("org.apache.sysds.Instruction") )
+				Assert.assertEquals("ba+*", e.getString("opcode"));
+			else {
+				Assert.assertEquals("tmp1", e.getString("file"));
+				Assert.assertEquals(3, e.getInt("evicted"));
+			}
+		}
+	}
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.CompressionSettings;
+import org.apache.sysds.runtime.compress.CompressionSettingsBuilder;
+import org.apache.sysds.runtime.compress.cocode.PlanningCoCoder.PartitionerType;
+import org.apache.sysds.runtime.compress.colgroup.ColGroup;
+import org.apache.sysds.runtime.compress.estim.CompressedSizeEstimator;
+import org.apache.sysds.runtime.compress.estim.CompressedSizeEstimatorFactory;
+import org.apache.sysds.runtime.compress.estim.CompressedSizeInfoColGroup;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the co-coding search, which combines the bitmaps of candidate column groups instead of extracting them from
+ * the data, evaluates the candidates in parallel, and stops at a time budget.
+ */
+public class CompressedCoCodeTest {
+	private static final int rows = 5000;
+	private static final int cols = 24;
+
+	@Test
+	public void testJoinEstimateExact() {
+		runJoinEstimateTest(1.0);
+	}
+
+	@Test
+	public void testJoinEstimateSample() {
+		runJoinEstimateTest(0.1);
+	}
+
+	@Test
+	public void testParallelPlanning() {
+		MatrixBlock mb = createInput();
+		List<int[]> groups1 = getColGroups(compress(mb, 1, -1));
+		List<int[]> groups2 = getColGroups(compress(mb, 4, -1));
+		Assert.assertEquals(groups1.size(), groups2.size());
+		for(int i = 0; i < groups1.size(); i++)
+			Assert.assertArrayEquals(groups1.get(i), groups2.get(i));
+		// the low cardinality columns are co-coded
+		Assert.assertTrue(groups1.size() < cols);
+	}
+
+	@Test
+	public void testTimeBudget() {
+		MatrixBlock mb = createInput();
+		for(int k : new int[] {1, 4}) {
+			CompressedMatrixBlock cmb = compress(mb, k, 1);
+			TestUtils.compareMatrices(mb, cmb.decompress(), 0);
+		}
+	}
+
+	private static void runJoinEstimateTest(double samplingRatio) {
+		MatrixBlock mb = createInput();
+		CompressionSettings cs = new CompressionSettingsBuilder().setSamplingRatio(samplingRatio).setSeed(7).create();
+		CompressedSizeEstimator est = CompressedSizeEstimatorFactory.getSizeEstimator(mb, cs);
+		compareEstimates(est.estimateCompressedColGroupSize(new int[] {0, 2}),
+			est.estimateJoinCompressedSize(new int[] {0}, new int[] {2}));
+		compareEstimates(est.estimateCompressedColGroupSize(new int[] {0, 1, 2, 5}),
+			est.estimateJoinCompressedSize(new int[] {1, 5}, new int[] {0, 2}));
+	}
+
+	private static void compareEstimates(CompressedSizeInfoColGroup expected, CompressedSizeInfoColGroup actual) {
+		Assert.assertEquals(expected.getEstCard(), actual.getEstCard());
+		Assert.assertEquals(expected.getMinSize(), actual.getMinSize());
+		Assert.assertEquals(expected.getBestCompressionType(), actual.getBestCompressionType());
+	}
+
+	private static CompressedMatrixBlock compress(MatrixBlock mb, int k, long timeBudget) {
+		CompressionSettingsBuilder csb = new CompressionSettingsBuilder().setSamplingRatio(0.5).setSeed(7)
+			.setColumnPartitioner(PartitionerType.STATIC).setmaxStaticColGroupCoCode(cols)
+			.setCoCodeTimeBudget(timeBudget);
+		MatrixBlock ret = CompressedMatrixBlockFactory.compress(mb, k, csb.create()).getLeft();
+		Assert.assertTrue(ret instanceof CompressedMatrixBlock);
+		return (CompressedMatrixBlock) ret;
+	}
+
+	private static List<int[]> getColGroups(CompressedMatrixBlock cmb) {
+		List<int[]> ret = new ArrayList<>();
+		for(ColGroup g : cmb.getColGroups())
+			ret.add(g.getColIndices());
+		ret.sort((a, b) -> Integer.compare(a[0], b[0]));
+		return ret;
+	}
+
+	private static MatrixBlock createInput() {
+		// non-zero low cardinality columns, with pairs of correlated columns
+		Random r = new Random(7);
+		MatrixBlock mb = new MatrixBlock(rows, cols, false);
+		mb.allocateDenseBlock();
+		for(int i = 0; i < rows; i++)
+			for(int j = 0; j < cols; j += 2) {
+				int v = 1 + r.nextInt(3 + j % 4);
+				mb.quickSetValue(i, j, v);
+				mb.quickSetValue(i, j + 1, 2 * v + r.nextInt(2));
+			}
+		mb.recomputeNonZeros();
+		return mb;
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.io.MatrixReaderFactory;
+import org.apache.sysds.runtime.io.MatrixWriterFactory;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the compressed binary format, which reads compressed blocks without
+ * decompression or recompression.
+ */
+public class CompressedIOTest {
+	private static final int rows = 5000;
+	private static final int cols = 20;
+
+	@Test
+	public void testWriteReadCompressed() throws IOException {
+		MatrixBlock mb = createCompressibleInput();
+		MatrixBlock cmb = CompressedMatrixBlockFactory.compress(mb).getLeft();
+		Assert.assertTrue(cmb instanceof CompressedMatrixBlock);
+		MatrixBlock ret = writeAndRead(cmb);
+		Assert.assertTrue(ret instanceof CompressedMatrixBlock);
+		Assert.assertEquals(((CompressedMatrixBlock) cmb).getColGroups().size(),
+			((CompressedMatrixBlock) ret).getColGroups().size());
+		TestUtils.compareMatrices(mb, ((CompressedMatrixBlock) ret).decompress(), 0);
+	}
+
+	@Test
+	public void testWriteReadUncompressedInput() throws IOException {
+		MatrixBlock mb = createCompressibleInput();
+		MatrixBlock ret = writeAndRead(mb);
+		Assert.assertTrue(ret instanceof CompressedMatrixBlock);
+		TestUtils.compareMatrices(mb, ((CompressedMatrixBlock) ret).decompress(), 0);
+	}
+
+	@Test
+	public void testWriteReadIncompressibleInput() throws IOException {
+		MatrixBlock mb = MatrixBlock.randOperations(rows, cols, 1.0, 0, 1, "uniform", 7);
+		MatrixBlock ret = writeAndRead(mb);
+		Assert.assertFalse(ret instanceof CompressedMatrixBlock);
+		TestUtils.compareMatrices(mb, ret, 0);
+	}
+
+	@Test
+	public void testWriteReadEmpty() throws IOException {
+		File dir = Files.createTempDirectory("cmbio").toFile();
+		try {
+			String fname = dir.getAbsolutePath() + "/X";
+			MatrixWriterFactory.createMatrixWriter(FileFormat.COMPRESSED)
+				.writeEmptyMatrixToHDFS(fname, rows, cols, 1000);
+			MatrixBlock ret = MatrixReaderFactory.createMatrixReader(FileFormat.COMPRESSED)
+				.readMatrixFromHDFS(fname, rows, cols, 1000, 0);
+			Assert.assertEquals(rows, ret.getNumRows());
+			Assert.assertEquals(cols, ret.getNumColumns());
+			Assert.assertTrue(ret.isEmptyBlock(false));
+		}
+		finally {
+			FileUtils.deleteQuietly(dir);
+		}
+	}
+
+	@Test
+	public void testWriteReadExactBoundary() throws IOException {
+		//blocks of exactly the overall dimensions round-trip
+		MatrixBlock mb = createCompressibleInput();
+		MatrixBlock ret = writeAndRead(mb, rows, cols);
+		Assert.assertEquals(rows, ret.getNumRows());
+		Assert.assertEquals(cols, ret.getNumColumns());
+		//while blocks off by one in either dimension are rejected on write
+		for( int[] dims : new int[][] {{rows+1, cols}, {rows-1, cols}, {rows, cols+1}, {rows, cols-1}} ) {
+			try {
+				writeAndRead(mb, dims[0], dims[1]);
+				Assert.fail("Expected IOException on write for dims " + dims[0] + "x" + dims[1]);
+			}
+			catch(IOException ex) {
+				Assert.assertTrue(ex.getMessage().contains("does not match"));
+			}
+		}
+	}
+
+	private static MatrixBlock writeAndRead(MatrixBlock mb) throws IOException {
+		return writeAndRead(mb, rows, cols);
+	}
+
+	private static MatrixBlock writeAndRead(MatrixBlock mb, long rlen, long clen) throws IOException {
+		File dir = Files.createTempDirectory("cmbio").toFile();
+		try {
+			String fname = dir.getAbsolutePath() + "/X";
+			MatrixCharacteristics mc = new MatrixCharacteristics(rlen, clen, 1000, mb.getNonZeros());
+			DataConverter.writeMatrixToHDFS(mb, fname, FileFormat.COMPRESSED, mc);
+			return DataConverter.readMatrixFromHDFS(fname, FileFormat.COMPRESSED, rlen, clen, 1000, false);
+		}
+		finally {
+			FileUtils.deleteQuietly(dir);
+		}
+	}
+
+	private static MatrixBlock createCompressibleInput() {
+		MatrixBlock mb = MatrixBlock.randOperations(rows, cols, 1.0, 1, 10, "uniform", 7);
+		return mb.unaryOperations(InstructionUtils.parseUnaryOperator("round"), new MatrixBlock());
+	}
+}
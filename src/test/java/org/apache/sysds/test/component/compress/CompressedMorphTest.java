@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress;
+
+import java.util.EnumSet;
+import java.util.Random;
+
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.CompressionSettingsBuilder;
+import org.apache.sysds.runtime.compress.colgroup.ColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroup.CompressionType;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupDDC2;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
+import org.apache.sysds.runtime.instructions.cp.DoubleObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests appends and updates of compressed matrix blocks, which modify the column groups without decompressing the
+ * entire block.
+ */
+public class CompressedMorphTest {
+	private static final int rows = 2000;
+	private static final int cols = 4;
+
+	@Test
+	public void testRbind() {
+		MatrixBlock mb = createInput(rows, 7);
+		MatrixBlock mb2 = createInput(100, 8);
+		CompressedMatrixBlock cmb = compress(mb);
+		MatrixBlock ret = cmb.append(mb2, new MatrixBlock(), false);
+		Assert.assertTrue(ret instanceof CompressedMatrixBlock);
+		Assert.assertEquals(rows + 100, ret.getNumRows());
+		MatrixBlock expected = mb.append(mb2, new MatrixBlock(), false);
+		TestUtils.compareMatrices(expected, ((CompressedMatrixBlock) ret).decompress(), 0);
+		Assert.assertEquals(expected.getNonZeros(), ret.getNonZeros());
+		// the input block is left unmodified
+		TestUtils.compareMatrices(mb, cmb.decompress(), 0);
+	}
+
+	@Test
+	public void testRbindCompressed() {
+		MatrixBlock mb = createInput(rows, 7);
+		MatrixBlock mb2 = createInput(rows, 8);
+		MatrixBlock ret = compress(mb).append(compress(mb2), new MatrixBlock(), false);
+		Assert.assertTrue(ret instanceof CompressedMatrixBlock);
+		TestUtils.compareMatrices(mb.append(mb2, new MatrixBlock(), false),
+			((CompressedMatrixBlock) ret).decompress(), 0);
+	}
+
+	@Test
+	public void testRbindDictionaryOverflow() {
+		// a single low cardinality column that exceeds 256 distinct values after the append
+		Random r = new Random(7);
+		MatrixBlock mb = new MatrixBlock(rows, 1, false);
+		for(int i = 0; i < rows; i++)
+			mb.quickSetValue(i, 0, r.nextInt(200));
+		MatrixBlock mb2 = new MatrixBlock(300, 1, false);
+		for(int i = 0; i < 300; i++)
+			mb2.quickSetValue(i, 0, 1000 + i);
+		CompressionSettingsBuilder csb = new CompressionSettingsBuilder().setSamplingRatio(1.0).setSeed(7)
+			.setValidCompressions(EnumSet.of(CompressionType.DDC));
+		CompressedMatrixBlock cmb = (CompressedMatrixBlock) CompressedMatrixBlockFactory.compress(mb, 1, csb.create())
+			.getLeft();
+		MatrixBlock expected = mb.append(mb2, new MatrixBlock(), false);
+		// the dictionary of the column group grows from one to two bytes per row
+		ColGroup g = cmb.getColGroups().get(0).appendRows(mb2);
+		Assert.assertTrue(g instanceof ColGroupDDC2);
+		for(int i = 0; i < expected.getNumRows(); i++)
+			Assert.assertEquals(expected.quickGetValue(i, 0), g.get(i, 0), 0);
+		// the halved compression ratio of the block might trigger a re-planning
+		MatrixBlock ret = cmb.append(mb2, new MatrixBlock(), false);
+		if(ret instanceof CompressedMatrixBlock)
+			ret = ((CompressedMatrixBlock) ret).decompress();
+		TestUtils.compareMatrices(expected, ret, 0);
+	}
+
+	@Test
+	public void testLeftIndexingRange() {
+		MatrixBlock mb = createInput(rows, 7);
+		MatrixBlock rhs = createInput(50, 9).slice(0, 49, 1, 2, new MatrixBlock());
+		CompressedMatrixBlock cmb = compress(mb);
+		MatrixBlock ret = cmb.leftIndexingOperations(rhs, 100, 149, 1, 2, new MatrixBlock(), UpdateType.COPY);
+		Assert.assertTrue(ret instanceof CompressedMatrixBlock);
+		MatrixBlock expected = mb.leftIndexingOperations(rhs, 100, 149, 1, 2, new MatrixBlock(), UpdateType.COPY);
+		TestUtils.compareMatrices(expected, ((CompressedMatrixBlock) ret).decompress(), 0);
+		Assert.assertEquals(expected.getNonZeros(), ret.getNonZeros());
+		// column groups that do not intersect the updated columns are shared
+		for(ColGroup g : cmb.getColGroups())
+			if(!intersects(g, 1, 2))
+				Assert.assertTrue(((CompressedMatrixBlock) ret).getColGroups().contains(g));
+		TestUtils.compareMatrices(mb, cmb.decompress(), 0);
+	}
+
+	@Test
+	public void testLeftIndexingRangeOffsetGroups() {
+		// range updates decompress the affected rows of OLE and RLE groups via their skip lists
+		MatrixBlock mb = createInput(rows, 7);
+		MatrixBlock rhs = createInput(300, 9).slice(0, 299, 1, 3, new MatrixBlock());
+		for(CompressionType type : new CompressionType[] {CompressionType.OLE, CompressionType.RLE}) {
+			CompressionSettingsBuilder csb = new CompressionSettingsBuilder().setSamplingRatio(1.0).setSeed(7)
+				.setValidCompressions(EnumSet.of(type));
+			CompressedMatrixBlock cmb = (CompressedMatrixBlock) CompressedMatrixBlockFactory
+				.compress(mb, 1, csb.create()).getLeft();
+			Assert.assertTrue(cmb.getColGroups().stream().anyMatch(g -> g.getCompType() == type));
+			MatrixBlock ret = cmb.leftIndexingOperations(rhs, 1500, 1799, 1, 3, new MatrixBlock(), UpdateType.COPY);
+			MatrixBlock expected = mb.leftIndexingOperations(rhs, 1500, 1799, 1, 3, new MatrixBlock(), UpdateType.COPY);
+			if(ret instanceof CompressedMatrixBlock)
+				ret = ((CompressedMatrixBlock) ret).decompress();
+			TestUtils.compareMatrices(expected, ret, 0);
+			Assert.assertEquals(type.name(), expected.getNonZeros(), ret.getNonZeros());
+		}
+	}
+
+	@Test
+	public void testLeftIndexingPoint() {
+		MatrixBlock mb = createInput(rows, 7);
+		CompressedMatrixBlock cmb = compress(mb);
+		MatrixBlock ret = cmb;
+		MatrixBlock expected = mb;
+		for(int i = 0; i < 10; i++) {
+			DoubleObject v = new DoubleObject(i % 3 == 0 ? 0 : 17 * i);
+			ret = ret.leftIndexingOperations(v, i * 13, i % cols, new MatrixBlock(), UpdateType.COPY);
+			expected = expected.leftIndexingOperations(v, i * 13, i % cols, new MatrixBlock(), UpdateType.COPY);
+		}
+		Assert.assertTrue(ret instanceof CompressedMatrixBlock);
+		TestUtils.compareMatrices(expected, ((CompressedMatrixBlock) ret).decompress(), 0);
+		Assert.assertEquals(expected.getNonZeros(), ret.getNonZeros());
+	}
+
+	@Test
+	public void testRbindReplan() {
+		// appending incompressible rows degrades the compression ratio and triggers a re-planning
+		MatrixBlock mb = createInput(rows, 7);
+		MatrixBlock mb2 = MatrixBlock.randOperations(rows * 4, cols, 1.0, -1, 1, "uniform", 3);
+		CompressedMatrixBlock cmb = compress(mb);
+		MatrixBlock ret = cmb.append(mb2, new MatrixBlock(), false);
+		if(ret instanceof CompressedMatrixBlock) {
+			CompressedMatrixBlock cret = (CompressedMatrixBlock) ret;
+			Assert.assertTrue(cret.getCompressionRatio() >= 1);
+			ret = cret.decompress();
+		}
+		TestUtils.compareMatrices(mb.append(mb2, new MatrixBlock(), false), ret, 0);
+	}
+
+	private static boolean intersects(ColGroup g, int cl, int cu) {
+		for(int c : g.getColIndices())
+			if(c >= cl && c <= cu)
+				return true;
+		return false;
+	}
+
+	private static CompressedMatrixBlock compress(MatrixBlock mb) {
+		CompressionSettingsBuilder csb = new CompressionSettingsBuilder().setSamplingRatio(1.0).setSeed(7);
+		MatrixBlock ret = CompressedMatrixBlockFactory.compress(mb, 1, csb.create()).getLeft();
+		Assert.assertTrue(ret instanceof CompressedMatrixBlock);
+		return (CompressedMatrixBlock) ret;
+	}
+
+	private static MatrixBlock createInput(int nrows, int seed) {
+		// a counter, a sparse low cardinality column, a constant column and a small range column
+		Random r = new Random(seed);
+		MatrixBlock mb = new MatrixBlock(nrows, cols, false);
+		mb.allocateDenseBlock();
+		long counter = 0;
+		for(int i = 0; i < nrows; i++) {
+			counter += r.nextInt(3);
+			mb.quickSetValue(i, 0, counter);
+			mb.quickSetValue(i, 1, r.nextInt(10) < 7 ? 0 : r.nextInt(5));
+			mb.quickSetValue(i, 2, 3);
+			mb.quickSetValue(i, 3, r.nextInt(8));
+		}
+		mb.recomputeNonZeros();
+		return mb;
+	}
+}
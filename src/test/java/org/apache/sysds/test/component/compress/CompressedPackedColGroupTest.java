@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Random;
+
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.CompressionSettingsBuilder;
+import org.apache.sysds.runtime.compress.colgroup.ColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroup.CompressionType;
+import org.apache.sysds.runtime.functionobjects.Multiply;
+import org.apache.sysds.runtime.functionobjects.Plus;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysds.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the frame-of-reference and delta bit-packed column groups, which are selected for high cardinality integer
+ * columns with small value ranges or small steps between consecutive rows.
+ */
+public class CompressedPackedColGroupTest {
+	private static final int rows = 10000;
+	private static final int cols = 4;
+
+	@Test
+	public void testCompressionTypes() {
+		CompressedMatrixBlock cmb = compress(createInput());
+		Assert.assertTrue(contains(cmb, CompressionType.FOR));
+		Assert.assertTrue(contains(cmb, CompressionType.DELTA));
+		Assert.assertTrue(cmb.getInMemorySize() < createInput().getInMemorySize());
+	}
+
+	@Test
+	public void testDecompress() {
+		MatrixBlock mb = createInput();
+		CompressedMatrixBlock cmb = compress(mb);
+		TestUtils.compareMatrices(mb, cmb.decompress(), 0);
+		TestUtils.compareMatrices(mb, cmb.decompress(4), 0);
+		for(int i = 0; i < rows; i += 97)
+			for(int j = 0; j < cols; j++)
+				Assert.assertEquals(mb.quickGetValue(i, j), cmb.quickGetValue(i, j), 0);
+	}
+
+	@Test
+	public void testRightMultSinglethreaded() {
+		runRightMultTest(1);
+	}
+
+	@Test
+	public void testRightMultMultithreaded() {
+		runRightMultTest(4);
+	}
+
+	@Test
+	public void testLeftMultSinglethreaded() {
+		runLeftMultTest(1);
+	}
+
+	@Test
+	public void testLeftMultMultithreaded() {
+		runLeftMultTest(4);
+	}
+
+	@Test
+	public void testAggregates() {
+		MatrixBlock mb = createInput();
+		CompressedMatrixBlock cmb = compress(mb);
+		for(String opcode : new String[] {"uak+", "uark+", "uack+", "uasqk+", "uamax", "uarmax", "uacmax", "uamin",
+			"uarmin", "uacmin", "uamean"}) {
+			for(int k : new int[] {1, 4}) {
+				AggregateUnaryOperator op = InstructionUtils.parseBasicAggregateUnaryOperator(opcode, k);
+				MatrixBlock ret1 = mb.aggregateUnaryOperations(op, new MatrixBlock(), 1000, null, true);
+				MatrixBlock ret2 = cmb.aggregateUnaryOperations(op, new MatrixBlock(), 1000, null, true);
+				TestUtils.compareMatricesPercentageDistance(DataConverter.convertToDoubleMatrix(ret1),
+					DataConverter.convertToDoubleMatrix(ret2), 0.9999, 0.9999, opcode);
+			}
+		}
+	}
+
+	@Test
+	public void testScalarOperations() {
+		MatrixBlock mb = createInput();
+		CompressedMatrixBlock cmb = compress(mb);
+		// integral shift keeps the bit-packed encodings
+		ScalarOperator plus = new RightScalarOperator(Plus.getPlusFnObject(), 13);
+		MatrixBlock ret = cmb.scalarOperations(plus, new MatrixBlock());
+		Assert.assertTrue(ret instanceof CompressedMatrixBlock);
+		Assert.assertTrue(contains((CompressedMatrixBlock) ret, CompressionType.FOR));
+		TestUtils.compareMatrices(mb.scalarOperations(plus, new MatrixBlock()),
+			((CompressedMatrixBlock) ret).decompress(), 0);
+		// non-integral results fall back to uncompressed column groups
+		ScalarOperator mult = new RightScalarOperator(Multiply.getMultiplyFnObject(), 0.5);
+		ret = cmb.scalarOperations(mult, new MatrixBlock());
+		TestUtils.compareMatrices(mb.scalarOperations(mult, new MatrixBlock()),
+			((CompressedMatrixBlock) ret).decompress(), 0);
+	}
+
+	@Test
+	public void testSerialization() throws IOException {
+		MatrixBlock mb = createInput();
+		CompressedMatrixBlock cmb = compress(mb);
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		cmb.write(new DataOutputStream(bos));
+		Assert.assertEquals(cmb.getExactSizeOnDisk(), bos.size());
+		CompressedMatrixBlock cmb2 = new CompressedMatrixBlock();
+		cmb2.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+		Assert.assertTrue(contains(cmb2, CompressionType.DELTA));
+		TestUtils.compareMatrices(mb, cmb2.decompress(), 0);
+	}
+
+	private static void runRightMultTest(int k) {
+		MatrixBlock mb = createInput();
+		CompressedMatrixBlock cmb = compress(mb);
+		AggregateBinaryOperator abop = InstructionUtils.getMatMultOperator(k);
+		for(MatrixBlock rhs : new MatrixBlock[] {MatrixBlock.randOperations(cols, 1, 1.0, -1, 1, "uniform", 3),
+			MatrixBlock.randOperations(cols, 7, 1.0, -1, 1, "uniform", 3),
+			MatrixBlock.randOperations(cols, 7, 0.3, -1, 1, "uniform", 3)}) {
+			MatrixBlock ret1 = mb.aggregateBinaryOperations(mb, rhs, new MatrixBlock(), abop);
+			MatrixBlock ret2 = cmb.aggregateBinaryOperations(cmb, rhs, new MatrixBlock(), abop);
+			TestUtils.compareMatricesPercentageDistance(DataConverter.convertToDoubleMatrix(ret1),
+				DataConverter.convertToDoubleMatrix(ret2), 0.9999, 0.9999, "right mult k=" + k);
+		}
+	}
+
+	private static void runLeftMultTest(int k) {
+		MatrixBlock mb = createInput();
+		CompressedMatrixBlock cmb = compress(mb);
+		AggregateBinaryOperator abop = InstructionUtils.getMatMultOperator(k);
+		for(MatrixBlock lhs : new MatrixBlock[] {MatrixBlock.randOperations(1, rows, 1.0, -1, 1, "uniform", 3),
+			MatrixBlock.randOperations(3, rows, 1.0, -1, 1, "uniform", 3),
+			MatrixBlock.randOperations(3, rows, 0.05, -1, 1, "uniform", 3)}) {
+			MatrixBlock ret1 = mb.aggregateBinaryOperations(lhs, mb, new MatrixBlock(), abop);
+			MatrixBlock ret2 = cmb.aggregateBinaryOperations(lhs, cmb, new MatrixBlock(), abop);
+			TestUtils.compareMatricesPercentageDistance(DataConverter.convertToDoubleMatrix(ret1),
+				DataConverter.convertToDoubleMatrix(ret2), 0.9999, 0.9999, "left mult k=" + k);
+		}
+	}
+
+	private static CompressedMatrixBlock compress(MatrixBlock mb) {
+		CompressionSettingsBuilder csb = new CompressionSettingsBuilder().setSamplingRatio(1.0).setSeed(7)
+			.setValidCompressions(EnumSet.of(CompressionType.DDC, CompressionType.FOR, CompressionType.DELTA));
+		MatrixBlock ret = CompressedMatrixBlockFactory.compress(mb, 1, csb.create()).getLeft();
+		Assert.assertTrue(ret instanceof CompressedMatrixBlock);
+		return (CompressedMatrixBlock) ret;
+	}
+
+	private static boolean contains(CompressedMatrixBlock cmb, CompressionType type) {
+		for(ColGroup g : cmb.getColGroups())
+			if(g.getCompType() == type)
+				return true;
+		return false;
+	}
+
+	private static MatrixBlock createInput() {
+		// timestamps, sensor readings, counters, and a low cardinality column
+		Random r = new Random(7);
+		MatrixBlock mb = new MatrixBlock(rows, cols, false);
+		mb.allocateDenseBlock();
+		long ts = 1600000000L;
+		long counter = 0;
+		for(int i = 0; i < rows; i++) {
+			ts += 55 + r.nextInt(10);
+			counter += r.nextInt(3);
+			mb.quickSetValue(i, 0, ts);
+			mb.quickSetValue(i, 1, 1000 + r.nextInt(4000));
+			mb.quickSetValue(i, 2, counter);
+			mb.quickSetValue(i, 3, r.nextInt(5));
+		}
+		mb.recomputeNonZeros();
+		return mb;
+	}
+}
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.compress;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+
+import org.apache.sysds.lops.WeightedSigmoid.WSigmoidType;
+import org.apache.sysds.lops.WeightedSquaredLoss.WeightsType;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.CompressionSettingsBuilder;
+import org.apache.sysds.runtime.compress.colgroup.ColGroup.CompressionType;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.AggregateTernaryOperator;
+import org.apache.sysds.runtime.matrix.operators.QuaternaryOperator;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Tests aggregate ternary (tak+*, tack+*) and quaternary (wsloss, wsigmoid) operations with a compressed left-hand
+ * side on a few representative encodings, with and without overlapping column groups.
+ */
+@RunWith(value = Parameterized.class)
+public class CompressedTernaryQuaternaryTest {
+	private static final int rows = 2000;
+	private static final int cols = 6;
+	private static final int k = 4;
+
+	private final EnumSet<CompressionType> _types;
+	private final boolean _overlapping;
+
+	public CompressedTernaryQuaternaryTest(EnumSet<CompressionType> types, boolean overlapping) {
+		_types = types;
+		_overlapping = overlapping;
+	}
+
+	@Parameters
+	public static Collection<Object[]> data() {
+		ArrayList<Object[]> tests = new ArrayList<>();
+		tests.add(new Object[] {EnumSet.of(CompressionType.DDC), false});
+		tests.add(new Object[] {EnumSet.of(CompressionType.OLE), false});
+		tests.add(new Object[] {EnumSet.of(CompressionType.RLE), false});
+		tests.add(new Object[] {EnumSet.of(CompressionType.DDC, CompressionType.OLE, CompressionType.RLE), true});
+		return tests;
+	}
+
+	@Test
+	public void testAggregateTernary() {
+		MatrixBlock[] in = createInputs();
+		int ncol = in[0].getNumColumns();
+		MatrixBlock m2 = DataConverter.convertToMatrixBlock(TestUtils.generateTestMatrix(rows, ncol, 0.9, 1.1, 1.0, 3));
+		MatrixBlock m3 = DataConverter.convertToMatrixBlock(TestUtils.generateTestMatrix(rows, ncol, 0.9, 1.1, 0.3, 7));
+		for(String opcode : new String[] {"tak+*", "tack+*"}) {
+			AggregateTernaryOperator op = InstructionUtils.parseAggregateTernaryOperator(opcode, k);
+			for(MatrixBlock third : new MatrixBlock[] {null, m3}) {
+				MatrixBlock ret1 = in[0].aggregateTernaryOperations(in[0], m2, third, new MatrixBlock(), op, true);
+				MatrixBlock ret2 = in[1].aggregateTernaryOperations(in[1], m2, third, new MatrixBlock(), op, true);
+				compareResults(ret1, ret2, opcode);
+			}
+			// compressed second operand, which disables the aggregation on the dictionaries
+			MatrixBlock ret1 = in[0].aggregateTernaryOperations(in[0], in[0], m3, new MatrixBlock(), op, true);
+			MatrixBlock ret2 = in[1].aggregateTernaryOperations(in[1], in[1], m3, new MatrixBlock(), op, true);
+			compareResults(ret1, ret2, opcode + " compressed");
+		}
+	}
+
+	@Test
+	public void testQuaternaryWeightedSquaredLoss() {
+		MatrixBlock[] in = createInputs();
+		int ncol = in[0].getNumColumns();
+		MatrixBlock U = DataConverter.convertToMatrixBlock(TestUtils.generateTestMatrix(rows, 3, 0.9, 1.1, 1.0, 3));
+		MatrixBlock V = DataConverter.convertToMatrixBlock(TestUtils.generateTestMatrix(ncol, 3, 0.9, 1.1, 1.0, 7));
+		MatrixBlock W = DataConverter.convertToMatrixBlock(TestUtils.generateTestMatrix(rows, ncol, 0.9, 1.1, 0.5, 9));
+		for(WeightsType wt : WeightsType.values()) {
+			QuaternaryOperator qop = new QuaternaryOperator(wt);
+			MatrixBlock ret1 = in[0].quaternaryOperations(qop, U, V, W, new MatrixBlock(), k);
+			MatrixBlock ret2 = in[1].quaternaryOperations(qop, U, V, W, new MatrixBlock(), k);
+			compareResults(ret1, ret2, "wsloss " + wt);
+		}
+	}
+
+	@Test
+	public void testQuaternaryWeightedSigmoid() {
+		MatrixBlock[] in = createInputs();
+		int ncol = in[0].getNumColumns();
+		MatrixBlock U = DataConverter.convertToMatrixBlock(TestUtils.generateTestMatrix(rows, 3, -0.1, 0.1, 1.0, 3));
+		MatrixBlock V = DataConverter.convertToMatrixBlock(TestUtils.generateTestMatrix(ncol, 3, -0.1, 0.1, 1.0, 7));
+		for(WSigmoidType wt : new WSigmoidType[] {WSigmoidType.BASIC, WSigmoidType.MINUS}) {
+			QuaternaryOperator qop = new QuaternaryOperator(wt);
+			MatrixBlock ret1 = in[0].quaternaryOperations(qop, U, V, null, new MatrixBlock(), k);
+			MatrixBlock ret2 = in[1].quaternaryOperations(qop, U, V, null, new MatrixBlock(), k);
+			compareResults(ret1, ret2, "wsigmoid " + wt);
+		}
+	}
+
+	@Test
+	public void testQuaternaryWeightedSigmoidSparse() {
+		MatrixBlock[] in = createInputs(0.01);
+		int ncol = in[0].getNumColumns();
+		MatrixBlock U = DataConverter.convertToMatrixBlock(TestUtils.generateTestMatrix(rows, 3, -0.1, 0.1, 1.0, 3));
+		MatrixBlock V = DataConverter.convertToMatrixBlock(TestUtils.generateTestMatrix(ncol, 3, -0.1, 0.1, 1.0, 7));
+		QuaternaryOperator qop = new QuaternaryOperator(WSigmoidType.BASIC);
+		MatrixBlock ret1 = in[0].quaternaryOperations(qop, U, V, null, new MatrixBlock(), k);
+		MatrixBlock ret2 = in[1].quaternaryOperations(qop, U, V, null, new MatrixBlock(), k);
+		compareResults(ret1, ret2, "wsigmoid sparse");
+		// the output preserves the sparsity of X
+		if(!_overlapping)
+			Assert.assertTrue(ret2.isInSparseFormat());
+	}
+
+	private MatrixBlock[] createInputs() {
+		return createInputs(0.9);
+	}
+
+	private MatrixBlock[] createInputs(double sparsity) {
+		MatrixBlock mb = TestUtils.round(DataConverter
+			.convertToMatrixBlock(TestUtils.generateTestMatrix(rows, cols, 0, 15, sparsity, 11)));
+		CompressionSettingsBuilder csb = new CompressionSettingsBuilder().setSamplingRatio(1.0).setSeed(7)
+			.setValidCompressions(_types);
+		MatrixBlock cmb = CompressedMatrixBlockFactory.compress(mb, k, csb.create()).getLeft();
+		Assert.assertTrue(cmb instanceof CompressedMatrixBlock);
+		if(_overlapping) {
+			// matrix multiplication creates overlapping column groups
+			MatrixBlock tmp = DataConverter.convertToMatrixBlock(TestUtils.generateTestMatrix(cols, 2, 0.5, 1.5, 1.0, 2));
+			AggregateBinaryOperator abop = InstructionUtils.getMatMultOperator(k);
+			mb = mb.aggregateBinaryOperations(mb, tmp, new MatrixBlock(), abop);
+			cmb = cmb.aggregateBinaryOperations(cmb, tmp, new MatrixBlock(), abop);
+			Assert.assertTrue(cmb instanceof CompressedMatrixBlock);
+		}
+		return new MatrixBlock[] {mb, cmb};
+	}
+
+	private static void compareResults(MatrixBlock ret1, MatrixBlock ret2, String message) {
+		if(ret2 instanceof CompressedMatrixBlock)
+			ret2 = ((CompressedMatrixBlock) ret2).decompress();
+		TestUtils.compareMatricesPercentageDistance(DataConverter.convertToDoubleMatrix(ret1),
+			DataConverter.convertToDoubleMatrix(ret2), 0.99, 0.99, message);
+	}
+}
@@ -291,11 +291,9 @@ public abstract class CompressedTestBase extends TestBase {
 
 			// ChainType ctype = ChainType.XtwXv;
 			// Linear regression .
-			for(ChainType ctype : new ChainType[] {ChainType.XtwXv, ChainType.XtXv,
-				// ChainType.XtXvy
-			}) {
+			for(ChainType ctype : new ChainType[] {ChainType.XtwXv, ChainType.XtXv, ChainType.XtXvy}) {
 
-				MatrixBlock vector2 = (ctype == ChainType.XtwXv) ? DataConverter
+				MatrixBlock vector2 = (ctype != ChainType.XtXv) ? DataConverter
 					.convertToMatrixBlock(TestUtils.generateTestMatrix(rows, 1, 0.9, 1.1, 1.0, 3)) : null;
 
 				// matrix-vector uncompressed
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.federated;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.sysds.runtime.controlprogram.federated.FederatedMessageDecoder;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedMessageEncoder;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse.ResponseType;
+import org.apache.sysds.runtime.instructions.cp.DoubleObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.DecoderException;
+
+public class FederatedMessageCodecTest
+{
+	@Test
+	public void testRequestDenseMatrix() {
+		runRequestTest(MatrixBlock.randOperations(123, 45, 0.9, -1, 1, "uniform", 7));
+	}
+	
+	@Test
+	public void testRequestSparseMatrix() {
+		runRequestTest(MatrixBlock.randOperations(1234, 56, 0.05, -1, 1, "uniform", 7));
+	}
+	
+	@Test
+	public void testRequestEmptyMatrix() {
+		runRequestTest(new MatrixBlock(17, 3, true));
+	}
+	
+	@Test
+	public void testRequestUltraSparseMatrix() {
+		runRequestTest(MatrixBlock.randOperations(10000, 1000, 0.00001, -1, 1, "uniform", 7));
+	}
+	
+	@Test
+	public void testResponseDenseMatrix() {
+		MatrixBlock mb = MatrixBlock.randOperations(300, 70, 1.0, -1, 1, "uniform", 3);
+		FederatedResponse response = roundTrip(new FederatedResponse(ResponseType.SUCCESS, mb));
+		assertTrue(response.isSuccessful());
+		TestUtils.compareMatrices(mb, (MatrixBlock) getData(response)[0], 0);
+	}
+	
+	@Test
+	public void testResponseEmpty() {
+		FederatedResponse response = roundTrip(new FederatedResponse(ResponseType.SUCCESS_EMPTY));
+		assertTrue(response.isSuccessful());
+	}
+	
+	@Test
+	public void testResponseError() {
+		FederatedResponse response = roundTrip(new FederatedResponse(ResponseType.ERROR, "some error"));
+		assertFalse(response.isSuccessful());
+		assertEquals("some error", response.getErrorMessage());
+	}
+	
+	@Test
+	public void testPipelinedBatches() {
+		FederatedRequest[][] batches = new FederatedRequest[][] {
+			{new FederatedRequest(RequestType.PUT_VAR, 7, new DoubleObject(3.5))},
+			{new FederatedRequest(RequestType.EXEC_INST, 8, "inst"), new FederatedRequest(RequestType.GET_VAR, 8)}};
+		batches[0][0].setDeferred(true);
+		EmbeddedChannel ch = new EmbeddedChannel(new FederatedMessageDecoder(), new FederatedMessageEncoder());
+		assertTrue(ch.writeOutbound((Object) batches));
+		assertTrue(ch.writeInbound((ByteBuf) ch.readOutbound()));
+		FederatedRequest[][] ret = (FederatedRequest[][]) ch.readInbound();
+		assertEquals(2, ret.length);
+		assertEquals(1, ret[0].length);
+		assertTrue(ret[0][0].isDeferred());
+		assertEquals(2, ret[1].length);
+		assertEquals("inst", ret[1][0].getParam(0));
+		assertEquals(RequestType.GET_VAR, ret[1][1].getType());
+		
+		//one response per batch
+		assertTrue(ch.writeOutbound((Object) new FederatedResponse[] {
+			new FederatedResponse(ResponseType.SUCCESS_EMPTY), new FederatedResponse(ResponseType.ERROR, "some error")}));
+		assertTrue(ch.writeInbound((ByteBuf) ch.readOutbound()));
+		FederatedResponse[] responses = (FederatedResponse[]) ch.readInbound();
+		ch.finish();
+		assertEquals(2, responses.length);
+		assertTrue(responses[0].isSuccessful());
+		assertEquals("some error", responses[1].getErrorMessage());
+	}
+	
+	@Test(expected = DecoderException.class)
+	public void testRejectOversizedFrame() {
+		//a length prefix beyond the max frame length must not wrap around
+		EmbeddedChannel ch = new EmbeddedChannel(new FederatedMessageDecoder(), new FederatedMessageEncoder());
+		ByteBuf buf = Unpooled.buffer(8);
+		buf.writeInt(Integer.MAX_VALUE);
+		buf.writeByte(1);
+		ch.writeInbound(buf);
+	}
+	
+	private static void runRequestTest(MatrixBlock mb) {
+		FederatedRequest request = new FederatedRequest(RequestType.PUT_VAR, 7, mb, new DoubleObject(3.5), null, "text");
+		FederatedRequest request2 = new FederatedRequest(RequestType.GET_VAR, 8);
+		request.setTID(3);
+		
+		//encode and decode requests
+		EmbeddedChannel ch = new EmbeddedChannel(new FederatedMessageDecoder(), new FederatedMessageEncoder());
+		assertTrue(ch.writeOutbound((Object) new FederatedRequest[] {request, request2}));
+		ByteBuf buf = (ByteBuf) ch.readOutbound();
+		assertTrue(ch.writeInbound(buf));
+		FederatedRequest[] ret = (FederatedRequest[]) ch.readInbound();
+		ch.finish();
+		
+		//check decoded requests
+		assertEquals(2, ret.length);
+		assertEquals(RequestType.PUT_VAR, ret[0].getType());
+		assertEquals(7, ret[0].getID());
+		assertEquals(3, ret[0].getTID());
+		assertEquals(4, ret[0].getNumParams());
+		TestUtils.compareMatrices(mb, (MatrixBlock) ret[0].getParam(0), 0);
+		assertEquals(mb.getNonZeros(), ((MatrixBlock) ret[0].getParam(0)).getNonZeros());
+		assertEquals(3.5, ((DoubleObject) ret[0].getParam(1)).getDoubleValue(), 0);
+		assertNull(ret[0].getParam(2));
+		assertEquals("text", ret[0].getParam(3));
+		assertEquals(RequestType.GET_VAR, ret[1].getType());
+		assertEquals(0, ret[1].getNumParams());
+	}
+	
+	private static FederatedResponse roundTrip(FederatedResponse response) {
+		EmbeddedChannel ch = new EmbeddedChannel(new FederatedMessageDecoder(), new FederatedMessageEncoder());
+		assertTrue(ch.writeOutbound(response));
+		//split the message to check decoding of partially received messages
+		ByteBuf buf = (ByteBuf) ch.readOutbound();
+		int half = buf.readableBytes() / 2;
+		assertFalse(ch.writeInbound(buf.readSlice(half).retain()));
+		assertTrue(ch.writeInbound(buf));
+		FederatedResponse ret = (FederatedResponse) ch.readInbound();
+		ch.finish();
+		return ret;
+	}
+	
+	private static Object[] getData(FederatedResponse response) {
+		try {
+			return response.getData();
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.frame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.io.Writable;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
+import org.apache.sysds.runtime.io.FrameReaderTextCSV;
+import org.apache.sysds.runtime.io.FrameReaderTextCSVParallel;
+import org.apache.sysds.runtime.io.FrameWriterTextCSV;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.transform.encode.Encoder;
+import org.apache.sysds.runtime.transform.encode.EncoderFactory;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the dictionary-encoded representation of low-cardinality string
+ * columns, its automatic selection on read, and recoding via codes.
+ */
+public class FrameDictionaryEncodingTest {
+	private static final ValueType[] schema = new ValueType[] {
+		ValueType.STRING, ValueType.STRING, ValueType.FP64};
+	private static final int rows = 5000;
+
+	@Test
+	public void testCompactStringColumns() {
+		FrameBlock fb = createFrame();
+		FrameBlock ref = createFrame();
+		Assert.assertEquals(1, fb.compactStringColumns());
+		Assert.assertTrue(fb.isDictionaryEncoded(0));
+		Assert.assertFalse(fb.isDictionaryEncoded(1));
+		Assert.assertFalse(fb.isDictionaryEncoded(2));
+		Assert.assertEquals(7, fb.getColumnDictionary(0).length);
+		Assert.assertTrue(fb.getInMemorySize() < ref.getInMemorySize());
+		compareFrames(ref, fb);
+	}
+
+	@Test
+	public void testSmallFrameNotEncoded() {
+		FrameBlock fb = createFrame().slice(0, 99, 0, 2, new FrameBlock());
+		Assert.assertEquals(0, fb.compactStringColumns());
+	}
+
+	@Test
+	public void testSerialization() throws IOException {
+		FrameBlock ref = createFrame();
+		FrameBlock fb = createFrame();
+		fb.compactStringColumns();
+		ByteArrayOutputStream bos1 = new ByteArrayOutputStream();
+		ref.write(new DataOutputStream(bos1));
+		ByteArrayOutputStream bos2 = new ByteArrayOutputStream();
+		fb.write(new DataOutputStream(bos2));
+		//same serialized format as plain string columns
+		Assert.assertArrayEquals(bos1.toByteArray(), bos2.toByteArray());
+		Assert.assertEquals(ref.getExactSerializedSize(), fb.getExactSerializedSize());
+		FrameBlock fb2 = new FrameBlock();
+		fb2.readFields(new DataInputStream(new ByteArrayInputStream(bos2.toByteArray())));
+		compareFrames(ref, fb2);
+
+		//deserialization into an encoded column
+		ByteArrayOutputStream bos3 = new ByteArrayOutputStream();
+		((Writable) ref.getColumn(0)).write(new DataOutputStream(bos3));
+		FrameBlock fb3 = createFrame();
+		fb3.compactStringColumns();
+		((Writable) fb3.getColumn(0)).readFields(new DataInputStream(new ByteArrayInputStream(bos3.toByteArray())));
+		Assert.assertTrue(fb3.isDictionaryEncoded(0));
+		compareFrames(ref, fb3);
+	}
+
+	@Test
+	public void testSetSliceAndCopyOnWrite() {
+		FrameBlock ref = createFrame();
+		FrameBlock fb = createFrame();
+		fb.compactStringColumns();
+		FrameBlock slice = fb.slice(10, 2009, 0, 2, new FrameBlock());
+		slice.set(0, 0, "new");
+		slice.set(1, 0, null);
+		Assert.assertEquals("new", slice.get(0, 0));
+		Assert.assertNull(slice.get(1, 0));
+		Assert.assertEquals(ref.get(12, 0), slice.get(2, 0));
+		compareFrames(ref, fb);
+
+		//left indexing of plain into encoded columns and vice versa
+		FrameBlock out = fb.leftIndexingOperations(ref.slice(100, 109, 0, 2, new FrameBlock()),
+			100, 109, 0, 2, new FrameBlock());
+		compareFrames(ref, out);
+		FrameBlock out2 = ref.leftIndexingOperations(slice, 10, 2009, 0, 2, new FrameBlock());
+		Assert.assertEquals("new", out2.get(10, 0));
+		Assert.assertEquals(ref.get(2009, 0), out2.get(2009, 0));
+
+		//direct column access returns a decoded copy without modifying the frame
+		String[] col = (String[]) fb.getColumnData(0);
+		Assert.assertTrue(fb.isDictionaryEncoded(0));
+		Assert.assertEquals(ref.get(3, 0), col[3]);
+		col[3] = "written";
+		Assert.assertEquals(ref.get(3, 0), fb.get(3, 0));
+		Assert.assertEquals(ref.get(13, 0), slice.get(3, 0));
+	}
+
+	@Test
+	public void testRecodeSinglethreaded() {
+		runRecodeTest(1);
+	}
+
+	@Test
+	public void testRecodeMultithreaded() {
+		runRecodeTest(4);
+	}
+
+	@Test
+	public void testReadCSVSequential() throws IOException {
+		runReadTest(false);
+	}
+
+	@Test
+	public void testReadCSVParallel() throws IOException {
+		runReadTest(true);
+	}
+
+	private static void runRecodeTest(int k) {
+		String spec = "{ids: true, recode: [1, 2]}";
+		FrameBlock ref = createFrame();
+		FrameBlock fb = createFrame();
+		fb.compactStringColumns();
+
+		Encoder enc1 = EncoderFactory.createEncoder(spec, ref.getColumnNames(), ref.getNumColumns(), null);
+		MatrixBlock out1 = enc1.encode(ref, new MatrixBlock(rows, 3, false), k);
+		FrameBlock meta1 = enc1.getMetaData(new FrameBlock(ref.getNumColumns(), ValueType.STRING));
+		Encoder enc2 = EncoderFactory.createEncoder(spec, fb.getColumnNames(), fb.getNumColumns(), null);
+		MatrixBlock out2 = enc2.encode(fb, new MatrixBlock(rows, 3, false), k);
+		FrameBlock meta2 = enc2.getMetaData(new FrameBlock(fb.getNumColumns(), ValueType.STRING));
+		TestUtils.compareMatrices(out1, out2, 0);
+
+		//apply with existing meta data
+		Encoder enc3 = EncoderFactory.createEncoder(spec, fb.getColumnNames(), fb.getNumColumns(), meta1);
+		MatrixBlock out3 = enc3.apply(fb, new MatrixBlock(rows, 3, false), k);
+		TestUtils.compareMatrices(out1, out3, 0);
+		for( int i = 0; i < meta1.getNumRows(); i++ )
+			Assert.assertEquals(meta1.get(i, 0), meta2.get(i, 0));
+	}
+
+	private static void runReadTest(boolean parallel) throws IOException {
+		File dir = Files.createTempDirectory("csvdict").toFile();
+		try {
+			String fname = dir.getAbsolutePath() + "/in.csv";
+			FrameBlock ref = createFrame();
+			FileFormatPropertiesCSV props = new FileFormatPropertiesCSV(false, ",", true, 0, "");
+			new FrameWriterTextCSV(props).writeFrameToHDFS(ref, fname, rows, 3);
+			FrameBlock fb = (parallel ? new FrameReaderTextCSVParallel(props) : new FrameReaderTextCSV(props))
+				.readFrameFromHDFS(fname, schema, rows, 3);
+			Assert.assertTrue(fb.isDictionaryEncoded(0));
+			Assert.assertFalse(fb.isDictionaryEncoded(1));
+			compareFrames(ref, fb);
+		}
+		finally {
+			FileUtils.deleteQuietly(dir);
+		}
+	}
+
+	private static FrameBlock createFrame() {
+		FrameBlock fb = new FrameBlock(schema);
+		for( int i = 0; i < rows; i++ )
+			fb.appendRow(new Object[] {(i % 11 == 0) ? null : "cat" + (i * 7 % 13 % 7),
+				"id" + i, (double) i});
+		return fb;
+	}
+
+	private static void compareFrames(FrameBlock expected, FrameBlock actual) {
+		Assert.assertEquals(expected.getNumRows(), actual.getNumRows());
+		for( int j = 0; j < expected.getNumColumns(); j++ )
+			for( int i = 0; i < expected.getNumRows(); i++ )
+				Assert.assertEquals("(" + i + "," + j + ")", expected.get(i, j), actual.get(i, j));
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.frame;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
+import org.apache.sysds.runtime.io.FrameReaderTextCSV;
+import org.apache.sysds.runtime.io.FrameReaderTextCSVParallel;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Compares the single-pass parallel csv frame reader with the sequential
+ * reader on multi-file inputs (one split per file) over all value types.
+ */
+public class FrameReadCSVParallelTest {
+	private static final ValueType[] schema = new ValueType[] {ValueType.STRING, ValueType.FP64,
+		ValueType.FP32, ValueType.INT64, ValueType.INT32, ValueType.BOOLEAN};
+	private static final int rows = 3000;
+
+	@Test
+	public void testReadCSVNoHeader() throws IOException {
+		runReadTest(",", false, false, false);
+	}
+
+	@Test
+	public void testReadCSVHeader() throws IOException {
+		runReadTest(",", true, false, false);
+	}
+
+	@Test
+	public void testReadCSVMissingValues() throws IOException {
+		runReadTest("|", false, true, false);
+	}
+
+	@Test
+	public void testReadCSVQuotedMultiByteDelim() throws IOException {
+		runReadTest("::", true, true, true);
+	}
+
+	private static void runReadTest(String delim, boolean header, boolean missing, boolean quotes)
+		throws IOException
+	{
+		File dir = Files.createTempDirectory("csvpar").toFile();
+		try {
+			//write multiple part files w/ header in the first file
+			Random rand = new Random(7);
+			for( int p = 0, pos = 0; p < 4; p++ ) {
+				try( Writer w = new FileWriter(new File(dir, String.format("%05d", p))) ) {
+					if( p == 0 && header )
+						w.write("s" + delim + "d" + delim + "f" + delim + "l" + delim + "i" + delim + "b\n");
+					int len = rows / 4 + p * 17;
+					for( int i = 0; i < len; i++, pos++ ) {
+						String s = quotes && i % 7 == 0 ? "\"a" + delim + pos + "\"" : "a" + pos;
+						String d = missing && i % 5 == 0 ? (i % 10 == 0 ? "" : "NA") : 
+							String.valueOf(rand.nextGaussian() * Math.pow(10, rand.nextInt(20) - 10));
+						w.write(s + delim + d + delim + " " + rand.nextFloat() + " " + delim + rand.nextLong()
+							+ delim + rand.nextInt() + delim + (rand.nextBoolean() ? "TRUE" : "false") + "\n");
+					}
+				}
+			}
+			
+			FileFormatPropertiesCSV props = new FileFormatPropertiesCSV(header, delim, missing, 0, "NA");
+			FrameBlock fb1 = new FrameReaderTextCSV(props)
+				.readFrameFromHDFS(dir.getAbsolutePath(), schema, -1, -1);
+			FrameBlock fb2 = new FrameReaderTextCSVParallel(props)
+				.readFrameFromHDFS(dir.getAbsolutePath(), schema, -1, -1);
+			
+			Assert.assertEquals(fb1.getNumRows(), fb2.getNumRows());
+			Assert.assertEquals(fb1.getNumColumns(), fb2.getNumColumns());
+			for( int j = 0; j < schema.length; j++ ) {
+				Assert.assertEquals(fb1.getColumnName(j), fb2.getColumnName(j));
+				for( int i = 0; i < fb1.getNumRows(); i++ )
+					Assert.assertEquals("("+i+","+j+")", fb1.get(i, j), fb2.get(i, j));
+			}
+		}
+		finally {
+			FileUtils.deleteQuietly(dir);
+		}
+	}
+}
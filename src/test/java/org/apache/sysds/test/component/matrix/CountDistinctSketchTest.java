@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.matrix;
+
+import java.util.EnumSet;
+import java.util.Random;
+
+import org.apache.sysds.common.Types.Direction;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.CompressionSettingsBuilder;
+import org.apache.sysds.runtime.compress.colgroup.ColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroup.CompressionType;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.LibMatrixCountDistinct;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.sketch.CountDistinctSketch;
+import org.apache.sysds.runtime.matrix.operators.CountDistinctOperator;
+import org.apache.sysds.runtime.matrix.operators.CountDistinctOperator.CountDistinctTypes;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.Hash.HashType;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the mergeable count distinct sketches, where sketches of row partitions
+ * (as computed for spark or federated inputs) need to yield the same estimate
+ * as a single sketch of the entire input, as well as the row and column variants
+ * over matrices and frames.
+ */
+public class CountDistinctSketchTest {
+
+	private static final int rows = 2345;
+	private static final int cols = 17;
+
+	@Test
+	public void testMergeExactDense() {
+		runMergeTest(CountDistinctTypes.COUNT, 1.0);
+	}
+
+	@Test
+	public void testMergeExactSparse() {
+		runMergeTest(CountDistinctTypes.COUNT, 0.1);
+	}
+
+	@Test
+	public void testMergeKMVDense() {
+		runMergeTest(CountDistinctTypes.KMV, 1.0);
+	}
+
+	@Test
+	public void testMergeKMVSparse() {
+		runMergeTest(CountDistinctTypes.KMV, 0.1);
+	}
+
+	@Test
+	public void testMergeHLLDense() {
+		runMergeTest(CountDistinctTypes.HLL, 1.0);
+	}
+
+	@Test
+	public void testMergeHLLSparse() {
+		runMergeTest(CountDistinctTypes.HLL, 0.1);
+	}
+
+	@Test
+	public void testRowCountDistinct() {
+		runRowColTest(Direction.Row, 0.7);
+	}
+
+	@Test
+	public void testColCountDistinct() {
+		runRowColTest(Direction.Col, 0.7);
+	}
+
+	@Test
+	public void testRowCountDistinctSparse() {
+		runRowColTest(Direction.Row, 0.05);
+	}
+
+	@Test
+	public void testColCountDistinctSparse() {
+		runRowColTest(Direction.Col, 0.05);
+	}
+
+	@Test
+	public void testFrameCountDistinct() {
+		FrameBlock fb = createFrame();
+		CountDistinctOperator op = new CountDistinctOperator(CountDistinctTypes.COUNT);
+		Assert.assertEquals(300 + 50, LibMatrixCountDistinct.estimateDistinctValues(fb, op));
+	}
+
+	@Test
+	public void testFrameColCountDistinct() {
+		FrameBlock fb = createFrame();
+		CountDistinctOperator op = new CountDistinctOperator(
+			CountDistinctTypes.COUNT, HashType.LinearHash, Direction.Col);
+		MatrixBlock ret = LibMatrixCountDistinct.estimateDistinctValuesPerRowOrCol(fb, op);
+		Assert.assertEquals(1, ret.getNumRows());
+		Assert.assertEquals(300, ret.quickGetValue(0, 0), 0);
+		Assert.assertEquals(2, ret.quickGetValue(0, 1), 0);
+		Assert.assertEquals(50, ret.quickGetValue(0, 2), 0);
+	}
+
+	@Test
+	public void testCompressedCountDistinct() {
+		MatrixBlock mb = createPackedInput();
+		CompressionSettingsBuilder csb = new CompressionSettingsBuilder().setSamplingRatio(1.0).setSeed(7)
+			.setValidCompressions(EnumSet.of(CompressionType.FOR, CompressionType.DELTA));
+		MatrixBlock cmb = CompressedMatrixBlockFactory.compress(mb, 1, csb.create()).getLeft();
+		Assert.assertTrue(cmb instanceof CompressedMatrixBlock);
+		EnumSet<CompressionType> types = EnumSet.noneOf(CompressionType.class);
+		for( ColGroup cg : ((CompressedMatrixBlock) cmb).getColGroups() )
+			types.add(cg.getCompType());
+		Assert.assertTrue(types.toString(), types.containsAll(EnumSet.of(
+			CompressionType.FOR, CompressionType.DELTA, CompressionType.UNCOMPRESSED)));
+		CountDistinctOperator op = new CountDistinctOperator(CountDistinctTypes.COUNT);
+		Assert.assertEquals(LibMatrixCountDistinct.estimateDistinctValues(mb, op),
+			LibMatrixCountDistinct.estimateDistinctValues(cmb, op));
+	}
+
+	private static void runMergeTest(CountDistinctTypes type, double sparsity) {
+		MatrixBlock mb = DataConverter.convertToMatrixBlock(
+			TestUtils.generateTestMatrixIntV(rows, cols, 1, 5000, sparsity, 7));
+		CountDistinctOperator op = new CountDistinctOperator(type, HashType.LinearHash);
+		long maxDistinct = LibMatrixCountDistinct.getMaxDistinct(Direction.RowCol, rows, cols, mb.getNonZeros());
+
+		//single sketch over the entire input
+		CountDistinctSketch[] full = LibMatrixCountDistinct.computeSketches(mb, op, maxDistinct);
+
+		//merged sketches of row partitions
+		CountDistinctSketch[] merged = LibMatrixCountDistinct.createSketches(op, maxDistinct, 1);
+		for( int rl=0; rl<rows; rl+=1000 ) {
+			MatrixBlock part = mb.slice(rl, Math.min(rl+1000, rows)-1);
+			LibMatrixCountDistinct.mergeSketches(merged, 0,
+				LibMatrixCountDistinct.computeSketches(part, op, maxDistinct));
+		}
+		Assert.assertEquals(full[0].getEstimate(), merged[0].getEstimate());
+		if( type == CountDistinctTypes.COUNT )
+			Assert.assertEquals(LibMatrixCountDistinct.estimateDistinctValues(mb, op), merged[0].getEstimate());
+	}
+
+	private static void runRowColTest(Direction dir, double sparsity) {
+		MatrixBlock mb = DataConverter.convertToMatrixBlock(
+			TestUtils.generateTestMatrixIntV(rows, cols, 1, 10, sparsity, 7));
+		CountDistinctOperator op = new CountDistinctOperator(CountDistinctTypes.COUNT, HashType.LinearHash, dir);
+		MatrixBlock ret = LibMatrixCountDistinct.estimateDistinctValuesPerRowOrCol(mb, op);
+		boolean row = dir == Direction.Row;
+		Assert.assertEquals(row ? rows : 1, ret.getNumRows());
+		Assert.assertEquals(row ? 1 : cols, ret.getNumColumns());
+		for( int k=0; k<(row ? rows : cols); k++ ) {
+			MatrixBlock slice = row ? mb.slice(k, k) : mb.slice(0, rows-1, k, k, new MatrixBlock());
+			long expected = slice.getNumRows()*slice.getNumColumns() > 1 ?
+				LibMatrixCountDistinct.estimateDistinctValues(slice, new CountDistinctOperator(CountDistinctTypes.COUNT)) : 1;
+			Assert.assertEquals("Wrong count at "+k, expected, ret.quickGetValue(row ? k : 0, row ? 0 : k), 0);
+		}
+	}
+
+	private static MatrixBlock createPackedInput() {
+		//timestamps and counters (delta), sensor readings (FOR),
+		//and a sparse column of arbitrary doubles (uncompressed)
+		Random r = new Random(7);
+		MatrixBlock mb = new MatrixBlock(rows * 10, 4, false);
+		mb.allocateDenseBlock();
+		long ts = 1600000000L;
+		long counter = 0;
+		for( int i=0; i<mb.getNumRows(); i++ ) {
+			ts += 55 + r.nextInt(10);
+			counter += r.nextInt(3);
+			mb.quickSetValue(i, 0, ts);
+			mb.quickSetValue(i, 1, counter);
+			mb.quickSetValue(i, 2, 1000 + r.nextInt(4000));
+			mb.quickSetValue(i, 3, r.nextDouble() < 0.1 ? r.nextDouble() : 0);
+		}
+		mb.recomputeNonZeros();
+		return mb;
+	}
+
+	private static FrameBlock createFrame() {
+		//string column with 300 distinct values, boolean column, and
+		//integer column with 50 distinct values (that include the booleans as 0/1)
+		FrameBlock fb = new FrameBlock(new ValueType[] {ValueType.STRING, ValueType.BOOLEAN, ValueType.INT64});
+		for( int i=0; i<1200; i++ )
+			fb.appendRow(new Object[] {"v"+(i%300), i%2 == 0, (long) (i%50)});
+		return fb;
+	}
+}
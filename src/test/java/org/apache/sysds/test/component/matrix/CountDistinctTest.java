@@ -22,7 +22,6 @@ package org.apache.sysds.test.component.matrix;
 import java.util.ArrayList;
 import java.util.Collection;
 
-import org.apache.commons.lang.NotImplementedException;
 import org.apache.sysds.api.DMLException;
 import org.apache.sysds.runtime.matrix.data.LibMatrixCountDistinct;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
@@ -94,10 +93,6 @@ public class CountDistinctTest {
 					tests.add(new Object[] {et, inputs.get(0), actualUnique.get(0), ht, DMLException.class,
 						errorMessage, 0.0});
 				}
-				else if(et == CountDistinctTypes.HLL) {
-					tests.add(new Object[] {et, inputs.get(0), actualUnique.get(0), ht, NotImplementedException.class,
-						"HyperLogLog not implemented", 0.0});
-				}
 				else if(et != CountDistinctTypes.COUNT) {
 					for(int i = 0; i < inputs.size(); i++) {
 						// allowing the estimate to be 15% off
@@ -153,9 +148,6 @@ public class CountDistinctTest {
 		catch(DMLException e) {
 			throw e;
 		}
-		catch(NotImplementedException e) {
-			throw e;
-		}
 		catch(Exception e) {
 			e.printStackTrace();
 			Assert.assertTrue(this.toString(), false);
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.apache.sysds.runtime.functionobjects.ValueFunction;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Tests the dedicated dense kernels of cellwise binary operations and
+ * row/column min/max aggregates against a cell-by-cell reference.
+ */
+@RunWith(value = Parameterized.class)
+public class DenseBinaryKernelTest {
+	private static final int rows = 157;
+	private static final int cols = 63;
+
+	private final String opcode;
+	private final MatrixBlock a;
+	private final double[][] da;
+
+	@Parameters
+	public static Collection<Object[]> data() {
+		ArrayList<Object[]> tests = new ArrayList<>();
+		for( String op : new String[] {"+", "-", "*", "/"} ) {
+			tests.add(new Object[] {op, 1.0});
+			tests.add(new Object[] {op, 0.5}); //dense w/ zeros
+		}
+		return tests;
+	}
+
+	public DenseBinaryKernelTest(String opcode, double sparsity) {
+		this.opcode = opcode;
+		this.da = TestUtils.round(TestUtils.generateTestMatrix(rows, cols, -5, 5, sparsity, 7));
+		this.a = DataConverter.convertToMatrixBlock(da);
+	}
+
+	@Test
+	public void testMatrixMatrix() {
+		double[][] db = TestUtils.round(TestUtils.generateTestMatrix(rows, cols, 1, 5, 1.0, 3));
+		MatrixBlock ret = a.binaryOperations(getOperator(), DataConverter.convertToMatrixBlock(db), new MatrixBlock());
+		compare(ret, (i, j) -> db[i][j], false);
+	}
+
+	@Test
+	public void testMatrixRowVector() {
+		double[][] db = TestUtils.generateTestMatrix(1, cols, 1, 5, 1.0, 3);
+		MatrixBlock ret = a.binaryOperations(getOperator(), DataConverter.convertToMatrixBlock(db), new MatrixBlock());
+		compare(ret, (i, j) -> db[0][j], false);
+	}
+
+	@Test
+	public void testMatrixColVector() {
+		double[][] db = TestUtils.generateTestMatrix(rows, 1, 1, 5, 1.0, 3);
+		MatrixBlock ret = a.binaryOperations(getOperator(), DataConverter.convertToMatrixBlock(db), new MatrixBlock());
+		compare(ret, (i, j) -> db[i][0], false);
+	}
+
+	@Test
+	public void testMatrixScalar() {
+		MatrixBlock ret = a.scalarOperations(InstructionUtils.parseScalarBinaryOperator(opcode, false, 3), new MatrixBlock());
+		compare(ret, (i, j) -> 3, false);
+	}
+
+	@Test
+	public void testScalarMatrix() {
+		MatrixBlock ret = a.scalarOperations(InstructionUtils.parseScalarBinaryOperator(opcode, true, 3), new MatrixBlock());
+		compare(ret, (i, j) -> 3, true);
+	}
+
+	@Test
+	public void testMatrixMatrixInPlace() {
+		double[][] db = TestUtils.round(TestUtils.generateTestMatrix(rows, cols, 1, 5, 1.0, 3));
+		MatrixBlock ret = new MatrixBlock();
+		ret.copy(a);
+		ret.binaryOperationsInPlace(getOperator(), DataConverter.convertToMatrixBlock(db));
+		compare(ret, (i, j) -> db[i][j], false);
+	}
+
+	@Test
+	public void testRowColMinMax() {
+		for( String aop : new String[] {"uarmax", "uarmin", "uacmax", "uacmin"} ) {
+			MatrixBlock ret = a.aggregateUnaryOperations(InstructionUtils.parseBasicAggregateUnaryOperator(aop, 1),
+				new MatrixBlock(), Math.max(rows, cols), new MatrixIndexes(1, 1), true);
+			boolean row = aop.startsWith("uar");
+			boolean max = aop.endsWith("max");
+			for( int k = 0; k < (row ? rows : cols); k++ ) {
+				double val = max ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+				for( int l = 0; l < (row ? cols : rows); l++ ) {
+					double v = row ? da[k][l] : da[l][k];
+					val = max ? Math.max(val, v) : Math.min(val, v);
+				}
+				Assert.assertEquals(aop, val, row ? ret.quickGetValue(k, 0) : ret.quickGetValue(0, k), 0);
+			}
+		}
+	}
+
+	private BinaryOperator getOperator() {
+		return InstructionUtils.parseBinaryOperator(opcode);
+	}
+
+	private void compare(MatrixBlock ret, CellValue b, boolean left) {
+		ValueFunction fn = getOperator().fn;
+		double[][] expected = new double[rows][cols];
+		for( int i = 0; i < rows; i++ )
+			for( int j = 0; j < cols; j++ )
+				expected[i][j] = left ? fn.execute(b.get(i, j), da[i][j]) : fn.execute(da[i][j], b.get(i, j));
+		TestUtils.compareMatrices(expected, DataConverter.convertToDoubleMatrix(ret), 0);
+		//check maintained number of non-zeros
+		long nnz = ret.getNonZeros();
+		Assert.assertEquals(ret.recomputeNonZeros(), nnz);
+	}
+
+	private interface CellValue {
+		double get(int i, int j);
+	}
+}
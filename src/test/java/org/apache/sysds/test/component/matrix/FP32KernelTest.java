@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.apache.sysds.runtime.functionobjects.SwapIndex;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.LibMatrixFP32;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysds.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.ReorgOperator;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the single-precision (FP32) kernels of dense matrix blocks against
+ * the regular FP64 operations, as well as the conversion of FP32 blocks for
+ * operations without FP32 kernels and for serialization.
+ */
+public class FP32KernelTest {
+	private static final int rows = 317;
+	private static final int cols = 143;
+	private static final double eps = 1e-4;
+
+	private final MatrixBlock a = MatrixBlock.randOperations(rows, cols, 1.0, -1, 1, "uniform", 7);
+	private final MatrixBlock b = MatrixBlock.randOperations(rows, cols, 1.0, 1, 2, "uniform", 3);
+	private final MatrixBlock fa = a.toFP32();
+
+	@Test
+	public void testConversion() {
+		Assert.assertTrue(fa.isInFP32Format());
+		Assert.assertFalse(fa.toFP64().isInFP32Format());
+		Assert.assertTrue(fa.getInMemorySize() < a.getInMemorySize());
+		Assert.assertEquals(a.getNonZeros(), fa.getNonZeros());
+		TestUtils.compareMatrices(a, fa.toFP64(), eps);
+		//no conversion of sparse or empty blocks
+		MatrixBlock s = MatrixBlock.randOperations(rows, cols, 0.01, -1, 1, "uniform", 7);
+		Assert.assertFalse(s.toFP32().isInFP32Format());
+		Assert.assertFalse(new MatrixBlock(rows, cols, false).toFP32().isInFP32Format());
+	}
+
+	@Test
+	public void testMatrixMult() {
+		MatrixBlock w = MatrixBlock.randOperations(cols, 71, 1.0, -1, 1, "uniform", 5);
+		MatrixBlock v = MatrixBlock.randOperations(cols, 1, 1.0, -1, 1, "uniform", 5);
+		for( int k : new int[] {1, 4} ) {
+			AggregateBinaryOperator op = InstructionUtils.getMatMultOperator(k);
+			//fp32 left-hand side, fp64 and fp32 right-hand sides
+			for( MatrixBlock rhs : new MatrixBlock[] {w, w.toFP32(), v, v.toFP32()} ) {
+				MatrixBlock ret = fa.aggregateBinaryOperations(fa, rhs, new MatrixBlock(), op);
+				Assert.assertTrue(ret.isInFP32Format());
+				TestUtils.compareMatrices(a.aggregateBinaryOperations(a, rhs.toFP64(), new MatrixBlock(), op), ret, eps);
+			}
+		}
+	}
+
+	@Test
+	public void testMatrixMultLargeOutput() {
+		//output of more than 2^31 cells exceeds a single float array, fallback to fp64
+		MatrixBlock l = MatrixBlock.randOperations(50000, 50, 1.0, -1, 1, "uniform", 7).toFP32();
+		MatrixBlock r = MatrixBlock.randOperations(50, 50000, 1.0, -1, 1, "uniform", 3).toFP32();
+		Assert.assertFalse(LibMatrixFP32.isSupportedMatrixMult(l, r));
+		Assert.assertTrue(LibMatrixFP32.isSupportedMatrixMult(r, l));
+	}
+
+	@Test
+	public void testBinary() {
+		MatrixBlock rv = MatrixBlock.randOperations(1, cols, 1.0, 1, 2, "uniform", 11);
+		MatrixBlock cv = MatrixBlock.randOperations(rows, 1, 1.0, 1, 2, "uniform", 13);
+		for( String opcode : new String[] {"+", "-", "*", "/", "max", ">"} ) {
+			for( MatrixBlock rhs : new MatrixBlock[] {b, b.toFP32(), rv, cv} ) {
+				MatrixBlock ret = fa.binaryOperations(InstructionUtils.parseBinaryOperator(opcode), rhs, new MatrixBlock());
+				Assert.assertTrue(ret.isInFP32Format());
+				TestUtils.compareMatrices(a.binaryOperations(
+					InstructionUtils.parseBinaryOperator(opcode), rhs.toFP64(), new MatrixBlock()), ret, eps);
+			}
+		}
+	}
+
+	@Test
+	public void testScalar() {
+		for( String opcode : new String[] {"+", "-", "*", "/", "max", "^"} ) {
+			for( boolean left : new boolean[] {false, true} ) {
+				MatrixBlock in = opcode.equals("^") && left ? a : b;
+				MatrixBlock ret = in.toFP32().scalarOperations(
+					InstructionUtils.parseScalarBinaryOperator(opcode, left, 2), new MatrixBlock());
+				Assert.assertTrue(ret.isInFP32Format());
+				TestUtils.compareMatrices(in.scalarOperations(
+					InstructionUtils.parseScalarBinaryOperator(opcode, left, 2), new MatrixBlock()), ret, eps);
+			}
+		}
+	}
+
+	@Test
+	public void testUnary() {
+		for( String opcode : new String[] {"exp", "abs", "sigmoid", "round"} ) {
+			MatrixBlock ret = fa.unaryOperations(InstructionUtils.parseUnaryOperator(opcode), new MatrixBlock());
+			Assert.assertTrue(ret.isInFP32Format());
+			TestUtils.compareMatrices(a.unaryOperations(
+				InstructionUtils.parseUnaryOperator(opcode), new MatrixBlock()), ret, eps);
+		}
+		//cumulative aggregates via fp64 conversion
+		MatrixBlock ret = fa.unaryOperations(InstructionUtils.parseUnaryOperator("ucumk+"), new MatrixBlock());
+		Assert.assertFalse(ret.isInFP32Format());
+		TestUtils.compareMatrices(a.unaryOperations(
+			InstructionUtils.parseUnaryOperator("ucumk+"), new MatrixBlock()), ret, 1e-3);
+	}
+
+	@Test
+	public void testAggregateUnary() {
+		for( String opcode : new String[] {"uak+", "uark+", "uack+", "uamax", "uarmax", "uacmin", "uamean", "uarvar"} ) {
+			for( int k : new int[] {1, 4} ) {
+				MatrixBlock ret1 = a.aggregateUnaryOperations(InstructionUtils.parseBasicAggregateUnaryOperator(opcode, k),
+					new MatrixBlock(), rows, new MatrixIndexes(1, 1), true);
+				MatrixBlock ret2 = fa.aggregateUnaryOperations(InstructionUtils.parseBasicAggregateUnaryOperator(opcode, k),
+					new MatrixBlock(), rows, new MatrixIndexes(1, 1), true);
+				Assert.assertEquals(ret1.getNumRows(), ret2.getNumRows());
+				Assert.assertEquals(ret1.getNumColumns(), ret2.getNumColumns());
+				TestUtils.compareMatrices(ret1, ret2, 1e-3);
+			}
+		}
+	}
+
+	@Test
+	public void testFallbackAndSerialize() throws IOException {
+		//operations w/o fp32 kernels convert their fp32 inputs
+		ReorgOperator rop = new ReorgOperator(SwapIndex.getSwapIndexFnObject());
+		TestUtils.compareMatrices(a.reorgOperations(rop, new MatrixBlock(), 0, 0, 0),
+			fa.toFP64().reorgOperations(rop, new MatrixBlock(), 0, 0, 0), eps);
+		MatrixBlock s = MatrixBlock.randOperations(rows, cols, 0.01, -1, 1, "uniform", 7);
+		TestUtils.compareMatrices(a.binaryOperations(InstructionUtils.parseBinaryOperator("*"), s, new MatrixBlock()),
+			fa.binaryOperations(InstructionUtils.parseBinaryOperator("*"), s, new MatrixBlock()), eps);
+
+		//reset of fp32 outputs, and in-place updates after allocation
+		MatrixBlock ret = fa.scalarOperations(InstructionUtils.parseScalarBinaryOperator("+", false, 1), new MatrixBlock());
+		ret.reset(rows, cols, false);
+		Assert.assertFalse(ret.isInFP32Format());
+		MatrixBlock ret2 = fa.scalarOperations(InstructionUtils.parseScalarBinaryOperator("+", false, 1), new MatrixBlock());
+		ret2.allocateDenseBlock(false);
+		Assert.assertFalse(ret2.isInFP32Format());
+		TestUtils.compareMatrices(a.scalarOperations(InstructionUtils.parseScalarBinaryOperator("+", false, 1),
+			new MatrixBlock()), ret2, eps);
+
+		//serialization in fp64 format
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bos);
+		fa.write(out);
+		out.close();
+		MatrixBlock mb = new MatrixBlock();
+		mb.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+		Assert.assertFalse(mb.isInFP32Format());
+		TestUtils.compareMatrices(a, mb, eps);
+	}
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.UtilFunctions;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the nnz-balanced partitioning and work-stealing execution of
+ * multi-threaded sparse matrix multiplications and unary aggregates over
+ * inputs with power-law distributed number of non-zeros per row.
+ */
+public class SkewedSparseParallelTest {
+	private static final int rows = 5000;
+	private static final int cols = 1000;
+
+	private final MatrixBlock skewed = createSkewedMatrix(rows, cols, 7);
+
+	@Test
+	public void testNnzBalancedPartitioning() {
+		SparseBlock sb = skewed.getSparseBlock();
+		for( int k : new int[] {1, 3, 4, 16} ) {
+			for( boolean constK : new boolean[] {true, false} ) {
+				ArrayList<Integer> blklens = UtilFunctions.getNnzBalancedBlockSizesDefault(sb, rows, k, constK);
+				long[] costs = getCumulativeRowCosts(sb, rows);
+				long maxCost = costs[rows] / blklens.size() + cols + 1;
+				int len = 0;
+				for( int blklen : blklens ) {
+					Assert.assertTrue(blklen > 0);
+					Assert.assertTrue("Unbalanced partition: "+(costs[len+blklen]-costs[len]),
+						costs[len+blklen]-costs[len] <= maxCost);
+					len += blklen;
+				}
+				Assert.assertEquals(rows, len);
+				if( constK )
+					Assert.assertEquals(k, blklens.size());
+			}
+		}
+	}
+
+	@Test
+	public void testMatrixMultSparseDense() {
+		runMatrixMultTest(MatrixBlock.randOperations(cols, 40, 1.0, -1, 1, "uniform", 3));
+	}
+
+	@Test
+	public void testMatrixMultSparseSparse() {
+		runMatrixMultTest(MatrixBlock.randOperations(cols, 40, 0.05, -1, 1, "uniform", 3));
+	}
+
+	@Test
+	public void testMatrixMultUltraSparse() {
+		runMatrixMultTest(MatrixBlock.randOperations(cols, 4000, 0.0001, -1, 1, "uniform", 3));
+	}
+
+	@Test
+	public void testAggregateUnary() {
+		for( String opcode : new String[] {"uak+", "uark+", "uack+", "uarmax", "uacmin", "uamean"} ) {
+			MatrixBlock ret1 = skewed.aggregateUnaryOperations(
+				InstructionUtils.parseBasicAggregateUnaryOperator(opcode, 1), new MatrixBlock(), 1000, null, true);
+			for( int k : new int[] {3, 4, 16} ) {
+				AggregateUnaryOperator op = InstructionUtils.parseBasicAggregateUnaryOperator(opcode, k);
+				TestUtils.compareMatrices(ret1, skewed.aggregateUnaryOperations(
+					op, new MatrixBlock(), 1000, null, true), 1e-8);
+			}
+		}
+	}
+
+	private void runMatrixMultTest(MatrixBlock rhs) {
+		MatrixBlock ret1 = skewed.aggregateBinaryOperations(skewed, rhs,
+			new MatrixBlock(), InstructionUtils.getMatMultOperator(1));
+		for( int k : new int[] {3, 4, 16} ) {
+			AggregateBinaryOperator op = InstructionUtils.getMatMultOperator(k);
+			MatrixBlock ret2 = skewed.aggregateBinaryOperations(skewed, rhs, new MatrixBlock(), op);
+			Assert.assertEquals(ret1.getNonZeros(), ret2.getNonZeros());
+			TestUtils.compareMatrices(ret1, ret2, 1e-8);
+			//fork/join pools are reused across operations
+			Assert.assertSame(CommonThreadPool.getForkJoinPool(k), CommonThreadPool.getForkJoinPool(k));
+			Assert.assertFalse(CommonThreadPool.getForkJoinPool(k).isShutdown());
+		}
+	}
+
+	private static long[] getCumulativeRowCosts(SparseBlock sb, int len) {
+		long[] ret = new long[len+1];
+		for( int i=0; i<len; i++ )
+			ret[i+1] = ret[i] + 1 + (sb.isEmpty(i) ? 0 : sb.size(i));
+		return ret;
+	}
+
+	private static MatrixBlock createSkewedMatrix(int rows, int cols, long seed) {
+		//power-law distributed number of non-zeros per row
+		Random rand = new Random(seed);
+		MatrixBlock ret = new MatrixBlock(rows, cols, true);
+		for( int i=0; i<rows; i++ ) {
+			int nnz = (int) Math.min(cols, Math.floor(Math.pow(1-rand.nextDouble(), -1.5)));
+			for( int j=0; j<nnz; j++ )
+				ret.quickSetValue(i, rand.nextInt(cols), rand.nextDouble()+1);
+		}
+		return ret;
+	}
+}
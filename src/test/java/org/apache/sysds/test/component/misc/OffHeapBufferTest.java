@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.misc;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+
+import org.apache.sysds.runtime.controlprogram.caching.ByteBuffer;
+import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer.OffHeapMode;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class OffHeapBufferTest {
+	private static final String TEST_DIR = "target/testTemp/component/misc/OffHeapBufferTest/";
+	private static final int rows = 1234;
+	private static final int cols = 57;
+
+	@Test
+	public void testDirectDense() throws IOException {
+		runMatrixTest(OffHeapMode.DIRECT, 0.9);
+	}
+
+	@Test
+	public void testDirectSparse() throws IOException {
+		runMatrixTest(OffHeapMode.DIRECT, 0.05);
+	}
+
+	@Test
+	public void testMMapDense() throws IOException {
+		runMatrixTest(OffHeapMode.MMAP, 0.9);
+	}
+
+	@Test
+	public void testMMapSparse() throws IOException {
+		runMatrixTest(OffHeapMode.MMAP, 0.05);
+	}
+
+	@Test
+	public void testDirectFrame() throws IOException {
+		runFrameTest(OffHeapMode.DIRECT);
+	}
+
+	@Test
+	public void testMMapFrame() throws IOException {
+		runFrameTest(OffHeapMode.MMAP);
+	}
+
+	private static void runMatrixTest(OffHeapMode mode, double sparsity) throws IOException {
+		MatrixBlock mb = MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", 7);
+		String fname = getFileName(mode, sparsity);
+		ByteBuffer bbuff = serialize(mb, mode, fname);
+
+		//restore from off-heap buffer
+		MatrixBlock mb2 = (MatrixBlock) bbuff.deserializeBlock();
+		TestUtils.compareMatrices(mb, mb2, 0);
+		Assert.assertEquals(mb.getNonZeros(), mb2.getNonZeros());
+
+		//evict, release w/o GC, and restore from file
+		bbuff.evictBuffer(fname);
+		long used = getBufferPoolUsed(mode);
+		bbuff.freeMemory();
+		Assert.assertTrue(getBufferPoolUsed(mode) <= used - bbuff.getSize());
+		Assert.assertNull(bbuff.deserializeBlock());
+		MatrixBlock mb3 = LocalFileUtils.readMatrixBlockFromLocal(fname);
+		TestUtils.compareMatrices(mb, mb3, 0);
+		LocalFileUtils.deleteFileIfExists(fname, true);
+		Assert.assertFalse(new File(fname+".mmap").exists());
+	}
+
+	private static void runFrameTest(OffHeapMode mode) throws IOException {
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(rows, 5, 7);
+		String fname = getFileName(mode, -1);
+		ByteBuffer bbuff = serialize(fb, mode, fname);
+
+		//restore from off-heap buffer
+		FrameBlock fb2 = (FrameBlock) bbuff.deserializeBlock();
+		TestUtils.compareFrames(DataConverter.convertToStringFrame(fb),
+			DataConverter.convertToStringFrame(fb2), rows, 5);
+
+		//evict and restore from file
+		bbuff.evictBuffer(fname);
+		bbuff.freeMemory();
+		FrameBlock fb3 = LocalFileUtils.readFrameBlockFromLocal(fname);
+		TestUtils.compareFrames(DataConverter.convertToStringFrame(fb),
+			DataConverter.convertToStringFrame(fb3), rows, 5);
+		LocalFileUtils.deleteFileIfExists(fname, true);
+	}
+
+	private static ByteBuffer serialize(CacheBlock cb, OffHeapMode mode, String fname) throws IOException {
+		ByteBuffer bbuff = new ByteBuffer(cb.getExactSerializedSize(), mode, fname);
+		bbuff.serializeBlock(cb);
+		bbuff.checkSerialized();
+		Assert.assertFalse(bbuff.isShallow());
+		return bbuff;
+	}
+
+	private static long getBufferPoolUsed(OffHeapMode mode) {
+		String name = (mode == OffHeapMode.DIRECT) ? "direct" : "mapped";
+		for(BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class))
+			if(pool.getName().equals(name))
+				return pool.getMemoryUsed();
+		throw new RuntimeException("Unknown buffer pool: " + name);
+	}
+
+	private static String getFileName(OffHeapMode mode, double sparsity) {
+		LocalFileUtils.createLocalFileIfNotExist(TEST_DIR);
+		return TEST_DIR + mode.name() + "_" + sparsity + ".dat";
+	}
+}
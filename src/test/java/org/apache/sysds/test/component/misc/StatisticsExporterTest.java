@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.utils.Statistics;
+import org.apache.sysds.utils.StatisticsExporter;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StatisticsExporterTest {
+	@Test
+	public void testSnapshot() {
+		Statistics.reset();
+		Statistics.maintainCPHeavyHitters("ba+*", 2000000000L);
+		Statistics.maintainCPHeavyHitters("ba+*", 1000000000L);
+		Statistics.maintainCPHeavyHitters("a\"b", 1000);
+		Map<String, Double> snapshot = Statistics.getSnapshot();
+		Assert.assertEquals(2, snapshot.get("systemds_instruction_count_total{opcode=\"ba+*\"}"), 0);
+		Assert.assertEquals(3, snapshot.get("systemds_instruction_time_seconds_total{opcode=\"ba+*\"}"), 1e-9);
+		Assert.assertEquals(1, snapshot.get("systemds_instruction_count_total{opcode=\"a\\\"b\"}"), 0);
+		Assert.assertTrue(snapshot.containsKey("systemds_bufferpool_hits_total{level=\"mem\"}"));
+		Assert.assertTrue(snapshot.containsKey("systemds_lineage_cache_hits_total{level=\"mem\"}"));
+		Assert.assertTrue(snapshot.containsKey("systemds_codegen_cache_hits_total{cache=\"class\"}"));
+		Statistics.reset();
+	}
+
+	@Test
+	public void testTextFormat() {
+		Statistics.reset();
+		Statistics.maintainCPHeavyHitters("tsmm", 1000);
+		String text = StatisticsExporter.toTextFormat(Statistics.getSnapshot());
+		Assert.assertEquals(1, count(text, "# TYPE systemds_bufferpool_hits_total counter\n"));
+		Assert.assertEquals(1, count(text, "# TYPE systemds_instruction_count_total counter\n"));
+		Assert.assertTrue(text.contains("systemds_instruction_count_total{opcode=\"tsmm\"} 1.0\n"));
+		Statistics.reset();
+	}
+
+	@Test
+	public void testHttpExporter() throws IOException {
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.STATS_EXPORT_PORT, "0");
+		try {
+			StatisticsExporter.init(conf);
+			Assert.assertTrue(StatisticsExporter.getPort() > 0);
+			Statistics.maintainCPHeavyHitters("uak+", 1000);
+			HttpURLConnection conn = (HttpURLConnection) new URL("http://localhost:"
+				+ StatisticsExporter.getPort() + StatisticsExporter.PATH).openConnection();
+			Assert.assertEquals(200, conn.getResponseCode());
+			String text = IOUtils.toString(conn.getInputStream(), StandardCharsets.UTF_8);
+			Assert.assertTrue(text.contains("systemds_instruction_count_total{opcode=\"uak+\"}"));
+		}
+		finally {
+			StatisticsExporter.shutdown();
+			Statistics.reset();
+		}
+		Assert.assertEquals(-1, StatisticsExporter.getPort());
+	}
+
+	@Test
+	public void testSharedHttpExporter() throws IOException {
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.STATS_EXPORT_PORT, "0");
+		try {
+			//two users (e.g., JMLC connections), where the first shutdown keeps it running
+			StatisticsExporter.init(conf);
+			StatisticsExporter.init(conf);
+			int port = StatisticsExporter.getPort();
+			Assert.assertTrue(port > 0);
+			StatisticsExporter.shutdown();
+			Assert.assertEquals(port, StatisticsExporter.getPort());
+			HttpURLConnection conn = (HttpURLConnection) new URL("http://"
+				+ InetAddress.getLoopbackAddress().getHostAddress() + ":" + port
+				+ StatisticsExporter.PATH).openConnection();
+			Assert.assertEquals(200, conn.getResponseCode());
+		}
+		finally {
+			StatisticsExporter.shutdown();
+		}
+		Assert.assertEquals(-1, StatisticsExporter.getPort());
+	}
+
+	private static int count(String str, String pattern) {
+		int ret = 0;
+		for( int pos = str.indexOf(pattern); pos >= 0; pos = str.indexOf(pattern, pos+1) )
+			ret++;
+		return ret;
+	}
+}
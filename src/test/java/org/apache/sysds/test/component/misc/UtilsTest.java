@@ -24,10 +24,12 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Random;
 
 import org.junit.Assert;
 import org.junit.Test;
 import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
 import org.apache.sysds.runtime.instructions.gpu.context.GPUContextPool;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -124,4 +126,50 @@ public class UtilsTest {
 		dmlConfig.setTextValue("E", "a");
 		Assert.assertEquals("a", dmlConfig.getTextValue("E"));
 	}
+
+	@Test
+	public void testParseNumbersFromBytes() {
+		String[] doubles = {"0", "-0", "1", "-1", "+7", "3.14159", "-2.5e-3", "1E10", "0.1", ".5", "1.",
+			"123456789012345678", "9007199254740993", "1.7976931348623157E308", "4.9e-324", "1e-400",
+			"0.30000000000000004", "NaN", "-Infinity", "1d", "2.5f", "  42 "};
+		for( String str : doubles ) {
+			byte[] b = ("#" + str + "#").getBytes();
+			Assert.assertEquals(str, Double.doubleToLongBits(Double.parseDouble(str)),
+				Double.doubleToLongBits(IOUtilFunctions.parseDouble(b, 1, b.length - 2)));
+			Assert.assertEquals(str, Float.floatToIntBits(Float.parseFloat(str)),
+				Float.floatToIntBits(IOUtilFunctions.parseFloat(b, 1, b.length - 2)));
+		}
+		Random rand = new Random(7);
+		for( int i = 0; i < 100000; i++ ) {
+			String str = (rand.nextBoolean() ? "-" : "") + rand.nextInt(1000000) + "." + rand.nextInt(1000000)
+				+ (rand.nextBoolean() ? "e" + (rand.nextInt(60) - 30) : "");
+			byte[] b = str.getBytes();
+			Assert.assertEquals(str, Double.parseDouble(str), IOUtilFunctions.parseDouble(b, 0, b.length), 0);
+			Assert.assertEquals(str, Float.parseFloat(str), IOUtilFunctions.parseFloat(b, 0, b.length), 0);
+		}
+		String[] longs = {"0", "-1", "+12", "2147483648", "-2147483648", "9223372036854775807", "-9223372036854775808"};
+		for( String str : longs ) {
+			byte[] b = str.getBytes();
+			Assert.assertEquals(str, Long.parseLong(str), IOUtilFunctions.parseLong(b, 0, b.length));
+		}
+		byte[] b = "-2147483648".getBytes();
+		Assert.assertEquals(Integer.MIN_VALUE, IOUtilFunctions.parseInt(b, 0, b.length));
+		Assert.assertTrue(IOUtilFunctions.parseBoolean("TRUE".getBytes(), 0, 4));
+		Assert.assertFalse(IOUtilFunctions.parseBoolean("1".getBytes(), 0, 1));
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void testParseNumbersFromBytesFail0() {
+		IOUtilFunctions.parseDouble("1.2.3".getBytes(), 0, 5);
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void testParseNumbersFromBytesFail1() {
+		IOUtilFunctions.parseInt("2147483648".getBytes(), 0, 10);
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void testParseNumbersFromBytesFail2() {
+		IOUtilFunctions.parseLong("1.0".getBytes(), 0, 3);
+	}
 }
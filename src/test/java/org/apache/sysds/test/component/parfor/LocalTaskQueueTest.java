@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.parfor;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.runtime.controlprogram.parfor.LocalTaskQueue;
+import org.apache.sysds.runtime.controlprogram.parfor.LocalTaskQueueStealing;
+
+/**
+ * Tests the local task queues for parfor with concurrent readers and
+ * streaming task creation, where each task must be dequeued exactly once.
+ */
+public class LocalTaskQueueTest
+{
+	private static final int NUM_TASKS = 20000;
+	private static final int NUM_WORKERS = 8;
+
+	@Test
+	public void testFifoQueue() throws Exception {
+		runTaskQueueTest(new LocalTaskQueue<>(), false);
+	}
+
+	@Test
+	public void testStealingQueue() throws Exception {
+		runTaskQueueTest(new LocalTaskQueueStealing<>(NUM_WORKERS), false);
+	}
+
+	@Test
+	public void testStealingQueueDelayedWriter() throws Exception {
+		runTaskQueueTest(new LocalTaskQueueStealing<>(NUM_WORKERS), true);
+	}
+
+	@Test
+	public void testStealingQueueFewTasks() throws Exception {
+		//fewer tasks than workers, and empty queue
+		LocalTaskQueue<Integer> q = new LocalTaskQueueStealing<>(NUM_WORKERS);
+		q.enqueueTask(1);
+		q.enqueueTask(2);
+		q.closeInput();
+		Assert.assertEquals(Integer.valueOf(1), q.dequeueTask());
+		Assert.assertEquals(Integer.valueOf(2), q.dequeueTask());
+		Assert.assertEquals(LocalTaskQueue.NO_MORE_TASKS, q.dequeueTask());
+	}
+
+	private static void runTaskQueueTest(LocalTaskQueue<Integer> q, boolean delayed) throws Exception {
+		AtomicIntegerArray counts = new AtomicIntegerArray(NUM_TASKS);
+		ExecutorService pool = Executors.newFixedThreadPool(NUM_WORKERS);
+		try {
+			//start readers before tasks are created
+			ArrayList<Future<Integer>> readers = new ArrayList<>();
+			for( int i=0; i<NUM_WORKERS; i++ )
+				readers.add(pool.submit(() -> {
+					int n = 0;
+					Integer t = null;
+					while( (t = q.dequeueTask()) != LocalTaskQueue.NO_MORE_TASKS ) {
+						counts.incrementAndGet(t);
+						n++;
+					}
+					return n;
+				}));
+
+			//streaming task creation (with pauses to block readers)
+			for( int i=0; i<NUM_TASKS; i++ ) {
+				q.enqueueTask(i);
+				if( delayed && i % 1000 == 0 )
+					Thread.sleep(5);
+			}
+			q.closeInput();
+
+			int total = 0;
+			for( Future<Integer> f : readers )
+				total += f.get();
+			Assert.assertEquals(NUM_TASKS, total);
+			for( int i=0; i<NUM_TASKS; i++ )
+				Assert.assertEquals("Wrong count for task "+i, 1, counts.get(i));
+		}
+		finally {
+			pool.shutdownNow();
+		}
+	}
+}
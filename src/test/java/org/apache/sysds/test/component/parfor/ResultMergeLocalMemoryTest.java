@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.parfor;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.parfor.ResultMerge;
+import org.apache.sysds.runtime.controlprogram.parfor.ResultMergeLocalAutomatic;
+import org.apache.sysds.runtime.controlprogram.parfor.ResultMergeLocalMemory;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
+
+/**
+ * Tests the parallel (row-partitioned) local in-memory result merge against
+ * the serial result merge, for sparse and dense outputs, with and without
+ * existing data in the output (compare), and with result accumulation.
+ */
+public class ResultMergeLocalMemoryTest
+{
+	private static final int rows = 1073;
+	private static final int cols = 117;
+	private static final int numInputs = 4;
+	private static final int par = 4;
+
+	@Test
+	public void testMergeSparse() {
+		runResultMergeTest(0.0, 0.02, false);
+	}
+
+	@Test
+	public void testMergeDense() {
+		runResultMergeTest(0.0, 0.9, false);
+	}
+
+	@Test
+	public void testMergeSparseCompare() {
+		runResultMergeTest(0.03, 0.02, false);
+	}
+
+	@Test
+	public void testMergeDenseCompare() {
+		runResultMergeTest(0.9, 0.9, false);
+	}
+
+	@Test
+	public void testMergeSparseCompareDenseInputs() {
+		runResultMergeTest(0.03, 0.9, false);
+	}
+
+	@Test
+	public void testMergeSparseAccum() {
+		runResultMergeTest(0.0, 0.02, true);
+	}
+
+	@Test
+	public void testMergeDenseCompareAccum() {
+		runResultMergeTest(0.9, 0.9, true);
+	}
+
+	@Test
+	public void testMergeSparseCompareAccum() {
+		runResultMergeTest(0.03, 0.02, true);
+	}
+
+	@Test
+	public void testMergeSparseCompareAutomatic() {
+		runResultMergeTest(0.03, 0.02, false, true);
+	}
+
+	@Test
+	public void testMergeDenseCompareAccumAutomatic() {
+		runResultMergeTest(0.9, 0.9, true, true);
+	}
+
+	private static void runResultMergeTest(double spOut, double spIn, boolean accum) {
+		runResultMergeTest(spOut, spIn, accum, false);
+	}
+
+	private static void runResultMergeTest(double spOut, double spIn, boolean accum, boolean auto) {
+		MatrixBlock out = MatrixBlock.randOperations(rows, cols, spOut, -1, 1, "uniform", 7);
+		MatrixBlock[] in = createWorkerResults(out, spIn, accum);
+
+		//serial merge as baseline, with new objects as the inputs are cleared
+		MatrixBlock ret1 = createMergeObject(out, in, accum, false).executeSerialMerge().acquireRead();
+		MatrixBlock ret2 = createMergeObject(out, in, accum, auto).executeParallelMerge(par).acquireRead();
+
+		Assert.assertEquals(ret1.getNonZeros(), ret2.getNonZeros());
+		Assert.assertEquals(ret1.getNonZeros(), ret2.recomputeNonZeros());
+		Assert.assertEquals(ret1.isInSparseFormat(), ret2.isInSparseFormat());
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ )
+				Assert.assertEquals("("+i+","+j+")", ret1.quickGetValue(i, j), ret2.quickGetValue(i, j), 1e-10);
+	}
+
+	private static MatrixBlock[] createWorkerResults(MatrixBlock out, double sp, boolean accum) {
+		//each worker modifies an interleaved subset of columns (multiple
+		//workers per row), including values set to zero and NaNs
+		MatrixBlock[] ret = new MatrixBlock[numInputs];
+		for( int k=0; k<numInputs; k++ ) {
+			MatrixBlock vals = MatrixBlock.randOperations(rows, cols, sp, -1, 1, "uniform", 11+k);
+			MatrixBlock in = new MatrixBlock(rows, cols, out.isInSparseFormat());
+			in.copy(out);
+			for( int i=0; i<rows; i++ )
+				for( int j=k; j<cols; j+=numInputs ) {
+					double v = (i % 97 == 3) ? Double.NaN : vals.quickGetValue(i, j);
+					if( accum || v != 0 || !out.isEmptyBlock(false) )
+						in.quickSetValue(i, j, accum ? in.quickGetValue(i, j) + v : v);
+				}
+			in.examSparsity();
+			ret[k] = in;
+		}
+		return ret;
+	}
+
+	private static ResultMerge createMergeObject(MatrixBlock out, MatrixBlock[] in, boolean accum, boolean auto) {
+		MatrixObject[] inMO = new MatrixObject[in.length];
+		for( int k=0; k<in.length; k++ )
+			inMO[k] = createMatrixObject(new MatrixBlock(in[k]), "in"+k);
+		MatrixObject outMO = createMatrixObject(new MatrixBlock(out), "out");
+		return auto ? new ResultMergeLocalAutomatic(outMO, inMO, "merged", accum) :
+			new ResultMergeLocalMemory(outMO, inMO, "merged", accum);
+	}
+
+	private static MatrixObject createMatrixObject(MatrixBlock mb, String fname) {
+		MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, 1000, mb.getNonZeros());
+		return new MatrixObject(ValueType.FP64, fname, new MetaDataFormat(mc, FileFormat.BINARY), mb);
+	}
+}
@@ -26,6 +26,7 @@ import org.junit.Test;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseBlockCOO;
 import org.apache.sysds.runtime.data.SparseBlockCSR;
+import org.apache.sysds.runtime.data.SparseBlockDCSR;
 import org.apache.sysds.runtime.data.SparseBlockMCSR;
 import org.apache.sysds.runtime.matrix.data.IJV;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
@@ -143,6 +144,36 @@ public class SparseBlockIterator extends AutomatedTestBase
 		runSparseBlockIteratorTest(SparseBlock.Type.COO, sparsity3, true);
 	}
 	
+	@Test
+	public void testSparseBlockDCSR1Full()  {
+		runSparseBlockIteratorTest(SparseBlock.Type.DCSR, sparsity1, false);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR2Full()  {
+		runSparseBlockIteratorTest(SparseBlock.Type.DCSR, sparsity2, false);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR3Full()  {
+		runSparseBlockIteratorTest(SparseBlock.Type.DCSR, sparsity3, false);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR1Partial()  {
+		runSparseBlockIteratorTest(SparseBlock.Type.DCSR, sparsity1, true);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR2Partial()  {
+		runSparseBlockIteratorTest(SparseBlock.Type.DCSR, sparsity2, true);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR3Partial()  {
+		runSparseBlockIteratorTest(SparseBlock.Type.DCSR, sparsity3, true);
+	}
+	
 	private void runSparseBlockIteratorTest( SparseBlock.Type btype, double sparsity, boolean partial)
 	{
 		try
@@ -158,6 +189,7 @@ public class SparseBlockIterator extends AutomatedTestBase
 				case MCSR: sblock = new SparseBlockMCSR(srtmp); break;
 				case CSR: sblock = new SparseBlockCSR(srtmp); break;
 				case COO: sblock = new SparseBlockCOO(srtmp); break;
+				case DCSR: sblock = new SparseBlockDCSR(srtmp); break;
 			}
 			
 			//check for correct number of non-zeros
@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.sparse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.SparseBlockCSR;
+import org.apache.sysds.runtime.data.SparseBlockDCSR;
+import org.apache.sysds.runtime.data.SparseBlockMCSR;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.LibMatrixAgg;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestUtils;
+
+/**
+ * This is a sparse matrix block component test for the DCSR format
+ * selection of ultra-sparse matrices with mostly empty rows, as well
+ * as serialization and sparse kernels over DCSR sparse blocks.
+ *
+ */
+public class SparseBlockUltraSparse extends AutomatedTestBase
+{
+	private final static int rows = 100000;
+	private final static int cols = 70;
+	private final static double sparsity1 = 0.001;
+	private final static double sparsity2 = 0.0001;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testSparseBlockDCSRFormatSelection1()  {
+		runFormatSelectionTest(sparsity1);
+	}
+
+	@Test
+	public void testSparseBlockDCSRFormatSelection2()  {
+		runFormatSelectionTest(sparsity2);
+	}
+
+	@Test
+	public void testSparseBlockDCSRSerialize1()  {
+		runSerializeTest(sparsity1);
+	}
+
+	@Test
+	public void testSparseBlockDCSRSerialize2()  {
+		runSerializeTest(sparsity2);
+	}
+
+	@Test
+	public void testSparseBlockDCSRKernels1()  {
+		runKernelTest(sparsity1);
+	}
+
+	@Test
+	public void testSparseBlockDCSRKernels2()  {
+		runKernelTest(sparsity2);
+	}
+
+	@Test
+	public void testSparseBlockDCSRUpdates1()  {
+		runUpdateTest(sparsity1);
+	}
+
+	@Test
+	public void testSparseBlockDCSRUpdates2()  {
+		runUpdateTest(sparsity2);
+	}
+
+	private static void runFormatSelectionTest(double sparsity) {
+		MatrixBlock mcsr = new MatrixBlock(MatrixBlock.randOperations(
+			rows, cols, sparsity, -10, 10, "uniform", 7), SparseBlock.Type.MCSR, true);
+		MatrixBlock mb = new MatrixBlock(mcsr, SparseBlock.Type.MCSR, true);
+
+		//sparse to sparse conversion on exam sparsity
+		mb.examSparsity();
+		if( !(mb.getSparseBlock() instanceof SparseBlockDCSR) )
+			Assert.fail("Wrong sparse block type after examSparsity: "+mb.getSparseBlock().getClass());
+		TestUtils.compareMatrices(mcsr, mb, 0);
+
+		//dense to sparse conversion on exam sparsity
+		MatrixBlock dense = new MatrixBlock(mb);
+		dense.sparseToDense();
+		dense.examSparsity();
+		if( !dense.isInSparseFormat() || !(dense.getSparseBlock() instanceof SparseBlockDCSR) )
+			Assert.fail("Wrong sparse block type after dense to sparse conversion.");
+		TestUtils.compareMatrices(mcsr, dense, 0);
+
+		//no conversion if exam sparsity without csr requested
+		MatrixBlock mb2 = new MatrixBlock(mcsr, SparseBlock.Type.MCSR, true);
+		mb2.examSparsity(false);
+		if( !(mb2.getSparseBlock() instanceof SparseBlockMCSR) )
+			Assert.fail("Unexpected sparse block conversion without allowCSR.");
+
+		//valid sparse block and smaller memory footprint
+		((SparseBlockDCSR)mb.getSparseBlock()).checkValidity(rows, cols, mb.getNonZeros(), true);
+		if( mb.getInMemorySize() >= mcsr.getInMemorySize() )
+			Assert.fail("DCSR memory size not smaller than MCSR: "
+				+ mb.getInMemorySize()+" vs "+mcsr.getInMemorySize());
+	}
+
+	private static void runSerializeTest(double sparsity) {
+		try {
+			MatrixBlock mb = MatrixBlock.randOperations(rows, cols, sparsity, -10, 10, "uniform", 3);
+
+			//serialize and deserialize ultra-sparse block
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(bos);
+			mb.write(out);
+			out.close();
+			MatrixBlock mb2 = new MatrixBlock();
+			mb2.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+
+			if( !(mb2.getSparseBlock() instanceof SparseBlockDCSR) )
+				Assert.fail("Wrong sparse block type after deserialization: "+mb2.getSparseBlock().getClass());
+			mb2.getSparseBlock().checkValidity(rows, cols, mb2.getNonZeros(), true);
+			TestUtils.compareMatrices(mb, mb2, 0);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private static void runKernelTest(double sparsity) {
+		MatrixBlock mcsr = new MatrixBlock(MatrixBlock.randOperations(
+			rows, cols, sparsity, -10, 10, "uniform", 11), SparseBlock.Type.MCSR, true);
+		MatrixBlock dcsr = new MatrixBlock(mcsr, SparseBlock.Type.DCSR, true);
+		MatrixBlock v = MatrixBlock.randOperations(cols, 1, 1.0, -1, 1, "uniform", 12);
+		MatrixBlock w = MatrixBlock.randOperations(cols, 5, 1.0, -1, 1, "uniform", 13);
+		MatrixBlock s = MatrixBlock.randOperations(cols, 40, 0.1, -1, 1, "uniform", 14);
+
+		//matrix multiplications sparse-dense and sparse-sparse, single- and multi-threaded
+		for( int k : new int[] {1, 4} ) {
+			AggregateBinaryOperator mm = InstructionUtils.getMatMultOperator(k);
+			for( MatrixBlock rhs : new MatrixBlock[] {v, w, s} )
+				TestUtils.compareMatrices(
+					mcsr.aggregateBinaryOperations(mcsr, rhs, new MatrixBlock(), mm),
+					dcsr.aggregateBinaryOperations(dcsr, rhs, new MatrixBlock(), mm), 1e-10);
+		}
+
+		//unary aggregates over rows, columns, and the entire block
+		for( String opcode : new String[] {"uark+", "uack+", "uak+", "uarsqk+", "uar*", "uac*", "uarmax", "uacmin"} ) {
+			AggregateUnaryOperator op = InstructionUtils.parseBasicAggregateUnaryOperator(opcode);
+			TestUtils.compareMatrices(
+				mcsr.aggregateUnaryOperations(op, new MatrixBlock(), 1000, null, true),
+				dcsr.aggregateUnaryOperations(op, new MatrixBlock(), 1000, null, true), 1e-10);
+		}
+
+		//consistent row iteration over non-empty rows
+		SparseBlock a = mcsr.getSparseBlock();
+		SparseBlock b = dcsr.getSparseBlock();
+		for( int i=0; i<rows; i++ ) {
+			int ia = a.nextNonEmptyRow(i, rows);
+			int ib = b.nextNonEmptyRow(i, rows);
+			if( ia != ib )
+				Assert.fail("Wrong next non-empty row for row "+i+": "+ib+", expected: "+ia);
+		}
+	}
+
+	private static void runUpdateTest(double sparsity) {
+		MatrixBlock mcsr = new MatrixBlock(MatrixBlock.randOperations(
+			rows, cols, sparsity, -10, 10, "uniform", 17), SparseBlock.Type.MCSR, true);
+		MatrixBlock in = MatrixBlock.randOperations(rows, cols, sparsity, -10, 10, "uniform", 18);
+
+		//DCSR is shallow serialized like CSR
+		MatrixBlock dcsr = new MatrixBlock(mcsr, SparseBlock.Type.DCSR, true);
+		if( !dcsr.isShallowSerialize() )
+			Assert.fail("DCSR block not shallow serializable.");
+
+		//incremental aggregation converts DCSR to MCSR for in-place updates
+		MatrixBlock aggVal = new MatrixBlock(mcsr, SparseBlock.Type.DCSR, true);
+		MatrixBlock aggCorr = new MatrixBlock(rows, cols, true);
+		LibMatrixAgg.aggregateBinaryMatrix(in, aggVal, aggCorr, true);
+		if( !(aggVal.getSparseBlock() instanceof SparseBlockMCSR) )
+			Assert.fail("Wrong sparse block type after aggregation: "+aggVal.getSparseBlock().getClass());
+		MatrixBlock expected = new MatrixBlock(mcsr, SparseBlock.Type.MCSR, true);
+		LibMatrixAgg.aggregateBinaryMatrix(in, expected, new MatrixBlock(rows, cols, true), true);
+		TestUtils.compareMatrices(expected, aggVal, 1e-10);
+
+		//in-place left indexing converts DCSR to CSR for range updates
+		MatrixBlock rhs = MatrixBlock.randOperations(1000, 10, 0.5, -1, 1, "uniform", 19);
+		MatrixBlock ret1 = mcsr.leftIndexingOperations(rhs, 5000, 5999, 20, 29, new MatrixBlock(), UpdateType.COPY);
+		MatrixBlock ret2 = dcsr.leftIndexingOperations(rhs, 5000, 5999, 20, 29, null, UpdateType.INPLACE);
+		if( !(ret2.getSparseBlock() instanceof SparseBlockCSR) )
+			Assert.fail("Wrong sparse block type after left indexing: "+ret2.getSparseBlock().getClass());
+		TestUtils.compareMatrices(ret1, ret2, 0);
+	}
+}
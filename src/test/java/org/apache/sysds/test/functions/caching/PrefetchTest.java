@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.caching;
+
+import java.io.File;
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.common.Types.ExecMode;
+import org.apache.sysds.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.Statistics;
+
+@net.jcip.annotations.NotThreadSafe
+public class PrefetchTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "Prefetch";
+	private final static String TEST_NAME2 = "Prefetch2";
+	private final static String TEST_DIR = "functions/caching/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + PrefetchTest.class.getSimpleName() + "/";
+	private final static File TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, "SystemDS-config-prefetch.xml");
+	
+	private boolean _prefetch = false;
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME,
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" }) ); 
+		addTestConfiguration(TEST_NAME2,
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "R" }) ); 
+	}
+	
+	@Test
+	public void testPrefetchPersistentRead() {
+		runPrefetchTest(TEST_NAME, 2000, 500, ExecMode.SINGLE_NODE);
+	}
+	
+	@Test
+	public void testPrefetchSparkCollect() {
+		runPrefetchTest(TEST_NAME2, 2000, 500, ExecMode.SPARK);
+	}
+	
+	private void runPrefetchTest(String testname, int rows, int cols, ExecMode mode) {
+		ExecMode platformOld = setExecMode(mode);
+		try {
+			loadTestConfiguration(getTestConfiguration(testname));
+			fullDMLScriptName = SCRIPT_DIR + TEST_DIR + testname + ".dml";
+			programArgs = new String[]{"-stats", "-args", input("X"), input("Y"), output("R")};
+			writeInputMatrixWithMTD("X", getRandomMatrix(rows, cols, 0, 1, 1.0, 7), true);
+			writeInputMatrixWithMTD("Y", getRandomMatrix(rows, cols, 0, 1, 1.0, 3), true);
+			
+			//run without and with prefetch
+			_prefetch = false;
+			runTest(true, false, null, -1);
+			HashMap<CellIndex, Double> R1 = readDMLMatrixFromOutputDir("R");
+			Assert.assertEquals(0, CacheStatistics.getPrefetches());
+			
+			_prefetch = true;
+			loadTestConfiguration(getTestConfiguration(testname));
+			runTest(true, false, null, -1);
+			HashMap<CellIndex, Double> R2 = readDMLMatrixFromOutputDir("R");
+			Assert.assertTrue(CacheStatistics.getPrefetches() >= 1);
+			if( mode == ExecMode.SPARK ) //async collect and broadcast
+				Assert.assertTrue(Statistics.getSparkBroadcastCount() >= 1);
+			TestUtils.compareMatrices(R1, R2, 1e-10, "R1", "R2");
+		}
+		finally {
+			_prefetch = false;
+			resetExecMode(platformOld);
+		}
+	}
+	
+	@Override
+	protected File getConfigTemplateFile() {
+		return _prefetch ? TEST_CONF_FILE : super.getConfigTemplateFile();
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.codegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.common.Types.ExecMode;
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.Statistics;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CodegenClassCacheTest extends AutomatedTestBase
+{
+	private static final String TEST_NAME = "CodegenClassCache";
+	private static final String TEST_DIR = "functions/codegen/";
+	private static final String TEST_CLASS_DIR = TEST_DIR + CodegenClassCacheTest.class.getSimpleName() + "/";
+	private final static File TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, "SystemDS-config-codegen-classcache.xml");
+	private final static File CACHE_DIR = new File("target/testTemp/" + TEST_CLASS_DIR + "classcache");
+
+	private static final int rows = 1191;
+	private static final int cols = 31;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" }));
+	}
+
+	@Test
+	public void testClassCacheDense() {
+		runClassCacheTest(1.0, false);
+	}
+
+	@Test
+	public void testClassCacheSparse() {
+		runClassCacheTest(0.05, false);
+	}
+
+	@Test
+	public void testClassCacheCorrupted() {
+		runClassCacheTest(1.0, true);
+	}
+
+	private void runClassCacheTest(double sparsity, boolean corrupt) {
+		ExecMode platformOld = setExecMode(ExecMode.SINGLE_NODE);
+		try {
+			FileUtils.deleteQuietly(CACHE_DIR);
+			loadTestConfiguration(getTestConfiguration(TEST_NAME));
+			fullDMLScriptName = SCRIPT_DIR + TEST_DIR + TEST_NAME + ".dml";
+			programArgs = new String[]{"-stats", "-args", input("X"), output("R")};
+			writeInputMatrixWithMTD("X", getRandomMatrix(rows, cols, -1, 1, sparsity, 7), true);
+
+			//first launch compiles and persists the generated classes
+			runTest(true, false, null, -1);
+			HashMap<CellIndex, Double> R1 = readDMLMatrixFromOutputDir("R");
+			Assert.assertTrue(heavyHittersContainsSubString("spoof"));
+			Assert.assertTrue(Statistics.getCodegenClassCompile() >= 1);
+			Assert.assertEquals(0, Statistics.getCodegenClassCacheHits());
+			String[] files = CACHE_DIR.list();
+			Assert.assertTrue(files != null && files.length >= 1);
+
+			//corrupted entries are not loaded but recompiled
+			if( corrupt ) {
+				for( String fname : files ) {
+					File file = new File(CACHE_DIR, fname);
+					byte[] bytes = FileUtils.readFileToByteArray(file);
+					bytes[bytes.length-1] ^= 0x1;
+					FileUtils.writeByteArrayToFile(file, bytes);
+				}
+				runTest(true, false, null, -1);
+				TestUtils.compareMatrices(R1, readDMLMatrixFromOutputDir("R"), 1e-10, "R1", "R2");
+				Assert.assertTrue(Statistics.getCodegenClassCompile() >= 1);
+				Assert.assertEquals(0, Statistics.getCodegenClassCacheHits());
+			}
+
+			//second launch loads the persisted classes without compilation
+			runTest(true, false, null, -1);
+			HashMap<CellIndex, Double> R2 = readDMLMatrixFromOutputDir("R");
+			Assert.assertTrue(heavyHittersContainsSubString("spoof"));
+			Assert.assertEquals(0, Statistics.getCodegenClassCompile());
+			Assert.assertEquals(files.length, Statistics.getCodegenClassCacheHits());
+			TestUtils.compareMatrices(R1, R2, 1e-10, "R1", "R2");
+		}
+		catch(IOException ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			resetExecMode(platformOld);
+		}
+	}
+
+	@Override
+	protected File getConfigTemplateFile() {
+		return TEST_CONF_FILE;
+	}
+}
@@ -102,6 +102,27 @@ public abstract class CountDistinctBase extends AutomatedTestBase {
 		countDistinctTest(120, 100, 64000, 0.1, ex, tolerance);
 	}
 
+	@Test
+	public void testSmallSpark() {
+		LopProperties.ExecType ex = LopProperties.ExecType.SPARK;
+		double tolerance = baseTolerance + 50 * percentTolerance;
+		countDistinctTest(50, 50, 50, 1.0, ex, tolerance);
+	}
+
+	@Test
+	public void testLargeSpark() {
+		LopProperties.ExecType ex = LopProperties.ExecType.SPARK;
+		double tolerance = baseTolerance + 800 * percentTolerance;
+		countDistinctTest(800, 1000, 1000, 1.0, ex, tolerance);
+	}
+
+	@Test
+	public void testSparse120UniqueSpark(){
+		LopProperties.ExecType ex = LopProperties.ExecType.SPARK;
+		double tolerance = 0.00001 + 120 * percentTolerance;
+		countDistinctTest(120, 100, 64000, 0.1, ex, tolerance);
+	}
+
 	public void countDistinctTest(int numberDistinct, int cols, int rows, double sparsity,
 		LopProperties.ExecType instType, double tolerance) {
 		Types.ExecMode platformOld = setExecMode(instType);
@@ -111,10 +132,12 @@ public abstract class CountDistinctBase extends AutomatedTestBase {
 			fullDMLScriptName = HOME + getTestName() + ".dml";
 			String out = output("A");
 			System.out.println(out);
-			programArgs = new String[] {"-args", String.valueOf(numberDistinct), String.valueOf(rows),
+			programArgs = new String[] {"-stats", "-args", String.valueOf(numberDistinct), String.valueOf(rows),
 				String.valueOf(cols), String.valueOf(sparsity), out};
 
 			runTest(true, false, null, -1);
+			if(instType == LopProperties.ExecType.SPARK)
+				assertTrue(heavyHittersContainsSubString("sp_uacd"));
 			writeExpectedScalar("A", numberDistinct);
 			compareResults(tolerance);
 		}
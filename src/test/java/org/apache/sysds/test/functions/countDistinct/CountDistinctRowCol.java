@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.functions.countDistinct;
+
+import static org.junit.Assert.assertTrue;
+
+import org.apache.sysds.common.Types;
+import org.apache.sysds.lops.LopProperties;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class CountDistinctRowCol extends AutomatedTestBase {
+
+	private final static String TEST_NAME = "countDistinctRowCol";
+	private final static String TEST_DIR = "functions/countDistinct/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + CountDistinctRowCol.class.getSimpleName() + "/";
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"A.scalar"}));
+	}
+
+	@Test
+	public void testRowColCP() {
+		countDistinctRowColTest(10, 2000, 200, LopProperties.ExecType.CP);
+	}
+
+	@Test
+	public void testRowColSpark() {
+		countDistinctRowColTest(10, 2000, 200, LopProperties.ExecType.SPARK);
+	}
+
+	private void countDistinctRowColTest(int numberDistinct, int rows, int cols, LopProperties.ExecType instType) {
+		Types.ExecMode platformOld = setExecMode(instType);
+		try {
+			loadTestConfiguration(getTestConfiguration(TEST_NAME));
+			fullDMLScriptName = SCRIPT_DIR + TEST_DIR + TEST_NAME + ".dml";
+			programArgs = new String[] {"-stats", "-args", String.valueOf(numberDistinct),
+				String.valueOf(rows), String.valueOf(cols), output("A")};
+
+			runTest(true, false, null, -1);
+			if(instType == LopProperties.ExecType.SPARK)
+				assertTrue(heavyHittersContainsSubString("sp_uarcd", "sp_uaccd"));
+			writeExpectedScalar("A", 0);
+			compareResults(0);
+		}
+		finally {
+			rtplatform = platformOld;
+		}
+	}
+}
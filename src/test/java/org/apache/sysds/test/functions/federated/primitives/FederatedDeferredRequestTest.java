@@ -0,0 +1,373 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.functions.federated.primitives;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.common.Types.DataType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedData;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedLocalData;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRange;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse;
+import org.apache.sysds.runtime.controlprogram.federated.FederationMap;
+import org.apache.sysds.runtime.controlprogram.federated.FederationUtils;
+import org.apache.sysds.runtime.instructions.cp.DoubleObject;
+import org.apache.sysds.runtime.instructions.cp.VariableCPInstruction;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.Statistics;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the pipelining of federated requests with awaited order and the deferral of
+ * requests without consumed responses (e.g., cleanup), which are sent along with the
+ * next message to the same site, flushed once the batch window is reached or a response
+ * is accessed, and where failures of deferred requests are not returned to the caller.
+ * Pipelining of awaited requests is opt-in, and unobserved failures of pipelined requests
+ * are raised by the next message to the same site.
+ */
+@net.jcip.annotations.NotThreadSafe
+public class FederatedDeferredRequestTest extends AutomatedTestBase {
+
+	private final static String TEST_NAME = "FederatedDeferredRequestTest";
+	private final static String TEST_DIR = "functions/federated/";
+	private static final String TEST_CLASS_DIR = TEST_DIR + FederatedDeferredRequestTest.class.getSimpleName() + "/";
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME));
+	}
+
+	@Test
+	public void testDeferredBatching() {
+		int port = getRandomAvailablePort();
+		Thread t = startWorker(port);
+		try {
+			FederatedData fd = createFederatedData(port);
+			long id = putScalar(fd);
+
+			//deferred cleanup is only executed with the next request
+			fd.deferFederatedOperation(createCleanup(id));
+			Assert.assertEquals(1, FederatedData.getNumDeferred(fd.getAddress()));
+			FederatedResponse response = getVariable(fd, id);
+			Assert.assertEquals(0, FederatedData.getNumDeferred(fd.getAddress()));
+			Assert.assertFalse(response.isSuccessful());
+		}
+		finally {
+			FederatedData.clearFederatedWorkers();
+			TestUtils.shutdownThread(t);
+		}
+	}
+
+	@Test
+	public void testDeferredWindowFlush() {
+		int window = ConfigurationManager.getDMLConfig().getIntValue(DMLConfig.FEDERATED_BATCH_WINDOW);
+		int port = getRandomAvailablePort();
+		Thread t = startWorker(port);
+		try {
+			FederatedData fd = createFederatedData(port);
+			long[] ids = new long[window];
+			for(int i = 0; i < window; i++)
+				ids[i] = putScalar(fd);
+
+			//all but the last deferred requests are buffered
+			for(int i = 0; i < window - 1; i++)
+				fd.deferFederatedOperation(createCleanup(ids[i]));
+			Assert.assertEquals(window - 1, FederatedData.getNumDeferred(fd.getAddress()));
+
+			//reaching the window flushes the deferred requests
+			fd.deferFederatedOperation(createCleanup(ids[window - 1]));
+			Assert.assertEquals(0, FederatedData.getNumDeferred(fd.getAddress()));
+			for(long id : ids)
+				Assert.assertFalse(getVariable(fd, id).isSuccessful());
+		}
+		finally {
+			FederatedData.clearFederatedWorkers();
+			TestUtils.shutdownThread(t);
+		}
+	}
+
+	@Test
+	public void testDeferredErrorIsolation() {
+		int port = getRandomAvailablePort();
+		Thread t = startWorker(port);
+		try {
+			FederatedData fd = createFederatedData(port);
+			long id = putScalar(fd);
+
+			//a failing deferred request (put of an existing variable)
+			//does not fail the batch it is piggybacked onto
+			fd.deferFederatedOperation(new FederatedRequest(RequestType.PUT_VAR, id, new DoubleObject(7)));
+			FederatedResponse response = getVariable(fd, id);
+			Assert.assertTrue(response.isSuccessful());
+			Assert.assertEquals(3, ((DoubleObject) getData(response)[0]).getDoubleValue(), 0);
+
+			//while the same request fails if not deferred
+			Assert.assertFalse(execute(fd, new FederatedRequest(RequestType.PUT_VAR, id, new DoubleObject(7))).isSuccessful());
+		}
+		finally {
+			FederatedData.clearFederatedWorkers();
+			TestUtils.shutdownThread(t);
+		}
+	}
+
+	@Test
+	public void testPipelinedRoundTrips() {
+		int port = getRandomAvailablePort();
+		Thread t = startWorker(port);
+		try {
+			FederatedData fd = createFederatedData(port);
+			long[] ids = new long[3];
+			List<Future<FederatedResponse>> ret = new ArrayList<>();
+			long roundTrips = Statistics.getFederatedRoundTrips();
+
+			//pipelined batches are not sent until the next request to the site
+			for(int i = 0; i < ids.length; i++) {
+				ids[i] = FederationUtils.getNextFedDataID();
+				ret.add(fd.pipelineFederatedOperation(new FederatedRequest(RequestType.PUT_VAR, ids[i], new DoubleObject(i))));
+			}
+			ret.add(fd.pipelineFederatedOperation(new FederatedRequest(RequestType.GET_VAR, ids[1])));
+			Assert.assertEquals(ids.length + 1, FederatedData.getNumPending(fd.getAddress()));
+			Assert.assertEquals(roundTrips, Statistics.getFederatedRoundTrips());
+
+			//which sends all pending batches in a single round trip, with one response per batch
+			FederatedResponse response = getVariable(fd, ids[2]);
+			Assert.assertEquals(roundTrips + 1, Statistics.getFederatedRoundTrips());
+			Assert.assertEquals(0, FederatedData.getNumPending(fd.getAddress()));
+			Assert.assertEquals(2, ((DoubleObject) getData(response)[0]).getDoubleValue(), 0);
+			for(int i = 0; i < ids.length; i++)
+				Assert.assertTrue(get(ret.get(i)).isSuccessful());
+			Assert.assertEquals(1, ((DoubleObject) getData(get(ret.get(ids.length)))[0]).getDoubleValue(), 0);
+			Assert.assertEquals(roundTrips + 1, Statistics.getFederatedRoundTrips());
+		}
+		finally {
+			FederatedData.clearFederatedWorkers();
+			TestUtils.shutdownThread(t);
+		}
+	}
+
+	@Test
+	public void testDependentRequestAfterWindowFlush() {
+		int window = ConfigurationManager.getDMLConfig().getIntValue(DMLConfig.FEDERATED_BATCH_WINDOW);
+		int port = getRandomAvailablePort();
+		Thread t = startWorker(port);
+		try {
+			FederatedData fd = createFederatedData(port);
+			List<Future<FederatedResponse>> ret = new ArrayList<>();
+
+			//fill the window with pipelined puts, where the last (copy) instruction flushes the batch
+			long[] ids = new long[window - 1];
+			for(int i = 0; i < ids.length; i++) {
+				ids[i] = FederationUtils.getNextFedDataID();
+				ret.add(fd.pipelineFederatedOperation(new FederatedRequest(RequestType.PUT_VAR, ids[i], new DoubleObject(i + 1))));
+			}
+			long id = FederationUtils.getNextFedDataID();
+			ret.add(fd.pipelineFederatedOperation(new FederatedRequest(RequestType.EXEC_INST, -1,
+				VariableCPInstruction.prepareCopyInstruction(Long.toString(ids[ids.length - 1]), Long.toString(id)).toString())));
+			Assert.assertEquals(0, FederatedData.getNumPending(fd.getAddress()));
+
+			//a dependent request sent right after the flush sees the result of the batch
+			FederatedResponse response = getVariable(fd, id);
+			Assert.assertTrue(response.isSuccessful());
+			Assert.assertEquals(ids.length, ((DoubleObject) getData(response)[0]).getDoubleValue(), 0);
+			for(Future<FederatedResponse> fr : ret)
+				Assert.assertTrue(get(fr).isSuccessful());
+		}
+		finally {
+			FederatedData.clearFederatedWorkers();
+			TestUtils.shutdownThread(t);
+		}
+	}
+
+	@Test
+	public void testAwaitedWithoutPipelining() {
+		int port = getRandomAvailablePort();
+		Thread t = startWorker(port);
+		try {
+			FederatedData fd = createFederatedData(port);
+			FederationMap fedMap = new FederationMap(FederationUtils.getNextFedDataID(),
+				Collections.singletonMap(new FederatedRange(new long[] {0, 0}, new long[] {1, 1}), fd));
+			long roundTrips = Statistics.getFederatedRoundTrips();
+
+			//pipelining is opt-in, i.e., awaited requests are executed and awaited immediately
+			long id = FederationUtils.getNextFedDataID();
+			Future<FederatedResponse>[] ret = fedMap.execute(0, true,
+				new FederatedRequest(RequestType.PUT_VAR, id, new DoubleObject(3)));
+			Assert.assertTrue(ret[0].isDone());
+			Assert.assertEquals(0, FederatedData.getNumPending(fd.getAddress()));
+			Assert.assertEquals(roundTrips + 1, Statistics.getFederatedRoundTrips());
+		}
+		finally {
+			FederatedData.clearFederatedWorkers();
+			TestUtils.shutdownThread(t);
+		}
+	}
+
+	@Test
+	public void testPipelinedFailureOnNextMessage() {
+		//no worker listens on the port, which fails the pipelined batch on flush
+		FederatedData fd = createFederatedData(getRandomAvailablePort());
+		try {
+			Future<FederatedResponse> ret = fd.pipelineFederatedOperation(
+				new FederatedRequest(RequestType.PUT_VAR, FederationUtils.getNextFedDataID(), new DoubleObject(3)));
+			try {
+				FederatedData.flushPending();
+			}
+			catch(DMLRuntimeException ex) {
+				//connection failure of the flush itself
+			}
+			Assert.assertTrue(ret.isDone());
+
+			//the unobserved failure is raised by the next message to the site
+			try {
+				fd.executeFederatedOperation(new FederatedRequest(RequestType.GET_VAR, 0));
+				Assert.fail("Expected failure of pipelined operation");
+			}
+			catch(DMLRuntimeException ex) {
+				Assert.assertTrue(ex.getMessage().contains("Pipelined federated operation"));
+			}
+		}
+		finally {
+			FederatedData.resetFederatedSites();
+		}
+	}
+
+	@Test
+	public void testPipelinedFlushOnAccess() {
+		int port = getRandomAvailablePort();
+		Thread t = startWorker(port);
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		String pipelining = conf.getTextValue(DMLConfig.FEDERATED_PIPELINING);
+		try {
+			conf.setTextValue(DMLConfig.FEDERATED_PIPELINING, "true");
+			FederatedData fd = createFederatedData(port);
+			FederationMap fedMap = new FederationMap(FederationUtils.getNextFedDataID(),
+				Collections.singletonMap(new FederatedRange(new long[] {0, 0}, new long[] {1, 1}), fd));
+			long roundTrips = Statistics.getFederatedRoundTrips();
+
+			//independent requests with awaited order are pipelined into one round trip
+			long id = FederationUtils.getNextFedDataID();
+			fedMap.execute(0, true, new FederatedRequest(RequestType.PUT_VAR, id, new DoubleObject(3)));
+			fd.deferFederatedOperation(createCleanup(id));
+			Future<FederatedResponse>[] ret = fedMap.execute(0, true,
+				new FederatedRequest(RequestType.PUT_VAR, id, new DoubleObject(7)),
+				new FederatedRequest(RequestType.GET_VAR, id));
+			Assert.assertEquals(4, FederatedData.getNumPending(fd.getAddress()));
+			Assert.assertEquals(roundTrips, Statistics.getFederatedRoundTrips());
+
+			//where accessing a response flushes the pending requests
+			Assert.assertEquals(7, ((DoubleObject) getData(get(ret[0]))[0]).getDoubleValue(), 0);
+			Assert.assertEquals(roundTrips + 1, Statistics.getFederatedRoundTrips());
+			Assert.assertEquals(0, FederatedData.getNumPending(fd.getAddress()));
+		}
+		finally {
+			conf.setTextValue(DMLConfig.FEDERATED_PIPELINING, pipelining);
+			FederatedData.clearFederatedWorkers();
+			TestUtils.shutdownThread(t);
+		}
+	}
+
+	@Test
+	public void testDeferredLocalData() {
+		CacheableData<?> data = ExecutionContext.createCacheableData(new MatrixBlock(3, 3, 1.0));
+		FederatedData fd = new FederatedLocalData(FederationUtils.getNextFedDataID(), data);
+		long id = putScalar(fd);
+
+		//local data executes deferred requests immediately
+		fd.deferFederatedOperation(createCleanup(id));
+		Assert.assertEquals(0, FederatedData.getNumDeferred(fd.getAddress()));
+		Assert.assertFalse(getVariable(fd, id).isSuccessful());
+
+		//and ignores their failures
+		fd.deferFederatedOperation(createCleanup(id));
+		long id2 = putScalar(fd);
+		fd.deferFederatedOperation(new FederatedRequest(RequestType.PUT_VAR, id2, new DoubleObject(7)));
+		Assert.assertTrue(getVariable(fd, id2).isSuccessful());
+	}
+
+	private Thread startWorker(int port) {
+		getAndLoadTestConfiguration(TEST_NAME);
+		// empty script name because we don't execute any script, just start the worker
+		fullDMLScriptName = "";
+		return startLocalFedWorkerThread(port, 3 * FED_WORKER_WAIT);
+	}
+
+	private static FederatedData createFederatedData(int port) {
+		return new FederatedData(DataType.MATRIX, new InetSocketAddress("localhost", port), null);
+	}
+
+	private static long putScalar(FederatedData fd) {
+		long id = FederationUtils.getNextFedDataID();
+		Assert.assertTrue(execute(fd, new FederatedRequest(RequestType.PUT_VAR, id, new DoubleObject(3))).isSuccessful());
+		return id;
+	}
+
+	private static FederatedRequest createCleanup(long id) {
+		return new FederatedRequest(RequestType.EXEC_INST, -1,
+			VariableCPInstruction.prepareRemoveInstruction(id).toString());
+	}
+
+	private static FederatedResponse getVariable(FederatedData fd, long id) {
+		return execute(fd, new FederatedRequest(RequestType.GET_VAR, id));
+	}
+
+	private static FederatedResponse execute(FederatedData fd, FederatedRequest request) {
+		try {
+			return fd.executeFederatedOperation(request).get();
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private static FederatedResponse get(Future<FederatedResponse> response) {
+		try {
+			return response.get();
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private static Object[] getData(FederatedResponse response) {
+		try {
+			return response.getData();
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.functions.lineage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.hops.recompile.Recompiler;
+import org.apache.sysds.runtime.lineage.Lineage;
+import org.apache.sysds.runtime.lineage.LineageCache;
+import org.apache.sysds.runtime.lineage.LineageCacheConfig;
+import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
+import org.apache.sysds.runtime.lineage.LineageCacheEviction;
+import org.apache.sysds.runtime.lineage.LineageCacheStatistics;
+import org.apache.sysds.runtime.matrix.data.MatrixValue;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class CacheCompressionTest extends LineageBase {
+
+	protected static final String TEST_DIR = "functions/lineage/";
+	protected static final String TEST_NAME1 = "CacheEviction3";
+	protected static final String TEST_NAME2 = "CacheEviction4";
+
+	protected String TEST_CLASS_DIR = TEST_DIR + CacheCompressionTest.class.getSimpleName() + "/";
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1));
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2));
+	}
+	
+	@Test
+	public void testCompressedTier() {
+		runTest(TEST_NAME1);
+	}
+
+	@Test
+	public void testCompressedTierSpill() {
+		boolean old_simplification = OptimizerUtils.ALLOW_ALGEBRAIC_SIMPLIFICATION;
+		boolean old_sum_product = OptimizerUtils.ALLOW_SUM_PRODUCT_REWRITES;
+		LineageCache.resetCache(); //load cache with default limit
+		long old_limit = LineageCacheEviction.getCacheLimit();
+		
+		try {
+			LOG.debug("------------ BEGIN " + TEST_NAME2 + "------------");
+			
+			OptimizerUtils.ALLOW_ALGEBRAIC_SIMPLIFICATION = false;
+			OptimizerUtils.ALLOW_SUM_PRODUCT_REWRITES = false;
+			
+			getAndLoadTestConfiguration(TEST_NAME2);
+			fullDMLScriptName = getScript();
+			
+			// Small cache, whose compressed tier overflows to disk
+			LineageCacheEviction.setCacheLimit(8*1024*1024);
+			LineageCacheConfig.setSpill(true);
+			LineageCacheConfig.setCompress(true);
+			List<String> proArgs = new ArrayList<>();
+			proArgs.add("-stats");
+			proArgs.add("-lineage");
+			proArgs.add(ReuseCacheType.REUSE_FULL.name().toLowerCase());
+			proArgs.add("-args");
+			proArgs.add(String.valueOf(LineageCacheEviction.getCacheLimit()));
+			proArgs.add(output("R"));
+			programArgs = proArgs.toArray(new String[proArgs.size()]);
+			Lineage.resetInternalState();
+			runTest(true, EXCEPTION_NOT_EXPECTED, null, -1);
+			long comprWrites = LineageCacheStatistics.getCompressedWrites();
+			long cacheSize = LineageCacheEviction.getCacheSize();
+			
+			// Compressed entries that are spilled (or deleted) release their
+			// size exactly once, which keeps the cache size within its limit
+			Lineage.setLinReuseNone();
+			Assert.assertTrue("Violated compressed writes: "+comprWrites, comprWrites > 0);
+			Assert.assertTrue("Violated cache size: "+cacheSize, cacheSize >= 0
+				&& cacheSize <= LineageCacheEviction.getCacheLimit());
+		}
+		finally {
+			LineageCacheConfig.setCompress(false);
+			LineageCacheEviction.setCacheLimit(old_limit);
+			OptimizerUtils.ALLOW_ALGEBRAIC_SIMPLIFICATION = old_simplification;
+			OptimizerUtils.ALLOW_SUM_PRODUCT_REWRITES = old_sum_product;
+			Recompiler.reinitRecompiler();
+		}
+	}
+
+	public void runTest(String testname) {
+		boolean old_simplification = OptimizerUtils.ALLOW_ALGEBRAIC_SIMPLIFICATION;
+		boolean old_sum_product = OptimizerUtils.ALLOW_SUM_PRODUCT_REWRITES;
+		
+		try {
+			LOG.debug("------------ BEGIN " + testname + "------------");
+			
+			OptimizerUtils.ALLOW_ALGEBRAIC_SIMPLIFICATION = false;
+			OptimizerUtils.ALLOW_SUM_PRODUCT_REWRITES = false;
+			
+			getAndLoadTestConfiguration(testname);
+			fullDMLScriptName = getScript();
+			Lineage.resetInternalState();
+			
+			// Without reuse
+			List<String> proArgs = new ArrayList<>();
+			proArgs.add("-stats");
+			proArgs.add("-args");
+			proArgs.add(String.valueOf(LineageCacheEviction.getCacheLimit()));
+			proArgs.add(output("R"));
+			programArgs = proArgs.toArray(new String[proArgs.size()]);
+			runTest(true, EXCEPTION_NOT_EXPECTED, null, -1);
+			HashMap<MatrixValue.CellIndex, Double> R_orig = readDMLMatrixFromOutputDir("R");
+			
+			// With reuse, evicting to the compressed tier
+			LineageCacheConfig.setSpill(true);
+			LineageCacheConfig.setCompress(true);
+			proArgs.clear();
+			proArgs.add("-stats");
+			proArgs.add("-lineage");
+			proArgs.add(ReuseCacheType.REUSE_FULL.name().toLowerCase());
+			proArgs.add("-args");
+			proArgs.add(String.valueOf(LineageCacheEviction.getCacheLimit()));
+			proArgs.add(output("R"));
+			programArgs = proArgs.toArray(new String[proArgs.size()]);
+			Lineage.resetInternalState();
+			runTest(true, EXCEPTION_NOT_EXPECTED, null, -1);
+			HashMap<MatrixValue.CellIndex, Double> R_reused = readDMLMatrixFromOutputDir("R");
+			long comprWrites = LineageCacheStatistics.getCompressedWrites();
+			long comprHits = LineageCacheStatistics.getCompressedHits();
+			
+			// Compare results
+			Lineage.setLinReuseNone();
+			TestUtils.compareMatrices(R_orig, R_reused, 1e-6, "Origin", "Reused");
+			// Evicted products are compressed and reused from memory
+			Assert.assertTrue("Violated compressed writes: "+comprWrites, comprWrites > 0);
+			Assert.assertTrue("Violated compressed hits: "+comprHits, comprHits > 0);
+		}
+		finally {
+			LineageCacheConfig.setCompress(false);
+			OptimizerUtils.ALLOW_ALGEBRAIC_SIMPLIFICATION = old_simplification;
+			OptimizerUtils.ALLOW_SUM_PRODUCT_REWRITES = old_sum_product;
+			Recompiler.reinitRecompiler();
+		}
+	}
+}
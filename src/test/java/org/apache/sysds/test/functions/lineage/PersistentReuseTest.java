@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.functions.lineage;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.lineage.Lineage;
+import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
+import org.apache.sysds.runtime.lineage.LineageCacheStatistics;
+import org.apache.sysds.runtime.matrix.data.MatrixValue;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class PersistentReuseTest extends LineageBase {
+
+	protected static final String TEST_DIR = "functions/lineage/";
+	protected static final String TEST_NAME1 = "PersistentReuse1";
+	protected String TEST_CLASS_DIR = TEST_DIR + PersistentReuseTest.class.getSimpleName() + "/";
+	private final static String TEST_CONF = "SystemDS-config-persist.xml";
+	private final static File   TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, TEST_CONF);
+	private final static File   CACHE_DIR = new File("target/testTemp/functions/lineage/PersistentReuseTest/lineagecache");
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] {"R"}));
+	}
+	
+	@Test
+	public void testReuseAcrossSessions() {
+		runTest(TEST_NAME1);
+	}
+
+	public void runTest(String testname) {
+		boolean old_simplification = OptimizerUtils.ALLOW_ALGEBRAIC_SIMPLIFICATION;
+		boolean old_sum_product = OptimizerUtils.ALLOW_SUM_PRODUCT_REWRITES;
+		
+		try {
+			LOG.debug("------------ BEGIN " + testname + "------------");
+			OptimizerUtils.ALLOW_ALGEBRAIC_SIMPLIFICATION = false;
+			OptimizerUtils.ALLOW_SUM_PRODUCT_REWRITES = false;
+			
+			getAndLoadTestConfiguration(testname);
+			fullDMLScriptName = getScript();
+			FileUtils.deleteQuietly(CACHE_DIR);
+			writeInputMatrixWithMTD("X", getRandomMatrix(1000, 400, 0, 1, 1.0, 7), true);
+			
+			List<String> proArgs = new ArrayList<>();
+			proArgs.add("-stats");
+			proArgs.add("-lineage");
+			proArgs.add(ReuseCacheType.REUSE_FULL.name().toLowerCase());
+			proArgs.add("-args");
+			proArgs.add(input("X"));
+			proArgs.add(output("R"));
+			programArgs = proArgs.toArray(new String[proArgs.size()]);
+			
+			// First session populates the persistent store
+			Lineage.resetInternalState();
+			runTest(true, EXCEPTION_NOT_EXPECTED, null, -1);
+			HashMap<MatrixValue.CellIndex, Double> R_orig = readDMLMatrixFromOutputDir("R");
+			long writes = LineageCacheStatistics.getPersistWrites();
+			
+			// Second session (with empty in-memory cache) reuses from the store
+			Lineage.resetInternalState();
+			runTest(true, EXCEPTION_NOT_EXPECTED, null, -1);
+			HashMap<MatrixValue.CellIndex, Double> R_reused = readDMLMatrixFromOutputDir("R");
+			long hits = LineageCacheStatistics.getPersistHits();
+			
+			// Third session with changed input misses the store
+			writeInputMatrixWithMTD("X", getRandomMatrix(1000, 400, 0, 1, 1.0, 8), true);
+			Lineage.resetInternalState();
+			runTest(true, EXCEPTION_NOT_EXPECTED, null, -1);
+			HashMap<MatrixValue.CellIndex, Double> R_changed = readDMLMatrixFromOutputDir("R");
+			long hitsChanged = LineageCacheStatistics.getPersistHits();
+			
+			Lineage.setLinReuseNone();
+			TestUtils.compareMatrices(R_orig, R_reused, 1e-6, "Origin", "Reused");
+			Assert.assertTrue("Violated persisted writes: "+writes, writes >= 4);
+			Assert.assertTrue("Violated persisted hits: "+hits, hits >= 4);
+			Assert.assertEquals(0, hitsChanged);
+			Assert.assertNotEquals(R_orig.get(new MatrixValue.CellIndex(1,1)),
+				R_changed.get(new MatrixValue.CellIndex(1,1)));
+		}
+		finally {
+			OptimizerUtils.ALLOW_ALGEBRAIC_SIMPLIFICATION = old_simplification;
+			OptimizerUtils.ALLOW_SUM_PRODUCT_REWRITES = old_sum_product;
+			Lineage.resetInternalState();
+			FileUtils.deleteQuietly(CACHE_DIR);
+		}
+	}
+	
+	@Override
+	protected File getConfigTemplateFile() {
+		return TEST_CONF_FILE;
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.misc;
+
+import java.io.File;
+import java.util.HashMap;
+
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class FP32ExecutionTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME1 = "FP32Scoring";
+	private final static String TEST_DIR = "functions/misc/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + FP32ExecutionTest.class.getSimpleName() + "/";
+	private final static File TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, "SystemDS-config-fp32.xml");
+
+	private boolean _singlePrecision = false;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] {"R"}));
+	}
+
+	@Test
+	public void testScoringSinglePrecision() {
+		runScoringTest(TEST_NAME1);
+	}
+
+	private void runScoringTest(String testname) {
+		try {
+			getAndLoadTestConfiguration(testname);
+			fullDMLScriptName = SCRIPT_DIR + TEST_DIR + testname + ".dml";
+			programArgs = new String[] {"-args", input("X"), output("R")};
+			writeInputMatrixWithMTD("X", getRandomMatrix(1000, 200, -1, 1, 1.0, 7), true);
+
+			//run in default double precision
+			_singlePrecision = false;
+			runTest(true, false, null, -1);
+			HashMap<CellIndex, Double> R64 = readDMLMatrixFromOutputDir("R");
+
+			//run in single precision (config written on load)
+			_singlePrecision = true;
+			loadTestConfiguration(getTestConfiguration(testname));
+			runTest(true, false, null, -1);
+			HashMap<CellIndex, Double> R32 = readDMLMatrixFromOutputDir("R");
+
+			//results within the FP32 error bound, and computed in FP32
+			//(all values exactly representable in single precision)
+			TestUtils.compareMatrices(R64, R32, 1e-4, "FP64", "FP32");
+			for( Double v : R32.values() )
+				Assert.assertEquals(v.floatValue(), v, 0);
+		}
+		finally {
+			_singlePrecision = false;
+		}
+	}
+
+	@Override
+	protected File getConfigTemplateFile() {
+		return _singlePrecision ? TEST_CONF_FILE : super.getConfigTemplateFile();
+	}
+}
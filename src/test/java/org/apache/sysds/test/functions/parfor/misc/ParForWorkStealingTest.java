@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.parfor.misc;
+
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+
+public class ParForWorkStealingTest extends AutomatedTestBase 
+{
+	private final static String TEST_DIR = "functions/parfor/";
+	private final static String TEST_NAME = "parfor_stealing";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ParForWorkStealingTest.class.getSimpleName() + "/";
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" }) );
+	}
+	
+	@Test
+	public void testParForWorkStealingSmall() {
+		runParForWorkStealingTest(7);
+	}
+	
+	@Test
+	public void testParForWorkStealingLarge() {
+		runParForWorkStealingTest(2000);
+	}
+	
+	private void runParForWorkStealingTest( int rows ) {
+		loadTestConfiguration(getTestConfiguration(TEST_NAME));
+		fullDMLScriptName = SCRIPT_DIR + TEST_DIR + TEST_NAME + ".dml";
+		programArgs = new String[]{"-args", String.valueOf(rows), output("R") };
+		
+		runTest(true, false, null, -1);
+		
+		//check that every iteration was executed exactly once
+		HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromOutputDir("R");
+		for( int i=1; i<=rows; i++ ) {
+			Assert.assertEquals((double)i*i+7, dmlfile.get(new CellIndex(i,1)), 0);
+			Assert.assertEquals((double)i*(i+1)/2, dmlfile.get(new CellIndex(i,2)), 0);
+		}
+	}
+}
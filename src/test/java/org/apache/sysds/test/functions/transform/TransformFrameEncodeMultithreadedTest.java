@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.transform;
+
+import org.junit.Test;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.transform.encode.Encoder;
+import org.apache.sysds.runtime.transform.encode.EncoderFactory;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestUtils;
+
+public class TransformFrameEncodeMultithreadedTest extends AutomatedTestBase 
+{
+	private static final int rows = 40000;
+	private static final int cols = 5;
+	private static final int k = 4;
+	
+	private static final String SPEC_RECODE_BIN = "{ids:true, recode:[1,2], "
+		+ "bin:[{id:3, method:equi-width, numbins:4}, {id:5, method:equi-width, numbins:7}]}";
+	private static final String SPEC_RECODE_DUMMY = "{ids:true, recode:[1,2,4], dummycode:[2,4]}";
+	private static final String SPEC_HASH_RECODE = "{ids:true, hash:[1,3], K:17, recode:[2,4]}";
+	private static final String SPEC_IMPUTE = "{ids:true, recode:[1], impute:["
+		+ "{id:1, method:global_mode}, {id:3, method:global_mean}, {id:5, method:constant, value:7}]}";
+	
+	@Override
+	public void setUp()  {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testEncodeRecodeBin() {
+		runTransformEncodeTest(SPEC_RECODE_BIN, true);
+	}
+	
+	@Test
+	public void testEncodeRecodeDummycode() {
+		runTransformEncodeTest(SPEC_RECODE_DUMMY, true);
+	}
+	
+	@Test
+	public void testEncodeHashRecode() {
+		runTransformEncodeTest(SPEC_HASH_RECODE, true);
+	}
+	
+	@Test
+	public void testEncodeImpute() {
+		//note: means of partial means are not bitwise equivalent
+		runTransformEncodeTest(SPEC_IMPUTE, false);
+	}
+	
+	@Test
+	public void testApplyRecodeDummycode() {
+		runTransformApplyTest(SPEC_RECODE_DUMMY);
+	}
+	
+	@Test
+	public void testApplyRecodeBin() {
+		runTransformApplyTest(SPEC_RECODE_BIN);
+	}
+	
+	private void runTransformEncodeTest(String spec, boolean checkMeta) {
+		FrameBlock data = createInputFrame();
+		
+		//single- and multi-threaded transform encode
+		Encoder encoder1 = EncoderFactory.createEncoder(spec, data.getColumnNames(), cols, null);
+		MatrixBlock out1 = encoder1.encode(data, new MatrixBlock(rows, cols, false));
+		FrameBlock meta1 = encoder1.getMetaData(new FrameBlock(cols, ValueType.STRING));
+		Encoder encoder2 = EncoderFactory.createEncoder(spec, data.getColumnNames(), cols, null);
+		MatrixBlock out2 = encoder2.encode(data, new MatrixBlock(rows, cols, false), k);
+		FrameBlock meta2 = encoder2.getMetaData(new FrameBlock(cols, ValueType.STRING));
+		
+		//check outputs
+		TestUtils.compareMatrices(out1, out2, 1e-8);
+		if( checkMeta ) {
+			TestUtils.compareFrames(DataConverter.convertToStringFrame(meta1),
+				DataConverter.convertToStringFrame(meta2), meta1.getNumRows(), meta1.getNumColumns());
+		}
+	}
+	
+	private void runTransformApplyTest(String spec) {
+		FrameBlock data = createInputFrame();
+		
+		//transform encode to obtain meta data
+		Encoder encoder = EncoderFactory.createEncoder(spec, data.getColumnNames(), cols, null);
+		MatrixBlock out1 = encoder.encode(data, new MatrixBlock(rows, cols, false));
+		FrameBlock meta = encoder.getMetaData(new FrameBlock(cols, ValueType.STRING));
+		meta.setColumnNames(data.getColumnNames());
+		
+		//multi-threaded transform apply
+		Encoder encoder2 = EncoderFactory.createEncoder(spec, data.getColumnNames(), cols, meta);
+		MatrixBlock out2 = encoder2.apply(data, new MatrixBlock(rows, cols, false), k);
+		
+		//check outputs
+		TestUtils.compareMatrices(out1, out2, 1e-8);
+	}
+	
+	private FrameBlock createInputFrame() {
+		MatrixBlock mb = DataConverter.convertToMatrixBlock(
+			getRandomMatrix(rows, cols, 1, 100, 1, 7));
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ ) //low cardinality categories
+				mb.quickSetValue(i, j, Math.round(mb.quickGetValue(i, j)));
+		return DataConverter.convertToFrameBlock(mb);
+	}
+}